@@ -23,7 +23,9 @@
  */
 package com.github.starnowski.posmulten.configuration.core;
 
+import com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration;
 import com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
 
 public class DefaultSharedSchemaContextBuilderConfigurationEnricher {
@@ -58,6 +60,42 @@ public class DefaultSharedSchemaContextBuilderConfigurationEnricher {
         if (contextConfiguration.getSetCurrentTenantIdFunctionName() != null) {
             builder.setSetCurrentTenantIdFunctionName(contextConfiguration.getSetCurrentTenantIdFunctionName());
         }
+        if (contextConfiguration.getCurrentTenantIdSetLocally() != null) {
+            builder.setCurrentTenantIdSetLocally(contextConfiguration.getCurrentTenantIdSetLocally());
+        }
+        if (contextConfiguration.getSetLocalCurrentTenantIdFunctionName() != null) {
+            builder.setSetLocalCurrentTenantIdFunctionName(contextConfiguration.getSetLocalCurrentTenantIdFunctionName());
+        }
+        if (contextConfiguration.getCurrentTenantIdSetterInSqlLanguage() != null) {
+            builder.setCurrentTenantIdSetterInSqlLanguage(contextConfiguration.getCurrentTenantIdSetterInSqlLanguage());
+        }
+        if (contextConfiguration.getGetCurrentTenantIdMissingOkFunctionName() != null) {
+            builder.setGetCurrentTenantIdMissingOkFunctionName(contextConfiguration.getGetCurrentTenantIdMissingOkFunctionName());
+        }
+        if (contextConfiguration.getTenantRegistryTableName() != null) {
+            builder.setTenantRegistryTableName(contextConfiguration.getTenantRegistryTableName());
+        }
+        if (contextConfiguration.getTenantRegistryExternalIdentifierType() != null) {
+            builder.setTenantRegistryExternalIdentifierType(contextConfiguration.getTenantRegistryExternalIdentifierType());
+        }
+        if (contextConfiguration.getTenantSettingsTableName() != null) {
+            builder.setTenantSettingsTableName(contextConfiguration.getTenantSettingsTableName());
+        }
+        if (contextConfiguration.getTenantPriorityClassProperty() != null) {
+            builder.setTenantPriorityClassProperty(contextConfiguration.getTenantPriorityClassProperty());
+        }
+        if (contextConfiguration.getTenantHierarchyTableName() != null) {
+            builder.setTenantHierarchyTableName(contextConfiguration.getTenantHierarchyTableName());
+        }
+        if (contextConfiguration.getTenantHierarchyClosureTableName() != null) {
+            builder.setTenantHierarchyClosureTableName(contextConfiguration.getTenantHierarchyClosureTableName());
+        }
+        if (contextConfiguration.getTenantTagProperty() != null) {
+            builder.setTenantTagProperty(contextConfiguration.getTenantTagProperty());
+        }
+        if (contextConfiguration.getTenantActivityViewName() != null) {
+            builder.setTenantActivityViewName(contextConfiguration.getTenantActivityViewName());
+        }
         if (contextConfiguration.getEqualsCurrentTenantIdentifierFunctionName() != null) {
             builder.setEqualsCurrentTenantIdentifierFunctionName(contextConfiguration.getEqualsCurrentTenantIdentifierFunctionName());
         }
@@ -70,12 +108,55 @@ public class DefaultSharedSchemaContextBuilderConfigurationEnricher {
         if (contextConfiguration.getDefaultTenantIdColumn() != null) {
             builder.setDefaultTenantIdColumn(contextConfiguration.getDefaultTenantIdColumn());
         }
+        if (contextConfiguration.getCoalesceAlterTableStatements() != null) {
+            builder.setCoalesceAlterTableStatements(contextConfiguration.getCoalesceAlterTableStatements());
+        }
+        if (contextConfiguration.getValidateConstraintsSeparately() != null) {
+            builder.setValidateConstraintsSeparately(contextConfiguration.getValidateConstraintsSeparately());
+        }
+        if (contextConfiguration.getRlsPolicyPerCommand() != null) {
+            builder.setRLSPolicyPerCommand(contextConfiguration.getRlsPolicyPerCommand());
+        }
+        if (contextConfiguration.getRlsPolicyType() != null) {
+            builder.setRLSPolicyType(contextConfiguration.getRlsPolicyType());
+        }
+        if (contextConfiguration.getSkipBasePermissiveRLSPolicy() != null) {
+            builder.setSkipBasePermissiveRLSPolicy(contextConfiguration.getSkipBasePermissiveRLSPolicy());
+        }
         if (contextConfiguration.getGrantee() != null) {
             builder.setGrantee(contextConfiguration.getGrantee());
         }
+        if (contextConfiguration.getBatchGrantee() != null) {
+            builder.setBatchGrantee(contextConfiguration.getBatchGrantee());
+        }
+        if (contextConfiguration.getBatchGranteeAccessType() != null) {
+            builder.setBatchGranteeAccessType(contextConfiguration.getBatchGranteeAccessType());
+        }
+        if (contextConfiguration.getBatchGranteeTablePrivileges() != null) {
+            builder.setBatchGranteeTablePrivileges(contextConfiguration.getBatchGranteeTablePrivileges());
+        }
+        if (contextConfiguration.getBatchGranteeSequences() != null) {
+            builder.setBatchGranteeSequences(contextConfiguration.getBatchGranteeSequences());
+        }
+        if (contextConfiguration.getTenantPublications() != null) {
+            contextConfiguration.getTenantPublications().forEach(builder::createTenantPublication);
+        }
+        if (contextConfiguration.getTenantPublicationReplicaIdentityFull() != null) {
+            builder.setTenantPublicationReplicaIdentityFull(contextConfiguration.getTenantPublicationReplicaIdentityFull());
+        }
         if (contextConfiguration.getCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables() != null) {
             builder.setCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables(contextConfiguration.getCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables());
         }
+        if (contextConfiguration.getFunctionsMetadata() != null) {
+            for (FunctionMetadataConfiguration functionMetadata : contextConfiguration.getFunctionsMetadata()) {
+                builder.setFunctionMetadataOptions(functionMetadata.getFunction(), FunctionMetadataOptions.builder()
+                        .withLeakproof(functionMetadata.getLeakproof())
+                        .withCost(functionMetadata.getCost())
+                        .withSecurity(functionMetadata.getSecurity())
+                        .withConfigurationParameters(functionMetadata.getConfigurationParameters())
+                        .build());
+            }
+        }
         validTenantValueConstraintConfigurationEnricher.enrich(builder, contextConfiguration.getValidTenantValueConstraint());
         tablesEntriesEnricher.enrich(builder, contextConfiguration.getTables());
         sqlDefinitionsValidationEnricher.enrich(builder, contextConfiguration.getSqlDefinitionsValidation());
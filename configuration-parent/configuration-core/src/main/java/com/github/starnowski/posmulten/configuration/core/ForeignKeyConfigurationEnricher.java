@@ -34,7 +34,15 @@ public class ForeignKeyConfigurationEnricher {
     public DefaultSharedSchemaContextBuilder enrich(DefaultSharedSchemaContextBuilder builder, String tableName, Optional<String> tableSchema, ForeignKeyConfiguration foreignKeyConfiguration) {
         if (tableSchema != null || foreignKeyConfiguration.getTableSchema() != null) {
             String defaultSchema = builder.getSharedSchemaContextRequestCopy().getDefaultSchema();
-            return builder.createSameTenantConstraintForForeignKey(new TableKey(tableName, tableSchema == null ? defaultSchema : tableSchema.orElse(null)), new TableKey(foreignKeyConfiguration.getTableName(), foreignKeyConfiguration.getTableSchema() == null ? defaultSchema : foreignKeyConfiguration.getTableSchema().orElse(null)), foreignKeyConfiguration.getForeignKeyPrimaryKeyColumnsMappings(), foreignKeyConfiguration.getConstraintName());
+            TableKey mainTableKey = new TableKey(tableName, tableSchema == null ? defaultSchema : tableSchema.orElse(null));
+            TableKey foreignKeyTableKey = new TableKey(foreignKeyConfiguration.getTableName(), foreignKeyConfiguration.getTableSchema() == null ? defaultSchema : foreignKeyConfiguration.getTableSchema().orElse(null));
+            if (foreignKeyConfiguration.getConstraintType() != null) {
+                return builder.createSameTenantConstraintForForeignKey(mainTableKey, foreignKeyTableKey, foreignKeyConfiguration.getForeignKeyPrimaryKeyColumnsMappings(), foreignKeyConfiguration.getConstraintName(), foreignKeyConfiguration.getConstraintType());
+            }
+            return builder.createSameTenantConstraintForForeignKey(mainTableKey, foreignKeyTableKey, foreignKeyConfiguration.getForeignKeyPrimaryKeyColumnsMappings(), foreignKeyConfiguration.getConstraintName());
+        }
+        if (foreignKeyConfiguration.getConstraintType() != null) {
+            return builder.createSameTenantConstraintForForeignKey(tableName, foreignKeyConfiguration.getTableName(), foreignKeyConfiguration.getForeignKeyPrimaryKeyColumnsMappings(), foreignKeyConfiguration.getConstraintName(), foreignKeyConfiguration.getConstraintType());
         }
         return builder.createSameTenantConstraintForForeignKey(tableName, foreignKeyConfiguration.getTableName(), foreignKeyConfiguration.getForeignKeyPrimaryKeyColumnsMappings(), foreignKeyConfiguration.getConstraintName());
     }
@@ -36,7 +36,7 @@ public class TablesEntriesEnricher {
     private final List<ITableEntryEnricher> enrichers;
 
     public TablesEntriesEnricher() {
-        this(Arrays.asList(new RLSPolicyConfigurationEnricher(), new ForeignKeyConfigurationsEnricher()));
+        this(Arrays.asList(new RLSPolicyConfigurationEnricher(), new ForeignKeyConfigurationsEnricher(), new TenantIndexConfigurationEnricher(), new TenantPartitioningConfigurationEnricher(), new TenantStatisticsConfigurationEnricher()));
     }
 
     public TablesEntriesEnricher(List<ITableEntryEnricher> enrichers) {
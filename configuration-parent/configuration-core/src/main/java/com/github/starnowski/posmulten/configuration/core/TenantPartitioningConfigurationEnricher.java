@@ -0,0 +1,54 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.configuration.core;
+
+import com.github.starnowski.posmulten.configuration.core.model.TableEntry;
+import com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultTenantPartitioningProperties;
+import com.github.starnowski.posmulten.postgresql.core.context.ITenantPartitioningProperties;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+
+public class TenantPartitioningConfigurationEnricher implements ITableEntryEnricher {
+    @Override
+    public DefaultSharedSchemaContextBuilder enrich(DefaultSharedSchemaContextBuilder builder, TableEntry tableEntry) {
+        if (tableEntry != null && tableEntry.getPartitioning() != null) {
+            TenantPartitioningConfiguration partitioning = tableEntry.getPartitioning();
+            ITenantPartitioningProperties properties = DefaultTenantPartitioningProperties.builder()
+                    .withStrategy(partitioning.getStrategy())
+                    .withModulus(partitioning.getModulus())
+                    .withListPartitions(partitioning.getListPartitions())
+                    .withCreateDefaultPartition(Boolean.TRUE.equals(partitioning.getCreateDefaultPartition()))
+                    .withAttachExistingTables(Boolean.TRUE.equals(partitioning.getAttachExistingTables()))
+                    .withPartitionNamePrefix(partitioning.getPartitionNamePrefix())
+                    .build();
+            if (tableEntry.getSchema() == null) {
+                builder.createTenantPartitionsForTable(tableEntry.getName(), properties);
+            } else {
+                builder.createTenantPartitionsForTable(new TableKey(tableEntry.getName(), tableEntry.getSchema().orElse(null)), properties);
+            }
+        }
+        return builder;
+    }
+}
@@ -31,7 +31,16 @@ public class ValidTenantValueConstraintConfigurationEnricher {
     public DefaultSharedSchemaContextBuilder enrich(DefaultSharedSchemaContextBuilder builder, ValidTenantValueConstraintConfiguration configuration) {
         if (configuration != null)
         {
-            builder.createValidTenantValueConstraint(configuration.getTenantIdentifiersBlacklist(), configuration.getIsTenantValidFunctionName(), configuration.getIsTenantValidConstraintName());
+            if (configuration.getBlacklistType() == null)
+            {
+                builder.createValidTenantValueConstraint(configuration.getTenantIdentifiersBlacklist(), configuration.getIsTenantValidFunctionName(), configuration.getIsTenantValidConstraintName());
+            } else {
+                builder.createValidTenantValueConstraint(configuration.getTenantIdentifiersBlacklist(), configuration.getIsTenantValidFunctionName(), configuration.getIsTenantValidConstraintName(), configuration.getBlacklistType());
+            }
+            if (configuration.getBlacklistTableName() != null)
+            {
+                builder.setTenantValuesBlacklistTableName(configuration.getBlacklistTableName());
+            }
         }
         return builder;
     }
@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.configuration.core.model;
 
+import com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -43,4 +44,5 @@ public class ForeignKeyConfiguration {
     private String tableName;
     private Optional<String> tableSchema;
     private Map<String, String> foreignKeyPrimaryKeyColumnsMappings;
+    private SameTenantConstraintForForeignKeyType constraintType;
 }
@@ -23,6 +23,8 @@
  */
 package com.github.starnowski.posmulten.configuration.core.model;
 
+import com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -30,6 +32,7 @@ import lombok.ToString;
 import lombok.experimental.Accessors;
 
 import java.util.List;
+import java.util.Map;
 
 @Accessors(chain = true)
 @Getter
@@ -42,15 +45,39 @@ public class SharedSchemaContextConfiguration {
     private String currentTenantIdPropertyType;
     private String currentTenantIdProperty;
     private String getCurrentTenantIdFunctionName;
+    private String getCurrentTenantIdMissingOkFunctionName;
     private String setCurrentTenantIdFunctionName;
+    private Boolean currentTenantIdSetLocally;
+    private String setLocalCurrentTenantIdFunctionName;
+    private Boolean currentTenantIdSetterInSqlLanguage;
+    private String tenantRegistryTableName;
+    private String tenantRegistryExternalIdentifierType;
+    private String tenantSettingsTableName;
+    private String tenantPriorityClassProperty;
+    private String tenantHierarchyTableName;
+    private String tenantHierarchyClosureTableName;
+    private String tenantTagProperty;
+    private String tenantActivityViewName;
     private String equalsCurrentTenantIdentifierFunctionName;
     private String tenantHasAuthoritiesFunctionName;
     private Boolean forceRowLevelSecurityForTableOwner;
     private String defaultTenantIdColumn;
     private String grantee;
+    private String batchGrantee;
+    private BatchGranteeAccessType batchGranteeAccessType;
+    private List<String> batchGranteeTablePrivileges;
+    private List<String> batchGranteeSequences;
+    private Map<String, List<String>> tenantPublications;
+    private Boolean tenantPublicationReplicaIdentityFull;
     private Boolean currentTenantIdentifierAsDefaultValueForTenantColumnInAllTables;
+    private Boolean coalesceAlterTableStatements;
+    private Boolean validateConstraintsSeparately;
+    private Boolean rlsPolicyPerCommand;
+    private RLSPolicyTypeEnum rlsPolicyType;
+    private Boolean skipBasePermissiveRLSPolicy;
     private ValidTenantValueConstraintConfiguration validTenantValueConstraint;
     private List<TableEntry> tables;
     private SqlDefinitionsValidation sqlDefinitionsValidation;
     private List<CustomDefinitionEntry> customDefinitions;
+    private List<FunctionMetadataConfiguration> functionsMetadata;
 }
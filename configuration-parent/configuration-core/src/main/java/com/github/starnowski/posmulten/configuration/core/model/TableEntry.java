@@ -46,4 +46,7 @@ public class TableEntry {
     private Optional<String> schema;
     private RLSPolicy rlsPolicy;
     private List<ForeignKeyConfiguration> foreignKeys;
+    private TenantIndexConfiguration tenantIndex;
+    private TenantPartitioningConfiguration partitioning;
+    private TenantStatisticsConfiguration tenantStatistics;
 }
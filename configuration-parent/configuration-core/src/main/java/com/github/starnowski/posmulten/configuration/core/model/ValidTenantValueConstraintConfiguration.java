@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.configuration.core.model;
 
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -41,4 +42,6 @@ public class ValidTenantValueConstraintConfiguration {
     private List<String> tenantIdentifiersBlacklist;
     private String isTenantValidFunctionName;
     private String isTenantValidConstraintName;
+    private TenantValuesBlacklistType blacklistType;
+    private String blacklistTableName;
 }
@@ -12,20 +12,50 @@ abstract class AbstractBaseTest extends Specification {
         0 * builder.setCurrentTenantIdPropertyType(_)
         0 * builder.setGetCurrentTenantIdFunctionName(_)
         0 * builder.setSetCurrentTenantIdFunctionName(_)
+        0 * builder.setCurrentTenantIdSetLocally(_)
+        0 * builder.setSetLocalCurrentTenantIdFunctionName(_)
+        0 * builder.setCurrentTenantIdSetterInSqlLanguage(_)
+        0 * builder.setGetCurrentTenantIdMissingOkFunctionName(_)
+        0 * builder.setTenantRegistryTableName(_)
+        0 * builder.setTenantRegistryExternalIdentifierType(_)
+        0 * builder.setTenantSettingsTableName(_)
+        0 * builder.setTenantPriorityClassProperty(_)
+        0 * builder.setTenantHierarchyTableName(_)
+        0 * builder.setTenantHierarchyClosureTableName(_)
+        0 * builder.setTenantTagProperty(_)
+        0 * builder.setTenantActivityViewName(_)
+        0 * builder.setCoalesceAlterTableStatements(_)
+        0 * builder.setTenantPublicationReplicaIdentityFull(_)
+        0 * builder.setValidateConstraintsSeparately(_)
+        0 * builder.setRLSPolicyPerCommand(_)
+        0 * builder.setRLSPolicyType(_)
+        0 * builder.setSkipBasePermissiveRLSPolicy(_)
+        0 * builder.setFunctionMetadataOptions(_, _)
         0 * builder.setEqualsCurrentTenantIdentifierFunctionName(_)
         0 * builder.setTenantHasAuthoritiesFunctionName(_)
         0 * builder.setForceRowLevelSecurityForTableOwner(_)
         0 * builder.setDefaultTenantIdColumn(_)
         0 * builder.setGrantee(_)
+        0 * builder.setBatchGrantee(_)
+        0 * builder.setBatchGranteeAccessType(_)
+        0 * builder.setBatchGranteeTablePrivileges(_)
+        0 * builder.setBatchGranteeSequences(_)
+        0 * builder.createTenantPublication(_, _)
         0 * builder.setCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables(_)
         0 * builder.registerCustomValidTenantValueConstraintNameForTable(_, _)
         0 * builder.createValidTenantValueConstraint(_, _, _)
+        0 * builder.createValidTenantValueConstraint(_, _, _, _)
+        0 * builder.setTenantValuesBlacklistTableName(_)
         0 * builder.createRLSPolicyForTable(_, _, _, _)
         0 * builder.createTenantColumnForTable(_)
         0 * builder.skipAddingOfTenantColumnDefaultValueForTable(_)
         0 * builder.registerCustomValidTenantValueConstraintNameForTable(_, _)
         0 * builder.setNameForFunctionThatChecksIfRecordExistsInTable(_, _)
         0 * builder.createSameTenantConstraintForForeignKey(_, _, _, _)
+        0 * builder.createSameTenantConstraintForForeignKey(_, _, _, _, _)
+        0 * builder.createTenantIndexForTable(_, _, _)
+        0 * builder.createTenantPartitionsForTable(_, _)
+        0 * builder.createTenantStatisticsForTable(_, _, _)
         builder
     }
 }
@@ -1,12 +1,20 @@
 package com.github.starnowski.posmulten.configuration.core
 
 import com.github.starnowski.posmulten.configuration.core.model.CustomDefinitionEntry
+import com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.SqlDefinitionsValidation
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry
 import com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.SecurityEnum.DEFINER
+import static com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType.BYPASS_RLS
+import static com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType.PERMISSIVE_POLICY
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.GET_CURRENT_TENANT_ID
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.IS_TENANT_VALID
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum.PERMISSIVE
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum.RESTRICTIVE
 import static java.lang.Boolean.FALSE
 import static java.lang.Boolean.TRUE
 
@@ -83,6 +91,304 @@ class DefaultSharedSchemaContextBuilderConfigurationEnricherTest extends Abstrac
             "is_tenant_allowed_to_access"       |   FALSE                               |   "id_tenant"             |   "i_am_db_owner" |   TRUE
     }
 
+    @Unroll
+    def "should set builder component with specific properties currentTenantIdSetLocally (#currentTenantIdSetLocally), setLocalCurrentTenantIdFunctionName (#setLocalCurrentTenantIdFunctionName)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setCurrentTenantIdSetLocally(currentTenantIdSetLocally)
+                    .setSetLocalCurrentTenantIdFunctionName(setLocalCurrentTenantIdFunctionName)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setCurrentTenantIdSetLocally(currentTenantIdSetLocally)
+            1 * builder.setSetLocalCurrentTenantIdFunctionName(setLocalCurrentTenantIdFunctionName)
+
+        where:
+            currentTenantIdSetLocally   |   setLocalCurrentTenantIdFunctionName
+            TRUE                        |   "set_local_tenant"
+            FALSE                       |   "set_tenant_for_transaction"
+    }
+
+    @Unroll
+    def "should set builder component with specific properties currentTenantIdSetterInSqlLanguage (#currentTenantIdSetterInSqlLanguage), getCurrentTenantIdMissingOkFunctionName (#getCurrentTenantIdMissingOkFunctionName)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setCurrentTenantIdSetterInSqlLanguage(currentTenantIdSetterInSqlLanguage)
+                    .setGetCurrentTenantIdMissingOkFunctionName(getCurrentTenantIdMissingOkFunctionName)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setCurrentTenantIdSetterInSqlLanguage(currentTenantIdSetterInSqlLanguage)
+            1 * builder.setGetCurrentTenantIdMissingOkFunctionName(getCurrentTenantIdMissingOkFunctionName)
+
+        where:
+            currentTenantIdSetterInSqlLanguage  |   getCurrentTenantIdMissingOkFunctionName
+            TRUE                                |   "get_tenant_or_null"
+            FALSE                               |   "current_tenant_if_set"
+    }
+
+    @Unroll
+    def "should set builder component with specific properties tenantRegistryTableName (#tenantRegistryTableName), tenantRegistryExternalIdentifierType (#tenantRegistryExternalIdentifierType)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setTenantRegistryTableName(tenantRegistryTableName)
+                    .setTenantRegistryExternalIdentifierType(tenantRegistryExternalIdentifierType)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setTenantRegistryTableName(tenantRegistryTableName)
+            1 * builder.setTenantRegistryExternalIdentifierType(tenantRegistryExternalIdentifierType)
+
+        where:
+            tenantRegistryTableName |   tenantRegistryExternalIdentifierType
+            "tenant_registry"       |   "VARCHAR(255)"
+            "tenants"               |   "UUID"
+    }
+
+    @Unroll
+    def "should set builder component with specific properties tenantSettingsTableName (#tenantSettingsTableName), tenantPriorityClassProperty (#tenantPriorityClassProperty)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setTenantSettingsTableName(tenantSettingsTableName)
+                    .setTenantPriorityClassProperty(tenantPriorityClassProperty)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setTenantSettingsTableName(tenantSettingsTableName)
+            1 * builder.setTenantPriorityClassProperty(tenantPriorityClassProperty)
+
+        where:
+            tenantSettingsTableName |   tenantPriorityClassProperty
+            "tenant_settings"       |   "posmulten.tenant_priority_class"
+            "tenants_limits"        |   "app.priority"
+    }
+
+    @Unroll
+    def "should set builder component with specific properties tenantHierarchyTableName (#tenantHierarchyTableName), tenantHierarchyClosureTableName (#tenantHierarchyClosureTableName)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setTenantHierarchyTableName(tenantHierarchyTableName)
+                    .setTenantHierarchyClosureTableName(tenantHierarchyClosureTableName)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setTenantHierarchyTableName(tenantHierarchyTableName)
+            1 * builder.setTenantHierarchyClosureTableName(tenantHierarchyClosureTableName)
+
+        where:
+            tenantHierarchyTableName    |   tenantHierarchyClosureTableName
+            "tenant_hierarchy"          |   "tenant_hierarchy_closure"
+            "orgs"                      |   "orgs_paths"
+    }
+
+    @Unroll
+    def "should set builder component with specific properties tenantTagProperty (#tenantTagProperty), tenantActivityViewName (#tenantActivityViewName)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setTenantTagProperty(tenantTagProperty)
+                    .setTenantActivityViewName(tenantActivityViewName)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setTenantTagProperty(tenantTagProperty)
+            1 * builder.setTenantActivityViewName(tenantActivityViewName)
+
+        where:
+            tenantTagProperty   |   tenantActivityViewName
+            "application_name"  |   "tenant_activity"
+            "application_name"  |   "sessions"
+    }
+
+    @Unroll
+    def "should set builder component with specific property coalesceAlterTableStatements (#coalesceAlterTableStatements)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setCoalesceAlterTableStatements(coalesceAlterTableStatements)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setCoalesceAlterTableStatements(coalesceAlterTableStatements)
+
+        where:
+            coalesceAlterTableStatements << [TRUE, FALSE]
+    }
+
+    @Unroll
+    def "should set builder component with specific property validateConstraintsSeparately (#validateConstraintsSeparately)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setValidateConstraintsSeparately(validateConstraintsSeparately)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setValidateConstraintsSeparately(validateConstraintsSeparately)
+
+        where:
+            validateConstraintsSeparately << [TRUE, FALSE]
+    }
+
+    @Unroll
+    def "should set builder component with specific properties rlsPolicyPerCommand (#rlsPolicyPerCommand), rlsPolicyType (#rlsPolicyType) and skipBasePermissiveRLSPolicy (#skipBasePermissiveRLSPolicy)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setRlsPolicyPerCommand(rlsPolicyPerCommand)
+                    .setRlsPolicyType(rlsPolicyType)
+                    .setSkipBasePermissiveRLSPolicy(skipBasePermissiveRLSPolicy)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setRLSPolicyPerCommand(rlsPolicyPerCommand)
+            1 * builder.setRLSPolicyType(rlsPolicyType)
+            1 * builder.setSkipBasePermissiveRLSPolicy(skipBasePermissiveRLSPolicy)
+
+        where:
+            rlsPolicyPerCommand |   rlsPolicyType   |   skipBasePermissiveRLSPolicy
+            TRUE                |   RESTRICTIVE     |   FALSE
+            FALSE               |   PERMISSIVE      |   TRUE
+            TRUE                |   RESTRICTIVE     |   TRUE
+    }
+
+    @Unroll
+    def "should set builder component with specific properties batchGrantee (#batchGrantee), batchGranteeAccessType (#batchGranteeAccessType), batchGranteeTablePrivileges (#batchGranteeTablePrivileges) and batchGranteeSequences (#batchGranteeSequences)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setBatchGrantee(batchGrantee)
+                    .setBatchGranteeAccessType(batchGranteeAccessType)
+                    .setBatchGranteeTablePrivileges(batchGranteeTablePrivileges)
+                    .setBatchGranteeSequences(batchGranteeSequences)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setBatchGrantee(batchGrantee)
+            1 * builder.setBatchGranteeAccessType(batchGranteeAccessType)
+            1 * builder.setBatchGranteeTablePrivileges(batchGranteeTablePrivileges)
+            1 * builder.setBatchGranteeSequences(batchGranteeSequences)
+
+        where:
+            batchGrantee    |   batchGranteeAccessType  |   batchGranteeTablePrivileges |   batchGranteeSequences
+            "etl-user"      |   BYPASS_RLS              |   ["SELECT"]                  |   ["users_id_seq"]
+            "report-user"   |   PERMISSIVE_POLICY       |   ["SELECT", "INSERT"]        |   []
+    }
+
+    def "should set builder component with tenant publications"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setTenantPublications([pub_acme: ["acme"], pub_group: ["t1", "t2"]])
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.createTenantPublication("pub_acme", ["acme"])
+            1 * builder.createTenantPublication("pub_group", ["t1", "t2"])
+    }
+
+    @Unroll
+    def "should set builder component with specific property tenantPublicationReplicaIdentityFull (#tenantPublicationReplicaIdentityFull)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setTenantPublicationReplicaIdentityFull(tenantPublicationReplicaIdentityFull)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setTenantPublicationReplicaIdentityFull(tenantPublicationReplicaIdentityFull)
+
+        where:
+            tenantPublicationReplicaIdentityFull << [TRUE, FALSE]
+    }
+
+    def "should set builder component with metadata options for each configured function"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setFunctionsMetadata([
+                            new FunctionMetadataConfiguration().setFunction(GET_CURRENT_TENANT_ID).setLeakproof(true).setCost(5).setSecurity(DEFINER)
+                                    .setConfigurationParameters([search_path: "pg_catalog, public"]),
+                            new FunctionMetadataConfiguration().setFunction(IS_TENANT_VALID).setCost(10)
+                    ])
+            def capturedOptions = [:]
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            2 * builder.setFunctionMetadataOptions(_, _) >> { parameters ->
+                capturedOptions.put(parameters[0], parameters[1])
+                builder
+            }
+
+        and:
+            capturedOptions.keySet() == [GET_CURRENT_TENANT_ID, IS_TENANT_VALID] as Set
+            capturedOptions.get(GET_CURRENT_TENANT_ID).getLeakproof()
+            capturedOptions.get(GET_CURRENT_TENANT_ID).getCost() == 5
+            capturedOptions.get(GET_CURRENT_TENANT_ID).getSecurity() == DEFINER
+            capturedOptions.get(GET_CURRENT_TENANT_ID).getConfigurationParameters() == [search_path: "pg_catalog, public"]
+            capturedOptions.get(IS_TENANT_VALID).getLeakproof() == null
+            capturedOptions.get(IS_TENANT_VALID).getCost() == 10
+            capturedOptions.get(IS_TENANT_VALID).getSecurity() == null
+            capturedOptions.get(IS_TENANT_VALID).getConfigurationParameters().isEmpty()
+    }
+
     @Unroll
     def "should use enricher components for entries #validTenantValueConstraintConfiguration and #tablesEntries"()
     {
@@ -5,6 +5,7 @@ import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaConte
 import com.github.starnowski.posmulten.postgresql.core.context.TableKey
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.*
 import static java.util.Optional.of
 
 class ForeignKeyConfigurationEnricherTest extends AbstractBaseTest {
@@ -72,6 +73,65 @@ class ForeignKeyConfigurationEnricherTest extends AbstractBaseTest {
             "users" |   of("different") |   "comments"      |   Optional.ofNullable("schema")   |   null            |   [comment_id: "uuid"]                                |   "comments_xxxx_fk_const"    ||  tk("users", "different")    ||  tk("comments", "schema")
     }
 
+    @Unroll
+    def "should add foreign key constraint of type #constraintType for the table #table, foreign table #foreignKeyTable with name #constraintName"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new ForeignKeyConfiguration()
+                    .setTableName(foreignKeyTable)
+                    .setForeignKeyPrimaryKeyColumnsMappings([user_id: "id"])
+                    .setConstraintName(constraintName)
+                    .setConstraintType(constraintType)
+
+        when:
+            def result = tested.enrich(builder, table, null, configuration)
+
+        then:
+            result == builder
+            1 * builder.createSameTenantConstraintForForeignKey(table, foreignKeyTable, [user_id: "id"], constraintName, constraintType) >> builder
+
+        and: "do not invoke builder with other methods"
+            0 * builder._
+
+        where:
+            table   |   foreignKeyTable |   constraintName          |   constraintType
+            "posts" |   "users"         |   "posts_users_fk_const"  |   CHECK_CONSTRAINT_WITH_FUNCTION
+            "posts" |   "users"         |   "posts_users_fk_const"  |   COMPOSITE_FOREIGN_KEY
+            "posts" |   "users"         |   "posts_users_fk_const"  |   STATEMENT_TRIGGER
+    }
+
+    @Unroll
+    def "should add foreign key constraint of type #constraintType for the table #table in schema #tableSchema, foreign table #foreignKeyTable in schema #foreignKeySchema"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def request = Mock(SharedSchemaContextRequest)
+            def configuration = new ForeignKeyConfiguration()
+                    .setTableName(foreignKeyTable)
+                    .setTableSchema(foreignKeySchema)
+                    .setForeignKeyPrimaryKeyColumnsMappings([user_id: "id"])
+                    .setConstraintName("posts_users_fk_const")
+                    .setConstraintType(constraintType)
+
+        when:
+            def result = tested.enrich(builder, table, tableSchema, configuration)
+
+        then:
+            result == builder
+            1 * builder.getSharedSchemaContextRequestCopy() >> request
+            1 * request.getDefaultSchema() >> "public"
+            1 * builder.createSameTenantConstraintForForeignKey(expectedTableKey, expectedForeighTableKey, [user_id: "id"], "posts_users_fk_const", constraintType) >> builder
+
+        and: "do not invoke builder with other methods"
+            0 * builder._
+
+        where:
+            table   |   tableSchema     |   foreignKeyTable |   foreignKeySchema                |   constraintType          ||  expectedTableKey            ||  expectedForeighTableKey
+            "posts" |   null            |   "users"         |   Optional.ofNullable("XXX")      |   STATEMENT_TRIGGER       ||  tk("posts", "public")       ||  tk("users", "XXX")
+            "posts" |   of("different") |   "users"         |   null                            |   COMPOSITE_FOREIGN_KEY   ||  tk("posts", "different")    ||  tk("users", "public")
+    }
+
     private static TableKey tk(String table, String schema){
         new TableKey(table, schema)
     }
@@ -61,7 +61,7 @@ class TablesEntriesEnricherTest extends Specification {
     def "should be initialized with expected component types"()
     {
         given:
-            def expectedComponentsTypes = Arrays.asList(RLSPolicyConfigurationEnricher.class, ForeignKeyConfigurationsEnricher.class)
+            def expectedComponentsTypes = Arrays.asList(RLSPolicyConfigurationEnricher.class, ForeignKeyConfigurationsEnricher.class, TenantIndexConfigurationEnricher.class, TenantPartitioningConfigurationEnricher.class, TenantStatisticsConfigurationEnricher.class)
 
         when:
             def result = new TablesEntriesEnricher()
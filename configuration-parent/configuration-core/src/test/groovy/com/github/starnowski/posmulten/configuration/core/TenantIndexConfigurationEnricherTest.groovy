@@ -0,0 +1,69 @@
+package com.github.starnowski.posmulten.configuration.core
+
+import com.github.starnowski.posmulten.configuration.core.model.TableEntry
+import com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import spock.lang.Unroll
+
+class TenantIndexConfigurationEnricherTest extends AbstractBaseTest {
+
+    def tested = new TenantIndexConfigurationEnricher()
+
+    @Unroll
+    def "should register tenant index for table name '#tableName', index name '#indexName', createConcurrently '#createConcurrently'"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setTenantIndex(new TenantIndexConfiguration().setName(indexName).setCreateConcurrently(createConcurrently))
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantIndexForTable(tableName, indexName, createConcurrently)
+
+        where:
+            tableName   |   indexName           |   createConcurrently
+            "users"     |   "users_tenant_idx"  |   true
+            "posts"     |   "p_idx"             |   false
+            "groups"    |   null                |   null
+    }
+
+    @Unroll
+    def "should register tenant index for table name '#tableName' in schema #tableSchema, index name '#indexName', createConcurrently '#createConcurrently'"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setSchema(Optional.ofNullable(tableSchema))
+                    .setTenantIndex(new TenantIndexConfiguration().setName(indexName).setCreateConcurrently(createConcurrently))
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantIndexForTable(new TableKey(tableName, tableSchema), indexName, createConcurrently)
+
+        where:
+            tableName   |   tableSchema     |   indexName           |   createConcurrently
+            "users"     |   "public"        |   "users_tenant_idx"  |   true
+            "posts"     |   "some_schema"   |   "p_idx"             |   false
+            "groups"    |   null            |   null                |   null
+    }
+
+    def "should not register tenant index when table entry does not have tenant index configuration"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName("users")
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.starnowski.posmulten.configuration.core
+
+import com.github.starnowski.posmulten.configuration.core.model.TableEntry
+import com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration
+import com.github.starnowski.posmulten.postgresql.core.context.ITenantPartitioningProperties
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.HASH
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.LIST
+
+class TenantPartitioningConfigurationEnricherTest extends AbstractBaseTest {
+
+    def tested = new TenantPartitioningConfigurationEnricher()
+
+    @Unroll
+    def "should register partitions for table name '#tableName', strategy '#strategy', modulus '#modulus', list partitions '#listPartitions'"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setPartitioning(new TenantPartitioningConfiguration().setStrategy(strategy).setModulus(modulus)
+                            .setListPartitions(listPartitions).setCreateDefaultPartition(createDefaultPartition)
+                            .setAttachExistingTables(attachExistingTables).setPartitionNamePrefix(prefix))
+            ITenantPartitioningProperties capturedProperties
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantPartitionsForTable(tableName, _) >> { parameters ->
+                capturedProperties = parameters[1]
+                builder
+            }
+            capturedProperties.getStrategy() == strategy
+            capturedProperties.getModulus() == modulus
+            capturedProperties.getListPartitions() == listPartitions
+            capturedProperties.isCreateDefaultPartition() == expectedCreateDefaultPartition
+            capturedProperties.isAttachExistingTables() == expectedAttachExistingTables
+            capturedProperties.getPartitionNamePrefix() == prefix
+
+        where:
+            tableName   |   strategy    |   modulus |   listPartitions          |   createDefaultPartition  |   attachExistingTables    |   prefix      ||  expectedCreateDefaultPartition  |   expectedAttachExistingTables
+            "users"     |   HASH        |   4       |   null                    |   null                    |   null                    |   null        ||  false                           |   false
+            "posts"     |   HASH        |   2       |   null                    |   false                   |   true                    |   "p_part_"   ||  false                           |   true
+            "groups"    |   LIST        |   null    |   [g_big: ["t1"]]         |   true                    |   false                   |   "grp_"      ||  true                            |   false
+    }
+
+    @Unroll
+    def "should register partitions for table name '#tableName' in schema '#tableSchema', strategy '#strategy'"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setSchema(Optional.ofNullable(tableSchema))
+                    .setPartitioning(new TenantPartitioningConfiguration().setStrategy(strategy).setModulus(3).setListPartitions([part_a: ["t1", "t2"]]))
+            ITenantPartitioningProperties capturedProperties
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantPartitionsForTable(new TableKey(tableName, tableSchema), _) >> { parameters ->
+                capturedProperties = parameters[1]
+                builder
+            }
+            capturedProperties.getStrategy() == strategy
+            capturedProperties.getModulus() == 3
+            capturedProperties.getListPartitions() == [part_a: ["t1", "t2"]]
+
+        where:
+            tableName   |   tableSchema     |   strategy
+            "users"     |   "public"        |   HASH
+            "posts"     |   "some_schema"   |   LIST
+            "groups"    |   null            |   HASH
+    }
+
+    def "should not register partitions when table entry does not have partitioning configuration"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName("users")
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.starnowski.posmulten.configuration.core
+
+import com.github.starnowski.posmulten.configuration.core.model.TableEntry
+import com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import spock.lang.Unroll
+
+class TenantStatisticsConfigurationEnricherTest extends AbstractBaseTest {
+
+    def tested = new TenantStatisticsConfigurationEnricher()
+
+    @Unroll
+    def "should register tenant statistics for table name '#tableName', statistics name '#statisticsName', columns #columns"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setTenantStatistics(new TenantStatisticsConfiguration().setName(statisticsName).setColumns(columns))
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantStatisticsForTable(tableName, statisticsName, columns)
+
+        where:
+            tableName   |   statisticsName          |   columns
+            "users"     |   "users_tenant_stats"    |   ["status"]
+            "posts"     |   "p_stats"               |   ["user_id", "category"]
+            "groups"    |   null                    |   null
+    }
+
+    @Unroll
+    def "should register tenant statistics for table name '#tableName' in schema #tableSchema, statistics name '#statisticsName', columns #columns"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setSchema(Optional.ofNullable(tableSchema))
+                    .setTenantStatistics(new TenantStatisticsConfiguration().setName(statisticsName).setColumns(columns))
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantStatisticsForTable(new TableKey(tableName, tableSchema), statisticsName, columns)
+
+        where:
+            tableName   |   tableSchema     |   statisticsName          |   columns
+            "users"     |   "public"        |   "users_tenant_stats"    |   ["status"]
+            "posts"     |   "some_schema"   |   "p_stats"               |   ["user_id", "category"]
+            "groups"    |   null            |   null                    |   null
+    }
+
+    def "should not register tenant statistics when table entry does not have tenant statistics configuration"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName("users")
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+    }
+}
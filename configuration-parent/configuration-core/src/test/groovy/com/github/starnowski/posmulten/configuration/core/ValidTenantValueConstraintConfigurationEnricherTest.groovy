@@ -4,6 +4,10 @@ package com.github.starnowski.posmulten.configuration.core
 import com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType.CONSTANT_ARRAY
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType.CONSTANT_VALUES
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType.LOOKUP_TABLE
+
 class ValidTenantValueConstraintConfigurationEnricherTest extends AbstractBaseTest {
 
     def tested = new ValidTenantValueConstraintConfigurationEnricher()
@@ -33,6 +37,34 @@ class ValidTenantValueConstraintConfigurationEnricherTest extends AbstractBaseTe
             null                    |   null                        |   null
     }
 
+    @Unroll
+    def "should set builder component with specific blacklist type (#blacklistType) and blacklist table name (#blacklistTableName)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new ValidTenantValueConstraintConfiguration()
+                    .setTenantIdentifiersBlacklist(["invalid", "value1"])
+                    .setIsTenantValidFunctionName("is_t_f")
+                    .setIsTenantValidConstraintName("is_t_c")
+                    .setBlacklistType(blacklistType)
+                    .setBlacklistTableName(blacklistTableName)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.createValidTenantValueConstraint(["invalid", "value1"], "is_t_f", "is_t_c", blacklistType)
+            (blacklistTableName == null ? 0 : 1) * builder.setTenantValuesBlacklistTableName(blacklistTableName)
+
+        where:
+            blacklistType   |   blacklistTableName
+            CONSTANT_VALUES |   null
+            CONSTANT_ARRAY  |   null
+            LOOKUP_TABLE    |   null
+            LOOKUP_TABLE    |   "invalid_tenants"
+    }
+
     def "should not enrich builder when configuration object is null"()
     {
         given:
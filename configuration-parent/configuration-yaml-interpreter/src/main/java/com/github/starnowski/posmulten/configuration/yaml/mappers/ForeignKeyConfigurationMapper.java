@@ -33,7 +33,8 @@ public class ForeignKeyConfigurationMapper implements IConfigurationMapper<com.g
                 .setConstraintName(input.getConstraintName())
                 .setTableName(input.getTableName())
                 .setTableSchema(input.getTableSchema())
-                .setForeignKeyPrimaryKeyColumnsMappings(input.getForeignKeyPrimaryKeyColumnsMappings());
+                .setForeignKeyPrimaryKeyColumnsMappings(input.getForeignKeyPrimaryKeyColumnsMappings())
+                .setConstraintType(input.getConstraintType());
     }
 
     @Override
@@ -42,6 +43,7 @@ public class ForeignKeyConfigurationMapper implements IConfigurationMapper<com.g
                 .setConstraintName(output.getConstraintName())
                 .setTableName(output.getTableName())
                 .setTableSchema(output.getTableSchema())
-                .setForeignKeyPrimaryKeyColumnsMappings(output.getForeignKeyPrimaryKeyColumnsMappings());
+                .setForeignKeyPrimaryKeyColumnsMappings(output.getForeignKeyPrimaryKeyColumnsMappings())
+                .setConstraintType(output.getConstraintType());
     }
 }
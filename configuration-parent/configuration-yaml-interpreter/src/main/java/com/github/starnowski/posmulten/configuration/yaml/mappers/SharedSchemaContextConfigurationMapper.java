@@ -35,6 +35,7 @@ public class SharedSchemaContextConfigurationMapper implements IConfigurationMap
     private final ValidTenantValueConstraintConfigurationMapper validTenantValueConstraintConfigurationMapper = new ValidTenantValueConstraintConfigurationMapper();
     private final SqlDefinitionsValidationMapper sqlDefinitionsValidationMapper = new SqlDefinitionsValidationMapper();
     private final CustomDefinitionEntryMapper customDefinitionEntryMapper = new CustomDefinitionEntryMapper();
+    private final FunctionMetadataConfigurationMapper functionMetadataConfigurationMapper = new FunctionMetadataConfigurationMapper();
 
     @Override
     public SharedSchemaContextConfiguration map(com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration input) {
@@ -48,12 +49,36 @@ public class SharedSchemaContextConfigurationMapper implements IConfigurationMap
                 .setForceRowLevelSecurityForTableOwner(input.getForceRowLevelSecurityForTableOwner())
                 .setGetCurrentTenantIdFunctionName(input.getGetCurrentTenantIdFunctionName() == null ? null : valueOf(input.getGetCurrentTenantIdFunctionName()))
                 .setGrantee(input.getGrantee())
+                .setBatchGrantee(input.getBatchGrantee() == null ? null : valueOf(input.getBatchGrantee()))
+                .setBatchGranteeAccessType(input.getBatchGranteeAccessType())
+                .setBatchGranteeTablePrivileges(input.getBatchGranteeTablePrivileges())
+                .setBatchGranteeSequences(input.getBatchGranteeSequences())
+                .setTenantPublications(input.getTenantPublications())
+                .setTenantPublicationReplicaIdentityFull(input.getTenantPublicationReplicaIdentityFull())
                 .setSetCurrentTenantIdFunctionName(input.getSetCurrentTenantIdFunctionName() == null ? null : valueOf(input.getSetCurrentTenantIdFunctionName()))
+                .setCurrentTenantIdSetLocally(input.getCurrentTenantIdSetLocally())
+                .setSetLocalCurrentTenantIdFunctionName(input.getSetLocalCurrentTenantIdFunctionName() == null ? null : valueOf(input.getSetLocalCurrentTenantIdFunctionName()))
+                .setCurrentTenantIdSetterInSqlLanguage(input.getCurrentTenantIdSetterInSqlLanguage())
+                .setGetCurrentTenantIdMissingOkFunctionName(input.getGetCurrentTenantIdMissingOkFunctionName() == null ? null : valueOf(input.getGetCurrentTenantIdMissingOkFunctionName()))
+                .setTenantRegistryTableName(input.getTenantRegistryTableName() == null ? null : valueOf(input.getTenantRegistryTableName()))
+                .setTenantRegistryExternalIdentifierType(input.getTenantRegistryExternalIdentifierType() == null ? null : valueOf(input.getTenantRegistryExternalIdentifierType()))
+                .setTenantSettingsTableName(input.getTenantSettingsTableName() == null ? null : valueOf(input.getTenantSettingsTableName()))
+                .setTenantPriorityClassProperty(input.getTenantPriorityClassProperty() == null ? null : valueOf(input.getTenantPriorityClassProperty()))
+                .setTenantHierarchyTableName(input.getTenantHierarchyTableName() == null ? null : valueOf(input.getTenantHierarchyTableName()))
+                .setTenantHierarchyClosureTableName(input.getTenantHierarchyClosureTableName() == null ? null : valueOf(input.getTenantHierarchyClosureTableName()))
+                .setTenantTagProperty(input.getTenantTagProperty() == null ? null : valueOf(input.getTenantTagProperty()))
+                .setTenantActivityViewName(input.getTenantActivityViewName() == null ? null : valueOf(input.getTenantActivityViewName()))
+                .setCoalesceAlterTableStatements(input.getCoalesceAlterTableStatements())
+                .setValidateConstraintsSeparately(input.getValidateConstraintsSeparately())
+                .setRlsPolicyPerCommand(input.getRlsPolicyPerCommand())
+                .setRlsPolicyType(input.getRlsPolicyType())
+                .setSkipBasePermissiveRLSPolicy(input.getSkipBasePermissiveRLSPolicy())
                 .setTenantHasAuthoritiesFunctionName(input.getTenantHasAuthoritiesFunctionName() == null ? null : valueOf(input.getTenantHasAuthoritiesFunctionName()))
                 .setTables(input.getTables() == null ? null : input.getTables().stream().map(tableEntry -> tableEntryMapper.map(tableEntry)).collect(toList()))
                 .setValidTenantValueConstraint(validTenantValueConstraintConfigurationMapper.map(input.getValidTenantValueConstraint()))
                 .setSqlDefinitionsValidation(sqlDefinitionsValidationMapper.map(input.getSqlDefinitionsValidation()))
-                .setCustomSQLDefinitions(input.getCustomDefinitions() == null ? null : input.getCustomDefinitions().stream().map(customDefinitionEntry -> customDefinitionEntryMapper.map(customDefinitionEntry)).collect(toList()));
+                .setCustomSQLDefinitions(input.getCustomDefinitions() == null ? null : input.getCustomDefinitions().stream().map(customDefinitionEntry -> customDefinitionEntryMapper.map(customDefinitionEntry)).collect(toList()))
+                .setFunctionsMetadata(input.getFunctionsMetadata() == null ? null : input.getFunctionsMetadata().stream().map(functionMetadataConfigurationMapper::map).collect(toList()));
     }
 
     @Override
@@ -68,11 +93,35 @@ public class SharedSchemaContextConfigurationMapper implements IConfigurationMap
                 .setForceRowLevelSecurityForTableOwner(output.getForceRowLevelSecurityForTableOwner())
                 .setGetCurrentTenantIdFunctionName(output.getGetCurrentTenantIdFunctionName() == null ? null : output.getGetCurrentTenantIdFunctionName().getValue())
                 .setGrantee(output.getGrantee())
+                .setBatchGrantee(output.getBatchGrantee() == null ? null : output.getBatchGrantee().getValue())
+                .setBatchGranteeAccessType(output.getBatchGranteeAccessType())
+                .setBatchGranteeTablePrivileges(output.getBatchGranteeTablePrivileges())
+                .setBatchGranteeSequences(output.getBatchGranteeSequences())
+                .setTenantPublications(output.getTenantPublications())
+                .setTenantPublicationReplicaIdentityFull(output.getTenantPublicationReplicaIdentityFull())
                 .setSetCurrentTenantIdFunctionName(output.getSetCurrentTenantIdFunctionName() == null ? null : output.getSetCurrentTenantIdFunctionName().getValue())
+                .setCurrentTenantIdSetLocally(output.getCurrentTenantIdSetLocally())
+                .setSetLocalCurrentTenantIdFunctionName(output.getSetLocalCurrentTenantIdFunctionName() == null ? null : output.getSetLocalCurrentTenantIdFunctionName().getValue())
+                .setCurrentTenantIdSetterInSqlLanguage(output.getCurrentTenantIdSetterInSqlLanguage())
+                .setGetCurrentTenantIdMissingOkFunctionName(output.getGetCurrentTenantIdMissingOkFunctionName() == null ? null : output.getGetCurrentTenantIdMissingOkFunctionName().getValue())
+                .setTenantRegistryTableName(output.getTenantRegistryTableName() == null ? null : output.getTenantRegistryTableName().getValue())
+                .setTenantRegistryExternalIdentifierType(output.getTenantRegistryExternalIdentifierType() == null ? null : output.getTenantRegistryExternalIdentifierType().getValue())
+                .setTenantSettingsTableName(output.getTenantSettingsTableName() == null ? null : output.getTenantSettingsTableName().getValue())
+                .setTenantPriorityClassProperty(output.getTenantPriorityClassProperty() == null ? null : output.getTenantPriorityClassProperty().getValue())
+                .setTenantHierarchyTableName(output.getTenantHierarchyTableName() == null ? null : output.getTenantHierarchyTableName().getValue())
+                .setTenantHierarchyClosureTableName(output.getTenantHierarchyClosureTableName() == null ? null : output.getTenantHierarchyClosureTableName().getValue())
+                .setTenantTagProperty(output.getTenantTagProperty() == null ? null : output.getTenantTagProperty().getValue())
+                .setTenantActivityViewName(output.getTenantActivityViewName() == null ? null : output.getTenantActivityViewName().getValue())
+                .setCoalesceAlterTableStatements(output.getCoalesceAlterTableStatements())
+                .setValidateConstraintsSeparately(output.getValidateConstraintsSeparately())
+                .setRlsPolicyPerCommand(output.getRlsPolicyPerCommand())
+                .setRlsPolicyType(output.getRlsPolicyType())
+                .setSkipBasePermissiveRLSPolicy(output.getSkipBasePermissiveRLSPolicy())
                 .setTenantHasAuthoritiesFunctionName(output.getTenantHasAuthoritiesFunctionName() == null ? null : output.getTenantHasAuthoritiesFunctionName().getValue())
                 .setTables(output.getTables() == null ? null : output.getTables().stream().map(tableEntry -> tableEntryMapper.unmap(tableEntry)).collect(toList()))
                 .setValidTenantValueConstraint(validTenantValueConstraintConfigurationMapper.unmap(output.getValidTenantValueConstraint()))
                 .setSqlDefinitionsValidation(sqlDefinitionsValidationMapper.unmap(output.getSqlDefinitionsValidation()))
-                .setCustomDefinitions(output.getCustomSQLDefinitions() == null ? null : output.getCustomSQLDefinitions().stream().map(customDefinitionEntry -> customDefinitionEntryMapper.unmap(customDefinitionEntry)).collect(toList()));
+                .setCustomDefinitions(output.getCustomSQLDefinitions() == null ? null : output.getCustomSQLDefinitions().stream().map(customDefinitionEntry -> customDefinitionEntryMapper.unmap(customDefinitionEntry)).collect(toList()))
+                .setFunctionsMetadata(output.getFunctionsMetadata() == null ? null : output.getFunctionsMetadata().stream().map(functionMetadataConfigurationMapper::unmap).collect(toList()));
     }
 }
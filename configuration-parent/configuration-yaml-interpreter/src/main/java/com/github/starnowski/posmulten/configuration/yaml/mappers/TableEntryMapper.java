@@ -32,19 +32,28 @@ public class TableEntryMapper implements IConfigurationMapper<com.github.starnow
 
     private final RLSPolicyMapper rlsPolicyMapper = new RLSPolicyMapper();
     private final ForeignKeyConfigurationMapper foreignKeyConfigurationMapper = new ForeignKeyConfigurationMapper();
+    private final TenantIndexConfigurationMapper tenantIndexConfigurationMapper = new TenantIndexConfigurationMapper();
+    private final TenantPartitioningConfigurationMapper tenantPartitioningConfigurationMapper = new TenantPartitioningConfigurationMapper();
+    private final TenantStatisticsConfigurationMapper tenantStatisticsConfigurationMapper = new TenantStatisticsConfigurationMapper();
 
     @Override
     public TableEntry map(com.github.starnowski.posmulten.configuration.core.model.TableEntry input) {
         return input == null ? null : new TableEntry().setName(input.getName())
                 .setSchema(input.getSchema())
                 .setRlsPolicy(rlsPolicyMapper.map(input.getRlsPolicy()))
-                .setForeignKeys(input.getForeignKeys() == null ? null : input.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.map(key)).collect(toList()));
+                .setForeignKeys(input.getForeignKeys() == null ? null : input.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.map(key)).collect(toList()))
+                .setTenantIndex(tenantIndexConfigurationMapper.map(input.getTenantIndex()))
+                .setPartitioning(tenantPartitioningConfigurationMapper.map(input.getPartitioning()))
+                .setTenantStatistics(tenantStatisticsConfigurationMapper.map(input.getTenantStatistics()));
     }
 
     @Override
     public com.github.starnowski.posmulten.configuration.core.model.TableEntry unmap(TableEntry output) {
         return output == null ? null : new com.github.starnowski.posmulten.configuration.core.model.TableEntry().setName(output.getName()).setRlsPolicy(rlsPolicyMapper.unmap(output.getRlsPolicy()))
                 .setSchema(output.getSchema())
-                .setForeignKeys(output.getForeignKeys() == null ? null : output.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.unmap(key)).collect(toList()));
+                .setForeignKeys(output.getForeignKeys() == null ? null : output.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.unmap(key)).collect(toList()))
+                .setTenantIndex(tenantIndexConfigurationMapper.unmap(output.getTenantIndex()))
+                .setPartitioning(tenantPartitioningConfigurationMapper.unmap(output.getPartitioning()))
+                .setTenantStatistics(tenantStatisticsConfigurationMapper.unmap(output.getTenantStatistics()));
     }
 }
@@ -0,0 +1,45 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.configuration.yaml.mappers;
+
+import com.github.starnowski.posmulten.configuration.yaml.IConfigurationMapper;
+import com.github.starnowski.posmulten.configuration.yaml.model.StringWrapperWithNotBlankValue;
+import com.github.starnowski.posmulten.configuration.yaml.model.TenantStatisticsConfiguration;
+
+public class TenantStatisticsConfigurationMapper implements IConfigurationMapper<com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration, TenantStatisticsConfiguration> {
+
+    @Override
+    public TenantStatisticsConfiguration map(com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration input) {
+        return input == null ? null : new TenantStatisticsConfiguration()
+                .setName(input.getName() == null ? null : new StringWrapperWithNotBlankValue(input.getName()))
+                .setColumns(input.getColumns());
+    }
+
+    @Override
+    public com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration unmap(TenantStatisticsConfiguration output) {
+        return output == null ? null : new com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration()
+                .setName(output.getName() == null ? null : output.getName().getValue())
+                .setColumns(output.getColumns());
+    }
+}
@@ -32,7 +32,9 @@ public class ValidTenantValueConstraintConfigurationMapper implements IConfigura
     public ValidTenantValueConstraintConfiguration map(com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration input) {
         return input == null ? null : new ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName(input.getIsTenantValidConstraintName() == null ? null : new StringWrapperWithNotBlankValue(input.getIsTenantValidConstraintName()))
                 .setIsTenantValidFunctionName(input.getIsTenantValidFunctionName() == null ? null : new StringWrapperWithNotBlankValue(input.getIsTenantValidFunctionName()))
-                .setTenantIdentifiersBlacklist(input.getTenantIdentifiersBlacklist());
+                .setTenantIdentifiersBlacklist(input.getTenantIdentifiersBlacklist())
+                .setBlacklistType(input.getBlacklistType())
+                .setBlacklistTableName(input.getBlacklistTableName() == null ? null : new StringWrapperWithNotBlankValue(input.getBlacklistTableName()));
     }
 
     @Override
@@ -40,6 +42,8 @@ public class ValidTenantValueConstraintConfigurationMapper implements IConfigura
         return output == null ? null : new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration()
                 .setIsTenantValidConstraintName(output.getIsTenantValidConstraintName() == null ? null : output.getIsTenantValidConstraintName().getValue())
                 .setIsTenantValidFunctionName(output.getIsTenantValidFunctionName() == null ? null : output.getIsTenantValidFunctionName().getValue())
-                .setTenantIdentifiersBlacklist(output.getTenantIdentifiersBlacklist());
+                .setTenantIdentifiersBlacklist(output.getTenantIdentifiersBlacklist())
+                .setBlacklistType(output.getBlacklistType())
+                .setBlacklistTableName(output.getBlacklistTableName() == null ? null : output.getBlacklistTableName().getValue());
     }
 }
@@ -25,6 +25,7 @@ package com.github.starnowski.posmulten.configuration.yaml.model;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -57,4 +58,6 @@ public class ForeignKeyConfiguration {
     @NotNull
     @Size(min = 1, message = "must have at least one element")
     private Map<@NotBlank String, @NotBlank String> foreignKeyPrimaryKeyColumnsMappings;
+    @JsonProperty(value = "constraint_type")
+    private SameTenantConstraintForForeignKeyType constraintType;
 }
@@ -25,6 +25,8 @@ package com.github.starnowski.posmulten.configuration.yaml.model;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -33,7 +35,9 @@ import lombok.experimental.Accessors;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import java.util.List;
+import java.util.Map;
 
 @Accessors(chain = true)
 @Getter
@@ -56,8 +60,42 @@ public class SharedSchemaContextConfiguration {
     @JsonProperty(value = "get_current_tenant_id_function_name")
     private StringWrapperWithNotBlankValue getCurrentTenantIdFunctionName;
     @Valid
+    @JsonProperty(value = "get_current_tenant_id_missing_ok_function_name")
+    private StringWrapperWithNotBlankValue getCurrentTenantIdMissingOkFunctionName;
+    @Valid
     @JsonProperty(value = "set_current_tenant_id_function_name")
     private StringWrapperWithNotBlankValue setCurrentTenantIdFunctionName;
+    @JsonProperty(value = "set_current_tenant_id_locally")
+    private Boolean currentTenantIdSetLocally;
+    @Valid
+    @JsonProperty(value = "set_local_current_tenant_id_function_name")
+    private StringWrapperWithNotBlankValue setLocalCurrentTenantIdFunctionName;
+    @JsonProperty(value = "set_current_tenant_id_in_sql_language")
+    private Boolean currentTenantIdSetterInSqlLanguage;
+    @Valid
+    @JsonProperty(value = "tenant_registry_table_name")
+    private StringWrapperWithNotBlankValue tenantRegistryTableName;
+    @Valid
+    @JsonProperty(value = "tenant_registry_external_identifier_type")
+    private StringWrapperWithNotBlankValue tenantRegistryExternalIdentifierType;
+    @Valid
+    @JsonProperty(value = "tenant_settings_table_name")
+    private StringWrapperWithNotBlankValue tenantSettingsTableName;
+    @Valid
+    @JsonProperty(value = "tenant_priority_class_property")
+    private StringWrapperWithNotBlankValue tenantPriorityClassProperty;
+    @Valid
+    @JsonProperty(value = "tenant_hierarchy_table_name")
+    private StringWrapperWithNotBlankValue tenantHierarchyTableName;
+    @Valid
+    @JsonProperty(value = "tenant_hierarchy_closure_table_name")
+    private StringWrapperWithNotBlankValue tenantHierarchyClosureTableName;
+    @Valid
+    @JsonProperty(value = "tenant_tag_property")
+    private StringWrapperWithNotBlankValue tenantTagProperty;
+    @Valid
+    @JsonProperty(value = "tenant_activity_view_name")
+    private StringWrapperWithNotBlankValue tenantActivityViewName;
     @Valid
     @JsonProperty(value = "equals_current_tenant_identifier_function_name")
     private StringWrapperWithNotBlankValue equalsCurrentTenantIdentifierFunctionName;
@@ -72,8 +110,31 @@ public class SharedSchemaContextConfiguration {
     @NotBlank
     @JsonProperty(value = "grantee", required = true)
     private String grantee;
+    @Valid
+    @JsonProperty(value = "batch_grantee")
+    private StringWrapperWithNotBlankValue batchGrantee;
+    @JsonProperty(value = "batch_grantee_access_type")
+    private BatchGranteeAccessType batchGranteeAccessType;
+    @JsonProperty(value = "batch_grantee_table_privileges")
+    private List<@NotBlank String> batchGranteeTablePrivileges;
+    @JsonProperty(value = "batch_grantee_sequences")
+    private List<@NotBlank String> batchGranteeSequences;
+    @JsonProperty(value = "tenant_publications")
+    private Map<@NotBlank String, @NotEmpty List<@NotBlank String>> tenantPublications;
+    @JsonProperty(value = "tenant_publication_replica_identity_full")
+    private Boolean tenantPublicationReplicaIdentityFull;
     @JsonProperty(value = "set_current_tenant_identifier_as_default_value_for_tenant_column_in_all_tables")
     private Boolean currentTenantIdentifierAsDefaultValueForTenantColumnInAllTables;
+    @JsonProperty(value = "coalesce_alter_table_statements")
+    private Boolean coalesceAlterTableStatements;
+    @JsonProperty(value = "validate_constraints_separately")
+    private Boolean validateConstraintsSeparately;
+    @JsonProperty(value = "rls_policy_per_command")
+    private Boolean rlsPolicyPerCommand;
+    @JsonProperty(value = "rls_policy_type")
+    private RLSPolicyTypeEnum rlsPolicyType;
+    @JsonProperty(value = "skip_base_permissive_rls_policy")
+    private Boolean skipBasePermissiveRLSPolicy;
     @Valid
     @JsonProperty(value = "valid_tenant_value_constraint")
     private ValidTenantValueConstraintConfiguration validTenantValueConstraint;
@@ -85,6 +146,8 @@ public class SharedSchemaContextConfiguration {
     @Valid
     @JsonProperty(value = "custom_sql_definitions")
     private List<CustomDefinitionEntry> customSQLDefinitions;
+    @JsonProperty(value = "functions_metadata")
+    private List<@Valid FunctionMetadataConfiguration> functionsMetadata;
 
     public SharedSchemaContextConfiguration setCurrentTenantIdPropertyType(String currentTenantIdPropertyType) {
         this.currentTenantIdPropertyType = new StringWrapperWithNotBlankValue(currentTenantIdPropertyType);
@@ -101,11 +164,66 @@ public class SharedSchemaContextConfiguration {
         return this;
     }
 
+    public SharedSchemaContextConfiguration setGetCurrentTenantIdMissingOkFunctionName(String getCurrentTenantIdMissingOkFunctionName) {
+        this.getCurrentTenantIdMissingOkFunctionName = new StringWrapperWithNotBlankValue(getCurrentTenantIdMissingOkFunctionName);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setBatchGrantee(String batchGrantee) {
+        this.batchGrantee = new StringWrapperWithNotBlankValue(batchGrantee);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantRegistryTableName(String tenantRegistryTableName) {
+        this.tenantRegistryTableName = new StringWrapperWithNotBlankValue(tenantRegistryTableName);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantRegistryExternalIdentifierType(String tenantRegistryExternalIdentifierType) {
+        this.tenantRegistryExternalIdentifierType = new StringWrapperWithNotBlankValue(tenantRegistryExternalIdentifierType);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantSettingsTableName(String tenantSettingsTableName) {
+        this.tenantSettingsTableName = new StringWrapperWithNotBlankValue(tenantSettingsTableName);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantPriorityClassProperty(String tenantPriorityClassProperty) {
+        this.tenantPriorityClassProperty = new StringWrapperWithNotBlankValue(tenantPriorityClassProperty);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantHierarchyTableName(String tenantHierarchyTableName) {
+        this.tenantHierarchyTableName = new StringWrapperWithNotBlankValue(tenantHierarchyTableName);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantHierarchyClosureTableName(String tenantHierarchyClosureTableName) {
+        this.tenantHierarchyClosureTableName = new StringWrapperWithNotBlankValue(tenantHierarchyClosureTableName);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantTagProperty(String tenantTagProperty) {
+        this.tenantTagProperty = new StringWrapperWithNotBlankValue(tenantTagProperty);
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantActivityViewName(String tenantActivityViewName) {
+        this.tenantActivityViewName = new StringWrapperWithNotBlankValue(tenantActivityViewName);
+        return this;
+    }
+
     public SharedSchemaContextConfiguration setSetCurrentTenantIdFunctionName(String setCurrentTenantIdFunctionName) {
         this.setCurrentTenantIdFunctionName = new StringWrapperWithNotBlankValue(setCurrentTenantIdFunctionName);
         return this;
     }
 
+    public SharedSchemaContextConfiguration setSetLocalCurrentTenantIdFunctionName(String setLocalCurrentTenantIdFunctionName) {
+        this.setLocalCurrentTenantIdFunctionName = new StringWrapperWithNotBlankValue(setLocalCurrentTenantIdFunctionName);
+        return this;
+    }
+
     public SharedSchemaContextConfiguration setEqualsCurrentTenantIdentifierFunctionName(String equalsCurrentTenantIdentifierFunctionName) {
         this.equalsCurrentTenantIdentifierFunctionName = new StringWrapperWithNotBlankValue(equalsCurrentTenantIdentifierFunctionName);
         return this;
@@ -131,11 +249,66 @@ public class SharedSchemaContextConfiguration {
         return this;
     }
 
+    public SharedSchemaContextConfiguration setGetCurrentTenantIdMissingOkFunctionName(StringWrapperWithNotBlankValue getCurrentTenantIdMissingOkFunctionName) {
+        this.getCurrentTenantIdMissingOkFunctionName = getCurrentTenantIdMissingOkFunctionName;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setBatchGrantee(StringWrapperWithNotBlankValue batchGrantee) {
+        this.batchGrantee = batchGrantee;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantRegistryTableName(StringWrapperWithNotBlankValue tenantRegistryTableName) {
+        this.tenantRegistryTableName = tenantRegistryTableName;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantRegistryExternalIdentifierType(StringWrapperWithNotBlankValue tenantRegistryExternalIdentifierType) {
+        this.tenantRegistryExternalIdentifierType = tenantRegistryExternalIdentifierType;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantSettingsTableName(StringWrapperWithNotBlankValue tenantSettingsTableName) {
+        this.tenantSettingsTableName = tenantSettingsTableName;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantPriorityClassProperty(StringWrapperWithNotBlankValue tenantPriorityClassProperty) {
+        this.tenantPriorityClassProperty = tenantPriorityClassProperty;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantHierarchyTableName(StringWrapperWithNotBlankValue tenantHierarchyTableName) {
+        this.tenantHierarchyTableName = tenantHierarchyTableName;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantHierarchyClosureTableName(StringWrapperWithNotBlankValue tenantHierarchyClosureTableName) {
+        this.tenantHierarchyClosureTableName = tenantHierarchyClosureTableName;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantTagProperty(StringWrapperWithNotBlankValue tenantTagProperty) {
+        this.tenantTagProperty = tenantTagProperty;
+        return this;
+    }
+
+    public SharedSchemaContextConfiguration setTenantActivityViewName(StringWrapperWithNotBlankValue tenantActivityViewName) {
+        this.tenantActivityViewName = tenantActivityViewName;
+        return this;
+    }
+
     public SharedSchemaContextConfiguration setSetCurrentTenantIdFunctionName(StringWrapperWithNotBlankValue setCurrentTenantIdFunctionName) {
         this.setCurrentTenantIdFunctionName = setCurrentTenantIdFunctionName;
         return this;
     }
 
+    public SharedSchemaContextConfiguration setSetLocalCurrentTenantIdFunctionName(StringWrapperWithNotBlankValue setLocalCurrentTenantIdFunctionName) {
+        this.setLocalCurrentTenantIdFunctionName = setLocalCurrentTenantIdFunctionName;
+        return this;
+    }
+
     public SharedSchemaContextConfiguration setEqualsCurrentTenantIdentifierFunctionName(StringWrapperWithNotBlankValue equalsCurrentTenantIdentifierFunctionName) {
         this.equalsCurrentTenantIdentifierFunctionName = equalsCurrentTenantIdentifierFunctionName;
         return this;
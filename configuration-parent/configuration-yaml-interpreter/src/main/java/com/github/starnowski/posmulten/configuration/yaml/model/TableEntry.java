@@ -57,4 +57,13 @@ public class TableEntry {
     private RLSPolicy rlsPolicy;
     @JsonProperty(value = "foreign_keys")
     private List<@Valid ForeignKeyConfiguration> foreignKeys;
+    @Valid
+    @JsonProperty(value = "tenant_index")
+    private TenantIndexConfiguration tenantIndex;
+    @Valid
+    @JsonProperty(value = "partitioning")
+    private TenantPartitioningConfiguration partitioning;
+    @Valid
+    @JsonProperty(value = "tenant_statistics")
+    private TenantStatisticsConfiguration tenantStatistics;
 }
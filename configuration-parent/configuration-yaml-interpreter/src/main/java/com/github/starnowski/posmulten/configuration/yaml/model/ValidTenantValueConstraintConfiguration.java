@@ -25,6 +25,7 @@ package com.github.starnowski.posmulten.configuration.yaml.model;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -54,6 +55,11 @@ public class ValidTenantValueConstraintConfiguration {
     @Valid
     @JsonProperty(value = "is_tenant_valid_constraint_name")
     private StringWrapperWithNotBlankValue isTenantValidConstraintName;
+    @JsonProperty(value = "blacklist_type")
+    private TenantValuesBlacklistType blacklistType;
+    @Valid
+    @JsonProperty(value = "blacklist_table_name")
+    private StringWrapperWithNotBlankValue blacklistTableName;
     public ValidTenantValueConstraintConfiguration setIsTenantValidFunctionName(String isTenantValidFunctionName) {
         this.isTenantValidFunctionName = new StringWrapperWithNotBlankValue(isTenantValidFunctionName);
         return this;
@@ -73,4 +79,14 @@ public class ValidTenantValueConstraintConfiguration {
         this.isTenantValidConstraintName = isTenantValidConstraintName;
         return this;
     }
+
+    public ValidTenantValueConstraintConfiguration setBlacklistTableName(String blacklistTableName) {
+        this.blacklistTableName = new StringWrapperWithNotBlankValue(blacklistTableName);
+        return this;
+    }
+
+    public ValidTenantValueConstraintConfiguration setBlacklistTableName(StringWrapperWithNotBlankValue blacklistTableName) {
+        this.blacklistTableName = blacklistTableName;
+        return this;
+    }
 }
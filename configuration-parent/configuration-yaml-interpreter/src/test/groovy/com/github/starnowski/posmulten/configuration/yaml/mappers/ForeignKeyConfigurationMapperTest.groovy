@@ -1,6 +1,7 @@
 package com.github.starnowski.posmulten.configuration.yaml.mappers
 
 import com.github.starnowski.posmulten.configuration.core.model.ForeignKeyConfiguration
+import com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType
 
 import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
 
@@ -33,7 +34,11 @@ class ForeignKeyConfigurationMapperTest extends AbstractConfigurationMapperTest<
                         .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("user_id", "id").build()),
                 new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setConstraintName("users_fk")
                         .setTableName("users_po_table")
-                        .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("sss", "uuid").put("some_id", "primary_key_col_id").build())
+                        .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("sss", "uuid").put("some_id", "primary_key_col_id").build()),
+                new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setConstraintName("posts_users_fk")
+                        .setTableName("users")
+                        .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("user_id", "id").build())
+                        .setConstraintType(SameTenantConstraintForForeignKeyType.STATEMENT_TRIGGER)
         ]
     }
 
@@ -50,7 +55,11 @@ class ForeignKeyConfigurationMapperTest extends AbstractConfigurationMapperTest<
                         .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("user_id", "id").build()),
                 new ForeignKeyConfiguration().setConstraintName("users_fk")
                         .setTableName("users_po_table")
-                        .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("sss", "uuid").put("some_id", "primary_key_col_id").build())
+                        .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("sss", "uuid").put("some_id", "primary_key_col_id").build()),
+                new ForeignKeyConfiguration().setConstraintName("posts_users_fk")
+                        .setTableName("users")
+                        .setForeignKeyPrimaryKeyColumnsMappings(mapBuilder().put("user_id", "id").build())
+                        .setConstraintType(SameTenantConstraintForForeignKeyType.STATEMENT_TRIGGER)
         ]
     }
 }
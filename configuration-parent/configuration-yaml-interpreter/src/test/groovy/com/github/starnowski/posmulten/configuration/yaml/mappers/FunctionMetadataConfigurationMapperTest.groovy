@@ -0,0 +1,45 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers
+
+import com.github.starnowski.posmulten.configuration.yaml.model.FunctionMetadataConfiguration
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.SecurityEnum.DEFINER
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.SecurityEnum.INVOKER
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.*
+
+class FunctionMetadataConfigurationMapperTest extends AbstractConfigurationMapperTest<FunctionMetadataConfiguration, com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration, FunctionMetadataConfigurationMapper> {
+
+    @Override
+    protected Class<com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration> getConfigurationObjectClass() {
+        com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration.class
+    }
+
+    @Override
+    protected Class<FunctionMetadataConfiguration> getYamlConfigurationObjectClass() {
+        FunctionMetadataConfiguration.class
+    }
+
+    @Override
+    protected FunctionMetadataConfigurationMapper getTestedObject() {
+        new FunctionMetadataConfigurationMapper()
+    }
+
+    protected List<FunctionMetadataConfiguration> prepareExpectedMappedObjectsList() {
+        [
+                new FunctionMetadataConfiguration(),
+                new FunctionMetadataConfiguration().setFunction(GET_CURRENT_TENANT_ID).setLeakproof(true),
+                new FunctionMetadataConfiguration().setFunction(EQUALS_CURRENT_TENANT_IDENTIFIER).setCost(5),
+                new FunctionMetadataConfiguration().setFunction(TENANT_HAS_AUTHORITIES).setSecurity(INVOKER),
+                new FunctionMetadataConfiguration().setFunction(IS_TENANT_VALID).setSecurity(DEFINER).setConfigurationParameters([search_path: "pg_catalog, public"])
+        ]
+    }
+
+    protected List<com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration> prepareExpectedUnmappeddObjectsList() {
+        [
+                new com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration(),
+                new com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration().setFunction(GET_CURRENT_TENANT_ID).setLeakproof(true),
+                new com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration().setFunction(EQUALS_CURRENT_TENANT_IDENTIFIER).setCost(5),
+                new com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration().setFunction(TENANT_HAS_AUTHORITIES).setSecurity(INVOKER),
+                new com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration().setFunction(IS_TENANT_VALID).setSecurity(DEFINER).setConfigurationParameters([search_path: "pg_catalog, public"])
+        ]
+    }
+}
@@ -1,9 +1,13 @@
 package com.github.starnowski.posmulten.configuration.yaml.mappers
 
+import com.github.starnowski.posmulten.configuration.core.model.FunctionMetadataConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry
 import com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration
 
+import static com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType.PERMISSIVE_POLICY
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.GET_CURRENT_TENANT_ID
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum.RESTRICTIVE
 import static java.util.Arrays.asList
 
 class SharedSchemaContextConfigurationMapperTest extends AbstractConfigurationMapperTest<com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration, com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration, SharedSchemaContextConfigurationMapper> {
@@ -36,8 +40,20 @@ class SharedSchemaContextConfigurationMapperTest extends AbstractConfigurationMa
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setEqualsCurrentTenantIdentifierFunctionName("equals_cur_t").setGetCurrentTenantIdFunctionName("get_tenant"),
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setGetCurrentTenantIdFunctionName("get_tenant").setSetCurrentTenantIdFunctionName("this_is_a_tenant"),
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setSetCurrentTenantIdFunctionName("set_cur_tenant").setForceRowLevelSecurityForTableOwner(true),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setSetCurrentTenantIdFunctionName("set_cur_tenant").setCurrentTenantIdSetLocally(true),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setCurrentTenantIdSetLocally(false).setSetLocalCurrentTenantIdFunctionName("set_local_tenant"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setCurrentTenantIdSetterInSqlLanguage(true).setGetCurrentTenantIdMissingOkFunctionName("get_tenant_or_null"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setCurrentTenantIdPropertyType("bigint").setTenantRegistryTableName("tenant_registry").setTenantRegistryExternalIdentifierType("VARCHAR(255)"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setTenantSettingsTableName("tenant_settings").setTenantPriorityClassProperty("app.priority"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setTenantHierarchyTableName("tenant_hierarchy").setTenantHierarchyClosureTableName("tenant_hierarchy_closure"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setTenantTagProperty("application_name").setTenantActivityViewName("tenant_activity"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setGrantee("db-user").setBatchGrantee("etl-user").setBatchGranteeAccessType(PERMISSIVE_POLICY).setBatchGranteeTablePrivileges(asList("SELECT")).setBatchGranteeSequences(asList("users_id_seq")),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setGrantee("db-user").setTenantPublications([pub_acme: asList("acme"), pub_group: asList("t1", "t2")]).setTenantPublicationReplicaIdentityFull(true),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setGrantee("db-user").setCoalesceAlterTableStatements(true).setValidateConstraintsSeparately(true),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setGrantee("db-user").setRlsPolicyPerCommand(true).setRlsPolicyType(RESTRICTIVE).setSkipBasePermissiveRLSPolicy(false),
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setForceRowLevelSecurityForTableOwner(false).setValidTenantValueConstraint(new com.github.starnowski.posmulten.configuration.yaml.model.ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("Invalid"))),
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setTables(asList(new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("table_1"))),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setFunctionsMetadata(asList(new com.github.starnowski.posmulten.configuration.yaml.model.FunctionMetadataConfiguration().setFunction(GET_CURRENT_TENANT_ID).setLeakproof(true).setCost(5))),
         ]
     }
 
@@ -55,8 +71,20 @@ class SharedSchemaContextConfigurationMapperTest extends AbstractConfigurationMa
                 new SharedSchemaContextConfiguration().setEqualsCurrentTenantIdentifierFunctionName("equals_cur_t").setGetCurrentTenantIdFunctionName("get_tenant"),
                 new SharedSchemaContextConfiguration().setGetCurrentTenantIdFunctionName("get_tenant").setSetCurrentTenantIdFunctionName("this_is_a_tenant"),
                 new SharedSchemaContextConfiguration().setSetCurrentTenantIdFunctionName("set_cur_tenant").setForceRowLevelSecurityForTableOwner(true),
+                new SharedSchemaContextConfiguration().setSetCurrentTenantIdFunctionName("set_cur_tenant").setCurrentTenantIdSetLocally(true),
+                new SharedSchemaContextConfiguration().setCurrentTenantIdSetLocally(false).setSetLocalCurrentTenantIdFunctionName("set_local_tenant"),
+                new SharedSchemaContextConfiguration().setCurrentTenantIdSetterInSqlLanguage(true).setGetCurrentTenantIdMissingOkFunctionName("get_tenant_or_null"),
+                new SharedSchemaContextConfiguration().setCurrentTenantIdPropertyType("bigint").setTenantRegistryTableName("tenant_registry").setTenantRegistryExternalIdentifierType("VARCHAR(255)"),
+                new SharedSchemaContextConfiguration().setTenantSettingsTableName("tenant_settings").setTenantPriorityClassProperty("app.priority"),
+                new SharedSchemaContextConfiguration().setTenantHierarchyTableName("tenant_hierarchy").setTenantHierarchyClosureTableName("tenant_hierarchy_closure"),
+                new SharedSchemaContextConfiguration().setTenantTagProperty("application_name").setTenantActivityViewName("tenant_activity"),
+                new SharedSchemaContextConfiguration().setGrantee("db-user").setBatchGrantee("etl-user").setBatchGranteeAccessType(PERMISSIVE_POLICY).setBatchGranteeTablePrivileges(asList("SELECT")).setBatchGranteeSequences(asList("users_id_seq")),
+                new SharedSchemaContextConfiguration().setGrantee("db-user").setTenantPublications([pub_acme: asList("acme"), pub_group: asList("t1", "t2")]).setTenantPublicationReplicaIdentityFull(true),
+                new SharedSchemaContextConfiguration().setGrantee("db-user").setCoalesceAlterTableStatements(true).setValidateConstraintsSeparately(true),
+                new SharedSchemaContextConfiguration().setGrantee("db-user").setRlsPolicyPerCommand(true).setRlsPolicyType(RESTRICTIVE).setSkipBasePermissiveRLSPolicy(false),
                 new SharedSchemaContextConfiguration().setForceRowLevelSecurityForTableOwner(false).setValidTenantValueConstraint(new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("Invalid"))),
                 new SharedSchemaContextConfiguration().setTables(asList(new TableEntry().setName("table_1"))),
+                new SharedSchemaContextConfiguration().setFunctionsMetadata(asList(new FunctionMetadataConfiguration().setFunction(GET_CURRENT_TENANT_ID).setLeakproof(true).setCost(5))),
         ]
     }
 }
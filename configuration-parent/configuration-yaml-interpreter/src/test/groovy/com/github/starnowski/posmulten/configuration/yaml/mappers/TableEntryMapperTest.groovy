@@ -3,7 +3,11 @@ package com.github.starnowski.posmulten.configuration.yaml.mappers
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry
 import com.github.starnowski.posmulten.configuration.core.model.ForeignKeyConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.RLSPolicy
+import com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration
+import com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration
+import com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration
 
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.HASH
 import static java.util.Arrays.asList
 
 class TableEntryMapperTest extends AbstractConfigurationMapperTest<com.github.starnowski.posmulten.configuration.yaml.model.TableEntry, com.github.starnowski.posmulten.configuration.core.model.TableEntry, TableEntryMapper> {
@@ -32,6 +36,9 @@ class TableEntryMapperTest extends AbstractConfigurationMapperTest<com.github.st
                 new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("users_t").setForeignKeys(asList(new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setTableName("tabXXX"))),
                 new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("posts").setRlsPolicy(new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setName("rls_users_policy"))
                         .setForeignKeys(asList(new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setTableName("tabXXX"), new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setTableName("comments"))),
+                new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("users_t").setTenantIndex(new com.github.starnowski.posmulten.configuration.yaml.model.TenantIndexConfiguration().setName("users_t_idx").setCreateConcurrently(true)),
+                new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("users_t").setPartitioning(new com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration().setStrategy(HASH).setModulus(4)),
+                new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("users_t").setTenantStatistics(new com.github.starnowski.posmulten.configuration.yaml.model.TenantStatisticsConfiguration().setName("users_t_stats").setColumns(["status"])),
         ]
     }
 
@@ -45,6 +52,9 @@ class TableEntryMapperTest extends AbstractConfigurationMapperTest<com.github.st
                 new TableEntry().setName("users_t").setForeignKeys(asList(new ForeignKeyConfiguration().setTableName("tabXXX"))),
                 new TableEntry().setName("posts").setRlsPolicy(new RLSPolicy().setName("rls_users_policy"))
                         .setForeignKeys(asList(new ForeignKeyConfiguration().setTableName("tabXXX"), new ForeignKeyConfiguration().setTableName("comments"))),
+                new TableEntry().setName("users_t").setTenantIndex(new TenantIndexConfiguration().setName("users_t_idx").setCreateConcurrently(true)),
+                new TableEntry().setName("users_t").setPartitioning(new TenantPartitioningConfiguration().setStrategy(HASH).setModulus(4)),
+                new TableEntry().setName("users_t").setTenantStatistics(new TenantStatisticsConfiguration().setName("users_t_stats").setColumns(["status"])),
         ]
     }
 }
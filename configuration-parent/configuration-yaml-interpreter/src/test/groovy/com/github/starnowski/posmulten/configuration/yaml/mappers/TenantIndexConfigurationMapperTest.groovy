@@ -0,0 +1,39 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers
+
+import com.github.starnowski.posmulten.configuration.yaml.model.TenantIndexConfiguration
+
+class TenantIndexConfigurationMapperTest extends AbstractConfigurationMapperTest<TenantIndexConfiguration, com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration, TenantIndexConfigurationMapper> {
+
+    @Override
+    protected Class<com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration> getConfigurationObjectClass() {
+        com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration.class
+    }
+
+    @Override
+    protected Class<TenantIndexConfiguration> getYamlConfigurationObjectClass() {
+        TenantIndexConfiguration.class
+    }
+
+    @Override
+    protected TenantIndexConfigurationMapper getTestedObject() {
+        new TenantIndexConfigurationMapper()
+    }
+
+    protected List<TenantIndexConfiguration> prepareExpectedMappedObjectsList() {
+        [
+                new TenantIndexConfiguration(),
+                new TenantIndexConfiguration().setName("users_tenant_idx"),
+                new TenantIndexConfiguration().setCreateConcurrently(true),
+                new TenantIndexConfiguration().setName("posts_idx").setCreateConcurrently(false)
+        ]
+    }
+
+    protected List<com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration> prepareExpectedUnmappeddObjectsList() {
+        [
+                new com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration(),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration().setName("users_tenant_idx"),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration().setCreateConcurrently(true),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantIndexConfiguration().setName("posts_idx").setCreateConcurrently(false)
+        ]
+    }
+}
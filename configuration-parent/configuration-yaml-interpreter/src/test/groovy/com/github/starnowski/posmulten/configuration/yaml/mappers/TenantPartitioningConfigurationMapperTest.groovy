@@ -0,0 +1,42 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers
+
+import com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration
+
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.HASH
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.LIST
+
+class TenantPartitioningConfigurationMapperTest extends AbstractConfigurationMapperTest<TenantPartitioningConfiguration, com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration, TenantPartitioningConfigurationMapper> {
+
+    @Override
+    protected Class<com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration> getConfigurationObjectClass() {
+        com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration.class
+    }
+
+    @Override
+    protected Class<TenantPartitioningConfiguration> getYamlConfigurationObjectClass() {
+        TenantPartitioningConfiguration.class
+    }
+
+    @Override
+    protected TenantPartitioningConfigurationMapper getTestedObject() {
+        new TenantPartitioningConfigurationMapper()
+    }
+
+    protected List<TenantPartitioningConfiguration> prepareExpectedMappedObjectsList() {
+        [
+                new TenantPartitioningConfiguration(),
+                new TenantPartitioningConfiguration().setStrategy(HASH).setModulus(4),
+                new TenantPartitioningConfiguration().setStrategy(HASH).setModulus(2).setAttachExistingTables(true).setPartitionNamePrefix("users_part_"),
+                new TenantPartitioningConfiguration().setStrategy(LIST).setListPartitions([users_big: ["t1"], users_small: ["t2", "t3"]]).setCreateDefaultPartition(true)
+        ]
+    }
+
+    protected List<com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration> prepareExpectedUnmappeddObjectsList() {
+        [
+                new com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration(),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration().setStrategy(HASH).setModulus(4),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration().setStrategy(HASH).setModulus(2).setAttachExistingTables(true).setPartitionNamePrefix("users_part_"),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration().setStrategy(LIST).setListPartitions([users_big: ["t1"], users_small: ["t2", "t3"]]).setCreateDefaultPartition(true)
+        ]
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers
+
+import com.github.starnowski.posmulten.configuration.yaml.model.TenantStatisticsConfiguration
+
+class TenantStatisticsConfigurationMapperTest extends AbstractConfigurationMapperTest<TenantStatisticsConfiguration, com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration, TenantStatisticsConfigurationMapper> {
+
+    @Override
+    protected Class<com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration> getConfigurationObjectClass() {
+        com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration.class
+    }
+
+    @Override
+    protected Class<TenantStatisticsConfiguration> getYamlConfigurationObjectClass() {
+        TenantStatisticsConfiguration.class
+    }
+
+    @Override
+    protected TenantStatisticsConfigurationMapper getTestedObject() {
+        new TenantStatisticsConfigurationMapper()
+    }
+
+    protected List<TenantStatisticsConfiguration> prepareExpectedMappedObjectsList() {
+        [
+                new TenantStatisticsConfiguration(),
+                new TenantStatisticsConfiguration().setName("users_tenant_stats"),
+                new TenantStatisticsConfiguration().setColumns(["status"]),
+                new TenantStatisticsConfiguration().setName("posts_stats").setColumns(["user_id", "category"])
+        ]
+    }
+
+    protected List<com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration> prepareExpectedUnmappeddObjectsList() {
+        [
+                new com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration(),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration().setName("users_tenant_stats"),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration().setColumns(["status"]),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantStatisticsConfiguration().setName("posts_stats").setColumns(["user_id", "category"])
+        ]
+    }
+}
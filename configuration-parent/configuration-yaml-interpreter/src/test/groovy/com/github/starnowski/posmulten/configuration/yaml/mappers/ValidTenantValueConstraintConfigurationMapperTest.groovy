@@ -1,6 +1,7 @@
 package com.github.starnowski.posmulten.configuration.yaml.mappers
 
 import com.github.starnowski.posmulten.configuration.yaml.model.ValidTenantValueConstraintConfiguration
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType
 
 import static java.util.Arrays.asList
 
@@ -28,7 +29,12 @@ class ValidTenantValueConstraintConfigurationMapperTest extends AbstractConfigur
                 new ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint"),
                 new ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint")
                         .setIsTenantValidFunctionName("function_name_is_tenant_valid")
-                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant")),
+                new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setBlacklistType(TenantValuesBlacklistType.CONSTANT_ARRAY),
+                new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setBlacklistType(TenantValuesBlacklistType.LOOKUP_TABLE)
+                        .setBlacklistTableName("invalid_tenants")
         ]
     }
 
@@ -39,7 +45,12 @@ class ValidTenantValueConstraintConfigurationMapperTest extends AbstractConfigur
                 new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint"),
                 new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint")
                         .setIsTenantValidFunctionName("function_name_is_tenant_valid")
-                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant")),
+                new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setBlacklistType(TenantValuesBlacklistType.CONSTANT_ARRAY),
+                new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setBlacklistType(TenantValuesBlacklistType.LOOKUP_TABLE)
+                        .setBlacklistTableName("invalid_tenants")
         ]
     }
 }
@@ -0,0 +1,67 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy;
+
+import java.util.List;
+
+/**
+ * @since 0.8
+ */
+public interface ITenantPartitionStatementProducerParameters {
+
+    String getTable();
+
+    String getSchema();
+
+    String getPartitionTable();
+
+    TenantPartitioningStrategy getStrategy();
+
+    /**
+     * @return modulus for the {@link TenantPartitioningStrategy#HASH} strategy
+     */
+    Integer getModulus();
+
+    /**
+     * @return remainder for the {@link TenantPartitioningStrategy#HASH} strategy
+     */
+    Integer getRemainder();
+
+    /**
+     * @return tenant identifiers for the {@link TenantPartitioningStrategy#LIST} strategy
+     */
+    List<String> getValues();
+
+    /**
+     * @return true if the partition is the default partition for the {@link TenantPartitioningStrategy#LIST} strategy
+     */
+    boolean isDefaultPartition();
+
+    /**
+     * @return true if the partition table exists and should be attached (and detached) instead of being created (and dropped)
+     */
+    boolean isAttachExistingTable();
+}
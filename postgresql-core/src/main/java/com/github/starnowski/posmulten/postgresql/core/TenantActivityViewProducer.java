@@ -0,0 +1,110 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.SetCurrentTenantIdFunctionProducer.TENANT_TAG_PREFIX;
+
+/**
+ * Producer of the view that presents the sessions from the "pg_stat_activity" view which have the tenant tag set in the "application_name" property.
+ * The "tenant_id" column of the view contains the tenant identifier extracted from the tag, so the view can be grouped by tenant
+ * to find tenants with the highest number of active sessions, long running transactions or waiting queries.
+ * The "application_name" property is used because the values of custom properties set by other sessions are not visible in the "pg_stat_activity" view.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.rls.function.SetCurrentTenantIdFunctionProducer
+ * @see <a href="https://www.postgresql.org/docs/10/monitoring-stats.html#PG-STAT-ACTIVITY-VIEW">Postgres, pg_stat_activity view</a>
+ * @since 0.8
+ */
+public class TenantActivityViewProducer {
+
+    public static final String TENANT_ID_COLUMN = "tenant_id";
+
+    public SQLDefinition produce(ITenantActivityViewProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    private String prepareCreateScript(ITenantActivityViewProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE OR REPLACE VIEW ");
+        sb.append(prepareViewReference(parameters));
+        sb.append(" AS SELECT substr(sa.application_name, ");
+        sb.append(TENANT_TAG_PREFIX.length() + 1);
+        sb.append(") AS ");
+        sb.append(TENANT_ID_COLUMN);
+        sb.append(", sa.pid, sa.usename, sa.datname, sa.state, sa.backend_start, sa.xact_start, sa.query_start, sa.wait_event_type, sa.wait_event, sa.query");
+        sb.append(" FROM pg_stat_activity sa WHERE sa.application_name LIKE '");
+        sb.append(TENANT_TAG_PREFIX);
+        sb.append("%';");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ITenantActivityViewProducerParameters parameters) {
+        return "DROP VIEW IF EXISTS " + prepareViewReference(parameters) + ";";
+    }
+
+    private List<String> prepareCheckingStatements(ITenantActivityViewProducerParameters parameters) {
+        StringBuilder viewCheck = new StringBuilder();
+        viewCheck.append("SELECT COUNT(1) FROM pg_views WHERE viewname = '");
+        viewCheck.append(parameters.getView());
+        viewCheck.append("' AND schemaname = '");
+        viewCheck.append(parameters.getSchema() == null ? "public" : parameters.getSchema());
+        viewCheck.append("';");
+        return Collections.singletonList(viewCheck.toString());
+    }
+
+    private String prepareViewReference(ITenantActivityViewProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.getSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getView());
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private void validate(ITenantActivityViewProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getView() == null) {
+            throw new IllegalArgumentException("View name cannot be null");
+        }
+        if (parameters.getView().trim().isEmpty()) {
+            throw new IllegalArgumentException("View name cannot be blank");
+        }
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.TenantColumnBackfillSQLDefinition;
+
+import java.util.Collections;
+
+/**
+ * Producer of the definition that sets the tenant column values for existing rows of the table ({@link TenantColumnBackfillSQLDefinition}).
+ * The key columns keep the order of map entries, which should be the order of the primary key columns,
+ * so the batches are ordered the same way as the primary key index.
+ *
+ * @since 0.8
+ */
+public class TenantColumnBackfillProducer {
+
+    public TenantColumnBackfillSQLDefinition produce(ITenantColumnBackfillProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getTable() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be blank");
+        }
+        if (parameters.getTenantColumn() == null) {
+            throw new IllegalArgumentException("Tenant column cannot be null");
+        }
+        if (parameters.getTenantColumn().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant column cannot be blank");
+        }
+        if (parameters.getKeyColumnNameAndTypeMap() == null || parameters.getKeyColumnNameAndTypeMap().isEmpty()) {
+            throw new IllegalArgumentException("Key columns cannot be empty");
+        }
+        if (parameters.getTenantValueQuery() == null) {
+            throw new IllegalArgumentException("Tenant value query cannot be null");
+        }
+        if (parameters.getTenantValueQuery().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant value query cannot be blank");
+        }
+        return new TenantColumnBackfillSQLDefinition(prepareCreateScript(parameters), "SELECT 1;", Collections.singletonList(prepareCheckingStatement(parameters)),
+                parameters.getSchema(), parameters.getTable(), parameters.getTenantColumn(), parameters.getKeyColumnNameAndTypeMap(), parameters.getTenantValueQuery());
+    }
+
+    private String prepareCreateScript(ITenantColumnBackfillProducerParameters parameters) {
+        return "UPDATE " + prepareTableReference(parameters) + " SET " + parameters.getTenantColumn() + " = (" + parameters.getTenantValueQuery() + ") WHERE " + parameters.getTenantColumn() + " IS NULL;";
+    }
+
+    private String prepareCheckingStatement(ITenantColumnBackfillProducerParameters parameters) {
+        return "SELECT CASE WHEN EXISTS (SELECT 1 FROM " + prepareTableReference(parameters) + " WHERE " + parameters.getTenantColumn() + " IS NULL) THEN 0 ELSE 1 END;";
+    }
+
+    private String prepareTableReference(ITenantColumnBackfillProducerParameters parameters) {
+        return parameters.getSchema() == null ? "\"" + parameters.getTable() + "\"" : "\"" + parameters.getSchema() + "\".\"" + parameters.getTable() + "\"";
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.Map;
+
+/**
+ * @since 0.8
+ */
+public class TenantColumnBackfillProducerParameters implements ITenantColumnBackfillProducerParameters {
+
+    private final String table;
+    private final String schema;
+    private final String tenantColumn;
+    private final Map<String, String> keyColumnNameAndTypeMap;
+    private final String tenantValueQuery;
+
+    public TenantColumnBackfillProducerParameters(String table, String schema, String tenantColumn, Map<String, String> keyColumnNameAndTypeMap, String tenantValueQuery) {
+        this.table = table;
+        this.schema = schema;
+        this.tenantColumn = tenantColumn;
+        this.keyColumnNameAndTypeMap = keyColumnNameAndTypeMap;
+        this.tenantValueQuery = tenantValueQuery;
+    }
+
+    public static TenantColumnBackfillProducerParametersBuilder builder() {
+        return new TenantColumnBackfillProducerParametersBuilder();
+    }
+
+    @Override
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getTenantColumn() {
+        return tenantColumn;
+    }
+
+    @Override
+    public Map<String, String> getKeyColumnNameAndTypeMap() {
+        return keyColumnNameAndTypeMap;
+    }
+
+    @Override
+    public String getTenantValueQuery() {
+        return tenantValueQuery;
+    }
+
+    public static class TenantColumnBackfillProducerParametersBuilder {
+        private String table;
+        private String schema;
+        private String tenantColumn;
+        private Map<String, String> keyColumnNameAndTypeMap;
+        private String tenantValueQuery;
+
+        public TenantColumnBackfillProducerParametersBuilder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public TenantColumnBackfillProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantColumnBackfillProducerParametersBuilder withTenantColumn(String tenantColumn) {
+            this.tenantColumn = tenantColumn;
+            return this;
+        }
+
+        public TenantColumnBackfillProducerParametersBuilder withKeyColumnNameAndTypeMap(Map<String, String> keyColumnNameAndTypeMap) {
+            this.keyColumnNameAndTypeMap = keyColumnNameAndTypeMap;
+            return this;
+        }
+
+        public TenantColumnBackfillProducerParametersBuilder withTenantValueQuery(String tenantValueQuery) {
+            this.tenantValueQuery = tenantValueQuery;
+            return this;
+        }
+
+        public TenantColumnBackfillProducerParameters build() {
+            return new TenantColumnBackfillProducerParameters(table, schema, tenantColumn, keyColumnNameAndTypeMap, tenantValueQuery);
+        }
+    }
+}
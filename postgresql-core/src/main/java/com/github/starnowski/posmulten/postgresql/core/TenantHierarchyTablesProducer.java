@@ -0,0 +1,185 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Producer of the tables for the hierarchical tenants.
+ * The hierarchy table stores the parent tenant for each tenant, the rows of child tenants are deleted together with the parent tenant.
+ * The closure table stores all pairs of the ancestor and descendant tenants (including the pair of the tenant with itself with zero depth),
+ * so checking if a tenant is a descendant of another tenant is a single primary key lookup instead of the recursive query.
+ * The closure table is maintained by the row level trigger on the hierarchy table that executes the passed trigger function.
+ * The statement "EXECUTE PROCEDURE" is used instead of "EXECUTE FUNCTION" to support Postgres 10.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHierarchyClosureTriggerFunctionProducer
+ * @since 0.8
+ */
+public class TenantHierarchyTablesProducer {
+
+    public static final String TENANT_ID_COLUMN = "tenant_id";
+    public static final String PARENT_TENANT_ID_COLUMN = "parent_tenant_id";
+    public static final String ANCESTOR_ID_COLUMN = "ancestor_id";
+    public static final String DESCENDANT_ID_COLUMN = "descendant_id";
+    public static final String DEPTH_COLUMN = "depth";
+
+    /**
+     * @param parameters tables parameters
+     * @return definitions of the hierarchy table, the closure table and the trigger that maintains the closure table, in order of creation
+     */
+    public List<SQLDefinition> produce(ITenantHierarchyTablesProducerParameters parameters) {
+        validate(parameters);
+        String hierarchyTable = prepareTableReference(parameters.getSchema(), parameters.getHierarchyTable());
+        String closureTable = prepareTableReference(parameters.getSchema(), parameters.getClosureTable());
+        StringBuilder hierarchyTableCreate = new StringBuilder();
+        hierarchyTableCreate.append("CREATE TABLE IF NOT EXISTS ");
+        hierarchyTableCreate.append(hierarchyTable);
+        hierarchyTableCreate.append(" (");
+        hierarchyTableCreate.append(TENANT_ID_COLUMN);
+        hierarchyTableCreate.append(" ");
+        hierarchyTableCreate.append(parameters.getTenantIdColumnType());
+        hierarchyTableCreate.append(" PRIMARY KEY, ");
+        hierarchyTableCreate.append(PARENT_TENANT_ID_COLUMN);
+        hierarchyTableCreate.append(" ");
+        hierarchyTableCreate.append(parameters.getTenantIdColumnType());
+        hierarchyTableCreate.append(" REFERENCES ");
+        hierarchyTableCreate.append(hierarchyTable);
+        hierarchyTableCreate.append(" (");
+        hierarchyTableCreate.append(TENANT_ID_COLUMN);
+        hierarchyTableCreate.append(") ON DELETE CASCADE);");
+        StringBuilder closureTableCreate = new StringBuilder();
+        closureTableCreate.append("CREATE TABLE IF NOT EXISTS ");
+        closureTableCreate.append(closureTable);
+        closureTableCreate.append(" (");
+        closureTableCreate.append(ANCESTOR_ID_COLUMN);
+        closureTableCreate.append(" ");
+        closureTableCreate.append(parameters.getTenantIdColumnType());
+        closureTableCreate.append(" NOT NULL, ");
+        closureTableCreate.append(DESCENDANT_ID_COLUMN);
+        closureTableCreate.append(" ");
+        closureTableCreate.append(parameters.getTenantIdColumnType());
+        closureTableCreate.append(" NOT NULL, ");
+        closureTableCreate.append(DEPTH_COLUMN);
+        closureTableCreate.append(" integer NOT NULL, PRIMARY KEY (");
+        closureTableCreate.append(ANCESTOR_ID_COLUMN);
+        closureTableCreate.append(", ");
+        closureTableCreate.append(DESCENDANT_ID_COLUMN);
+        closureTableCreate.append("));");
+        StringBuilder triggerCreate = new StringBuilder();
+        triggerCreate.append("CREATE TRIGGER ");
+        triggerCreate.append(parameters.getTriggerName());
+        triggerCreate.append(" AFTER INSERT OR UPDATE OR DELETE ON ");
+        triggerCreate.append(hierarchyTable);
+        triggerCreate.append(" FOR EACH ROW EXECUTE PROCEDURE ");
+        triggerCreate.append(parameters.getTriggerFunctionReference());
+        triggerCreate.append("();");
+        return Arrays.asList(
+                new DefaultSQLDefinition(hierarchyTableCreate.toString(), "DROP TABLE IF EXISTS " + hierarchyTable + ";", singletonList(prepareTableCheckingStatement(parameters.getSchema(), parameters.getHierarchyTable()))),
+                new DefaultSQLDefinition(closureTableCreate.toString(), "DROP TABLE IF EXISTS " + closureTable + ";", singletonList(prepareTableCheckingStatement(parameters.getSchema(), parameters.getClosureTable()))),
+                new DefaultSQLDefinition(triggerCreate.toString(), "DROP TRIGGER IF EXISTS " + parameters.getTriggerName() + " ON " + hierarchyTable + ";", singletonList(prepareTriggerCheckingStatement(parameters))));
+    }
+
+    private String prepareTableCheckingStatement(String schema, String table) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '");
+        sb.append(table);
+        sb.append("' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        sb.append(schema == null ? "public" : schema);
+        sb.append("';");
+        return sb.toString();
+    }
+
+    private String prepareTriggerCheckingStatement(ITenantHierarchyTablesProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT COUNT(1) FROM pg_trigger pt, pg_class pc, pg_catalog.pg_namespace pg ");
+        sb.append("WHERE");
+        sb.append(" pt.tgrelid = pc.oid AND pt.tgname = '");
+        sb.append(parameters.getTriggerName());
+        sb.append("' AND pc.relname = '");
+        sb.append(parameters.getHierarchyTable());
+        sb.append("' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        sb.append(parameters.getSchema() == null ? "public" : parameters.getSchema());
+        sb.append("';");
+        return sb.toString();
+    }
+
+    private String prepareTableReference(String schema, String table) {
+        StringBuilder sb = new StringBuilder();
+        if (schema != null) {
+            sb.append("\"");
+            sb.append(schema);
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(table);
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private void validate(ITenantHierarchyTablesProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getHierarchyTable() == null) {
+            throw new IllegalArgumentException("Hierarchy table name cannot be null");
+        }
+        if (parameters.getHierarchyTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Hierarchy table name cannot be blank");
+        }
+        if (parameters.getClosureTable() == null) {
+            throw new IllegalArgumentException("Closure table name cannot be null");
+        }
+        if (parameters.getClosureTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Closure table name cannot be blank");
+        }
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+        if (parameters.getTenantIdColumnType() == null) {
+            throw new IllegalArgumentException("Tenant id column type cannot be null");
+        }
+        if (parameters.getTenantIdColumnType().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant id column type cannot be blank");
+        }
+        if (parameters.getTriggerName() == null) {
+            throw new IllegalArgumentException("Trigger name cannot be null");
+        }
+        if (parameters.getTriggerName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Trigger name cannot be blank");
+        }
+        if (parameters.getTriggerFunctionReference() == null) {
+            throw new IllegalArgumentException("Trigger function reference cannot be null");
+        }
+        if (parameters.getTriggerFunctionReference().trim().isEmpty()) {
+            throw new IllegalArgumentException("Trigger function reference cannot be blank");
+        }
+    }
+}
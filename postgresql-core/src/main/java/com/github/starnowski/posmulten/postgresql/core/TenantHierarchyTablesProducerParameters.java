@@ -0,0 +1,117 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+/**
+ * @since 0.8
+ */
+public class TenantHierarchyTablesProducerParameters implements ITenantHierarchyTablesProducerParameters {
+
+    private final String hierarchyTable;
+    private final String closureTable;
+    private final String schema;
+    private final String tenantIdColumnType;
+    private final String triggerName;
+    private final String triggerFunctionReference;
+
+    public TenantHierarchyTablesProducerParameters(String hierarchyTable, String closureTable, String schema, String tenantIdColumnType, String triggerName, String triggerFunctionReference) {
+        this.hierarchyTable = hierarchyTable;
+        this.closureTable = closureTable;
+        this.schema = schema;
+        this.tenantIdColumnType = tenantIdColumnType;
+        this.triggerName = triggerName;
+        this.triggerFunctionReference = triggerFunctionReference;
+    }
+
+    public static TenantHierarchyTablesProducerParametersBuilder builder() {
+        return new TenantHierarchyTablesProducerParametersBuilder();
+    }
+
+    public String getHierarchyTable() {
+        return hierarchyTable;
+    }
+
+    public String getClosureTable() {
+        return closureTable;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getTenantIdColumnType() {
+        return tenantIdColumnType;
+    }
+
+    public String getTriggerName() {
+        return triggerName;
+    }
+
+    public String getTriggerFunctionReference() {
+        return triggerFunctionReference;
+    }
+
+    public static class TenantHierarchyTablesProducerParametersBuilder {
+        private String hierarchyTable;
+        private String closureTable;
+        private String schema;
+        private String tenantIdColumnType;
+        private String triggerName;
+        private String triggerFunctionReference;
+
+        public TenantHierarchyTablesProducerParametersBuilder withHierarchyTable(String hierarchyTable) {
+            this.hierarchyTable = hierarchyTable;
+            return this;
+        }
+
+        public TenantHierarchyTablesProducerParametersBuilder withClosureTable(String closureTable) {
+            this.closureTable = closureTable;
+            return this;
+        }
+
+        public TenantHierarchyTablesProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantHierarchyTablesProducerParametersBuilder withTenantIdColumnType(String tenantIdColumnType) {
+            this.tenantIdColumnType = tenantIdColumnType;
+            return this;
+        }
+
+        public TenantHierarchyTablesProducerParametersBuilder withTriggerName(String triggerName) {
+            this.triggerName = triggerName;
+            return this;
+        }
+
+        public TenantHierarchyTablesProducerParametersBuilder withTriggerFunctionReference(String triggerFunctionReference) {
+            this.triggerFunctionReference = triggerFunctionReference;
+            return this;
+        }
+
+        public TenantHierarchyTablesProducerParameters build() {
+            return new TenantHierarchyTablesProducerParameters(hierarchyTable, closureTable, schema, tenantIdColumnType, triggerName, triggerFunctionReference);
+        }
+    }
+}
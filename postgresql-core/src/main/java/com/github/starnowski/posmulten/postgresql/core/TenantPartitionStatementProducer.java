@@ -0,0 +1,172 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Producer of the partition for the table that is partitioned by the tenant column.
+ * The partition is created as a new table ("CREATE TABLE ... PARTITION OF") or an existing table is attached to the partitioned table
+ * ("ALTER TABLE ... ATTACH PARTITION").
+ * Besides the statement that checks if the partition exists, there is also the statement that checks if the parent table
+ * is partitioned with the expected strategy.
+ *
+ * @since 0.8
+ */
+public class TenantPartitionStatementProducer {
+
+    public SQLDefinition produce(ITenantPartitionStatementProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    private String prepareCreateScript(ITenantPartitionStatementProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.isAttachExistingTable()) {
+            sb.append("ALTER TABLE ");
+            sb.append(prepareTableReference(parameters.getSchema(), parameters.getTable()));
+            sb.append(" ATTACH PARTITION ");
+            sb.append(prepareTableReference(parameters.getSchema(), parameters.getPartitionTable()));
+        } else {
+            sb.append("CREATE TABLE IF NOT EXISTS ");
+            sb.append(prepareTableReference(parameters.getSchema(), parameters.getPartitionTable()));
+            sb.append(" PARTITION OF ");
+            sb.append(prepareTableReference(parameters.getSchema(), parameters.getTable()));
+        }
+        sb.append(" ");
+        sb.append(preparePartitionBound(parameters));
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private String preparePartitionBound(ITenantPartitionStatementProducerParameters parameters) {
+        if (TenantPartitioningStrategy.HASH.equals(parameters.getStrategy())) {
+            return "FOR VALUES WITH (MODULUS " + parameters.getModulus() + ", REMAINDER " + parameters.getRemainder() + ")";
+        }
+        if (parameters.isDefaultPartition()) {
+            return "DEFAULT";
+        }
+        return "FOR VALUES IN (" + parameters.getValues().stream().map(value -> "'" + value.replace("'", "''") + "'").collect(joining(", ")) + ")";
+    }
+
+    private String prepareDropScript(ITenantPartitionStatementProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.isAttachExistingTable()) {
+            sb.append("ALTER TABLE ");
+            sb.append(prepareTableReference(parameters.getSchema(), parameters.getTable()));
+            sb.append(" DETACH PARTITION ");
+            sb.append(prepareTableReference(parameters.getSchema(), parameters.getPartitionTable()));
+        } else {
+            sb.append("DROP TABLE IF EXISTS ");
+            sb.append(prepareTableReference(parameters.getSchema(), parameters.getPartitionTable()));
+        }
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private List<String> prepareCheckingStatements(ITenantPartitionStatementProducerParameters parameters) {
+        String schema = parameters.getSchema() == null ? "public" : parameters.getSchema();
+        StringBuilder partitionCheck = new StringBuilder();
+        partitionCheck.append("SELECT COUNT(1) FROM pg_inherits pi, pg_class pc, pg_class ppc, pg_catalog.pg_namespace pg ");
+        partitionCheck.append("WHERE");
+        partitionCheck.append(" pi.inhrelid = pc.oid AND pi.inhparent = ppc.oid AND pc.relname = '");
+        partitionCheck.append(parameters.getPartitionTable());
+        partitionCheck.append("' AND pc.relispartition = 't' AND ppc.relname = '");
+        partitionCheck.append(parameters.getTable());
+        partitionCheck.append("' AND ppc.relnamespace = pg.oid AND pg.nspname = '");
+        partitionCheck.append(schema);
+        partitionCheck.append("';");
+        StringBuilder parentCheck = new StringBuilder();
+        parentCheck.append("SELECT COUNT(1) FROM pg_partitioned_table ppt, pg_class pc, pg_catalog.pg_namespace pg ");
+        parentCheck.append("WHERE");
+        parentCheck.append(" ppt.partrelid = pc.oid AND pc.relname = '");
+        parentCheck.append(parameters.getTable());
+        parentCheck.append("' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        parentCheck.append(schema);
+        parentCheck.append("' AND ppt.partstrat = '");
+        parentCheck.append(TenantPartitioningStrategy.HASH.equals(parameters.getStrategy()) ? "h" : "l");
+        parentCheck.append("';");
+        return Arrays.asList(partitionCheck.toString(), parentCheck.toString());
+    }
+
+    private String prepareTableReference(String schema, String table) {
+        StringBuilder sb = new StringBuilder();
+        if (schema != null) {
+            sb.append("\"");
+            sb.append(schema);
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(table);
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private void validate(ITenantPartitionStatementProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getTable() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be blank");
+        }
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+        if (parameters.getPartitionTable() == null) {
+            throw new IllegalArgumentException("Partition table name cannot be null");
+        }
+        if (parameters.getPartitionTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Partition table name cannot be blank");
+        }
+        if (parameters.getStrategy() == null) {
+            throw new IllegalArgumentException("Partitioning strategy cannot be null");
+        }
+        if (TenantPartitioningStrategy.HASH.equals(parameters.getStrategy())) {
+            if (parameters.getModulus() == null || parameters.getModulus() <= 0) {
+                throw new IllegalArgumentException("Modulus has to be greater than zero");
+            }
+            if (parameters.getRemainder() == null || parameters.getRemainder() < 0 || parameters.getRemainder() >= parameters.getModulus()) {
+                throw new IllegalArgumentException("Remainder has to be greater or equal to zero and less than modulus");
+            }
+        } else if (!parameters.isDefaultPartition()) {
+            if (parameters.getValues() == null) {
+                throw new IllegalArgumentException("Values list cannot be null");
+            }
+            if (parameters.getValues().isEmpty()) {
+                throw new IllegalArgumentException("Values list cannot be empty");
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * @since 0.8
+ */
+public class TenantPartitionStatementProducerParameters implements ITenantPartitionStatementProducerParameters {
+
+    private final String table;
+    private final String schema;
+    private final String partitionTable;
+    private final TenantPartitioningStrategy strategy;
+    private final Integer modulus;
+    private final Integer remainder;
+    private final List<String> values;
+    private final boolean defaultPartition;
+    private final boolean attachExistingTable;
+
+    public TenantPartitionStatementProducerParameters(String table, String schema, String partitionTable, TenantPartitioningStrategy strategy, Integer modulus, Integer remainder, List<String> values, boolean defaultPartition, boolean attachExistingTable) {
+        this.table = table;
+        this.schema = schema;
+        this.partitionTable = partitionTable;
+        this.strategy = strategy;
+        this.modulus = modulus;
+        this.remainder = remainder;
+        this.values = values == null ? null : unmodifiableList(values);
+        this.defaultPartition = defaultPartition;
+        this.attachExistingTable = attachExistingTable;
+    }
+
+    public static TenantPartitionStatementProducerParametersBuilder builder() {
+        return new TenantPartitionStatementProducerParametersBuilder();
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getPartitionTable() {
+        return partitionTable;
+    }
+
+    public TenantPartitioningStrategy getStrategy() {
+        return strategy;
+    }
+
+    public Integer getModulus() {
+        return modulus;
+    }
+
+    public Integer getRemainder() {
+        return remainder;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    public boolean isDefaultPartition() {
+        return defaultPartition;
+    }
+
+    public boolean isAttachExistingTable() {
+        return attachExistingTable;
+    }
+
+    public static class TenantPartitionStatementProducerParametersBuilder {
+        private String table;
+        private String schema;
+        private String partitionTable;
+        private TenantPartitioningStrategy strategy;
+        private Integer modulus;
+        private Integer remainder;
+        private List<String> values;
+        private boolean defaultPartition;
+        private boolean attachExistingTable;
+
+        public TenantPartitionStatementProducerParametersBuilder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withPartitionTable(String partitionTable) {
+            this.partitionTable = partitionTable;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withStrategy(TenantPartitioningStrategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withModulus(Integer modulus) {
+            this.modulus = modulus;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withRemainder(Integer remainder) {
+            this.remainder = remainder;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withValues(List<String> values) {
+            this.values = values;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withDefaultPartition(boolean defaultPartition) {
+            this.defaultPartition = defaultPartition;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParametersBuilder withAttachExistingTable(boolean attachExistingTable) {
+            this.attachExistingTable = attachExistingTable;
+            return this;
+        }
+
+        public TenantPartitionStatementProducerParameters build() {
+            return new TenantPartitionStatementProducerParameters(table, schema, partitionTable, strategy, modulus, remainder, values, defaultPartition, attachExistingTable);
+        }
+    }
+}
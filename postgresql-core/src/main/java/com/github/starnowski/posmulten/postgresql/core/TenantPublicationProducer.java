@@ -0,0 +1,155 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Producer of the publication that replicates only rows of the specified tenants (logical replication).
+ * Each published table has the row filter ("WHERE (tenant_column IN (...))") that requires Postgres 15 or newer.
+ * Besides the statement that checks if the publication exists, there is also the statement for each table that checks if
+ * the table is part of the publication and has the row filter.
+ * Postgres rejects the UPDATE and DELETE operations for a table published with the row filter when the filter column is
+ * not part of the table replica identity. The producer can create the definitions that set the
+ * "REPLICA IDENTITY FULL" for published tables (see {@link #produceReplicaIdentityFull(TableKey)}).
+ *
+ * @since 0.8
+ */
+public class TenantPublicationProducer {
+
+    public SQLDefinition produce(ITenantPublicationProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    /**
+     * Produces definition that sets the "REPLICA IDENTITY FULL" for the table, so the row filter of the publication can
+     * refer to the tenant column that is not part of the primary key.
+     * The drop script does not change the replica identity, because the identity that the table had before is not known.
+     *
+     * @param tableKey table identifier
+     * @return sql definition
+     */
+    public SQLDefinition produceReplicaIdentityFull(TableKey tableKey) {
+        if (tableKey == null) {
+            throw new IllegalArgumentException("Table key cannot be null");
+        }
+        String tableReference = prepareTableReference(tableKey);
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '");
+        sb.append(tableKey.getTable());
+        sb.append("' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        sb.append(tableKey.getSchema() == null ? "public" : tableKey.getSchema());
+        sb.append("' AND pc.relreplident = 'f';");
+        return new DefaultSQLDefinition("ALTER TABLE " + tableReference + " REPLICA IDENTITY FULL;", "SELECT 1;", singletonList(sb.toString()));
+    }
+
+    private String prepareCreateScript(ITenantPublicationProducerParameters parameters) {
+        String values = parameters.getTenantIdentifiers().stream().map(value -> "'" + value.replace("'", "''") + "'").collect(joining(", "));
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE PUBLICATION ");
+        sb.append(parameters.getPublicationName());
+        sb.append(" FOR TABLE ");
+        sb.append(parameters.getTablesTenantColumns().entrySet().stream()
+                .map(entry -> prepareTableReference(entry.getKey()) + " WHERE (" + entry.getValue() + " IN (" + values + "))")
+                .collect(joining(", ")));
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ITenantPublicationProducerParameters parameters) {
+        return "DROP PUBLICATION IF EXISTS " + parameters.getPublicationName() + ";";
+    }
+
+    private List<String> prepareCheckingStatements(ITenantPublicationProducerParameters parameters) {
+        List<String> results = new ArrayList<>();
+        results.add("SELECT COUNT(1) FROM pg_publication WHERE pubname = '" + parameters.getPublicationName() + "';");
+        for (TableKey tableKey : parameters.getTablesTenantColumns().keySet()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("SELECT COUNT(1) FROM pg_publication_rel pr, pg_publication pp, pg_class pc, pg_catalog.pg_namespace pg ");
+            sb.append("WHERE");
+            sb.append(" pr.prpubid = pp.oid AND pr.prrelid = pc.oid AND pp.pubname = '");
+            sb.append(parameters.getPublicationName());
+            sb.append("' AND pc.relname = '");
+            sb.append(tableKey.getTable());
+            sb.append("' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+            sb.append(tableKey.getSchema() == null ? "public" : tableKey.getSchema());
+            sb.append("' AND pr.prqual IS NOT NULL;");
+            results.add(sb.toString());
+        }
+        return results;
+    }
+
+    private String prepareTableReference(TableKey tableKey) {
+        StringBuilder sb = new StringBuilder();
+        if (tableKey.getSchema() != null) {
+            sb.append("\"");
+            sb.append(tableKey.getSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(tableKey.getTable());
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private void validate(ITenantPublicationProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getPublicationName() == null) {
+            throw new IllegalArgumentException("Publication name cannot be null");
+        }
+        if (parameters.getPublicationName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Publication name cannot be blank");
+        }
+        if (parameters.getTablesTenantColumns() == null) {
+            throw new IllegalArgumentException("Tables map cannot be null");
+        }
+        if (parameters.getTablesTenantColumns().isEmpty()) {
+            throw new IllegalArgumentException("Tables map cannot be empty");
+        }
+        for (Map.Entry<TableKey, String> entry : parameters.getTablesTenantColumns().entrySet()) {
+            if (entry.getValue() == null || entry.getValue().trim().isEmpty()) {
+                throw new IllegalArgumentException("Tenant column name for table " + entry.getKey().getTable() + " cannot be blank");
+            }
+        }
+        if (parameters.getTenantIdentifiers() == null) {
+            throw new IllegalArgumentException("Tenant identifiers list cannot be null");
+        }
+        if (parameters.getTenantIdentifiers().isEmpty()) {
+            throw new IllegalArgumentException("Tenant identifiers list cannot be empty");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * @since 0.8
+ */
+public class TenantPublicationProducerParameters implements ITenantPublicationProducerParameters {
+
+    private final String publicationName;
+    private final Map<TableKey, String> tablesTenantColumns;
+    private final List<String> tenantIdentifiers;
+
+    public TenantPublicationProducerParameters(String publicationName, Map<TableKey, String> tablesTenantColumns, List<String> tenantIdentifiers) {
+        this.publicationName = publicationName;
+        this.tablesTenantColumns = tablesTenantColumns == null ? null : unmodifiableMap(new LinkedHashMap<>(tablesTenantColumns));
+        this.tenantIdentifiers = tenantIdentifiers == null ? null : unmodifiableList(tenantIdentifiers);
+    }
+
+    public static TenantPublicationProducerParametersBuilder builder() {
+        return new TenantPublicationProducerParametersBuilder();
+    }
+
+    public String getPublicationName() {
+        return publicationName;
+    }
+
+    public Map<TableKey, String> getTablesTenantColumns() {
+        return tablesTenantColumns;
+    }
+
+    public List<String> getTenantIdentifiers() {
+        return tenantIdentifiers;
+    }
+
+    public static class TenantPublicationProducerParametersBuilder {
+        private String publicationName;
+        private Map<TableKey, String> tablesTenantColumns;
+        private List<String> tenantIdentifiers;
+
+        public TenantPublicationProducerParametersBuilder withPublicationName(String publicationName) {
+            this.publicationName = publicationName;
+            return this;
+        }
+
+        public TenantPublicationProducerParametersBuilder withTablesTenantColumns(Map<TableKey, String> tablesTenantColumns) {
+            this.tablesTenantColumns = tablesTenantColumns;
+            return this;
+        }
+
+        public TenantPublicationProducerParametersBuilder withTenantIdentifiers(List<String> tenantIdentifiers) {
+            this.tenantIdentifiers = tenantIdentifiers;
+            return this;
+        }
+
+        public TenantPublicationProducerParameters build() {
+            return new TenantPublicationProducerParameters(publicationName, tablesTenantColumns, tenantIdentifiers);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Producer of the tenant registry table that maps the external tenant identifiers to the surrogate (compact) integer identifiers.
+ * The surrogate identifier column is the primary key of the table and its values are generated by the identity column,
+ * the external identifier column has the unique constraint, so the resolving of the surrogate identifier is a single index lookup.
+ * The identity columns require Postgres 10 or newer.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.rls.function.SetCurrentTenantIdFunctionProducer
+ * @see <a href="https://www.postgresql.org/docs/10/sql-createtable.html">Postgres, create table</a>
+ * @since 0.8
+ */
+public class TenantRegistryTableProducer {
+
+    public SQLDefinition produce(ITenantRegistryTableProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    private String prepareCreateScript(ITenantRegistryTableProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TABLE IF NOT EXISTS ");
+        sb.append(prepareTableReference(parameters));
+        sb.append(" (");
+        sb.append(parameters.getTenantIdColumn());
+        sb.append(" ");
+        sb.append(parameters.getTenantIdColumnType());
+        sb.append(" GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, ");
+        sb.append(parameters.getExternalIdentifierColumn());
+        sb.append(" ");
+        sb.append(parameters.getExternalIdentifierColumnType() == null ? "text" : parameters.getExternalIdentifierColumnType());
+        sb.append(" NOT NULL UNIQUE);");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ITenantRegistryTableProducerParameters parameters) {
+        return "DROP TABLE IF EXISTS " + prepareTableReference(parameters) + ";";
+    }
+
+    private List<String> prepareCheckingStatements(ITenantRegistryTableProducerParameters parameters) {
+        StringBuilder tableCheck = new StringBuilder();
+        tableCheck.append("SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '");
+        tableCheck.append(parameters.getTable());
+        tableCheck.append("' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        tableCheck.append(parameters.getSchema() == null ? "public" : parameters.getSchema());
+        tableCheck.append("';");
+        return Collections.singletonList(tableCheck.toString());
+    }
+
+    private String prepareTableReference(ITenantRegistryTableProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.getSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTable());
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private void validate(ITenantRegistryTableProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getTable() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be blank");
+        }
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+        if (parameters.getTenantIdColumn() == null) {
+            throw new IllegalArgumentException("Tenant id column name cannot be null");
+        }
+        if (parameters.getTenantIdColumn().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant id column name cannot be blank");
+        }
+        if (parameters.getTenantIdColumnType() == null) {
+            throw new IllegalArgumentException("Tenant id column type cannot be null");
+        }
+        if (parameters.getTenantIdColumnType().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant id column type cannot be blank");
+        }
+        if (parameters.getExternalIdentifierColumn() == null) {
+            throw new IllegalArgumentException("External identifier column name cannot be null");
+        }
+        if (parameters.getExternalIdentifierColumn().trim().isEmpty()) {
+            throw new IllegalArgumentException("External identifier column name cannot be blank");
+        }
+        if (parameters.getExternalIdentifierColumnType() != null && parameters.getExternalIdentifierColumnType().trim().isEmpty()) {
+            throw new IllegalArgumentException("External identifier column type cannot be blank");
+        }
+    }
+}
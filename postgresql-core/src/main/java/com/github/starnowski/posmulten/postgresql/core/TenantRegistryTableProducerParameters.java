@@ -0,0 +1,123 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+/**
+ * @since 0.8
+ */
+public class TenantRegistryTableProducerParameters implements ITenantRegistryTableProducerParameters {
+
+    private final String table;
+    private final String schema;
+    private final String tenantIdColumn;
+    private final String tenantIdColumnType;
+    private final String externalIdentifierColumn;
+    private final String externalIdentifierColumnType;
+
+    public TenantRegistryTableProducerParameters(String table, String schema, String tenantIdColumn, String tenantIdColumnType, String externalIdentifierColumn, String externalIdentifierColumnType) {
+        this.table = table;
+        this.schema = schema;
+        this.tenantIdColumn = tenantIdColumn;
+        this.tenantIdColumnType = tenantIdColumnType;
+        this.externalIdentifierColumn = externalIdentifierColumn;
+        this.externalIdentifierColumnType = externalIdentifierColumnType;
+    }
+
+    public static TenantRegistryTableProducerParametersBuilder builder() {
+        return new TenantRegistryTableProducerParametersBuilder();
+    }
+
+    @Override
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getTenantIdColumn() {
+        return tenantIdColumn;
+    }
+
+    @Override
+    public String getTenantIdColumnType() {
+        return tenantIdColumnType;
+    }
+
+    @Override
+    public String getExternalIdentifierColumn() {
+        return externalIdentifierColumn;
+    }
+
+    @Override
+    public String getExternalIdentifierColumnType() {
+        return externalIdentifierColumnType;
+    }
+
+    public static class TenantRegistryTableProducerParametersBuilder {
+        private String table;
+        private String schema;
+        private String tenantIdColumn;
+        private String tenantIdColumnType;
+        private String externalIdentifierColumn;
+        private String externalIdentifierColumnType;
+
+        public TenantRegistryTableProducerParametersBuilder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public TenantRegistryTableProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantRegistryTableProducerParametersBuilder withTenantIdColumn(String tenantIdColumn) {
+            this.tenantIdColumn = tenantIdColumn;
+            return this;
+        }
+
+        public TenantRegistryTableProducerParametersBuilder withTenantIdColumnType(String tenantIdColumnType) {
+            this.tenantIdColumnType = tenantIdColumnType;
+            return this;
+        }
+
+        public TenantRegistryTableProducerParametersBuilder withExternalIdentifierColumn(String externalIdentifierColumn) {
+            this.externalIdentifierColumn = externalIdentifierColumn;
+            return this;
+        }
+
+        public TenantRegistryTableProducerParametersBuilder withExternalIdentifierColumnType(String externalIdentifierColumnType) {
+            this.externalIdentifierColumnType = externalIdentifierColumnType;
+            return this;
+        }
+
+        public TenantRegistryTableProducerParameters build() {
+            return new TenantRegistryTableProducerParameters(table, schema, tenantIdColumn, tenantIdColumnType, externalIdentifierColumn, externalIdentifierColumnType);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Producer of the tenant settings table that stores the per-tenant values of the configuration parameters applied
+ * by the function that sets the current tenant identifier.
+ * The tenant identifier column is the primary key of the table, so reading the settings is a single index lookup.
+ * The values of configuration parameters are stored in the same text format as for the "SET" statement (for example "5s" or "64MB"),
+ * the null value means that the default value of the parameter is used for the tenant.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.rls.function.SetCurrentTenantIdFunctionProducer
+ * @see <a href="https://www.postgresql.org/docs/10/runtime-config-client.html">Postgres, client connection defaults</a>
+ * @since 0.8
+ */
+public class TenantSettingsTableProducer {
+
+    public static final String TENANT_ID_COLUMN = "tenant_id";
+    public static final String STATEMENT_TIMEOUT_COLUMN = "statement_timeout";
+    public static final String WORK_MEM_COLUMN = "work_mem";
+    public static final String LOCK_TIMEOUT_COLUMN = "lock_timeout";
+    public static final String PRIORITY_CLASS_COLUMN = "priority_class";
+
+    public SQLDefinition produce(ITenantSettingsTableProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    private String prepareCreateScript(ITenantSettingsTableProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TABLE IF NOT EXISTS ");
+        sb.append(prepareTableReference(parameters));
+        sb.append(" (");
+        sb.append(TENANT_ID_COLUMN);
+        sb.append(" ");
+        sb.append(parameters.getTenantIdColumnType());
+        sb.append(" PRIMARY KEY, ");
+        sb.append(STATEMENT_TIMEOUT_COLUMN);
+        sb.append(" text, ");
+        sb.append(WORK_MEM_COLUMN);
+        sb.append(" text, ");
+        sb.append(LOCK_TIMEOUT_COLUMN);
+        sb.append(" text, ");
+        sb.append(PRIORITY_CLASS_COLUMN);
+        sb.append(" text);");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ITenantSettingsTableProducerParameters parameters) {
+        return "DROP TABLE IF EXISTS " + prepareTableReference(parameters) + ";";
+    }
+
+    private List<String> prepareCheckingStatements(ITenantSettingsTableProducerParameters parameters) {
+        StringBuilder tableCheck = new StringBuilder();
+        tableCheck.append("SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '");
+        tableCheck.append(parameters.getTable());
+        tableCheck.append("' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        tableCheck.append(parameters.getSchema() == null ? "public" : parameters.getSchema());
+        tableCheck.append("';");
+        return Collections.singletonList(tableCheck.toString());
+    }
+
+    private String prepareTableReference(ITenantSettingsTableProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.getSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTable());
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private void validate(ITenantSettingsTableProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getTable() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be blank");
+        }
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+        if (parameters.getTenantIdColumnType() == null) {
+            throw new IllegalArgumentException("Tenant id column type cannot be null");
+        }
+        if (parameters.getTenantIdColumnType().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant id column type cannot be blank");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+/**
+ * @since 0.8
+ */
+public class TenantSettingsTableProducerParameters implements ITenantSettingsTableProducerParameters {
+
+    private final String table;
+    private final String schema;
+    private final String tenantIdColumnType;
+
+    public TenantSettingsTableProducerParameters(String table, String schema, String tenantIdColumnType) {
+        this.table = table;
+        this.schema = schema;
+        this.tenantIdColumnType = tenantIdColumnType;
+    }
+
+    public static TenantSettingsTableProducerParametersBuilder builder() {
+        return new TenantSettingsTableProducerParametersBuilder();
+    }
+
+    @Override
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getTenantIdColumnType() {
+        return tenantIdColumnType;
+    }
+
+    public static class TenantSettingsTableProducerParametersBuilder {
+        private String table;
+        private String schema;
+        private String tenantIdColumnType;
+
+        public TenantSettingsTableProducerParametersBuilder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public TenantSettingsTableProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantSettingsTableProducerParametersBuilder withTenantIdColumnType(String tenantIdColumnType) {
+            this.tenantIdColumnType = tenantIdColumnType;
+            return this;
+        }
+
+        public TenantSettingsTableProducerParameters build() {
+            return new TenantSettingsTableProducerParameters(table, schema, tenantIdColumnType);
+        }
+    }
+}
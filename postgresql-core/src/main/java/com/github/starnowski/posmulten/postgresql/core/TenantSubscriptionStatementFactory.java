@@ -0,0 +1,61 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+/**
+ * Default factory of statements that create the subscription for the publication of tenant rows.
+ *
+ * @since 0.8
+ */
+public class TenantSubscriptionStatementFactory implements ITenantSubscriptionStatementFactory {
+
+    private final String publicationName;
+
+    public TenantSubscriptionStatementFactory(String publicationName) {
+        if (publicationName == null) {
+            throw new IllegalArgumentException("Publication name cannot be null");
+        }
+        if (publicationName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Publication name cannot be blank");
+        }
+        this.publicationName = publicationName;
+    }
+
+    @Override
+    public String generateCreateSubscriptionStatement(String subscriptionName, String connectionInfo) {
+        if (subscriptionName == null) {
+            throw new IllegalArgumentException("Subscription name cannot be null");
+        }
+        if (subscriptionName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Subscription name cannot be blank");
+        }
+        if (connectionInfo == null) {
+            throw new IllegalArgumentException("Connection info cannot be null");
+        }
+        if (connectionInfo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Connection info cannot be blank");
+        }
+        return "CREATE SUBSCRIPTION " + subscriptionName + " CONNECTION '" + connectionInfo.replace("'", "''") + "' PUBLICATION " + publicationName + ";";
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Producer of the lookup table that stores invalid tenant identifiers.
+ * The tenant identifier column is the primary key of the table.
+ * There are produced two sql definitions, the first one creates the table and the second one inserts the passed invalid values.
+ * Values that already exist in the table are skipped, so the statements can be executed many times.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnLookupTableFunctionProducer
+ * @since 0.8
+ */
+public class TenantValuesBlacklistTableProducer {
+
+    /**
+     * @param parameters table parameters
+     * @return list with the definition that creates the table and the definition that inserts the invalid values
+     */
+    public List<SQLDefinition> produce(ITenantValuesBlacklistTableProducerParameters parameters) {
+        validate(parameters);
+        return Arrays.asList(new DefaultSQLDefinition(prepareCreateTableScript(parameters), prepareDropTableScript(parameters), singletonList(prepareTableCheckingStatement(parameters))),
+                new DefaultSQLDefinition(prepareInsertValuesScript(parameters), prepareDeleteValuesScript(parameters), singletonList(prepareValuesCheckingStatement(parameters))));
+    }
+
+    private String prepareCreateTableScript(ITenantValuesBlacklistTableProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TABLE IF NOT EXISTS ");
+        sb.append(prepareTableReference(parameters));
+        sb.append(" (");
+        sb.append(parameters.getColumn());
+        sb.append(" ");
+        sb.append(parameters.getColumnType() == null ? "text" : parameters.getColumnType());
+        sb.append(" PRIMARY KEY);");
+        return sb.toString();
+    }
+
+    private String prepareInsertValuesScript(ITenantValuesBlacklistTableProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("INSERT INTO ");
+        sb.append(prepareTableReference(parameters));
+        sb.append(" (");
+        sb.append(parameters.getColumn());
+        sb.append(") VALUES ");
+        sb.append(parameters.getValues().stream().sorted().map(value -> "(" + prepareValue(value) + ")").collect(joining(", ")));
+        sb.append(" ON CONFLICT DO NOTHING;");
+        return sb.toString();
+    }
+
+    private String prepareDropTableScript(ITenantValuesBlacklistTableProducerParameters parameters) {
+        return "DROP TABLE IF EXISTS " + prepareTableReference(parameters) + ";";
+    }
+
+    private String prepareDeleteValuesScript(ITenantValuesBlacklistTableProducerParameters parameters) {
+        return "DELETE FROM " + prepareTableReference(parameters) + " WHERE " + parameters.getColumn() + " IN (" + prepareValuesList(parameters) + ");";
+    }
+
+    private String prepareTableCheckingStatement(ITenantValuesBlacklistTableProducerParameters parameters) {
+        StringBuilder tableCheck = new StringBuilder();
+        tableCheck.append("SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '");
+        tableCheck.append(parameters.getTable());
+        tableCheck.append("' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        tableCheck.append(parameters.getSchema() == null ? "public" : parameters.getSchema());
+        tableCheck.append("';");
+        return tableCheck.toString();
+    }
+
+    private String prepareValuesCheckingStatement(ITenantValuesBlacklistTableProducerParameters parameters) {
+        StringBuilder valuesCheck = new StringBuilder();
+        valuesCheck.append("SELECT CASE WHEN COUNT(1) = ");
+        valuesCheck.append(parameters.getValues().size());
+        valuesCheck.append(" THEN 1 ELSE 0 END FROM ");
+        valuesCheck.append(prepareTableReference(parameters));
+        valuesCheck.append(" WHERE ");
+        valuesCheck.append(parameters.getColumn());
+        valuesCheck.append(" IN (");
+        valuesCheck.append(prepareValuesList(parameters));
+        valuesCheck.append(");");
+        return valuesCheck.toString();
+    }
+
+    private String prepareValuesList(ITenantValuesBlacklistTableProducerParameters parameters) {
+        return parameters.getValues().stream().sorted().map(this::prepareValue).collect(joining(", "));
+    }
+
+    private String prepareValue(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    private String prepareTableReference(ITenantValuesBlacklistTableProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.getSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTable());
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private void validate(ITenantValuesBlacklistTableProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getTable() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTable().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be blank");
+        }
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+        if (parameters.getColumn() == null) {
+            throw new IllegalArgumentException("Column name cannot be null");
+        }
+        if (parameters.getColumn().trim().isEmpty()) {
+            throw new IllegalArgumentException("Column name cannot be blank");
+        }
+        if (parameters.getColumnType() != null && parameters.getColumnType().trim().isEmpty()) {
+            throw new IllegalArgumentException("Column type cannot be blank");
+        }
+        if (parameters.getValues() == null) {
+            throw new IllegalArgumentException("Values list cannot be null");
+        }
+        if (parameters.getValues().isEmpty()) {
+            throw new IllegalArgumentException("Values list cannot be empty");
+        }
+    }
+}
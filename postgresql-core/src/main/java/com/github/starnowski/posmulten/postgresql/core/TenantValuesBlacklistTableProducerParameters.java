@@ -0,0 +1,112 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.Set;
+
+/**
+ * @since 0.8
+ */
+public class TenantValuesBlacklistTableProducerParameters implements ITenantValuesBlacklistTableProducerParameters {
+
+    private final String table;
+    private final String schema;
+    private final String column;
+    private final String columnType;
+    private final Set<String> values;
+
+    public TenantValuesBlacklistTableProducerParameters(String table, String schema, String column, String columnType, Set<String> values) {
+        this.table = table;
+        this.schema = schema;
+        this.column = column;
+        this.columnType = columnType;
+        this.values = values;
+    }
+
+    public static TenantValuesBlacklistTableProducerParametersBuilder builder() {
+        return new TenantValuesBlacklistTableProducerParametersBuilder();
+    }
+
+    @Override
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getColumn() {
+        return column;
+    }
+
+    @Override
+    public String getColumnType() {
+        return columnType;
+    }
+
+    @Override
+    public Set<String> getValues() {
+        return values;
+    }
+
+    public static class TenantValuesBlacklistTableProducerParametersBuilder {
+        private String table;
+        private String schema;
+        private String column;
+        private String columnType;
+        private Set<String> values;
+
+        public TenantValuesBlacklistTableProducerParametersBuilder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public TenantValuesBlacklistTableProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantValuesBlacklistTableProducerParametersBuilder withColumn(String column) {
+            this.column = column;
+            return this;
+        }
+
+        public TenantValuesBlacklistTableProducerParametersBuilder withColumnType(String columnType) {
+            this.columnType = columnType;
+            return this;
+        }
+
+        public TenantValuesBlacklistTableProducerParametersBuilder withValues(Set<String> values) {
+            this.values = values;
+            return this;
+        }
+
+        public TenantValuesBlacklistTableProducerParameters build() {
+            return new TenantValuesBlacklistTableProducerParameters(table, schema, column, columnType, values);
+        }
+    }
+}
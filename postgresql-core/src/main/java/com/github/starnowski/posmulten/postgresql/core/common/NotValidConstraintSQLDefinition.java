@@ -0,0 +1,55 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.common;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Definition of constraint that is added with the NOT VALID option, which means that the existing rows are not checked
+ * and the statement only needs a short lived lock on the table.
+ * The definitions returned by the {@link #getValidationSQLDefinitions()} method validates the constraint for existing rows
+ * and should be executed after all other definitions.
+ *
+ * @since 0.8
+ */
+public class NotValidConstraintSQLDefinition extends DefaultSQLDefinition {
+
+    private final List<SQLDefinition> validationSQLDefinitions;
+
+    public NotValidConstraintSQLDefinition(String createScript, String dropScript, List<String> checkingStatements, List<SQLDefinition> validationSQLDefinitions) {
+        super(createScript, dropScript, checkingStatements);
+        if (validationSQLDefinitions == null) {
+            throw new IllegalArgumentException("validationSQLDefinitions can not be null");
+        }
+        this.validationSQLDefinitions = Collections.unmodifiableList(validationSQLDefinitions);
+    }
+
+    /**
+     * @return definitions that validate the constraint for the existing rows
+     */
+    public List<SQLDefinition> getValidationSQLDefinitions() {
+        return validationSQLDefinitions;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.common;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Definition that sets the tenant column values for existing rows of the table.
+ * The create script updates all rows in a single statement.
+ * Database operation processors that support online migration
+ * ({@link com.github.starnowski.posmulten.postgresql.core.db.operations.OnlineCreateOperationsProcessor})
+ * use the properties of this definition to update rows in small batches ordered by the key columns.
+ *
+ * @since 0.8
+ */
+public class TenantColumnBackfillSQLDefinition extends DefaultSQLDefinition {
+
+    private final String tableSchema;
+    private final String tableName;
+    private final String tenantColumnName;
+    private final Map<String, String> keyColumnNameAndTypeMap;
+    private final String tenantValueQuery;
+
+    public TenantColumnBackfillSQLDefinition(String createScript, String dropScript, List<String> checkingStatements, String tableSchema, String tableName, String tenantColumnName, Map<String, String> keyColumnNameAndTypeMap, String tenantValueQuery) {
+        super(createScript, dropScript, checkingStatements);
+        this.tableSchema = tableSchema;
+        this.tableName = tableName;
+        this.tenantColumnName = tenantColumnName;
+        this.keyColumnNameAndTypeMap = Collections.unmodifiableMap(new LinkedHashMap<>(keyColumnNameAndTypeMap));
+        this.tenantValueQuery = tenantValueQuery;
+    }
+
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getTenantColumnName() {
+        return tenantColumnName;
+    }
+
+    /**
+     * @return ordered map of columns that uniquely identify row (usually primary key columns) and their types,
+     * rows are updated in batches in the order of those columns
+     */
+    public Map<String, String> getKeyColumnNameAndTypeMap() {
+        return keyColumnNameAndTypeMap;
+    }
+
+    /**
+     * @return query that returns the tenant identifier for the updated row
+     */
+    public String getTenantValueQuery() {
+        return tenantValueQuery;
+    }
+}
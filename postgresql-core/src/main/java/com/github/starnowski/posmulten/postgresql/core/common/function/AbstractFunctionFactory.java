@@ -63,6 +63,18 @@ public abstract class AbstractFunctionFactory<P extends IFunctionFactoryParamete
     }
 
     protected List<String> returnCheckingStatements(P parameters) {
+        return singletonList(buildCheckingStatement(parameters, null));
+    }
+
+    /**
+     * Builds statement that counts functions with the name and schema specified by the parameters.
+     *
+     * @param parameters function parameters
+     * @param additionalCondition additional condition for the "pg_proc" table (aliased as "pg"), can be null
+     * @return checking statement
+     * @since 0.8
+     */
+    protected String buildCheckingStatement(P parameters, String additionalCondition) {
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT COUNT(1) FROM pg_proc pg, pg_catalog.pg_namespace pgn WHERE ");
         sb.append("pg.proname = '");
@@ -76,8 +88,13 @@ public abstract class AbstractFunctionFactory<P extends IFunctionFactoryParamete
             sb.append("'");
         }
         sb.append(" AND ");
-        sb.append("pg.pronamespace =  pgn.oid;");
-        return singletonList(sb.toString());
+        sb.append("pg.pronamespace =  pgn.oid");
+        if (additionalCondition != null) {
+            sb.append(" AND ");
+            sb.append(additionalCondition);
+        }
+        sb.append(";");
+        return sb.toString();
     }
 
     protected String prepareArgumentsPhrase(List<IFunctionArgument> functionArguments) {
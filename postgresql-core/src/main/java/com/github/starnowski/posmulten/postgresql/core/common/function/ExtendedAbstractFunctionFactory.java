@@ -23,8 +23,10 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.common.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class ExtendedAbstractFunctionFactory<P extends IFunctionFactoryParameters, R extends DefaultFunctionDefinition> extends AbstractFunctionFactory<P, R> {
@@ -82,9 +84,49 @@ public abstract class ExtendedAbstractFunctionFactory<P extends IFunctionFactory
     protected String buildMetaData(P parameters) {
         MetadataPhraseBuilder metadataPhraseBuilder = new MetadataPhraseBuilder();
         enrichMetadataPhraseBuilder(parameters, metadataPhraseBuilder);
+        FunctionMetadataOptions functionMetadataOptions = returnFunctionMetadataOptions(parameters);
+        if (functionMetadataOptions != null) {
+            metadataPhraseBuilder.withFunctionMetadataOptions(functionMetadataOptions);
+        }
         return metadataPhraseBuilder.build();
     }
 
+    /**
+     * Returns the optional metadata (like LEAKPROOF or COST attributes) that overrides metadata added by the
+     * {@link #enrichMetadataPhraseBuilder(IFunctionFactoryParameters, MetadataPhraseBuilder)} method.
+     * By default, returns null.
+     *
+     * @param parameters function parameters
+     * @return function metadata options, can be null
+     * @since 0.8
+     */
+    protected FunctionMetadataOptions returnFunctionMetadataOptions(P parameters) {
+        return null;
+    }
+
+    /**
+     * Besides the statement that checks if the function exists, returns statements that check if the function has
+     * the LEAKPROOF attribute and the cost specified by the {@link #returnFunctionMetadataOptions(IFunctionFactoryParameters)} method.
+     *
+     * @param parameters function parameters
+     * @return checking statements
+     * @since 0.8
+     */
+    @Override
+    protected List<String> returnCheckingStatements(P parameters) {
+        FunctionMetadataOptions functionMetadataOptions = returnFunctionMetadataOptions(parameters);
+        List<String> results = new ArrayList<>(super.returnCheckingStatements(parameters));
+        if (functionMetadataOptions != null) {
+            if (functionMetadataOptions.getLeakproof() != null) {
+                results.add(buildCheckingStatement(parameters, "pg.proleakproof = " + functionMetadataOptions.getLeakproof()));
+            }
+            if (functionMetadataOptions.getCost() != null) {
+                results.add(buildCheckingStatement(parameters, "pg.procost = " + functionMetadataOptions.getCost()));
+            }
+        }
+        return results;
+    }
+
     protected abstract void enrichMetadataPhraseBuilder(P parameters, MetadataPhraseBuilder metadataPhraseBuilder);
 
     protected abstract String buildBody(P parameters);
@@ -0,0 +1,137 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.common.function.metadata;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Optional metadata of the generated function, like the LEAKPROOF attribute, the planner cost estimations,
+ * the security attribute and the configuration parameters set for the time of function execution.
+ * Every property that is null is not added to the function definition.
+ *
+ * @since 0.8
+ */
+public class FunctionMetadataOptions {
+
+    /**
+     * When true the function is declared as LEAKPROOF, when false as NOT LEAKPROOF.
+     * The planner can push down the LEAKPROOF functions below the row level security policies.
+     * Only a superuser can create a function with the LEAKPROOF attribute.
+     */
+    private final Boolean leakproof;
+    /**
+     * Estimated execution cost of the function in units of cpu_operator_cost (the COST attribute).
+     */
+    private final Integer cost;
+    /**
+     * Security attribute of the function (the SECURITY INVOKER or SECURITY DEFINER attribute).
+     */
+    private final SecurityEnum security;
+    /**
+     * Configuration parameters that are set to specified values when the function is entered (the SET attribute).
+     * The map key is the parameter name and the value is the parameter value, for example "search_path" and "pg_catalog, public".
+     * The value is passed without quotes, each comma separated element is added as a string literal.
+     */
+    private final Map<String, String> configurationParameters;
+
+    public FunctionMetadataOptions(Boolean leakproof, Integer cost, SecurityEnum security, Map<String, String> configurationParameters) {
+        if (cost != null && cost <= 0) {
+            throw new IllegalArgumentException("Function cost must be greater than zero");
+        }
+        if (configurationParameters != null) {
+            for (Map.Entry<String, String> entry : configurationParameters.entrySet()) {
+                if (entry.getKey() == null || entry.getKey().trim().isEmpty()) {
+                    throw new IllegalArgumentException("Configuration parameter name cannot be blank");
+                }
+                if (entry.getValue() == null || entry.getValue().trim().isEmpty()) {
+                    throw new IllegalArgumentException("Value of configuration parameter '" + entry.getKey() + "' cannot be blank");
+                }
+            }
+        }
+        this.leakproof = leakproof;
+        this.cost = cost;
+        this.security = security;
+        this.configurationParameters = configurationParameters == null ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(configurationParameters));
+    }
+
+    public static FunctionMetadataOptionsBuilder builder() {
+        return new FunctionMetadataOptionsBuilder();
+    }
+
+    public Boolean getLeakproof() {
+        return leakproof;
+    }
+
+    public Integer getCost() {
+        return cost;
+    }
+
+    public SecurityEnum getSecurity() {
+        return security;
+    }
+
+    public Map<String, String> getConfigurationParameters() {
+        return configurationParameters;
+    }
+
+    public static class FunctionMetadataOptionsBuilder {
+        private Boolean leakproof;
+        private Integer cost;
+        private SecurityEnum security;
+        private final Map<String, String> configurationParameters = new LinkedHashMap<>();
+
+        public FunctionMetadataOptionsBuilder withLeakproof(Boolean leakproof) {
+            this.leakproof = leakproof;
+            return this;
+        }
+
+        public FunctionMetadataOptionsBuilder withCost(Integer cost) {
+            this.cost = cost;
+            return this;
+        }
+
+        public FunctionMetadataOptionsBuilder withSecurity(SecurityEnum security) {
+            this.security = security;
+            return this;
+        }
+
+        public FunctionMetadataOptionsBuilder withConfigurationParameter(String name, String value) {
+            this.configurationParameters.put(name, value);
+            return this;
+        }
+
+        public FunctionMetadataOptionsBuilder withConfigurationParameters(Map<String, String> configurationParameters) {
+            if (configurationParameters != null) {
+                this.configurationParameters.putAll(configurationParameters);
+            }
+            return this;
+        }
+
+        public FunctionMetadataOptions build() {
+            return new FunctionMetadataOptions(leakproof, cost, security, configurationParameters);
+        }
+    }
+}
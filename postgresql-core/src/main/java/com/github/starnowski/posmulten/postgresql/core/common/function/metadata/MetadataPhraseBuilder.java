@@ -24,7 +24,10 @@
 package com.github.starnowski.posmulten.postgresql.core.common.function.metadata;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.stream.Collectors.joining;
 
@@ -34,6 +37,14 @@ public class MetadataPhraseBuilder {
 
     private ParallelModeSupplier parallelModeSupplier;
 
+    private Boolean leakproof;
+
+    private SecuritySupplier securitySupplier;
+
+    private Integer cost;
+
+    private final Map<String, String> configurationParameters = new LinkedHashMap<>();
+
     public String build()
     {
         List<String> metadataDefinitions = new ArrayList<>();
@@ -41,13 +52,33 @@ public class MetadataPhraseBuilder {
         {
             metadataDefinitions.add(volatilityCategorySupplier.getVolatilityCategoryString());
         }
+        if (leakproof != null)
+        {
+            metadataDefinitions.add(leakproof ? "LEAKPROOF" : "NOT LEAKPROOF");
+        }
+        if (securitySupplier != null)
+        {
+            metadataDefinitions.add(securitySupplier.getSecurityString());
+        }
         if (parallelModeSupplier != null)
         {
             metadataDefinitions.add(parallelModeSupplier.getParallelModeString());
         }
+        if (cost != null)
+        {
+            metadataDefinitions.add("COST " + cost);
+        }
+        for (Map.Entry<String, String> entry : configurationParameters.entrySet())
+        {
+            metadataDefinitions.add("SET " + entry.getKey() + " = " + prepareConfigurationParameterValue(entry.getValue()));
+        }
         return metadataDefinitions.stream().collect(joining("\n"));
     }
 
+    private String prepareConfigurationParameterValue(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).map(element -> "'" + element.replace("'", "''") + "'").collect(joining(", "));
+    }
+
     public VolatilityCategorySupplier getVolatilityCategorySupplier() {
         return volatilityCategorySupplier;
     }
@@ -65,4 +96,92 @@ public class MetadataPhraseBuilder {
         this.volatilityCategorySupplier = volatilityCategorySupplier;
         return this;
     }
+
+    /**
+     * @since 0.8
+     */
+    public Boolean getLeakproof() {
+        return leakproof;
+    }
+
+    /**
+     * @since 0.8
+     */
+    public SecuritySupplier getSecuritySupplier() {
+        return securitySupplier;
+    }
+
+    /**
+     * @since 0.8
+     */
+    public Integer getCost() {
+        return cost;
+    }
+
+    /**
+     * @since 0.8
+     */
+    public Map<String, String> getConfigurationParameters() {
+        return configurationParameters;
+    }
+
+    /**
+     * @since 0.8
+     */
+    public MetadataPhraseBuilder withLeakproof(Boolean leakproof) {
+        this.leakproof = leakproof;
+        return this;
+    }
+
+    /**
+     * @since 0.8
+     */
+    public MetadataPhraseBuilder withSecuritySupplier(SecuritySupplier securitySupplier) {
+        this.securitySupplier = securitySupplier;
+        return this;
+    }
+
+    /**
+     * @since 0.8
+     */
+    public MetadataPhraseBuilder withCost(Integer cost) {
+        this.cost = cost;
+        return this;
+    }
+
+    /**
+     * Adds the configuration parameter (the SET attribute).
+     * The value is added as a string literal, a value that contains commas is treated as a list and each element is added as a separate literal,
+     * for example the value "pg_catalog, public" is added as "'pg_catalog', 'public'".
+     *
+     * @param name parameter name
+     * @param value parameter value, without quotes
+     * @return builder instance
+     * @since 0.8
+     */
+    public MetadataPhraseBuilder withConfigurationParameter(String name, String value) {
+        this.configurationParameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * Applies all not null properties of the passed options.
+     *
+     * @param options function metadata options
+     * @return builder instance
+     * @since 0.8
+     */
+    public MetadataPhraseBuilder withFunctionMetadataOptions(FunctionMetadataOptions options) {
+        if (options.getLeakproof() != null) {
+            withLeakproof(options.getLeakproof());
+        }
+        if (options.getSecurity() != null) {
+            withSecuritySupplier(options.getSecurity());
+        }
+        if (options.getCost() != null) {
+            withCost(options.getCost());
+        }
+        options.getConfigurationParameters().forEach(this::withConfigurationParameter);
+        return this;
+    }
 }
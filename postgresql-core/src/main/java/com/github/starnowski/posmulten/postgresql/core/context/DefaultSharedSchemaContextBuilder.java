@@ -25,11 +25,13 @@ package com.github.starnowski.posmulten.postgresql.core.context;
 
 import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
 import com.github.starnowski.posmulten.postgresql.core.context.validators.*;
 import com.github.starnowski.posmulten.postgresql.core.context.validators.factories.IdentifierLengthValidatorFactory;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum;
 
 import java.util.*;
 
@@ -57,7 +59,7 @@ public class DefaultSharedSchemaContextBuilder {
     /**
      * Collection that stores objects of type {@link ISharedSchemaContextEnricher} used for enriching result object ({@link #build()} method).
      */
-    private List<ISharedSchemaContextEnricher> enrichers = asList(new CustomSQLDefinitionsAtBeginningEnricher(), new GetCurrentTenantIdFunctionDefinitionEnricher(), new SetCurrentTenantIdFunctionDefinitionEnricher(), new TenantHasAuthoritiesFunctionDefinitionEnricher(), new IsTenantValidFunctionInvocationFactoryEnricher(), new TenantColumnSQLDefinitionsEnricher(), new TableRLSSettingsSQLDefinitionsEnricher(), new TableRLSPolicyEnricher(), new IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher(), new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(), new IsTenantIdentifierValidConstraintEnricher(), new DefaultValueForTenantColumnEnricher(), new CurrentTenantIdPropertyTypeEnricher(), new CustomSQLDefinitionsAtEndEnricher());
+    private List<ISharedSchemaContextEnricher> enrichers = asList(new CustomSQLDefinitionsAtBeginningEnricher(), new TenantRegistrySQLDefinitionsEnricher(), new TenantSettingsSQLDefinitionsEnricher(), new GetCurrentTenantIdFunctionDefinitionEnricher(), new SetCurrentTenantIdFunctionDefinitionEnricher(), new TenantHierarchySQLDefinitionsEnricher(), new TenantHasAuthoritiesFunctionDefinitionEnricher(), new IsTenantValidFunctionInvocationFactoryEnricher(), new TenantColumnSQLDefinitionsEnricher(), new TenantColumnBackfillSQLDefinitionsEnricher(), new TenantPartitionSQLDefinitionsEnricher(), new TenantIndexSQLDefinitionsEnricher(), new TenantStatisticsSQLDefinitionsEnricher(), new TableRLSSettingsSQLDefinitionsEnricher(), new TableRLSPolicyEnricher(), new BatchGranteeSQLDefinitionsEnricher(), new TenantPublicationSQLDefinitionsEnricher(), new TenantActivityViewSQLDefinitionsEnricher(), new IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher(), new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(), new SameTenantForeignKeyConstraintSQLDefinitionsEnricher(), new SameTenantStatementTriggerSQLDefinitionsEnricher(), new IsTenantIdentifierValidConstraintEnricher(), new DefaultValueForTenantColumnEnricher(), new CurrentTenantIdPropertyTypeEnricher(), new ConstraintValidationSQLDefinitionsEnricher(), new AlterTableStatementsCoalescingEnricher(), new CustomSQLDefinitionsAtEndEnricher());
     /**
      * Collection that stores objects of type {@link ISharedSchemaContextRequestValidator} used for validation of request object (type {@link SharedSchemaContextRequest}) in {@link #build()} method.
      */
@@ -203,6 +205,191 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting toggle, based on which the function that set current tenant identifier sets the value only for the current transaction
+     * (the "is_local" argument of the "set_config" function is true).
+     * Such function has to be invoked in the transaction, for which the tenant should be set.
+     *
+     * @param currentTenantIdSetLocally true if the value should be set only for the current transaction
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#currentTenantIdSetLocally
+     * @see SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setCurrentTenantIdSetLocally(boolean currentTenantIdSetLocally) {
+        sharedSchemaContextRequest.setCurrentTenantIdSetLocally(currentTenantIdSetLocally);
+        return this;
+    }
+
+    /**
+     * Setting the name of the additional function that set current tenant identifier only for the current transaction.
+     * The function is created next to the function that set current tenant identifier for the session.
+     *
+     * @param setLocalCurrentTenantIdFunctionName name of the function that set current tenant identifier only for the current transaction
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#setLocalCurrentTenantIdFunctionName
+     * @see SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setSetLocalCurrentTenantIdFunctionName(String setLocalCurrentTenantIdFunctionName) {
+        sharedSchemaContextRequest.setSetLocalCurrentTenantIdFunctionName(setLocalCurrentTenantIdFunctionName);
+        return this;
+    }
+
+    /**
+     * Setting toggle, based on which the functions that set current tenant identifier are created in the SQL language instead of the PL/pgSQL language.
+     * The body of such function is the single "SELECT set_config(...)" statement, so its invocation does not require the PL/pgSQL interpreter setup.
+     *
+     * @param currentTenantIdSetterInSqlLanguage true if the functions should be created in the SQL language
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#currentTenantIdSetterInSqlLanguage
+     * @see SetCurrentTenantIdFunctionDefinitionEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setCurrentTenantIdSetterInSqlLanguage(boolean currentTenantIdSetterInSqlLanguage) {
+        sharedSchemaContextRequest.setCurrentTenantIdSetterInSqlLanguage(currentTenantIdSetterInSqlLanguage);
+        return this;
+    }
+
+    /**
+     * Setting the name of the tenant registry table that maps the external tenant identifiers to the surrogate integer identifiers.
+     * The table has the "id" column, the surrogate identifier generated by the identity column, and the "external_id" column with the unique constraint.
+     * The functions that set the current tenant identifier accept the external tenant identifier and store the surrogate identifier
+     * resolved from the registry table, so the tenant columns, policies and constraints can use the compact integer type
+     * passed by the {@link #setCurrentTenantIdPropertyType(String)} method.
+     *
+     * @param tenantRegistryTableName name of the tenant registry table, null if the table should not be created
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantRegistryTableName
+     * @see TenantRegistrySQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantRegistryTableName(String tenantRegistryTableName) {
+        sharedSchemaContextRequest.setTenantRegistryTableName(tenantRegistryTableName);
+        return this;
+    }
+
+    /**
+     * Setting the type of the external tenant identifier column in the tenant registry table.
+     * The default value is "text".
+     *
+     * @param tenantRegistryExternalIdentifierType type of the external tenant identifier
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantRegistryExternalIdentifierType
+     * @see TenantRegistrySQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantRegistryExternalIdentifierType(String tenantRegistryExternalIdentifierType) {
+        sharedSchemaContextRequest.setTenantRegistryExternalIdentifierType(tenantRegistryExternalIdentifierType);
+        return this;
+    }
+
+    /**
+     * Setting the name of the tenant settings table that stores the per-tenant values of configuration parameters
+     * applied by the functions that set the current tenant identifier.
+     *
+     * @param tenantSettingsTableName name of the tenant settings table
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantSettingsTableName
+     * @see TenantSettingsSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantSettingsTableName(String tenantSettingsTableName) {
+        sharedSchemaContextRequest.setTenantSettingsTableName(tenantSettingsTableName);
+        return this;
+    }
+
+    /**
+     * Setting the name of the custom property that stores the priority class of the current tenant.
+     * The default value is "posmulten.tenant_priority_class".
+     *
+     * @param tenantPriorityClassProperty name of the custom property
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPriorityClassProperty
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantPriorityClassProperty(String tenantPriorityClassProperty) {
+        sharedSchemaContextRequest.setTenantPriorityClassProperty(tenantPriorityClassProperty);
+        return this;
+    }
+
+    /**
+     * Setting the name of the table that stores the parent tenant for each tenant (hierarchical tenants).
+     * The builder creates the hierarchy table, the closure table with all pairs of ancestor and descendant tenants and the trigger
+     * that maintains the closure table. The function that checks tenant authorities allows reading rows of descendant tenants
+     * with a single primary key lookup in the closure table.
+     *
+     * @param tenantHierarchyTableName name of the hierarchy table, null if the tenants are not hierarchical
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantHierarchyTableName
+     * @see TenantHierarchySQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantHierarchyTableName(String tenantHierarchyTableName) {
+        sharedSchemaContextRequest.setTenantHierarchyTableName(tenantHierarchyTableName);
+        return this;
+    }
+
+    /**
+     * Setting the name of the closure table of hierarchical tenants.
+     * The default value is the hierarchy table name with the "_closure" suffix.
+     *
+     * @param tenantHierarchyClosureTableName name of the closure table
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantHierarchyClosureTableName
+     * @see TenantHierarchySQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantHierarchyClosureTableName(String tenantHierarchyClosureTableName) {
+        sharedSchemaContextRequest.setTenantHierarchyClosureTableName(tenantHierarchyClosureTableName);
+        return this;
+    }
+
+    /**
+     * Setting the name of the property that the functions which set the current tenant identifier set to the tenant tag ("tenant=" followed by the tenant identifier).
+     * With the "application_name" property, the tag is visible in the "pg_stat_activity" view and can be added to the server log lines
+     * (the "%a" escape of the "log_line_prefix" parameter), which allows to attribute the database load to tenants.
+     *
+     * @param tenantTagProperty name of the property, null if the tenant tag should not be set
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantTagProperty
+     * @see SetCurrentTenantIdFunctionDefinitionEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantTagProperty(String tenantTagProperty) {
+        sharedSchemaContextRequest.setTenantTagProperty(tenantTagProperty);
+        return this;
+    }
+
+    /**
+     * Setting the name of the view that presents the sessions from the "pg_stat_activity" view together with the tenant tag.
+     * The view requires the tenant tag to be set in the "application_name" property ({@link #setTenantTagProperty(String)}).
+     *
+     * @param tenantActivityViewName name of the view, null if the view should not be created
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantActivityViewName
+     * @see TenantActivityViewSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantActivityViewName(String tenantActivityViewName) {
+        sharedSchemaContextRequest.setTenantActivityViewName(tenantActivityViewName);
+        return this;
+    }
+
+    /**
+     * Setting the name of the additional function that returns current tenant identifier or null when the identifier is not set
+     * (the "missing_ok" argument of the "current_setting" function is true). The empty value is also returned as null.
+     * The function is created next to the function that returns current tenant identifier and has the same return type.
+     *
+     * @param getCurrentTenantIdMissingOkFunctionName name of the function that returns current tenant identifier or null
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#getCurrentTenantIdMissingOkFunctionName
+     * @see GetCurrentTenantIdFunctionDefinitionEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setGetCurrentTenantIdMissingOkFunctionName(String getCurrentTenantIdMissingOkFunctionName) {
+        sharedSchemaContextRequest.setGetCurrentTenantIdMissingOkFunctionName(getCurrentTenantIdMissingOkFunctionName);
+        return this;
+    }
+
     /**
      * Setting the name of the function that checks if passed identifier is equal to the current tenant identifier
      *
@@ -305,6 +492,39 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting if builder should use in the row level security policy the inline expression that compares the tenant column
+     * with the current tenant identifier, like <code>tenant_id = current_setting('posmulten.tenant_id')::VARCHAR(255)</code>,
+     * instead of the invocation of the function that checks if the current tenant has authorities to the table row.
+     * By default, the builder uses the function invocation.
+     *
+     * @param inlineRLSPolicyExpression true if builder should use the inline expression
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#inlineRLSPolicyExpression
+     * @see TenantHasAuthoritiesFunctionDefinitionEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setInlineRLSPolicyExpression(boolean inlineRLSPolicyExpression) {
+        sharedSchemaContextRequest.setInlineRLSPolicyExpression(inlineRLSPolicyExpression);
+        return this;
+    }
+
+    /**
+     * Setting if builder should wrap the current tenant identifier lookup into the scalar subquery, like
+     * <code>(SELECT get_current_tenant_id())</code>, so that Postgres evaluates it once per query instead of once per row.
+     * The option applies to the inline expression in RLS policy (see {@link #setInlineRLSPolicyExpression(boolean)}),
+     * to the function that checks if passed tenant identifier is equal to the current tenant identifier and
+     * to the function that checks if record exists for the current tenant.
+     * By default, the builder does not do this.
+     *
+     * @param wrapCurrentTenantIdentifierInSubquery true if builder should wrap the current tenant identifier lookup into the subquery
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#wrapCurrentTenantIdentifierInSubquery
+     */
+    public DefaultSharedSchemaContextBuilder setWrapCurrentTenantIdentifierInSubquery(boolean wrapCurrentTenantIdentifierInSubquery) {
+        sharedSchemaContextRequest.setWrapCurrentTenantIdentifierInSubquery(wrapCurrentTenantIdentifierInSubquery);
+        return this;
+    }
+
     /**
      * Setting the default name for the column that stores the tenant identifier for table row.
      *
@@ -331,6 +551,67 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting the tenant-agnostic grantee (role) for the bulk and cross-tenant workloads, like the ETL or reporting jobs.
+     * The role gets the USAGE privilege to the schema and the privileges to all tables with the row level security policy.
+     * Based on the access type ({@link #setBatchGranteeAccessType(BatchGranteeAccessType)}), the row level security policies
+     * are bypassed by the role or the permissive policy with the "true" expression is created for the role.
+     * The role has to exist and has to be different from the grantee passed by the {@link #setGrantee(String)} method.
+     *
+     * @param batchGrantee name of the batch grantee role
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#batchGrantee
+     * @see BatchGranteeSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setBatchGrantee(String batchGrantee) {
+        sharedSchemaContextRequest.setBatchGrantee(batchGrantee);
+        return this;
+    }
+
+    /**
+     * Setting the type of access to the tables with the row level security policy for the batch grantee.
+     *
+     * @param batchGranteeAccessType type of access, if null then the {@link BatchGranteeAccessType#BYPASS_RLS} is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#batchGranteeAccessType
+     * @see BatchGranteeSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setBatchGranteeAccessType(BatchGranteeAccessType batchGranteeAccessType) {
+        sharedSchemaContextRequest.setBatchGranteeAccessType(batchGranteeAccessType == null ? BatchGranteeAccessType.BYPASS_RLS : batchGranteeAccessType);
+        return this;
+    }
+
+    /**
+     * Setting the list of the privileges to the tables with the row level security policy granted to the batch grantee.
+     * By default, the SELECT, INSERT, UPDATE and DELETE privileges are granted.
+     *
+     * @param batchGranteeTablePrivileges list of the table privileges
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#batchGranteeTablePrivileges
+     * @see BatchGranteeSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setBatchGranteeTablePrivileges(List<String> batchGranteeTablePrivileges) {
+        sharedSchemaContextRequest.setBatchGranteeTablePrivileges(batchGranteeTablePrivileges);
+        return this;
+    }
+
+    /**
+     * Setting the list of the sequences in the default schema to which the batch grantee gets all privileges.
+     *
+     * @param batchGranteeSequences list of the sequence names
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#batchGranteeSequences
+     * @see BatchGranteeSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setBatchGranteeSequences(List<String> batchGranteeSequences) {
+        sharedSchemaContextRequest.setBatchGranteeSequences(batchGranteeSequences);
+        return this;
+    }
+
     /**
      * Register the request for creation of constraint that checks if foreign key in the main table refers to record
      * that exists in the foreign table and which belongs to the current tenant.
@@ -360,7 +641,87 @@ public class DefaultSharedSchemaContextBuilder {
      * @see IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
      */
     public DefaultSharedSchemaContextBuilder createSameTenantConstraintForForeignKey(TableKey mainTableKey, TableKey foreignKeyTableKey, Map<String, String> foreignKeyPrimaryKeyColumnsMappings, String constraintName) {
-        sharedSchemaContextRequest.getSameTenantConstraintForForeignKeyProperties().put(new SameTenantConstraintForForeignKey(mainTableKey, foreignKeyTableKey, foreignKeyPrimaryKeyColumnsMappings.keySet()), new SameTenantConstraintForForeignKeyProperties(constraintName, foreignKeyPrimaryKeyColumnsMappings));
+        return createSameTenantConstraintForForeignKey(mainTableKey, foreignKeyTableKey, foreignKeyPrimaryKeyColumnsMappings, constraintName, null);
+    }
+
+    /**
+     * Register the request for creation of constraint of specified type that checks if foreign key in the main table refers to record
+     * that exists in the foreign table and which belongs to the current tenant.
+     * Tables exist in default schema ({@link SharedSchemaContextRequest#defaultSchema}).
+     *
+     * @param mainTable                           name of the main table that contains columns with foreign key
+     * @param foreignKeyTable                     name of the foreign table
+     * @param foreignKeyPrimaryKeyColumnsMappings map contains information about which foreign key column refers to specific primary key column. The foreign key column is the map key and the primary key column is its value.
+     * @param constraintName                      constraint name
+     * @param constraintType                      type of constraint, if null then the type from {@link SharedSchemaContextRequest#sameTenantConstraintForForeignKeyType} is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#sameTenantConstraintForForeignKeyProperties
+     * @see IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     * @see SameTenantForeignKeyConstraintSQLDefinitionsEnricher
+     * @see SameTenantStatementTriggerSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createSameTenantConstraintForForeignKey(String mainTable, String foreignKeyTable, Map<String, String> foreignKeyPrimaryKeyColumnsMappings, String constraintName, SameTenantConstraintForForeignKeyType constraintType) {
+        return createSameTenantConstraintForForeignKey(new TableKey(mainTable, sharedSchemaContextRequest.getDefaultSchema()), new TableKey(foreignKeyTable, sharedSchemaContextRequest.getDefaultSchema()), foreignKeyPrimaryKeyColumnsMappings, constraintName, constraintType);
+    }
+
+    /**
+     * Register the request for creation of constraint of specified type that checks if foreign key in the main table refers to record
+     * that exists in the foreign table and which belongs to the current tenant.
+     *
+     * @param mainTableKey                        table key for the main table that contains columns with foreign key
+     * @param foreignKeyTableKey                  table key for the foreign table
+     * @param foreignKeyPrimaryKeyColumnsMappings map contains information about which foreign key column refers to specific primary key column. The foreign key column is the map key and the primary key column is its value.
+     * @param constraintName                      constraint name
+     * @param constraintType                      type of constraint, if null then the type from {@link SharedSchemaContextRequest#sameTenantConstraintForForeignKeyType} is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#sameTenantConstraintForForeignKeyProperties
+     * @see IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     * @see SameTenantForeignKeyConstraintSQLDefinitionsEnricher
+     * @see SameTenantStatementTriggerSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createSameTenantConstraintForForeignKey(TableKey mainTableKey, TableKey foreignKeyTableKey, Map<String, String> foreignKeyPrimaryKeyColumnsMappings, String constraintName, SameTenantConstraintForForeignKeyType constraintType) {
+        sharedSchemaContextRequest.getSameTenantConstraintForForeignKeyProperties().put(new SameTenantConstraintForForeignKey(mainTableKey, foreignKeyTableKey, foreignKeyPrimaryKeyColumnsMappings.keySet()), new SameTenantConstraintForForeignKeyProperties(constraintName, foreignKeyPrimaryKeyColumnsMappings, constraintType));
+        return this;
+    }
+
+    /**
+     * Setting the default type of constraint that checks if foreign key in the main table refers to record that belongs to the same tenant.
+     * The type is used for all constraints for which the type was not specified.
+     *
+     * @param constraintType type of constraint
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#sameTenantConstraintForForeignKeyType
+     */
+    public DefaultSharedSchemaContextBuilder setSameTenantConstraintForForeignKeyType(SameTenantConstraintForForeignKeyType constraintType) {
+        sharedSchemaContextRequest.setSameTenantConstraintForForeignKeyType(constraintType);
+        return this;
+    }
+
+    /**
+     * Setting the name for a unique constraint on the tenant column and the primary key columns for the specified table
+     * that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema}).
+     * The constraint is required when the table is referenced by the constraint of type {@link SameTenantConstraintForForeignKeyType#COMPOSITE_FOREIGN_KEY}.
+     *
+     * @param table          table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param constraintName constraint name
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantUniqueConstraintNames
+     */
+    public DefaultSharedSchemaContextBuilder setNameForTenantUniqueConstraintForTable(String table, String constraintName) {
+        return setNameForTenantUniqueConstraintForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), constraintName);
+    }
+
+    /**
+     * Setting the name for a unique constraint on the tenant column and the primary key columns for the specified table.
+     * The constraint is required when the table is referenced by the constraint of type {@link SameTenantConstraintForForeignKeyType#COMPOSITE_FOREIGN_KEY}.
+     *
+     * @param tableKey       table key
+     * @param constraintName constraint name
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantUniqueConstraintNames
+     */
+    public DefaultSharedSchemaContextBuilder setNameForTenantUniqueConstraintForTable(TableKey tableKey, String constraintName) {
+        sharedSchemaContextRequest.getTenantUniqueConstraintNames().put(tableKey, constraintName);
         return this;
     }
 
@@ -419,6 +780,34 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Register the request for creation of constraints that are going to check if tenant column has valid value in all
+     * tables that require rls policy.
+     *
+     * @param tenantValuesBlacklist       list of invalid tenant identifiers
+     * @param isTenantValidFunctionName   default name of function that check if tenant identifier is valid
+     * @param isTenantValidConstraintName default name of constraint that check if tenant identifier is valid
+     * @param blacklistType               type of the function that checks if tenant identifier is not on the list of invalid identifiers, if null then the {@link TenantValuesBlacklistType#CONSTANT_VALUES} is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantValuesBlacklistType
+     */
+    public DefaultSharedSchemaContextBuilder createValidTenantValueConstraint(List<String> tenantValuesBlacklist, String isTenantValidFunctionName, String isTenantValidConstraintName, TenantValuesBlacklistType blacklistType) {
+        sharedSchemaContextRequest.setTenantValuesBlacklistType(blacklistType == null ? TenantValuesBlacklistType.CONSTANT_VALUES : blacklistType);
+        return createValidTenantValueConstraint(tenantValuesBlacklist, isTenantValidFunctionName, isTenantValidConstraintName);
+    }
+
+    /**
+     * Setting name of the lookup table that stores invalid tenant identifiers for the {@link TenantValuesBlacklistType#LOOKUP_TABLE} type.
+     *
+     * @param tableName table name
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantValuesBlacklistTableName
+     */
+    public DefaultSharedSchemaContextBuilder setTenantValuesBlacklistTableName(String tableName) {
+        sharedSchemaContextRequest.setTenantValuesBlacklistTableName(tableName);
+        return this;
+    }
+
     /**
      * Register custom name for constraint that are going to check if tenant column has valid value in specified
      * table that require rls policy.
@@ -479,6 +868,423 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting if the builder should create the index on the tenant column and the primary key columns in all tables that required rls policy.
+     *
+     * @param value true if builder should create the index
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#createTenantIndexInAllTables
+     */
+    public DefaultSharedSchemaContextBuilder setCreateTenantIndexInAllTables(boolean value) {
+        sharedSchemaContextRequest.setCreateTenantIndexInAllTables(value);
+        return this;
+    }
+
+    /**
+     * Setting if the builder should create the index on the tenant column concurrently.
+     * The creation script for such index cannot be executed inside a transaction block.
+     *
+     * @param value true if the index should be created concurrently
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#createTenantIndexConcurrently
+     */
+    public DefaultSharedSchemaContextBuilder setCreateTenantIndexConcurrently(boolean value) {
+        sharedSchemaContextRequest.setCreateTenantIndexConcurrently(value);
+        return this;
+    }
+
+    /**
+     * Register the index on the tenant column and the primary key columns for the specified table
+     * that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema}).
+     *
+     * @param table     table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param indexName index name, if null then the default name is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantIndexProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantIndexForTable(String table, String indexName) {
+        return createTenantIndexForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), indexName, null);
+    }
+
+    /**
+     * Register the index on the tenant column and the primary key columns for the specified table.
+     *
+     * @param tableKey  table key
+     * @param indexName index name, if null then the default name is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantIndexProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantIndexForTable(TableKey tableKey, String indexName) {
+        return createTenantIndexForTable(tableKey, indexName, null);
+    }
+
+    /**
+     * Register the index on the tenant column and the primary key columns for the specified table
+     * that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema}).
+     *
+     * @param table              table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param indexName          index name, if null then the default name is used
+     * @param createConcurrently true if the index should be created concurrently, if null then the value passed to {@link #setCreateTenantIndexConcurrently(boolean)} is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantIndexProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantIndexForTable(String table, String indexName, Boolean createConcurrently) {
+        return createTenantIndexForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), indexName, createConcurrently);
+    }
+
+    /**
+     * Register the index on the tenant column and the primary key columns for the specified table.
+     *
+     * @param tableKey           table key
+     * @param indexName          index name, if null then the default name is used
+     * @param createConcurrently true if the index should be created concurrently, if null then the value passed to {@link #setCreateTenantIndexConcurrently(boolean)} is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantIndexProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantIndexForTable(TableKey tableKey, String indexName, Boolean createConcurrently) {
+        sharedSchemaContextRequest.getTenantIndexProperties().put(tableKey, new DefaultTenantIndexProperties(indexName, createConcurrently));
+        return this;
+    }
+
+    /**
+     * Specify for which table the creation of the index on the tenant column should be skipped.
+     *
+     * @param table table name
+     * @return builder object for which method was invoked
+     * @see #setCreateTenantIndexInAllTables(boolean)
+     */
+    public DefaultSharedSchemaContextBuilder skipCreationOfTenantIndexForTable(String table) {
+        return skipCreationOfTenantIndexForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()));
+    }
+
+    /**
+     * Specify for which table the creation of the index on the tenant column should be skipped.
+     *
+     * @param tableKey table key
+     * @return builder object for which method was invoked
+     * @see #setCreateTenantIndexInAllTables(boolean)
+     */
+    public DefaultSharedSchemaContextBuilder skipCreationOfTenantIndexForTable(TableKey tableKey) {
+        sharedSchemaContextRequest.getTablesThatCreationOfTenantIndexShouldBeSkipped().add(tableKey);
+        return this;
+    }
+
+    /**
+     * Setting toggle, based on which builder is going to create the extended statistics on the tenant column and correlated columns
+     * in all tables that have the row level security policy.
+     *
+     * @param createTenantStatisticsInAllTables true if the statistics should be created for all tables
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#createTenantStatisticsInAllTables
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantStatisticsSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setCreateTenantStatisticsInAllTables(boolean createTenantStatisticsInAllTables) {
+        sharedSchemaContextRequest.setCreateTenantStatisticsInAllTables(createTenantStatisticsInAllTables);
+        return this;
+    }
+
+    /**
+     * Setting kinds of the extended statistics on the tenant column.
+     *
+     * @param tenantStatisticsKinds statistics kinds, if null or empty then all kinds are created
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantStatisticsKinds
+     */
+    public DefaultSharedSchemaContextBuilder setTenantStatisticsKinds(List<TenantStatisticsKind> tenantStatisticsKinds) {
+        sharedSchemaContextRequest.setTenantStatisticsKinds(tenantStatisticsKinds);
+        return this;
+    }
+
+    /**
+     * Register the extended statistics on the tenant column and correlated columns for the specified table
+     * that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema}).
+     *
+     * @param table          table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param statisticsName statistics name, if null then the default name is used
+     * @param columns        additional columns correlated with the tenant column, might be null
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantStatisticsProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantStatisticsForTable(String table, String statisticsName, List<String> columns) {
+        return createTenantStatisticsForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), statisticsName, columns);
+    }
+
+    /**
+     * Register the extended statistics on the tenant column and correlated columns for the specified table.
+     *
+     * @param tableKey       table key
+     * @param statisticsName statistics name, if null then the default name is used
+     * @param columns        additional columns correlated with the tenant column, might be null
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantStatisticsProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantStatisticsForTable(TableKey tableKey, String statisticsName, List<String> columns) {
+        sharedSchemaContextRequest.getTenantStatisticsProperties().put(tableKey, new DefaultTenantStatisticsProperties(statisticsName, columns));
+        return this;
+    }
+
+    /**
+     * Specify for which table the creation of the extended statistics on the tenant column should be skipped.
+     *
+     * @param table table name
+     * @return builder object for which method was invoked
+     * @see #setCreateTenantStatisticsInAllTables(boolean)
+     */
+    public DefaultSharedSchemaContextBuilder skipCreationOfTenantStatisticsForTable(String table) {
+        return skipCreationOfTenantStatisticsForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()));
+    }
+
+    /**
+     * Specify for which table the creation of the extended statistics on the tenant column should be skipped.
+     *
+     * @param tableKey table key
+     * @return builder object for which method was invoked
+     * @see #setCreateTenantStatisticsInAllTables(boolean)
+     */
+    public DefaultSharedSchemaContextBuilder skipCreationOfTenantStatisticsForTable(TableKey tableKey) {
+        sharedSchemaContextRequest.getTablesThatCreationOfTenantStatisticsShouldBeSkipped().add(tableKey);
+        return this;
+    }
+
+    /**
+     * Register the query that returns the tenant identifier values for existing rows of the specified table
+     * that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema}).
+     * The tenant column is added as nullable, then the values are set for existing rows and the not-null constraint is enforced at the end.
+     * The values are set in batches when the definitions are executed with the {@link com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationType#ONLINE_CREATE} operation.
+     * The batches are ordered by the primary key columns passed to {@link #createRLSPolicyForTable(String, Map, String, String)} in the order of map entries,
+     * so for a composite primary key the map should keep the order of columns in the primary key index.
+     *
+     * @param table            table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param tenantValueQuery query that returns the tenant identifier for the updated row, the columns of the updated row can be referenced with the table name as qualifier,
+     *                         for example "SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id"
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantColumnBackfillProperties
+     * @see TenantColumnBackfillSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder createTenantColumnBackfillForTable(String table, String tenantValueQuery) {
+        return createTenantColumnBackfillForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), tenantValueQuery);
+    }
+
+    /**
+     * Register the query that returns the tenant identifier values for existing rows of the specified table.
+     *
+     * @param tableKey         table key
+     * @param tenantValueQuery query that returns the tenant identifier for the updated row
+     * @return builder object for which method was invoked
+     * @see #createTenantColumnBackfillForTable(String, String)
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder createTenantColumnBackfillForTable(TableKey tableKey, String tenantValueQuery) {
+        sharedSchemaContextRequest.getTenantColumnBackfillProperties().put(tableKey, new DefaultTenantColumnBackfillProperties(tenantValueQuery, null, null));
+        return this;
+    }
+
+    /**
+     * Register the parent table from which the tenant identifier values are copied for existing rows of the specified table.
+     * Tables exist in default schema ({@link SharedSchemaContextRequest#defaultSchema}).
+     * The values for the parent table are set before the values for the specified table, when both tables are registered.
+     *
+     * @param table                               table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param parentTable                         name of the parent table
+     * @param foreignKeyPrimaryKeyColumnsMappings map contains information about which foreign key column refers to specific primary key column in the parent table. The foreign key column is the map key and the primary key column is its value.
+     * @return builder object for which method was invoked
+     * @see #createTenantColumnBackfillForTable(String, String)
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder createTenantColumnBackfillForTable(String table, String parentTable, Map<String, String> foreignKeyPrimaryKeyColumnsMappings) {
+        return createTenantColumnBackfillForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), new TableKey(parentTable, sharedSchemaContextRequest.getDefaultSchema()), foreignKeyPrimaryKeyColumnsMappings);
+    }
+
+    /**
+     * Register the parent table from which the tenant identifier values are copied for existing rows of the specified table.
+     *
+     * @param tableKey                            table key
+     * @param parentTableKey                      table key for the parent table
+     * @param foreignKeyPrimaryKeyColumnsMappings map contains information about which foreign key column refers to specific primary key column in the parent table. The foreign key column is the map key and the primary key column is its value.
+     * @return builder object for which method was invoked
+     * @see #createTenantColumnBackfillForTable(String, String, Map)
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder createTenantColumnBackfillForTable(TableKey tableKey, TableKey parentTableKey, Map<String, String> foreignKeyPrimaryKeyColumnsMappings) {
+        sharedSchemaContextRequest.getTenantColumnBackfillProperties().put(tableKey, new DefaultTenantColumnBackfillProperties(null, parentTableKey, foreignKeyPrimaryKeyColumnsMappings));
+        return this;
+    }
+
+    /**
+     * Setting toggle, based on which the ALTER TABLE statements generated for the same table
+     * (adding of the tenant column, setting of default value, enabling of row level security, constraints) are merged into a single statement with multiple actions.
+     * This way the table lock is acquired once and the table is scanned once for all constraints.
+     *
+     * @param coalesceAlterTableStatements true if statements should be merged
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#coalesceAlterTableStatements
+     * @see AlterTableStatementsCoalescingEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setCoalesceAlterTableStatements(boolean coalesceAlterTableStatements) {
+        sharedSchemaContextRequest.setCoalesceAlterTableStatements(coalesceAlterTableStatements);
+        return this;
+    }
+
+    /**
+     * Setting toggle, based on which the tenant constraints (check constraints and foreign key constraints) are added with the NOT VALID option.
+     * Adding such constraint does not scan the existing rows and holds the table lock only for a short time.
+     * The VALIDATE CONSTRAINT statements for those constraints are added at the end of the definitions list.
+     * The not-null constraint of the tenant column is replaced by a check constraint "(tenant_column IS NOT NULL)" added as NOT VALID,
+     * and the SET NOT NULL statement is executed after the validation of this constraint.
+     * Unique constraints can not be added as NOT VALID, so they are always added in standard way.
+     *
+     * @param validateConstraintsSeparately true if constraints should be validated by separate statements
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#validateConstraintsSeparately
+     * @see ConstraintValidationSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setValidateConstraintsSeparately(boolean validateConstraintsSeparately) {
+        sharedSchemaContextRequest.setValidateConstraintsSeparately(validateConstraintsSeparately);
+        return this;
+    }
+
+    /**
+     * Setting toggle, based on which separate row level security policies are created for the SELECT, INSERT, UPDATE and DELETE commands instead of a single policy for all commands.
+     * Each policy contains only the expressions required by its command, the SELECT and DELETE policies have only the USING expression,
+     * the INSERT policy has only the WITH CHECK expression and the UPDATE policy has both.
+     * The names of the policies are created by adding the command name suffix ("_select", "_insert", "_update", "_delete") to the policy name passed for table.
+     *
+     * @param rlsPolicyPerCommand true if separate policy should be created for each command
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#rlsPolicyPerCommand
+     * @see TableRLSPolicyEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setRLSPolicyPerCommand(boolean rlsPolicyPerCommand) {
+        sharedSchemaContextRequest.setRlsPolicyPerCommand(rlsPolicyPerCommand);
+        return this;
+    }
+
+    /**
+     * Setting type of the tenant row level security policies.
+     * In case of the {@link RLSPolicyTypeEnum#RESTRICTIVE} type the tenant policies are combined with the AND operator with other policies,
+     * so the application can add its own permissive policies without repeating the tenant check in each of them.
+     * Because the restrictive policies alone do not grant access to any row, by default an additional permissive policy that allows access to all rows
+     * is created for the grantee, with name that has the "_permissive" suffix (see {@link #setSkipBasePermissiveRLSPolicy(boolean)}).
+     *
+     * @param rlsPolicyType type of the tenant policies
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#rlsPolicyType
+     * @see TableRLSPolicyEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setRLSPolicyType(RLSPolicyTypeEnum rlsPolicyType) {
+        sharedSchemaContextRequest.setRlsPolicyType(rlsPolicyType);
+        return this;
+    }
+
+    /**
+     * Setting toggle, based on which the permissive policy that allows access to all rows is not created for tables with restrictive tenant policies.
+     * It should be set only when the application creates its own permissive policies for the grantee, otherwise all rows are inaccessible.
+     *
+     * @param skipBasePermissiveRLSPolicy true if the permissive policy should not be created
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#skipBasePermissiveRLSPolicy
+     * @see #setRLSPolicyType(RLSPolicyTypeEnum)
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setSkipBasePermissiveRLSPolicy(boolean skipBasePermissiveRLSPolicy) {
+        sharedSchemaContextRequest.setSkipBasePermissiveRLSPolicy(skipBasePermissiveRLSPolicy);
+        return this;
+    }
+
+    /**
+     * Register partitions for the specified table that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * and is partitioned by the tenant column.
+     *
+     * @param table      table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param properties partitioning properties
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPartitioningProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantPartitionsForTable(String table, ITenantPartitioningProperties properties) {
+        return createTenantPartitionsForTable(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), properties);
+    }
+
+    /**
+     * Register partitions for the specified table that is partitioned by the tenant column.
+     *
+     * @param tableKey   table key
+     * @param properties partitioning properties
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPartitioningProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantPartitionsForTable(TableKey tableKey, ITenantPartitioningProperties properties) {
+        sharedSchemaContextRequest.getTenantPartitioningProperties().put(tableKey, properties);
+        return this;
+    }
+
+    /**
+     * Register hash partitions for the specified table that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * and is partitioned by the tenant column with the {@link TenantPartitioningStrategy#HASH} strategy.
+     *
+     * @param table   table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param modulus number of partitions
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPartitioningProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantHashPartitionsForTable(String table, int modulus) {
+        return createTenantPartitionsForTable(table, DefaultTenantPartitioningProperties.builder().withStrategy(TenantPartitioningStrategy.HASH).withModulus(modulus).build());
+    }
+
+    /**
+     * Register list partitions for the specified table that exists in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * and is partitioned by the tenant column with the {@link TenantPartitioningStrategy#LIST} strategy.
+     *
+     * @param table                  table name in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param listPartitions         map of partitions, the map key is the partition name and the value is the list of tenant identifiers stored in the partition
+     * @param createDefaultPartition true if the default partition should be created
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPartitioningProperties
+     */
+    public DefaultSharedSchemaContextBuilder createTenantListPartitionsForTable(String table, Map<String, List<String>> listPartitions, boolean createDefaultPartition) {
+        return createTenantPartitionsForTable(table, DefaultTenantPartitioningProperties.builder().withStrategy(TenantPartitioningStrategy.LIST).withListPartitions(listPartitions).withCreateDefaultPartition(createDefaultPartition).build());
+    }
+
+    /**
+     * Register the publication (logical replication) of rows that belong to the specified tenants.
+     * The publication contains all tables that have the RLS policy declaration, each table with the row filter for the tenant column.
+     * Row filters require Postgres 15 or newer.
+     *
+     * @param publicationName   name of the publication
+     * @param tenantIdentifiers identifiers of tenants whose rows are published, a single tenant or a group of tenants
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPublications
+     * @see TenantPublicationSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder createTenantPublication(String publicationName, List<String> tenantIdentifiers) {
+        sharedSchemaContextRequest.getTenantPublications().put(publicationName, tenantIdentifiers);
+        return this;
+    }
+
+    /**
+     * Setting toggle, based on which the "REPLICA IDENTITY FULL" setting is applied to the tables of the tenant publications.
+     * Postgres rejects the UPDATE and DELETE operations for a table published with the row filter when the tenant column is not part of
+     * the table replica identity. The FULL setting solves that, but it writes the whole old row to the WAL for every UPDATE and DELETE operation.
+     * A cheaper alternative is the "REPLICA IDENTITY USING INDEX" setting with a unique index that contains the tenant column and primary key columns,
+     * which has to be added separately, for example as custom sql definition.
+     * The drop operation does not restore the previous replica identity of the tables.
+     *
+     * @param tenantPublicationReplicaIdentityFull true if the replica identity of published tables should be set to FULL
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPublicationReplicaIdentityFull
+     * @see TenantPublicationSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setTenantPublicationReplicaIdentityFull(boolean tenantPublicationReplicaIdentityFull) {
+        sharedSchemaContextRequest.setTenantPublicationReplicaIdentityFull(tenantPublicationReplicaIdentityFull);
+        return this;
+    }
+
     /**
      * @return copy of the {@link #sqlDefinitionsValidators} collection
      */
@@ -537,6 +1343,22 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting the optional metadata of the generated function, like the LEAKPROOF attribute, planner cost (COST),
+     * security attribute or configuration parameters (SET). Setting the LEAKPROOF attribute requires the superuser privileges
+     * for the user that executes the generated DDL statements.
+     *
+     * @param generatedFunctionType type of the generated function
+     * @param functionMetadataOptions metadata options
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#functionMetadataOptions
+     * @since 0.8
+     */
+    public DefaultSharedSchemaContextBuilder setFunctionMetadataOptions(GeneratedFunctionType generatedFunctionType, FunctionMetadataOptions functionMetadataOptions) {
+        sharedSchemaContextRequest.getFunctionMetadataOptions().put(generatedFunctionType, functionMetadataOptions);
+        return this;
+    }
+
     /**
      * Adding custom sql definition for specific position
      * @see  CustomSQLDefinitionPairPositionProvider
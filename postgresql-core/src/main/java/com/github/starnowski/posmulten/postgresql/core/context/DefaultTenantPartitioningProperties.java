@@ -0,0 +1,129 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * @since 0.8
+ */
+public class DefaultTenantPartitioningProperties implements ITenantPartitioningProperties {
+
+    private final TenantPartitioningStrategy strategy;
+    private final Integer modulus;
+    private final Map<String, List<String>> listPartitions;
+    private final boolean createDefaultPartition;
+    private final boolean attachExistingTables;
+    private final String partitionNamePrefix;
+
+    public DefaultTenantPartitioningProperties(TenantPartitioningStrategy strategy, Integer modulus, Map<String, List<String>> listPartitions, boolean createDefaultPartition, boolean attachExistingTables, String partitionNamePrefix) {
+        this.strategy = strategy;
+        this.modulus = modulus;
+        this.listPartitions = listPartitions == null ? null : unmodifiableMap(new LinkedHashMap<>(listPartitions));
+        this.createDefaultPartition = createDefaultPartition;
+        this.attachExistingTables = attachExistingTables;
+        this.partitionNamePrefix = partitionNamePrefix;
+    }
+
+    public static DefaultTenantPartitioningPropertiesBuilder builder() {
+        return new DefaultTenantPartitioningPropertiesBuilder();
+    }
+
+    @Override
+    public TenantPartitioningStrategy getStrategy() {
+        return strategy;
+    }
+
+    @Override
+    public Integer getModulus() {
+        return modulus;
+    }
+
+    @Override
+    public Map<String, List<String>> getListPartitions() {
+        return listPartitions;
+    }
+
+    @Override
+    public boolean isCreateDefaultPartition() {
+        return createDefaultPartition;
+    }
+
+    @Override
+    public boolean isAttachExistingTables() {
+        return attachExistingTables;
+    }
+
+    @Override
+    public String getPartitionNamePrefix() {
+        return partitionNamePrefix;
+    }
+
+    public static class DefaultTenantPartitioningPropertiesBuilder {
+        private TenantPartitioningStrategy strategy;
+        private Integer modulus;
+        private Map<String, List<String>> listPartitions;
+        private boolean createDefaultPartition;
+        private boolean attachExistingTables;
+        private String partitionNamePrefix;
+
+        public DefaultTenantPartitioningPropertiesBuilder withStrategy(TenantPartitioningStrategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        public DefaultTenantPartitioningPropertiesBuilder withModulus(Integer modulus) {
+            this.modulus = modulus;
+            return this;
+        }
+
+        public DefaultTenantPartitioningPropertiesBuilder withListPartitions(Map<String, List<String>> listPartitions) {
+            this.listPartitions = listPartitions;
+            return this;
+        }
+
+        public DefaultTenantPartitioningPropertiesBuilder withCreateDefaultPartition(boolean createDefaultPartition) {
+            this.createDefaultPartition = createDefaultPartition;
+            return this;
+        }
+
+        public DefaultTenantPartitioningPropertiesBuilder withAttachExistingTables(boolean attachExistingTables) {
+            this.attachExistingTables = attachExistingTables;
+            return this;
+        }
+
+        public DefaultTenantPartitioningPropertiesBuilder withPartitionNamePrefix(String partitionNamePrefix) {
+            this.partitionNamePrefix = partitionNamePrefix;
+            return this;
+        }
+
+        public DefaultTenantPartitioningProperties build() {
+            return new DefaultTenantPartitioningProperties(strategy, modulus, listPartitions, createDefaultPartition, attachExistingTables, partitionNamePrefix);
+        }
+    }
+}
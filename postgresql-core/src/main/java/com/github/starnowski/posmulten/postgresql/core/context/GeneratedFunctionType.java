@@ -0,0 +1,54 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Generated functions for which the optional metadata, like the LEAKPROOF attribute or the planner cost, can be specified.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions
+ * @since 0.8
+ */
+public enum GeneratedFunctionType {
+
+    /**
+     * Function that returns the current tenant identifier.
+     */
+    GET_CURRENT_TENANT_ID,
+    /**
+     * Function that checks if the passed identifier is equal to the current tenant identifier.
+     */
+    EQUALS_CURRENT_TENANT_IDENTIFIER,
+    /**
+     * Function that checks if the current tenant has authorities to the table row, used by the RLS policies.
+     */
+    TENANT_HAS_AUTHORITIES,
+    /**
+     * Functions that check if the record with the specified primary key belongs to the current tenant.
+     */
+    IS_RECORD_BELONGS_TO_CURRENT_TENANT,
+    /**
+     * Function that checks if the tenant identifier is valid.
+     */
+    IS_TENANT_VALID
+}
@@ -43,4 +43,10 @@ public interface ISameTenantConstraintForForeignKeyProperties {
      * @return name of the constraint
      */
     String getConstraintName();
+
+    /**
+     * The method returns the type of the constraint.
+     * @return type of the constraint, if null then the type is resolved based on {@link SharedSchemaContextRequest#getSameTenantConstraintForForeignKeyType()}
+     */
+    SameTenantConstraintForForeignKeyType getConstraintType();
 }
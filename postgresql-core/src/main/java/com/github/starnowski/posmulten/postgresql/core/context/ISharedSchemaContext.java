@@ -23,10 +23,12 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.ITenantSubscriptionStatementFactory;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -50,6 +52,15 @@ public interface ISharedSchemaContext {
      */
     void addSQLDefinition(SQLDefinition sqlDefinition);
 
+    /**
+     * Replacing the list of objects of type SQLDefinition that is returned by the {@link #getSqlDefinitions()} method.
+     * The method is used by enrichers that rearrange the list, for example by {@link com.github.starnowski.posmulten.postgresql.core.context.enrichers.AlterTableStatementsCoalescingEnricher}.
+     *
+     * @param sqlDefinitions list of objects that represents DDL statements that should be applied, in order of how they should be applied
+     * @since 0.8
+     */
+    void setSqlDefinitions(List<SQLDefinition> sqlDefinitions);
+
     TenantHasAuthoritiesFunctionInvocationFactory getTenantHasAuthoritiesFunctionInvocationFactory();
 
     void setTenantHasAuthoritiesFunctionInvocationFactory(TenantHasAuthoritiesFunctionInvocationFactory factory);
@@ -66,8 +77,58 @@ public interface ISharedSchemaContext {
 
     ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory();
 
+    /**
+     * Set factory of statements that invoke the function which sets the current tenant identifier only for the current transaction.
+     * The method is invoked only when such function is created, the default implementation throws {@link UnsupportedOperationException}.
+     * @param factory factory of statements
+     * @since 0.8
+     */
+    default void setISetLocalCurrentTenantIdFunctionInvocationFactory(ISetCurrentTenantIdFunctionInvocationFactory factory) {
+        throw new UnsupportedOperationException("The context does not support the function that sets the current tenant identifier only for the current transaction");
+    }
+
+    /**
+     * Set factory of prepared statements that invoke the function which sets the current tenant identifier only for the current transaction.
+     * The method is invoked only when such function is created, the default implementation throws {@link UnsupportedOperationException}.
+     * @param factory factory of prepared statements
+     * @since 0.8
+     */
+    default void setISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory factory) {
+        throw new UnsupportedOperationException("The context does not support the function that sets the current tenant identifier only for the current transaction");
+    }
+
+    /**
+     * Returns factory of statements that invoke the function which sets the current tenant identifier only for the current transaction.
+     * @return factory of statements, null if such function is not created
+     * @since 0.8
+     */
+    default ISetCurrentTenantIdFunctionInvocationFactory getISetLocalCurrentTenantIdFunctionInvocationFactory() {
+        return null;
+    }
+
+    /**
+     * Returns factory of prepared statements that invoke the function which sets the current tenant identifier only for the current transaction.
+     * @return factory of prepared statements, null if such function is not created
+     * @since 0.8
+     */
+    default ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory() {
+        return null;
+    }
+
     Map<TableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory> getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap();
 
+    /**
+     * Returns map of factories of statements that create subscriptions for the publications of tenant rows.
+     * The map key is a publication name.
+     * The default implementation returns an unmodifiable empty map, custom implementations have to override it to support the publications.
+     * @return map of factories
+     * @see ITenantSubscriptionStatementFactory
+     * @since 0.8
+     */
+    default Map<String, ITenantSubscriptionStatementFactory> getPublicationNamesTenantSubscriptionStatementFactoryMap() {
+        return Collections.emptyMap();
+    }
+
     IIsTenantValidFunctionInvocationFactory getIIsTenantValidFunctionInvocationFactory();
 
     void setIIsTenantValidFunctionInvocationFactory(IIsTenantValidFunctionInvocationFactory factory);
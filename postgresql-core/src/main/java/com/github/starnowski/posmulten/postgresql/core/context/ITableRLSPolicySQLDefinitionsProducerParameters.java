@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum;
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 
 public interface ITableRLSPolicySQLDefinitionsProducerParameters {
@@ -38,4 +39,22 @@ public interface ITableRLSPolicySQLDefinitionsProducerParameters {
     String getTenantIdColumn();
 
     String getDefaultTenantIdColumn();
+
+    /**
+     * @return true if separate policies should be created for the SELECT, INSERT, UPDATE and DELETE commands instead of a single policy for all commands
+     * @since 0.8
+     */
+    boolean isPolicyPerCommand();
+
+    /**
+     * @return type of the tenant policies, in case of null the policies are permissive
+     * @since 0.8
+     */
+    RLSPolicyTypeEnum getPolicyType();
+
+    /**
+     * @return true if the permissive policy that allows access to all rows should not be created for the restrictive tenant policies
+     * @since 0.8
+     */
+    boolean isSkipBasePermissivePolicy();
 }
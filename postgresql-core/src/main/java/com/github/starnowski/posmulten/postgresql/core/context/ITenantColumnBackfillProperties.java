@@ -0,0 +1,55 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import java.util.Map;
+
+/**
+ * Type describes the source of the tenant identifier values that are set for existing rows of table
+ * after the tenant column is added.
+ * The values are returned by the custom query ({@link #getTenantValueQuery()})
+ * or copied from the parent table referenced by the foreign key columns ({@link #getParentTable()}).
+ *
+ * @since 0.8
+ */
+public interface ITenantColumnBackfillProperties {
+
+    /**
+     * The method returns query that returns the tenant identifier for the updated row.
+     * The columns of the updated row can be referenced with the table name as qualifier, for example "posts.user_id".
+     * @return query, null when the values are copied from the parent table
+     */
+    String getTenantValueQuery();
+
+    /**
+     * @return parent table from which the tenant identifier is copied, null when the custom query is used
+     */
+    TableKey getParentTable();
+
+    /**
+     * The method returns map of foreign key columns in the updated table (map key) and primary key columns in the parent table (map value).
+     * @return map of columns, null when the custom query is used
+     */
+    Map<String, String> getForeignKeyPrimaryKeyColumnsMappings();
+}
@@ -0,0 +1,67 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type describes the partitioning by the tenant column for table.
+ *
+ * @since 0.8
+ */
+public interface ITenantPartitioningProperties {
+
+    /**
+     * @return partitioning strategy
+     */
+    TenantPartitioningStrategy getStrategy();
+
+    /**
+     * @return number of partitions for the {@link TenantPartitioningStrategy#HASH} strategy
+     */
+    Integer getModulus();
+
+    /**
+     * @return map of partitions for the {@link TenantPartitioningStrategy#LIST} strategy, the map key is the partition name
+     * and the value is the list of tenant identifiers stored in the partition
+     */
+    Map<String, List<String>> getListPartitions();
+
+    /**
+     * @return true if the default partition should be created for the {@link TenantPartitioningStrategy#LIST} strategy
+     */
+    boolean isCreateDefaultPartition();
+
+    /**
+     * @return true if the partitions are existing tables that should be attached to the partitioned table
+     * instead of being created
+     */
+    boolean isAttachExistingTables();
+
+    /**
+     * @return prefix for the names of hash partitions and the default partition, if null then the table name with the "_" suffix is used
+     */
+    String getPartitionNamePrefix();
+}
@@ -41,6 +41,18 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer {
     private IsRecordBelongsToCurrentTenantConstraintProducer isRecordBelongsToCurrentTenantConstraintProducer = new IsRecordBelongsToCurrentTenantConstraintProducer();
 
     public List<SQLDefinition> produce(IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters parameters)
+    {
+        return produce(parameters, false);
+    }
+
+    /**
+     * @param parameters producer parameters
+     * @param notValid if true then the constraint is added with the NOT VALID option
+     *                 (see {@link IsRecordBelongsToCurrentTenantConstraintProducer#produceNotValid})
+     * @return list of sql definitions
+     * @since 0.8
+     */
+    public List<SQLDefinition> produce(IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters parameters, boolean notValid)
     {
         IsRecordBelongsToCurrentTenantConstraintProducerParameters isRecordBelongsToCurrentTenantConstraintProducerParameters = DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters.builder()
                 .withConstraintName(parameters.getConstraintName())
@@ -49,6 +61,9 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer {
                 .withIsRecordBelongsToCurrentTenantFunctionInvocationFactory(parameters.getIsRecordBelongsToCurrentTenantFunctionInvocationFactory())
                 .withPrimaryColumnsValuesMap(convertForeignPrimaryKeyMapping(parameters.getForeignKeyPrimaryKeyMappings()))
                 .build();
+        if (notValid) {
+            return Collections.singletonList(isRecordBelongsToCurrentTenantConstraintProducer.produceNotValid(isRecordBelongsToCurrentTenantConstraintProducerParameters));
+        }
         return Collections.singletonList(isRecordBelongsToCurrentTenantConstraintProducer.produce(isRecordBelongsToCurrentTenantConstraintProducerParameters));
     }
 
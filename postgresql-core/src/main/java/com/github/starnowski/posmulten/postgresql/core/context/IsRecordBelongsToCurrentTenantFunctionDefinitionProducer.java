@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
 import java.util.Map;
@@ -35,6 +36,14 @@ public class IsRecordBelongsToCurrentTenantFunctionDefinitionProducer {
     private IsRecordBelongsToCurrentTenantProducer isRecordBelongsToCurrentTenantProducer = new IsRecordBelongsToCurrentTenantProducer();
 
     public IsRecordBelongsToCurrentTenantFunctionDefinition produce(TableKey tableKey, String tenantColumnName, Map<String, String> identityColumnNameAndTypeMa, IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory, String functionName, String schema)
+    {
+        return produce(tableKey, tenantColumnName, identityColumnNameAndTypeMa, iGetCurrentTenantIdFunctionInvocationFactory, functionName, schema, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public IsRecordBelongsToCurrentTenantFunctionDefinition produce(TableKey tableKey, String tenantColumnName, Map<String, String> identityColumnNameAndTypeMa, IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory, String functionName, String schema, FunctionMetadataOptions functionMetadataOptions)
     {
         IIsRecordBelongsToCurrentTenantProducerParameters isRecordBelongsToCurrentTenantProducerParameters = new IsRecordBelongsToCurrentTenantProducerParameters.Builder()
                 .withSchema(schema)
@@ -43,6 +52,7 @@ public class IsRecordBelongsToCurrentTenantFunctionDefinitionProducer {
                 .withRecordSchemaName(tableKey.getSchema())
                 .withiGetCurrentTenantIdFunctionInvocationFactory(iGetCurrentTenantIdFunctionInvocationFactory)
                 .withTenantColumn(tenantColumnName)
+                .withFunctionMetadataOptions(functionMetadataOptions)
                 .withKeyColumnsPairsList(identityColumnNameAndTypeMa.entrySet().stream().map(entry -> pairOfColumnWithType(entry.getKey(), entry.getValue())).collect(toList())).build();
         return isRecordBelongsToCurrentTenantProducer.produce(isRecordBelongsToCurrentTenantProducerParameters);
     }
@@ -29,10 +29,16 @@ public class SameTenantConstraintForForeignKeyProperties implements ISameTenantC
 
     private final String constraintName;
     private final Map<String, String> foreignKeyPrimaryKeyColumnsMappings;
+    private final SameTenantConstraintForForeignKeyType constraintType;
 
     public SameTenantConstraintForForeignKeyProperties(String constraintName, Map<String, String> foreignKeyPrimaryKeyColumnsMappings) {
+        this(constraintName, foreignKeyPrimaryKeyColumnsMappings, null);
+    }
+
+    public SameTenantConstraintForForeignKeyProperties(String constraintName, Map<String, String> foreignKeyPrimaryKeyColumnsMappings, SameTenantConstraintForForeignKeyType constraintType) {
         this.constraintName = constraintName;
         this.foreignKeyPrimaryKeyColumnsMappings = foreignKeyPrimaryKeyColumnsMappings;
+        this.constraintType = constraintType;
     }
 
     public Map<String, String> getForeignKeyPrimaryKeyColumnsMappings() {
@@ -42,4 +48,8 @@ public class SameTenantConstraintForForeignKeyProperties implements ISameTenantC
     public String getConstraintName() {
         return constraintName;
     }
+
+    public SameTenantConstraintForForeignKeyType getConstraintType() {
+        return constraintType;
+    }
 }
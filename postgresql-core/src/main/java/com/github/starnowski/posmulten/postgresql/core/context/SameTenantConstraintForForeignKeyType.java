@@ -0,0 +1,57 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Type of the constraint that checks if foreign key in the main table refers to record that belongs to the same tenant.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+ * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SameTenantForeignKeyConstraintSQLDefinitionsEnricher
+ * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SameTenantStatementTriggerSQLDefinitionsEnricher
+ */
+public enum SameTenantConstraintForForeignKeyType {
+
+    /**
+     * Check constraint that invokes the function which checks if the referenced record exists for the current tenant.
+     * This is the default type.
+     */
+    CHECK_CONSTRAINT_WITH_FUNCTION,
+    /**
+     * Unique constraint on the tenant column and primary key columns of the foreign table and the native foreign key
+     * constraint on the tenant column and foreign key columns of the main table.
+     * Tenant consistency is enforced by the referential integrity triggers and the unique index, without a function call
+     * for each row.
+     */
+    COMPOSITE_FOREIGN_KEY,
+    /**
+     * Statement level triggers, fired after insert and after update of the main table, that check all rows modified by
+     * the statement with single anti-join query against the foreign table filtered by the current tenant.
+     * The type is recommended for bulk loads (COPY or INSERT ... SELECT) of many rows.
+     * The triggers check only rows modified after their creation, existing rows are not checked.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SameTenantStatementTriggerSQLDefinitionsEnricher
+     * @since 0.8
+     */
+    STATEMENT_TRIGGER
+}
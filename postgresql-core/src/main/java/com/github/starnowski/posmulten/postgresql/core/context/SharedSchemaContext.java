@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.ITenantSubscriptionStatementFactory;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
@@ -37,9 +38,12 @@ public class SharedSchemaContext implements ISharedSchemaContext {
     private IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
     private ISetCurrentTenantIdFunctionInvocationFactory iSetCurrentTenantIdFunctionInvocationFactory;
     private ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory iSetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+    private ISetCurrentTenantIdFunctionInvocationFactory iSetLocalCurrentTenantIdFunctionInvocationFactory;
+    private ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory iSetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory;
     private TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory;
     private List<SQLDefinition> sqlDefinitions = new ArrayList<>();
     private Map<TableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory> tableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap = new HashMap();
+    private Map<String, ITenantSubscriptionStatementFactory> publicationNamesTenantSubscriptionStatementFactoryMap = new HashMap<>();
     private IIsTenantValidFunctionInvocationFactory iIsTenantValidFunctionInvocationFactory;
     private String currentTenantIdPropertyType;
 
@@ -53,6 +57,11 @@ public class SharedSchemaContext implements ISharedSchemaContext {
         sqlDefinitions.add(sqlDefinition);
     }
 
+    @Override
+    public void setSqlDefinitions(List<SQLDefinition> sqlDefinitions) {
+        this.sqlDefinitions = new ArrayList<>(sqlDefinitions);
+    }
+
     @Override
     public TenantHasAuthoritiesFunctionInvocationFactory getTenantHasAuthoritiesFunctionInvocationFactory() {
         return tenantHasAuthoritiesFunctionInvocationFactory;
@@ -91,11 +100,36 @@ public class SharedSchemaContext implements ISharedSchemaContext {
         this.iSetCurrentTenantIdFunctionPreparedStatementInvocationFactory = iSetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
     }
 
+    @Override
+    public void setISetLocalCurrentTenantIdFunctionInvocationFactory(ISetCurrentTenantIdFunctionInvocationFactory factory) {
+        this.iSetLocalCurrentTenantIdFunctionInvocationFactory = factory;
+    }
+
+    @Override
+    public void setISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory factory) {
+        this.iSetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory = factory;
+    }
+
+    @Override
+    public ISetCurrentTenantIdFunctionInvocationFactory getISetLocalCurrentTenantIdFunctionInvocationFactory() {
+        return iSetLocalCurrentTenantIdFunctionInvocationFactory;
+    }
+
+    @Override
+    public ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory() {
+        return iSetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+    }
+
     @Override
     public Map<TableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory> getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap() {
         return tableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap;
     }
 
+    @Override
+    public Map<String, ITenantSubscriptionStatementFactory> getPublicationNamesTenantSubscriptionStatementFactoryMap() {
+        return publicationNamesTenantSubscriptionStatementFactoryMap;
+    }
+
     public IIsTenantValidFunctionInvocationFactory getIIsTenantValidFunctionInvocationFactory() {
         return iIsTenantValidFunctionInvocationFactory;
     }
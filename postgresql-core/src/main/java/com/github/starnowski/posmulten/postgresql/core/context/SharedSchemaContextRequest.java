@@ -23,6 +23,9 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum;
+
 import java.util.*;
 
 public class SharedSchemaContextRequest implements Cloneable {
@@ -48,12 +51,110 @@ public class SharedSchemaContextRequest implements Cloneable {
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.GetCurrentTenantIdFunctionDefinitionEnricher
      */
     private String getCurrentTenantIdFunctionName;
+    /**
+     * Name of the additional function that returns the current tenant identifier or null when the identifier is not set.
+     * If the value is null then such function is not created.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.GetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private String getCurrentTenantIdMissingOkFunctionName;
     /**
      * Name of the function that set the current tenant identifier.
      *
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
      */
     private String setCurrentTenantIdFunctionName;
+    /**
+     * The toggle, based on which the function that sets the current tenant identifier ({@link #setCurrentTenantIdFunctionName})
+     * sets the value only for the current transaction (true) or for the session (false). The default value is false.
+     * Setting the value only for the current transaction is required when the application connects to the database via a connection pooler in the transaction mode.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private boolean currentTenantIdSetLocally;
+    /**
+     * Name of the additional function that set the current tenant identifier only for the current transaction.
+     * If the value is null then such function is not created.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private String setLocalCurrentTenantIdFunctionName;
+    /**
+     * The toggle, based on which the functions that set the current tenant identifier are created in the SQL language instead of the PL/pgSQL language.
+     * The default value is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private boolean currentTenantIdSetterInSqlLanguage;
+    /**
+     * Name of the tenant registry table that maps the external tenant identifiers to the surrogate integer identifiers.
+     * When the value is not null then the registry table is created, the functions that set the current tenant identifier accept
+     * the external tenant identifier and store the surrogate identifier resolved from the registry table.
+     * In such case the {@link #currentTenantIdPropertyType} has to be the integer type ("smallint", "int", "integer" or "bigint"),
+     * which is also the type of the surrogate identifier column.
+     * If the value is null then the registry table is not created.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantRegistrySQLDefinitionsEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private String tenantRegistryTableName;
+    /**
+     * Type of the external tenant identifier column in the tenant registry table ({@link #tenantRegistryTableName}).
+     * The value is also the argument type of the functions that set the current tenant identifier. The default value is "text".
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantRegistrySQLDefinitionsEnricher
+     */
+    private String tenantRegistryExternalIdentifierType;
+    /**
+     * Name of the tenant settings table that stores the per-tenant values of the "statement_timeout", "work_mem" and "lock_timeout"
+     * configuration parameters and the priority class of the tenant.
+     * When the value is not null then the settings table is created and the functions that set the current tenant identifier
+     * apply the settings stored for the tenant in the same invocation.
+     * If the value is null then the settings table is not created.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantSettingsSQLDefinitionsEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private String tenantSettingsTableName;
+    /**
+     * Name of the custom property that stores the priority class of the current tenant, set from the tenant settings table ({@link #tenantSettingsTableName}).
+     * The default value is "posmulten.tenant_priority_class".
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private String tenantPriorityClassProperty = "posmulten.tenant_priority_class";
+    /**
+     * Name of the table that stores the parent tenant for each tenant (hierarchical tenants).
+     * When the value is not null, there is created the closure table ({@link #tenantHierarchyClosureTableName}) maintained by the trigger on this table
+     * and the function that checks tenant authorities ({@link #tenantHasAuthoritiesFunctionName}) allows reading rows of descendant tenants.
+     * If the value is null then the tenants are not hierarchical.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantHierarchySQLDefinitionsEnricher
+     */
+    private String tenantHierarchyTableName;
+    /**
+     * Name of the closure table that stores all pairs of ancestor and descendant tenants.
+     * The default value is the {@link #tenantHierarchyTableName} with the "_closure" suffix.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantHierarchySQLDefinitionsEnricher
+     */
+    private String tenantHierarchyClosureTableName;
+    /**
+     * Name of the property (for example "application_name" or a custom property) that the functions which set the current tenant identifier
+     * set to the tenant tag, the tenant identifier with the "tenant=" prefix.
+     * If the value is null then the tenant tag is not set.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private String tenantTagProperty;
+    /**
+     * Name of the view that presents the sessions from the "pg_stat_activity" view together with the tenant tag.
+     * The view requires the tenant tag ({@link #tenantTagProperty}) to be set in the "application_name" property.
+     * If the value is null then the view is not created.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantActivityViewSQLDefinitionsEnricher
+     */
+    private String tenantActivityViewName;
     /**
      * Name of the function that checks if passed identifier is equal to the current tenant identifier.
      *
@@ -95,6 +196,30 @@ public class SharedSchemaContextRequest implements Cloneable {
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSSettingsSQLDefinitionsEnricher
      */
     private boolean forceRowLevelSecurityForTableOwner;
+    /**
+     * The toggle, based on which builder is going to use in the row level security policy the inline expression that
+     * compares the tenant column with the value of the {@link #currentTenantIdProperty} property (true) or the invocation
+     * of the function that checks if the current tenant has authorities to the table row (false).
+     * When the value is true then the function that checks tenant authorities and the function that checks if the passed
+     * identifier is equal to the current tenant identifier are not created.
+     * The default value is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantHasAuthoritiesFunctionDefinitionEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.rls.InlineTenantHasAuthoritiesExpressionFactory
+     */
+    private boolean inlineRLSPolicyExpression;
+    /**
+     * The toggle, based on which builder is going to wrap the current tenant identifier lookup into the scalar subquery,
+     * like <code>(SELECT get_current_tenant_id())</code>, which Postgres evaluates once per query as InitPlan (true) or not (false).
+     * The toggle applies to the inline expression in row level security policy, to the function that checks if passed tenant
+     * identifier is equal to the current tenant identifier and to the function that checks if record exists for the current tenant. The column default value can not contain a subquery so it is not affected.
+     * The default value is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantHasAuthoritiesFunctionDefinitionEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory
+     */
+    private boolean wrapCurrentTenantIdentifierInSubquery;
     /**
      * A map that stores information that describes the row level security policy properties for tables.
      * Properties are store for each table that required to have row level security policy.
@@ -116,12 +241,56 @@ public class SharedSchemaContextRequest implements Cloneable {
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
      */
     private Map<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> sameTenantConstraintForForeignKeyProperties = new HashMap<>();
+    /**
+     * Default type of the constraint that checks if foreign key in the main table refers to record that belongs to the same tenant.
+     * The type is used when the {@link ISameTenantConstraintForForeignKeyProperties#getConstraintType()} returns null.
+     * Default value is {@link SameTenantConstraintForForeignKeyType#CHECK_CONSTRAINT_WITH_FUNCTION}.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SameTenantForeignKeyConstraintSQLDefinitionsEnricher
+     */
+    private SameTenantConstraintForForeignKeyType sameTenantConstraintForForeignKeyType = SameTenantConstraintForForeignKeyType.CHECK_CONSTRAINT_WITH_FUNCTION;
+    /**
+     * A map that stores the names for a unique constraint on the tenant column and the primary key columns that is required
+     * by the foreign key constraint of type {@link SameTenantConstraintForForeignKeyType#COMPOSITE_FOREIGN_KEY}.
+     * The map key is a table identifier ({@link TableKey}), and the value is the constraint name.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SameTenantForeignKeyConstraintSQLDefinitionsEnricher
+     */
+    private Map<TableKey, String> tenantUniqueConstraintNames = new HashMap<>();
     /**
      * Default grantee for which the row level security should be added.
      *
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
      */
     private String grantee;
+    /**
+     * The tenant-agnostic grantee (role) used by the bulk and cross-tenant workloads, for which the row level security policies are not applied.
+     * If the value is null then no SQL definitions for such grantee are created.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.BatchGranteeSQLDefinitionsEnricher
+     */
+    private String batchGrantee;
+    /**
+     * Type of access to the tables with the row level security policy for the {@link #batchGrantee}.
+     * The default value is {@link BatchGranteeAccessType#BYPASS_RLS}.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.BatchGranteeSQLDefinitionsEnricher
+     */
+    private BatchGranteeAccessType batchGranteeAccessType = BatchGranteeAccessType.BYPASS_RLS;
+    /**
+     * List of the privileges to the tables with the row level security policy granted to the {@link #batchGrantee}.
+     * If the list is null or empty then the SELECT, INSERT, UPDATE and DELETE privileges are granted.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.BatchGranteeSQLDefinitionsEnricher
+     */
+    private List<String> batchGranteeTablePrivileges;
+    /**
+     * List of the sequences in the default schema to which the {@link #batchGrantee} gets all privileges.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.BatchGranteeSQLDefinitionsEnricher
+     */
+    private List<String> batchGranteeSequences;
     /**
      * A map that stores the names for a function that checks if there is a record with a specified identifier that is
      * assigned to the current tenant for the specified table. The map key is a table identifier ({@link TableKey}), and the
@@ -136,6 +305,20 @@ public class SharedSchemaContextRequest implements Cloneable {
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantIdentifierValidConstraintEnricher
      */
     private List<String> tenantValuesBlacklist;
+    /**
+     * Type of the function that checks if the tenant identifier is not on the list of invalid tenant identifiers ({@link #tenantValuesBlacklist}).
+     * Default value is {@link TenantValuesBlacklistType#CONSTANT_VALUES}.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantValidFunctionInvocationFactoryEnricher
+     */
+    private TenantValuesBlacklistType tenantValuesBlacklistType = TenantValuesBlacklistType.CONSTANT_VALUES;
+    /**
+     * The name of the lookup table that stores invalid tenant identifiers when the {@link #tenantValuesBlacklistType}
+     * is {@link TenantValuesBlacklistType#LOOKUP_TABLE}. The default value is "tenant_values_blacklist".
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantValidFunctionInvocationFactoryEnricher
+     */
+    private String tenantValuesBlacklistTableName;
     /**
      * The name of function that check if passed tenant identifier is valid.
      *
@@ -180,6 +363,136 @@ public class SharedSchemaContextRequest implements Cloneable {
      */
     private Set<TableKey> tablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped = new HashSet<>();
 
+    /**
+     * The toggle, based on which builder is going to create the index on the tenant column and the primary key columns
+     * in all tables that required rls policy (true) or not (false). The default value is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
+     */
+    private boolean createTenantIndexInAllTables;
+
+    /**
+     * The toggle, based on which builder is going to create the index on the tenant column concurrently (true) or not (false).
+     * The value is used when the {@link ITenantIndexProperties#getCreateConcurrently()} returns null. The default value is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
+     */
+    private boolean createTenantIndexConcurrently;
+
+    /**
+     * A map that stores the properties of the index on the tenant column and the primary key columns.
+     * The map key is a table identifier ({@link TableKey}), and the value is the index properties.
+     * The index is created for each table that is in the map, even if the {@link #createTenantIndexInAllTables} is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
+     */
+    private Map<TableKey, ITenantIndexProperties> tenantIndexProperties = new HashMap<>();
+
+    /**
+     * A set of table identifiers for which creation of the index on the tenant column should be skipped.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
+     */
+    private Set<TableKey> tablesThatCreationOfTenantIndexShouldBeSkipped = new HashSet<>();
+
+    /**
+     * The toggle, based on which builder is going to create the extended statistics on the tenant column and correlated columns
+     * in all tables that required rls policy (true) or not (false). The default value is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantStatisticsSQLDefinitionsEnricher
+     */
+    private boolean createTenantStatisticsInAllTables;
+
+    /**
+     * Kinds of the extended statistics on the tenant column. If the list is null or empty then all kinds ({@link TenantStatisticsKind#values()}) are created.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantStatisticsSQLDefinitionsEnricher
+     */
+    private List<TenantStatisticsKind> tenantStatisticsKinds;
+
+    /**
+     * A map that stores the properties of the extended statistics on the tenant column.
+     * The map key is a table identifier ({@link TableKey}), and the value is the statistics properties.
+     * The statistics are created for each table that is in the map, even if the {@link #createTenantStatisticsInAllTables} is false.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantStatisticsSQLDefinitionsEnricher
+     */
+    private Map<TableKey, ITenantStatisticsProperties> tenantStatisticsProperties = new HashMap<>();
+
+    /**
+     * A set of table identifiers for which creation of the extended statistics on the tenant column should be skipped.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantStatisticsSQLDefinitionsEnricher
+     */
+    private Set<TableKey> tablesThatCreationOfTenantStatisticsShouldBeSkipped = new HashSet<>();
+    /**
+     * A map that stores the sources of the tenant identifier values for existing rows of tables.
+     * The map key is a table identifier ({@link TableKey}), and the value is the source of values.
+     * For tables in this map the tenant column is added as nullable, then the values are set for existing rows,
+     * and the not-null constraint is enforced at the end through a validated check constraint.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantColumnBackfillSQLDefinitionsEnricher
+     */
+    private Map<TableKey, ITenantColumnBackfillProperties> tenantColumnBackfillProperties = new HashMap<>();
+    /**
+     * Toggle, based on which the ALTER TABLE statements generated for the same table are merged into a single statement with multiple actions.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.AlterTableStatementsCoalescingEnricher
+     */
+    private boolean coalesceAlterTableStatements;
+    /**
+     * Toggle, based on which the tenant constraints are added with the NOT VALID option and validated by separate statements
+     * executed after all other definitions.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.ConstraintValidationSQLDefinitionsEnricher
+     */
+    private boolean validateConstraintsSeparately;
+    /**
+     * Toggle, based on which separate row level security policies are created for the SELECT, INSERT, UPDATE and DELETE commands,
+     * each with only the expressions required by the command, instead of a single policy for all commands.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
+     */
+    private boolean rlsPolicyPerCommand;
+    /**
+     * Type of the tenant row level security policies. In case of null the policies are created as permissive.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
+     */
+    private RLSPolicyTypeEnum rlsPolicyType;
+    /**
+     * Toggle, based on which the permissive policy that allows access to all rows is not created for tables with restrictive tenant policies.
+     * It should be set only when the application creates its own permissive policies, otherwise the restrictive policies deny access to all rows.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
+     */
+    private boolean skipBasePermissiveRLSPolicy;
+
+    /**
+     * A map that stores the partitioning properties for tables that are partitioned by the tenant column.
+     * The map key is a table identifier ({@link TableKey}), and the value is the partitioning properties.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantPartitionSQLDefinitionsEnricher
+     */
+    private Map<TableKey, ITenantPartitioningProperties> tenantPartitioningProperties = new HashMap<>();
+
+    /**
+     * A map that stores the publications (logical replication) of rows that belong to the specified tenants.
+     * The map key is a publication name, and the value is the list of tenant identifiers whose rows are published.
+     * Each publication contains all tables that have the RLS policy declaration ({@link #tableColumnsList}).
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantPublicationSQLDefinitionsEnricher
+     */
+    private Map<String, List<String>> tenantPublications = new HashMap<>();
+
+    /**
+     * Toggle, based on which the "REPLICA IDENTITY FULL" setting is applied to the tables of the publications ({@link #tenantPublications}).
+     * By default the replica identity of tables is not changed.
+     *
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantPublicationSQLDefinitionsEnricher
+     */
+    private boolean tenantPublicationReplicaIdentityFull;
+
     /**
      * Maximum allowed length for the identifier.
      *
@@ -199,6 +512,12 @@ public class SharedSchemaContextRequest implements Cloneable {
      */
     private List<CustomSQLDefinitionPair> customSQLDefinitionPairs = new ArrayList<>();
 
+    /**
+     * A map that stores the optional metadata (like the LEAKPROOF attribute, planner cost or security attribute) of the generated functions.
+     * The map key is the type of generated function ({@link GeneratedFunctionType}), and the value is the metadata options.
+     */
+    private Map<GeneratedFunctionType, FunctionMetadataOptions> functionMetadataOptions = new HashMap<>();
+
     public String getDefaultTenantIdColumn() {
         return defaultTenantIdColumn;
     }
@@ -231,6 +550,116 @@ public class SharedSchemaContextRequest implements Cloneable {
         this.setCurrentTenantIdFunctionName = setCurrentTenantIdFunctionName;
     }
 
+    public boolean isCurrentTenantIdSetLocally() {
+        return currentTenantIdSetLocally;
+    }
+
+    public void setCurrentTenantIdSetLocally(boolean currentTenantIdSetLocally) {
+        this.currentTenantIdSetLocally = currentTenantIdSetLocally;
+    }
+
+    public String getSetLocalCurrentTenantIdFunctionName() {
+        return setLocalCurrentTenantIdFunctionName;
+    }
+
+    public void setSetLocalCurrentTenantIdFunctionName(String setLocalCurrentTenantIdFunctionName) {
+        this.setLocalCurrentTenantIdFunctionName = setLocalCurrentTenantIdFunctionName;
+    }
+
+    public boolean isCurrentTenantIdSetterInSqlLanguage() {
+        return currentTenantIdSetterInSqlLanguage;
+    }
+
+    public void setCurrentTenantIdSetterInSqlLanguage(boolean currentTenantIdSetterInSqlLanguage) {
+        this.currentTenantIdSetterInSqlLanguage = currentTenantIdSetterInSqlLanguage;
+    }
+
+    public String getTenantRegistryTableName() {
+        return tenantRegistryTableName;
+    }
+
+    public void setTenantRegistryTableName(String tenantRegistryTableName) {
+        this.tenantRegistryTableName = tenantRegistryTableName;
+    }
+
+    public String getTenantRegistryExternalIdentifierType() {
+        return tenantRegistryExternalIdentifierType;
+    }
+
+    public void setTenantRegistryExternalIdentifierType(String tenantRegistryExternalIdentifierType) {
+        this.tenantRegistryExternalIdentifierType = tenantRegistryExternalIdentifierType;
+    }
+
+    public String getTenantSettingsTableName() {
+        return tenantSettingsTableName;
+    }
+
+    public void setTenantSettingsTableName(String tenantSettingsTableName) {
+        this.tenantSettingsTableName = tenantSettingsTableName;
+    }
+
+    public String getTenantPriorityClassProperty() {
+        return tenantPriorityClassProperty;
+    }
+
+    public void setTenantPriorityClassProperty(String tenantPriorityClassProperty) {
+        this.tenantPriorityClassProperty = tenantPriorityClassProperty;
+    }
+
+    public String getTenantHierarchyTableName() {
+        return tenantHierarchyTableName;
+    }
+
+    public void setTenantHierarchyTableName(String tenantHierarchyTableName) {
+        this.tenantHierarchyTableName = tenantHierarchyTableName;
+    }
+
+    public String getTenantHierarchyClosureTableName() {
+        return tenantHierarchyClosureTableName;
+    }
+
+    public void setTenantHierarchyClosureTableName(String tenantHierarchyClosureTableName) {
+        this.tenantHierarchyClosureTableName = tenantHierarchyClosureTableName;
+    }
+
+    public String getTenantTagProperty() {
+        return tenantTagProperty;
+    }
+
+    public void setTenantTagProperty(String tenantTagProperty) {
+        this.tenantTagProperty = tenantTagProperty;
+    }
+
+    public String getTenantActivityViewName() {
+        return tenantActivityViewName;
+    }
+
+    public void setTenantActivityViewName(String tenantActivityViewName) {
+        this.tenantActivityViewName = tenantActivityViewName;
+    }
+
+    /**
+     * Resolves name of the closure table of hierarchical tenants.
+     * If there is no name specified for the closure table then the {@link #tenantHierarchyTableName} with the "_closure" suffix is returned.
+     *
+     * @return name of the closure table, null if the tenants are not hierarchical
+     * @since 0.8
+     */
+    public String resolveTenantHierarchyClosureTableName() {
+        if (tenantHierarchyTableName == null) {
+            return null;
+        }
+        return tenantHierarchyClosureTableName == null ? tenantHierarchyTableName + "_closure" : tenantHierarchyClosureTableName;
+    }
+
+    public String getGetCurrentTenantIdMissingOkFunctionName() {
+        return getCurrentTenantIdMissingOkFunctionName;
+    }
+
+    public void setGetCurrentTenantIdMissingOkFunctionName(String getCurrentTenantIdMissingOkFunctionName) {
+        this.getCurrentTenantIdMissingOkFunctionName = getCurrentTenantIdMissingOkFunctionName;
+    }
+
     public String getGetCurrentTenantIdFunctionName() {
         return getCurrentTenantIdFunctionName;
     }
@@ -279,6 +708,22 @@ public class SharedSchemaContextRequest implements Cloneable {
         this.forceRowLevelSecurityForTableOwner = forceRowLevelSecurityForTableOwner;
     }
 
+    public boolean isInlineRLSPolicyExpression() {
+        return inlineRLSPolicyExpression;
+    }
+
+    public void setInlineRLSPolicyExpression(boolean inlineRLSPolicyExpression) {
+        this.inlineRLSPolicyExpression = inlineRLSPolicyExpression;
+    }
+
+    public boolean isWrapCurrentTenantIdentifierInSubquery() {
+        return wrapCurrentTenantIdentifierInSubquery;
+    }
+
+    public void setWrapCurrentTenantIdentifierInSubquery(boolean wrapCurrentTenantIdentifierInSubquery) {
+        this.wrapCurrentTenantIdentifierInSubquery = wrapCurrentTenantIdentifierInSubquery;
+    }
+
     public String getGrantee() {
         return grantee;
     }
@@ -287,6 +732,38 @@ public class SharedSchemaContextRequest implements Cloneable {
         this.grantee = grantee;
     }
 
+    public String getBatchGrantee() {
+        return batchGrantee;
+    }
+
+    public void setBatchGrantee(String batchGrantee) {
+        this.batchGrantee = batchGrantee;
+    }
+
+    public BatchGranteeAccessType getBatchGranteeAccessType() {
+        return batchGranteeAccessType;
+    }
+
+    public void setBatchGranteeAccessType(BatchGranteeAccessType batchGranteeAccessType) {
+        this.batchGranteeAccessType = batchGranteeAccessType;
+    }
+
+    public List<String> getBatchGranteeTablePrivileges() {
+        return batchGranteeTablePrivileges;
+    }
+
+    public void setBatchGranteeTablePrivileges(List<String> batchGranteeTablePrivileges) {
+        this.batchGranteeTablePrivileges = batchGranteeTablePrivileges;
+    }
+
+    public List<String> getBatchGranteeSequences() {
+        return batchGranteeSequences;
+    }
+
+    public void setBatchGranteeSequences(List<String> batchGranteeSequences) {
+        this.batchGranteeSequences = batchGranteeSequences;
+    }
+
     public Map<TableKey, ITableRLSPolicyProperties> getTableRLSPolicies() {
         return tableRLSPolicies;
     }
@@ -299,6 +776,18 @@ public class SharedSchemaContextRequest implements Cloneable {
         return functionThatChecksIfRecordExistsInTableNames;
     }
 
+    public SameTenantConstraintForForeignKeyType getSameTenantConstraintForForeignKeyType() {
+        return sameTenantConstraintForForeignKeyType;
+    }
+
+    public void setSameTenantConstraintForForeignKeyType(SameTenantConstraintForForeignKeyType sameTenantConstraintForForeignKeyType) {
+        this.sameTenantConstraintForForeignKeyType = sameTenantConstraintForForeignKeyType;
+    }
+
+    public Map<TableKey, String> getTenantUniqueConstraintNames() {
+        return tenantUniqueConstraintNames;
+    }
+
     @Override
     protected Object clone() throws CloneNotSupportedException {
         return super.clone();
@@ -312,6 +801,22 @@ public class SharedSchemaContextRequest implements Cloneable {
         this.tenantValuesBlacklist = tenantValuesBlacklist;
     }
 
+    public TenantValuesBlacklistType getTenantValuesBlacklistType() {
+        return tenantValuesBlacklistType;
+    }
+
+    public void setTenantValuesBlacklistType(TenantValuesBlacklistType tenantValuesBlacklistType) {
+        this.tenantValuesBlacklistType = tenantValuesBlacklistType;
+    }
+
+    public String getTenantValuesBlacklistTableName() {
+        return tenantValuesBlacklistTableName;
+    }
+
+    public void setTenantValuesBlacklistTableName(String tenantValuesBlacklistTableName) {
+        this.tenantValuesBlacklistTableName = tenantValuesBlacklistTableName;
+    }
+
     public String getIsTenantValidFunctionName() {
         return isTenantValidFunctionName;
     }
@@ -352,6 +857,114 @@ public class SharedSchemaContextRequest implements Cloneable {
         return tablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped;
     }
 
+    public boolean isCreateTenantIndexInAllTables() {
+        return createTenantIndexInAllTables;
+    }
+
+    public void setCreateTenantIndexInAllTables(boolean createTenantIndexInAllTables) {
+        this.createTenantIndexInAllTables = createTenantIndexInAllTables;
+    }
+
+    public boolean isCreateTenantIndexConcurrently() {
+        return createTenantIndexConcurrently;
+    }
+
+    public void setCreateTenantIndexConcurrently(boolean createTenantIndexConcurrently) {
+        this.createTenantIndexConcurrently = createTenantIndexConcurrently;
+    }
+
+    public Map<TableKey, ITenantIndexProperties> getTenantIndexProperties() {
+        return tenantIndexProperties;
+    }
+
+    public Set<TableKey> getTablesThatCreationOfTenantIndexShouldBeSkipped() {
+        return tablesThatCreationOfTenantIndexShouldBeSkipped;
+    }
+
+    public boolean isCreateTenantStatisticsInAllTables() {
+        return createTenantStatisticsInAllTables;
+    }
+
+    public void setCreateTenantStatisticsInAllTables(boolean createTenantStatisticsInAllTables) {
+        this.createTenantStatisticsInAllTables = createTenantStatisticsInAllTables;
+    }
+
+    public List<TenantStatisticsKind> getTenantStatisticsKinds() {
+        return tenantStatisticsKinds;
+    }
+
+    public void setTenantStatisticsKinds(List<TenantStatisticsKind> tenantStatisticsKinds) {
+        this.tenantStatisticsKinds = tenantStatisticsKinds;
+    }
+
+    public Map<TableKey, ITenantStatisticsProperties> getTenantStatisticsProperties() {
+        return tenantStatisticsProperties;
+    }
+
+    public Set<TableKey> getTablesThatCreationOfTenantStatisticsShouldBeSkipped() {
+        return tablesThatCreationOfTenantStatisticsShouldBeSkipped;
+    }
+
+    public Map<TableKey, ITenantColumnBackfillProperties> getTenantColumnBackfillProperties() {
+        return tenantColumnBackfillProperties;
+    }
+
+    public boolean isCoalesceAlterTableStatements() {
+        return coalesceAlterTableStatements;
+    }
+
+    public void setCoalesceAlterTableStatements(boolean coalesceAlterTableStatements) {
+        this.coalesceAlterTableStatements = coalesceAlterTableStatements;
+    }
+
+    public boolean isValidateConstraintsSeparately() {
+        return validateConstraintsSeparately;
+    }
+
+    public void setValidateConstraintsSeparately(boolean validateConstraintsSeparately) {
+        this.validateConstraintsSeparately = validateConstraintsSeparately;
+    }
+
+    public boolean isRlsPolicyPerCommand() {
+        return rlsPolicyPerCommand;
+    }
+
+    public void setRlsPolicyPerCommand(boolean rlsPolicyPerCommand) {
+        this.rlsPolicyPerCommand = rlsPolicyPerCommand;
+    }
+
+    public RLSPolicyTypeEnum getRlsPolicyType() {
+        return rlsPolicyType;
+    }
+
+    public void setRlsPolicyType(RLSPolicyTypeEnum rlsPolicyType) {
+        this.rlsPolicyType = rlsPolicyType;
+    }
+
+    public boolean isSkipBasePermissiveRLSPolicy() {
+        return skipBasePermissiveRLSPolicy;
+    }
+
+    public void setSkipBasePermissiveRLSPolicy(boolean skipBasePermissiveRLSPolicy) {
+        this.skipBasePermissiveRLSPolicy = skipBasePermissiveRLSPolicy;
+    }
+
+    public Map<TableKey, ITenantPartitioningProperties> getTenantPartitioningProperties() {
+        return tenantPartitioningProperties;
+    }
+
+    public Map<String, List<String>> getTenantPublications() {
+        return tenantPublications;
+    }
+
+    public boolean isTenantPublicationReplicaIdentityFull() {
+        return tenantPublicationReplicaIdentityFull;
+    }
+
+    public void setTenantPublicationReplicaIdentityFull(boolean tenantPublicationReplicaIdentityFull) {
+        this.tenantPublicationReplicaIdentityFull = tenantPublicationReplicaIdentityFull;
+    }
+
     public Integer getIdentifierMaxLength() {
         return identifierMaxLength;
     }
@@ -372,6 +985,10 @@ public class SharedSchemaContextRequest implements Cloneable {
         return customSQLDefinitionPairs;
     }
 
+    public Map<GeneratedFunctionType, FunctionMetadataOptions> getFunctionMetadataOptions() {
+        return functionMetadataOptions;
+    }
+
     /**
      * Resolves name for tenant column by table key ({@link TableKey}).
      * If there is no column name specified for the table to which the table key refers then the default column name is returned.
@@ -386,4 +1003,35 @@ public class SharedSchemaContextRequest implements Cloneable {
         }
         return tableColumns.getTenantColumnName() == null ? defaultTenantIdColumn : tableColumns.getTenantColumnName();
     }
+
+    /**
+     * Resolves if the current tenant identifier should be set as the default value of the tenant column in the table.
+     * The default value is added for tables registered for RLS policy, when it should be added for all tables
+     * ({@link #isCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables()}) or when the tenant column is created for the table,
+     * unless the table is on the list of skipped tables ({@link #getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped()}).
+     *
+     * @param tableKey - table key
+     * @return true if the default value should be added for the tenant column in the table
+     * @since 0.8
+     */
+    public boolean isCurrentTenantIdentifierAsDefaultValueForTenantColumn(TableKey tableKey) {
+        if (!getTableColumnsList().containsKey(tableKey) || getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped().contains(tableKey)) {
+            return false;
+        }
+        return isCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables() || getCreateTenantColumnTableLists().contains(tableKey);
+    }
+
+    /**
+     * Resolves type of the constraint that checks if foreign key in the main table refers to record that belongs to the same tenant.
+     * If there is no type specified for the constraint then the default type ({@link #sameTenantConstraintForForeignKeyType}) is returned.
+     *
+     * @param properties - constraint properties
+     * @return type of the constraint
+     */
+    public SameTenantConstraintForForeignKeyType resolveSameTenantConstraintForForeignKeyType(ISameTenantConstraintForForeignKeyProperties properties) {
+        if (properties.getConstraintType() != null) {
+            return properties.getConstraintType();
+        }
+        return sameTenantConstraintForForeignKeyType == null ? SameTenantConstraintForForeignKeyType.CHECK_CONSTRAINT_WITH_FUNCTION : sameTenantConstraintForForeignKeyType;
+    }
 }
@@ -24,7 +24,10 @@
 package com.github.starnowski.posmulten.postgresql.core.context;
 
 import com.github.starnowski.posmulten.postgresql.core.*;
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultTenantColumnNotNullConstraintProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantColumnNotNullConstraintProducer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,13 +36,48 @@ public class SingleTenantColumnSQLDefinitionsProducer {
 
     private CreateColumnStatementProducer createColumnStatementProducer = new CreateColumnStatementProducer();
     private SetNotNullStatementProducer setNotNullStatementProducer = new SetNotNullStatementProducer();
+    private TenantColumnNotNullConstraintProducer tenantColumnNotNullConstraintProducer = new TenantColumnNotNullConstraintProducer();
 
     public List<SQLDefinition> produce(TableKey tableKey, ITableColumns tableColumns, String defaultTenantColumn, String defaultTenantColumnType)
+    {
+        return produce(tableKey, tableColumns, defaultTenantColumn, defaultTenantColumnType, false);
+    }
+
+    /**
+     * @param tableKey table identifier
+     * @param tableColumns table columns
+     * @param defaultTenantColumn default name of the tenant column
+     * @param defaultTenantColumnType type of the tenant column
+     * @param notNullValidatedSeparately if true then instead of the statement that sets the not-null constraint, there is returned
+     *                                   the check constraint "(tenant_column IS NOT NULL)" added with the NOT VALID option
+     *                                   (named "&lt;tenant_column&gt;_not_null").
+     *                                   The validation of this constraint, the statement that sets the not-null constraint and
+     *                                   the statement that drops the check constraint, redundant after that, are
+     *                                   returned by the {@link NotValidConstraintSQLDefinition#getValidationSQLDefinitions()} method.
+     * @return list of sql definitions
+     * @since 0.8
+     */
+    public List<SQLDefinition> produce(TableKey tableKey, ITableColumns tableColumns, String defaultTenantColumn, String defaultTenantColumnType, boolean notNullValidatedSeparately)
     {
         List<SQLDefinition> results = new ArrayList<>();
         String tenantColumn = tableColumns.getTenantColumnName() == null ? defaultTenantColumn : tableColumns.getTenantColumnName();
         results.add(createColumnStatementProducer.produce(new CreateColumnStatementProducerParameters(tableKey.getTable(), tenantColumn, defaultTenantColumnType, tableKey.getSchema())));
-        results.add(setNotNullStatementProducer.produce(new SetNotNullStatementProducerParameters(tableKey.getTable(), tenantColumn, tableKey.getSchema())));
+        SQLDefinition setNotNullDefinition = setNotNullStatementProducer.produce(new SetNotNullStatementProducerParameters(tableKey.getTable(), tenantColumn, tableKey.getSchema()));
+        if (notNullValidatedSeparately) {
+            DefaultTenantColumnNotNullConstraintProducerParameters constraintParameters = DefaultTenantColumnNotNullConstraintProducerParameters.builder()
+                    .withConstraintName(tenantColumn + "_not_null")
+                    .withTableName(tableKey.getTable())
+                    .withTableSchema(tableKey.getSchema())
+                    .withTenantColumnName(tenantColumn)
+                    .build();
+            NotValidConstraintSQLDefinition constraintDefinition = tenantColumnNotNullConstraintProducer.produceNotValid(constraintParameters);
+            List<SQLDefinition> validationDefinitions = new ArrayList<>(constraintDefinition.getValidationSQLDefinitions());
+            validationDefinitions.add(setNotNullDefinition);
+            validationDefinitions.add(tenantColumnNotNullConstraintProducer.produceRedundantConstraintDrop(constraintParameters));
+            results.add(new NotValidConstraintSQLDefinition(constraintDefinition.getCreateScript(), constraintDefinition.getDropScript(), constraintDefinition.getCheckingStatements(), validationDefinitions));
+        } else {
+            results.add(setNotNullDefinition);
+        }
         return results;
     }
 
@@ -51,4 +89,8 @@ public class SingleTenantColumnSQLDefinitionsProducer {
         this.setNotNullStatementProducer = setNotNullStatementProducer;
     }
 
+    public void setTenantColumnNotNullConstraintProducer(TenantColumnNotNullConstraintProducer tenantColumnNotNullConstraintProducer) {
+        this.tenantColumnNotNullConstraintProducer = tenantColumnNotNullConstraintProducer;
+    }
+
 }
@@ -24,32 +24,64 @@
 package com.github.starnowski.posmulten.postgresql.core.context;
 
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
 import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.github.starnowski.posmulten.postgresql.core.rls.DefaultRLSPolicyProducerParameters.builder;
-import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.ALL;
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.*;
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum.PERMISSIVE;
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum.RESTRICTIVE;
 
 public class TableRLSPolicySQLDefinitionsProducer {
 
+    /**
+     * Suffix of the name of the permissive policy that allows access to all rows, created for the restrictive tenant policies.
+     */
+    public static final String BASE_PERMISSIVE_POLICY_NAME_SUFFIX = "_permissive";
+    private static final List<PermissionCommandPolicyEnum> PER_COMMAND_POLICIES = Arrays.asList(SELECT, INSERT, UPDATE, DELETE);
+    private static final TenantHasAuthoritiesFunctionInvocationFactory ALWAYS_TRUE_EXPRESSION_FACTORY = (tenantIdValue, permissionCommandPolicy, rlsExpressionType, table, schema) -> "true";
+
     private RLSPolicyProducer rlsPolicyProducer = new RLSPolicyProducer();
 
     public List<SQLDefinition> produce(ITableRLSPolicySQLDefinitionsProducerParameters parameters)
     {
         List<SQLDefinition> results = new ArrayList<>();
-        SQLDefinition sqlDefinition = rlsPolicyProducer.produce(builder().withPolicyName(parameters.getPolicyName())
+        if (parameters.isPolicyPerCommand()) {
+            PER_COMMAND_POLICIES.forEach(command -> results.add(produceTenantPolicy(parameters, parameters.getPolicyName() + "_" + command.name().toLowerCase(), command)));
+        } else {
+            results.add(produceTenantPolicy(parameters, parameters.getPolicyName(), ALL));
+        }
+        if (RESTRICTIVE.equals(parameters.getPolicyType()) && !parameters.isSkipBasePermissivePolicy()) {
+            results.add(rlsPolicyProducer.produce(builder().withPolicyName(parameters.getPolicyName() + BASE_PERMISSIVE_POLICY_NAME_SUFFIX)
+                    .withPolicySchema(parameters.getTableKey().getSchema())
+                    .withPolicyTable(parameters.getTableKey().getTable())
+                    .withGrantee(parameters.getGrantee())
+                    .withPermissionCommandPolicy(ALL)
+                    .withPolicyType(PERMISSIVE)
+                    .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(ALWAYS_TRUE_EXPRESSION_FACTORY)
+                    .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(ALWAYS_TRUE_EXPRESSION_FACTORY)
+                    .build()));
+        }
+        return results;
+    }
+
+    private SQLDefinition produceTenantPolicy(ITableRLSPolicySQLDefinitionsProducerParameters parameters, String policyName, PermissionCommandPolicyEnum command)
+    {
+        return rlsPolicyProducer.produce(builder().withPolicyName(policyName)
                 .withPolicySchema(parameters.getTableKey().getSchema())
                 .withPolicyTable(parameters.getTableKey().getTable())
                 .withGrantee(parameters.getGrantee())
-                .withPermissionCommandPolicy(ALL)
+                .withPermissionCommandPolicy(command)
+                .withPolicyType(parameters.getPolicyType())
                 .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(parameters.getTenantHasAuthoritiesFunctionInvocationFactory())
                 .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(parameters.getTenantHasAuthoritiesFunctionInvocationFactory())
                 .withTenantIdColumn(parameters.getTenantIdColumn() == null ? parameters.getDefaultTenantIdColumn() : parameters.getTenantIdColumn())
                 .build());
-        results.add(sqlDefinition);
-        return results;
     }
 
     void setRlsPolicyProducer(RLSPolicyProducer rlsPolicyProducer) {
@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum;
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 
 import java.util.Objects;
@@ -37,13 +38,23 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
     private final TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory;
     private final String tenantIdColumn;
     private final String defaultTenantIdColumn;
+    private final boolean policyPerCommand;
+    private final RLSPolicyTypeEnum policyType;
+    private final boolean skipBasePermissivePolicy;
     public TableRLSPolicySQLDefinitionsProducerParameters(String grantee, TableKey tableKey, String policyName, TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory, String tenantIdColumn, String defaultTenantIdColumn) {
+        this(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn, false, null, false);
+    }
+
+    public TableRLSPolicySQLDefinitionsProducerParameters(String grantee, TableKey tableKey, String policyName, TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory, String tenantIdColumn, String defaultTenantIdColumn, boolean policyPerCommand, RLSPolicyTypeEnum policyType, boolean skipBasePermissivePolicy) {
         this.grantee = grantee;
         this.tableKey = tableKey;
         this.policyName = policyName;
         this.tenantHasAuthoritiesFunctionInvocationFactory = tenantHasAuthoritiesFunctionInvocationFactory;
         this.tenantIdColumn = tenantIdColumn;
         this.defaultTenantIdColumn = defaultTenantIdColumn;
+        this.policyPerCommand = policyPerCommand;
+        this.policyType = policyType;
+        this.skipBasePermissivePolicy = skipBasePermissivePolicy;
     }
 
     @Override
@@ -56,12 +67,15 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
                 Objects.equals(policyName, that.policyName) &&
                 Objects.equals(tenantHasAuthoritiesFunctionInvocationFactory, that.tenantHasAuthoritiesFunctionInvocationFactory) &&
                 Objects.equals(tenantIdColumn, that.tenantIdColumn) &&
-                Objects.equals(defaultTenantIdColumn, that.defaultTenantIdColumn);
+                Objects.equals(defaultTenantIdColumn, that.defaultTenantIdColumn) &&
+                policyPerCommand == that.policyPerCommand &&
+                policyType == that.policyType &&
+                skipBasePermissivePolicy == that.skipBasePermissivePolicy;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn);
+        return Objects.hash(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn, policyPerCommand, policyType, skipBasePermissivePolicy);
     }
 
     public String getGrantee() {
@@ -89,6 +103,21 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
         return defaultTenantIdColumn;
     }
 
+    @Override
+    public boolean isPolicyPerCommand() {
+        return policyPerCommand;
+    }
+
+    @Override
+    public RLSPolicyTypeEnum getPolicyType() {
+        return policyType;
+    }
+
+    @Override
+    public boolean isSkipBasePermissivePolicy() {
+        return skipBasePermissivePolicy;
+    }
+
     public static class TableRLSPolicySQLDefinitionsProducerParametersBuilder
     {
         private String grantee;
@@ -97,6 +126,9 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
         private TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory;
         private String tenantIdColumn;
         private String defaultTenantIdColumn;
+        private boolean policyPerCommand;
+        private RLSPolicyTypeEnum policyType;
+        private boolean skipBasePermissivePolicy;
 
         public TableRLSPolicySQLDefinitionsProducerParametersBuilder withGrantee(String grantee) {
             this.grantee = grantee;
@@ -128,9 +160,24 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
             return this;
         }
 
+        public TableRLSPolicySQLDefinitionsProducerParametersBuilder withPolicyPerCommand(boolean policyPerCommand) {
+            this.policyPerCommand = policyPerCommand;
+            return this;
+        }
+
+        public TableRLSPolicySQLDefinitionsProducerParametersBuilder withPolicyType(RLSPolicyTypeEnum policyType) {
+            this.policyType = policyType;
+            return this;
+        }
+
+        public TableRLSPolicySQLDefinitionsProducerParametersBuilder withSkipBasePermissivePolicy(boolean skipBasePermissivePolicy) {
+            this.skipBasePermissivePolicy = skipBasePermissivePolicy;
+            return this;
+        }
+
         public TableRLSPolicySQLDefinitionsProducerParameters build()
         {
-            return new TableRLSPolicySQLDefinitionsProducerParameters(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn);
+            return new TableRLSPolicySQLDefinitionsProducerParameters(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn, policyPerCommand, policyType, skipBasePermissivePolicy);
         }
     }
 }
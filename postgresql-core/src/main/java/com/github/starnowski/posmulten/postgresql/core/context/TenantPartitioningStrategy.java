@@ -0,0 +1,45 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Strategy of the declarative partitioning by the tenant column.
+ * The table has to be declared as a partitioned table by the tenant column with the same strategy,
+ * for example "PARTITION BY HASH (tenant_id)".
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantPartitionSQLDefinitionsEnricher
+ * @since 0.8
+ */
+public enum TenantPartitioningStrategy {
+
+    /**
+     * Partitions are created for each remainder of the modulus, the tenants are distributed between partitions by the hash value
+     * of the tenant column.
+     */
+    HASH,
+    /**
+     * Partitions are created for the explicit groups of tenant identifiers.
+     */
+    LIST
+}
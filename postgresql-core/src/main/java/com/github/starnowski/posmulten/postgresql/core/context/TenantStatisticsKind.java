@@ -0,0 +1,57 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Kind of the extended statistics created on the tenant column and columns correlated with it.
+ *
+ * @see <a href="https://www.postgresql.org/docs/12/sql-createstatistics.html">Postgres, create statistics</a>
+ * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantStatisticsSQLDefinitionsEnricher
+ * @since 0.8
+ */
+public enum TenantStatisticsKind {
+
+    /**
+     * Statistics of the number of distinct values for combinations of columns.
+     */
+    NDISTINCT("ndistinct"),
+    /**
+     * Statistics of functional dependencies between columns.
+     */
+    DEPENDENCIES("dependencies"),
+    /**
+     * Most common values list for combinations of columns. Supported by Postgres 12 and newer.
+     */
+    MCV("mcv");
+
+    private final String keyword;
+
+    TenantStatisticsKind(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+}
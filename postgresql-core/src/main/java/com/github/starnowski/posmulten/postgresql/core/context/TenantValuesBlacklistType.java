@@ -0,0 +1,53 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Type of the function that checks if the tenant identifier is not on the list of invalid tenant identifiers.
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantValidFunctionInvocationFactoryEnricher
+ * @since 0.8
+ */
+public enum TenantValuesBlacklistType {
+
+    /**
+     * Function compares the tenant identifier with each invalid value ("$1 &lt;&gt; CAST ('x' AS type) AND ...").
+     * This is the default type.
+     */
+    CONSTANT_VALUES,
+    /**
+     * Function checks the tenant identifier against the sorted constant array of invalid values ("$1 &lt;&gt; ALL (array)").
+     * The function body has the same size for each invalid value, and the array is parsed once when the function is inlined.
+     */
+    CONSTANT_ARRAY,
+    /**
+     * Invalid values are stored in the dedicated table with the primary key on the tenant identifier column
+     * and the function checks if the tenant identifier does not exist in this table.
+     * The list of invalid values can be extended without recreation of the function.
+     * Note that the check constraint which invokes this function reads another table, which is not supported by Postgres:
+     * the constraint is checked only when a row is inserted or updated, so the existing rows are not checked again
+     * when a new invalid value is added to the table.
+     */
+    LOOKUP_TABLE
+}
@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context.decorator;
 
+import com.github.starnowski.posmulten.postgresql.core.ITenantSubscriptionStatementFactory;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue;
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
@@ -56,6 +57,11 @@ public abstract class AbstractSharedSchemaContextDecorator extends DefaultDecora
         this.value.addSQLDefinition(sqlDefinition);
     }
 
+    @Override
+    public void setSqlDefinitions(List<SQLDefinition> sqlDefinitions) {
+        this.value.setSqlDefinitions(sqlDefinitions);
+    }
+
     @Override
     public TenantHasAuthoritiesFunctionInvocationFactory getTenantHasAuthoritiesFunctionInvocationFactory() {
         return new DefaultTenantHasAuthoritiesFunctionInvocationFactoryDecorator(this.value.getTenantHasAuthoritiesFunctionInvocationFactory());
@@ -96,12 +102,40 @@ public abstract class AbstractSharedSchemaContextDecorator extends DefaultDecora
         this.value.setISetCurrentTenantIdFunctionPreparedStatementInvocationFactory(factory);
     }
 
+    @Override
+    public ISetCurrentTenantIdFunctionInvocationFactory getISetLocalCurrentTenantIdFunctionInvocationFactory() {
+        ISetCurrentTenantIdFunctionInvocationFactory factory = this.value.getISetLocalCurrentTenantIdFunctionInvocationFactory();
+        return factory == null ? null : new DefaultSetCurrentTenantIdFunctionInvocationFactoryDecorator(factory);
+    }
+
+    @Override
+    public void setISetLocalCurrentTenantIdFunctionInvocationFactory(ISetCurrentTenantIdFunctionInvocationFactory factory) {
+        this.value.setISetLocalCurrentTenantIdFunctionInvocationFactory(factory);
+    }
+
+    @Override
+    public ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory() {
+        ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory factory = this.value.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory();
+        return factory == null ? null : new DefaultSetCurrentTenantIdFunctionPreparedStatementInvocationFactoryDecorator(factory);
+    }
+
+    @Override
+    public void setISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory factory) {
+        this.value.setISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory(factory);
+    }
+
     @Override
     public Map<TableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory> getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap() {
         return this.value.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().entrySet().stream()
                 .collect(Collectors.toMap(entry -> entry.getKey(), entry -> new DefaultIsRecordBelongsToCurrentTenantFunctionInvocationFactoryDecorator(entry.getValue())));
     }
 
+    @Override
+    public Map<String, ITenantSubscriptionStatementFactory> getPublicationNamesTenantSubscriptionStatementFactoryMap() {
+        return this.value.getPublicationNamesTenantSubscriptionStatementFactoryMap().entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey(), entry -> new DefaultTenantSubscriptionStatementFactoryDecorator(entry.getValue())));
+    }
+
     @Override
     public IIsTenantValidFunctionInvocationFactory getIIsTenantValidFunctionInvocationFactory() {
         return new DefaultIsTenantValidFunctionInvocationFactoryDecorator(this.value.getIIsTenantValidFunctionInvocationFactory());
@@ -136,6 +170,18 @@ public abstract class AbstractSharedSchemaContextDecorator extends DefaultDecora
         }
     }
 
+    class DefaultTenantSubscriptionStatementFactoryDecorator extends DefaultDecorator<ITenantSubscriptionStatementFactory> implements ITenantSubscriptionStatementFactory {
+
+        DefaultTenantSubscriptionStatementFactoryDecorator(ITenantSubscriptionStatementFactory value) {
+            super(value);
+        }
+
+        @Override
+        public String generateCreateSubscriptionStatement(String subscriptionName, String connectionInfo) {
+            return convert(value.generateCreateSubscriptionStatement(subscriptionName, connectionInfo));
+        }
+    }
+
     class DefaultSQLDefinitionDecorator extends DefaultDecorator<SQLDefinition> implements SQLDefinition {
 
         DefaultSQLDefinitionDecorator(SQLDefinition value) {
@@ -0,0 +1,180 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher merges the ALTER TABLE statements generated for the same table into a single statement with multiple actions,
+ * for example "ALTER TABLE t ADD COLUMN ..., ALTER COLUMN ... SET NOT NULL, ENABLE ROW LEVEL SECURITY",
+ * when the {@link SharedSchemaContextRequest#isCoalesceAlterTableStatements()} returns true.
+ * Postgres acquires the table lock once for such statement and validates all added constraints during a single table scan.
+ * Only statements that contain actions which can be combined (adding, altering and dropping of column or constraint, enabling, disabling and forcing of row level security)
+ * and that do not reference other tables are merged. Statements are merged only within a sequence of such statements that is not interrupted by other sql definitions,
+ * so the order of statements for the same table and the order in relation to other sql definitions (functions, policies, indexes) is preserved.
+ * The merged sql definition contains checking statements of all merged definitions and the drop script with the drop actions in reverse order.
+ * The statement that drops a constraint is never merged with the statement that sets the not-null constraint,
+ * because Postgres executes the drop actions before other actions. The not-null constraint set after the validation of
+ * the "(tenant_column IS NOT NULL)" check constraint (see {@link ConstraintValidationSQLDefinitionsEnricher}) would be set
+ * without that check constraint and would require the full table scan.
+ *
+ * @since 0.8
+ */
+public class AlterTableStatementsCoalescingEnricher implements ISharedSchemaContextEnricher {
+
+    private static final String IDENTIFIER = "(?:\"(?:[^\"]|\"\")+\"|[\\w$]+)";
+    private static final Pattern ALTER_TABLE_PATTERN = Pattern.compile("^\\s*ALTER\\s+TABLE\\s+(" + IDENTIFIER + "(?:\\s*\\.\\s*" + IDENTIFIER + ")?)\\s+(.+?)\\s*;?\\s*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern MERGEABLE_ACTION_PATTERN = Pattern.compile("^(?:ADD\\s+COLUMN|ADD\\s+CONSTRAINT|ALTER\\s+COLUMN|DROP\\s+COLUMN|DROP\\s+CONSTRAINT|(?:ENABLE|DISABLE|FORCE|NO\\s+FORCE)\\s+ROW\\s+LEVEL\\s+SECURITY)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern REFERENCES_PATTERN = Pattern.compile("\\bREFERENCES\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SET_NOT_NULL_PATTERN = Pattern.compile("\\bSET\\s+NOT\\s+NULL\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_CONSTRAINT_PATTERN = Pattern.compile("^DROP\\s+CONSTRAINT\\b", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
+        if (request.isCoalesceAlterTableStatements()) {
+            context.setSqlDefinitions(coalesce(context.getSqlDefinitions()));
+        }
+        return context;
+    }
+
+    List<SQLDefinition> coalesce(List<SQLDefinition> sqlDefinitions) {
+        List<SQLDefinition> results = new ArrayList<>();
+        List<AlterTableStatement> sequence = new ArrayList<>();
+        for (SQLDefinition sqlDefinition : sqlDefinitions) {
+            AlterTableStatement statement = parse(sqlDefinition.getCreateScript());
+            if (statement == null) {
+                flush(sequence, results);
+                results.add(sqlDefinition);
+            } else {
+                sequence.add(statement.withDefinition(sqlDefinition));
+            }
+        }
+        flush(sequence, results);
+        return results;
+    }
+
+    private void flush(List<AlterTableStatement> sequence, List<SQLDefinition> results) {
+        Map<String, List<List<AlterTableStatement>>> tablesStatements = new LinkedHashMap<>();
+        for (AlterTableStatement statement : sequence) {
+            List<List<AlterTableStatement>> tableStatements = tablesStatements.computeIfAbsent(statement.tableKey, key -> new ArrayList<>());
+            if (tableStatements.isEmpty() || !canBeMerged(tableStatements.get(tableStatements.size() - 1), statement)) {
+                tableStatements.add(new ArrayList<>());
+            }
+            tableStatements.get(tableStatements.size() - 1).add(statement);
+        }
+        for (List<List<AlterTableStatement>> tableStatements : tablesStatements.values()) {
+            for (List<AlterTableStatement> statements : tableStatements) {
+                results.add(statements.size() == 1 ? statements.get(0).definition : merge(statements));
+            }
+        }
+        sequence.clear();
+    }
+
+    private boolean canBeMerged(List<AlterTableStatement> statements, AlterTableStatement statement) {
+        boolean setsNotNull = statements.stream().anyMatch(AlterTableStatement::setsNotNull) || statement.setsNotNull();
+        boolean dropsConstraint = statements.stream().anyMatch(AlterTableStatement::dropsConstraint) || statement.dropsConstraint();
+        return !(setsNotNull && dropsConstraint);
+    }
+
+    private SQLDefinition merge(List<AlterTableStatement> statements) {
+        String table = statements.get(0).table;
+        String createScript = "ALTER TABLE " + table + " " + statements.stream().map(statement -> statement.actions).collect(joining(", ")) + ";";
+        List<String> dropScripts = statements.stream().map(statement -> statement.definition.getDropScript()).collect(toList());
+        Collections.reverse(dropScripts);
+        List<AlterTableStatement> dropStatements = dropScripts.stream().map(this::parse).collect(toList());
+        String dropScript;
+        if (dropStatements.stream().allMatch(statement -> statement != null && statement.tableKey.equals(statements.get(0).tableKey))) {
+            dropScript = "ALTER TABLE " + table + " " + dropStatements.stream().map(statement -> statement.actions).collect(joining(", ")) + ";";
+        } else {
+            dropScript = String.join("\n", dropScripts);
+        }
+        List<String> checkingStatements = statements.stream().flatMap(statement -> statement.definition.getCheckingStatements().stream()).collect(toList());
+        return new DefaultSQLDefinition(createScript, dropScript, checkingStatements);
+    }
+
+    AlterTableStatement parse(String script) {
+        if (script == null) {
+            return null;
+        }
+        Matcher matcher = ALTER_TABLE_PATTERN.matcher(script);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String actions = matcher.group(2);
+        if (actions.contains(";") || !MERGEABLE_ACTION_PATTERN.matcher(actions).find() || REFERENCES_PATTERN.matcher(actions).find()) {
+            return null;
+        }
+        return new AlterTableStatement(matcher.group(1), resolveTableKey(matcher.group(1)), actions, null);
+    }
+
+    private String resolveTableKey(String table) {
+        return Arrays.stream(table.split("\\s*\\.\\s*(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)"))
+                .map(part -> part.startsWith("\"") ? part.substring(1, part.length() - 1).replace("\"\"", "\"") : part.toLowerCase(Locale.ROOT))
+                .collect(joining("."));
+    }
+
+    static class AlterTableStatement {
+        private final String table;
+        private final String tableKey;
+        private final String actions;
+        private final SQLDefinition definition;
+
+        AlterTableStatement(String table, String tableKey, String actions, SQLDefinition definition) {
+            this.table = table;
+            this.tableKey = tableKey;
+            this.actions = actions;
+            this.definition = definition;
+        }
+
+        AlterTableStatement withDefinition(SQLDefinition definition) {
+            return new AlterTableStatement(table, tableKey, actions, definition);
+        }
+
+        String getTableKey() {
+            return tableKey;
+        }
+
+        String getActions() {
+            return actions;
+        }
+
+        boolean setsNotNull() {
+            return SET_NOT_NULL_PATTERN.matcher(actions).find();
+        }
+
+        boolean dropsConstraint() {
+            return DROP_CONSTRAINT_PATTERN.matcher(actions).find();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.GrantSchemaPrivilegesProducer;
+import com.github.starnowski.posmulten.postgresql.core.GrantSequencePrivilegesProducer;
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer;
+import com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.rls.BypassRowLevelSecurityProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.DefaultRLSPolicyProducerParameters.builder;
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.ALL;
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum.PERMISSIVE;
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+
+/**
+ * Enricher creates the SQL definitions for the batch grantee, the tenant-agnostic role used by the bulk and cross-tenant workloads,
+ * when the {@link SharedSchemaContextRequest#getBatchGrantee()} is not null.
+ * The batch grantee gets the USAGE privilege to the schema, the privileges to all tables with the row level security policy
+ * and to the sequences from the {@link SharedSchemaContextRequest#getBatchGranteeSequences()} list.
+ * Based on the {@link SharedSchemaContextRequest#getBatchGranteeAccessType()}, the role gets the BYPASSRLS attribute or for each table
+ * the permissive policy with the "true" expression, scoped only to the batch grantee, is created.
+ * The policies of the {@link SharedSchemaContextRequest#getGrantee()} are not changed, so the application connections stay isolated.
+ *
+ * @since 0.8
+ */
+public class BatchGranteeSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    /**
+     * Suffix of the name of the permissive policy created for the batch grantee.
+     */
+    public static final String BATCH_POLICY_NAME_SUFFIX = "_batch";
+    public static final List<String> DEFAULT_BATCH_GRANTEE_TABLE_PRIVILEGES = Arrays.asList("SELECT", "INSERT", "UPDATE", "DELETE");
+    private static final TenantHasAuthoritiesFunctionInvocationFactory ALWAYS_TRUE_EXPRESSION_FACTORY = (tenantIdValue, permissionCommandPolicy, rlsExpressionType, table, schema) -> "true";
+
+    private final GrantSchemaPrivilegesProducer grantSchemaPrivilegesProducer;
+    private final GrantTablePrivilegesProducer grantTablePrivilegesProducer;
+    private final GrantSequencePrivilegesProducer grantSequencePrivilegesProducer;
+    private final BypassRowLevelSecurityProducer bypassRowLevelSecurityProducer;
+    private final RLSPolicyProducer rlsPolicyProducer;
+
+    public BatchGranteeSQLDefinitionsEnricher() {
+        this(new GrantSchemaPrivilegesProducer(), new GrantTablePrivilegesProducer(), new GrantSequencePrivilegesProducer(), new BypassRowLevelSecurityProducer(), new RLSPolicyProducer());
+    }
+
+    public BatchGranteeSQLDefinitionsEnricher(GrantSchemaPrivilegesProducer grantSchemaPrivilegesProducer, GrantTablePrivilegesProducer grantTablePrivilegesProducer, GrantSequencePrivilegesProducer grantSequencePrivilegesProducer, BypassRowLevelSecurityProducer bypassRowLevelSecurityProducer, RLSPolicyProducer rlsPolicyProducer) {
+        this.grantSchemaPrivilegesProducer = grantSchemaPrivilegesProducer;
+        this.grantTablePrivilegesProducer = grantTablePrivilegesProducer;
+        this.grantSequencePrivilegesProducer = grantSequencePrivilegesProducer;
+        this.bypassRowLevelSecurityProducer = bypassRowLevelSecurityProducer;
+        this.rlsPolicyProducer = rlsPolicyProducer;
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        String batchGrantee = request.getBatchGrantee();
+        if (batchGrantee == null) {
+            return context;
+        }
+        if (batchGrantee.equals(request.getGrantee())) {
+            throw new InvalidSharedSchemaContextRequestException(format("The batch grantee %1$s cannot be the same as the grantee for which the row level security policies are created", batchGrantee));
+        }
+        BatchGranteeAccessType accessType = request.getBatchGranteeAccessType() == null ? BatchGranteeAccessType.BYPASS_RLS : request.getBatchGranteeAccessType();
+        List<String> tablePrivileges = request.getBatchGranteeTablePrivileges() == null || request.getBatchGranteeTablePrivileges().isEmpty() ? DEFAULT_BATCH_GRANTEE_TABLE_PRIVILEGES : request.getBatchGranteeTablePrivileges();
+        if (BatchGranteeAccessType.BYPASS_RLS.equals(accessType)) {
+            context.addSQLDefinition(bypassRowLevelSecurityProducer.produce(batchGrantee));
+        }
+        String schema = request.getDefaultSchema() == null ? "public" : request.getDefaultSchema();
+        context.addSQLDefinition(grantSchemaPrivilegesProducer.produce(schema, batchGrantee, singletonList("USAGE")));
+        for (TableKey tableKey : request.getTableColumnsList().keySet()) {
+            context.addSQLDefinition(grantTablePrivilegesProducer.produce(tableKey.getSchema(), tableKey.getTable(), batchGrantee, tablePrivileges));
+            if (BatchGranteeAccessType.PERMISSIVE_POLICY.equals(accessType)) {
+                context.addSQLDefinition(rlsPolicyProducer.produce(builder().withPolicyName(request.getTableRLSPolicies().get(tableKey).getPolicyName() + BATCH_POLICY_NAME_SUFFIX)
+                        .withPolicySchema(tableKey.getSchema())
+                        .withPolicyTable(tableKey.getTable())
+                        .withGrantee(batchGrantee)
+                        .withPermissionCommandPolicy(ALL)
+                        .withPolicyType(PERMISSIVE)
+                        .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(ALWAYS_TRUE_EXPRESSION_FACTORY)
+                        .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(ALWAYS_TRUE_EXPRESSION_FACTORY)
+                        .build()));
+            }
+        }
+        if (request.getBatchGranteeSequences() != null) {
+            request.getBatchGranteeSequences().forEach(sequence -> context.addSQLDefinition(grantSequencePrivilegesProducer.produce(schema, sequence, batchGrantee)));
+        }
+        return context;
+    }
+}
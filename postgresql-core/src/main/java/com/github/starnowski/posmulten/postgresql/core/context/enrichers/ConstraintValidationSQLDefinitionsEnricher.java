@@ -0,0 +1,58 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enricher adds the sql definitions that validate constraints added with the NOT VALID option
+ * (see {@link NotValidConstraintSQLDefinition#getValidationSQLDefinitions()}).
+ * The definitions are added at the end of the list, after all other definitions, so the VALIDATE CONSTRAINT statements
+ * which scan existing rows do not block writes to the table (they require only the SHARE UPDATE EXCLUSIVE lock).
+ * The enricher does nothing when the {@link SharedSchemaContextRequest#isValidateConstraintsSeparately()} returns false.
+ *
+ * @since 0.8
+ */
+public class ConstraintValidationSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
+        if (request.isValidateConstraintsSeparately()) {
+            List<SQLDefinition> validationDefinitions = new ArrayList<>();
+            for (SQLDefinition sqlDefinition : context.getSqlDefinitions()) {
+                if (sqlDefinition instanceof NotValidConstraintSQLDefinition) {
+                    validationDefinitions.addAll(((NotValidConstraintSQLDefinition) sqlDefinition).getValidationSQLDefinitions());
+                }
+            }
+            validationDefinitions.forEach(context::addSQLDefinition);
+        }
+        return context;
+    }
+}
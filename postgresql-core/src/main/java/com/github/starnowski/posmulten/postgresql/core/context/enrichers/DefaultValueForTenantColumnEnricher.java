@@ -31,9 +31,13 @@ import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
 
 import java.util.List;
 
-import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Enricher sets the current tenant identifier as the default value of the tenant column.
+ * For tables registered in the {@link SharedSchemaContextRequest#getTenantColumnBackfillProperties()} map the default value is
+ * set by {@link TenantColumnBackfillSQLDefinitionsEnricher} before the tenant column values for existing rows are set.
+ */
 public class DefaultValueForTenantColumnEnricher implements ISharedSchemaContextEnricher {
 
     private final SetDefaultStatementProducer producer;
@@ -48,12 +52,10 @@ public class DefaultValueForTenantColumnEnricher implements ISharedSchemaContext
 
     @Override
     public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
-        List<TableKey> tableKeys = emptyList();
-        if (request.isCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables()) {
-            tableKeys = request.getTableColumnsList().entrySet().stream().filter(entry -> !request.getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped().contains(entry.getKey())).map(entry -> entry.getKey()).collect(toList());
-        } else if (!request.getCreateTenantColumnTableLists().isEmpty()) {
-            tableKeys = request.getTableColumnsList().entrySet().stream().filter(entry -> request.getCreateTenantColumnTableLists().contains(entry.getKey())).filter(entry -> !request.getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped().contains(entry.getKey())).map(entry -> entry.getKey()).collect(toList());
-        }
+        List<TableKey> tableKeys = request.getTableColumnsList().keySet().stream()
+                .filter(request::isCurrentTenantIdentifierAsDefaultValueForTenantColumn)
+                .filter(tableKey -> !request.getTenantColumnBackfillProperties().containsKey(tableKey))
+                .collect(toList());
         if (!tableKeys.isEmpty()) {
             String defaultTenantColumnValue = context.getIGetCurrentTenantIdFunctionInvocationFactory().returnGetCurrentTenantIdFunctionInvocation();
             tableKeys.forEach(tableKey -> context.addSQLDefinition(producer.produce(new SetDefaultStatementProducerParameters(tableKey.getTable(), request.resolveTenantColumnByTableKey(tableKey), defaultTenantColumnValue, tableKey.getSchema()))));
@@ -29,6 +29,13 @@ import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTe
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionProducer;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionProducerParameters;
 
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.GET_CURRENT_TENANT_ID;
+
+/**
+ * Enricher creates the function that returns the current tenant identifier.
+ * When the {@link SharedSchemaContextRequest#getGetCurrentTenantIdMissingOkFunctionName()} is not null then an additional function
+ * that returns null when the current tenant identifier is not set is created.
+ */
 public class GetCurrentTenantIdFunctionDefinitionEnricher implements ISharedSchemaContextEnricher {
 
     private final GetCurrentTenantIdFunctionProducer getCurrentTenantIdFunctionProducer;
@@ -44,9 +51,12 @@ public class GetCurrentTenantIdFunctionDefinitionEnricher implements ISharedSche
     @Override
     public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
         String functionName = request.getGetCurrentTenantIdFunctionName() == null ? "get_current_tenant_id" : request.getGetCurrentTenantIdFunctionName();
-        GetCurrentTenantIdFunctionDefinition sqlDefinition = getCurrentTenantIdFunctionProducer.produce(new GetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType()));
+        GetCurrentTenantIdFunctionDefinition sqlDefinition = getCurrentTenantIdFunctionProducer.produce(new GetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), request.getFunctionMetadataOptions().get(GET_CURRENT_TENANT_ID)));
         context.addSQLDefinition(sqlDefinition);
         context.setIGetCurrentTenantIdFunctionInvocationFactory(sqlDefinition);
+        if (request.getGetCurrentTenantIdMissingOkFunctionName() != null) {
+            context.addSQLDefinition(getCurrentTenantIdFunctionProducer.produce(new GetCurrentTenantIdFunctionProducerParameters(request.getGetCurrentTenantIdMissingOkFunctionName(), request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), request.getFunctionMetadataOptions().get(GET_CURRENT_TENANT_ID), true)));
+        }
         return context;
     }
 
@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.context.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingConstraintNameDeclarationForTableException;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingIsRecordBelongsToCurrentTenantFunctionInvocationFactoryException;
@@ -31,6 +32,7 @@ import com.github.starnowski.posmulten.postgresql.core.util.Pair;
 
 import java.util.List;
 
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.CHECK_CONSTRAINT_WITH_FUNCTION;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
@@ -49,7 +51,7 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher impl
 
     @Override
     public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingConstraintNameDeclarationForTableException, MissingIsRecordBelongsToCurrentTenantFunctionInvocationFactoryException {
-        List<Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>> constrainsRequests = request.getSameTenantConstraintForForeignKeyProperties().entrySet().stream().map(entry -> new Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>(entry.getKey(), entry.getValue())).collect(toList());
+        List<Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>> constrainsRequests = request.getSameTenantConstraintForForeignKeyProperties().entrySet().stream().filter(entry -> CHECK_CONSTRAINT_WITH_FUNCTION.equals(request.resolveSameTenantConstraintForForeignKeyType(entry.getValue()))).map(entry -> new Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>(entry.getKey(), entry.getValue())).collect(toList());
         for (Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> constraintRequest : constrainsRequests)
         {
             SameTenantConstraintForForeignKey key = constraintRequest.getKey();
@@ -75,7 +77,10 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher impl
                     .withIsRecordBelongsToCurrentTenantFunctionInvocationFactory(isRecordBelongsToCurrentTenantFunctionInvocationFactory)
                     .withForeignKeyPrimaryKeyMappings(requestProperties.getForeignKeyPrimaryKeyColumnsMappings())
                     .build();
-            isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(parameters).forEach(sqlDefinition -> context.addSQLDefinition(sqlDefinition));
+            List<SQLDefinition> definitions = request.isValidateConstraintsSeparately()
+                    ? isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(parameters, true)
+                    : isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(parameters);
+            definitions.forEach(sqlDefinition -> context.addSQLDefinition(sqlDefinition));
         }
         return context;
     }
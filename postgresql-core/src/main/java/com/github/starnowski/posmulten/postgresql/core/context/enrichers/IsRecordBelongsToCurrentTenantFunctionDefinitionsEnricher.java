@@ -23,12 +23,17 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.context.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingFunctionNameDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory;
 
 import java.util.List;
 
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.IS_RECORD_BELONGS_TO_CURRENT_TENANT;
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.CHECK_CONSTRAINT_WITH_FUNCTION;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
@@ -46,7 +51,9 @@ public class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher implement
 
     @Override
     public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingFunctionNameDeclarationForTableException {
-        List<TableKey> tableRequiredFunction = request.getSameTenantConstraintForForeignKeyProperties().keySet().stream().map(constraintKey -> constraintKey.getForeignKeyTable()).distinct().collect(toList());
+        List<TableKey> tableRequiredFunction = request.getSameTenantConstraintForForeignKeyProperties().entrySet().stream().filter(entry -> CHECK_CONSTRAINT_WITH_FUNCTION.equals(request.resolveSameTenantConstraintForForeignKeyType(entry.getValue()))).map(entry -> entry.getKey().getForeignKeyTable()).distinct().collect(toList());
+        IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory = request.isWrapCurrentTenantIdentifierInSubquery() ? new SubqueryGetCurrentTenantIdFunctionInvocationFactory(context.getIGetCurrentTenantIdFunctionInvocationFactory()) : context.getIGetCurrentTenantIdFunctionInvocationFactory();
+        FunctionMetadataOptions functionMetadataOptions = request.getFunctionMetadataOptions().get(IS_RECORD_BELONGS_TO_CURRENT_TENANT);
         for (TableKey tableKey : tableRequiredFunction) {
             String functionName = request.getFunctionThatChecksIfRecordExistsInTableNames().get(tableKey);
             if (functionName == null) {
@@ -54,7 +61,9 @@ public class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher implement
             }
             ITableColumns tableProperties = request.getTableColumnsList().get(tableKey);
             String tenantColumn = request.resolveTenantColumnByTableKey(tableKey);
-            IsRecordBelongsToCurrentTenantFunctionDefinition functionDefinition = isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(tableKey, tenantColumn, tableProperties.getIdentityColumnNameAndTypeMap(), context.getIGetCurrentTenantIdFunctionInvocationFactory(), functionName, tableKey.getSchema());
+            IsRecordBelongsToCurrentTenantFunctionDefinition functionDefinition = functionMetadataOptions == null
+                    ? isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(tableKey, tenantColumn, tableProperties.getIdentityColumnNameAndTypeMap(), getCurrentTenantIdFunctionInvocationFactory, functionName, tableKey.getSchema())
+                    : isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(tableKey, tenantColumn, tableProperties.getIdentityColumnNameAndTypeMap(), getCurrentTenantIdFunctionInvocationFactory, functionName, tableKey.getSchema(), functionMetadataOptions);
             context.addSQLDefinition(functionDefinition);
             context.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().put(tableKey, functionDefinition);
         }
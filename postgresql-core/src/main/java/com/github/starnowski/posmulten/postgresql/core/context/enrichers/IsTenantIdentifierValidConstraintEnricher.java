@@ -28,6 +28,7 @@ import com.github.starnowski.posmulten.postgresql.core.context.ITableColumns;
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.rls.IIsTenantIdentifierValidConstraintProducerParameters;
 import com.github.starnowski.posmulten.postgresql.core.rls.IsTenantIdentifierValidConstraintProducer;
 
 import java.util.Map;
@@ -53,12 +54,13 @@ public class IsTenantIdentifierValidConstraintEnricher implements ISharedSchemaC
             for (Map.Entry<TableKey, ITableColumns> entry : request.getTableColumnsList().entrySet()) {
                 String constraintName = request.getTenantValidConstraintCustomNamePerTables().getOrDefault(entry.getKey(), defaultConstraintName);
                 String tenantColumnName = request.resolveTenantColumnByTableKey(entry.getKey());
-                context.addSQLDefinition(producer.produce(builder()
+                IIsTenantIdentifierValidConstraintProducerParameters parameters = builder()
                         .withConstraintName(constraintName)
                         .withTableName(entry.getKey().getTable())
                         .withTableSchema(entry.getKey().getSchema())
                         .withIIsTenantValidFunctionInvocationFactory(context.getIIsTenantValidFunctionInvocationFactory())
-                        .withTenantColumnName(tenantColumnName).build()));
+                        .withTenantColumnName(tenantColumnName).build();
+                context.addSQLDefinition(request.isValidateConstraintsSeparately() ? producer.produceNotValid(parameters) : producer.produce(parameters));
             }
         }
         return context;
@@ -23,25 +23,46 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantValuesBlacklistTableProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantValuesBlacklistTableProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
-import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionDefinition;
-import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionProducer;
-import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
 import java.util.HashSet;
 
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.IS_TENANT_VALID;
+import static java.util.Collections.singletonList;
+
 public class IsTenantValidFunctionInvocationFactoryEnricher implements ISharedSchemaContextEnricher {
 
+    public static final String DEFAULT_TENANT_VALUES_BLACKLIST_TABLE_NAME = "tenant_values_blacklist";
+    public static final String TENANT_VALUES_BLACKLIST_TABLE_COLUMN = "tenant_id";
+
     private final IsTenantValidBasedOnConstantValuesFunctionProducer isTenantIdentifierValidConstraintProducer;
+    private final IsTenantValidBasedOnConstantArrayFunctionProducer isTenantValidBasedOnConstantArrayFunctionProducer;
+    private final IsTenantValidBasedOnLookupTableFunctionProducer isTenantValidBasedOnLookupTableFunctionProducer;
+    private final TenantValuesBlacklistTableProducer tenantValuesBlacklistTableProducer;
+    private final GrantTablePrivilegesProducer grantTablePrivilegesProducer;
 
     public IsTenantValidFunctionInvocationFactoryEnricher() {
         this(new IsTenantValidBasedOnConstantValuesFunctionProducer());
     }
 
     public IsTenantValidFunctionInvocationFactoryEnricher(IsTenantValidBasedOnConstantValuesFunctionProducer isTenantIdentifierValidConstraintProducer) {
+        this(isTenantIdentifierValidConstraintProducer, new IsTenantValidBasedOnConstantArrayFunctionProducer(), new IsTenantValidBasedOnLookupTableFunctionProducer(), new TenantValuesBlacklistTableProducer(), new GrantTablePrivilegesProducer());
+    }
+
+    public IsTenantValidFunctionInvocationFactoryEnricher(IsTenantValidBasedOnConstantValuesFunctionProducer isTenantIdentifierValidConstraintProducer, IsTenantValidBasedOnConstantArrayFunctionProducer isTenantValidBasedOnConstantArrayFunctionProducer, IsTenantValidBasedOnLookupTableFunctionProducer isTenantValidBasedOnLookupTableFunctionProducer, TenantValuesBlacklistTableProducer tenantValuesBlacklistTableProducer, GrantTablePrivilegesProducer grantTablePrivilegesProducer) {
         this.isTenantIdentifierValidConstraintProducer = isTenantIdentifierValidConstraintProducer;
+        this.isTenantValidBasedOnConstantArrayFunctionProducer = isTenantValidBasedOnConstantArrayFunctionProducer;
+        this.isTenantValidBasedOnLookupTableFunctionProducer = isTenantValidBasedOnLookupTableFunctionProducer;
+        this.tenantValuesBlacklistTableProducer = tenantValuesBlacklistTableProducer;
+        this.grantTablePrivilegesProducer = grantTablePrivilegesProducer;
     }
 
     @Override
@@ -50,9 +71,44 @@ public class IsTenantValidFunctionInvocationFactoryEnricher implements ISharedSc
         {
             String requestFunctionName = request.getIsTenantValidFunctionName();
             String testFunctionName = requestFunctionName == null || requestFunctionName.trim().isEmpty() ? "is_tenant_identifier_valid" : requestFunctionName;
-            IsTenantValidBasedOnConstantValuesFunctionDefinition sqlFunctionDefinition = isTenantIdentifierValidConstraintProducer.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, request.getDefaultSchema(), new HashSet<String>(request.getTenantValuesBlacklist()), request.getCurrentTenantIdPropertyType()));
-            context.addSQLDefinition(sqlFunctionDefinition);
-            context.setIIsTenantValidFunctionInvocationFactory(sqlFunctionDefinition);
+            FunctionMetadataOptions functionMetadataOptions = request.getFunctionMetadataOptions().get(IS_TENANT_VALID);
+            TenantValuesBlacklistType blacklistType = request.getTenantValuesBlacklistType() == null ? TenantValuesBlacklistType.CONSTANT_VALUES : request.getTenantValuesBlacklistType();
+            switch (blacklistType) {
+                case CONSTANT_ARRAY:
+                    IsTenantValidBasedOnConstantValuesFunctionDefinition arrayFunctionDefinition = isTenantValidBasedOnConstantArrayFunctionProducer.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, request.getDefaultSchema(), new HashSet<String>(request.getTenantValuesBlacklist()), request.getCurrentTenantIdPropertyType(), functionMetadataOptions));
+                    context.addSQLDefinition(arrayFunctionDefinition);
+                    context.setIIsTenantValidFunctionInvocationFactory(arrayFunctionDefinition);
+                    break;
+                case LOOKUP_TABLE:
+                    String requestTableName = request.getTenantValuesBlacklistTableName();
+                    String tableName = requestTableName == null || requestTableName.trim().isEmpty() ? DEFAULT_TENANT_VALUES_BLACKLIST_TABLE_NAME : requestTableName;
+                    tenantValuesBlacklistTableProducer.produce(TenantValuesBlacklistTableProducerParameters.builder()
+                            .withTable(tableName)
+                            .withSchema(request.getDefaultSchema())
+                            .withColumn(TENANT_VALUES_BLACKLIST_TABLE_COLUMN)
+                            .withColumnType(request.getCurrentTenantIdPropertyType())
+                            .withValues(new HashSet<String>(request.getTenantValuesBlacklist()))
+                            .build()).forEach(context::addSQLDefinition);
+                    if (request.getGrantee() != null) {
+                        context.addSQLDefinition(grantTablePrivilegesProducer.produce(request.getDefaultSchema(), tableName, request.getGrantee(), singletonList("SELECT")));
+                    }
+                    IsTenantValidBasedOnLookupTableFunctionDefinition lookupTableFunctionDefinition = isTenantValidBasedOnLookupTableFunctionProducer.produce(IsTenantValidBasedOnLookupTableFunctionProducerParameters.builder()
+                            .withFunctionName(testFunctionName)
+                            .withSchema(request.getDefaultSchema())
+                            .withArgumentType(request.getCurrentTenantIdPropertyType())
+                            .withLookupTableName(tableName)
+                            .withLookupTableSchema(request.getDefaultSchema())
+                            .withLookupTableColumn(TENANT_VALUES_BLACKLIST_TABLE_COLUMN)
+                            .withFunctionMetadataOptions(functionMetadataOptions)
+                            .build());
+                    context.addSQLDefinition(lookupTableFunctionDefinition);
+                    context.setIIsTenantValidFunctionInvocationFactory(lookupTableFunctionDefinition);
+                    break;
+                default:
+                    IsTenantValidBasedOnConstantValuesFunctionDefinition sqlFunctionDefinition = isTenantIdentifierValidConstraintProducer.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, request.getDefaultSchema(), new HashSet<String>(request.getTenantValuesBlacklist()), request.getCurrentTenantIdPropertyType(), functionMetadataOptions));
+                    context.addSQLDefinition(sqlFunctionDefinition);
+                    context.setIIsTenantValidFunctionInvocationFactory(sqlFunctionDefinition);
+            }
         }
         return context;
     }
@@ -0,0 +1,123 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingConstraintNameDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultTenantForeignKeyConstraintProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultTenantUniqueConstraintProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantForeignKeyConstraintProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantUniqueConstraintProducer;
+import com.github.starnowski.posmulten.postgresql.core.util.Pair;
+
+import java.util.*;
+
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.COMPOSITE_FOREIGN_KEY;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher creates the native foreign key constraints of type {@link SameTenantConstraintForForeignKeyType#COMPOSITE_FOREIGN_KEY}.
+ * For each referenced table there is created the unique constraint on the tenant column and primary key columns.
+ * For each request there is created the foreign key constraint on the tenant column and foreign key columns in the main table.
+ * When the {@link SharedSchemaContextRequest#isValidateConstraintsSeparately()} returns true then the foreign key constraints
+ * are added with the NOT VALID option (the unique constraints can not be added this way).
+ *
+ * @since 0.8
+ */
+public class SameTenantForeignKeyConstraintSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    private final TenantUniqueConstraintProducer tenantUniqueConstraintProducer;
+    private final TenantForeignKeyConstraintProducer tenantForeignKeyConstraintProducer;
+
+    public SameTenantForeignKeyConstraintSQLDefinitionsEnricher(TenantUniqueConstraintProducer tenantUniqueConstraintProducer, TenantForeignKeyConstraintProducer tenantForeignKeyConstraintProducer) {
+        this.tenantUniqueConstraintProducer = tenantUniqueConstraintProducer;
+        this.tenantForeignKeyConstraintProducer = tenantForeignKeyConstraintProducer;
+    }
+
+    public SameTenantForeignKeyConstraintSQLDefinitionsEnricher() {
+        this(new TenantUniqueConstraintProducer(), new TenantForeignKeyConstraintProducer());
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingConstraintNameDeclarationForTableException, MissingRLSPolicyDeclarationForTableException {
+        List<Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>> constrainsRequests = request.getSameTenantConstraintForForeignKeyProperties().entrySet().stream()
+                .filter(entry -> COMPOSITE_FOREIGN_KEY.equals(request.resolveSameTenantConstraintForForeignKeyType(entry.getValue())))
+                .map(entry -> new Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(pair -> String.valueOf(pair.getValue().getConstraintName())))
+                .collect(toList());
+        Set<TableKey> referencedTables = new LinkedHashSet<>();
+        for (Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> constraintRequest : constrainsRequests) {
+            SameTenantConstraintForForeignKey key = constraintRequest.getKey();
+            if (constraintRequest.getValue().getConstraintName() == null) {
+                throw new MissingConstraintNameDeclarationForTableException(key.getMainTable(), key.getForeignKeyColumns(),
+                        format("Missing constraint name that in table %1$s and schema %2$s checks  if the foreign key columns (%3$s) refers to records that belong to the same tenant",
+                                key.getMainTable().getTable(),
+                                key.getMainTable().getSchema(),
+                                key.getForeignKeyColumns().stream().sorted().collect(joining(", "))));
+            }
+            referencedTables.add(key.getForeignKeyTable());
+        }
+        for (TableKey tableKey : referencedTables) {
+            ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+            if (tableColumns == null) {
+                throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+            }
+            Set<String> primaryKeyColumns = tableColumns.getIdentityColumnNameAndTypeMap().keySet();
+            String constraintName = request.getTenantUniqueConstraintNames().get(tableKey);
+            if (constraintName == null) {
+                throw new MissingConstraintNameDeclarationForTableException(tableKey, primaryKeyColumns,
+                        format("Missing name of the unique constraint for the tenant column and primary key columns (%1$s) in table %2$s and schema %3$s",
+                                primaryKeyColumns.stream().sorted().collect(joining(", ")),
+                                tableKey.getTable(),
+                                tableKey.getSchema()));
+            }
+            context.addSQLDefinition(tenantUniqueConstraintProducer.produce(DefaultTenantUniqueConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(tableKey.getTable())
+                    .withTableSchema(tableKey.getSchema())
+                    .withTenantColumnName(request.resolveTenantColumnByTableKey(tableKey))
+                    .withColumns(primaryKeyColumns.stream().sorted().collect(toList()))
+                    .build()));
+        }
+        for (Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> constraintRequest : constrainsRequests) {
+            SameTenantConstraintForForeignKey key = constraintRequest.getKey();
+            ISameTenantConstraintForForeignKeyProperties requestProperties = constraintRequest.getValue();
+            DefaultTenantForeignKeyConstraintProducerParameters parameters = DefaultTenantForeignKeyConstraintProducerParameters.builder()
+                    .withConstraintName(requestProperties.getConstraintName())
+                    .withTableName(key.getMainTable().getTable())
+                    .withTableSchema(key.getMainTable().getSchema())
+                    .withTenantColumnName(request.resolveTenantColumnByTableKey(key.getMainTable()))
+                    .withForeignKeyPrimaryKeyColumnsMappings(requestProperties.getForeignKeyPrimaryKeyColumnsMappings())
+                    .withReferencedTableName(key.getForeignKeyTable().getTable())
+                    .withReferencedTableSchema(key.getForeignKeyTable().getSchema())
+                    .withReferencedTableTenantColumnName(request.resolveTenantColumnByTableKey(key.getForeignKeyTable()))
+                    .build();
+            context.addSQLDefinition(request.isValidateConstraintsSeparately() ? tenantForeignKeyConstraintProducer.produceNotValid(parameters) : tenantForeignKeyConstraintProducer.produce(parameters));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingConstraintNameDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultStatementTriggerProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.StatementTriggerProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantStatementTriggerFunctionProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantStatementTriggerFunctionProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory;
+import com.github.starnowski.posmulten.postgresql.core.util.Pair;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.STATEMENT_TRIGGER;
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantStatementTriggerFunctionProducer.TRANSITION_TABLE_NAME;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher creates the statement level triggers for the foreign keys of type {@link SameTenantConstraintForForeignKeyType#STATEMENT_TRIGGER}.
+ * For each request there is created the trigger function with the name equal to the constraint name (in the schema of the main table)
+ * and two triggers on the main table, fired after insert and after update, with names that have the "_insert" and "_update" suffixes.
+ * Two triggers are created instead of one for both events because the Postgres 10 does not allow
+ * to declare the transition tables for triggers fired by more than one event.
+ *
+ * @since 0.8
+ */
+public class SameTenantStatementTriggerSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    public static final String INSERT_TRIGGER_SUFFIX = "_insert";
+    public static final String UPDATE_TRIGGER_SUFFIX = "_update";
+
+    private final SameTenantStatementTriggerFunctionProducer sameTenantStatementTriggerFunctionProducer;
+    private final StatementTriggerProducer statementTriggerProducer;
+
+    public SameTenantStatementTriggerSQLDefinitionsEnricher(SameTenantStatementTriggerFunctionProducer sameTenantStatementTriggerFunctionProducer, StatementTriggerProducer statementTriggerProducer) {
+        this.sameTenantStatementTriggerFunctionProducer = sameTenantStatementTriggerFunctionProducer;
+        this.statementTriggerProducer = statementTriggerProducer;
+    }
+
+    public SameTenantStatementTriggerSQLDefinitionsEnricher() {
+        this(new SameTenantStatementTriggerFunctionProducer(), new StatementTriggerProducer());
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingConstraintNameDeclarationForTableException {
+        List<Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>> constrainsRequests = request.getSameTenantConstraintForForeignKeyProperties().entrySet().stream()
+                .filter(entry -> STATEMENT_TRIGGER.equals(request.resolveSameTenantConstraintForForeignKeyType(entry.getValue())))
+                .map(entry -> new Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(pair -> String.valueOf(pair.getValue().getConstraintName())))
+                .collect(toList());
+        if (constrainsRequests.isEmpty()) {
+            return context;
+        }
+        IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory = request.isWrapCurrentTenantIdentifierInSubquery() ? new SubqueryGetCurrentTenantIdFunctionInvocationFactory(context.getIGetCurrentTenantIdFunctionInvocationFactory()) : context.getIGetCurrentTenantIdFunctionInvocationFactory();
+        for (Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> constraintRequest : constrainsRequests) {
+            SameTenantConstraintForForeignKey key = constraintRequest.getKey();
+            ISameTenantConstraintForForeignKeyProperties requestProperties = constraintRequest.getValue();
+            if (requestProperties.getConstraintName() == null) {
+                throw new MissingConstraintNameDeclarationForTableException(key.getMainTable(), key.getForeignKeyColumns(),
+                        format("Missing constraint name that in table %1$s and schema %2$s checks  if the foreign key columns (%3$s) refers to records that belong to the same tenant",
+                                key.getMainTable().getTable(),
+                                key.getMainTable().getSchema(),
+                                key.getForeignKeyColumns().stream().sorted().collect(joining(", "))));
+            }
+            DefaultFunctionDefinition functionDefinition = sameTenantStatementTriggerFunctionProducer.produce(SameTenantStatementTriggerFunctionProducerParameters.builder()
+                    .withFunctionName(requestProperties.getConstraintName())
+                    .withSchema(key.getMainTable().getSchema())
+                    .withConstraintName(requestProperties.getConstraintName())
+                    .withReferencedTableName(key.getForeignKeyTable().getTable())
+                    .withReferencedTableSchema(key.getForeignKeyTable().getSchema())
+                    .withReferencedTableTenantColumnName(request.resolveTenantColumnByTableKey(key.getForeignKeyTable()))
+                    .withForeignKeyPrimaryKeyColumnsMappings(requestProperties.getForeignKeyPrimaryKeyColumnsMappings())
+                    .withIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+                    .build());
+            context.addSQLDefinition(functionDefinition);
+            context.addSQLDefinition(statementTriggerProducer.produce(prepareTriggerParameters(key.getMainTable(), requestProperties.getConstraintName() + INSERT_TRIGGER_SUFFIX, "INSERT", functionDefinition)));
+            context.addSQLDefinition(statementTriggerProducer.produce(prepareTriggerParameters(key.getMainTable(), requestProperties.getConstraintName() + UPDATE_TRIGGER_SUFFIX, "UPDATE", functionDefinition)));
+        }
+        return context;
+    }
+
+    private DefaultStatementTriggerProducerParameters prepareTriggerParameters(TableKey tableKey, String triggerName, String event, DefaultFunctionDefinition functionDefinition) {
+        return DefaultStatementTriggerProducerParameters.builder()
+                .withTriggerName(triggerName)
+                .withTableName(tableKey.getTable())
+                .withTableSchema(tableKey.getSchema())
+                .withEvent(event)
+                .withNewTableName(TRANSITION_TABLE_NAME)
+                .withFunctionReference(functionDefinition.getFunctionReference())
+                .build();
+    }
+}
@@ -27,6 +27,21 @@ import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaCont
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
+import static com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantRegistrySQLDefinitionsEnricher.TENANT_REGISTRY_EXTERNAL_IDENTIFIER_COLUMN;
+import static com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantRegistrySQLDefinitionsEnricher.TENANT_REGISTRY_TENANT_ID_COLUMN;
+
+/**
+ * Enricher creates the function that sets the current tenant identifier.
+ * When the {@link SharedSchemaContextRequest#isCurrentTenantIdSetLocally()} returns true then the function sets the value only for the current transaction.
+ * When the {@link SharedSchemaContextRequest#getSetLocalCurrentTenantIdFunctionName()} is not null then an additional function that sets the value
+ * only for the current transaction is created, next to the function that sets the value for the session.
+ * When the {@link SharedSchemaContextRequest#isCurrentTenantIdSetterInSqlLanguage()} returns true then the functions are created in the SQL language.
+ * When the {@link SharedSchemaContextRequest#getTenantRegistryTableName()} is not null then the functions accept the external tenant identifier
+ * and store the surrogate identifier resolved from the tenant registry table.
+ * When the {@link SharedSchemaContextRequest#getTenantSettingsTableName()} is not null then the functions also apply the settings stored
+ * for the tenant in the tenant settings table.
+ * When the {@link SharedSchemaContextRequest#getTenantTagProperty()} is not null then the functions also set this property to the tenant tag.
+ */
 public class SetCurrentTenantIdFunctionDefinitionEnricher implements ISharedSchemaContextEnricher {
 
     private final SetCurrentTenantIdFunctionProducer setCurrentTenantIdFunctionProducer;
@@ -42,10 +57,21 @@ public class SetCurrentTenantIdFunctionDefinitionEnricher implements ISharedSche
     @Override
     public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
         String functionName = request.getSetCurrentTenantIdFunctionName() == null ? "set_current_tenant_id" : request.getSetCurrentTenantIdFunctionName();
-        SetCurrentTenantIdFunctionDefinition sqlDefinition = setCurrentTenantIdFunctionProducer.produce(new SetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType()));
+        String argumentType = request.getTenantRegistryTableName() == null ? request.getCurrentTenantIdPropertyType() : request.getTenantRegistryExternalIdentifierType();
+        SetCurrentTenantIdFunctionDefinition sqlDefinition = setCurrentTenantIdFunctionProducer.produce(new SetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), argumentType, request.isCurrentTenantIdSetLocally(), request.isCurrentTenantIdSetterInSqlLanguage(), request.getTenantRegistryTableName(), request.getDefaultSchema(), TENANT_REGISTRY_TENANT_ID_COLUMN, TENANT_REGISTRY_EXTERNAL_IDENTIFIER_COLUMN, request.getTenantSettingsTableName(), request.getDefaultSchema(), request.getTenantPriorityClassProperty(), request.getTenantTagProperty()));
         context.addSQLDefinition(sqlDefinition);
         context.setISetCurrentTenantIdFunctionInvocationFactory(sqlDefinition);
         context.setISetCurrentTenantIdFunctionPreparedStatementInvocationFactory(sqlDefinition);
+        if (request.isCurrentTenantIdSetLocally()) {
+            context.setISetLocalCurrentTenantIdFunctionInvocationFactory(sqlDefinition);
+            context.setISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory(sqlDefinition);
+        }
+        if (request.getSetLocalCurrentTenantIdFunctionName() != null) {
+            SetCurrentTenantIdFunctionDefinition localSqlDefinition = setCurrentTenantIdFunctionProducer.produce(new SetCurrentTenantIdFunctionProducerParameters(request.getSetLocalCurrentTenantIdFunctionName(), request.getCurrentTenantIdProperty(), request.getDefaultSchema(), argumentType, true, request.isCurrentTenantIdSetterInSqlLanguage(), request.getTenantRegistryTableName(), request.getDefaultSchema(), TENANT_REGISTRY_TENANT_ID_COLUMN, TENANT_REGISTRY_EXTERNAL_IDENTIFIER_COLUMN, request.getTenantSettingsTableName(), request.getDefaultSchema(), request.getTenantPriorityClassProperty(), request.getTenantTagProperty()));
+            context.addSQLDefinition(localSqlDefinition);
+            context.setISetLocalCurrentTenantIdFunctionInvocationFactory(localSqlDefinition);
+            context.setISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory(localSqlDefinition);
+        }
         return context;
     }
 }
@@ -54,6 +54,9 @@ public class TableRLSPolicyEnricher implements ISharedSchemaContextEnricher {
                     .withTableKey(entry.getKey())
                     .withTenantHasAuthoritiesFunctionInvocationFactory(context.getTenantHasAuthoritiesFunctionInvocationFactory())
                     .withTenantIdColumn(request.resolveTenantColumnByTableKey(entry.getKey()))
+                    .withPolicyPerCommand(request.isRlsPolicyPerCommand())
+                    .withPolicyType(request.getRlsPolicyType())
+                    .withSkipBasePermissivePolicy(request.isSkipBasePermissiveRLSPolicy())
                     .build();
             tableRLSPolicySQLDefinitionsProducer.produce(parameters).forEach(context::addSQLDefinition);
         });
@@ -0,0 +1,72 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.TenantActivityViewProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantActivityViewProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+
+import static java.lang.String.format;
+
+/**
+ * Enricher creates the view that presents the sessions from the "pg_stat_activity" view together with the tenant tag,
+ * when the {@link SharedSchemaContextRequest#getTenantActivityViewName()} is not null.
+ * The view requires the functions that set the current tenant identifier to set the tenant tag in the "application_name" property
+ * ({@link SharedSchemaContextRequest#getTenantTagProperty()}).
+ * The grantee does not get any privilege to the view because the view exposes the queries executed by sessions of all tenants.
+ *
+ * @since 0.8
+ */
+public class TenantActivityViewSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    public static final String APPLICATION_NAME_PROPERTY = "application_name";
+
+    private final TenantActivityViewProducer tenantActivityViewProducer;
+
+    public TenantActivityViewSQLDefinitionsEnricher() {
+        this(new TenantActivityViewProducer());
+    }
+
+    public TenantActivityViewSQLDefinitionsEnricher(TenantActivityViewProducer tenantActivityViewProducer) {
+        this.tenantActivityViewProducer = tenantActivityViewProducer;
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        if (request.getTenantActivityViewName() == null) {
+            return context;
+        }
+        if (!APPLICATION_NAME_PROPERTY.equals(request.getTenantTagProperty())) {
+            throw new InvalidSharedSchemaContextRequestException(format("The tenant activity view %1$s requires the tenant tag to be set in the %2$s property", request.getTenantActivityViewName(), APPLICATION_NAME_PROPERTY));
+        }
+        context.addSQLDefinition(tenantActivityViewProducer.produce(TenantActivityViewProducerParameters.builder()
+                .withView(request.getTenantActivityViewName())
+                .withSchema(request.getDefaultSchema())
+                .build()));
+        return context;
+    }
+}
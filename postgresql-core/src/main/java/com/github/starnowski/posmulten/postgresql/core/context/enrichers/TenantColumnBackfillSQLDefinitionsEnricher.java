@@ -0,0 +1,154 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.SetDefaultStatementProducer;
+import com.github.starnowski.posmulten.postgresql.core.SetDefaultStatementProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+
+import java.util.*;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher creates the sql definitions that set the tenant column values for existing rows of tables
+ * registered in the {@link SharedSchemaContextRequest#getTenantColumnBackfillProperties()} map.
+ * For each table there are created definitions in the following order:
+ * <ul>
+ *     <li>adding of the nullable tenant column (only when the column should be created, see {@link SharedSchemaContextRequest#getCreateTenantColumnTableLists()})</li>
+ *     <li>setting of the current tenant identifier as the default value of the tenant column (only when the default value should be added,
+ *     see {@link SharedSchemaContextRequest#isCurrentTenantIdentifierAsDefaultValueForTenantColumn(TableKey)})</li>
+ *     <li>adding of the check constraint "(tenant_column IS NOT NULL)" with the NOT VALID option</li>
+ *     <li>setting of the tenant column values for existing rows</li>
+ *     <li>validation of the check constraint, setting of the not-null constraint and dropping of the redundant check constraint, when the
+ *     {@link SharedSchemaContextRequest#isValidateConstraintsSeparately()} returns true those definitions are added at the end by {@link ConstraintValidationSQLDefinitionsEnricher}</li>
+ * </ul>
+ * The default value and the check constraint are added before the existing rows are updated, so rows inserted during the update
+ * get the tenant column value and rows with null value are rejected, and the validation of the check constraint does not fail because of them.
+ * Tables are processed in order in which parent tables, from which the tenant identifier is copied, are before their child tables.
+ *
+ * @since 0.8
+ */
+public class TenantColumnBackfillSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    private final SingleTenantColumnSQLDefinitionsProducer singleTenantColumnSQLDefinitionsProducer;
+    private final TenantColumnBackfillProducer tenantColumnBackfillProducer;
+    private final SetDefaultStatementProducer setDefaultStatementProducer;
+
+    public TenantColumnBackfillSQLDefinitionsEnricher(SingleTenantColumnSQLDefinitionsProducer singleTenantColumnSQLDefinitionsProducer, TenantColumnBackfillProducer tenantColumnBackfillProducer, SetDefaultStatementProducer setDefaultStatementProducer) {
+        this.singleTenantColumnSQLDefinitionsProducer = singleTenantColumnSQLDefinitionsProducer;
+        this.tenantColumnBackfillProducer = tenantColumnBackfillProducer;
+        this.setDefaultStatementProducer = setDefaultStatementProducer;
+    }
+
+    public TenantColumnBackfillSQLDefinitionsEnricher() {
+        this(new SingleTenantColumnSQLDefinitionsProducer(), new TenantColumnBackfillProducer(), new SetDefaultStatementProducer());
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        Map<TableKey, ITenantColumnBackfillProperties> backfillProperties = request.getTenantColumnBackfillProperties();
+        for (TableKey tableKey : resolveOrder(backfillProperties)) {
+            ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+            if (tableColumns == null) {
+                throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+            }
+            if (tableColumns.getIdentityColumnNameAndTypeMap() == null || tableColumns.getIdentityColumnNameAndTypeMap().isEmpty()) {
+                throw new InvalidSharedSchemaContextRequestException(format("Missing primary key columns for table %1$s in schema %2$s that are required to set the tenant column values in batches", tableKey.getTable(), tableKey.getSchema()));
+            }
+            String tenantColumn = request.resolveTenantColumnByTableKey(tableKey);
+            List<SQLDefinition> columnDefinitions = singleTenantColumnSQLDefinitionsProducer.produce(tableKey, tableColumns, request.getDefaultTenantIdColumn(), request.getCurrentTenantIdPropertyType(), true);
+            if (request.getCreateTenantColumnTableLists().contains(tableKey)) {
+                context.addSQLDefinition(columnDefinitions.get(0));
+            }
+            if (request.isCurrentTenantIdentifierAsDefaultValueForTenantColumn(tableKey)) {
+                context.addSQLDefinition(setDefaultStatementProducer.produce(new SetDefaultStatementProducerParameters(tableKey.getTable(), tenantColumn, context.getIGetCurrentTenantIdFunctionInvocationFactory().returnGetCurrentTenantIdFunctionInvocation(), tableKey.getSchema())));
+            }
+            NotValidConstraintSQLDefinition notNullConstraint = (NotValidConstraintSQLDefinition) columnDefinitions.get(1);
+            context.addSQLDefinition(notNullConstraint);
+            context.addSQLDefinition(tenantColumnBackfillProducer.produce(TenantColumnBackfillProducerParameters.builder()
+                    .withTable(tableKey.getTable())
+                    .withSchema(tableKey.getSchema())
+                    .withTenantColumn(tenantColumn)
+                    .withKeyColumnNameAndTypeMap(tableColumns.getIdentityColumnNameAndTypeMap())
+                    .withTenantValueQuery(resolveTenantValueQuery(request, tableKey, backfillProperties.get(tableKey)))
+                    .build()));
+            if (!request.isValidateConstraintsSeparately()) {
+                notNullConstraint.getValidationSQLDefinitions().forEach(context::addSQLDefinition);
+            }
+        }
+        return context;
+    }
+
+    private String resolveTenantValueQuery(SharedSchemaContextRequest request, TableKey tableKey, ITenantColumnBackfillProperties properties) throws SharedSchemaContextBuilderException {
+        if (properties.getTenantValueQuery() != null) {
+            return properties.getTenantValueQuery();
+        }
+        TableKey parentTable = properties.getParentTable();
+        if (parentTable == null || properties.getForeignKeyPrimaryKeyColumnsMappings() == null || properties.getForeignKeyPrimaryKeyColumnsMappings().isEmpty()) {
+            throw new InvalidSharedSchemaContextRequestException(format("Missing query or parent table with foreign key columns that return the tenant column values for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+        }
+        String parentTenantColumn = request.resolveTenantColumnByTableKey(parentTable);
+        if (parentTenantColumn == null) {
+            throw new MissingRLSPolicyDeclarationForTableException(parentTable, format("Missing RLS policy declaration for table %1$s in schema %2$s", parentTable.getTable(), parentTable.getSchema()));
+        }
+        String parentReference = parentTable.getSchema() == null ? "\"" + parentTable.getTable() + "\"" : "\"" + parentTable.getSchema() + "\".\"" + parentTable.getTable() + "\"";
+        return "SELECT parent." + parentTenantColumn + " FROM " + parentReference + " parent WHERE " +
+                properties.getForeignKeyPrimaryKeyColumnsMappings().entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey())
+                        .map(entry -> "parent." + entry.getValue() + " = \"" + tableKey.getTable() + "\"." + entry.getKey())
+                        .collect(joining(" AND "));
+    }
+
+    private List<TableKey> resolveOrder(Map<TableKey, ITenantColumnBackfillProperties> backfillProperties) {
+        List<TableKey> sortedKeys = backfillProperties.keySet().stream()
+                .sorted(Comparator.comparing((TableKey key) -> String.valueOf(key.getSchema())).thenComparing(TableKey::getTable))
+                .collect(toList());
+        Set<TableKey> results = new LinkedHashSet<>();
+        for (TableKey tableKey : sortedKeys) {
+            addWithParents(tableKey, backfillProperties, results, new HashSet<>());
+        }
+        return new ArrayList<>(results);
+    }
+
+    private void addWithParents(TableKey tableKey, Map<TableKey, ITenantColumnBackfillProperties> backfillProperties, Set<TableKey> results, Set<TableKey> visited) {
+        if (results.contains(tableKey) || !visited.add(tableKey)) {
+            return;
+        }
+        TableKey parentTable = backfillProperties.get(tableKey).getParentTable();
+        if (parentTable != null && backfillProperties.containsKey(parentTable)) {
+            addWithParents(parentTable, backfillProperties, results, visited);
+        }
+        results.add(tableKey);
+    }
+}
@@ -23,9 +23,11 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.context.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
 
+import java.util.List;
 import java.util.Set;
 
 import static java.lang.String.format;
@@ -51,13 +53,20 @@ public class TenantColumnSQLDefinitionsEnricher implements ISharedSchemaContextE
         }
         for (TableKey tableKey: tableThatRequireCreationOfTheTenantColumn)
         {
+            if (request.getTenantColumnBackfillProperties().containsKey(tableKey))
+            {
+                // Column for table which existing rows need to be updated is created by TenantColumnBackfillSQLDefinitionsEnricher
+                continue;
+            }
             ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
             if (tableColumns == null)
             {
                 throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
             }
-            singleTenantColumnSQLDefinitionsProducer.produce(tableKey, tableColumns, request.getDefaultTenantIdColumn(), request.getCurrentTenantIdPropertyType())
-                .forEach(context::addSQLDefinition);
+            List<SQLDefinition> definitions = request.isValidateConstraintsSeparately()
+                    ? singleTenantColumnSQLDefinitionsProducer.produce(tableKey, tableColumns, request.getDefaultTenantIdColumn(), request.getCurrentTenantIdPropertyType(), true)
+                    : singleTenantColumnSQLDefinitionsProducer.produce(tableKey, tableColumns, request.getDefaultTenantIdColumn(), request.getCurrentTenantIdPropertyType());
+            definitions.forEach(context::addSQLDefinition);
         }
         return context;
     }
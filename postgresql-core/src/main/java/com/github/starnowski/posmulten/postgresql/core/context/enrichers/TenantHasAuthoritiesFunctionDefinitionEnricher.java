@@ -25,8 +25,12 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.rls.InlineTenantHasAuthoritiesExpressionFactory;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.EQUALS_CURRENT_TENANT_IDENTIFIER;
+import static com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType.TENANT_HAS_AUTHORITIES;
+
 public class TenantHasAuthoritiesFunctionDefinitionEnricher implements ISharedSchemaContextEnricher {
 
     private EqualsCurrentTenantIdentifierFunctionProducer equalsCurrentTenantIdentifierFunctionProducer;
@@ -43,10 +47,17 @@ public class TenantHasAuthoritiesFunctionDefinitionEnricher implements ISharedSc
 
     @Override
     public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
+        if (request.isInlineRLSPolicyExpression()) {
+            context.setTenantHasAuthoritiesFunctionInvocationFactory(new InlineTenantHasAuthoritiesExpressionFactory(request.getCurrentTenantIdProperty(), request.getCurrentTenantIdPropertyType(), request.isWrapCurrentTenantIdentifierInSubquery()));
+            return context;
+        }
         String equalsCurrentTenantIdentifierFunctionName = request.getEqualsCurrentTenantIdentifierFunctionName() == null ? "is_id_equals_current_tenant_id" : request.getEqualsCurrentTenantIdentifierFunctionName();
         String tenantHasAuthoritiesFunctionName = request.getTenantHasAuthoritiesFunctionName() == null ? "tenant_has_authorities" : request.getTenantHasAuthoritiesFunctionName();
-        EqualsCurrentTenantIdentifierFunctionDefinition equalsCurrentTenantIdentifierFunctionDefinition = equalsCurrentTenantIdentifierFunctionProducer.produce(new EqualsCurrentTenantIdentifierFunctionProducerParameters(equalsCurrentTenantIdentifierFunctionName, request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), context.getIGetCurrentTenantIdFunctionInvocationFactory()));
-        TenantHasAuthoritiesFunctionDefinition tenantHasAuthoritiesFunctionDefinition = tenantHasAuthoritiesFunctionProducer.produce(new TenantHasAuthoritiesFunctionProducerParameters(tenantHasAuthoritiesFunctionName, request.getDefaultSchema(), equalsCurrentTenantIdentifierFunctionDefinition, request.getCurrentTenantIdPropertyType(), null, null, null, null));
+        IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory = request.isWrapCurrentTenantIdentifierInSubquery() ? new SubqueryGetCurrentTenantIdFunctionInvocationFactory(context.getIGetCurrentTenantIdFunctionInvocationFactory()) : context.getIGetCurrentTenantIdFunctionInvocationFactory();
+        EqualsCurrentTenantIdentifierFunctionDefinition equalsCurrentTenantIdentifierFunctionDefinition = equalsCurrentTenantIdentifierFunctionProducer.produce(new EqualsCurrentTenantIdentifierFunctionProducerParameters(equalsCurrentTenantIdentifierFunctionName, request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), getCurrentTenantIdFunctionInvocationFactory, request.getFunctionMetadataOptions().get(EQUALS_CURRENT_TENANT_IDENTIFIER)));
+        String tenantHierarchyClosureTableName = request.resolveTenantHierarchyClosureTableName();
+        TenantHasAuthoritiesFunctionDefinition tenantHasAuthoritiesFunctionDefinition = tenantHasAuthoritiesFunctionProducer.produce(new TenantHasAuthoritiesFunctionProducerParameters(tenantHasAuthoritiesFunctionName, request.getDefaultSchema(), equalsCurrentTenantIdentifierFunctionDefinition, request.getCurrentTenantIdPropertyType(), null, null, null, null, request.getFunctionMetadataOptions().get(TENANT_HAS_AUTHORITIES),
+                tenantHierarchyClosureTableName, tenantHierarchyClosureTableName == null ? null : request.getDefaultSchema(), tenantHierarchyClosureTableName == null ? null : getCurrentTenantIdFunctionInvocationFactory));
         context.addSQLDefinition(equalsCurrentTenantIdentifierFunctionDefinition);
         context.addSQLDefinition(tenantHasAuthoritiesFunctionDefinition);
         context.setTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionDefinition);
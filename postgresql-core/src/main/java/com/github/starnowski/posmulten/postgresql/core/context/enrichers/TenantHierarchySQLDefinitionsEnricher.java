@@ -0,0 +1,110 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantHierarchyTablesProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantHierarchyTablesProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHierarchyClosureTriggerFunctionProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHierarchyClosureTriggerFunctionProducerParameters;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+
+/**
+ * Enricher creates the tables for hierarchical tenants, when the {@link SharedSchemaContextRequest#getTenantHierarchyTableName()} is not null.
+ * There are created the hierarchy table, the closure table ({@link SharedSchemaContextRequest#resolveTenantHierarchyClosureTableName()}),
+ * the trigger function that maintains the closure table and the trigger on the hierarchy table.
+ * The grantee gets the SELECT privilege to the closure table because the function that checks tenant authorities, executed by the grantee,
+ * reads it.
+ * The enricher has to be executed before the {@link TenantHasAuthoritiesFunctionDefinitionEnricher} because the body of the SQL language function
+ * is validated during the function creation.
+ * The hierarchical tenants are not supported together with the inline RLS policy expression.
+ * The ancestor tenant can only read rows of its descendants, so the hierarchical tenants require the RLS policies per command
+ * ({@link SharedSchemaContextRequest#isRlsPolicyPerCommand()}). With the single policy for all commands, the same USING expression
+ * is checked for the SELECT, UPDATE and DELETE operations, and the ancestor could modify or delete rows of its descendants.
+ *
+ * @since 0.8
+ */
+public class TenantHierarchySQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    public static final String TRIGGER_FUNCTION_NAME_SUFFIX = "_closure_maintenance";
+    public static final String TRIGGER_NAME_SUFFIX = "_closure_trigger";
+
+    private final TenantHierarchyClosureTriggerFunctionProducer tenantHierarchyClosureTriggerFunctionProducer;
+    private final TenantHierarchyTablesProducer tenantHierarchyTablesProducer;
+    private final GrantTablePrivilegesProducer grantTablePrivilegesProducer;
+
+    public TenantHierarchySQLDefinitionsEnricher() {
+        this(new TenantHierarchyClosureTriggerFunctionProducer(), new TenantHierarchyTablesProducer(), new GrantTablePrivilegesProducer());
+    }
+
+    public TenantHierarchySQLDefinitionsEnricher(TenantHierarchyClosureTriggerFunctionProducer tenantHierarchyClosureTriggerFunctionProducer, TenantHierarchyTablesProducer tenantHierarchyTablesProducer, GrantTablePrivilegesProducer grantTablePrivilegesProducer) {
+        this.tenantHierarchyClosureTriggerFunctionProducer = tenantHierarchyClosureTriggerFunctionProducer;
+        this.tenantHierarchyTablesProducer = tenantHierarchyTablesProducer;
+        this.grantTablePrivilegesProducer = grantTablePrivilegesProducer;
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        String hierarchyTable = request.getTenantHierarchyTableName();
+        if (hierarchyTable == null) {
+            return context;
+        }
+        if (request.isInlineRLSPolicyExpression()) {
+            throw new InvalidSharedSchemaContextRequestException(format("The tenant hierarchy table %1$s cannot be used together with the inline RLS policy expression", hierarchyTable));
+        }
+        if (!request.isRlsPolicyPerCommand()) {
+            throw new InvalidSharedSchemaContextRequestException(format("The tenant hierarchy table %1$s requires the RLS policies per command", hierarchyTable));
+        }
+        String closureTable = request.resolveTenantHierarchyClosureTableName();
+        DefaultFunctionDefinition triggerFunction = tenantHierarchyClosureTriggerFunctionProducer.produce(TenantHierarchyClosureTriggerFunctionProducerParameters.builder()
+                .withFunctionName(hierarchyTable + TRIGGER_FUNCTION_NAME_SUFFIX)
+                .withSchema(request.getDefaultSchema())
+                .withClosureTable(closureTable)
+                .withClosureTableSchema(request.getDefaultSchema())
+                .build());
+        context.addSQLDefinition(triggerFunction);
+        for (SQLDefinition definition : tenantHierarchyTablesProducer.produce(TenantHierarchyTablesProducerParameters.builder()
+                .withHierarchyTable(hierarchyTable)
+                .withClosureTable(closureTable)
+                .withSchema(request.getDefaultSchema())
+                .withTenantIdColumnType(request.getCurrentTenantIdPropertyType())
+                .withTriggerName(hierarchyTable + TRIGGER_NAME_SUFFIX)
+                .withTriggerFunctionReference(triggerFunction.getFunctionReference())
+                .build())) {
+            context.addSQLDefinition(definition);
+        }
+        if (request.getGrantee() != null) {
+            context.addSQLDefinition(grantTablePrivilegesProducer.produce(request.getDefaultSchema(), closureTable, request.getGrantee(), singletonList("SELECT")));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultTenantIndexProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantIndexProducer;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher creates the index on the tenant column and the primary key columns for tables that have the row level security policy.
+ * The index is created for all tables when the {@link SharedSchemaContextRequest#isCreateTenantIndexInAllTables()} returns true
+ * (except tables for which creation was skipped) and for tables that have index properties specified ({@link SharedSchemaContextRequest#getTenantIndexProperties()}).
+ * The default name of the index is the table name with the "_tenant_idx" suffix.
+ *
+ * @since 0.8
+ */
+public class TenantIndexSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    public static final String DEFAULT_INDEX_NAME_SUFFIX = "_tenant_idx";
+
+    private final TenantIndexProducer tenantIndexProducer;
+
+    public TenantIndexSQLDefinitionsEnricher(TenantIndexProducer tenantIndexProducer) {
+        this.tenantIndexProducer = tenantIndexProducer;
+    }
+
+    public TenantIndexSQLDefinitionsEnricher() {
+        this(new TenantIndexProducer());
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableException {
+        Map<TableKey, ITenantIndexProperties> tenantIndexProperties = request.getTenantIndexProperties();
+        Set<TableKey> tableKeys = new LinkedHashSet<>();
+        if (request.isCreateTenantIndexInAllTables()) {
+            tableKeys.addAll(request.getTableColumnsList().keySet());
+        }
+        tableKeys.addAll(tenantIndexProperties.keySet());
+        tableKeys.removeAll(request.getTablesThatCreationOfTenantIndexShouldBeSkipped());
+        for (TableKey tableKey : tableKeys.stream().sorted(Comparator.comparing((TableKey key) -> String.valueOf(key.getSchema())).thenComparing(TableKey::getTable)).collect(toList())) {
+            ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+            if (tableColumns == null) {
+                throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+            }
+            ITenantIndexProperties properties = tenantIndexProperties.get(tableKey);
+            String indexName = properties == null || properties.getIndexName() == null ? tableKey.getTable() + DEFAULT_INDEX_NAME_SUFFIX : properties.getIndexName();
+            boolean concurrently = properties == null || properties.getCreateConcurrently() == null ? request.isCreateTenantIndexConcurrently() : properties.getCreateConcurrently();
+            context.addSQLDefinition(tenantIndexProducer.produce(DefaultTenantIndexProducerParameters.builder()
+                    .withIndexName(indexName)
+                    .withTableName(tableKey.getTable())
+                    .withTableSchema(tableKey.getSchema())
+                    .withTenantColumnName(request.resolveTenantColumnByTableKey(tableKey))
+                    .withColumns(tableColumns.getIdentityColumnNameAndTypeMap() == null ? emptyList() : tableColumns.getIdentityColumnNameAndTypeMap().keySet().stream().sorted().collect(toList()))
+                    .withConcurrently(concurrently)
+                    .build()));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.TenantPartitionStatementProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantPartitionStatementProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+
+import java.util.*;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher creates partitions for tables that are partitioned by the tenant column ({@link SharedSchemaContextRequest#getTenantPartitioningProperties()}).
+ * For the {@link TenantPartitioningStrategy#HASH} strategy there is created a partition for each remainder of the modulus.
+ * For the {@link TenantPartitioningStrategy#LIST} strategy there is created a partition for each group of tenant identifiers
+ * and optionally the default partition.
+ * The names of hash partitions and the default partition are the prefix with the "p" + remainder or "default" suffix.
+ * The partitioned table has to have the RLS policy declaration, the policy applies to all rows read or modified via the partitioned table.
+ *
+ * @since 0.8
+ */
+public class TenantPartitionSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    private final TenantPartitionStatementProducer tenantPartitionStatementProducer;
+
+    public TenantPartitionSQLDefinitionsEnricher(TenantPartitionStatementProducer tenantPartitionStatementProducer) {
+        this.tenantPartitionStatementProducer = tenantPartitionStatementProducer;
+    }
+
+    public TenantPartitionSQLDefinitionsEnricher() {
+        this(new TenantPartitionStatementProducer());
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        List<TableKey> tableKeys = request.getTenantPartitioningProperties().keySet().stream()
+                .sorted(Comparator.comparing((TableKey key) -> String.valueOf(key.getSchema())).thenComparing(TableKey::getTable))
+                .collect(toList());
+        for (TableKey tableKey : tableKeys) {
+            if (!request.getTableColumnsList().containsKey(tableKey)) {
+                throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+            }
+            ITenantPartitioningProperties properties = request.getTenantPartitioningProperties().get(tableKey);
+            validate(tableKey, properties);
+            String prefix = properties.getPartitionNamePrefix() == null ? tableKey.getTable() + "_" : properties.getPartitionNamePrefix();
+            if (TenantPartitioningStrategy.HASH.equals(properties.getStrategy())) {
+                for (int remainder = 0; remainder < properties.getModulus(); remainder++) {
+                    context.addSQLDefinition(tenantPartitionStatementProducer.produce(prepareParametersBuilder(tableKey, properties)
+                            .withPartitionTable(prefix + "p" + remainder)
+                            .withModulus(properties.getModulus())
+                            .withRemainder(remainder)
+                            .build()));
+                }
+            } else {
+                Map<String, List<String>> listPartitions = properties.getListPartitions() == null ? Collections.emptyMap() : properties.getListPartitions();
+                for (Map.Entry<String, List<String>> partition : new TreeMap<>(listPartitions).entrySet()) {
+                    context.addSQLDefinition(tenantPartitionStatementProducer.produce(prepareParametersBuilder(tableKey, properties)
+                            .withPartitionTable(partition.getKey())
+                            .withValues(partition.getValue())
+                            .build()));
+                }
+                if (properties.isCreateDefaultPartition()) {
+                    context.addSQLDefinition(tenantPartitionStatementProducer.produce(prepareParametersBuilder(tableKey, properties)
+                            .withPartitionTable(prefix + "default")
+                            .withDefaultPartition(true)
+                            .build()));
+                }
+            }
+        }
+        return context;
+    }
+
+    private TenantPartitionStatementProducerParameters.TenantPartitionStatementProducerParametersBuilder prepareParametersBuilder(TableKey tableKey, ITenantPartitioningProperties properties) {
+        return TenantPartitionStatementProducerParameters.builder()
+                .withTable(tableKey.getTable())
+                .withSchema(tableKey.getSchema())
+                .withStrategy(properties.getStrategy())
+                .withAttachExistingTable(properties.isAttachExistingTables());
+    }
+
+    private void validate(TableKey tableKey, ITenantPartitioningProperties properties) throws InvalidSharedSchemaContextRequestException {
+        if (properties.getStrategy() == null) {
+            throw new InvalidSharedSchemaContextRequestException(format("Missing partitioning strategy for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+        }
+        if (TenantPartitioningStrategy.HASH.equals(properties.getStrategy()) && (properties.getModulus() == null || properties.getModulus() <= 0)) {
+            throw new InvalidSharedSchemaContextRequestException(format("The modulus for hash partitioning of table %1$s in schema %2$s has to be greater than zero", tableKey.getTable(), tableKey.getSchema()));
+        }
+        if (TenantPartitioningStrategy.LIST.equals(properties.getStrategy()) && (properties.getListPartitions() == null || properties.getListPartitions().isEmpty()) && !properties.isCreateDefaultPartition()) {
+            throw new InvalidSharedSchemaContextRequestException(format("Missing partitions for list partitioning of table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.TenantPublicationProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantPublicationProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.TenantSubscriptionStatementFactory;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+
+import java.util.*;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher creates publications (logical replication) of rows that belong to the specified tenants ({@link SharedSchemaContextRequest#getTenantPublications()}).
+ * Each publication contains all tables that have the RLS policy declaration ({@link SharedSchemaContextRequest#getTableColumnsList()})
+ * with the row filter for the tenant column, which requires Postgres 15 or newer.
+ * When the {@link SharedSchemaContextRequest#isTenantPublicationReplicaIdentityFull()} returns true, before the publications the enricher
+ * sets the "REPLICA IDENTITY FULL" for those tables, so the UPDATE and DELETE operations are not rejected when the tenant column is not part of
+ * the replica identity. Otherwise the replica identity of tables is not changed.
+ * For each publication, the enricher also registers the factory of statements that create the matching subscription
+ * ({@link ISharedSchemaContext#getPublicationNamesTenantSubscriptionStatementFactoryMap()}).
+ *
+ * @since 0.8
+ */
+public class TenantPublicationSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    private final TenantPublicationProducer tenantPublicationProducer;
+
+    public TenantPublicationSQLDefinitionsEnricher(TenantPublicationProducer tenantPublicationProducer) {
+        this.tenantPublicationProducer = tenantPublicationProducer;
+    }
+
+    public TenantPublicationSQLDefinitionsEnricher() {
+        this(new TenantPublicationProducer());
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        if (request.getTenantPublications().isEmpty()) {
+            return context;
+        }
+        List<TableKey> tableKeys = request.getTableColumnsList().keySet().stream()
+                .sorted(Comparator.comparing((TableKey key) -> String.valueOf(key.getSchema())).thenComparing(TableKey::getTable))
+                .collect(toList());
+        Map<TableKey, String> tablesTenantColumns = new LinkedHashMap<>();
+        for (TableKey tableKey : tableKeys) {
+            tablesTenantColumns.put(tableKey, request.resolveTenantColumnByTableKey(tableKey));
+        }
+        if (request.isTenantPublicationReplicaIdentityFull()) {
+            tablesTenantColumns.keySet().stream().map(tenantPublicationProducer::produceReplicaIdentityFull).forEach(context::addSQLDefinition);
+        }
+        for (Map.Entry<String, List<String>> publication : new TreeMap<>(request.getTenantPublications()).entrySet()) {
+            if (publication.getValue() == null || publication.getValue().isEmpty()) {
+                throw new InvalidSharedSchemaContextRequestException(format("Missing tenant identifiers for the publication %1$s", publication.getKey()));
+            }
+            if (tablesTenantColumns.isEmpty()) {
+                throw new InvalidSharedSchemaContextRequestException(format("The publication %1$s requires at least one table with the RLS policy declaration", publication.getKey()));
+            }
+            context.addSQLDefinition(tenantPublicationProducer.produce(TenantPublicationProducerParameters.builder()
+                    .withPublicationName(publication.getKey())
+                    .withTablesTenantColumns(tablesTenantColumns)
+                    .withTenantIdentifiers(publication.getValue())
+                    .build()));
+            context.getPublicationNamesTenantSubscriptionStatementFactoryMap().put(publication.getKey(), new TenantSubscriptionStatementFactory(publication.getKey()));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantRegistryTableProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantRegistryTableProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+
+/**
+ * Enricher creates the tenant registry table that maps the external tenant identifiers to the surrogate integer identifiers,
+ * when the {@link SharedSchemaContextRequest#getTenantRegistryTableName()} is not null.
+ * The grantee gets the SELECT privilege to the table because the functions that set the current tenant identifier, executed by the grantee,
+ * resolve the surrogate identifier from it.
+ * The enricher has to be executed before the {@link SetCurrentTenantIdFunctionDefinitionEnricher} because the body of the SQL language function
+ * is validated during the function creation.
+ *
+ * @since 0.8
+ */
+public class TenantRegistrySQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    public static final String TENANT_REGISTRY_TENANT_ID_COLUMN = "id";
+    public static final String TENANT_REGISTRY_EXTERNAL_IDENTIFIER_COLUMN = "external_id";
+    private static final Set<String> INTEGER_TYPES = new HashSet<>(Arrays.asList("smallint", "int", "integer", "bigint", "int2", "int4", "int8"));
+
+    private final TenantRegistryTableProducer tenantRegistryTableProducer;
+    private final GrantTablePrivilegesProducer grantTablePrivilegesProducer;
+
+    public TenantRegistrySQLDefinitionsEnricher() {
+        this(new TenantRegistryTableProducer(), new GrantTablePrivilegesProducer());
+    }
+
+    public TenantRegistrySQLDefinitionsEnricher(TenantRegistryTableProducer tenantRegistryTableProducer, GrantTablePrivilegesProducer grantTablePrivilegesProducer) {
+        this.tenantRegistryTableProducer = tenantRegistryTableProducer;
+        this.grantTablePrivilegesProducer = grantTablePrivilegesProducer;
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        if (request.getTenantRegistryTableName() == null) {
+            return context;
+        }
+        String tenantIdType = request.getCurrentTenantIdPropertyType();
+        if (tenantIdType == null || !INTEGER_TYPES.contains(tenantIdType.trim().toLowerCase())) {
+            throw new InvalidSharedSchemaContextRequestException(format("The tenant registry table %1$s requires the integer type of the tenant identifier, current type is %2$s", request.getTenantRegistryTableName(), tenantIdType));
+        }
+        context.addSQLDefinition(tenantRegistryTableProducer.produce(TenantRegistryTableProducerParameters.builder()
+                .withTable(request.getTenantRegistryTableName())
+                .withSchema(request.getDefaultSchema())
+                .withTenantIdColumn(TENANT_REGISTRY_TENANT_ID_COLUMN)
+                .withTenantIdColumnType(tenantIdType)
+                .withExternalIdentifierColumn(TENANT_REGISTRY_EXTERNAL_IDENTIFIER_COLUMN)
+                .withExternalIdentifierColumnType(request.getTenantRegistryExternalIdentifierType())
+                .build()));
+        if (request.getGrantee() != null) {
+            context.addSQLDefinition(grantTablePrivilegesProducer.produce(request.getDefaultSchema(), request.getTenantRegistryTableName(), request.getGrantee(), singletonList("SELECT")));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantSettingsTableProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantSettingsTableProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Enricher creates the tenant settings table that stores the per-tenant values of configuration parameters,
+ * when the {@link SharedSchemaContextRequest#getTenantSettingsTableName()} is not null.
+ * The grantee gets the SELECT privilege to the table because the functions that set the current tenant identifier, executed by the grantee,
+ * read the settings from it.
+ * The enricher has to be executed before the {@link SetCurrentTenantIdFunctionDefinitionEnricher} because the body of the SQL language function
+ * is validated during the function creation.
+ *
+ * @since 0.8
+ */
+public class TenantSettingsSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    private final TenantSettingsTableProducer tenantSettingsTableProducer;
+    private final GrantTablePrivilegesProducer grantTablePrivilegesProducer;
+
+    public TenantSettingsSQLDefinitionsEnricher() {
+        this(new TenantSettingsTableProducer(), new GrantTablePrivilegesProducer());
+    }
+
+    public TenantSettingsSQLDefinitionsEnricher(TenantSettingsTableProducer tenantSettingsTableProducer, GrantTablePrivilegesProducer grantTablePrivilegesProducer) {
+        this.tenantSettingsTableProducer = tenantSettingsTableProducer;
+        this.grantTablePrivilegesProducer = grantTablePrivilegesProducer;
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+        if (request.getTenantSettingsTableName() == null) {
+            return context;
+        }
+        context.addSQLDefinition(tenantSettingsTableProducer.produce(TenantSettingsTableProducerParameters.builder()
+                .withTable(request.getTenantSettingsTableName())
+                .withSchema(request.getDefaultSchema())
+                .withTenantIdColumnType(request.getCurrentTenantIdPropertyType())
+                .build()));
+        if (request.getGrantee() != null) {
+            context.addSQLDefinition(grantTablePrivilegesProducer.produce(request.getDefaultSchema(), request.getTenantSettingsTableName(), request.getGrantee(), singletonList("SELECT")));
+        }
+        return context;
+    }
+}
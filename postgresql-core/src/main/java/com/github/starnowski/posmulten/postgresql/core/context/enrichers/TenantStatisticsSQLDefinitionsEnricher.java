@@ -0,0 +1,121 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultTenantStatisticsProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantStatisticsProducer;
+
+import java.util.*;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Enricher creates the extended statistics on the tenant column and columns correlated with it for tables that have the row level security policy.
+ * The statistics are created for all tables when the {@link SharedSchemaContextRequest#isCreateTenantStatisticsInAllTables()} returns true
+ * (except tables for which creation was skipped) and for tables that have statistics properties specified ({@link SharedSchemaContextRequest#getTenantStatisticsProperties()}).
+ * The statistics columns are the columns from the statistics properties followed by the foreign key columns of the same tenant constraints
+ * declared for the table. The primary key columns are not added by default because they are unique and do not improve the estimations.
+ * Postgres allows at most {@link #MAX_STATISTICS_COLUMNS} columns in the statistics object, so the foreign key columns that do not fit are skipped
+ * and the exception is thrown when the declared columns do not fit. Tables without any column besides the tenant column are skipped.
+ * The default name of the statistics is the table name with the "_tenant_stats" suffix.
+ *
+ * @since 0.8
+ */
+public class TenantStatisticsSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    public static final String DEFAULT_STATISTICS_NAME_SUFFIX = "_tenant_stats";
+    public static final int MAX_STATISTICS_COLUMNS = 8;
+
+    private final TenantStatisticsProducer tenantStatisticsProducer;
+
+    public TenantStatisticsSQLDefinitionsEnricher(TenantStatisticsProducer tenantStatisticsProducer) {
+        this.tenantStatisticsProducer = tenantStatisticsProducer;
+    }
+
+    public TenantStatisticsSQLDefinitionsEnricher() {
+        this(new TenantStatisticsProducer());
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableException, InvalidSharedSchemaContextRequestException {
+        Map<TableKey, ITenantStatisticsProperties> tenantStatisticsProperties = request.getTenantStatisticsProperties();
+        Set<TableKey> tableKeys = new LinkedHashSet<>();
+        if (request.isCreateTenantStatisticsInAllTables()) {
+            tableKeys.addAll(request.getTableColumnsList().keySet());
+        }
+        tableKeys.addAll(tenantStatisticsProperties.keySet());
+        tableKeys.removeAll(request.getTablesThatCreationOfTenantStatisticsShouldBeSkipped());
+        List<TenantStatisticsKind> kinds = request.getTenantStatisticsKinds() == null || request.getTenantStatisticsKinds().isEmpty() ? Arrays.asList(TenantStatisticsKind.values()) : request.getTenantStatisticsKinds().stream().sorted().collect(toList());
+        for (TableKey tableKey : tableKeys.stream().sorted(Comparator.comparing((TableKey key) -> String.valueOf(key.getSchema())).thenComparing(TableKey::getTable)).collect(toList())) {
+            ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+            if (tableColumns == null) {
+                throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+            }
+            ITenantStatisticsProperties properties = tenantStatisticsProperties.get(tableKey);
+            String tenantColumn = request.resolveTenantColumnByTableKey(tableKey);
+            List<String> columns = resolveColumns(request, tableKey, properties, tenantColumn);
+            if (columns.isEmpty()) {
+                continue;
+            }
+            String statisticsName = properties == null || properties.getStatisticsName() == null ? tableKey.getTable() + DEFAULT_STATISTICS_NAME_SUFFIX : properties.getStatisticsName();
+            context.addSQLDefinition(tenantStatisticsProducer.produce(DefaultTenantStatisticsProducerParameters.builder()
+                    .withStatisticsName(statisticsName)
+                    .withTableName(tableKey.getTable())
+                    .withTableSchema(tableKey.getSchema())
+                    .withTenantColumnName(tenantColumn)
+                    .withColumns(columns)
+                    .withKinds(kinds)
+                    .build()));
+        }
+        return context;
+    }
+
+    private List<String> resolveColumns(SharedSchemaContextRequest request, TableKey tableKey, ITenantStatisticsProperties properties, String tenantColumn) throws InvalidSharedSchemaContextRequestException {
+        Set<String> columns = new LinkedHashSet<>();
+        if (properties != null && properties.getColumns() != null) {
+            columns.addAll(properties.getColumns());
+        }
+        columns.remove(tenantColumn);
+        if (columns.size() > MAX_STATISTICS_COLUMNS - 1) {
+            throw new InvalidSharedSchemaContextRequestException(format("The statistics for table %1$s in schema %2$s can have at most %3$d columns besides the tenant column", tableKey.getTable(), tableKey.getSchema(), MAX_STATISTICS_COLUMNS - 1));
+        }
+        List<String> foreignKeyColumns = request.getSameTenantConstraintForForeignKeyProperties().keySet().stream()
+                .filter(key -> tableKey.equals(key.getMainTable()))
+                .flatMap(key -> key.getForeignKeyColumns().stream())
+                .filter(column -> !column.equals(tenantColumn))
+                .sorted()
+                .collect(toList());
+        for (String column : foreignKeyColumns) {
+            if (columns.size() >= MAX_STATISTICS_COLUMNS - 1) {
+                break;
+            }
+            columns.add(column);
+        }
+        return new ArrayList<>(columns);
+    }
+}
@@ -45,19 +45,58 @@ public class DatabaseOperationExecutor {
     private final Map<DatabaseOperationType, IDatabaseOperationsProcessor> operationsProcessorMap;
 
     public DatabaseOperationExecutor() {
-        this(prepareDatabaseOperationTypeIDatabaseOperationsProcessorMap());
+        this(BatchOperationsOptions.builder().build());
+    }
+
+    /**
+     * Creates executor for which the {@link DatabaseOperationType#BATCH_CREATE} and {@link DatabaseOperationType#BATCH_DROP} operations use passed options.
+     * @param batchOperationsOptions options of batch operations
+     * @since 0.8
+     */
+    public DatabaseOperationExecutor(BatchOperationsOptions batchOperationsOptions) {
+        this(batchOperationsOptions, ParallelOperationsOptions.builder().build());
+    }
+
+    /**
+     * Creates executor for which the batch operations ({@link DatabaseOperationType#BATCH_CREATE}, {@link DatabaseOperationType#BATCH_DROP})
+     * and parallel operations ({@link DatabaseOperationType#PARALLEL_CREATE}, {@link DatabaseOperationType#PARALLEL_DROP}) use passed options.
+     * @param batchOperationsOptions options of batch operations
+     * @param parallelOperationsOptions options of parallel operations
+     * @since 0.8
+     */
+    public DatabaseOperationExecutor(BatchOperationsOptions batchOperationsOptions, ParallelOperationsOptions parallelOperationsOptions) {
+        this(batchOperationsOptions, parallelOperationsOptions, OnlineOperationsOptions.builder().build());
+    }
+
+    /**
+     * Creates executor for which the batch operations ({@link DatabaseOperationType#BATCH_CREATE}, {@link DatabaseOperationType#BATCH_DROP}),
+     * parallel operations ({@link DatabaseOperationType#PARALLEL_CREATE}, {@link DatabaseOperationType#PARALLEL_DROP})
+     * and online operation ({@link DatabaseOperationType#ONLINE_CREATE}) use passed options.
+     * @param batchOperationsOptions options of batch operations
+     * @param parallelOperationsOptions options of parallel operations
+     * @param onlineOperationsOptions options of online operation
+     * @since 0.8
+     */
+    public DatabaseOperationExecutor(BatchOperationsOptions batchOperationsOptions, ParallelOperationsOptions parallelOperationsOptions, OnlineOperationsOptions onlineOperationsOptions) {
+        this(prepareDatabaseOperationTypeIDatabaseOperationsProcessorMap(batchOperationsOptions, parallelOperationsOptions, onlineOperationsOptions));
     }
 
     DatabaseOperationExecutor(Map<DatabaseOperationType, IDatabaseOperationsProcessor> operationsProcessorMap) {
         this.operationsProcessorMap = operationsProcessorMap;
     }
 
-    private static Map<DatabaseOperationType, IDatabaseOperationsProcessor> prepareDatabaseOperationTypeIDatabaseOperationsProcessorMap() {
+    private static Map<DatabaseOperationType, IDatabaseOperationsProcessor> prepareDatabaseOperationTypeIDatabaseOperationsProcessorMap(BatchOperationsOptions batchOperationsOptions, ParallelOperationsOptions parallelOperationsOptions, OnlineOperationsOptions onlineOperationsOptions) {
         Map<DatabaseOperationType, IDatabaseOperationsProcessor> result = new HashMap<>();
         result.put(CREATE, new CreateOperationsProcessor());
         result.put(VALIDATE, new ValidateOperationsProcessor());
         result.put(DROP, new DropOperationsProcessor());
         result.put(LOG_ALL, new DatabaseOperationsLoggerProcessor());
+        result.put(BATCH_CREATE, new BatchCreateOperationsProcessor(batchOperationsOptions));
+        result.put(BATCH_DROP, new BatchDropOperationsProcessor(batchOperationsOptions));
+        result.put(BULK_VALIDATE, new BulkValidateOperationsProcessor());
+        result.put(PARALLEL_CREATE, new ParallelCreateOperationsProcessor(parallelOperationsOptions));
+        result.put(PARALLEL_DROP, new ParallelDropOperationsProcessor(parallelOperationsOptions));
+        result.put(ONLINE_CREATE, new OnlineCreateOperationsProcessor(onlineOperationsOptions));
         return result;
     }
 
@@ -27,5 +27,35 @@ public enum DatabaseOperationType {
     CREATE,
     DROP,
     VALIDATE,
-    LOG_ALL
+    LOG_ALL,
+    /**
+     * Executes creation scripts in batches, in a single transaction.
+     * @since 0.8
+     */
+    BATCH_CREATE,
+    /**
+     * Executes drop scripts in batches, in a single transaction.
+     * @since 0.8
+     */
+    BATCH_DROP,
+    /**
+     * Executes validation scripts combined into a few queries.
+     * @since 0.8
+     */
+    BULK_VALIDATE,
+    /**
+     * Executes independent creation scripts concurrently.
+     * @since 0.8
+     */
+    PARALLEL_CREATE,
+    /**
+     * Executes independent drop scripts concurrently.
+     * @since 0.8
+     */
+    PARALLEL_DROP,
+    /**
+     * Executes creation scripts without holding long locks, the tenant column values for existing rows are set in batches.
+     * @since 0.8
+     */
+    ONLINE_CREATE
 }
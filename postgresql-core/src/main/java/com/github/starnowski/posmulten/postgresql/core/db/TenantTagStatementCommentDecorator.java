@@ -0,0 +1,82 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.SetCurrentTenantIdFunctionProducer.TENANT_TAG_PREFIX;
+
+/**
+ * Adds the comment with the tenant tag, for example "/* tenant=xds &#42;/ ", at the beginning of the SQL statement.
+ * The comment is visible in the "query" column of the "pg_stat_activity" view and in the server log, which allows to attribute
+ * the executed statements to tenants even when the statements are executed by a connection pool shared by all tenants.
+ * Note that the "pg_stat_statements" extension groups statements by the query identifier that ignores comments.
+ * All characters of the tenant identifier, except letters, digits and the "_", ".", ":", "@", "-" characters, are replaced with the "_" character,
+ * so the tenant identifier cannot close the comment or start a nested comment.
+ *
+ * @since 0.8
+ */
+public class TenantTagStatementCommentDecorator {
+
+    /**
+     * Returns the SQL statement with the comment that contains the tenant tag.
+     *
+     * @param statement SQL statement
+     * @param tenantIdentifier tenant identifier
+     * @return SQL statement with the tenant tag comment at the beginning
+     */
+    public String decorate(String statement, String tenantIdentifier) {
+        if (statement == null) {
+            throw new IllegalArgumentException("Statement cannot be null");
+        }
+        if (tenantIdentifier == null) {
+            throw new IllegalArgumentException("Tenant identifier cannot be null");
+        }
+        return "/* " + TENANT_TAG_PREFIX + sanitize(tenantIdentifier) + " */ " + statement;
+    }
+
+    /**
+     * Creates the prepared statement for the SQL statement with the comment that contains the tenant tag.
+     *
+     * @param connection database connection
+     * @param statement SQL statement
+     * @param tenantIdentifier tenant identifier
+     * @return prepared statement
+     * @throws SQLException when the connection fails to create the prepared statement
+     */
+    public PreparedStatement prepareStatement(Connection connection, String statement, String tenantIdentifier) throws SQLException {
+        return connection.prepareStatement(decorate(statement, tenantIdentifier));
+    }
+
+    private String sanitize(String tenantIdentifier) {
+        StringBuilder sb = new StringBuilder(tenantIdentifier.length());
+        for (char c : tenantIdentifier.toCharArray()) {
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '.' || c == ':' || c == '@' || c == '-';
+            sb.append(allowed ? c : '_');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.BatchOperationsException;
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.ValidationDatabaseOperationsException;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Database operation process that executes scripts in batches ({@link Statement#addBatch(String)}) with usage of single statement object.
+ * If the passed connection is in the auto-commit mode then all scripts are executed in a single transaction which is committed at the end of the operation
+ * or rolled back when any script fails. Otherwise, the transaction is managed by the caller.
+ * Each sql definition script should contain a single statement, some drivers do not allow executing of multiple statements in a batch.
+ * Scripts that can not be executed inside a transaction block, like "CREATE INDEX CONCURRENTLY", are not added to the batch
+ * (see {@link #isExecutedOutsideTransaction(String)}). Before such script, the transaction with all previous scripts is committed
+ * and the script is executed in the auto-commit mode, after that the remaining scripts are executed in a new transaction.
+ * That is why the operation is not atomic when there are such scripts, and it can not be executed with a connection
+ * for which the transaction is managed by the caller.
+ *
+ * @see BatchOperationsOptions
+ * @since 0.8
+ */
+public abstract class AbstractBatchOperationsProcessor implements IDatabaseOperationsProcessor {
+
+    private static final Pattern NON_TRANSACTIONAL_SCRIPT_PATTERN = Pattern.compile("^\\s*(CREATE\\s+(UNIQUE\\s+)?INDEX\\s+CONCURRENTLY|DROP\\s+INDEX\\s+CONCURRENTLY|REINDEX\\s+(\\(.*\\)\\s*)?\\w+\\s+CONCURRENTLY)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final BatchOperationsOptions options;
+
+    protected AbstractBatchOperationsProcessor(BatchOperationsOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+        this.options = options;
+    }
+
+    /**
+     * Executes scripts for dataSource object.
+     * Process attempts to establish a connection with the data source that this DataSource object represents.
+     * At the end of operation the established connection object is going to be closed.
+     * @param dataSource Datasource object
+     * @param sqlDefinitions list of sql definitions objects
+     * @throws SQLException
+     * @throws ValidationDatabaseOperationsException
+     */
+    @Override
+    public void run(DataSource dataSource, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
+        try (Connection connection = dataSource.getConnection()) {
+            this.run(connection, sqlDefinitions);
+        }
+    }
+
+    /**
+     * Executes scripts for passed connection object.
+     * @param connection Connection object
+     * @param sqlDefinitions list of sql definitions objects
+     * @throws BatchOperationsException when execution of any script failed
+     * @throws SQLException
+     * @throws ValidationDatabaseOperationsException
+     */
+    @Override
+    public void run(Connection connection, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
+        List<SQLDefinition> definitions = prepareDefinitionsInExecutionOrder(sqlDefinitions);
+        boolean manageTransaction = connection.getAutoCommit();
+        if (manageTransaction) {
+            connection.setAutoCommit(false);
+        }
+        try {
+            runBatches(connection, definitions, manageTransaction);
+        } finally {
+            if (manageTransaction) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void runBatches(Connection connection, List<SQLDefinition> definitions, boolean manageTransaction) throws SQLException {
+        if (!manageTransaction) {
+            for (int i = 0; i < definitions.size(); i++) {
+                String script = getScript(definitions.get(i));
+                if (isExecutedOutsideTransaction(script)) {
+                    throw new SQLException(String.format("Script \"%s\" for sql definition at position %d can not be executed inside a transaction block, the connection has to be in the auto-commit mode", script, i));
+                }
+            }
+        }
+        boolean rolledBack = false;
+        try (Statement statement = connection.createStatement()) {
+            int committedDefinitions = 0;
+            int segmentStart = 0;
+            while (segmentStart < definitions.size()) {
+                if (isExecutedOutsideTransaction(getScript(definitions.get(segmentStart)))) {
+                    connection.commit();
+                    rolledBack = true;
+                    executeOutsideTransaction(connection, statement, definitions.get(segmentStart), segmentStart);
+                    rolledBack = false;
+                    committedDefinitions = ++segmentStart;
+                    continue;
+                }
+                int segmentEnd = segmentStart;
+                while (segmentEnd < definitions.size() && !isExecutedOutsideTransaction(getScript(definitions.get(segmentEnd)))) {
+                    segmentEnd++;
+                }
+                int chunkSize = options.getChunkSize() == 0 ? segmentEnd - segmentStart : options.getChunkSize();
+                for (int chunkStart = segmentStart; chunkStart < segmentEnd; chunkStart += chunkSize) {
+                    List<SQLDefinition> chunk = definitions.subList(chunkStart, Math.min(segmentEnd, chunkStart + chunkSize));
+                    Savepoint savepoint = options.isSavepointPerChunk() ? connection.setSavepoint() : null;
+                    try {
+                        executeChunk(statement, chunk, chunkStart, savepoint == null ? committedDefinitions : chunkStart);
+                    } catch (SQLException ex) {
+                        rolledBack = true;
+                        if (savepoint != null) {
+                            connection.rollback(savepoint);
+                            if (manageTransaction) {
+                                connection.commit();
+                            }
+                        } else if (manageTransaction) {
+                            connection.rollback();
+                        }
+                        throw ex;
+                    }
+                    if (savepoint != null) {
+                        connection.releaseSavepoint(savepoint);
+                    }
+                }
+                segmentStart = segmentEnd;
+            }
+            if (manageTransaction) {
+                connection.commit();
+            }
+        } catch (SQLException ex) {
+            if (manageTransaction && !rolledBack) {
+                connection.rollback();
+            }
+            throw ex;
+        }
+    }
+
+    private void executeOutsideTransaction(Connection connection, Statement statement, SQLDefinition sqlDefinition, int index) throws SQLException {
+        String script = getScript(sqlDefinition);
+        connection.setAutoCommit(true);
+        try {
+            statement.execute(script);
+        } catch (SQLException ex) {
+            throw new BatchOperationsException(sqlDefinition, index, script, index, ex);
+        } finally {
+            connection.setAutoCommit(false);
+        }
+    }
+
+    private void executeChunk(Statement statement, List<SQLDefinition> chunk, int chunkStart, int numberOfAppliedDefinitions) throws SQLException {
+        try {
+            for (SQLDefinition sqlDefinition : chunk) {
+                statement.addBatch(getScript(sqlDefinition));
+            }
+            statement.executeBatch();
+        } catch (BatchUpdateException ex) {
+            int failedIndex = resolveFailedDefinitionIndex(ex.getUpdateCounts(), chunk.size());
+            SQLDefinition failedDefinition = chunk.get(failedIndex);
+            throw new BatchOperationsException(failedDefinition, chunkStart + failedIndex, getScript(failedDefinition), numberOfAppliedDefinitions, ex);
+        } finally {
+            statement.clearBatch();
+        }
+    }
+
+    private int resolveFailedDefinitionIndex(int[] updateCounts, int chunkSize) {
+        if (updateCounts == null) {
+            return 0;
+        }
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                return i;
+            }
+        }
+        return Math.min(updateCounts.length, chunkSize - 1);
+    }
+
+    /**
+     * Checks if the script can not be executed inside a transaction block and has to be executed in the auto-commit mode.
+     * By default, returns true for the "CREATE INDEX CONCURRENTLY", "DROP INDEX CONCURRENTLY" and "REINDEX ... CONCURRENTLY" statements.
+     * @param script script
+     * @return true if the script has to be executed outside the transaction block
+     */
+    protected boolean isExecutedOutsideTransaction(String script) {
+        return script != null && NON_TRANSACTIONAL_SCRIPT_PATTERN.matcher(script).find();
+    }
+
+    /**
+     * Returns sql definitions in order in which their scripts should be executed.
+     * @param sqlDefinitions list of sql definitions objects
+     * @return sql definitions in execution order
+     */
+    protected abstract List<SQLDefinition> prepareDefinitionsInExecutionOrder(List<SQLDefinition> sqlDefinitions);
+
+    /**
+     * Returns script that should be executed for sql definition.
+     * @param sqlDefinition sql definition object
+     * @return script
+     */
+    protected abstract String getScript(SQLDefinition sqlDefinition);
+
+    BatchOperationsOptions getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.ParallelOperationsException;
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.ValidationDatabaseOperationsException;
+import com.github.starnowski.posmulten.postgresql.core.db.operations.util.ScriptDependenciesResolver;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Database operation process that executes independent scripts concurrently.
+ * Dependencies between scripts are resolved by {@link ScriptDependenciesResolver}, the script is executed only after all scripts it depends on were executed.
+ * Scripts are executed by a bounded number of threads ({@link ParallelOperationsOptions#getParallelism()}), each thread uses its own connection
+ * obtained from the data source. Each script is executed in its own transaction (auto-commit mode).
+ * In case of failure, no new scripts are started except scripts that precede the failed one in execution order,
+ * so the reported sql definition is the same as the one that would fail during sequential execution.
+ * For the passed connection object, scripts are executed sequentially.
+ *
+ * @since 0.8
+ */
+public abstract class AbstractParallelOperationsProcessor implements IDatabaseOperationsProcessor {
+
+    private final ParallelOperationsOptions options;
+    private final ScriptDependenciesResolver scriptDependenciesResolver;
+
+    protected AbstractParallelOperationsProcessor(ParallelOperationsOptions options) {
+        this(options, new ScriptDependenciesResolver());
+    }
+
+    AbstractParallelOperationsProcessor(ParallelOperationsOptions options, ScriptDependenciesResolver scriptDependenciesResolver) {
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+        this.options = options;
+        this.scriptDependenciesResolver = scriptDependenciesResolver;
+    }
+
+    /**
+     * Executes scripts concurrently with usage of connections obtained from the dataSource object.
+     * At the end of operation all established connections are going to be closed.
+     * @param dataSource Datasource object
+     * @param sqlDefinitions list of sql definitions objects
+     * @throws ParallelOperationsException when execution of any script failed
+     * @throws SQLException
+     * @throws ValidationDatabaseOperationsException
+     */
+    @Override
+    public void run(DataSource dataSource, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
+        List<SQLDefinition> definitions = prepareDefinitionsInExecutionOrder(sqlDefinitions);
+        List<String> scripts = definitions.stream().map(this::getScript).collect(toList());
+        List<Set<Integer>> dependencies = scriptDependenciesResolver.resolve(scripts);
+        int[] remainingDependencies = new int[scripts.size()];
+        List<List<Integer>> dependents = new ArrayList<>();
+        for (int i = 0; i < scripts.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < scripts.size(); i++) {
+            remainingDependencies[i] = dependencies.get(i).size();
+            for (Integer dependency : dependencies.get(i)) {
+                dependents.get(dependency).add(i);
+            }
+        }
+        List<Connection> openedConnections = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<Connection> threadConnection = new ThreadLocal<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(options.getParallelism());
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(executorService);
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        TreeMap<Integer, SQLException> failures = new TreeMap<>();
+        for (int i = 0; i < scripts.size(); i++) {
+            if (remainingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+        try {
+            int running = 0;
+            while (true) {
+                while (!ready.isEmpty() && (failures.isEmpty() || ready.peek() < failures.firstKey())) {
+                    int index = ready.poll();
+                    completionService.submit(() -> {
+                        try {
+                            executeScript(resolveConnection(dataSource, threadConnection, openedConnections), scripts.get(index));
+                        } catch (SQLException ex) {
+                            throw new ScriptExecutionFailure(index, ex);
+                        } catch (RuntimeException ex) {
+                            throw new ScriptExecutionFailure(index, new SQLException("Execution of script failed", ex));
+                        }
+                        return index;
+                    });
+                    running++;
+                }
+                if (running == 0) {
+                    break;
+                }
+                Future<Integer> future = completionService.take();
+                running--;
+                try {
+                    int index = future.get();
+                    for (Integer dependent : dependents.get(index)) {
+                        if (--remainingDependencies[dependent] == 0) {
+                            ready.add(dependent);
+                        }
+                    }
+                } catch (ExecutionException ex) {
+                    if (!(ex.getCause() instanceof ScriptExecutionFailure)) {
+                        throw new SQLException("Execution of script failed", ex.getCause());
+                    }
+                    ScriptExecutionFailure failure = (ScriptExecutionFailure) ex.getCause();
+                    failures.put(failure.index, failure.cause);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Execution of scripts was interrupted", ex);
+        } finally {
+            executorService.shutdownNow();
+            closeConnections(openedConnections);
+        }
+        if (!failures.isEmpty()) {
+            Map.Entry<Integer, SQLException> first = failures.firstEntry();
+            ParallelOperationsException exception = new ParallelOperationsException(definitions.get(first.getKey()), first.getKey(), scripts.get(first.getKey()), first.getValue());
+            failures.tailMap(first.getKey(), false).values().forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    /**
+     * Executes scripts sequentially for passed connection object.
+     * @param connection Connection object
+     * @param sqlDefinitions list of sql definitions objects
+     * @throws ParallelOperationsException when execution of any script failed
+     * @throws SQLException
+     * @throws ValidationDatabaseOperationsException
+     */
+    @Override
+    public void run(Connection connection, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
+        List<SQLDefinition> definitions = prepareDefinitionsInExecutionOrder(sqlDefinitions);
+        for (int i = 0; i < definitions.size(); i++) {
+            String script = getScript(definitions.get(i));
+            try {
+                executeScript(connection, script);
+            } catch (SQLException ex) {
+                throw new ParallelOperationsException(definitions.get(i), i, script, ex);
+            }
+        }
+    }
+
+    private Connection resolveConnection(DataSource dataSource, ThreadLocal<Connection> threadConnection, List<Connection> openedConnections) throws SQLException {
+        Connection connection = threadConnection.get();
+        if (connection == null) {
+            connection = dataSource.getConnection();
+            openedConnections.add(connection);
+            threadConnection.set(connection);
+        }
+        return connection;
+    }
+
+    private void executeScript(Connection connection, String script) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(script);
+        }
+    }
+
+    private void closeConnections(List<Connection> connections) throws SQLException {
+        SQLException exception = null;
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                if (exception == null) {
+                    exception = ex;
+                } else {
+                    exception.addSuppressed(ex);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns sql definitions in order in which their scripts should be executed sequentially.
+     * @param sqlDefinitions list of sql definitions objects
+     * @return sql definitions in execution order
+     */
+    protected abstract List<SQLDefinition> prepareDefinitionsInExecutionOrder(List<SQLDefinition> sqlDefinitions);
+
+    /**
+     * Returns script that should be executed for sql definition.
+     * @param sqlDefinition sql definition object
+     * @return script
+     */
+    protected abstract String getScript(SQLDefinition sqlDefinition);
+
+    ParallelOperationsOptions getOptions() {
+        return options;
+    }
+
+    private static class ScriptExecutionFailure extends Exception {
+        private final int index;
+        private final SQLException cause;
+
+        ScriptExecutionFailure(int index, SQLException cause) {
+            super(cause);
+            this.index = index;
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+/**
+ * Options of database operation processes that execute scripts in batches ({@link AbstractBatchOperationsProcessor}).
+ *
+ * @since 0.8
+ */
+public class BatchOperationsOptions {
+
+    /**
+     * Number of scripts executed in a single batch. If the value is equal to zero then all scripts are executed in a single batch.
+     */
+    private final int chunkSize;
+    /**
+     * The toggle, based on which the savepoint is created before each batch (true) or not (false).
+     * When the batch fails, the transaction is rolled back to the savepoint, so the changes applied by the previous batches are committed.
+     * When the savepoints are not used and the batch fails, the whole transaction is rolled back.
+     */
+    private final boolean savepointPerChunk;
+
+    public BatchOperationsOptions(int chunkSize, boolean savepointPerChunk) {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Chunk size cannot be negative");
+        }
+        this.chunkSize = chunkSize;
+        this.savepointPerChunk = savepointPerChunk;
+    }
+
+    public static BatchOperationsOptionsBuilder builder() {
+        return new BatchOperationsOptionsBuilder();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public boolean isSavepointPerChunk() {
+        return savepointPerChunk;
+    }
+
+    public static class BatchOperationsOptionsBuilder {
+        private int chunkSize;
+        private boolean savepointPerChunk;
+
+        public BatchOperationsOptionsBuilder withChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public BatchOperationsOptionsBuilder withSavepointPerChunk(boolean savepointPerChunk) {
+            this.savepointPerChunk = savepointPerChunk;
+            return this;
+        }
+
+        public BatchOperationsOptions build() {
+            return new BatchOperationsOptions(chunkSize, savepointPerChunk);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.db.operations.util.SQLUtil;
+import com.github.starnowski.posmulten.postgresql.core.util.Pair;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Database operation process that executes validation scripts combined into a few queries.
+ * Distinct checking statements are grouped into chunks and each chunk is executed as a single query that returns the results
+ * of all statements as columns of one row, so all statements from the chunk are evaluated in one round trip and for the same snapshot of the catalog.
+ * When the combined query fails, for example because some checking statement does not return a single value, the statements from the chunk
+ * are executed one by one.
+ * The process returns the same failed checks as {@link ValidateOperationsProcessor}.
+ *
+ * @since 0.8
+ */
+public class BulkValidateOperationsProcessor extends ValidateOperationsProcessor {
+
+    /**
+     * Default number of checking statements combined into a single query.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final int chunkSize;
+
+    public BulkValidateOperationsProcessor() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkValidateOperationsProcessor(int chunkSize) {
+        this(new SQLUtil(), chunkSize);
+    }
+
+    BulkValidateOperationsProcessor(SQLUtil sqlUtil, int chunkSize) {
+        super(sqlUtil);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected LinkedHashMap<String, Set<String>> runValidation(List<SQLDefinition> sqlDefinitions, Connection connection) {
+        List<Pair<String, String>> checks = sqlDefinitions.stream().flatMap(definition -> definition.getCheckingStatements().stream().map(cs -> new Pair<String, String>(definition.getCreateScript(), cs)))
+                .collect(Collectors.toList());
+        List<String> distinctStatements = new ArrayList<>(checks.stream().map(Pair::getValue).collect(Collectors.toCollection(LinkedHashSet::new)));
+        Map<String, Long> results = new HashMap<>();
+        try {
+            for (int chunkStart = 0; chunkStart < distinctStatements.size(); chunkStart += chunkSize) {
+                List<String> chunk = distinctStatements.subList(chunkStart, Math.min(distinctStatements.size(), chunkStart + chunkSize));
+                long[] chunkResults = resolveChunkResults(connection, chunk);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.put(chunk.get(i), chunkResults[i]);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        LinkedHashMap<String, Set<String>> failedChecks = new LinkedHashMap<>();
+        checks.stream().filter(check -> results.get(check.getValue()) <= 0)
+                .forEach(check -> failedChecks.computeIfAbsent(check.getKey(), key -> new HashSet<>()).add(check.getValue()));
+        return failedChecks;
+    }
+
+    private long[] resolveChunkResults(Connection connection, List<String> chunk) throws SQLException {
+        if (chunk.size() > 1) {
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try {
+                long[] results = getSqlUtil().returnLongResultsForQuery(connection, prepareCombinedQuery(chunk), chunk.size());
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return results;
+            } catch (SQLException ex) {
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                    connection.releaseSavepoint(savepoint);
+                }
+            }
+        }
+        long[] results = new long[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            results[i] = getSqlUtil().returnLongResultForQuery(connection, chunk.get(i));
+        }
+        return results;
+    }
+
+    String prepareCombinedQuery(List<String> statements) {
+        return statements.stream().map(statement -> "(" + removeTrailingSemicolon(statement) + ")").collect(Collectors.joining(", ", "SELECT ", ""));
+    }
+
+    private String removeTrailingSemicolon(String statement) {
+        String result = statement.trim();
+        while (result.endsWith(";")) {
+            result = result.substring(0, result.length() - 1).trim();
+        }
+        return result;
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+}
@@ -61,9 +61,10 @@ public class CreateOperationsProcessor implements IDatabaseOperationsProcessor {
      */
     @Override
     public void run(Connection connection, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
-        for (SQLDefinition sqlDefinition : sqlDefinitions) {
-            Statement statement = connection.createStatement();
-            statement.execute(sqlDefinition.getCreateScript());
+        try (Statement statement = connection.createStatement()) {
+            for (SQLDefinition sqlDefinition : sqlDefinitions) {
+                statement.execute(sqlDefinition.getCreateScript());
+            }
         }
     }
 }
@@ -64,9 +64,10 @@ public class DropOperationsProcessor implements IDatabaseOperationsProcessor {
     public void run(Connection connection, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
         LinkedList<SQLDefinition> stack = new LinkedList<>();
         sqlDefinitions.forEach(stack::push);
-        for (SQLDefinition sqlDefinition : stack) {
-            Statement statement = connection.createStatement();
-            statement.execute(sqlDefinition.getDropScript());
+        try (Statement statement = connection.createStatement()) {
+            for (SQLDefinition sqlDefinition : stack) {
+                statement.execute(sqlDefinition.getDropScript());
+            }
         }
     }
 }
@@ -0,0 +1,66 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Component that stores the progress of the tenant column backfill, which allows to resume the interrupted backfill.
+ * The key values are passed as text.
+ *
+ * @since 0.8
+ */
+public interface ITenantColumnBackfillCheckpointStore {
+
+    /**
+     * Returns the last key processed by the backfill.
+     * @param connection connection object
+     * @param backfillId identifier of the backfill (schema, table and tenant column)
+     * @return list of the key columns values, null when there is no checkpoint for the backfill
+     * @throws SQLException
+     */
+    List<String> loadLastKey(Connection connection, String backfillId) throws SQLException;
+
+    /**
+     * Saves the last key processed by the backfill.
+     * The method is invoked in the same transaction in which the batch is executed.
+     * @param connection connection object
+     * @param backfillId identifier of the backfill (schema, table and tenant column)
+     * @param lastKey list of the key columns values
+     * @param updatedRows number of rows updated by the batch
+     * @throws SQLException
+     */
+    void saveLastKey(Connection connection, String backfillId, List<String> lastKey, long updatedRows) throws SQLException;
+
+    /**
+     * Removes the checkpoint of the completed backfill, so the next backfill with the same identifier starts from the first row.
+     * The method is invoked in the same transaction in which the last batch is executed.
+     * @param connection connection object
+     * @param backfillId identifier of the backfill (schema, table and tenant column)
+     * @throws SQLException
+     */
+    void clearLastKey(Connection connection, String backfillId) throws SQLException;
+}
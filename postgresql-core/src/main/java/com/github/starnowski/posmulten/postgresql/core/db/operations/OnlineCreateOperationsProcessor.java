@@ -0,0 +1,267 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.TenantColumnBackfillSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.ValidationDatabaseOperationsException;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Database operation process that executes creation scripts on a live database without holding long locks.
+ * Each script is executed and committed separately.
+ * For the {@link TenantColumnBackfillSQLDefinition} definitions, instead of the create script that updates all rows in a single statement,
+ * the tenant column values are set in batches of rows ordered by the key columns (keyset pagination).
+ * Each batch is executed in a separate transaction, together with saving of the checkpoint
+ * (when the {@link OnlineOperationsOptions#getCheckpointStore()} is specified), so the interrupted backfill can be resumed from the last committed batch.
+ * The checkpoint is removed in the transaction of the last batch, so the completed backfill executed again starts from the first row.
+ * The passed connection object is switched to the auto-commit mode during the operation, which commits any pending transaction,
+ * and at the end the previous mode is restored.
+ *
+ * @since 0.8
+ */
+public class OnlineCreateOperationsProcessor implements IDatabaseOperationsProcessor {
+
+    private final Logger logger = Logger.getLogger(OnlineCreateOperationsProcessor.class.getName());
+    private final OnlineOperationsOptions options;
+
+    public OnlineCreateOperationsProcessor() {
+        this(OnlineOperationsOptions.builder().build());
+    }
+
+    public OnlineCreateOperationsProcessor(OnlineOperationsOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+        this.options = options;
+    }
+
+    /**
+     * Executes creation scripts for dataSource object.
+     * Process attempts to establish a connection with the data source that this DataSource object represents.
+     * At the end of operation the established connection object is going to be closed.
+     * @param dataSource Datasource object
+     * @param sqlDefinitions list of sql definitions objects
+     * @throws SQLException
+     * @throws ValidationDatabaseOperationsException
+     */
+    @Override
+    public void run(DataSource dataSource, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
+        try (Connection connection = dataSource.getConnection()) {
+            this.run(connection, sqlDefinitions);
+        }
+    }
+
+    /**
+     * Executes creation scripts for passed connection object.
+     * @param connection Connection object
+     * @param sqlDefinitions list of sql definitions objects
+     * @throws SQLException
+     * @throws ValidationDatabaseOperationsException
+     */
+    @Override
+    public void run(Connection connection, List<SQLDefinition> sqlDefinitions) throws SQLException, ValidationDatabaseOperationsException {
+        boolean autoCommit = connection.getAutoCommit();
+        String previousLockTimeout = null;
+        connection.setAutoCommit(true);
+        try {
+            if (options.getLockTimeoutMillis() > 0) {
+                previousLockTimeout = returnSingleValue(connection, "SHOW lock_timeout");
+                execute(connection, "SET lock_timeout = " + options.getLockTimeoutMillis());
+            }
+            for (SQLDefinition sqlDefinition : sqlDefinitions) {
+                if (sqlDefinition instanceof TenantColumnBackfillSQLDefinition) {
+                    backfill(connection, (TenantColumnBackfillSQLDefinition) sqlDefinition);
+                } else {
+                    execute(connection, sqlDefinition.getCreateScript());
+                }
+            }
+        } finally {
+            if (previousLockTimeout != null) {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT set_config('lock_timeout', ?, false)")) {
+                    statement.setString(1, previousLockTimeout);
+                    statement.execute();
+                }
+            }
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void backfill(Connection connection, TenantColumnBackfillSQLDefinition definition) throws SQLException {
+        String backfillId = prepareBackfillId(definition);
+        ITenantColumnBackfillCheckpointStore checkpointStore = options.getCheckpointStore();
+        List<String> lastKey = checkpointStore == null ? null : checkpointStore.loadLastKey(connection, backfillId);
+        long updatedRows = 0;
+        while (true) {
+            List<String> upperBound = selectUpperBound(connection, prepareUpperBoundQuery(definition, lastKey != null), lastKey, definition.getKeyColumnNameAndTypeMap().size());
+            connection.setAutoCommit(false);
+            int batchUpdatedRows;
+            try {
+                batchUpdatedRows = executeUpdate(connection, prepareUpdateStatement(definition, lastKey != null, upperBound != null), lastKey, upperBound);
+                if (checkpointStore != null) {
+                    if (upperBound != null) {
+                        checkpointStore.saveLastKey(connection, backfillId, upperBound, batchUpdatedRows);
+                    } else {
+                        checkpointStore.clearLastKey(connection, backfillId);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            updatedRows += batchUpdatedRows;
+            logger.fine(String.format("Backfill %1$s updated %2$d rows, %3$d in total", backfillId, batchUpdatedRows, updatedRows));
+            if (upperBound == null) {
+                break;
+            }
+            lastKey = upperBound;
+            pause();
+        }
+        logger.info(String.format("Backfill %1$s completed, updated %2$d rows", backfillId, updatedRows));
+    }
+
+    String prepareBackfillId(TenantColumnBackfillSQLDefinition definition) {
+        return (definition.getTableSchema() == null ? "" : definition.getTableSchema() + ".") + definition.getTableName() + "." + definition.getTenantColumnName();
+    }
+
+    String prepareUpperBoundQuery(TenantColumnBackfillSQLDefinition definition, boolean withLowerBound) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ");
+        sb.append(definition.getKeyColumnNameAndTypeMap().keySet().stream().map(column -> "CAST(" + column + " AS text)").collect(joining(", ")));
+        sb.append(" FROM ");
+        sb.append(prepareTableReference(definition));
+        if (withLowerBound) {
+            sb.append(" WHERE ");
+            sb.append(prepareKeyComparison(definition, ">"));
+        }
+        sb.append(" ORDER BY ");
+        sb.append(String.join(", ", definition.getKeyColumnNameAndTypeMap().keySet()));
+        sb.append(" LIMIT 1 OFFSET ");
+        sb.append(options.getBackfillBatchSize() - 1);
+        return sb.toString();
+    }
+
+    String prepareUpdateStatement(TenantColumnBackfillSQLDefinition definition, boolean withLowerBound, boolean withUpperBound) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("UPDATE ");
+        sb.append(prepareTableReference(definition));
+        sb.append(" SET ");
+        sb.append(definition.getTenantColumnName());
+        sb.append(" = (");
+        sb.append(definition.getTenantValueQuery());
+        sb.append(") WHERE ");
+        sb.append(definition.getTenantColumnName());
+        sb.append(" IS NULL");
+        if (withLowerBound) {
+            sb.append(" AND ");
+            sb.append(prepareKeyComparison(definition, ">"));
+        }
+        if (withUpperBound) {
+            sb.append(" AND ");
+            sb.append(prepareKeyComparison(definition, "<="));
+        }
+        return sb.toString();
+    }
+
+    void pause() throws SQLException {
+        if (options.getPauseBetweenBatchesMillis() > 0) {
+            try {
+                Thread.sleep(options.getPauseBetweenBatchesMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Backfill was interrupted", e);
+            }
+        }
+    }
+
+    OnlineOperationsOptions getOptions() {
+        return options;
+    }
+
+    private String prepareKeyComparison(TenantColumnBackfillSQLDefinition definition, String operator) {
+        return "(" + String.join(", ", definition.getKeyColumnNameAndTypeMap().keySet()) + ") " + operator + " (" +
+                definition.getKeyColumnNameAndTypeMap().values().stream().map(type -> "CAST(? AS " + type + ")").collect(joining(", ")) + ")";
+    }
+
+    private String prepareTableReference(TenantColumnBackfillSQLDefinition definition) {
+        return definition.getTableSchema() == null ? "\"" + definition.getTableName() + "\"" : "\"" + definition.getTableSchema() + "\".\"" + definition.getTableName() + "\"";
+    }
+
+    private List<String> selectUpperBound(Connection connection, String query, List<String> lastKey, int keyColumnsCount) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            setKeyParameters(statement, 1, lastKey);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                List<String> result = new ArrayList<>();
+                for (int i = 1; i <= keyColumnsCount; i++) {
+                    result.add(resultSet.getString(i));
+                }
+                return result;
+            }
+        }
+    }
+
+    private int executeUpdate(Connection connection, String sql, List<String> lowerBound, List<String> upperBound) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = setKeyParameters(statement, 1, lowerBound);
+            setKeyParameters(statement, index, upperBound);
+            return statement.executeUpdate();
+        }
+    }
+
+    private int setKeyParameters(PreparedStatement statement, int startIndex, List<String> key) throws SQLException {
+        int index = startIndex;
+        if (key != null) {
+            for (String value : key) {
+                statement.setString(index++, value);
+            }
+        }
+        return index;
+    }
+
+    private String returnSingleValue(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+/**
+ * Options of database operation process that executes scripts without holding long locks ({@link OnlineCreateOperationsProcessor}).
+ *
+ * @since 0.8
+ */
+public class OnlineOperationsOptions {
+
+    public static final int DEFAULT_BACKFILL_BATCH_SIZE = 1000;
+
+    /**
+     * Number of rows for which the tenant column values are set in a single transaction.
+     */
+    private final int backfillBatchSize;
+    /**
+     * Time in milliseconds for which the process waits after each batch, so that the database is not overloaded. Zero means no pause.
+     */
+    private final long pauseBetweenBatchesMillis;
+    /**
+     * Maximum time in milliseconds for which the statement waits for a lock (the "lock_timeout" setting).
+     * When the lock can not be acquired in this time, the statement fails instead of blocking other queries.
+     * Zero means that the setting is not changed.
+     */
+    private final long lockTimeoutMillis;
+    /**
+     * Component that stores the last processed key of the backfill in the same transaction as the batch,
+     * so that the interrupted backfill can be resumed. Can be null, then each backfill starts from the beginning of the table.
+     */
+    private final ITenantColumnBackfillCheckpointStore checkpointStore;
+
+    public OnlineOperationsOptions(int backfillBatchSize, long pauseBetweenBatchesMillis, long lockTimeoutMillis, ITenantColumnBackfillCheckpointStore checkpointStore) {
+        if (backfillBatchSize <= 0) {
+            throw new IllegalArgumentException("Backfill batch size must be greater than zero");
+        }
+        if (pauseBetweenBatchesMillis < 0) {
+            throw new IllegalArgumentException("Pause between batches cannot be negative");
+        }
+        if (lockTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Lock timeout cannot be negative");
+        }
+        this.backfillBatchSize = backfillBatchSize;
+        this.pauseBetweenBatchesMillis = pauseBetweenBatchesMillis;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.checkpointStore = checkpointStore;
+    }
+
+    public static OnlineOperationsOptionsBuilder builder() {
+        return new OnlineOperationsOptionsBuilder();
+    }
+
+    public int getBackfillBatchSize() {
+        return backfillBatchSize;
+    }
+
+    public long getPauseBetweenBatchesMillis() {
+        return pauseBetweenBatchesMillis;
+    }
+
+    public long getLockTimeoutMillis() {
+        return lockTimeoutMillis;
+    }
+
+    public ITenantColumnBackfillCheckpointStore getCheckpointStore() {
+        return checkpointStore;
+    }
+
+    public static class OnlineOperationsOptionsBuilder {
+        private int backfillBatchSize = DEFAULT_BACKFILL_BATCH_SIZE;
+        private long pauseBetweenBatchesMillis;
+        private long lockTimeoutMillis;
+        private ITenantColumnBackfillCheckpointStore checkpointStore;
+
+        public OnlineOperationsOptionsBuilder withBackfillBatchSize(int backfillBatchSize) {
+            this.backfillBatchSize = backfillBatchSize;
+            return this;
+        }
+
+        public OnlineOperationsOptionsBuilder withPauseBetweenBatchesMillis(long pauseBetweenBatchesMillis) {
+            this.pauseBetweenBatchesMillis = pauseBetweenBatchesMillis;
+            return this;
+        }
+
+        public OnlineOperationsOptionsBuilder withLockTimeoutMillis(long lockTimeoutMillis) {
+            this.lockTimeoutMillis = lockTimeoutMillis;
+            return this;
+        }
+
+        public OnlineOperationsOptionsBuilder withCheckpointStore(ITenantColumnBackfillCheckpointStore checkpointStore) {
+            this.checkpointStore = checkpointStore;
+            return this;
+        }
+
+        public OnlineOperationsOptions build() {
+            return new OnlineOperationsOptions(backfillBatchSize, pauseBetweenBatchesMillis, lockTimeoutMillis, checkpointStore);
+        }
+    }
+}
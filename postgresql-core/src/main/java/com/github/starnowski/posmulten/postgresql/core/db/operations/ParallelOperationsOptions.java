@@ -0,0 +1,70 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+/**
+ * Options of database operation processes that execute independent scripts concurrently ({@link AbstractParallelOperationsProcessor}).
+ *
+ * @since 0.8
+ */
+public class ParallelOperationsOptions {
+
+    /**
+     * Default number of threads (and connections) used to execute scripts.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * Number of threads that execute scripts, each thread uses its own connection.
+     */
+    private final int parallelism;
+
+    public ParallelOperationsOptions(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public static ParallelOperationsOptionsBuilder builder() {
+        return new ParallelOperationsOptionsBuilder();
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public static class ParallelOperationsOptionsBuilder {
+        private int parallelism = DEFAULT_PARALLELISM;
+
+        public ParallelOperationsOptionsBuilder withParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public ParallelOperationsOptions build() {
+            return new ParallelOperationsOptions(parallelism);
+        }
+    }
+}
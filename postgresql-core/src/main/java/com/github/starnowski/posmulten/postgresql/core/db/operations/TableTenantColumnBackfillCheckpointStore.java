@@ -0,0 +1,99 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations;
+
+import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementation of {@link ITenantColumnBackfillCheckpointStore} that stores the progress in a database table.
+ * The table is created when it does not exist.
+ *
+ * @since 0.8
+ */
+public class TableTenantColumnBackfillCheckpointStore implements ITenantColumnBackfillCheckpointStore {
+
+    public static final String DEFAULT_TABLE_NAME = "posmulten_backfill_checkpoints";
+
+    private final String tableReference;
+
+    public TableTenantColumnBackfillCheckpointStore() {
+        this(null, DEFAULT_TABLE_NAME);
+    }
+
+    public TableTenantColumnBackfillCheckpointStore(String schema, String table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (table.trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be blank");
+        }
+        this.tableReference = schema == null ? "\"" + table + "\"" : "\"" + schema + "\".\"" + table + "\"";
+    }
+
+    @Override
+    public List<String> loadLastKey(Connection connection, String backfillId) throws SQLException {
+        createTableIfNotExists(connection);
+        try (PreparedStatement statement = connection.prepareStatement("SELECT last_key FROM " + tableReference + " WHERE backfill_id = ?")) {
+            statement.setString(1, backfillId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                Array array = resultSet.getArray(1);
+                return Arrays.asList((String[]) array.getArray());
+            }
+        }
+    }
+
+    @Override
+    public void saveLastKey(Connection connection, String backfillId, List<String> lastKey, long updatedRows) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + tableReference + " (backfill_id, last_key, updated_rows, modified_at) VALUES (?, ?, ?, now()) " +
+                "ON CONFLICT (backfill_id) DO UPDATE SET last_key = EXCLUDED.last_key, updated_rows = " + tableReference + ".updated_rows + EXCLUDED.updated_rows, modified_at = EXCLUDED.modified_at")) {
+            statement.setString(1, backfillId);
+            statement.setArray(2, connection.createArrayOf("text", lastKey.toArray()));
+            statement.setLong(3, updatedRows);
+            statement.executeUpdate();
+        }
+    }
+
+    @Override
+    public void clearLastKey(Connection connection, String backfillId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + tableReference + " WHERE backfill_id = ?")) {
+            statement.setString(1, backfillId);
+            statement.executeUpdate();
+        }
+    }
+
+        String getTableReference() {
+        return tableReference;
+    }
+
+    private void createTableIfNotExists(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + tableReference + " (backfill_id text PRIMARY KEY, last_key text[] NOT NULL, updated_rows bigint NOT NULL, modified_at timestamp NOT NULL)");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions;
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Exception thrown when the execution of the script for the sql definition failed during parallel operation.
+ * The exception reports the first sql definition, in order of execution, that failed.
+ * Failures of other sql definitions, executed concurrently, are added as suppressed exceptions.
+ *
+ * @since 0.8
+ */
+public class ParallelOperationsException extends SQLException {
+
+    private final SQLDefinition failedDefinition;
+    private final int failedDefinitionIndex;
+    private final String failedScript;
+
+    public ParallelOperationsException(SQLDefinition failedDefinition, int failedDefinitionIndex, String failedScript, SQLException cause) {
+        super(String.format("Failed to execute script \"%s\" for sql definition at position %d", failedScript, failedDefinitionIndex), cause.getSQLState(), cause.getErrorCode(), cause);
+        this.failedDefinition = failedDefinition;
+        this.failedDefinitionIndex = failedDefinitionIndex;
+        this.failedScript = failedScript;
+    }
+
+    /**
+     * @return sql definition for which the script failed
+     */
+    public SQLDefinition getFailedDefinition() {
+        return failedDefinition;
+    }
+
+    /**
+     * @return position of the failed sql definition in the order of execution, starting from zero
+     */
+    public int getFailedDefinitionIndex() {
+        return failedDefinitionIndex;
+    }
+
+    /**
+     * @return script that failed
+     */
+    public String getFailedScript() {
+        return failedScript;
+    }
+}
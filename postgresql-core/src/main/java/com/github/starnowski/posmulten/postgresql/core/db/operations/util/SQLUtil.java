@@ -31,9 +31,29 @@ import java.sql.SQLException;
 public class SQLUtil {
 
     public long returnLongResultForQuery(Connection connection, String query) throws SQLException {
-        PreparedStatement statement = connection.prepareStatement(query);
-        ResultSet rs = statement.executeQuery();
-        rs.next();
-        return rs.getLong(1);
+        try (PreparedStatement statement = connection.prepareStatement(query); ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Returns long values of the first row columns for the query.
+     * @param connection connection object
+     * @param query query
+     * @param numberOfColumns number of columns returned by query
+     * @return values of columns in order of their position
+     * @throws SQLException
+     * @since 0.8
+     */
+    public long[] returnLongResultsForQuery(Connection connection, String query, int numberOfColumns) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query); ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            long[] results = new long[numberOfColumns];
+            for (int i = 0; i < numberOfColumns; i++) {
+                results[i] = rs.getLong(i + 1);
+            }
+            return results;
+        }
     }
 }
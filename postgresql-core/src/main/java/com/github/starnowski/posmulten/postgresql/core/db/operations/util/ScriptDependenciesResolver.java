@@ -0,0 +1,114 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.db.operations.util;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves dependencies between scripts that are going to be executed in order.
+ * The script depends on earlier scripts that reference the same table (the table name is compared without schema and quotes).
+ * Scripts that create or drop functions, anonymous code blocks, statements for all tables in schema and scripts for which no table could be found
+ * are treated as barriers, this means that they depend on all earlier scripts and all later scripts depend on them.
+ * The resolution is conservative, when two scripts reference the same name in any position, they are executed in order.
+ *
+ * @since 0.8
+ */
+public class ScriptDependenciesResolver {
+
+    private static final String IDENTIFIER = "((?:\"[^\"]+\"|[\\w$]+)(?:\\s*\\.\\s*(?:\"[^\"]+\"|[\\w$]+))*)";
+    private static final List<Pattern> TABLE_REFERENCE_PATTERNS = Collections.unmodifiableList(Arrays.asList(
+            Pattern.compile("\\bTABLE\\s+(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?(?:ONLY\\s+)?" + IDENTIFIER, Pattern.CASE_INSENSITIVE),
+            Pattern.compile("\\bON\\s+(?:ONLY\\s+)?" + IDENTIFIER, Pattern.CASE_INSENSITIVE),
+            Pattern.compile("\\bREFERENCES\\s+" + IDENTIFIER, Pattern.CASE_INSENSITIVE),
+            Pattern.compile("\\bPARTITION\\s+OF\\s+" + IDENTIFIER, Pattern.CASE_INSENSITIVE),
+            Pattern.compile("\\bFROM\\s+" + IDENTIFIER, Pattern.CASE_INSENSITIVE),
+            Pattern.compile("\\bINTO\\s+" + IDENTIFIER, Pattern.CASE_INSENSITIVE),
+            Pattern.compile("\\bUPDATE\\s+" + IDENTIFIER, Pattern.CASE_INSENSITIVE),
+            Pattern.compile("\\bJOIN\\s+" + IDENTIFIER, Pattern.CASE_INSENSITIVE)));
+    private static final Pattern BARRIER_PATTERN = Pattern.compile("^\\s*(?:CREATE\\s+(?:OR\\s+REPLACE\\s+)?FUNCTION|DROP\\s+FUNCTION|DO\\b)", Pattern.CASE_INSENSITIVE);
+    private static final String ALL_TABLES_KEY = "all";
+
+    /**
+     * Returns direct dependencies for each script.
+     * @param scripts scripts in execution order
+     * @return list that for each script (on the same position) contains indexes of earlier scripts that have to be executed before it
+     */
+    public List<Set<Integer>> resolve(List<String> scripts) {
+        List<Set<Integer>> results = new ArrayList<>();
+        Map<String, Integer> lastScriptForTable = new HashMap<>();
+        Integer lastBarrier = null;
+        for (int i = 0; i < scripts.size(); i++) {
+            Set<Integer> dependencies = new TreeSet<>();
+            Set<String> tables = resolveTables(scripts.get(i));
+            if (tables.isEmpty()) {
+                for (int j = lastBarrier == null ? 0 : lastBarrier; j < i; j++) {
+                    dependencies.add(j);
+                }
+                lastBarrier = i;
+                lastScriptForTable.clear();
+            } else {
+                if (lastBarrier != null) {
+                    dependencies.add(lastBarrier);
+                }
+                for (String table : tables) {
+                    Integer previous = lastScriptForTable.put(table, i);
+                    if (previous != null) {
+                        dependencies.add(previous);
+                    }
+                }
+            }
+            results.add(dependencies);
+        }
+        return results;
+    }
+
+    /**
+     * Returns names of tables referenced by script.
+     * @param script script
+     * @return names of tables, empty set when the script should be treated as barrier
+     */
+    Set<String> resolveTables(String script) {
+        if (script == null || BARRIER_PATTERN.matcher(script).find()) {
+            return Collections.emptySet();
+        }
+        Set<String> tables = new HashSet<>();
+        for (Pattern pattern : TABLE_REFERENCE_PATTERNS) {
+            Matcher matcher = pattern.matcher(script);
+            while (matcher.find()) {
+                tables.add(normalize(matcher.group(1)));
+            }
+        }
+        if (tables.contains(ALL_TABLES_KEY)) {
+            return Collections.emptySet();
+        }
+        return tables;
+    }
+
+    private String normalize(String identifier) {
+        String[] parts = identifier.split("\\s*\\.\\s*");
+        return parts[parts.length - 1].replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -24,6 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.rls;
 
 import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 
 import java.util.Collections;
@@ -36,16 +37,77 @@ public abstract class AbstractConstraintProducer<P extends IConstraintProducerPa
         return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
     }
 
+    /**
+     * Produces definition that adds the constraint with the NOT VALID option.
+     * Such statement does not scan the existing rows of the table.
+     * The returned definition contains also the definition with the VALIDATE CONSTRAINT statement that checks existing rows.
+     *
+     * @param parameters constraint parameters
+     * @return definition of the constraint that is not validated
+     * @throws UnsupportedOperationException when the constraint type does not support the NOT VALID option
+     * @since 0.8
+     */
+    public NotValidConstraintSQLDefinition produceNotValid(P parameters) {
+        validate(parameters);
+        if (!isNotValidOptionSupported()) {
+            throw new UnsupportedOperationException("The constraint type does not support the NOT VALID option");
+        }
+        SQLDefinition validationDefinition = new DefaultSQLDefinition(prepareValidateScript(parameters), prepareDropScript(parameters), prepareValidatedConstraintCheckingStatements(parameters));
+        return new NotValidConstraintSQLDefinition(prepareCreateScript(parameters, true), prepareDropScript(parameters), prepareCheckingStatements(parameters), Collections.singletonList(validationDefinition));
+    }
+
+    /**
+     * @return true if the constraint can be added with the NOT VALID option, in postgres only CHECK and FOREIGN KEY constraints can
+     * @since 0.8
+     */
+    protected boolean isNotValidOptionSupported() {
+        return true;
+    }
+
     protected String prepareCreateScript(P parameters) {
+        return prepareCreateScript(parameters, false);
+    }
+
+    private String prepareCreateScript(P parameters, boolean notValid) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("ALTER TABLE ");
         stringBuilder.append(prepareTableReference(parameters));
         stringBuilder.append(" ADD CONSTRAINT ");
         stringBuilder.append(parameters.getConstraintName());
-        stringBuilder.append(" CHECK ");
+        stringBuilder.append(" ");
+        stringBuilder.append(prepareConstraintDefinition(parameters));
+        if (notValid) {
+            stringBuilder.append(" NOT VALID");
+        }
+        stringBuilder.append(";");
+        return stringBuilder.toString();
+    }
+
+    protected String prepareValidateScript(P parameters) {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("ALTER TABLE ");
+        stringBuilder.append(prepareTableReference(parameters));
+        stringBuilder.append(" VALIDATE CONSTRAINT ");
+        stringBuilder.append(parameters.getConstraintName());
+        stringBuilder.append(";");
+        return stringBuilder.toString();
+    }
+
+    protected List<String> prepareValidatedConstraintCheckingStatements(P parameters) {
+        String template = "SELECT COUNT(1)\n" +
+                "\t\tFROM pg_constraint con\n" +
+                "\t\tJOIN pg_class rel ON rel.oid = con.conrelid\n" +
+                "\t\tJOIN pg_namespace nsp ON nsp.oid = rel.relnamespace\n" +
+                "\t\tWHERE nsp.nspname = '%s' AND rel.relname = '%s' AND con.conname = '%s' AND con.convalidated = true;";
+        return Collections.singletonList(String.format(template, parameters.getTableSchema() == null ? "public" : parameters.getTableSchema(), parameters.getTableName(), parameters.getConstraintName()));
+    }
+
+    protected String prepareConstraintDefinition(P parameters) {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("CHECK ");
         stringBuilder.append("(");
         stringBuilder.append(prepareConstraintBody(parameters));
-        stringBuilder.append(");");
+        stringBuilder.append(")");
         return stringBuilder.toString();
     }
 
@@ -80,15 +142,19 @@ public abstract class AbstractConstraintProducer<P extends IConstraintProducerPa
     }
 
     private String prepareTableReference(P parameters) {
+        return prepareTableReference(parameters.getTableSchema(), parameters.getTableName());
+    }
+
+    protected String prepareTableReference(String tableSchema, String tableName) {
         StringBuilder stringBuilder = new StringBuilder();
-        if (parameters.getTableSchema() != null) {
+        if (tableSchema != null) {
             stringBuilder.append("\"");
-            stringBuilder.append(parameters.getTableSchema());
+            stringBuilder.append(tableSchema);
             stringBuilder.append("\"");
             stringBuilder.append(".");
         }
         stringBuilder.append("\"");
-        stringBuilder.append(parameters.getTableName());
+        stringBuilder.append(tableName);
         stringBuilder.append("\"");
         return stringBuilder.toString();
     }
@@ -0,0 +1,67 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Producer of the statement that sets the BYPASSRLS attribute for the role, so the row level security policies are not applied to its queries.
+ * The role has to exist and setting of the attribute requires the superuser privileges.
+ *
+ * @see <a href="https://www.postgresql.org/docs/10/sql-alterrole.html">Postgres, alter role</a>
+ * @since 0.8
+ */
+public class BypassRowLevelSecurityProducer {
+
+    public SQLDefinition produce(String role) {
+        validateParameters(role);
+        return new DefaultSQLDefinition(prepareCreateScript(role), prepareDropScript(role), prepareCheckingStatements(role));
+    }
+
+    private String prepareDropScript(String role) {
+        return "ALTER ROLE \"" + role + "\" NOBYPASSRLS;";
+    }
+
+    private String prepareCreateScript(String role) {
+        return "ALTER ROLE \"" + role + "\" BYPASSRLS;";
+    }
+
+    private List<String> prepareCheckingStatements(String role) {
+        return singletonList("SELECT COUNT(1) FROM pg_catalog.pg_roles WHERE rolname = '" + role + "' AND rolbypassrls = 't';");
+    }
+
+    private void validateParameters(String role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null");
+        }
+        if (role.trim().isEmpty()) {
+            throw new IllegalArgumentException("Role cannot be blank");
+        }
+    }
+}
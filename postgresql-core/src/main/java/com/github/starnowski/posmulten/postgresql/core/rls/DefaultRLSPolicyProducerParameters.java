@@ -33,8 +33,13 @@ public class DefaultRLSPolicyProducerParameters implements RLSPolicyProducerPara
     private final PermissionCommandPolicyEnum permissionCommandPolicy;
     private final TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
     private final TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+    private final RLSPolicyTypeEnum policyType;
 
     public DefaultRLSPolicyProducerParameters(String policyName, String policyTable, String policySchema, String grantee, String tenantIdColumn, PermissionCommandPolicyEnum permissionCommandPolicy, TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory, TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory) {
+        this(policyName, policyTable, policySchema, grantee, tenantIdColumn, permissionCommandPolicy, withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory, usingExpressionTenantHasAuthoritiesFunctionInvocationFactory, null);
+    }
+
+    public DefaultRLSPolicyProducerParameters(String policyName, String policyTable, String policySchema, String grantee, String tenantIdColumn, PermissionCommandPolicyEnum permissionCommandPolicy, TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory, TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory, RLSPolicyTypeEnum policyType) {
         this.policyName = policyName;
         this.policyTable = policyTable;
         this.policySchema = policySchema;
@@ -43,6 +48,7 @@ public class DefaultRLSPolicyProducerParameters implements RLSPolicyProducerPara
         this.permissionCommandPolicy = permissionCommandPolicy;
         this.withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory = withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
         this.usingExpressionTenantHasAuthoritiesFunctionInvocationFactory = usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+        this.policyType = policyType;
     }
 
     @Override
@@ -85,6 +91,11 @@ public class DefaultRLSPolicyProducerParameters implements RLSPolicyProducerPara
         return usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
     }
 
+    @Override
+    public RLSPolicyTypeEnum getPolicyType() {
+        return policyType;
+    }
+
     public static Builder builder()
     {
         return new Builder();
@@ -100,10 +111,11 @@ public class DefaultRLSPolicyProducerParameters implements RLSPolicyProducerPara
         private PermissionCommandPolicyEnum permissionCommandPolicy;
         private TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
         private TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+        private RLSPolicyTypeEnum policyType;
 
         public DefaultRLSPolicyProducerParameters build()
         {
-            return new DefaultRLSPolicyProducerParameters(policyName, policyTable, policySchema, grantee, tenantIdColumn, permissionCommandPolicy, withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory, usingExpressionTenantHasAuthoritiesFunctionInvocationFactory);
+            return new DefaultRLSPolicyProducerParameters(policyName, policyTable, policySchema, grantee, tenantIdColumn, permissionCommandPolicy, withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory, usingExpressionTenantHasAuthoritiesFunctionInvocationFactory, policyType);
         }
 
         public Builder withPolicyName(String policyName) {
@@ -146,6 +158,10 @@ public class DefaultRLSPolicyProducerParameters implements RLSPolicyProducerPara
             return this;
         }
 
+        public Builder withPolicyType(RLSPolicyTypeEnum policyType) {
+            this.policyType = policyType;
+            return this;
+        }
 
     }
 }
@@ -0,0 +1,123 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+/**
+ * @since 0.8
+ */
+public class DefaultStatementTriggerProducerParameters implements IStatementTriggerProducerParameters {
+
+    private final String triggerName;
+    private final String tableName;
+    private final String tableSchema;
+    private final String event;
+    private final String newTableName;
+    private final String functionReference;
+
+    public DefaultStatementTriggerProducerParameters(String triggerName, String tableName, String tableSchema, String event, String newTableName, String functionReference) {
+        this.triggerName = triggerName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.event = event;
+        this.newTableName = newTableName;
+        this.functionReference = functionReference;
+    }
+
+    public static DefaultStatementTriggerProducerParametersBuilder builder() {
+        return new DefaultStatementTriggerProducerParametersBuilder();
+    }
+
+    @Override
+    public String getTriggerName() {
+        return triggerName;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    @Override
+    public String getEvent() {
+        return event;
+    }
+
+    @Override
+    public String getNewTableName() {
+        return newTableName;
+    }
+
+    @Override
+    public String getFunctionReference() {
+        return functionReference;
+    }
+
+    public static class DefaultStatementTriggerProducerParametersBuilder {
+        private String triggerName;
+        private String tableName;
+        private String tableSchema;
+        private String event;
+        private String newTableName;
+        private String functionReference;
+
+        public DefaultStatementTriggerProducerParametersBuilder withTriggerName(String triggerName) {
+            this.triggerName = triggerName;
+            return this;
+        }
+
+        public DefaultStatementTriggerProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultStatementTriggerProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultStatementTriggerProducerParametersBuilder withEvent(String event) {
+            this.event = event;
+            return this;
+        }
+
+        public DefaultStatementTriggerProducerParametersBuilder withNewTableName(String newTableName) {
+            this.newTableName = newTableName;
+            return this;
+        }
+
+        public DefaultStatementTriggerProducerParametersBuilder withFunctionReference(String functionReference) {
+            this.functionReference = functionReference;
+            return this;
+        }
+
+        public DefaultStatementTriggerProducerParameters build() {
+            return new DefaultStatementTriggerProducerParameters(triggerName, tableName, tableSchema, event, newTableName, functionReference);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+/**
+ * @since 0.8
+ */
+public final class DefaultTenantColumnNotNullConstraintProducerParameters implements ITenantColumnNotNullConstraintProducerParameters {
+
+    private final String constraintName;
+    private final String tableName;
+    private final String tableSchema;
+    private final String tenantColumnName;
+
+    public DefaultTenantColumnNotNullConstraintProducerParameters(String constraintName, String tableName, String tableSchema, String tenantColumnName) {
+        this.constraintName = constraintName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.tenantColumnName = tenantColumnName;
+    }
+
+    public static DefaultTenantColumnNotNullConstraintProducerParametersBuilder builder() {
+        return new DefaultTenantColumnNotNullConstraintProducerParametersBuilder();
+    }
+
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    public String getTenantColumnName() {
+        return tenantColumnName;
+    }
+
+    public static class DefaultTenantColumnNotNullConstraintProducerParametersBuilder {
+        private String constraintName;
+        private String tableName;
+        private String tableSchema;
+        private String tenantColumnName;
+
+        public DefaultTenantColumnNotNullConstraintProducerParametersBuilder withConstraintName(String constraintName) {
+            this.constraintName = constraintName;
+            return this;
+        }
+
+        public DefaultTenantColumnNotNullConstraintProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultTenantColumnNotNullConstraintProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultTenantColumnNotNullConstraintProducerParametersBuilder withTenantColumnName(String tenantColumnName) {
+            this.tenantColumnName = tenantColumnName;
+            return this;
+        }
+
+        public DefaultTenantColumnNotNullConstraintProducerParameters build() {
+            return new DefaultTenantColumnNotNullConstraintProducerParameters(constraintName, tableName, tableSchema, tenantColumnName);
+        }
+    }
+}
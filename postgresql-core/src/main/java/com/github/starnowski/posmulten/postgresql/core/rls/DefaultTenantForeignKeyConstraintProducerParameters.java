@@ -0,0 +1,145 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * @since 0.8
+ */
+public final class DefaultTenantForeignKeyConstraintProducerParameters implements ITenantForeignKeyConstraintProducerParameters {
+
+    private final String constraintName;
+    private final String tableName;
+    private final String tableSchema;
+    private final String tenantColumnName;
+    private final Map<String, String> foreignKeyPrimaryKeyColumnsMappings;
+    private final String referencedTableName;
+    private final String referencedTableSchema;
+    private final String referencedTableTenantColumnName;
+
+    public DefaultTenantForeignKeyConstraintProducerParameters(String constraintName, String tableName, String tableSchema, String tenantColumnName, Map<String, String> foreignKeyPrimaryKeyColumnsMappings, String referencedTableName, String referencedTableSchema, String referencedTableTenantColumnName) {
+        this.constraintName = constraintName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.tenantColumnName = tenantColumnName;
+        this.foreignKeyPrimaryKeyColumnsMappings = foreignKeyPrimaryKeyColumnsMappings == null ? null : unmodifiableMap(foreignKeyPrimaryKeyColumnsMappings);
+        this.referencedTableName = referencedTableName;
+        this.referencedTableSchema = referencedTableSchema;
+        this.referencedTableTenantColumnName = referencedTableTenantColumnName;
+    }
+
+    public static DefaultTenantForeignKeyConstraintProducerParametersBuilder builder() {
+        return new DefaultTenantForeignKeyConstraintProducerParametersBuilder();
+    }
+
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    public String getTenantColumnName() {
+        return tenantColumnName;
+    }
+
+    public Map<String, String> getForeignKeyPrimaryKeyColumnsMappings() {
+        return foreignKeyPrimaryKeyColumnsMappings;
+    }
+
+    public String getReferencedTableName() {
+        return referencedTableName;
+    }
+
+    public String getReferencedTableSchema() {
+        return referencedTableSchema;
+    }
+
+    public String getReferencedTableTenantColumnName() {
+        return referencedTableTenantColumnName;
+    }
+
+    public static class DefaultTenantForeignKeyConstraintProducerParametersBuilder {
+        private String constraintName;
+        private String tableName;
+        private String tableSchema;
+        private String tenantColumnName;
+        private Map<String, String> foreignKeyPrimaryKeyColumnsMappings;
+        private String referencedTableName;
+        private String referencedTableSchema;
+        private String referencedTableTenantColumnName;
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withConstraintName(String constraintName) {
+            this.constraintName = constraintName;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withTenantColumnName(String tenantColumnName) {
+            this.tenantColumnName = tenantColumnName;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withForeignKeyPrimaryKeyColumnsMappings(Map<String, String> foreignKeyPrimaryKeyColumnsMappings) {
+            this.foreignKeyPrimaryKeyColumnsMappings = foreignKeyPrimaryKeyColumnsMappings;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withReferencedTableName(String referencedTableName) {
+            this.referencedTableName = referencedTableName;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withReferencedTableSchema(String referencedTableSchema) {
+            this.referencedTableSchema = referencedTableSchema;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParametersBuilder withReferencedTableTenantColumnName(String referencedTableTenantColumnName) {
+            this.referencedTableTenantColumnName = referencedTableTenantColumnName;
+            return this;
+        }
+
+        public DefaultTenantForeignKeyConstraintProducerParameters build() {
+            return new DefaultTenantForeignKeyConstraintProducerParameters(constraintName, tableName, tableSchema, tenantColumnName, foreignKeyPrimaryKeyColumnsMappings, referencedTableName, referencedTableSchema, referencedTableTenantColumnName);
+        }
+    }
+}
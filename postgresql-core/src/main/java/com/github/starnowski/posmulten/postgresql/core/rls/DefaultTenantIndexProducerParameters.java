@@ -0,0 +1,121 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * @since 0.8
+ */
+public final class DefaultTenantIndexProducerParameters implements ITenantIndexProducerParameters {
+
+    private final String indexName;
+    private final String tableName;
+    private final String tableSchema;
+    private final String tenantColumnName;
+    private final List<String> columns;
+    private final boolean concurrently;
+
+    public DefaultTenantIndexProducerParameters(String indexName, String tableName, String tableSchema, String tenantColumnName, List<String> columns, boolean concurrently) {
+        this.indexName = indexName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.tenantColumnName = tenantColumnName;
+        this.columns = columns == null ? null : unmodifiableList(columns);
+        this.concurrently = concurrently;
+    }
+
+    public static DefaultTenantIndexProducerParametersBuilder builder() {
+        return new DefaultTenantIndexProducerParametersBuilder();
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    public String getTenantColumnName() {
+        return tenantColumnName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public boolean isConcurrently() {
+        return concurrently;
+    }
+
+    public static class DefaultTenantIndexProducerParametersBuilder {
+        private String indexName;
+        private String tableName;
+        private String tableSchema;
+        private String tenantColumnName;
+        private List<String> columns;
+        private boolean concurrently;
+
+        public DefaultTenantIndexProducerParametersBuilder withIndexName(String indexName) {
+            this.indexName = indexName;
+            return this;
+        }
+
+        public DefaultTenantIndexProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultTenantIndexProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultTenantIndexProducerParametersBuilder withTenantColumnName(String tenantColumnName) {
+            this.tenantColumnName = tenantColumnName;
+            return this;
+        }
+
+        public DefaultTenantIndexProducerParametersBuilder withColumns(List<String> columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public DefaultTenantIndexProducerParametersBuilder withConcurrently(boolean concurrently) {
+            this.concurrently = concurrently;
+            return this;
+        }
+
+        public DefaultTenantIndexProducerParameters build() {
+            return new DefaultTenantIndexProducerParameters(indexName, tableName, tableSchema, tenantColumnName, columns, concurrently);
+        }
+    }
+}
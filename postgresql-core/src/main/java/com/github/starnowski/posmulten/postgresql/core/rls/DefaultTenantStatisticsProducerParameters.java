@@ -0,0 +1,127 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TenantStatisticsKind;
+
+import java.util.List;
+
+/**
+ * @since 0.8
+ */
+public class DefaultTenantStatisticsProducerParameters implements ITenantStatisticsProducerParameters {
+
+    private final String statisticsName;
+    private final String tableName;
+    private final String tableSchema;
+    private final String tenantColumnName;
+    private final List<String> columns;
+    private final List<TenantStatisticsKind> kinds;
+
+    public DefaultTenantStatisticsProducerParameters(String statisticsName, String tableName, String tableSchema, String tenantColumnName, List<String> columns, List<TenantStatisticsKind> kinds) {
+        this.statisticsName = statisticsName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.tenantColumnName = tenantColumnName;
+        this.columns = columns;
+        this.kinds = kinds;
+    }
+
+    public static DefaultTenantStatisticsProducerParametersBuilder builder() {
+        return new DefaultTenantStatisticsProducerParametersBuilder();
+    }
+
+    @Override
+    public String getStatisticsName() {
+        return statisticsName;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    @Override
+    public String getTenantColumnName() {
+        return tenantColumnName;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public List<TenantStatisticsKind> getKinds() {
+        return kinds;
+    }
+
+    public static class DefaultTenantStatisticsProducerParametersBuilder {
+        private String statisticsName;
+        private String tableName;
+        private String tableSchema;
+        private String tenantColumnName;
+        private List<String> columns;
+        private List<TenantStatisticsKind> kinds;
+
+        public DefaultTenantStatisticsProducerParametersBuilder withStatisticsName(String statisticsName) {
+            this.statisticsName = statisticsName;
+            return this;
+        }
+
+        public DefaultTenantStatisticsProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultTenantStatisticsProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultTenantStatisticsProducerParametersBuilder withTenantColumnName(String tenantColumnName) {
+            this.tenantColumnName = tenantColumnName;
+            return this;
+        }
+
+        public DefaultTenantStatisticsProducerParametersBuilder withColumns(List<String> columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public DefaultTenantStatisticsProducerParametersBuilder withKinds(List<TenantStatisticsKind> kinds) {
+            this.kinds = kinds;
+            return this;
+        }
+
+        public DefaultTenantStatisticsProducerParameters build() {
+            return new DefaultTenantStatisticsProducerParameters(statisticsName, tableName, tableSchema, tenantColumnName, columns, kinds);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * @since 0.8
+ */
+public final class DefaultTenantUniqueConstraintProducerParameters implements ITenantUniqueConstraintProducerParameters {
+
+    private final String constraintName;
+    private final String tableName;
+    private final String tableSchema;
+    private final String tenantColumnName;
+    private final List<String> columns;
+
+    public DefaultTenantUniqueConstraintProducerParameters(String constraintName, String tableName, String tableSchema, String tenantColumnName, List<String> columns) {
+        this.constraintName = constraintName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.tenantColumnName = tenantColumnName;
+        this.columns = columns == null ? null : unmodifiableList(columns);
+    }
+
+    public static DefaultTenantUniqueConstraintProducerParametersBuilder builder() {
+        return new DefaultTenantUniqueConstraintProducerParametersBuilder();
+    }
+
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    public String getTenantColumnName() {
+        return tenantColumnName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public static class DefaultTenantUniqueConstraintProducerParametersBuilder {
+        private String constraintName;
+        private String tableName;
+        private String tableSchema;
+        private String tenantColumnName;
+        private List<String> columns;
+
+        public DefaultTenantUniqueConstraintProducerParametersBuilder withConstraintName(String constraintName) {
+            this.constraintName = constraintName;
+            return this;
+        }
+
+        public DefaultTenantUniqueConstraintProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultTenantUniqueConstraintProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultTenantUniqueConstraintProducerParametersBuilder withTenantColumnName(String tenantColumnName) {
+            this.tenantColumnName = tenantColumnName;
+            return this;
+        }
+
+        public DefaultTenantUniqueConstraintProducerParametersBuilder withColumns(List<String> columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public DefaultTenantUniqueConstraintProducerParameters build() {
+            return new DefaultTenantUniqueConstraintProducerParameters(constraintName, tableName, tableSchema, tenantColumnName, columns);
+        }
+    }
+}
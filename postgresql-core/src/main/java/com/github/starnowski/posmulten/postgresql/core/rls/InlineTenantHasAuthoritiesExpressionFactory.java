@@ -0,0 +1,101 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue;
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValueToStringMapper.mapToString;
+
+/**
+ * The component returns the inline expression that compares the tenant column with the current tenant identifier read
+ * directly from the connection property, for example:
+ * <pre>{@code tenant_id = current_setting('posmulten.tenant_id')::VARCHAR(255)}</pre>
+ * The expression can be used in the row level security policy instead of the invocation of the function that checks
+ * tenant authorities, which means that there is no function invocation for each row and the planner can use the
+ * expression as index condition for the tenant column.
+ * The permission command, the expression type, the table and the schema are ignored.
+ * Optionally, the current tenant identifier can be wrapped into the scalar subquery, for example:
+ * <pre>{@code tenant_id = (SELECT current_setting('posmulten.tenant_id')::VARCHAR(255))}</pre>
+ * which Postgres evaluates once per query as InitPlan.
+ *
+ * @since 0.8
+ */
+public class InlineTenantHasAuthoritiesExpressionFactory implements TenantHasAuthoritiesFunctionInvocationFactory {
+
+    private final String currentTenantIdProperty;
+    private final String currentTenantIdPropertyType;
+    private final boolean wrapCurrentTenantIdentifierInSubquery;
+
+    public InlineTenantHasAuthoritiesExpressionFactory(String currentTenantIdProperty, String currentTenantIdPropertyType) {
+        this(currentTenantIdProperty, currentTenantIdPropertyType, false);
+    }
+
+    public InlineTenantHasAuthoritiesExpressionFactory(String currentTenantIdProperty, String currentTenantIdPropertyType, boolean wrapCurrentTenantIdentifierInSubquery) {
+        if (currentTenantIdProperty == null) {
+            throw new IllegalArgumentException("Tenant id property name cannot be null");
+        }
+        if (currentTenantIdProperty.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant id property name cannot be blank");
+        }
+        if (currentTenantIdPropertyType == null) {
+            throw new IllegalArgumentException("Tenant id property type cannot be null");
+        }
+        if (currentTenantIdPropertyType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant id property type cannot be blank");
+        }
+        this.currentTenantIdProperty = currentTenantIdProperty;
+        this.currentTenantIdPropertyType = currentTenantIdPropertyType;
+        this.wrapCurrentTenantIdentifierInSubquery = wrapCurrentTenantIdentifierInSubquery;
+    }
+
+    @Override
+    public String returnTenantHasAuthoritiesFunctionInvocation(FunctionArgumentValue tenantIdValue, PermissionCommandPolicyEnum permissionCommandPolicy, RLSExpressionTypeEnum rlsExpressionType, FunctionArgumentValue table, FunctionArgumentValue schema) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mapToString(tenantIdValue));
+        sb.append(" = ");
+        if (wrapCurrentTenantIdentifierInSubquery) {
+            sb.append("(SELECT ");
+        }
+        sb.append("current_setting('");
+        sb.append(currentTenantIdProperty);
+        sb.append("')::");
+        sb.append(currentTenantIdPropertyType);
+        if (wrapCurrentTenantIdentifierInSubquery) {
+            sb.append(")");
+        }
+        return sb.toString();
+    }
+
+    public String getCurrentTenantIdProperty() {
+        return currentTenantIdProperty;
+    }
+
+    public String getCurrentTenantIdPropertyType() {
+        return currentTenantIdPropertyType;
+    }
+
+    public boolean isWrapCurrentTenantIdentifierInSubquery() {
+        return wrapCurrentTenantIdentifierInSubquery;
+    }
+}
@@ -27,6 +27,7 @@ import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefiniti
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -106,6 +107,11 @@ public class RLSPolicyProducer {
         }
         sb.append(parameters.getPolicyTable());
         sb.append("\n");
+        if (parameters.getPolicyType() != null) {
+            sb.append("AS ");
+            sb.append(parameters.getPolicyType());
+            sb.append("\n");
+        }
         sb.append("FOR ");
         sb.append(parameters.getPermissionCommandPolicy());
         sb.append("\n");
@@ -132,7 +138,20 @@ public class RLSPolicyProducer {
     }
 
     protected List<String> prepareCheckingStatements(RLSPolicyProducerParameters parameters) {
-        return Arrays.asList(prepareStatementThatChecksIfPolicyExists(parameters), prepareStatementThatChecksIfPolicyForGranteeExists(parameters), prepareStatementThatChecksIfPolicyWithSpecifiedCmdExists(parameters));
+        List<String> results = new ArrayList<>(Arrays.asList(prepareStatementThatChecksIfPolicyExists(parameters), prepareStatementThatChecksIfPolicyForGranteeExists(parameters), prepareStatementThatChecksIfPolicyWithSpecifiedCmdExists(parameters)));
+        if (parameters.getPolicyType() != null) {
+            results.add(prepareStatementThatChecksIfPolicyWithSpecifiedTypeExists(parameters));
+        }
+        return results;
+    }
+
+    private String prepareStatementThatChecksIfPolicyWithSpecifiedTypeExists(RLSPolicyProducerParameters parameters) {
+        String name = parameters.getPolicyName();
+        String table = parameters.getPolicyTable();
+        String schema = parameters.getPolicySchema();
+        String schemaName = schema == null ? "public" : schema;
+        boolean permissive = RLSPolicyTypeEnum.PERMISSIVE.equals(parameters.getPolicyType());
+        return format("SELECT COUNT(1) FROM pg_catalog.pg_policy pg, pg_class pc, pg_catalog.pg_namespace pn WHERE pg.polrelid = pc.oid AND pc.relnamespace = pn.oid AND pg.polname = '%1$s' AND pc.relname = '%2$s' AND pn.nspname = '%3$s' AND pg.polpermissive = %4$s;", name, table, schemaName, permissive);
     }
 
     private String prepareStatementThatChecksIfPolicyExists(RLSPolicyProducerParameters parameters) {
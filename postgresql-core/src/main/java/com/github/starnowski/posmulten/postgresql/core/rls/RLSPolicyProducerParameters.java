@@ -40,4 +40,14 @@ public interface RLSPolicyProducerParameters {
     TenantHasAuthoritiesFunctionInvocationFactory getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory();
 
     TenantHasAuthoritiesFunctionInvocationFactory getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory();
+
+    /**
+     * By default the type is not specified, the same as in the previous versions.
+     *
+     * @return type of the policy, in case of null the clause with type is not added and the policy is permissive
+     * @since 0.8
+     */
+    default RLSPolicyTypeEnum getPolicyType() {
+        return null;
+    }
 }
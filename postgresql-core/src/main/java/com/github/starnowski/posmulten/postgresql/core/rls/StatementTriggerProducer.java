@@ -0,0 +1,134 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Producer of the statement level trigger that is fired after the passed event.
+ * When the name of the transition table is specified, all rows inserted or updated by the statement are available
+ * for the trigger function in the table with this name.
+ * The statement "EXECUTE PROCEDURE" is used instead of "EXECUTE FUNCTION" to support Postgres 10.
+ *
+ * @see <a href="https://www.postgresql.org/docs/10/sql-createtrigger.html">Postgres, create trigger</a>
+ * @since 0.8
+ */
+public class StatementTriggerProducer {
+
+    public SQLDefinition produce(IStatementTriggerProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    private String prepareCreateScript(IStatementTriggerProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TRIGGER ");
+        sb.append(parameters.getTriggerName());
+        sb.append(" AFTER ");
+        sb.append(parameters.getEvent());
+        sb.append(" ON ");
+        sb.append(prepareTableReference(parameters));
+        if (parameters.getNewTableName() != null) {
+            sb.append(" REFERENCING NEW TABLE AS ");
+            sb.append(parameters.getNewTableName());
+        }
+        sb.append(" FOR EACH STATEMENT EXECUTE PROCEDURE ");
+        sb.append(parameters.getFunctionReference());
+        sb.append("();");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(IStatementTriggerProducerParameters parameters) {
+        return "DROP TRIGGER IF EXISTS " + parameters.getTriggerName() + " ON " + prepareTableReference(parameters) + ";";
+    }
+
+    private String prepareTableReference(IStatementTriggerProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.getTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getTableSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTableName());
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    private List<String> prepareCheckingStatements(IStatementTriggerProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT COUNT(1) FROM pg_trigger pt, pg_class pc, pg_catalog.pg_namespace pg ");
+        sb.append("WHERE");
+        sb.append(" pt.tgrelid = pc.oid AND pt.tgname = '");
+        sb.append(parameters.getTriggerName());
+        sb.append("' AND pc.relname = '");
+        sb.append(parameters.getTableName());
+        sb.append("' AND pc.relnamespace = pg.oid AND pg.nspname = '");
+        sb.append(parameters.getTableSchema() == null ? "public" : parameters.getTableSchema());
+        sb.append("';");
+        return singletonList(sb.toString());
+    }
+
+    private void validate(IStatementTriggerProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getTriggerName() == null) {
+            throw new IllegalArgumentException("Trigger name cannot be null");
+        }
+        if (parameters.getTriggerName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Trigger name cannot be empty");
+        }
+        if (parameters.getTableName() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTableName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be empty");
+        }
+        if (parameters.getTableSchema() != null && parameters.getTableSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table schema cannot be empty");
+        }
+        if (parameters.getEvent() == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        if (parameters.getEvent().trim().isEmpty()) {
+            throw new IllegalArgumentException("Event cannot be empty");
+        }
+        if (parameters.getNewTableName() != null && parameters.getNewTableName().trim().isEmpty()) {
+            throw new IllegalArgumentException("New table name cannot be empty");
+        }
+        if (parameters.getFunctionReference() == null) {
+            throw new IllegalArgumentException("Function reference cannot be null");
+        }
+        if (parameters.getFunctionReference().trim().isEmpty()) {
+            throw new IllegalArgumentException("Function reference cannot be empty");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Producer of the check constraint "(tenant_column IS NOT NULL)".
+ * The constraint added with the NOT VALID option and validated later allows to set the not-null constraint on the tenant column
+ * without the full table scan under the exclusive lock (postgres 12 and above skips the scan when the valid check constraint proves
+ * that the column has no null values).
+ * After the not-null constraint is set, the check constraint is redundant and is dropped (see {@link #produceRedundantConstraintDrop(ITenantColumnNotNullConstraintProducerParameters)}),
+ * that is why the checking statements of the constraint also pass when the constraint does not exist but the column is not nullable.
+ *
+ * @since 0.8
+ */
+public class TenantColumnNotNullConstraintProducer extends AbstractConstraintProducer<ITenantColumnNotNullConstraintProducerParameters> {
+
+    /**
+     * Produces definition that drops the check constraint after the not-null constraint was set on the tenant column.
+     *
+     * @param parameters constraint parameters
+     * @return definition that drops the check constraint
+     */
+    public SQLDefinition produceRedundantConstraintDrop(ITenantColumnNotNullConstraintProducerParameters parameters) {
+        validate(parameters);
+        String template = "SELECT COUNT(1) WHERE NOT EXISTS (SELECT 1\n" +
+                "\t\tFROM information_schema.table_constraints\n" +
+                "\t\tWHERE table_schema = '%s' AND table_name = '%s' AND constraint_name = '%s');";
+        return new DefaultSQLDefinition(prepareDropScript(parameters), prepareDropScript(parameters), Collections.singletonList(String.format(template, resolveSchema(parameters), parameters.getTableName(), parameters.getConstraintName())));
+    }
+
+    @Override
+    protected String prepareConstraintBody(ITenantColumnNotNullConstraintProducerParameters parameters) {
+        return parameters.getTenantColumnName() + " IS NOT NULL";
+    }
+
+    @Override
+    protected List<String> prepareCheckingStatements(ITenantColumnNotNullConstraintProducerParameters parameters) {
+        return Collections.singletonList(prepareCheckingStatementWithNotNullColumnAlternative(super.prepareCheckingStatements(parameters).get(0), parameters));
+    }
+
+    @Override
+    protected List<String> prepareValidatedConstraintCheckingStatements(ITenantColumnNotNullConstraintProducerParameters parameters) {
+        return Collections.singletonList(prepareCheckingStatementWithNotNullColumnAlternative(super.prepareValidatedConstraintCheckingStatements(parameters).get(0), parameters));
+    }
+
+    private String prepareCheckingStatementWithNotNullColumnAlternative(String constraintCheckingStatement, ITenantColumnNotNullConstraintProducerParameters parameters) {
+        String template = "SELECT (%s) + (SELECT COUNT(1) FROM information_schema.columns WHERE table_schema = '%s' AND table_name = '%s' AND column_name = '%s' AND is_nullable = 'NO');";
+        String statement = constraintCheckingStatement.trim();
+        return String.format(template, statement.substring(0, statement.length() - 1), resolveSchema(parameters), parameters.getTableName(), parameters.getTenantColumnName());
+    }
+
+    private String resolveSchema(ITenantColumnNotNullConstraintProducerParameters parameters) {
+        return parameters.getTableSchema() == null ? "public" : parameters.getTableSchema();
+    }
+
+    @Override
+    protected void validate(ITenantColumnNotNullConstraintProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getTenantColumnName() == null) {
+            throw new IllegalArgumentException("Tenant column cannot be null");
+        }
+        if (parameters.getTenantColumnName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant column cannot be empty");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Producer of the native foreign key constraint that contains the tenant column and foreign key columns and refers to
+ * the tenant column and primary key columns of the referenced table.
+ * The referenced columns need to have the unique constraint, produced for example by {@link TenantUniqueConstraintProducer}.
+ * The foreign key columns are sorted by name.
+ *
+ * @since 0.8
+ */
+public class TenantForeignKeyConstraintProducer extends AbstractConstraintProducer<ITenantForeignKeyConstraintProducerParameters> {
+
+    @Override
+    protected String prepareConstraintDefinition(ITenantForeignKeyConstraintProducerParameters parameters) {
+        List<Map.Entry<String, String>> mappings = sortedMappings(parameters);
+        StringBuilder sb = new StringBuilder();
+        sb.append("FOREIGN KEY ");
+        sb.append("(");
+        sb.append(prepareConstraintBody(parameters));
+        sb.append(")");
+        sb.append(" REFERENCES ");
+        sb.append(prepareTableReference(parameters.getReferencedTableSchema(), parameters.getReferencedTableName()));
+        sb.append(" (");
+        sb.append(parameters.getReferencedTableTenantColumnName());
+        sb.append(", ");
+        sb.append(mappings.stream().map(Map.Entry::getValue).collect(joining(", ")));
+        sb.append(")");
+        return sb.toString();
+    }
+
+    @Override
+    protected String prepareConstraintBody(ITenantForeignKeyConstraintProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(parameters.getTenantColumnName());
+        sb.append(", ");
+        sb.append(sortedMappings(parameters).stream().map(Map.Entry::getKey).collect(joining(", ")));
+        return sb.toString();
+    }
+
+    @Override
+    protected void validate(ITenantForeignKeyConstraintProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getTenantColumnName() == null) {
+            throw new IllegalArgumentException("Tenant column cannot be null");
+        }
+        if (parameters.getTenantColumnName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant column cannot be empty");
+        }
+        if (parameters.getForeignKeyPrimaryKeyColumnsMappings() == null) {
+            throw new IllegalArgumentException("Foreign key columns mappings cannot be null");
+        }
+        if (parameters.getForeignKeyPrimaryKeyColumnsMappings().isEmpty()) {
+            throw new IllegalArgumentException("Foreign key columns mappings cannot be empty");
+        }
+        if (parameters.getReferencedTableName() == null) {
+            throw new IllegalArgumentException("Referenced table name cannot be null");
+        }
+        if (parameters.getReferencedTableName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Referenced table name cannot be empty");
+        }
+        if (parameters.getReferencedTableSchema() != null && parameters.getReferencedTableSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Referenced table schema cannot be empty");
+        }
+        if (parameters.getReferencedTableTenantColumnName() == null) {
+            throw new IllegalArgumentException("Referenced table tenant column cannot be null");
+        }
+        if (parameters.getReferencedTableTenantColumnName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Referenced table tenant column cannot be empty");
+        }
+    }
+
+    private List<Map.Entry<String, String>> sortedMappings(ITenantForeignKeyConstraintProducerParameters parameters) {
+        return parameters.getForeignKeyPrimaryKeyColumnsMappings().entrySet().stream().sorted(Map.Entry.comparingByKey()).collect(toList());
+    }
+}
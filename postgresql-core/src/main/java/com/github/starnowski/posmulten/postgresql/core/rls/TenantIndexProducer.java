@@ -0,0 +1,138 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Producer of the index that has the tenant column as the leading column, followed by the passed columns (usually primary key columns).
+ * Such index can be used by the planner for conditions added by the row level security policies and for lookups done
+ * by the function that checks if a record belongs to the current tenant.
+ * When the index is created concurrently, then the creation script cannot be executed inside a transaction block.
+ *
+ * @since 0.8
+ */
+public class TenantIndexProducer {
+
+    public SQLDefinition produce(ITenantIndexProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    private String prepareCreateScript(ITenantIndexProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE INDEX ");
+        if (parameters.isConcurrently()) {
+            sb.append("CONCURRENTLY ");
+        }
+        sb.append("IF NOT EXISTS ");
+        sb.append(parameters.getIndexName());
+        sb.append(" ON ");
+        if (parameters.getTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getTableSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTableName());
+        sb.append("\"");
+        sb.append(" (");
+        sb.append(parameters.getTenantColumnName());
+        for (String column : parameters.getColumns()) {
+            sb.append(", ");
+            sb.append(column);
+        }
+        sb.append(");");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ITenantIndexProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("DROP INDEX ");
+        if (parameters.isConcurrently()) {
+            sb.append("CONCURRENTLY ");
+        }
+        sb.append("IF EXISTS ");
+        if (parameters.getTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getTableSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append(parameters.getIndexName());
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private List<String> prepareCheckingStatements(ITenantIndexProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT COUNT(1) FROM pg_index pi, pg_class pic, pg_class ptc, pg_catalog.pg_namespace pg ");
+        sb.append("WHERE");
+        sb.append(" pi.indexrelid = pic.oid AND pi.indrelid = ptc.oid AND pic.relname = '");
+        sb.append(parameters.getIndexName());
+        sb.append("' AND ptc.relname = '");
+        sb.append(parameters.getTableName());
+        sb.append("' AND ptc.relnamespace = pg.oid AND pg.nspname = '");
+        sb.append(parameters.getTableSchema() == null ? "public" : parameters.getTableSchema());
+        sb.append("' AND pi.indisvalid = 't'");
+        sb.append(";");
+        return singletonList(sb.toString());
+    }
+
+    private void validate(ITenantIndexProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getIndexName() == null) {
+            throw new IllegalArgumentException("Index name cannot be null");
+        }
+        if (parameters.getIndexName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be empty");
+        }
+        if (parameters.getTableName() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTableName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be empty");
+        }
+        if (parameters.getTableSchema() != null && parameters.getTableSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table schema cannot be empty");
+        }
+        if (parameters.getTenantColumnName() == null) {
+            throw new IllegalArgumentException("Tenant column cannot be null");
+        }
+        if (parameters.getTenantColumnName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant column cannot be empty");
+        }
+        if (parameters.getColumns() == null) {
+            throw new IllegalArgumentException("Columns list cannot be null");
+        }
+    }
+}
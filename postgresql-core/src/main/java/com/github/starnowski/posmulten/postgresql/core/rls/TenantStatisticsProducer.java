@@ -0,0 +1,146 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantStatisticsKind;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Producer of the extended statistics object on the tenant column and the passed columns.
+ * The row level security policy adds the condition for the tenant column to each query, without the extended statistics
+ * the planner assumes that this condition is independent of other conditions, which for tenants with different data sizes
+ * leads to wrong estimation of rows number.
+ * The statistics are collected by the next "ANALYZE" command for the table.
+ *
+ * @see <a href="https://www.postgresql.org/docs/12/sql-createstatistics.html">Postgres, create statistics</a>
+ * @since 0.8
+ */
+public class TenantStatisticsProducer {
+
+    public SQLDefinition produce(ITenantStatisticsProducerParameters parameters) {
+        validate(parameters);
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), prepareCheckingStatements(parameters));
+    }
+
+    private String prepareCreateScript(ITenantStatisticsProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE STATISTICS IF NOT EXISTS ");
+        sb.append(prepareStatisticsReference(parameters));
+        sb.append(" (");
+        sb.append(parameters.getKinds().stream().map(TenantStatisticsKind::getKeyword).collect(joining(", ")));
+        sb.append(") ON ");
+        sb.append(parameters.getTenantColumnName());
+        for (String column : parameters.getColumns()) {
+            sb.append(", ");
+            sb.append(column);
+        }
+        sb.append(" FROM ");
+        if (parameters.getTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getTableSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTableName());
+        sb.append("\"");
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ITenantStatisticsProducerParameters parameters) {
+        return "DROP STATISTICS IF EXISTS " + prepareStatisticsReference(parameters) + ";";
+    }
+
+    private String prepareStatisticsReference(ITenantStatisticsProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.getTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getTableSchema());
+            sb.append("\"");
+            sb.append(".");
+        }
+        sb.append(parameters.getStatisticsName());
+        return sb.toString();
+    }
+
+    private List<String> prepareCheckingStatements(ITenantStatisticsProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT COUNT(1) FROM pg_statistic_ext pse, pg_class pc, pg_catalog.pg_namespace pg ");
+        sb.append("WHERE");
+        sb.append(" pse.stxrelid = pc.oid AND pse.stxname = '");
+        sb.append(parameters.getStatisticsName());
+        sb.append("' AND pc.relname = '");
+        sb.append(parameters.getTableName());
+        sb.append("' AND pse.stxnamespace = pg.oid AND pg.nspname = '");
+        sb.append(parameters.getTableSchema() == null ? "public" : parameters.getTableSchema());
+        sb.append("';");
+        return singletonList(sb.toString());
+    }
+
+    private void validate(ITenantStatisticsProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        if (parameters.getStatisticsName() == null) {
+            throw new IllegalArgumentException("Statistics name cannot be null");
+        }
+        if (parameters.getStatisticsName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Statistics name cannot be empty");
+        }
+        if (parameters.getTableName() == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (parameters.getTableName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be empty");
+        }
+        if (parameters.getTableSchema() != null && parameters.getTableSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Table schema cannot be empty");
+        }
+        if (parameters.getTenantColumnName() == null) {
+            throw new IllegalArgumentException("Tenant column cannot be null");
+        }
+        if (parameters.getTenantColumnName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant column cannot be empty");
+        }
+        if (parameters.getColumns() == null) {
+            throw new IllegalArgumentException("Columns list cannot be null");
+        }
+        if (parameters.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("Columns list cannot be empty");
+        }
+        if (parameters.getKinds() == null) {
+            throw new IllegalArgumentException("Statistics kinds list cannot be null");
+        }
+        if (parameters.getKinds().isEmpty()) {
+            throw new IllegalArgumentException("Statistics kinds list cannot be empty");
+        }
+    }
+}
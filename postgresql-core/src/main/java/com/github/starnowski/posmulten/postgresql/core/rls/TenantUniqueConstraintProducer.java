@@ -0,0 +1,79 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Producer of the unique constraint on the tenant column and the passed columns (usually primary key columns).
+ * The constraint is required by the foreign key constraint produced by {@link TenantForeignKeyConstraintProducer}.
+ *
+ * @since 0.8
+ */
+public class TenantUniqueConstraintProducer extends AbstractConstraintProducer<ITenantUniqueConstraintProducerParameters> {
+
+    @Override
+    protected String prepareConstraintDefinition(ITenantUniqueConstraintProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("UNIQUE ");
+        sb.append("(");
+        sb.append(prepareConstraintBody(parameters));
+        sb.append(")");
+        return sb.toString();
+    }
+
+    /**
+     * The unique constraint can not be added with the NOT VALID option.
+     */
+    @Override
+    protected boolean isNotValidOptionSupported() {
+        return false;
+    }
+
+    @Override
+    protected String prepareConstraintBody(ITenantUniqueConstraintProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(parameters.getTenantColumnName());
+        sb.append(", ");
+        sb.append(parameters.getColumns().stream().collect(joining(", ")));
+        return sb.toString();
+    }
+
+    @Override
+    protected void validate(ITenantUniqueConstraintProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getTenantColumnName() == null) {
+            throw new IllegalArgumentException("Tenant column cannot be null");
+        }
+        if (parameters.getTenantColumnName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant column cannot be empty");
+        }
+        if (parameters.getColumns() == null) {
+            throw new IllegalArgumentException("Columns list cannot be null");
+        }
+        if (parameters.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("Columns list cannot be empty");
+        }
+    }
+}
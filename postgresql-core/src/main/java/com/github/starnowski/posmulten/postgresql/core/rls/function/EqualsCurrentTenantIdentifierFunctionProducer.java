@@ -26,6 +26,7 @@ package com.github.starnowski.posmulten.postgresql.core.rls.function;
 import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
 
 import java.util.List;
@@ -65,6 +66,11 @@ public class EqualsCurrentTenantIdentifierFunctionProducer extends ExtendedAbstr
         metadataPhraseBuilder.withVolatilityCategorySupplier(STABLE).withParallelModeSupplier(SAFE);
     }
 
+    @Override
+    protected FunctionMetadataOptions returnFunctionMetadataOptions(IEqualsCurrentTenantIdentifierFunctionProducerParameters parameters) {
+        return parameters.getFunctionMetadataOptions();
+    }
+
     @Override
     protected String buildBody(IEqualsCurrentTenantIdentifierFunctionProducerParameters parameters) {
         StringBuilder sb = new StringBuilder();
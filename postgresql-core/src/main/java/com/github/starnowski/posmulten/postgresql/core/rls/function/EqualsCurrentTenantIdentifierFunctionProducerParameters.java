@@ -23,18 +23,29 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
+
 public class EqualsCurrentTenantIdentifierFunctionProducerParameters implements IEqualsCurrentTenantIdentifierFunctionProducerParameters {
 
     private final String functionName;
     private final String schema;
     private final String argumentType;
     private final IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory;
+    private final FunctionMetadataOptions functionMetadataOptions;
 
     public EqualsCurrentTenantIdentifierFunctionProducerParameters(String functionName, String schema, String argumentType, IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory) {
+        this(functionName, schema, argumentType, getCurrentTenantIdFunctionInvocationFactory, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public EqualsCurrentTenantIdentifierFunctionProducerParameters(String functionName, String schema, String argumentType, IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory, FunctionMetadataOptions functionMetadataOptions) {
         this.functionName = functionName;
         this.schema = schema;
         this.argumentType = argumentType;
         this.getCurrentTenantIdFunctionInvocationFactory = getCurrentTenantIdFunctionInvocationFactory;
+        this.functionMetadataOptions = functionMetadataOptions;
     }
 
     @Override
@@ -57,4 +68,9 @@ public class EqualsCurrentTenantIdentifierFunctionProducerParameters implements
         return getCurrentTenantIdFunctionInvocationFactory;
     }
 
+    @Override
+    public FunctionMetadataOptions getFunctionMetadataOptions() {
+        return functionMetadataOptions;
+    }
+
 }
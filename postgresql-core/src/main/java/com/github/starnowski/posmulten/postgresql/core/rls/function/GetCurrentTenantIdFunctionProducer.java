@@ -25,19 +25,26 @@ package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
 
+import java.util.regex.Pattern;
+
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.ParallelModeEnum.SAFE;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.STABLE;
 
 /**
  * The component produces a statement that creates a function that returns the current tenant identifier.
+ * When the {@link IGetCurrentTenantIdFunctionProducerParameters#isMissingOk()} returns true, the function returns null
+ * when the current tenant identifier is not set.
  * For more details about function creation please check postgres documentation
  * @see <a href="https://www.postgresql.org/docs/9.6/sql-createfunction.html">Postgres, create function</a>
  *
  */
 public class GetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunctionFactory<IGetCurrentTenantIdFunctionProducerParameters, GetCurrentTenantIdFunctionDefinition> {
 
+    private static final Pattern CHARACTER_TYPE_PATTERN = Pattern.compile("^(text|varchar|character varying|character|char|bpchar)(\\s*\\(.*\\))?$", Pattern.CASE_INSENSITIVE);
+
     protected void validate(IGetCurrentTenantIdFunctionProducerParameters parameters) {
         super.validate(parameters);
         if (parameters.getCurrentTenantIdProperty() == null)
@@ -69,12 +76,40 @@ public class GetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunction
         metadataPhraseBuilder.withParallelModeSupplier(SAFE).withVolatilityCategorySupplier(STABLE);
     }
 
+    @Override
+    protected FunctionMetadataOptions returnFunctionMetadataOptions(IGetCurrentTenantIdFunctionProducerParameters parameters) {
+        return parameters.getFunctionMetadataOptions();
+    }
+
     @Override
     protected String buildBody(IGetCurrentTenantIdFunctionProducerParameters parameters) {
         StringBuilder sb = new StringBuilder();
-        sb.append("SELECT current_setting('");
-        sb.append(parameters.getCurrentTenantIdProperty());
-        sb.append("')");
+        if (parameters.isMissingOk())
+        {
+            sb.append("SELECT NULLIF(current_setting('");
+            sb.append(parameters.getCurrentTenantIdProperty());
+            sb.append("', true), '')");
+        }
+        else
+        {
+            sb.append("SELECT current_setting('");
+            sb.append(parameters.getCurrentTenantIdProperty());
+            sb.append("')");
+        }
+        if (parameters.getFunctionReturnType() != null && !isCharacterType(parameters.getFunctionReturnType()))
+        {
+            sb.append("::");
+            sb.append(parameters.getFunctionReturnType());
+        }
         return sb.toString();
     }
+
+    /**
+     * The current_setting function returns text. There is no assignment cast from text to types like UUID or bigint,
+     * so for such types the value has to be cast explicitly to the function return type.
+     */
+    private static boolean isCharacterType(String type)
+    {
+        return CHARACTER_TYPE_PATTERN.matcher(type.trim()).matches();
+    }
 }
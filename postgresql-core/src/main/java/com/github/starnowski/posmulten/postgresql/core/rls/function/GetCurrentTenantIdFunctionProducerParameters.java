@@ -23,18 +23,38 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
+
 public class GetCurrentTenantIdFunctionProducerParameters implements IGetCurrentTenantIdFunctionProducerParameters {
 
     private final String functionName;
     private final String currentTenantIdProperty;
     private final String schema;
     private final String functionReturnType;
+    private final FunctionMetadataOptions functionMetadataOptions;
+    private final boolean missingOk;
 
     public GetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String functionReturnType) {
+        this(functionName, currentTenantIdProperty, schema, functionReturnType, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public GetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String functionReturnType, FunctionMetadataOptions functionMetadataOptions) {
+        this(functionName, currentTenantIdProperty, schema, functionReturnType, functionMetadataOptions, false);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public GetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String functionReturnType, FunctionMetadataOptions functionMetadataOptions, boolean missingOk) {
         this.functionName = functionName;
         this.currentTenantIdProperty = currentTenantIdProperty;
         this.schema = schema;
         this.functionReturnType = functionReturnType;
+        this.functionMetadataOptions = functionMetadataOptions;
+        this.missingOk = missingOk;
     }
 
     public String getFunctionName() {
@@ -52,4 +72,14 @@ public class GetCurrentTenantIdFunctionProducerParameters implements IGetCurrent
     public String getFunctionReturnType() {
         return functionReturnType;
     }
+
+    @Override
+    public FunctionMetadataOptions getFunctionMetadataOptions() {
+        return functionMetadataOptions;
+    }
+
+    @Override
+    public boolean isMissingOk() {
+        return missingOk;
+    }
 }
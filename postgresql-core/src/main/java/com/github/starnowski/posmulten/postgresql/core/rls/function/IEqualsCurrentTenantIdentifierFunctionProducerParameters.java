@@ -24,10 +24,16 @@
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 
 public interface IEqualsCurrentTenantIdentifierFunctionProducerParameters extends IFunctionFactoryParameters {
 
     String getArgumentType();
 
     IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory();
+
+    /**
+     * @since 0.8
+     */
+    FunctionMetadataOptions getFunctionMetadataOptions();
 }
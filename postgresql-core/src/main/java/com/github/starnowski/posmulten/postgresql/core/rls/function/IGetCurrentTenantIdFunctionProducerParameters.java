@@ -24,6 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 
 public interface IGetCurrentTenantIdFunctionProducerParameters extends IFunctionFactoryParameters {
 
@@ -34,4 +35,19 @@ public interface IGetCurrentTenantIdFunctionProducerParameters extends IFunction
     String getSchema();
 
     String getFunctionReturnType();
+
+    /**
+     * @since 0.8
+     */
+    FunctionMetadataOptions getFunctionMetadataOptions();
+
+    /**
+     * Returns information if the function should return null instead of throwing an exception when the property that stores
+     * the current tenant identifier is not set (the "missing_ok" argument of the "current_setting" function).
+     * The empty value of the property is also resolved as null.
+     *
+     * @return true if the function should return null when the current tenant identifier is not set
+     * @since 0.8
+     */
+    boolean isMissingOk();
 }
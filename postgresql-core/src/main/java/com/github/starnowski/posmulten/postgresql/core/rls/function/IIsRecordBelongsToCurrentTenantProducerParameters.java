@@ -25,6 +25,7 @@ package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.util.Pair;
 
 import java.util.List;
@@ -47,4 +48,9 @@ public interface IIsRecordBelongsToCurrentTenantProducerParameters extends IFunc
     {
         return new Pair<>(column, forType(type));
     }
+
+    /**
+     * @since 0.8
+     */
+    FunctionMetadataOptions getFunctionMetadataOptions();
 }
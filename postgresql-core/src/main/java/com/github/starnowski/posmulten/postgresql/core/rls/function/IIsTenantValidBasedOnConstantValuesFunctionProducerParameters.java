@@ -24,6 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 
 import java.util.Set;
 
@@ -35,4 +36,9 @@ public interface IIsTenantValidBasedOnConstantValuesFunctionProducerParameters e
     String getArgumentType();
 
     Set<String> getBlacklistTenantIds();
+
+    /**
+     * @since 0.8
+     */
+    FunctionMetadataOptions getFunctionMetadataOptions();
 }
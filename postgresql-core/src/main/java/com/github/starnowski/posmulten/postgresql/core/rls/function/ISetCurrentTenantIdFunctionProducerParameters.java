@@ -30,4 +30,86 @@ public interface ISetCurrentTenantIdFunctionProducerParameters extends IFunction
     String getArgumentType();
 
     String getCurrentTenantIdProperty();
+
+    /**
+     * Returns information if the property value should be set only for the current transaction.
+     * The value is passed as the "is_local" argument of the "set_config" function.
+     *
+     * By default the value is set for the session, the same as in the previous versions.
+     *
+     * @return true if the property value should be set only for the current transaction, false if it should be set for the session
+     * @since 0.8
+     */
+    default boolean isLocal() {
+        return false;
+    }
+
+    /**
+     * Returns information if the function should be created in the SQL language instead of the PL/pgSQL language.
+     * Such function, with a single "SELECT set_config(...)" statement as body, does not require the PL/pgSQL interpreter setup on invocation.
+     *
+     * @return true if the function should be created in the SQL language
+     * @since 0.8
+     */
+    boolean isSqlLanguage();
+
+    /**
+     * Returns name of the tenant registry table that maps the external tenant identifiers to the surrogate tenant identifiers.
+     * When the value is not null then the function accepts the external tenant identifier, resolves the surrogate identifier
+     * from the registry table and stores it as the current tenant identifier.
+     *
+     * @return name of the tenant registry table, null when the passed value should be stored without resolving
+     * @since 0.8
+     */
+    String getTenantRegistryTable();
+
+    /**
+     * @return schema of the tenant registry table, null when the default schema should be used
+     * @since 0.8
+     */
+    String getTenantRegistrySchema();
+
+    /**
+     * @return name of the registry table column that stores the surrogate tenant identifier
+     * @since 0.8
+     */
+    String getTenantRegistryTenantIdColumn();
+
+    /**
+     * @return name of the registry table column that stores the external tenant identifier
+     * @since 0.8
+     */
+    String getTenantRegistryExternalIdentifierColumn();
+
+    /**
+     * Returns name of the tenant settings table that stores the per-tenant values of configuration parameters.
+     * When the value is not null then the function, next to the current tenant identifier, sets the configuration parameters
+     * stored for the tenant in the table (see {@link com.github.starnowski.posmulten.postgresql.core.TenantSettingsTableProducer}).
+     *
+     * @return name of the tenant settings table, null when no settings should be applied
+     * @since 0.8
+     */
+    String getTenantSettingsTable();
+
+    /**
+     * @return schema of the tenant settings table, null when the default schema should be used
+     * @since 0.8
+     */
+    String getTenantSettingsSchema();
+
+    /**
+     * @return name of the custom property that stores the priority class of the current tenant
+     * @since 0.8
+     */
+    String getTenantPriorityClassProperty();
+
+    /**
+     * Returns name of the property (for example "application_name") that the function sets to the tenant tag,
+     * the passed tenant identifier with the "tenant=" prefix.
+     * The tag set in the "application_name" property is visible in the "pg_stat_activity" view and can be added to the server log lines.
+     *
+     * @return name of the property for the tenant tag, null when the tenant tag should not be set
+     * @since 0.8
+     */
+    String getTenantTagProperty();
 }
@@ -24,6 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 
 public interface ITenantHasAuthoritiesFunctionProducerParameters extends IFunctionFactoryParameters {
 
@@ -38,4 +39,27 @@ public interface ITenantHasAuthoritiesFunctionProducerParameters extends IFuncti
     String getSchemaArgumentType();
 
     EqualsCurrentTenantIdentifierFunctionInvocationFactory getEqualsCurrentTenantIdentifierFunctionInvocationFactory();
+
+    /**
+     * @since 0.8
+     */
+    FunctionMetadataOptions getFunctionMetadataOptions();
+
+    /**
+     * @return name of the closure table of hierarchical tenants, null if the ancestor tenants should not have access to rows of descendant tenants
+     * @since 0.8
+     */
+    String getTenantHierarchyClosureTable();
+
+    /**
+     * @return schema of the closure table of hierarchical tenants
+     * @since 0.8
+     */
+    String getTenantHierarchyClosureTableSchema();
+
+    /**
+     * @return factory of the current tenant identifier invocation, required when the closure table is specified
+     * @since 0.8
+     */
+    IGetCurrentTenantIdFunctionInvocationFactory getIGetCurrentTenantIdFunctionInvocationFactory();
 }
@@ -26,6 +26,7 @@ package com.github.starnowski.posmulten.postgresql.core.rls.function;
 import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
 import com.github.starnowski.posmulten.postgresql.core.util.Pair;
 
@@ -53,6 +54,11 @@ public class IsRecordBelongsToCurrentTenantProducer extends ExtendedAbstractFunc
         metadataPhraseBuilder.withParallelModeSupplier(SAFE).withVolatilityCategorySupplier(STABLE);
     }
 
+    @Override
+    protected FunctionMetadataOptions returnFunctionMetadataOptions(IIsRecordBelongsToCurrentTenantProducerParameters parameters) {
+        return parameters.getFunctionMetadataOptions();
+    }
+
     @Override
     protected String buildBody(IIsRecordBelongsToCurrentTenantProducerParameters parameters) {
         StringBuilder sb = new StringBuilder();
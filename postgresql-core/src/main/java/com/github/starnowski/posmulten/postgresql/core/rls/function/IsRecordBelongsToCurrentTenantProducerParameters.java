@@ -24,6 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.util.Pair;
 
 import java.util.List;
@@ -37,8 +38,16 @@ public class IsRecordBelongsToCurrentTenantProducerParameters implements IIsReco
     private final String recordTableName;
     private final String recordSchemaName;
     private final IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
+    private final FunctionMetadataOptions functionMetadataOptions;
 
     public IsRecordBelongsToCurrentTenantProducerParameters(String functionName, String schema, List<Pair<String, IFunctionArgument>> keyColumnsPairsList, String tenantColumn, String recordTableName, String recordSchemaName, IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory) {
+        this(functionName, schema, keyColumnsPairsList, tenantColumn, recordTableName, recordSchemaName, iGetCurrentTenantIdFunctionInvocationFactory, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public IsRecordBelongsToCurrentTenantProducerParameters(String functionName, String schema, List<Pair<String, IFunctionArgument>> keyColumnsPairsList, String tenantColumn, String recordTableName, String recordSchemaName, IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory, FunctionMetadataOptions functionMetadataOptions) {
         this.functionName = functionName;
         this.schema = schema;
         this.keyColumnsPairsList = keyColumnsPairsList;
@@ -46,6 +55,7 @@ public class IsRecordBelongsToCurrentTenantProducerParameters implements IIsReco
         this.recordTableName = recordTableName;
         this.recordSchemaName = recordSchemaName;
         this.iGetCurrentTenantIdFunctionInvocationFactory = iGetCurrentTenantIdFunctionInvocationFactory;
+        this.functionMetadataOptions = functionMetadataOptions;
     }
 
     @Override
@@ -82,6 +92,11 @@ public class IsRecordBelongsToCurrentTenantProducerParameters implements IIsReco
         return iGetCurrentTenantIdFunctionInvocationFactory;
     }
 
+    @Override
+    public FunctionMetadataOptions getFunctionMetadataOptions() {
+        return functionMetadataOptions;
+    }
+
     public static class Builder
     {
         private String functionName;
@@ -91,6 +106,7 @@ public class IsRecordBelongsToCurrentTenantProducerParameters implements IIsReco
         private String recordTableName;
         private String recordSchemaName;
         private IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
+        private FunctionMetadataOptions functionMetadataOptions;
 
         public Builder withFunctionName(String functionName) {
             this.functionName = functionName;
@@ -127,9 +143,17 @@ public class IsRecordBelongsToCurrentTenantProducerParameters implements IIsReco
             return this;
         }
 
+        /**
+         * @since 0.8
+         */
+        public Builder withFunctionMetadataOptions(FunctionMetadataOptions functionMetadataOptions) {
+            this.functionMetadataOptions = functionMetadataOptions;
+            return this;
+        }
+
         public IsRecordBelongsToCurrentTenantProducerParameters build()
         {
-            return new IsRecordBelongsToCurrentTenantProducerParameters(functionName, schema, keyColumnsPairsList, tenantColumn, recordTableName, recordSchemaName, iGetCurrentTenantIdFunctionInvocationFactory);
+            return new IsRecordBelongsToCurrentTenantProducerParameters(functionName, schema, keyColumnsPairsList, tenantColumn, recordTableName, recordSchemaName, iGetCurrentTenantIdFunctionInvocationFactory, functionMetadataOptions);
         }
     }
 }
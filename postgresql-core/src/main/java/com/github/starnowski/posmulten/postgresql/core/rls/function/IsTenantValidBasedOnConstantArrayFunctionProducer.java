@@ -0,0 +1,53 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import java.util.stream.Collectors;
+
+/**
+ * The component produces a statement that creates a function that checks if the passed value is the correct tenant identifier.
+ * In comparison to the {@link IsTenantValidBasedOnConstantValuesFunctionProducer}, the invalid values are compiled into
+ * a sorted constant array that is compared with the passed value by the "&lt;&gt; ALL" operator.
+ * For more details about function creation please check postgres documentation
+ * @see <a href="https://www.postgresql.org/docs/9.6/sql-createfunction.html">Postgres, create function</a>
+ * @see <a href="https://www.postgresql.org/docs/9.6/functions-comparisons.html">Postgres, row and array comparisons</a>
+ * @since 0.8
+ */
+public class IsTenantValidBasedOnConstantArrayFunctionProducer extends IsTenantValidBasedOnConstantValuesFunctionProducer {
+
+    @Override
+    protected String buildBody(IIsTenantValidBasedOnConstantValuesFunctionProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT $1 <> ALL (CAST ('{");
+        sb.append(parameters.getBlacklistTenantIds().stream().sorted().map(this::prepareArrayElement).collect(Collectors.joining(",")));
+        sb.append("}' AS ");
+        sb.append(returnFunctionArgumentType(parameters));
+        sb.append("[]))");
+        return sb.toString();
+    }
+
+    private String prepareArrayElement(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("'", "''") + "\"";
+    }
+}
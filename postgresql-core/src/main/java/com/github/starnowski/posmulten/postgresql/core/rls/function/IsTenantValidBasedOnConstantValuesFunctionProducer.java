@@ -26,6 +26,7 @@ package com.github.starnowski.posmulten.postgresql.core.rls.function;
 import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
 
 import java.util.List;
@@ -54,6 +55,11 @@ public class IsTenantValidBasedOnConstantValuesFunctionProducer extends Extended
         metadataPhraseBuilder.withParallelModeSupplier(SAFE).withVolatilityCategorySupplier(IMMUTABLE);
     }
 
+    @Override
+    protected FunctionMetadataOptions returnFunctionMetadataOptions(IIsTenantValidBasedOnConstantValuesFunctionProducerParameters parameters) {
+        return parameters.getFunctionMetadataOptions();
+    }
+
     @Override
     protected String buildBody(IIsTenantValidBasedOnConstantValuesFunctionProducerParameters parameters) {
         StringBuilder sb = new StringBuilder();
@@ -91,7 +97,7 @@ public class IsTenantValidBasedOnConstantValuesFunctionProducer extends Extended
         }
     }
 
-    private String returnFunctionArgumentType(IIsTenantValidBasedOnConstantValuesFunctionProducerParameters parameters)
+    protected String returnFunctionArgumentType(IIsTenantValidBasedOnConstantValuesFunctionProducerParameters parameters)
     {
         return parameters.getArgumentType() == null ? "text" : parameters.getArgumentType();
     }
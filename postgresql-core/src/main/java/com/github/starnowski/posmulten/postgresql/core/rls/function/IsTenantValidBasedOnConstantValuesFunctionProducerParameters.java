@@ -23,6 +23,8 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
+
 import java.util.Set;
 
 /**
@@ -34,12 +36,21 @@ public class IsTenantValidBasedOnConstantValuesFunctionProducerParameters implem
     private final String schema;
     private final Set<String> blacklistTenantIds;
     private final String argumentType;
+    private final FunctionMetadataOptions functionMetadataOptions;
 
     public IsTenantValidBasedOnConstantValuesFunctionProducerParameters(String functionName, String schema, Set<String> blacklistTenantIds, String argumentType) {
+        this(functionName, schema, blacklistTenantIds, argumentType, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public IsTenantValidBasedOnConstantValuesFunctionProducerParameters(String functionName, String schema, Set<String> blacklistTenantIds, String argumentType, FunctionMetadataOptions functionMetadataOptions) {
         this.functionName = functionName;
         this.schema = schema;
         this.blacklistTenantIds = blacklistTenantIds;
         this.argumentType = argumentType;
+        this.functionMetadataOptions = functionMetadataOptions;
     }
 
     @Override
@@ -61,4 +72,9 @@ public class IsTenantValidBasedOnConstantValuesFunctionProducerParameters implem
     public String getArgumentType() {
         return argumentType;
     }
+
+    @Override
+    public FunctionMetadataOptions getFunctionMetadataOptions() {
+        return functionMetadataOptions;
+    }
 }
@@ -0,0 +1,120 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
+
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentBuilder.forType;
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.ParallelModeEnum.SAFE;
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.STABLE;
+import static java.util.Collections.singletonList;
+
+/**
+ * The component produces a statement that creates a function that checks if the passed value is the correct tenant identifier.
+ * The invalid tenant identifiers are stored in the lookup table with the primary key on the tenant identifier column,
+ * so the check is a single index lookup regardless of the number of invalid values.
+ * For more details about function creation please check postgres documentation
+ * @see <a href="https://www.postgresql.org/docs/9.6/sql-createfunction.html">Postgres, create function</a>
+ * @see com.github.starnowski.posmulten.postgresql.core.TenantValuesBlacklistTableProducer
+ * @since 0.8
+ */
+public class IsTenantValidBasedOnLookupTableFunctionProducer extends ExtendedAbstractFunctionFactory<IIsTenantValidBasedOnLookupTableFunctionProducerParameters, IsTenantValidBasedOnLookupTableFunctionDefinition> {
+
+    @Override
+    protected String prepareReturnType(IIsTenantValidBasedOnLookupTableFunctionProducerParameters parameters) {
+        return "BOOLEAN";
+    }
+
+    @Override
+    protected void enrichMetadataPhraseBuilder(IIsTenantValidBasedOnLookupTableFunctionProducerParameters parameters, MetadataPhraseBuilder metadataPhraseBuilder) {
+        metadataPhraseBuilder.withParallelModeSupplier(SAFE).withVolatilityCategorySupplier(STABLE);
+    }
+
+    @Override
+    protected FunctionMetadataOptions returnFunctionMetadataOptions(IIsTenantValidBasedOnLookupTableFunctionProducerParameters parameters) {
+        return parameters.getFunctionMetadataOptions();
+    }
+
+    @Override
+    protected String buildBody(IIsTenantValidBasedOnLookupTableFunctionProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT NOT EXISTS (SELECT 1 FROM ");
+        if (parameters.getLookupTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getLookupTableSchema());
+            sb.append("\".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getLookupTableName());
+        sb.append("\" blt WHERE blt.");
+        sb.append(parameters.getLookupTableColumn());
+        sb.append(" = $1)");
+        return sb.toString();
+    }
+
+    @Override
+    protected IsTenantValidBasedOnLookupTableFunctionDefinition returnFunctionDefinition(IIsTenantValidBasedOnLookupTableFunctionProducerParameters parameters, IFunctionDefinition functionDefinition) {
+        return new IsTenantValidBasedOnLookupTableFunctionDefinition(functionDefinition);
+    }
+
+    @Override
+    protected List<IFunctionArgument> prepareFunctionArguments(IIsTenantValidBasedOnLookupTableFunctionProducerParameters parameters) {
+        return singletonList(forType(parameters.getArgumentType() == null ? "text" : parameters.getArgumentType()));
+    }
+
+    @Override
+    protected void validate(IIsTenantValidBasedOnLookupTableFunctionProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getArgumentType() != null && parameters.getArgumentType().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The argument type cannot be empty");
+        }
+        if (parameters.getLookupTableName() == null)
+        {
+            throw new IllegalArgumentException("The lookup table name cannot be null");
+        }
+        if (parameters.getLookupTableName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The lookup table name cannot be empty");
+        }
+        if (parameters.getLookupTableSchema() != null && parameters.getLookupTableSchema().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The lookup table schema cannot be empty");
+        }
+        if (parameters.getLookupTableColumn() == null)
+        {
+            throw new IllegalArgumentException("The lookup table column cannot be null");
+        }
+        if (parameters.getLookupTableColumn().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The lookup table column cannot be empty");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
+
+/**
+ * @since 0.8
+ */
+public class IsTenantValidBasedOnLookupTableFunctionProducerParameters implements IIsTenantValidBasedOnLookupTableFunctionProducerParameters {
+
+    private final String functionName;
+    private final String schema;
+    private final String argumentType;
+    private final String lookupTableName;
+    private final String lookupTableSchema;
+    private final String lookupTableColumn;
+    private final FunctionMetadataOptions functionMetadataOptions;
+
+    public IsTenantValidBasedOnLookupTableFunctionProducerParameters(String functionName, String schema, String argumentType, String lookupTableName, String lookupTableSchema, String lookupTableColumn) {
+        this(functionName, schema, argumentType, lookupTableName, lookupTableSchema, lookupTableColumn, null);
+    }
+
+    public IsTenantValidBasedOnLookupTableFunctionProducerParameters(String functionName, String schema, String argumentType, String lookupTableName, String lookupTableSchema, String lookupTableColumn, FunctionMetadataOptions functionMetadataOptions) {
+        this.functionName = functionName;
+        this.schema = schema;
+        this.argumentType = argumentType;
+        this.lookupTableName = lookupTableName;
+        this.lookupTableSchema = lookupTableSchema;
+        this.lookupTableColumn = lookupTableColumn;
+        this.functionMetadataOptions = functionMetadataOptions;
+    }
+
+    public static IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder builder() {
+        return new IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder();
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getArgumentType() {
+        return argumentType;
+    }
+
+    @Override
+    public String getLookupTableName() {
+        return lookupTableName;
+    }
+
+    @Override
+    public String getLookupTableSchema() {
+        return lookupTableSchema;
+    }
+
+    @Override
+    public String getLookupTableColumn() {
+        return lookupTableColumn;
+    }
+
+    @Override
+    public FunctionMetadataOptions getFunctionMetadataOptions() {
+        return functionMetadataOptions;
+    }
+
+    public static class IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder {
+        private String functionName;
+        private String schema;
+        private String argumentType;
+        private String lookupTableName;
+        private String lookupTableSchema;
+        private String lookupTableColumn;
+        private FunctionMetadataOptions functionMetadataOptions;
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder withFunctionName(String functionName) {
+            this.functionName = functionName;
+            return this;
+        }
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder withArgumentType(String argumentType) {
+            this.argumentType = argumentType;
+            return this;
+        }
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder withLookupTableName(String lookupTableName) {
+            this.lookupTableName = lookupTableName;
+            return this;
+        }
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder withLookupTableSchema(String lookupTableSchema) {
+            this.lookupTableSchema = lookupTableSchema;
+            return this;
+        }
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder withLookupTableColumn(String lookupTableColumn) {
+            this.lookupTableColumn = lookupTableColumn;
+            return this;
+        }
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParametersBuilder withFunctionMetadataOptions(FunctionMetadataOptions functionMetadataOptions) {
+            this.functionMetadataOptions = functionMetadataOptions;
+            return this;
+        }
+
+        public IsTenantValidBasedOnLookupTableFunctionProducerParameters build() {
+            return new IsTenantValidBasedOnLookupTableFunctionProducerParameters(functionName, schema, argumentType, lookupTableName, lookupTableSchema, lookupTableColumn, functionMetadataOptions);
+        }
+    }
+}
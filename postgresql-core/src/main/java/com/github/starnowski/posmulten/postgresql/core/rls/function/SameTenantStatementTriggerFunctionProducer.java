@@ -0,0 +1,163 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
+
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.VOLATILE;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The component produces a statement that creates a trigger function that checks if all rows inserted or updated by
+ * a single statement refer (by foreign key columns) to records that belong to the current tenant.
+ * The function reads rows from the transition table {@link #TRANSITION_TABLE_NAME} and checks them with single anti-join
+ * query against the referenced table, instead of invoking a function for each row like the check constraint does.
+ * When any row refers to a record that does not exist for the current tenant then the exception with the "check_violation"
+ * error code is raised.
+ * The function has to be invoked by the statement level trigger that declares the transition table for new rows.
+ * For more details about triggers please check postgres documentation
+ * @see <a href="https://www.postgresql.org/docs/10/sql-createtrigger.html">Postgres, create trigger</a>
+ * @see com.github.starnowski.posmulten.postgresql.core.rls.StatementTriggerProducer
+ * @since 0.8
+ */
+public class SameTenantStatementTriggerFunctionProducer extends ExtendedAbstractFunctionFactory<ISameTenantStatementTriggerFunctionProducerParameters, DefaultFunctionDefinition> {
+
+    public static final String TRANSITION_TABLE_NAME = "new_rows";
+    public static final String NEW_ROW_ALIAS = "nr";
+    public static final String RECORD_TABLE_ALIAS = "rt";
+
+    @Override
+    protected String prepareReturnType(ISameTenantStatementTriggerFunctionProducerParameters parameters) {
+        return "trigger";
+    }
+
+    @Override
+    protected void enrichMetadataPhraseBuilder(ISameTenantStatementTriggerFunctionProducerParameters parameters, MetadataPhraseBuilder metadataPhraseBuilder) {
+        metadataPhraseBuilder.withVolatilityCategorySupplier(VOLATILE);
+    }
+
+    @Override
+    protected String buildBody(ISameTenantStatementTriggerFunctionProducerParameters parameters) {
+        List<String> foreignKeyColumns = parameters.getForeignKeyPrimaryKeyColumnsMappings().keySet().stream().sorted().collect(toList());
+        StringBuilder sb = new StringBuilder();
+        sb.append("BEGIN");
+        sb.append("\n");
+        sb.append("IF EXISTS (SELECT 1 FROM ");
+        sb.append(TRANSITION_TABLE_NAME);
+        sb.append(" ");
+        sb.append(NEW_ROW_ALIAS);
+        sb.append(" WHERE ");
+        sb.append(foreignKeyColumns.stream().map(column -> format("%1$s.%2$s IS NOT NULL", NEW_ROW_ALIAS, column)).collect(joining(" AND ")));
+        sb.append(" AND NOT EXISTS (SELECT 1 FROM ");
+        if (parameters.getReferencedTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getReferencedTableSchema());
+            sb.append("\".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getReferencedTableName());
+        sb.append("\" ");
+        sb.append(RECORD_TABLE_ALIAS);
+        sb.append(" WHERE ");
+        sb.append(foreignKeyColumns.stream().map(column -> format("%1$s.%2$s = %3$s.%4$s", RECORD_TABLE_ALIAS, parameters.getForeignKeyPrimaryKeyColumnsMappings().get(column), NEW_ROW_ALIAS, column)).collect(joining(" AND ")));
+        sb.append(" AND ");
+        sb.append(format("%1$s.%2$s = %3$s", RECORD_TABLE_ALIAS, parameters.getReferencedTableTenantColumnName(), parameters.getIGetCurrentTenantIdFunctionInvocationFactory().returnGetCurrentTenantIdFunctionInvocation()));
+        sb.append(")) THEN");
+        sb.append("\n");
+        sb.append("RAISE EXCEPTION 'new row for relation \"%\" violates constraint \"");
+        sb.append(parameters.getConstraintName());
+        sb.append("\"', TG_TABLE_NAME USING ERRCODE = 'check_violation', CONSTRAINT = '");
+        sb.append(parameters.getConstraintName());
+        sb.append("';");
+        sb.append("\n");
+        sb.append("END IF;");
+        sb.append("\n");
+        sb.append("RETURN NULL;");
+        sb.append("\n");
+        sb.append("END");
+        return sb.toString();
+    }
+
+    @Override
+    protected String returnFunctionLanguage(ISameTenantStatementTriggerFunctionProducerParameters parameters) {
+        return "plpgsql";
+    }
+
+    @Override
+    protected DefaultFunctionDefinition returnFunctionDefinition(ISameTenantStatementTriggerFunctionProducerParameters parameters, IFunctionDefinition functionDefinition) {
+        return new DefaultFunctionDefinition(functionDefinition);
+    }
+
+    @Override
+    protected void validate(ISameTenantStatementTriggerFunctionProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getConstraintName() == null)
+        {
+            throw new IllegalArgumentException("Constraint name cannot be null");
+        }
+        if (parameters.getConstraintName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Constraint name cannot be blank");
+        }
+        if (parameters.getReferencedTableName() == null)
+        {
+            throw new IllegalArgumentException("Referenced table name cannot be null");
+        }
+        if (parameters.getReferencedTableName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Referenced table name cannot be blank");
+        }
+        if (parameters.getReferencedTableSchema() != null && parameters.getReferencedTableSchema().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Referenced table schema cannot be blank");
+        }
+        if (parameters.getReferencedTableTenantColumnName() == null)
+        {
+            throw new IllegalArgumentException("Referenced table tenant column cannot be null");
+        }
+        if (parameters.getReferencedTableTenantColumnName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Referenced table tenant column cannot be blank");
+        }
+        if (parameters.getForeignKeyPrimaryKeyColumnsMappings() == null)
+        {
+            throw new IllegalArgumentException("Foreign key columns mappings cannot be null");
+        }
+        if (parameters.getForeignKeyPrimaryKeyColumnsMappings().isEmpty())
+        {
+            throw new IllegalArgumentException("Foreign key columns mappings cannot be empty");
+        }
+        if (parameters.getIGetCurrentTenantIdFunctionInvocationFactory() == null)
+        {
+            throw new IllegalArgumentException("The GetCurrentTenantId function invocation factory cannot be null");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import java.util.Map;
+
+/**
+ * @since 0.8
+ */
+public class SameTenantStatementTriggerFunctionProducerParameters implements ISameTenantStatementTriggerFunctionProducerParameters {
+
+    private final String functionName;
+    private final String schema;
+    private final String constraintName;
+    private final String referencedTableName;
+    private final String referencedTableSchema;
+    private final String referencedTableTenantColumnName;
+    private final Map<String, String> foreignKeyPrimaryKeyColumnsMappings;
+    private final IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
+
+    public SameTenantStatementTriggerFunctionProducerParameters(String functionName, String schema, String constraintName, String referencedTableName, String referencedTableSchema, String referencedTableTenantColumnName, Map<String, String> foreignKeyPrimaryKeyColumnsMappings, IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory) {
+        this.functionName = functionName;
+        this.schema = schema;
+        this.constraintName = constraintName;
+        this.referencedTableName = referencedTableName;
+        this.referencedTableSchema = referencedTableSchema;
+        this.referencedTableTenantColumnName = referencedTableTenantColumnName;
+        this.foreignKeyPrimaryKeyColumnsMappings = foreignKeyPrimaryKeyColumnsMappings;
+        this.iGetCurrentTenantIdFunctionInvocationFactory = iGetCurrentTenantIdFunctionInvocationFactory;
+    }
+
+    public static SameTenantStatementTriggerFunctionProducerParametersBuilder builder() {
+        return new SameTenantStatementTriggerFunctionProducerParametersBuilder();
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    @Override
+    public String getReferencedTableName() {
+        return referencedTableName;
+    }
+
+    @Override
+    public String getReferencedTableSchema() {
+        return referencedTableSchema;
+    }
+
+    @Override
+    public String getReferencedTableTenantColumnName() {
+        return referencedTableTenantColumnName;
+    }
+
+    @Override
+    public Map<String, String> getForeignKeyPrimaryKeyColumnsMappings() {
+        return foreignKeyPrimaryKeyColumnsMappings;
+    }
+
+    @Override
+    public IGetCurrentTenantIdFunctionInvocationFactory getIGetCurrentTenantIdFunctionInvocationFactory() {
+        return iGetCurrentTenantIdFunctionInvocationFactory;
+    }
+
+    public static class SameTenantStatementTriggerFunctionProducerParametersBuilder {
+        private String functionName;
+        private String schema;
+        private String constraintName;
+        private String referencedTableName;
+        private String referencedTableSchema;
+        private String referencedTableTenantColumnName;
+        private Map<String, String> foreignKeyPrimaryKeyColumnsMappings;
+        private IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withFunctionName(String functionName) {
+            this.functionName = functionName;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withConstraintName(String constraintName) {
+            this.constraintName = constraintName;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withReferencedTableName(String referencedTableName) {
+            this.referencedTableName = referencedTableName;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withReferencedTableSchema(String referencedTableSchema) {
+            this.referencedTableSchema = referencedTableSchema;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withReferencedTableTenantColumnName(String referencedTableTenantColumnName) {
+            this.referencedTableTenantColumnName = referencedTableTenantColumnName;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withForeignKeyPrimaryKeyColumnsMappings(Map<String, String> foreignKeyPrimaryKeyColumnsMappings) {
+            this.foreignKeyPrimaryKeyColumnsMappings = foreignKeyPrimaryKeyColumnsMappings;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParametersBuilder withIGetCurrentTenantIdFunctionInvocationFactory(IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory) {
+            this.iGetCurrentTenantIdFunctionInvocationFactory = iGetCurrentTenantIdFunctionInvocationFactory;
+            return this;
+        }
+
+        public SameTenantStatementTriggerFunctionProducerParameters build() {
+            return new SameTenantStatementTriggerFunctionProducerParameters(functionName, schema, constraintName, referencedTableName, referencedTableSchema, referencedTableTenantColumnName, foreignKeyPrimaryKeyColumnsMappings, iGetCurrentTenantIdFunctionInvocationFactory);
+        }
+    }
+}
@@ -28,8 +28,23 @@ import com.github.starnowski.posmulten.postgresql.core.common.function.IFunction
 
 public class SetCurrentTenantIdFunctionDefinition extends DefaultFunctionDefinition implements ISetCurrentTenantIdFunctionInvocationFactory, ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory {
 
+    private final boolean local;
+
     public SetCurrentTenantIdFunctionDefinition(IFunctionDefinition functionDefinition) {
+        this(functionDefinition, false);
+    }
+
+    public SetCurrentTenantIdFunctionDefinition(IFunctionDefinition functionDefinition, boolean local) {
         super(functionDefinition);
+        this.local = local;
+    }
+
+    /**
+     * @return true if the function sets the current tenant identifier only for the current transaction
+     * @since 0.8
+     */
+    public boolean isLocal() {
+        return local;
     }
 
     @Override
@@ -30,18 +30,40 @@ import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.
 
 import java.util.List;
 
+import static com.github.starnowski.posmulten.postgresql.core.TenantSettingsTableProducer.*;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentBuilder.forType;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.VOLATILE;
 import static java.util.Collections.singletonList;
 
 /**
  * The component produces a statement that creates a function that sets the current tenant identifier.
+ * When the {@link ISetCurrentTenantIdFunctionProducerParameters#isLocal()} returns true, the value is set only for the current transaction
+ * (the same as the "SET LOCAL" statement), which is required when the application connects to the database via a connection pooler
+ * in the transaction mode.
+ * When the {@link ISetCurrentTenantIdFunctionProducerParameters#isSqlLanguage()} returns true, the function is created in the SQL language
+ * with the single "SELECT set_config(...)" statement as body.
+ * When the {@link ISetCurrentTenantIdFunctionProducerParameters#getTenantRegistryTable()} is not null, the function accepts
+ * the external tenant identifier and stores the surrogate identifier resolved from the tenant registry table.
+ * For the external identifier that does not exist in the registry, the property is reset and the function that returns the current
+ * tenant identifier fails or returns null, so no tenant rows are accessible.
+ * When the {@link ISetCurrentTenantIdFunctionProducerParameters#getTenantSettingsTable()} is not null, the function in the same invocation
+ * sets the configuration parameters "statement_timeout", "work_mem", "lock_timeout" and the priority class property to values stored for the tenant
+ * in the tenant settings table. The null value or the missing row resets the parameter to its default value, so settings of the tenant
+ * previously set for the connection are not applied to the next tenant.
+ * When the {@link ISetCurrentTenantIdFunctionProducerParameters#getTenantTagProperty()} is not null, the function also sets this property
+ * to the tenant tag ({@link #TENANT_TAG_PREFIX} followed by the passed tenant identifier), which allows to attribute the database load to tenants.
  * For more details about function creation please check postgres documentation
  * @see <a href="https://www.postgresql.org/docs/9.6/sql-createfunction.html">Postgres, create function</a>
  *
  */
 public class SetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunctionFactory<ISetCurrentTenantIdFunctionProducerParameters, SetCurrentTenantIdFunctionDefinition> {
 
+    /**
+     * Prefix of the tenant tag set in the property returned by {@link ISetCurrentTenantIdFunctionProducerParameters#getTenantTagProperty()}.
+     * @since 0.8
+     */
+    public static final String TENANT_TAG_PREFIX = "tenant=";
+
     @Override
     protected void validate(ISetCurrentTenantIdFunctionProducerParameters parameters) {
         super.validate(parameters);
@@ -57,11 +79,49 @@ public class SetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunction
         {
             throw new IllegalArgumentException("Argument type cannot be blank");
         }
+        if (parameters.getTenantRegistryTable() != null)
+        {
+            if (parameters.getTenantRegistryTable().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant registry table name cannot be blank");
+            }
+            if (parameters.getTenantRegistrySchema() != null && parameters.getTenantRegistrySchema().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant registry schema name cannot be blank");
+            }
+            if (parameters.getTenantRegistryTenantIdColumn() == null || parameters.getTenantRegistryTenantIdColumn().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant registry tenant id column name cannot be blank");
+            }
+            if (parameters.getTenantRegistryExternalIdentifierColumn() == null || parameters.getTenantRegistryExternalIdentifierColumn().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant registry external identifier column name cannot be blank");
+            }
+        }
+        if (parameters.getTenantSettingsTable() != null)
+        {
+            if (parameters.getTenantSettingsTable().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant settings table name cannot be blank");
+            }
+            if (parameters.getTenantSettingsSchema() != null && parameters.getTenantSettingsSchema().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant settings schema name cannot be blank");
+            }
+            if (parameters.getTenantPriorityClassProperty() == null || parameters.getTenantPriorityClassProperty().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant priority class property name cannot be blank");
+            }
+        }
+        if (parameters.getTenantTagProperty() != null && parameters.getTenantTagProperty().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Tenant tag property name cannot be blank");
+        }
     }
 
     @Override
     protected SetCurrentTenantIdFunctionDefinition returnFunctionDefinition(ISetCurrentTenantIdFunctionProducerParameters parameters, IFunctionDefinition functionDefinition) {
-        return new SetCurrentTenantIdFunctionDefinition(functionDefinition);
+        return new SetCurrentTenantIdFunctionDefinition(functionDefinition, parameters.isLocal());
     }
 
     @Override
@@ -76,20 +136,133 @@ public class SetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunction
 
     @Override
     protected String buildBody(ISetCurrentTenantIdFunctionProducerParameters parameters) {
+        if (parameters.isSqlLanguage()) {
+            return buildSqlBody(parameters);
+        }
         StringBuilder sb = new StringBuilder();
         sb.append("BEGIN");
         sb.append("\n");
         sb.append("PERFORM set_config('");
         sb.append(parameters.getCurrentTenantIdProperty());
-        sb.append("', $1, false);");
+        sb.append("', ");
+        sb.append(parameters.getTenantRegistryTable() == null ? "$1" : prepareTenantRegistryLookup(parameters, true));
+        sb.append(", ");
+        sb.append(parameters.isLocal());
+        sb.append(");");
         sb.append("\n");
+        if (parameters.getTenantTagProperty() != null) {
+            sb.append("PERFORM ");
+            sb.append(prepareTenantTagConfig(parameters));
+            sb.append(";");
+            sb.append("\n");
+        }
+        if (parameters.getTenantSettingsTable() != null) {
+            sb.append("PERFORM ");
+            sb.append(prepareTenantSettingsConfigs(parameters));
+            sb.append(";");
+            sb.append("\n");
+        }
         sb.append("END");
         return sb.toString();
     }
 
+    /**
+     * The set_config function accepts only text value, so for other argument types the value is cast explicitly to text.
+     */
+    private String buildSqlBody(ISetCurrentTenantIdFunctionProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT set_config('");
+        sb.append(parameters.getCurrentTenantIdProperty());
+        sb.append("', ");
+        if (parameters.getTenantRegistryTable() != null) {
+            sb.append(prepareTenantRegistryLookup(parameters, true));
+        } else {
+            sb.append("$1");
+            if (parameters.getArgumentType() != null) {
+                sb.append("::text");
+            }
+        }
+        sb.append(", ");
+        sb.append(parameters.isLocal());
+        sb.append(")");
+        if (parameters.getTenantTagProperty() != null) {
+            sb.append(", ");
+            sb.append(prepareTenantTagConfig(parameters));
+        }
+        if (parameters.getTenantSettingsTable() != null) {
+            sb.append(", ");
+            sb.append(prepareTenantSettingsConfigs(parameters));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The invocations of the set_config function for the tenant settings.
+     * The tenant settings table is joined to the single row subquery with the left join, so the parameters are reset
+     * to their default values when there is no row for the tenant.
+     */
+    private String prepareTenantSettingsConfigs(ISetCurrentTenantIdFunctionProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(prepareTenantSettingConfig("statement_timeout", STATEMENT_TIMEOUT_COLUMN, parameters));
+        sb.append(", ");
+        sb.append(prepareTenantSettingConfig("work_mem", WORK_MEM_COLUMN, parameters));
+        sb.append(", ");
+        sb.append(prepareTenantSettingConfig("lock_timeout", LOCK_TIMEOUT_COLUMN, parameters));
+        sb.append(", ");
+        sb.append(prepareTenantSettingConfig(parameters.getTenantPriorityClassProperty(), PRIORITY_CLASS_COLUMN, parameters));
+        sb.append(" FROM (SELECT 1) d LEFT JOIN ");
+        if (parameters.getTenantSettingsSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getTenantSettingsSchema());
+            sb.append("\".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTenantSettingsTable());
+        sb.append("\" ts ON ts.");
+        sb.append(TENANT_ID_COLUMN);
+        sb.append(" = ");
+        sb.append(parameters.getTenantRegistryTable() == null ? "$1" : prepareTenantRegistryLookup(parameters, false));
+        return sb.toString();
+    }
+
+    /**
+     * The invocation of the set_config function for the tenant tag, the passed (external) tenant identifier is concatenated with the prefix.
+     */
+    private String prepareTenantTagConfig(ISetCurrentTenantIdFunctionProducerParameters parameters) {
+        return "set_config('" + parameters.getTenantTagProperty() + "', '" + TENANT_TAG_PREFIX + "' || $1, " + parameters.isLocal() + ")";
+    }
+
+    private String prepareTenantSettingConfig(String property, String column, ISetCurrentTenantIdFunctionProducerParameters parameters) {
+        return "set_config('" + property + "', ts." + column + ", " + parameters.isLocal() + ")";
+    }
+
+    /**
+     * The subquery that resolves the surrogate tenant identifier from the registry table, cast to text for the set_config function when required.
+     */
+    private String prepareTenantRegistryLookup(ISetCurrentTenantIdFunctionProducerParameters parameters, boolean castToText) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("(SELECT tr.");
+        sb.append(parameters.getTenantRegistryTenantIdColumn());
+        if (castToText) {
+            sb.append("::text");
+        }
+        sb.append(" FROM ");
+        if (parameters.getTenantRegistrySchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getTenantRegistrySchema());
+            sb.append("\".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getTenantRegistryTable());
+        sb.append("\" tr WHERE tr.");
+        sb.append(parameters.getTenantRegistryExternalIdentifierColumn());
+        sb.append(" = $1)");
+        return sb.toString();
+    }
+
     @Override
     protected String returnFunctionLanguage(ISetCurrentTenantIdFunctionProducerParameters parameters) {
-        return "plpgsql";
+        return parameters.isSqlLanguage() ? "sql" : "plpgsql";
     }
 
     @Override
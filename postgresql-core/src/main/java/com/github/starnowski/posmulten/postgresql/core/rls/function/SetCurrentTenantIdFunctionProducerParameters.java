@@ -29,12 +29,64 @@ public class SetCurrentTenantIdFunctionProducerParameters implements ISetCurrent
     private final String currentTenantIdProperty;
     private final String schema;
     private final String argumentType;
+    private final boolean local;
+    private final boolean sqlLanguage;
+    private final String tenantRegistryTable;
+    private final String tenantRegistrySchema;
+    private final String tenantRegistryTenantIdColumn;
+    private final String tenantRegistryExternalIdentifierColumn;
+    private final String tenantSettingsTable;
+    private final String tenantSettingsSchema;
+    private final String tenantPriorityClassProperty;
+    private final String tenantTagProperty;
 
     public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType) {
+        this(functionName, currentTenantIdProperty, schema, argumentType, false);
+    }
+
+    public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType, boolean local) {
+        this(functionName, currentTenantIdProperty, schema, argumentType, local, false);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType, boolean local, boolean sqlLanguage) {
+        this(functionName, currentTenantIdProperty, schema, argumentType, local, sqlLanguage, null, null, null, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType, boolean local, boolean sqlLanguage, String tenantRegistryTable, String tenantRegistrySchema, String tenantRegistryTenantIdColumn, String tenantRegistryExternalIdentifierColumn) {
+        this(functionName, currentTenantIdProperty, schema, argumentType, local, sqlLanguage, tenantRegistryTable, tenantRegistrySchema, tenantRegistryTenantIdColumn, tenantRegistryExternalIdentifierColumn, null, null, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType, boolean local, boolean sqlLanguage, String tenantRegistryTable, String tenantRegistrySchema, String tenantRegistryTenantIdColumn, String tenantRegistryExternalIdentifierColumn, String tenantSettingsTable, String tenantSettingsSchema, String tenantPriorityClassProperty) {
+        this(functionName, currentTenantIdProperty, schema, argumentType, local, sqlLanguage, tenantRegistryTable, tenantRegistrySchema, tenantRegistryTenantIdColumn, tenantRegistryExternalIdentifierColumn, tenantSettingsTable, tenantSettingsSchema, tenantPriorityClassProperty, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType, boolean local, boolean sqlLanguage, String tenantRegistryTable, String tenantRegistrySchema, String tenantRegistryTenantIdColumn, String tenantRegistryExternalIdentifierColumn, String tenantSettingsTable, String tenantSettingsSchema, String tenantPriorityClassProperty, String tenantTagProperty) {
         this.functionName = functionName;
         this.currentTenantIdProperty = currentTenantIdProperty;
         this.schema = schema;
         this.argumentType = argumentType;
+        this.local = local;
+        this.sqlLanguage = sqlLanguage;
+        this.tenantRegistryTable = tenantRegistryTable;
+        this.tenantRegistrySchema = tenantRegistrySchema;
+        this.tenantRegistryTenantIdColumn = tenantRegistryTenantIdColumn;
+        this.tenantRegistryExternalIdentifierColumn = tenantRegistryExternalIdentifierColumn;
+        this.tenantSettingsTable = tenantSettingsTable;
+        this.tenantSettingsSchema = tenantSettingsSchema;
+        this.tenantPriorityClassProperty = tenantPriorityClassProperty;
+        this.tenantTagProperty = tenantTagProperty;
     }
 
     @Override
@@ -47,6 +99,56 @@ public class SetCurrentTenantIdFunctionProducerParameters implements ISetCurrent
         return currentTenantIdProperty;
     }
 
+    @Override
+    public boolean isLocal() {
+        return local;
+    }
+
+    @Override
+    public boolean isSqlLanguage() {
+        return sqlLanguage;
+    }
+
+    @Override
+    public String getTenantRegistryTable() {
+        return tenantRegistryTable;
+    }
+
+    @Override
+    public String getTenantRegistrySchema() {
+        return tenantRegistrySchema;
+    }
+
+    @Override
+    public String getTenantRegistryTenantIdColumn() {
+        return tenantRegistryTenantIdColumn;
+    }
+
+    @Override
+    public String getTenantRegistryExternalIdentifierColumn() {
+        return tenantRegistryExternalIdentifierColumn;
+    }
+
+    @Override
+    public String getTenantSettingsTable() {
+        return tenantSettingsTable;
+    }
+
+    @Override
+    public String getTenantSettingsSchema() {
+        return tenantSettingsSchema;
+    }
+
+    @Override
+    public String getTenantPriorityClassProperty() {
+        return tenantPriorityClassProperty;
+    }
+
+    @Override
+    public String getTenantTagProperty() {
+        return tenantTagProperty;
+    }
+
     @Override
     public String getFunctionName() {
         return functionName;
@@ -0,0 +1,54 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+/**
+ * The component wraps the invocation returned by another {@link IGetCurrentTenantIdFunctionInvocationFactory} into the
+ * scalar subquery, for example:
+ * <pre>{@code (SELECT get_current_tenant_id())}</pre>
+ * Postgres evaluates such an uncorrelated subquery once per query as InitPlan, instead of invoking the function for each row.
+ * The subquery can not be used in the column default value or the check constraint expression.
+ *
+ * @since 0.8
+ */
+public class SubqueryGetCurrentTenantIdFunctionInvocationFactory implements IGetCurrentTenantIdFunctionInvocationFactory {
+
+    private final IGetCurrentTenantIdFunctionInvocationFactory factory;
+
+    public SubqueryGetCurrentTenantIdFunctionInvocationFactory(IGetCurrentTenantIdFunctionInvocationFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("The GetCurrentTenantId function invocation factory cannot be null");
+        }
+        this.factory = factory;
+    }
+
+    @Override
+    public String returnGetCurrentTenantIdFunctionInvocation() {
+        return new StringBuilder().append("(SELECT ").append(factory.returnGetCurrentTenantIdFunctionInvocation()).append(")").toString();
+    }
+
+    public IGetCurrentTenantIdFunctionInvocationFactory getFactory() {
+        return factory;
+    }
+}
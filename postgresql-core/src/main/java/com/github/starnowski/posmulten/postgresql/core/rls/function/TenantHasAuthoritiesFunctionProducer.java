@@ -27,11 +27,16 @@ import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedA
 import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentBuilder;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
 import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSExpressionTypeEnum;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static com.github.starnowski.posmulten.postgresql.core.TenantHierarchyTablesProducer.ANCESTOR_ID_COLUMN;
+import static com.github.starnowski.posmulten.postgresql.core.TenantHierarchyTablesProducer.DESCENDANT_ID_COLUMN;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.ParallelModeEnum.SAFE;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.STABLE;
@@ -66,6 +71,11 @@ public class TenantHasAuthoritiesFunctionProducer extends ExtendedAbstractFuncti
         metadataPhraseBuilder.withVolatilityCategorySupplier(STABLE).withParallelModeSupplier(SAFE);
     }
 
+    @Override
+    protected FunctionMetadataOptions returnFunctionMetadataOptions(ITenantHasAuthoritiesFunctionProducerParameters parameters) {
+        return parameters.getFunctionMetadataOptions();
+    }
+
     @Override
     protected void validate(ITenantHasAuthoritiesFunctionProducerParameters parameters) {
         super.validate(parameters);
@@ -93,6 +103,21 @@ public class TenantHasAuthoritiesFunctionProducer extends ExtendedAbstractFuncti
         {
             throw new IllegalArgumentException("Schema argument type cannot be blank");
         }
+        if (parameters.getTenantHierarchyClosureTable() != null)
+        {
+            if (parameters.getTenantHierarchyClosureTable().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant hierarchy closure table name cannot be blank");
+            }
+            if (parameters.getTenantHierarchyClosureTableSchema() != null && parameters.getTenantHierarchyClosureTableSchema().trim().isEmpty())
+            {
+                throw new IllegalArgumentException("Tenant hierarchy closure table schema cannot be blank");
+            }
+            if (parameters.getIGetCurrentTenantIdFunctionInvocationFactory() == null)
+            {
+                throw new IllegalArgumentException("Parameter of type IGetCurrentTenantIdFunctionInvocationFactory cannot be null when the tenant hierarchy closure table is specified");
+            }
+        }
     }
 
     @Override
@@ -100,6 +125,27 @@ public class TenantHasAuthoritiesFunctionProducer extends ExtendedAbstractFuncti
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT ");
         sb.append(parameters.getEqualsCurrentTenantIdentifierFunctionInvocationFactory().returnEqualsCurrentTenantIdentifierFunctionInvocation(forReference("$1")));
+        if (parameters.getTenantHierarchyClosureTable() != null) {
+            sb.append(" OR ($3 = '");
+            sb.append(RLSExpressionTypeEnum.USING.name());
+            sb.append("' AND $2 = '");
+            sb.append(PermissionCommandPolicyEnum.SELECT.name());
+            sb.append("' AND EXISTS (SELECT 1 FROM ");
+            if (parameters.getTenantHierarchyClosureTableSchema() != null) {
+                sb.append("\"");
+                sb.append(parameters.getTenantHierarchyClosureTableSchema());
+                sb.append("\".");
+            }
+            sb.append("\"");
+            sb.append(parameters.getTenantHierarchyClosureTable());
+            sb.append("\" tc WHERE tc.");
+            sb.append(ANCESTOR_ID_COLUMN);
+            sb.append(" = ");
+            sb.append(parameters.getIGetCurrentTenantIdFunctionInvocationFactory().returnGetCurrentTenantIdFunctionInvocation());
+            sb.append(" AND tc.");
+            sb.append(DESCENDANT_ID_COLUMN);
+            sb.append(" = $1))");
+        }
         return sb.toString();
     }
 }
@@ -23,6 +23,8 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions;
+
 public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHasAuthoritiesFunctionProducerParameters{
 
     private final String functionName;
@@ -33,12 +35,30 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
     private final String rlsExpressionArgumentType;
     private final String tableArgumentType;
     private final String schemaArgumentType;
+    private final FunctionMetadataOptions functionMetadataOptions;
+    private final String tenantHierarchyClosureTable;
+    private final String tenantHierarchyClosureTableSchema;
+    private final IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
 
     public TenantHasAuthoritiesFunctionProducerParameters(String functionName, String schema, EqualsCurrentTenantIdentifierFunctionInvocationFactory equalsCurrentTenantIdentifierFunctionInvocationFactory) {
         this(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, null, null, null, null, null);
     }
 
     public TenantHasAuthoritiesFunctionProducerParameters(String functionName, String schema, EqualsCurrentTenantIdentifierFunctionInvocationFactory equalsCurrentTenantIdentifierFunctionInvocationFactory, String tenantIdArgumentType, String permissionCommandPolicyArgumentType, String rlsExpressionArgumentType, String tableArgumentType, String schemaArgumentType) {
+        this(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, tenantIdArgumentType, permissionCommandPolicyArgumentType, rlsExpressionArgumentType, tableArgumentType, schemaArgumentType, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public TenantHasAuthoritiesFunctionProducerParameters(String functionName, String schema, EqualsCurrentTenantIdentifierFunctionInvocationFactory equalsCurrentTenantIdentifierFunctionInvocationFactory, String tenantIdArgumentType, String permissionCommandPolicyArgumentType, String rlsExpressionArgumentType, String tableArgumentType, String schemaArgumentType, FunctionMetadataOptions functionMetadataOptions) {
+        this(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, tenantIdArgumentType, permissionCommandPolicyArgumentType, rlsExpressionArgumentType, tableArgumentType, schemaArgumentType, functionMetadataOptions, null, null, null);
+    }
+
+    /**
+     * @since 0.8
+     */
+    public TenantHasAuthoritiesFunctionProducerParameters(String functionName, String schema, EqualsCurrentTenantIdentifierFunctionInvocationFactory equalsCurrentTenantIdentifierFunctionInvocationFactory, String tenantIdArgumentType, String permissionCommandPolicyArgumentType, String rlsExpressionArgumentType, String tableArgumentType, String schemaArgumentType, FunctionMetadataOptions functionMetadataOptions, String tenantHierarchyClosureTable, String tenantHierarchyClosureTableSchema, IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory) {
         this.functionName = functionName;
         this.schema = schema;
         this.equalsCurrentTenantIdentifierFunctionInvocationFactory = equalsCurrentTenantIdentifierFunctionInvocationFactory;
@@ -47,6 +67,10 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
         this.rlsExpressionArgumentType = rlsExpressionArgumentType;
         this.tableArgumentType = tableArgumentType;
         this.schemaArgumentType = schemaArgumentType;
+        this.functionMetadataOptions = functionMetadataOptions;
+        this.tenantHierarchyClosureTable = tenantHierarchyClosureTable;
+        this.tenantHierarchyClosureTableSchema = tenantHierarchyClosureTableSchema;
+        this.iGetCurrentTenantIdFunctionInvocationFactory = iGetCurrentTenantIdFunctionInvocationFactory;
     }
 
     public String getFunctionName() {
@@ -81,6 +105,26 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
         return equalsCurrentTenantIdentifierFunctionInvocationFactory;
     }
 
+    @Override
+    public FunctionMetadataOptions getFunctionMetadataOptions() {
+        return functionMetadataOptions;
+    }
+
+    @Override
+    public String getTenantHierarchyClosureTable() {
+        return tenantHierarchyClosureTable;
+    }
+
+    @Override
+    public String getTenantHierarchyClosureTableSchema() {
+        return tenantHierarchyClosureTableSchema;
+    }
+
+    @Override
+    public IGetCurrentTenantIdFunctionInvocationFactory getIGetCurrentTenantIdFunctionInvocationFactory() {
+        return iGetCurrentTenantIdFunctionInvocationFactory;
+    }
+
     @Override
     public String toString() {
         return "TenantHasAuthoritiesFunctionProducerParameters{" +
@@ -91,6 +135,8 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
                 ", rlsExpressionArgumentType='" + rlsExpressionArgumentType + '\'' +
                 ", tableArgumentType='" + tableArgumentType + '\'' +
                 ", schemaArgumentType='" + schemaArgumentType + '\'' +
+                ", tenantHierarchyClosureTable='" + tenantHierarchyClosureTable + '\'' +
+                ", tenantHierarchyClosureTableSchema='" + tenantHierarchyClosureTableSchema + '\'' +
                 '}';
     }
 
@@ -104,6 +150,10 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
         private String rlsExpressionArgumentType;
         private String tableArgumentType;
         private String schemaArgumentType;
+        private FunctionMetadataOptions functionMetadataOptions;
+        private String tenantHierarchyClosureTable;
+        private String tenantHierarchyClosureTableSchema;
+        private IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
 
         public TenantHasAuthoritiesFunctionProducerParametersBuilder withFunctionName(String functionName) {
             this.functionName = functionName;
@@ -145,9 +195,41 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
             return this;
         }
 
+        /**
+         * @since 0.8
+         */
+        public TenantHasAuthoritiesFunctionProducerParametersBuilder withFunctionMetadataOptions(FunctionMetadataOptions functionMetadataOptions) {
+            this.functionMetadataOptions = functionMetadataOptions;
+            return this;
+        }
+
+        /**
+         * @since 0.8
+         */
+        public TenantHasAuthoritiesFunctionProducerParametersBuilder withTenantHierarchyClosureTable(String tenantHierarchyClosureTable) {
+            this.tenantHierarchyClosureTable = tenantHierarchyClosureTable;
+            return this;
+        }
+
+        /**
+         * @since 0.8
+         */
+        public TenantHasAuthoritiesFunctionProducerParametersBuilder withTenantHierarchyClosureTableSchema(String tenantHierarchyClosureTableSchema) {
+            this.tenantHierarchyClosureTableSchema = tenantHierarchyClosureTableSchema;
+            return this;
+        }
+
+        /**
+         * @since 0.8
+         */
+        public TenantHasAuthoritiesFunctionProducerParametersBuilder withIGetCurrentTenantIdFunctionInvocationFactory(IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory) {
+            this.iGetCurrentTenantIdFunctionInvocationFactory = iGetCurrentTenantIdFunctionInvocationFactory;
+            return this;
+        }
+
         public TenantHasAuthoritiesFunctionProducerParameters build()
         {
-            return new TenantHasAuthoritiesFunctionProducerParameters(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, tenantIdArgumentType, permissionCommandPolicyArgumentType, rlsExpressionArgumentType, tableArgumentType, schemaArgumentType);
+            return new TenantHasAuthoritiesFunctionProducerParameters(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, tenantIdArgumentType, permissionCommandPolicyArgumentType, rlsExpressionArgumentType, tableArgumentType, schemaArgumentType, functionMetadataOptions, tenantHierarchyClosureTable, tenantHierarchyClosureTableSchema, iGetCurrentTenantIdFunctionInvocationFactory);
         }
     }
 }
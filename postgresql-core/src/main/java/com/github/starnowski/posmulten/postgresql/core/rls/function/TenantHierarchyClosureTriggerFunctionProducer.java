@@ -0,0 +1,151 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
+
+import static com.github.starnowski.posmulten.postgresql.core.TenantHierarchyTablesProducer.*;
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.VOLATILE;
+
+/**
+ * The component produces a statement that creates a trigger function that maintains the closure table of the hierarchical tenants.
+ * The function has to be invoked by the row level trigger on the hierarchy table, fired after the insert, update and delete operations.
+ * <ul>
+ *     <li>For the inserted tenant, there are added pairs of the tenant with itself and with all ancestors of its parent tenant.</li>
+ *     <li>For the tenant that is moved to another parent tenant, the pairs of its subtree with old ancestors are replaced with pairs with new ancestors.
+ *     The exception is raised when the tenant is moved under its own descendant or when the tenant identifier is changed.</li>
+ *     <li>For the deleted tenant, all pairs in which the tenant is a descendant are deleted.
+ *     The child tenants are deleted by the foreign key with cascade delete, so the trigger is fired for each of them.</li>
+ * </ul>
+ *
+ * @see com.github.starnowski.posmulten.postgresql.core.TenantHierarchyTablesProducer
+ * @see <a href="https://www.postgresql.org/docs/10/plpgsql-trigger.html">Postgres, trigger functions</a>
+ * @since 0.8
+ */
+public class TenantHierarchyClosureTriggerFunctionProducer extends ExtendedAbstractFunctionFactory<ITenantHierarchyClosureTriggerFunctionProducerParameters, DefaultFunctionDefinition> {
+
+    @Override
+    protected String prepareReturnType(ITenantHierarchyClosureTriggerFunctionProducerParameters parameters) {
+        return "trigger";
+    }
+
+    @Override
+    protected void enrichMetadataPhraseBuilder(ITenantHierarchyClosureTriggerFunctionProducerParameters parameters, MetadataPhraseBuilder metadataPhraseBuilder) {
+        metadataPhraseBuilder.withVolatilityCategorySupplier(VOLATILE);
+    }
+
+    @Override
+    protected String buildBody(ITenantHierarchyClosureTriggerFunctionProducerParameters parameters) {
+        String closureTable = prepareClosureTableReference(parameters);
+        String subtree = "(SELECT s." + DESCENDANT_ID_COLUMN + " FROM " + closureTable + " s WHERE s." + ANCESTOR_ID_COLUMN + " = NEW." + TENANT_ID_COLUMN + ")";
+        StringBuilder sb = new StringBuilder();
+        sb.append("BEGIN");
+        sb.append("\n");
+        sb.append("IF TG_OP = 'INSERT' THEN");
+        sb.append("\n");
+        sb.append("INSERT INTO ").append(closureTable).append(" (").append(ANCESTOR_ID_COLUMN).append(", ").append(DESCENDANT_ID_COLUMN).append(", ").append(DEPTH_COLUMN).append(")");
+        sb.append(" SELECT NEW.").append(TENANT_ID_COLUMN).append(", NEW.").append(TENANT_ID_COLUMN).append(", 0");
+        sb.append(" UNION ALL SELECT c.").append(ANCESTOR_ID_COLUMN).append(", NEW.").append(TENANT_ID_COLUMN).append(", c.").append(DEPTH_COLUMN).append(" + 1 FROM ").append(closureTable).append(" c WHERE c.").append(DESCENDANT_ID_COLUMN).append(" = NEW.").append(PARENT_TENANT_ID_COLUMN).append(";");
+        sb.append("\n");
+        sb.append("ELSIF TG_OP = 'UPDATE' THEN");
+        sb.append("\n");
+        sb.append("IF NEW.").append(TENANT_ID_COLUMN).append(" IS DISTINCT FROM OLD.").append(TENANT_ID_COLUMN).append(" THEN");
+        sb.append("\n");
+        sb.append("RAISE EXCEPTION 'tenant identifier in relation \"%\" cannot be changed', TG_TABLE_NAME;");
+        sb.append("\n");
+        sb.append("END IF;");
+        sb.append("\n");
+        sb.append("IF NEW.").append(PARENT_TENANT_ID_COLUMN).append(" IS DISTINCT FROM OLD.").append(PARENT_TENANT_ID_COLUMN).append(" THEN");
+        sb.append("\n");
+        sb.append("IF NEW.").append(PARENT_TENANT_ID_COLUMN).append(" IN ").append(subtree).append(" THEN");
+        sb.append("\n");
+        sb.append("RAISE EXCEPTION 'tenant % cannot be moved under its own descendant %', NEW.").append(TENANT_ID_COLUMN).append(", NEW.").append(PARENT_TENANT_ID_COLUMN).append(";");
+        sb.append("\n");
+        sb.append("END IF;");
+        sb.append("\n");
+        sb.append("DELETE FROM ").append(closureTable).append(" c WHERE c.").append(DESCENDANT_ID_COLUMN).append(" IN ").append(subtree);
+        sb.append(" AND c.").append(ANCESTOR_ID_COLUMN).append(" NOT IN ").append(subtree).append(";");
+        sb.append("\n");
+        sb.append("INSERT INTO ").append(closureTable).append(" (").append(ANCESTOR_ID_COLUMN).append(", ").append(DESCENDANT_ID_COLUMN).append(", ").append(DEPTH_COLUMN).append(")");
+        sb.append(" SELECT p.").append(ANCESTOR_ID_COLUMN).append(", s.").append(DESCENDANT_ID_COLUMN).append(", p.").append(DEPTH_COLUMN).append(" + s.").append(DEPTH_COLUMN).append(" + 1");
+        sb.append(" FROM ").append(closureTable).append(" p CROSS JOIN ").append(closureTable).append(" s");
+        sb.append(" WHERE p.").append(DESCENDANT_ID_COLUMN).append(" = NEW.").append(PARENT_TENANT_ID_COLUMN).append(" AND s.").append(ANCESTOR_ID_COLUMN).append(" = NEW.").append(TENANT_ID_COLUMN).append(";");
+        sb.append("\n");
+        sb.append("END IF;");
+        sb.append("\n");
+        sb.append("ELSIF TG_OP = 'DELETE' THEN");
+        sb.append("\n");
+        sb.append("DELETE FROM ").append(closureTable).append(" c WHERE c.").append(DESCENDANT_ID_COLUMN).append(" = OLD.").append(TENANT_ID_COLUMN).append(";");
+        sb.append("\n");
+        sb.append("END IF;");
+        sb.append("\n");
+        sb.append("RETURN NULL;");
+        sb.append("\n");
+        sb.append("END");
+        return sb.toString();
+    }
+
+    private String prepareClosureTableReference(ITenantHierarchyClosureTriggerFunctionProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        if (parameters.getClosureTableSchema() != null) {
+            sb.append("\"");
+            sb.append(parameters.getClosureTableSchema());
+            sb.append("\".");
+        }
+        sb.append("\"");
+        sb.append(parameters.getClosureTable());
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    @Override
+    protected String returnFunctionLanguage(ITenantHierarchyClosureTriggerFunctionProducerParameters parameters) {
+        return "plpgsql";
+    }
+
+    @Override
+    protected DefaultFunctionDefinition returnFunctionDefinition(ITenantHierarchyClosureTriggerFunctionProducerParameters parameters, IFunctionDefinition functionDefinition) {
+        return new DefaultFunctionDefinition(functionDefinition);
+    }
+
+    @Override
+    protected void validate(ITenantHierarchyClosureTriggerFunctionProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getClosureTable() == null)
+        {
+            throw new IllegalArgumentException("Closure table name cannot be null");
+        }
+        if (parameters.getClosureTable().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Closure table name cannot be blank");
+        }
+        if (parameters.getClosureTableSchema() != null && parameters.getClosureTableSchema().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Closure table schema cannot be blank");
+        }
+    }
+}
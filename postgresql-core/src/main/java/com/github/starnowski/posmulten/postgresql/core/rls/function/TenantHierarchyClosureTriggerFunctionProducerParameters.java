@@ -0,0 +1,97 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+/**
+ * @since 0.8
+ */
+public class TenantHierarchyClosureTriggerFunctionProducerParameters implements ITenantHierarchyClosureTriggerFunctionProducerParameters {
+
+    private final String functionName;
+    private final String schema;
+    private final String closureTable;
+    private final String closureTableSchema;
+
+    public TenantHierarchyClosureTriggerFunctionProducerParameters(String functionName, String schema, String closureTable, String closureTableSchema) {
+        this.functionName = functionName;
+        this.schema = schema;
+        this.closureTable = closureTable;
+        this.closureTableSchema = closureTableSchema;
+    }
+
+    public static TenantHierarchyClosureTriggerFunctionProducerParametersBuilder builder() {
+        return new TenantHierarchyClosureTriggerFunctionProducerParametersBuilder();
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getClosureTable() {
+        return closureTable;
+    }
+
+    @Override
+    public String getClosureTableSchema() {
+        return closureTableSchema;
+    }
+
+    public static class TenantHierarchyClosureTriggerFunctionProducerParametersBuilder {
+        private String functionName;
+        private String schema;
+        private String closureTable;
+        private String closureTableSchema;
+
+        public TenantHierarchyClosureTriggerFunctionProducerParametersBuilder withFunctionName(String functionName) {
+            this.functionName = functionName;
+            return this;
+        }
+
+        public TenantHierarchyClosureTriggerFunctionProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantHierarchyClosureTriggerFunctionProducerParametersBuilder withClosureTable(String closureTable) {
+            this.closureTable = closureTable;
+            return this;
+        }
+
+        public TenantHierarchyClosureTriggerFunctionProducerParametersBuilder withClosureTableSchema(String closureTableSchema) {
+            this.closureTableSchema = closureTableSchema;
+            return this;
+        }
+
+        public TenantHierarchyClosureTriggerFunctionProducerParameters build() {
+            return new TenantHierarchyClosureTriggerFunctionProducerParameters(functionName, schema, closureTable, closureTableSchema);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantActivityViewProducerTest extends Specification {
+
+    def tested = new TenantActivityViewProducer()
+
+    @Unroll
+    def "should return statements that create and drop view #view in schema #schema"()
+    {
+        given:
+            def parameters = TenantActivityViewProducerParameters.builder()
+                    .withView(view)
+                    .withSchema(schema)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [expectedCheckingStatement]
+
+        where:
+            view                |   schema          ||  expectedStatement   |   expectedDropStatement   |   expectedCheckingStatement
+            "tenant_activity"   |   null            ||  "CREATE OR REPLACE VIEW \"tenant_activity\" AS SELECT substr(sa.application_name, 8) AS tenant_id, sa.pid, sa.usename, sa.datname, sa.state, sa.backend_start, sa.xact_start, sa.query_start, sa.wait_event_type, sa.wait_event, sa.query FROM pg_stat_activity sa WHERE sa.application_name LIKE 'tenant=%';"    |   "DROP VIEW IF EXISTS \"tenant_activity\";"    |   "SELECT COUNT(1) FROM pg_views WHERE viewname = 'tenant_activity' AND schemaname = 'public';"
+            "tenant_activity"   |   "public"        ||  "CREATE OR REPLACE VIEW \"public\".\"tenant_activity\" AS SELECT substr(sa.application_name, 8) AS tenant_id, sa.pid, sa.usename, sa.datname, sa.state, sa.backend_start, sa.xact_start, sa.query_start, sa.wait_event_type, sa.wait_event, sa.query FROM pg_stat_activity sa WHERE sa.application_name LIKE 'tenant=%';"    |   "DROP VIEW IF EXISTS \"public\".\"tenant_activity\";"    |   "SELECT COUNT(1) FROM pg_views WHERE viewname = 'tenant_activity' AND schemaname = 'public';"
+            "sessions"          |   "monitoring"    ||  "CREATE OR REPLACE VIEW \"monitoring\".\"sessions\" AS SELECT substr(sa.application_name, 8) AS tenant_id, sa.pid, sa.usename, sa.datname, sa.state, sa.backend_start, sa.xact_start, sa.query_start, sa.wait_event_type, sa.wait_event, sa.query FROM pg_stat_activity sa WHERE sa.application_name LIKE 'tenant=%';"    |   "DROP VIEW IF EXISTS \"monitoring\".\"sessions\";"    |   "SELECT COUNT(1) FROM pg_views WHERE viewname = 'sessions' AND schemaname = 'monitoring';"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when view is '#view' and schema is '#schema'"()
+    {
+        given:
+            def parameters = TenantActivityViewProducerParameters.builder()
+                    .withView(view)
+                    .withSchema(schema)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            view                |   schema  ||  expectedMessage
+            null                |   null    ||  "View name cannot be null"
+            ""                  |   null    ||  "View name cannot be blank"
+            "  "                |   "public"||  "View name cannot be blank"
+            "tenant_activity"   |   ""      ||  "Schema name cannot be blank"
+            "tenant_activity"   |   "   "   ||  "Schema name cannot be blank"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when parameters object is null"()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+}
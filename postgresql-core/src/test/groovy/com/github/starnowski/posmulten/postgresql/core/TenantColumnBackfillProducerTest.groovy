@@ -0,0 +1,73 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantColumnBackfillProducerTest extends Specification {
+
+    def tested = new TenantColumnBackfillProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that sets tenant column #tenantColumn for existing rows in table #table and schema #schema"()
+    {
+        given:
+            def parameters = TenantColumnBackfillProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withTenantColumn(tenantColumn)
+                    .withKeyColumnNameAndTypeMap(keyColumns)
+                    .withTenantValueQuery(query)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == "SELECT 1;"
+            definition.getCheckingStatements() == [expectedCheckingStatement]
+
+        and: "definition should contain properties required for the execution in batches"
+            definition.getTableName() == table
+            definition.getTableSchema() == schema
+            definition.getTenantColumnName() == tenantColumn
+            definition.getTenantValueQuery() == query
+            new ArrayList(definition.getKeyColumnNameAndTypeMap().keySet()) == expectedKeyColumns
+
+        where:
+            table       |   schema          |   tenantColumn    |   keyColumns                          |   query                                                               ||  expectedKeyColumns      |   expectedStatement   |   expectedCheckingStatement
+            "users"     |   null            |   "tenant"        |   [id: "bigint"]                      |   "SELECT 'xxx'"                                                      ||  ["id"]                  |   "UPDATE \"users\" SET tenant = (SELECT 'xxx') WHERE tenant IS NULL;"    |   "SELECT CASE WHEN EXISTS (SELECT 1 FROM \"users\" WHERE tenant IS NULL) THEN 0 ELSE 1 END;"
+            "posts"     |   "public"        |   "tenant_id"     |   [user_id: "bigint", id: "bigint"]   |   "SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id"        ||  ["user_id", "id"]       |   "UPDATE \"public\".\"posts\" SET tenant_id = (SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id) WHERE tenant_id IS NULL;"    |   "SELECT CASE WHEN EXISTS (SELECT 1 FROM \"public\".\"posts\" WHERE tenant_id IS NULL) THEN 0 ELSE 1 END;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' with message '#expectedMessage' for table #table, tenant column #tenantColumn, key columns #keyColumns and query #query" () {
+        given:
+            def parameters = TenantColumnBackfillProducerParameters.builder()
+                    .withTable(table)
+                    .withTenantColumn(tenantColumn)
+                    .withKeyColumnNameAndTypeMap(keyColumns)
+                    .withTenantValueQuery(query)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   tenantColumn    |   keyColumns      |   query               ||  expectedMessage
+            null        |   "tenant"        |   [id: "bigint"]  |   "SELECT 'xxx'"      ||  "Table name cannot be null"
+            " "         |   "tenant"        |   [id: "bigint"]  |   "SELECT 'xxx'"      ||  "Table name cannot be blank"
+            "users"     |   null            |   [id: "bigint"]  |   "SELECT 'xxx'"      ||  "Tenant column cannot be null"
+            "users"     |   ""              |   [id: "bigint"]  |   "SELECT 'xxx'"      ||  "Tenant column cannot be blank"
+            "users"     |   "tenant"        |   null            |   "SELECT 'xxx'"      ||  "Key columns cannot be empty"
+            "users"     |   "tenant"        |   [:]             |   "SELECT 'xxx'"      ||  "Key columns cannot be empty"
+            "users"     |   "tenant"        |   [id: "bigint"]  |   null                ||  "Tenant value query cannot be null"
+            "users"     |   "tenant"        |   [id: "bigint"]  |   "  "                ||  "Tenant value query cannot be blank"
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantHierarchyTablesProducerTest extends Specification {
+
+    def tested = new TenantHierarchyTablesProducer()
+
+    @Unroll
+    def "should return statements that create hierarchy table #hierarchyTable, closure table #closureTable and trigger #triggerName in schema #schema"()
+    {
+        given:
+            def parameters = TenantHierarchyTablesProducerParameters.builder()
+                    .withHierarchyTable(hierarchyTable)
+                    .withClosureTable(closureTable)
+                    .withSchema(schema)
+                    .withTenantIdColumnType(tenantIdColumnType)
+                    .withTriggerName(triggerName)
+                    .withTriggerFunctionReference(triggerFunctionReference)
+                    .build()
+
+        when:
+            def definitions = tested.produce(parameters)
+
+        then:
+            definitions.size() == 3
+            definitions[0].getCreateScript() == expectedHierarchyTableStatement
+            definitions[0].getDropScript() == expectedHierarchyTableDropStatement
+            definitions[1].getCreateScript() == expectedClosureTableStatement
+            definitions[1].getDropScript() == expectedClosureTableDropStatement
+            definitions[2].getCreateScript() == expectedTriggerStatement
+            definitions[2].getDropScript() == expectedTriggerDropStatement
+
+        where:
+            hierarchyTable      |   closureTable                |   schema          |   tenantIdColumnType  |   triggerName     |   triggerFunctionReference        ||  expectedHierarchyTableStatement |   expectedHierarchyTableDropStatement |   expectedClosureTableStatement   |   expectedClosureTableDropStatement   |   expectedTriggerStatement    |   expectedTriggerDropStatement
+            "tenant_hierarchy"  |   "tenant_hierarchy_closure"  |   null            |   "bigint"            |   "th_trg"        |   "th_fun"                        ||  "CREATE TABLE IF NOT EXISTS \"tenant_hierarchy\" (tenant_id bigint PRIMARY KEY, parent_tenant_id bigint REFERENCES \"tenant_hierarchy\" (tenant_id) ON DELETE CASCADE);"    |   "DROP TABLE IF EXISTS \"tenant_hierarchy\";"    |   "CREATE TABLE IF NOT EXISTS \"tenant_hierarchy_closure\" (ancestor_id bigint NOT NULL, descendant_id bigint NOT NULL, depth integer NOT NULL, PRIMARY KEY (ancestor_id, descendant_id));"   |   "DROP TABLE IF EXISTS \"tenant_hierarchy_closure\";"    |   "CREATE TRIGGER th_trg AFTER INSERT OR UPDATE OR DELETE ON \"tenant_hierarchy\" FOR EACH ROW EXECUTE PROCEDURE th_fun();"  |   "DROP TRIGGER IF EXISTS th_trg ON \"tenant_hierarchy\";"
+            "tenant_hierarchy"  |   "tenant_hierarchy_closure"  |   "public"        |   "VARCHAR(255)"      |   "th_trg"        |   "public.th_fun"                 ||  "CREATE TABLE IF NOT EXISTS \"public\".\"tenant_hierarchy\" (tenant_id VARCHAR(255) PRIMARY KEY, parent_tenant_id VARCHAR(255) REFERENCES \"public\".\"tenant_hierarchy\" (tenant_id) ON DELETE CASCADE);"    |   "DROP TABLE IF EXISTS \"public\".\"tenant_hierarchy\";"    |   "CREATE TABLE IF NOT EXISTS \"public\".\"tenant_hierarchy_closure\" (ancestor_id VARCHAR(255) NOT NULL, descendant_id VARCHAR(255) NOT NULL, depth integer NOT NULL, PRIMARY KEY (ancestor_id, descendant_id));"   |   "DROP TABLE IF EXISTS \"public\".\"tenant_hierarchy_closure\";"    |   "CREATE TRIGGER th_trg AFTER INSERT OR UPDATE OR DELETE ON \"public\".\"tenant_hierarchy\" FOR EACH ROW EXECUTE PROCEDURE public.th_fun();"  |   "DROP TRIGGER IF EXISTS th_trg ON \"public\".\"tenant_hierarchy\";"
+            "orgs"              |   "orgs_paths"                |   "other"         |   "UUID"              |   "orgs_trigger"  |   "other.maintain_orgs_paths"     ||  "CREATE TABLE IF NOT EXISTS \"other\".\"orgs\" (tenant_id UUID PRIMARY KEY, parent_tenant_id UUID REFERENCES \"other\".\"orgs\" (tenant_id) ON DELETE CASCADE);"    |   "DROP TABLE IF EXISTS \"other\".\"orgs\";"    |   "CREATE TABLE IF NOT EXISTS \"other\".\"orgs_paths\" (ancestor_id UUID NOT NULL, descendant_id UUID NOT NULL, depth integer NOT NULL, PRIMARY KEY (ancestor_id, descendant_id));"   |   "DROP TABLE IF EXISTS \"other\".\"orgs_paths\";"    |   "CREATE TRIGGER orgs_trigger AFTER INSERT OR UPDATE OR DELETE ON \"other\".\"orgs\" FOR EACH ROW EXECUTE PROCEDURE other.maintain_orgs_paths();"  |   "DROP TRIGGER IF EXISTS orgs_trigger ON \"other\".\"orgs\";"
+    }
+
+    @Unroll
+    def "should return checking statements for hierarchy table #hierarchyTable, closure table #closureTable and trigger #triggerName in schema #schema"()
+    {
+        given:
+            def parameters = TenantHierarchyTablesProducerParameters.builder()
+                    .withHierarchyTable(hierarchyTable)
+                    .withClosureTable(closureTable)
+                    .withSchema(schema)
+                    .withTenantIdColumnType("bigint")
+                    .withTriggerName(triggerName)
+                    .withTriggerFunctionReference("th_fun")
+                    .build()
+
+        when:
+            def definitions = tested.produce(parameters)
+
+        then:
+            definitions[0].getCheckingStatements() == ["SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '" + hierarchyTable + "' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = '" + expectedSchema + "';"]
+            definitions[1].getCheckingStatements() == ["SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '" + closureTable + "' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = '" + expectedSchema + "';"]
+            definitions[2].getCheckingStatements() == ["SELECT COUNT(1) FROM pg_trigger pt, pg_class pc, pg_catalog.pg_namespace pg WHERE pt.tgrelid = pc.oid AND pt.tgname = '" + triggerName + "' AND pc.relname = '" + hierarchyTable + "' AND pc.relnamespace = pg.oid AND pg.nspname = '" + expectedSchema + "';"]
+
+        where:
+            hierarchyTable      |   closureTable                |   schema      |   triggerName     ||  expectedSchema
+            "tenant_hierarchy"  |   "tenant_hierarchy_closure"  |   null        |   "th_trg"        ||  "public"
+            "tenant_hierarchy"  |   "tenant_hierarchy_closure"  |   "public"    |   "th_trg"        ||  "public"
+            "orgs"              |   "orgs_paths"                |   "other"     |   "orgs_trigger"  ||  "other"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when hierarchy table is '#hierarchyTable', closure table is '#closureTable', schema is '#schema', tenant id column type is '#tenantIdColumnType', trigger is '#triggerName' and trigger function is '#triggerFunctionReference'"()
+    {
+        given:
+            def parameters = TenantHierarchyTablesProducerParameters.builder()
+                    .withHierarchyTable(hierarchyTable)
+                    .withClosureTable(closureTable)
+                    .withSchema(schema)
+                    .withTenantIdColumnType(tenantIdColumnType)
+                    .withTriggerName(triggerName)
+                    .withTriggerFunctionReference(triggerFunctionReference)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            hierarchyTable  |   closureTable    |   schema  |   tenantIdColumnType  |   triggerName |   triggerFunctionReference    ||  expectedMessage
+            null            |   "closure"       |   null    |   "bigint"            |   "trg"       |   "fun"                       ||  "Hierarchy table name cannot be null"
+            " "             |   "closure"       |   null    |   "bigint"            |   "trg"       |   "fun"                       ||  "Hierarchy table name cannot be blank"
+            "hierarchy"     |   null            |   null    |   "bigint"            |   "trg"       |   "fun"                       ||  "Closure table name cannot be null"
+            "hierarchy"     |   "  "            |   null    |   "bigint"            |   "trg"       |   "fun"                       ||  "Closure table name cannot be blank"
+            "hierarchy"     |   "closure"       |   ""      |   "bigint"            |   "trg"       |   "fun"                       ||  "Schema name cannot be blank"
+            "hierarchy"     |   "closure"       |   null    |   null                |   "trg"       |   "fun"                       ||  "Tenant id column type cannot be null"
+            "hierarchy"     |   "closure"       |   null    |   " "                 |   "trg"       |   "fun"                       ||  "Tenant id column type cannot be blank"
+            "hierarchy"     |   "closure"       |   null    |   "bigint"            |   null        |   "fun"                       ||  "Trigger name cannot be null"
+            "hierarchy"     |   "closure"       |   null    |   "bigint"            |   ""          |   "fun"                       ||  "Trigger name cannot be blank"
+            "hierarchy"     |   "closure"       |   null    |   "bigint"            |   "trg"       |   null                        ||  "Trigger function reference cannot be null"
+            "hierarchy"     |   "closure"       |   null    |   "bigint"            |   "trg"       |   "   "                       ||  "Trigger function reference cannot be blank"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when parameters object is null"()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+}
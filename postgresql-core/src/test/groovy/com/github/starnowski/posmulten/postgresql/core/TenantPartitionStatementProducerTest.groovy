@@ -0,0 +1,206 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.HASH
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.LIST
+
+class TenantPartitionStatementProducerTest extends Specification {
+
+    def tested = new TenantPartitionStatementProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates hash partition #partitionTable for table #table in schema #schema with modulus #modulus and remainder #remainder"()
+    {
+        given:
+            def parameters = TenantPartitionStatementProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withPartitionTable(partitionTable)
+                    .withStrategy(HASH)
+                    .withModulus(modulus)
+                    .withRemainder(remainder)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [partitionCheckingStatement(schema == null ? "public" : schema, table, partitionTable), parentCheckingStatement(schema == null ? "public" : schema, table, "h")]
+
+        where:
+            table       |   schema          |   partitionTable  |   modulus |   remainder   ||  expectedStatement                                                                                                           |   expectedDropStatement
+            "users"     |   null            |   "users_p0"      |   4       |   0           ||  "CREATE TABLE IF NOT EXISTS \"users_p0\" PARTITION OF \"users\" FOR VALUES WITH (MODULUS 4, REMAINDER 0);"                   |   "DROP TABLE IF EXISTS \"users_p0\";"
+            "users"     |   "public"        |   "users_p3"      |   4       |   3           ||  "CREATE TABLE IF NOT EXISTS \"public\".\"users_p3\" PARTITION OF \"public\".\"users\" FOR VALUES WITH (MODULUS 4, REMAINDER 3);" |   "DROP TABLE IF EXISTS \"public\".\"users_p3\";"
+            "posts"     |   "some_schema"   |   "posts_h1"      |   2       |   1           ||  "CREATE TABLE IF NOT EXISTS \"some_schema\".\"posts_h1\" PARTITION OF \"some_schema\".\"posts\" FOR VALUES WITH (MODULUS 2, REMAINDER 1);" |   "DROP TABLE IF EXISTS \"some_schema\".\"posts_h1\";"
+    }
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates list partition #partitionTable for table #table in schema #schema with values #values, default partition #defaultPartition"()
+    {
+        given:
+            def parameters = TenantPartitionStatementProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withPartitionTable(partitionTable)
+                    .withStrategy(LIST)
+                    .withValues(values)
+                    .withDefaultPartition(defaultPartition)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [partitionCheckingStatement(schema == null ? "public" : schema, table, partitionTable), parentCheckingStatement(schema == null ? "public" : schema, table, "l")]
+
+        where:
+            table       |   schema          |   partitionTable      |   values                  |   defaultPartition    ||  expectedStatement                                                                                                   |   expectedDropStatement
+            "users"     |   null            |   "users_big"         |   ["t1"]                  |   false               ||  "CREATE TABLE IF NOT EXISTS \"users_big\" PARTITION OF \"users\" FOR VALUES IN ('t1');"                              |   "DROP TABLE IF EXISTS \"users_big\";"
+            "users"     |   "public"        |   "users_small"       |   ["t2", "t3", "t'4"]     |   false               ||  "CREATE TABLE IF NOT EXISTS \"public\".\"users_small\" PARTITION OF \"public\".\"users\" FOR VALUES IN ('t2', 't3', 't''4');"  |   "DROP TABLE IF EXISTS \"public\".\"users_small\";"
+            "posts"     |   "some_schema"   |   "posts_default"     |   null                    |   true                ||  "CREATE TABLE IF NOT EXISTS \"some_schema\".\"posts_default\" PARTITION OF \"some_schema\".\"posts\" DEFAULT;"    |   "DROP TABLE IF EXISTS \"some_schema\".\"posts_default\";"
+    }
+
+    @Unroll
+    def "should return statement (#expectedStatement) that attaches existing table #partitionTable as partition of table #table in schema #schema"()
+    {
+        given:
+            def parameters = TenantPartitionStatementProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withPartitionTable(partitionTable)
+                    .withStrategy(strategy)
+                    .withModulus(3)
+                    .withRemainder(2)
+                    .withValues(["ten1", "ten2"])
+                    .withAttachExistingTable(true)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+
+        where:
+            table       |   schema      |   partitionTable  |   strategy    ||  expectedStatement                                                                                               |   expectedDropStatement
+            "users"     |   null        |   "users_p2"      |   HASH        ||  "ALTER TABLE \"users\" ATTACH PARTITION \"users_p2\" FOR VALUES WITH (MODULUS 3, REMAINDER 2);"                 |   "ALTER TABLE \"users\" DETACH PARTITION \"users_p2\";"
+            "users"     |   "public"    |   "users_a"       |   LIST        ||  "ALTER TABLE \"public\".\"users\" ATTACH PARTITION \"public\".\"users_a\" FOR VALUES IN ('ten1', 'ten2');"      |   "ALTER TABLE \"public\".\"users\" DETACH PARTITION \"public\".\"users_a\";"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when table is '#table', schema is '#schema' and partition table is '#partitionTable'"()
+    {
+        given:
+            def parameters = correctHashParametersBuilder().withTable(table).withSchema(schema).withPartitionTable(partitionTable).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   schema      |   partitionTable  ||  expectedMessage
+            null        |   null        |   "users_p0"      ||  "Table name cannot be null"
+            " "         |   null        |   "users_p0"      ||  "Table name cannot be blank"
+            "users"     |   ""          |   "users_p0"      ||  "Schema name cannot be blank"
+            "users"     |   null        |   null            ||  "Partition table name cannot be null"
+            "users"     |   null        |   "  "            ||  "Partition table name cannot be blank"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when hash partition has modulus #modulus and remainder #remainder"()
+    {
+        given:
+            def parameters = correctHashParametersBuilder().withModulus(modulus).withRemainder(remainder).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            modulus |   remainder   ||  expectedMessage
+            null    |   0           ||  "Modulus has to be greater than zero"
+            0       |   0           ||  "Modulus has to be greater than zero"
+            4       |   null        ||  "Remainder has to be greater or equal to zero and less than modulus"
+            4       |   -1          ||  "Remainder has to be greater or equal to zero and less than modulus"
+            4       |   4           ||  "Remainder has to be greater or equal to zero and less than modulus"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when list partition has values #values"()
+    {
+        given:
+            def parameters = TenantPartitionStatementProducerParameters.builder()
+                    .withTable("users")
+                    .withPartitionTable("users_a")
+                    .withStrategy(LIST)
+                    .withValues(values)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            values  ||  expectedMessage
+            null    ||  "Values list cannot be null"
+            []      ||  "Values list cannot be empty"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when strategy is null"()
+    {
+        given:
+            def parameters = correctHashParametersBuilder().withStrategy(null).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Partitioning strategy cannot be null"
+    }
+
+    private static TenantPartitionStatementProducerParameters.TenantPartitionStatementProducerParametersBuilder correctHashParametersBuilder()
+    {
+        TenantPartitionStatementProducerParameters.builder()
+                .withTable("users")
+                .withSchema("public")
+                .withPartitionTable("users_p0")
+                .withStrategy(HASH)
+                .withModulus(2)
+                .withRemainder(0)
+    }
+
+    private static String partitionCheckingStatement(String schema, String table, String partitionTable)
+    {
+        "SELECT COUNT(1) FROM pg_inherits pi, pg_class pc, pg_class ppc, pg_catalog.pg_namespace pg WHERE pi.inhrelid = pc.oid AND pi.inhparent = ppc.oid AND pc.relname = '" + partitionTable + "' AND pc.relispartition = 't' AND ppc.relname = '" + table + "' AND ppc.relnamespace = pg.oid AND pg.nspname = '" + schema + "';"
+    }
+
+    private static String parentCheckingStatement(String schema, String table, String strategy)
+    {
+        "SELECT COUNT(1) FROM pg_partitioned_table ppt, pg_class pc, pg_catalog.pg_namespace pg WHERE ppt.partrelid = pc.oid AND pc.relname = '" + table + "' AND pc.relnamespace = pg.oid AND pg.nspname = '" + schema + "' AND ppt.partstrat = '" + strategy + "';"
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.util.SqlUtils
+import org.junit.Assume
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.dao.DataAccessException
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+
+@SpringBootTest(classes = [TestApplication.class])
+class TenantPublicationProducerItTest extends Specification {
+
+    private static final String PUBLICATION_NAME = "posmulten_it_tenant_pub"
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+    @Autowired
+    SqlUtils sqlUtils
+
+    def tested = new TenantPublicationProducer()
+
+    SQLDefinition replicaIdentityDefinition
+    SQLDefinition publicationDefinition
+
+    def setup() {
+        Assume.assumeTrue("Publications with row filters require Postgres 15 or newer", jdbcTemplate.queryForObject("SHOW server_version_num", Integer) >= 150000)
+        jdbcTemplate.execute("INSERT INTO public.users (id, name, tenant_id) VALUES (1001, 'Simon', 't1');")
+    }
+
+    def "should create publication with row filter for table with replica identity full and allow to update and delete rows"() {
+        given:
+            replicaIdentityDefinition = tested.produceReplicaIdentityFull(new TableKey("users", "public"))
+            publicationDefinition = tested.produce(publicationParameters())
+            sqlUtils.assertAllResultForCheckingStatementsAreEqualZero(replicaIdentityDefinition)
+            sqlUtils.assertAllResultForCheckingStatementsAreEqualZero(publicationDefinition)
+
+        when:
+            jdbcTemplate.execute(replicaIdentityDefinition.getCreateScript())
+            jdbcTemplate.execute(publicationDefinition.getCreateScript())
+
+        then:
+            sqlUtils.assertAllCheckingStatementsArePassing(replicaIdentityDefinition)
+            sqlUtils.assertAllCheckingStatementsArePassing(publicationDefinition)
+
+        and: "rows of the published table can be updated and deleted"
+            jdbcTemplate.update("UPDATE public.users SET name = 'John' WHERE id = 1001;") == 1
+            jdbcTemplate.update("DELETE FROM public.users WHERE id = 1001;") == 1
+    }
+
+    def "should reject update of row in published table when tenant column is not part of the replica identity"() {
+        given:
+            publicationDefinition = tested.produce(publicationParameters())
+            jdbcTemplate.execute(publicationDefinition.getCreateScript())
+
+        when:
+            jdbcTemplate.update("UPDATE public.users SET name = 'John' WHERE id = 1001;")
+
+        then:
+            thrown(DataAccessException)
+    }
+
+    def cleanup() {
+        if (publicationDefinition != null) {
+            jdbcTemplate.execute(publicationDefinition.getDropScript())
+        }
+        if (replicaIdentityDefinition != null) {
+            jdbcTemplate.execute(replicaIdentityDefinition.getDropScript())
+            jdbcTemplate.execute("ALTER TABLE public.users REPLICA IDENTITY DEFAULT;")
+        }
+        jdbcTemplate.execute("DELETE FROM public.users WHERE id = 1001;")
+    }
+
+    private static ITenantPublicationProducerParameters publicationParameters() {
+        TenantPublicationProducerParameters.builder()
+                .withPublicationName(PUBLICATION_NAME)
+                .withTablesTenantColumns([(new TableKey("users", "public")): "tenant_id"])
+                .withTenantIdentifiers(["t1"])
+                .build()
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantPublicationProducerTest extends Specification {
+
+    def tested = new TenantPublicationProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates publication #publicationName for tenants #tenantIdentifiers"()
+    {
+        given:
+            def parameters = TenantPublicationProducerParameters.builder()
+                    .withPublicationName(publicationName)
+                    .withTablesTenantColumns(tablesTenantColumns)
+                    .withTenantIdentifiers(tenantIdentifiers)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == "DROP PUBLICATION IF EXISTS " + publicationName + ";"
+
+        where:
+            publicationName     |   tablesTenantColumns                                                                                 |   tenantIdentifiers       ||  expectedStatement
+            "tenant_pub"        |   [(new TableKey("users", null)): "tenant_id"]                                                        |   ["t1"]                  ||  "CREATE PUBLICATION tenant_pub FOR TABLE \"users\" WHERE (tenant_id IN ('t1'));"
+            "group_pub"         |   [(new TableKey("users", "public")): "tenant", (new TableKey("posts", "public")): "tenant_id"]       |   ["t2", "t'3"]           ||  "CREATE PUBLICATION group_pub FOR TABLE \"public\".\"users\" WHERE (tenant IN ('t2', 't''3')), \"public\".\"posts\" WHERE (tenant_id IN ('t2', 't''3'));"
+            "some_pub"          |   [(new TableKey("comments", "some_schema")): "tenant_id"]                                            |   ["xxx", "yyy", "zzz"]   ||  "CREATE PUBLICATION some_pub FOR TABLE \"some_schema\".\"comments\" WHERE (tenant_id IN ('xxx', 'yyy', 'zzz'));"
+    }
+
+    def "should return statements that check if publication exists and tables are published with row filters"()
+    {
+        given:
+            def parameters = TenantPublicationProducerParameters.builder()
+                    .withPublicationName("tenant_pub")
+                    .withTablesTenantColumns([(new TableKey("users", null)): "tenant_id", (new TableKey("posts", "some_schema")): "tenant_id"])
+                    .withTenantIdentifiers(["t1"])
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCheckingStatements() == [
+                    "SELECT COUNT(1) FROM pg_publication WHERE pubname = 'tenant_pub';",
+                    publicationRelCheckingStatement("tenant_pub", "public", "users"),
+                    publicationRelCheckingStatement("tenant_pub", "some_schema", "posts")
+            ]
+    }
+
+    @Unroll
+    def "should return definition that sets replica identity full for table #table in schema #schema"()
+    {
+        when:
+            def definition = tested.produceReplicaIdentityFull(new TableKey(table, schema))
+
+        then:
+            definition.getCreateScript() == expectedCreateScript
+            definition.getDropScript() == expectedDropScript
+            definition.getCheckingStatements() == ["SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = '" + table + "' AND pc.relnamespace = pg.oid AND pg.nspname = '" + expectedSchema + "' AND pc.relreplident = 'f';"]
+
+        where:
+            table       |   schema          ||  expectedSchema  |   expectedCreateScript                                                |   expectedDropScript
+            "users"     |   null            ||  "public"        |   "ALTER TABLE \"users\" REPLICA IDENTITY FULL;"                      |   "SELECT 1;"
+            "posts"     |   "public"        ||  "public"        |   "ALTER TABLE \"public\".\"posts\" REPLICA IDENTITY FULL;"           |   "SELECT 1;"
+            "comments"  |   "some_schema"   ||  "some_schema"   |   "ALTER TABLE \"some_schema\".\"comments\" REPLICA IDENTITY FULL;"   |   "SELECT 1;"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when table key is null"()
+    {
+        when:
+            tested.produceReplicaIdentityFull(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+            ex.message == "Table key cannot be null"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when publication name is '#publicationName', tables are #tablesTenantColumns and tenant identifiers are #tenantIdentifiers"()
+    {
+        given:
+            def parameters = TenantPublicationProducerParameters.builder()
+                    .withPublicationName(publicationName)
+                    .withTablesTenantColumns(tablesTenantColumns)
+                    .withTenantIdentifiers(tenantIdentifiers)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            publicationName |   tablesTenantColumns                             |   tenantIdentifiers   ||  expectedMessage
+            null            |   [(new TableKey("users", null)): "tenant_id"]    |   ["t1"]              ||  "Publication name cannot be null"
+            "  "            |   [(new TableKey("users", null)): "tenant_id"]    |   ["t1"]              ||  "Publication name cannot be blank"
+            "pub"           |   null                                            |   ["t1"]              ||  "Tables map cannot be null"
+            "pub"           |   [:]                                             |   ["t1"]              ||  "Tables map cannot be empty"
+            "pub"           |   [(new TableKey("users", null)): " "]            |   ["t1"]              ||  "Tenant column name for table users cannot be blank"
+            "pub"           |   [(new TableKey("users", null)): "tenant_id"]    |   null                ||  "Tenant identifiers list cannot be null"
+            "pub"           |   [(new TableKey("users", null)): "tenant_id"]    |   []                  ||  "Tenant identifiers list cannot be empty"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when parameters object is null"()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    private static String publicationRelCheckingStatement(String publicationName, String schema, String table)
+    {
+        "SELECT COUNT(1) FROM pg_publication_rel pr, pg_publication pp, pg_class pc, pg_catalog.pg_namespace pg WHERE pr.prpubid = pp.oid AND pr.prrelid = pc.oid AND pp.pubname = '" + publicationName + "' AND pc.relname = '" + table + "' AND pc.relnamespace = pg.oid AND pg.nspname = '" + schema + "' AND pr.prqual IS NOT NULL;"
+    }
+}
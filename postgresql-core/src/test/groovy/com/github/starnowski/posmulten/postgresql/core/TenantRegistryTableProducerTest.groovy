@@ -0,0 +1,85 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantRegistryTableProducerTest extends Specification {
+
+    def tested = new TenantRegistryTableProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates tenant registry table #table in schema #schema"()
+    {
+        given:
+            def parameters = TenantRegistryTableProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withTenantIdColumn(tenantIdColumn)
+                    .withTenantIdColumnType(tenantIdColumnType)
+                    .withExternalIdentifierColumn(externalIdentifierColumn)
+                    .withExternalIdentifierColumnType(externalIdentifierColumnType)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [expectedCheckingStatement]
+
+        where:
+            table               |   schema          |   tenantIdColumn  |   tenantIdColumnType  |   externalIdentifierColumn    |   externalIdentifierColumnType    ||  expectedStatement   |   expectedDropStatement   |   expectedCheckingStatement
+            "tenant_registry"   |   null            |   "id"            |   "bigint"            |   "external_id"               |   null                            ||  "CREATE TABLE IF NOT EXISTS \"tenant_registry\" (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, external_id text NOT NULL UNIQUE);"   |   "DROP TABLE IF EXISTS \"tenant_registry\";"    |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'tenant_registry' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'public';"
+            "tenant_registry"   |   "public"        |   "id"            |   "int"               |   "external_id"               |   "VARCHAR(255)"                  ||  "CREATE TABLE IF NOT EXISTS \"public\".\"tenant_registry\" (id int GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, external_id VARCHAR(255) NOT NULL UNIQUE);"   |   "DROP TABLE IF EXISTS \"public\".\"tenant_registry\";"    |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'tenant_registry' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'public';"
+            "tenants"           |   "some_schema"   |   "tid"           |   "smallint"          |   "ext"                       |   "UUID"                          ||  "CREATE TABLE IF NOT EXISTS \"some_schema\".\"tenants\" (tid smallint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, ext UUID NOT NULL UNIQUE);"   |   "DROP TABLE IF EXISTS \"some_schema\".\"tenants\";"    |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'tenants' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'some_schema';"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when table is '#table', schema is '#schema', tenant id column is '#tenantIdColumn' (#tenantIdColumnType) and external identifier column is '#externalIdentifierColumn' (#externalIdentifierColumnType)"()
+    {
+        given:
+            def parameters = TenantRegistryTableProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withTenantIdColumn(tenantIdColumn)
+                    .withTenantIdColumnType(tenantIdColumnType)
+                    .withExternalIdentifierColumn(externalIdentifierColumn)
+                    .withExternalIdentifierColumnType(externalIdentifierColumnType)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   schema  |   tenantIdColumn  |   tenantIdColumnType  |   externalIdentifierColumn    |   externalIdentifierColumnType    ||  expectedMessage
+            null        |   null    |   "id"            |   "bigint"            |   "external_id"               |   null                            ||  "Table name cannot be null"
+            " "         |   null    |   "id"            |   "bigint"            |   "external_id"               |   null                            ||  "Table name cannot be blank"
+            "registry"  |   ""      |   "id"            |   "bigint"            |   "external_id"               |   null                            ||  "Schema name cannot be blank"
+            "registry"  |   null    |   null            |   "bigint"            |   "external_id"               |   null                            ||  "Tenant id column name cannot be null"
+            "registry"  |   null    |   "  "            |   "bigint"            |   "external_id"               |   null                            ||  "Tenant id column name cannot be blank"
+            "registry"  |   null    |   "id"            |   null                |   "external_id"               |   null                            ||  "Tenant id column type cannot be null"
+            "registry"  |   null    |   "id"            |   " "                 |   "external_id"               |   null                            ||  "Tenant id column type cannot be blank"
+            "registry"  |   null    |   "id"            |   "bigint"            |   null                        |   null                            ||  "External identifier column name cannot be null"
+            "registry"  |   null    |   "id"            |   "bigint"            |   ""                          |   null                            ||  "External identifier column name cannot be blank"
+            "registry"  |   null    |   "id"            |   "bigint"            |   "external_id"               |   "  "                            ||  "External identifier column type cannot be blank"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when parameters object is null"()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantSettingsTableProducerTest extends Specification {
+
+    def tested = new TenantSettingsTableProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates tenant settings table #table in schema #schema"()
+    {
+        given:
+            def parameters = TenantSettingsTableProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withTenantIdColumnType(tenantIdColumnType)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [expectedCheckingStatement]
+
+        where:
+            table               |   schema          |   tenantIdColumnType  ||  expectedStatement   |   expectedDropStatement   |   expectedCheckingStatement
+            "tenant_settings"   |   null            |   "VARCHAR(255)"      ||  "CREATE TABLE IF NOT EXISTS \"tenant_settings\" (tenant_id VARCHAR(255) PRIMARY KEY, statement_timeout text, work_mem text, lock_timeout text, priority_class text);"   |   "DROP TABLE IF EXISTS \"tenant_settings\";"    |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'tenant_settings' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'public';"
+            "tenant_settings"   |   "public"        |   "bigint"            ||  "CREATE TABLE IF NOT EXISTS \"public\".\"tenant_settings\" (tenant_id bigint PRIMARY KEY, statement_timeout text, work_mem text, lock_timeout text, priority_class text);"   |   "DROP TABLE IF EXISTS \"public\".\"tenant_settings\";"    |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'tenant_settings' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'public';"
+            "tenants_limits"    |   "some_schema"   |   "UUID"              ||  "CREATE TABLE IF NOT EXISTS \"some_schema\".\"tenants_limits\" (tenant_id UUID PRIMARY KEY, statement_timeout text, work_mem text, lock_timeout text, priority_class text);"   |   "DROP TABLE IF EXISTS \"some_schema\".\"tenants_limits\";"    |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'tenants_limits' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'some_schema';"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when table is '#table', schema is '#schema' and tenant id column type is '#tenantIdColumnType'"()
+    {
+        given:
+            def parameters = TenantSettingsTableProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withTenantIdColumnType(tenantIdColumnType)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   schema  |   tenantIdColumnType  ||  expectedMessage
+            null        |   null    |   "bigint"            ||  "Table name cannot be null"
+            " "         |   null    |   "bigint"            ||  "Table name cannot be blank"
+            "settings"  |   ""      |   "bigint"            ||  "Schema name cannot be blank"
+            "settings"  |   null    |   null                ||  "Tenant id column type cannot be null"
+            "settings"  |   null    |   " "                 ||  "Tenant id column type cannot be blank"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when parameters object is null"()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+}
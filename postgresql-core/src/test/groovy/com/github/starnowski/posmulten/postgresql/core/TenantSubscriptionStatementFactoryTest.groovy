@@ -0,0 +1,63 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantSubscriptionStatementFactoryTest extends Specification {
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates subscription #subscriptionName for publication #publicationName"()
+    {
+        given:
+            def tested = new TenantSubscriptionStatementFactory(publicationName)
+
+        expect:
+            tested.generateCreateSubscriptionStatement(subscriptionName, connectionInfo) == expectedStatement
+
+        where:
+            publicationName |   subscriptionName    |   connectionInfo                                  ||  expectedStatement
+            "tenant_pub"    |   "tenant_sub"        |   "host=localhost dbname=app"                     ||  "CREATE SUBSCRIPTION tenant_sub CONNECTION 'host=localhost dbname=app' PUBLICATION tenant_pub;"
+            "group_pub"     |   "sub1"              |   "host=db1 port=5433 user=rep password='x'"      ||  "CREATE SUBSCRIPTION sub1 CONNECTION 'host=db1 port=5433 user=rep password=''x''' PUBLICATION group_pub;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when subscription name is '#subscriptionName' and connection info is '#connectionInfo'"()
+    {
+        given:
+            def tested = new TenantSubscriptionStatementFactory("tenant_pub")
+
+        when:
+            tested.generateCreateSubscriptionStatement(subscriptionName, connectionInfo)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            subscriptionName    |   connectionInfo          ||  expectedMessage
+            null                |   "host=localhost"        ||  "Subscription name cannot be null"
+            " "                 |   "host=localhost"        ||  "Subscription name cannot be blank"
+            "sub"               |   null                    ||  "Connection info cannot be null"
+            "sub"               |   ""                      ||  "Connection info cannot be blank"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when publication name is '#publicationName'"()
+    {
+        when:
+            new TenantSubscriptionStatementFactory(publicationName)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            publicationName ||  expectedMessage
+            null            ||  "Publication name cannot be null"
+            "  "            ||  "Publication name cannot be blank"
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantValuesBlacklistTableProducerTest extends Specification {
+
+    def tested = new TenantValuesBlacklistTableProducer()
+
+    @Unroll
+    def "should return statements that create table #table in schema #schema and insert values #values"()
+    {
+        given:
+            def parameters = TenantValuesBlacklistTableProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withColumn(column)
+                    .withColumnType(columnType)
+                    .withValues(new HashSet<String>(values))
+                    .build()
+
+        when:
+            def definitions = tested.produce(parameters)
+
+        then:
+            definitions.size() == 2
+
+        and: "first definition should create table"
+            definitions[0].getCreateScript() == expectedTableStatement
+            definitions[0].getDropScript() == expectedDropTableStatement
+            definitions[0].getCheckingStatements() == [expectedTableCheckingStatement]
+
+        and: "second definition should insert values"
+            definitions[1].getCreateScript() == expectedValuesStatement
+            definitions[1].getDropScript() == expectedDeleteValuesStatement
+            definitions[1].getCheckingStatements() == [expectedValuesCheckingStatement]
+
+        where:
+            table           |   schema          |   column      |   columnType      |   values              ||  expectedTableStatement  |   expectedDropTableStatement  |   expectedTableCheckingStatement  |   expectedValuesStatement |   expectedDeleteValuesStatement   |   expectedValuesCheckingStatement
+            "blacklist"     |   null            |   "tenant_id" |   null            |   ["b", "a"]          ||  "CREATE TABLE IF NOT EXISTS \"blacklist\" (tenant_id text PRIMARY KEY);"  |   "DROP TABLE IF EXISTS \"blacklist\";"   |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'blacklist' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'public';" |   "INSERT INTO \"blacklist\" (tenant_id) VALUES ('a'), ('b') ON CONFLICT DO NOTHING;"    |   "DELETE FROM \"blacklist\" WHERE tenant_id IN ('a', 'b');"    |   "SELECT CASE WHEN COUNT(1) = 2 THEN 1 ELSE 0 END FROM \"blacklist\" WHERE tenant_id IN ('a', 'b');"
+            "blacklist"     |   "public"        |   "tenant_id" |   "VARCHAR(255)"  |   ["DEF"]             ||  "CREATE TABLE IF NOT EXISTS \"public\".\"blacklist\" (tenant_id VARCHAR(255) PRIMARY KEY);"  |   "DROP TABLE IF EXISTS \"public\".\"blacklist\";"   |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'blacklist' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'public';" |   "INSERT INTO \"public\".\"blacklist\" (tenant_id) VALUES ('DEF') ON CONFLICT DO NOTHING;"    |   "DELETE FROM \"public\".\"blacklist\" WHERE tenant_id IN ('DEF');"    |   "SELECT CASE WHEN COUNT(1) = 1 THEN 1 ELSE 0 END FROM \"public\".\"blacklist\" WHERE tenant_id IN ('DEF');"
+            "invalid_ten"   |   "some_schema"   |   "tid"       |   "VARCHAR(32)"   |   ["x'y", "1"]        ||  "CREATE TABLE IF NOT EXISTS \"some_schema\".\"invalid_ten\" (tid VARCHAR(32) PRIMARY KEY);"  |   "DROP TABLE IF EXISTS \"some_schema\".\"invalid_ten\";"   |   "SELECT COUNT(1) FROM pg_class pc, pg_catalog.pg_namespace pg WHERE pc.relname = 'invalid_ten' AND pc.relkind = 'r' AND pc.relnamespace = pg.oid AND pg.nspname = 'some_schema';" |   "INSERT INTO \"some_schema\".\"invalid_ten\" (tid) VALUES ('1'), ('x''y') ON CONFLICT DO NOTHING;"    |   "DELETE FROM \"some_schema\".\"invalid_ten\" WHERE tid IN ('1', 'x''y');"    |   "SELECT CASE WHEN COUNT(1) = 2 THEN 1 ELSE 0 END FROM \"some_schema\".\"invalid_ten\" WHERE tid IN ('1', 'x''y');"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when table is '#table', schema is '#schema', column is '#column', column type is '#columnType' and values are #values"()
+    {
+        given:
+            def parameters = TenantValuesBlacklistTableProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withColumn(column)
+                    .withColumnType(columnType)
+                    .withValues(values == null ? null : new HashSet<String>(values))
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   schema  |   column      |   columnType  |   values  ||  expectedMessage
+            null        |   null    |   "tenant_id" |   null        |   ["a"]   ||  "Table name cannot be null"
+            " "         |   null    |   "tenant_id" |   null        |   ["a"]   ||  "Table name cannot be blank"
+            "blacklist" |   ""      |   "tenant_id" |   null        |   ["a"]   ||  "Schema name cannot be blank"
+            "blacklist" |   null    |   null        |   null        |   ["a"]   ||  "Column name cannot be null"
+            "blacklist" |   null    |   "  "        |   null        |   ["a"]   ||  "Column name cannot be blank"
+            "blacklist" |   null    |   "tenant_id" |   " "         |   ["a"]   ||  "Column type cannot be blank"
+            "blacklist" |   null    |   "tenant_id" |   null        |   null    ||  "Values list cannot be null"
+            "blacklist" |   null    |   "tenant_id" |   null        |   []      ||  "Values list cannot be empty"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when parameters object is null"()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+}
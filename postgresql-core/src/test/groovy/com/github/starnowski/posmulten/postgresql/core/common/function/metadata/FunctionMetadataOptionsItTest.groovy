@@ -0,0 +1,62 @@
+package com.github.starnowski.posmulten.postgresql.core.common.function.metadata
+
+import com.github.starnowski.posmulten.postgresql.core.TestApplication
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationExecutor
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationType
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.sql.DataSource
+
+@SpringBootTest(classes = [TestApplication.class])
+class FunctionMetadataOptionsItTest extends Specification {
+
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def databaseOperationExecutor = new DatabaseOperationExecutor()
+
+    ISharedSchemaContext sharedSchemaContext
+
+    def setup() {
+        def builder = new DefaultSharedSchemaContextBuilder("public")
+                .setGrantee("postgresql-core-user")
+                .createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_it_policy")
+                .createRLSPolicyForTable("posts", [id: "bigint"], "tenant_id", "posts_it_policy")
+                .createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], "posts_users_it_fk")
+                .setNameForFunctionThatChecksIfRecordExistsInTable("users", "is_user_belongs_to_current_tenant_it")
+                .createValidTenantValueConstraint(["invalid_tenant"], "is_tenant_valid_it", "tenant_valid_it")
+        for (GeneratedFunctionType functionType : GeneratedFunctionType.values()) {
+            builder.setFunctionMetadataOptions(functionType, FunctionMetadataOptions.builder()
+                    .withCost(7)
+                    .withSecurity(SecurityEnum.INVOKER)
+                    .withConfigurationParameter("work_mem", "4MB")
+                    .build())
+        }
+        sharedSchemaContext = builder.build()
+        databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.CREATE)
+    }
+
+    @Unroll
+    def "should create function #functionName with specified metadata options"() {
+        expect:
+            jdbcTemplate.queryForObject(String.format("SELECT COUNT(1) FROM pg_proc p, pg_catalog.pg_namespace n WHERE p.pronamespace = n.oid AND n.nspname = 'public' AND p.proname = '%s' AND p.procost = 7 AND NOT p.prosecdef AND p.proconfig @> ARRAY['work_mem=4MB'];", functionName), Integer) == 1
+
+        where:
+            functionName << ["get_current_tenant_id", "is_id_equals_current_tenant_id", "tenant_has_authorities", "is_user_belongs_to_current_tenant_it", "is_tenant_valid_it"]
+    }
+
+    def cleanup() {
+        if (sharedSchemaContext != null) {
+            databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.DROP)
+        }
+    }
+}
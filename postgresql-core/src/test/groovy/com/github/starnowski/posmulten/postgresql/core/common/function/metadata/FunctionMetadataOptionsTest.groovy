@@ -0,0 +1,53 @@
+package com.github.starnowski.posmulten.postgresql.core.common.function.metadata
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class FunctionMetadataOptionsTest extends Specification {
+
+    def "should create options with null properties by default"()
+    {
+        when:
+            def result = FunctionMetadataOptions.builder().build()
+
+        then:
+            result.getLeakproof() == null
+            result.getCost() == null
+            result.getSecurity() == null
+            result.getConfigurationParameters().isEmpty()
+    }
+
+    @Unroll
+    def "should throw exception when cost (#cost) is not greater than zero"()
+    {
+        when:
+            FunctionMetadataOptions.builder().withCost(cost).build()
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == expectedMessage
+
+        where:
+            cost    ||  expectedMessage
+            0       ||  "Function cost must be greater than zero"
+            -1      ||  "Function cost must be greater than zero"
+    }
+
+    @Unroll
+    def "should throw exception when configuration parameter name '#name' or value '#value' is blank"()
+    {
+        when:
+            FunctionMetadataOptions.builder().withConfigurationParameter(name, value).build()
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == expectedMessage
+
+        where:
+            name            |   value       ||  expectedMessage
+            null            |   "public"    ||  "Configuration parameter name cannot be blank"
+            " "             |   "public"    ||  "Configuration parameter name cannot be blank"
+            "search_path"   |   null        ||  "Value of configuration parameter 'search_path' cannot be blank"
+            "search_path"   |   ""          ||  "Value of configuration parameter 'search_path' cannot be blank"
+    }
+}
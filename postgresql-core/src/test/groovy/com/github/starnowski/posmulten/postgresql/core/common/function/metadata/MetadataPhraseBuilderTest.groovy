@@ -1,6 +1,7 @@
 package com.github.starnowski.posmulten.postgresql.core.common.function.metadata
 
 import spock.lang.Specification
+import spock.lang.Unroll
 
 class MetadataPhraseBuilderTest extends Specification {
 
@@ -19,4 +20,69 @@ class MetadataPhraseBuilderTest extends Specification {
             tested.getParallelModeSupplier() == parallelModeSupplier
             tested.getVolatilityCategorySupplier() == volatilityCategorySupplier
     }
+
+    @Unroll
+    def "should build metadata phrase '#expectedPhrase' for leakproof #leakproof, security #security, cost #cost"()
+    {
+        given:
+            tested.withVolatilityCategorySupplier(VolatilityCategoryEnum.STABLE).withParallelModeSupplier(ParallelModeEnum.SAFE)
+                    .withLeakproof(leakproof).withSecuritySupplier(security).withCost(cost)
+
+        expect:
+            tested.build() == expectedPhrase
+
+        where:
+            leakproof   |   security                |   cost    ||  expectedPhrase
+            null        |   null                    |   null    ||  "STABLE\nPARALLEL SAFE"
+            true        |   null                    |   null    ||  "STABLE\nLEAKPROOF\nPARALLEL SAFE"
+            false       |   null                    |   null    ||  "STABLE\nNOT LEAKPROOF\nPARALLEL SAFE"
+            null        |   SecurityEnum.DEFINER    |   null    ||  "STABLE\nSECURITY DEFINER\nPARALLEL SAFE"
+            null        |   SecurityEnum.INVOKER    |   5       ||  "STABLE\nSECURITY INVOKER\nPARALLEL SAFE\nCOST 5"
+            true        |   SecurityEnum.DEFINER    |   1       ||  "STABLE\nLEAKPROOF\nSECURITY DEFINER\nPARALLEL SAFE\nCOST 1"
+    }
+
+    def "should add configuration parameters at the end of metadata phrase in the order in which they were added"()
+    {
+        given:
+            tested.withVolatilityCategorySupplier(VolatilityCategoryEnum.STABLE)
+                    .withConfigurationParameter("search_path", "pg_catalog, public")
+                    .withConfigurationParameter("work_mem", "64MB")
+
+        expect:
+            tested.build() == "STABLE\nSET search_path = 'pg_catalog', 'public'\nSET work_mem = '64MB'"
+    }
+
+    @Unroll
+    def "should add configuration parameter value #value as string literals #expectedPhrase"()
+    {
+        given:
+            tested.withConfigurationParameter(name, value)
+
+        expect:
+            tested.build() == expectedPhrase
+
+        where:
+            name                |   value                   ||  expectedPhrase
+            "application_name"  |   "posmulten"             ||  "SET application_name = 'posmulten'"
+            "search_path"       |   "pg_catalog,public"     ||  "SET search_path = 'pg_catalog', 'public'"
+            "application_name"  |   "x'; DROP TABLE users"  ||  "SET application_name = 'x''; DROP TABLE users'"
+    }
+
+    def "should apply all not null properties of function metadata options"()
+    {
+        given:
+            tested.withVolatilityCategorySupplier(VolatilityCategoryEnum.IMMUTABLE).withParallelModeSupplier(ParallelModeEnum.SAFE).withCost(100)
+            def options = FunctionMetadataOptions.builder().withLeakproof(true).withSecurity(SecurityEnum.DEFINER)
+                    .withConfigurationParameter("search_path", "pg_catalog").build()
+
+        when:
+            tested.withFunctionMetadataOptions(options)
+
+        then:
+            tested.getLeakproof()
+            tested.getSecuritySupplier() == SecurityEnum.DEFINER
+            tested.getCost() == 100
+            tested.getConfigurationParameters() == [search_path: "pg_catalog"]
+            tested.build() == "IMMUTABLE\nLEAKPROOF\nSECURITY DEFINER\nPARALLEL SAFE\nCOST 100\nSET search_path = 'pg_catalog'"
+    }
 }
@@ -39,13 +39,15 @@ class DefaultSharedSchemaContextBuilderEnrichersTest extends Specification {
     def "should have configured the list of enrichers with correct order"()
     {
         given:
-            def expectedEnrichersTypeInOrder = [CustomSQLDefinitionsAtBeginningEnricher.class, GetCurrentTenantIdFunctionDefinitionEnricher.class,
-                                                SetCurrentTenantIdFunctionDefinitionEnricher.class, TenantHasAuthoritiesFunctionDefinitionEnricher.class,
-                                                IsTenantValidFunctionInvocationFactoryEnricher.class, TenantColumnSQLDefinitionsEnricher.class,
-                                                TableRLSSettingsSQLDefinitionsEnricher.class, TableRLSPolicyEnricher.class,
+            def expectedEnrichersTypeInOrder = [CustomSQLDefinitionsAtBeginningEnricher.class, TenantRegistrySQLDefinitionsEnricher.class, TenantSettingsSQLDefinitionsEnricher.class, GetCurrentTenantIdFunctionDefinitionEnricher.class,
+                                                SetCurrentTenantIdFunctionDefinitionEnricher.class, TenantHierarchySQLDefinitionsEnricher.class, TenantHasAuthoritiesFunctionDefinitionEnricher.class,
+                                                IsTenantValidFunctionInvocationFactoryEnricher.class, TenantColumnSQLDefinitionsEnricher.class, TenantColumnBackfillSQLDefinitionsEnricher.class, TenantPartitionSQLDefinitionsEnricher.class, TenantIndexSQLDefinitionsEnricher.class, TenantStatisticsSQLDefinitionsEnricher.class,
+                                                TableRLSSettingsSQLDefinitionsEnricher.class, TableRLSPolicyEnricher.class, BatchGranteeSQLDefinitionsEnricher.class, TenantPublicationSQLDefinitionsEnricher.class, TenantActivityViewSQLDefinitionsEnricher.class,
                                                 IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher.class, IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher.class,
+                                                SameTenantForeignKeyConstraintSQLDefinitionsEnricher.class,
+                                                SameTenantStatementTriggerSQLDefinitionsEnricher.class,
                                                 IsTenantIdentifierValidConstraintEnricher.class, DefaultValueForTenantColumnEnricher.class,
-                                                CurrentTenantIdPropertyTypeEnricher.class, CustomSQLDefinitionsAtEndEnricher.class]
+                                                CurrentTenantIdPropertyTypeEnricher.class, ConstraintValidationSQLDefinitionsEnricher.class, AlterTableStatementsCoalescingEnricher.class, CustomSQLDefinitionsAtEndEnricher.class]
             DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder()
 
         when:
@@ -1,6 +1,7 @@
 package com.github.starnowski.posmulten.postgresql.core.context
 
 import com.github.starnowski.posmulten.postgresql.core.*
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -63,6 +64,44 @@ class SingleTenantColumnSQLDefinitionsProducerTest extends Specification {
             tk("some_tab", "other_schema")  |   null            |   "tenant_col"        |   "VARCHAR(255)"          |  "tenant_col"            |   "VARCHAR(255)"
     }
 
+    @Unroll
+    def "should create check constraint with NOT VALID option instead of not-null constraint for the tenant column in table #tenantTable, tenant column: #tenantColumn, default tenant column: #defaultTenantColumn"()
+    {
+        given:
+            def createColumnStatementProducer = Mock(CreateColumnStatementProducer)
+            def setNotNullStatementProducer = Mock(SetNotNullStatementProducer)
+            def createColumnStatementProducerSQLDefinition = Mock(SQLDefinition)
+            def setNotNullStatementProducerSQLDefinition = Mock(SQLDefinition)
+            tested.setCreateColumnStatementProducer(createColumnStatementProducer)
+            tested.setSetNotNullStatementProducer(setNotNullStatementProducer)
+            def tableColumns = dtc(tenantColumn)
+
+        when:
+            def results = tested.produce(tenantTable, tableColumns, defaultTenantColumn, "VARCHAR(255)", true)
+
+        then:
+            1 * createColumnStatementProducer.produce(_) >> createColumnStatementProducerSQLDefinition
+            1 * setNotNullStatementProducer.produce(_) >> setNotNullStatementProducerSQLDefinition
+            results.size() == 2
+            results.get(0) == createColumnStatementProducerSQLDefinition
+
+        and: "second definition should add the check constraint with NOT VALID option"
+            results.get(1) instanceof NotValidConstraintSQLDefinition
+            NotValidConstraintSQLDefinition constraintDefinition = results.get(1)
+            constraintDefinition.getCreateScript() == expectedStatement
+
+        and: "validation definitions should validate constraint, set the not-null constraint and then drop the check constraint"
+            constraintDefinition.getValidationSQLDefinitions().size() == 3
+            constraintDefinition.getValidationSQLDefinitions().get(0).getCreateScript() == expectedValidateStatement
+            constraintDefinition.getValidationSQLDefinitions().get(1) == setNotNullStatementProducerSQLDefinition
+            constraintDefinition.getValidationSQLDefinitions().get(2).getCreateScript() == expectedDropStatement
+
+        where:
+            tenantTable                     |   tenantColumn    |   defaultTenantColumn ||  expectedStatement                                                                                                       |   expectedValidateStatement                                                           |   expectedDropStatement
+            tk("users", null)               |   "tenant_id"     |   "tenant"            ||  "ALTER TABLE \"users\" ADD CONSTRAINT tenant_id_not_null CHECK (tenant_id IS NOT NULL) NOT VALID;"                   |   "ALTER TABLE \"users\" VALIDATE CONSTRAINT tenant_id_not_null;"                       |   "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS tenant_id_not_null;"
+            tk("some_tab", "other_schema")  |   null            |   "tenant_col"        ||  "ALTER TABLE \"other_schema\".\"some_tab\" ADD CONSTRAINT tenant_col_not_null CHECK (tenant_col IS NOT NULL) NOT VALID;"  |   "ALTER TABLE \"other_schema\".\"some_tab\" VALIDATE CONSTRAINT tenant_col_not_null;"  |   "ALTER TABLE \"other_schema\".\"some_tab\" DROP CONSTRAINT IF EXISTS tenant_col_not_null;"
+    }
+
     TableKey tk(String table, String schema)
     {
         new TableKey(table, schema)
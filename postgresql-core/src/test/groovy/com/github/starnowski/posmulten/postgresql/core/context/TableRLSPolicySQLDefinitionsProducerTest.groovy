@@ -4,6 +4,7 @@ import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum
 import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyProducer
 import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -59,6 +60,57 @@ class TableRLSPolicySQLDefinitionsProducerTest extends Specification {
             tk("posts", "some_sh")  |   "owner"     |   "posts_policy"      |   "col_ten_"      |   "tenant"                ||  "col_ten_"
     }
 
+    @Unroll
+    def "should create policies #expectedPolicyNames for commands #expectedCommands when policy per command is #policyPerCommand, policy type is #policyType and skipping of base permissive policy is #skipBasePermissivePolicy"()
+    {
+        given:
+            List<RLSPolicyProducerParameters> capturedParameters = []
+            def rlsPolicyProducer = Mock(RLSPolicyProducer)
+            def tenantHasAuthoritiesFunctionInvocationFactory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            tested.setRlsPolicyProducer(rlsPolicyProducer)
+            def parameters = new TableRLSPolicySQLDefinitionsProducerParameters.TableRLSPolicySQLDefinitionsProducerParametersBuilder()
+                    .withGrantee("owner")
+                    .withTableKey(tk("posts", "public"))
+                    .withPolicyName("posts_policy")
+                    .withTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory)
+                    .withDefaultTenantIdColumn("tenant")
+                    .withPolicyPerCommand(policyPerCommand)
+                    .withPolicyType(policyType)
+                    .withSkipBasePermissivePolicy(skipBasePermissivePolicy)
+                    .build()
+
+        when:
+            def results = tested.produce(parameters)
+
+        then:
+            _ * rlsPolicyProducer.produce(_) >>  {
+                passedParameters ->
+                    capturedParameters.add(passedParameters[0])
+                    Mock(SQLDefinition)
+            }
+            results.size() == expectedPolicyNames.size()
+            capturedParameters.collect { it.getPolicyName() } == expectedPolicyNames
+            capturedParameters.collect { it.getPermissionCommandPolicy() } == expectedCommands
+            capturedParameters.collect { it.getPolicyType() } == expectedPolicyTypes
+
+        and: "tenant policies should use tenant has authorities function for both expressions"
+            capturedParameters.findAll { !it.getPolicyName().endsWith(TableRLSPolicySQLDefinitionsProducer.BASE_PERMISSIVE_POLICY_NAME_SUFFIX) }.every {
+                it.getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory() == tenantHasAuthoritiesFunctionInvocationFactory &&
+                        it.getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory() == tenantHasAuthoritiesFunctionInvocationFactory &&
+                        it.getTenantIdColumn() == "tenant"
+            }
+
+        where:
+            policyPerCommand    |   policyType                      |   skipBasePermissivePolicy    ||  expectedPolicyNames                                                                                             |   expectedCommands                                                                                                                                        |   expectedPolicyTypes
+            false               |   null                            |   false                       ||  ["posts_policy"]                                                                                                |   [PermissionCommandPolicyEnum.ALL]                                                                                                                       |   [null]
+            false               |   RLSPolicyTypeEnum.PERMISSIVE    |   false                       ||  ["posts_policy"]                                                                                                |   [PermissionCommandPolicyEnum.ALL]                                                                                                                       |   [RLSPolicyTypeEnum.PERMISSIVE]
+            false               |   RLSPolicyTypeEnum.RESTRICTIVE   |   false                       ||  ["posts_policy", "posts_policy_permissive"]                                                                     |   [PermissionCommandPolicyEnum.ALL, PermissionCommandPolicyEnum.ALL]                                                                                      |   [RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.PERMISSIVE]
+            false               |   RLSPolicyTypeEnum.RESTRICTIVE   |   true                        ||  ["posts_policy"]                                                                                                |   [PermissionCommandPolicyEnum.ALL]                                                                                                                       |   [RLSPolicyTypeEnum.RESTRICTIVE]
+            true                |   null                            |   false                       ||  ["posts_policy_select", "posts_policy_insert", "posts_policy_update", "posts_policy_delete"]                     |   [PermissionCommandPolicyEnum.SELECT, PermissionCommandPolicyEnum.INSERT, PermissionCommandPolicyEnum.UPDATE, PermissionCommandPolicyEnum.DELETE]       |   [null, null, null, null]
+            true                |   RLSPolicyTypeEnum.RESTRICTIVE   |   false                       ||  ["posts_policy_select", "posts_policy_insert", "posts_policy_update", "posts_policy_delete", "posts_policy_permissive"] |   [PermissionCommandPolicyEnum.SELECT, PermissionCommandPolicyEnum.INSERT, PermissionCommandPolicyEnum.UPDATE, PermissionCommandPolicyEnum.DELETE, PermissionCommandPolicyEnum.ALL] |   [RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.PERMISSIVE]
+            true                |   RLSPolicyTypeEnum.RESTRICTIVE   |   true                        ||  ["posts_policy_select", "posts_policy_insert", "posts_policy_update", "posts_policy_delete"]                     |   [PermissionCommandPolicyEnum.SELECT, PermissionCommandPolicyEnum.INSERT, PermissionCommandPolicyEnum.UPDATE, PermissionCommandPolicyEnum.DELETE]       |   [RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.RESTRICTIVE, RLSPolicyTypeEnum.RESTRICTIVE]
+    }
+
     TableKey tk(String table, String schema)
     {
         new TableKey(table, schema)
@@ -1,5 +1,6 @@
 package com.github.starnowski.posmulten.postgresql.core.context.decorator
 
+import com.github.starnowski.posmulten.postgresql.core.ITenantSubscriptionStatementFactory
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
@@ -178,6 +179,54 @@ abstract class AbstractSharedSchemaContextDecoratorTest<T extends AbstractShared
             result == expectedStatement
     }
 
+    def "GetISetLocalCurrentTenantIdFunctionInvocationFactory"() {
+        given:
+            def tenantId = "testTenant"
+            def val1 = "dsa"
+            def val2 = "mmxcz"
+            def testStatement = "SELECT fun( " + getFirstTemplateVariable() + "and second part " + getSecondTemplateVariable() + "end"
+            def expectedStatement = "SELECT fun( " + val1 + "and second part " + val2 + "end"
+            ISharedSchemaContext sharedSchemaContext = Mock(ISharedSchemaContext)
+            def tested = prepareTestedObject(sharedSchemaContext, val1, val2)
+            ISetCurrentTenantIdFunctionInvocationFactory factory = Mock(ISetCurrentTenantIdFunctionInvocationFactory)
+
+        when:
+            def result = tested.getISetLocalCurrentTenantIdFunctionInvocationFactory().generateStatementThatSetTenant(tenantId)
+
+        then:
+            1 * sharedSchemaContext.getISetLocalCurrentTenantIdFunctionInvocationFactory() >> factory
+            1 * factory.generateStatementThatSetTenant(tenantId) >> testStatement
+            result == expectedStatement
+    }
+
+    def "GetISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory"() {
+        given:
+            def val1 = "pp1"
+            def val2 = "kkk23"
+            def testStatement = "some statement " + getFirstTemplateVariable() + "and second part " + getSecondTemplateVariable() + "end"
+            def expectedStatement = "some statement " + val1 + "and second part " + val2 + "end"
+            ISharedSchemaContext sharedSchemaContext = Mock(ISharedSchemaContext)
+            def tested = prepareTestedObject(sharedSchemaContext, val1, val2)
+            ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+
+        when:
+            def result = tested.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory().returnPreparedStatementThatSetCurrentTenant()
+
+        then:
+            1 * sharedSchemaContext.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory() >> factory
+            1 * factory.returnPreparedStatementThatSetCurrentTenant() >> testStatement
+            result == expectedStatement
+    }
+
+    def "should return null for factories of function that sets current tenant only for transaction when wrapped context does not have them"() {
+        given:
+            def tested = prepareTestedObject(new SharedSchemaContext(), "1", "2")
+
+        expect:
+            tested.getISetLocalCurrentTenantIdFunctionInvocationFactory() == null
+            tested.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory() == null
+    }
+
     def "GetTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap"() {
         given:
             def val1 = "emo"
@@ -209,6 +258,34 @@ abstract class AbstractSharedSchemaContextDecoratorTest<T extends AbstractShared
             results.get(tk2).returnIsRecordBelongsToCurrentTenantFunctionInvocation(new HashMap<String, FunctionArgumentValue>()) == expectedStatement2
     }
 
+    def "GetPublicationNamesTenantSubscriptionStatementFactoryMap"() {
+        given:
+            def val1 = "sub_1"
+            def val2 = "pub_2"
+            def testStatement = "CREATE SUBSCRIPTION " + getFirstTemplateVariable() + " CONNECTION 'host=localhost' PUBLICATION " + getSecondTemplateVariable() + ";"
+            def expectedStatement = "CREATE SUBSCRIPTION " + val1 + " CONNECTION 'host=localhost' PUBLICATION " + val2 + ";"
+            ISharedSchemaContext sharedSchemaContext = Mock(ISharedSchemaContext)
+            def tested = prepareTestedObject(sharedSchemaContext, val1, val2)
+            ITenantSubscriptionStatementFactory factory = Mock(ITenantSubscriptionStatementFactory)
+            Map<String, ITenantSubscriptionStatementFactory> map = MapBuilder.mapBuilder()
+                .put("tenant_pub", factory)
+                .build()
+
+        when:
+            def results = tested.getPublicationNamesTenantSubscriptionStatementFactoryMap()
+
+        then:
+            1 * sharedSchemaContext.getPublicationNamesTenantSubscriptionStatementFactoryMap() >> map
+            results.keySet() == new HashSet(Arrays.asList("tenant_pub"))
+
+        when:
+            def result = results.get("tenant_pub").generateCreateSubscriptionStatement("sub", "host=localhost")
+
+        then:
+            1 * factory.generateCreateSubscriptionStatement("sub", "host=localhost") >> testStatement
+            result == expectedStatement
+    }
+
     def "GetIIsTenantValidFunctionInvocationFactory"() {
         given:
             def val1 = "hgg"
@@ -258,6 +335,21 @@ abstract class AbstractSharedSchemaContextDecoratorTest<T extends AbstractShared
             result == null
     }
 
+    def "should pass sql definitions list to wrapped shared context"() {
+        given:
+            ISharedSchemaContext sharedSchemaContext = new SharedSchemaContext()
+            def tested = prepareTestedObject(sharedSchemaContext, "1", "2")
+            SQLDefinition firstSqlDefinition = Mock(SQLDefinition)
+            SQLDefinition secondSqlDefinition = Mock(SQLDefinition)
+            tested.addSQLDefinition(Mock(SQLDefinition))
+
+        when:
+            tested.setSqlDefinitions([firstSqlDefinition, secondSqlDefinition])
+
+        then:
+            sharedSchemaContext.getSqlDefinitions() == [firstSqlDefinition, secondSqlDefinition]
+    }
+
     def "should wrap all methods for wrapped shared context that set its values"() {
         given:
             ISharedSchemaContext sharedSchemaContext = new SharedSchemaContext()
@@ -267,6 +359,8 @@ abstract class AbstractSharedSchemaContextDecoratorTest<T extends AbstractShared
             IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
             ISetCurrentTenantIdFunctionInvocationFactory setCurrentTenantIdFunctionInvocationFactory = Mock(ISetCurrentTenantIdFunctionInvocationFactory)
             ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+            ISetCurrentTenantIdFunctionInvocationFactory setLocalCurrentTenantIdFunctionInvocationFactory = Mock(ISetCurrentTenantIdFunctionInvocationFactory)
+            ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
             IIsTenantValidFunctionInvocationFactory isTenantValidFunctionInvocationFactory = Mock(IIsTenantValidFunctionInvocationFactory)
             def currentTenantIdPropertyType = "text"
 
@@ -276,6 +370,8 @@ abstract class AbstractSharedSchemaContextDecoratorTest<T extends AbstractShared
             tested.setIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
             tested.setISetCurrentTenantIdFunctionInvocationFactory(setCurrentTenantIdFunctionInvocationFactory)
             tested.setISetCurrentTenantIdFunctionPreparedStatementInvocationFactory(setCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+            tested.setISetLocalCurrentTenantIdFunctionInvocationFactory(setLocalCurrentTenantIdFunctionInvocationFactory)
+            tested.setISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory(setLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory)
             tested.setIIsTenantValidFunctionInvocationFactory(isTenantValidFunctionInvocationFactory)
             tested.setCurrentTenantIdPropertyType(currentTenantIdPropertyType)
             def result = ((ISharedSchemaContextDecorator)tested).unwrap()
@@ -298,6 +394,12 @@ abstract class AbstractSharedSchemaContextDecoratorTest<T extends AbstractShared
         and: "should pass correctly setCurrentTenantIdFunctionPreparedStatementInvocationFactory to wrapped object"
             result.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory() == setCurrentTenantIdFunctionPreparedStatementInvocationFactory
 
+        and: "should pass correctly setLocalCurrentTenantIdFunctionInvocationFactory to wrapped object"
+            result.getISetLocalCurrentTenantIdFunctionInvocationFactory() == setLocalCurrentTenantIdFunctionInvocationFactory
+
+        and: "should pass correctly setLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory to wrapped object"
+            result.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory() == setLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory
+
         and: "should pass correctly isTenantValidFunctionInvocationFactory to wrapped object"
             result.getIIsTenantValidFunctionInvocationFactory() == isTenantValidFunctionInvocationFactory
 
@@ -0,0 +1,178 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class AlterTableStatementsCoalescingEnricherTest extends Specification {
+
+    def tested = new AlterTableStatementsCoalescingEnricher()
+
+    def "should not change sql definitions when coalescing is disabled"()
+    {
+        given:
+            def context = new SharedSchemaContext()
+            def definitions = [sqlDef("ALTER TABLE t ENABLE ROW LEVEL SECURITY;", "ALTER TABLE t DISABLE ROW LEVEL SECURITY;"),
+                               sqlDef("ALTER TABLE t FORCE ROW LEVEL SECURITY;", "ALTER TABLE t NO FORCE ROW LEVEL SECURITY;")]
+            definitions.forEach({ context.addSQLDefinition(it) })
+
+        when:
+            def result = tested.enrich(context, new SharedSchemaContextRequest())
+
+        then:
+            result.is(context)
+            result.getSqlDefinitions() == definitions
+    }
+
+    def "should merge statements for the same table into single statement"()
+    {
+        given:
+            def context = new SharedSchemaContext()
+            def request = new SharedSchemaContextRequest()
+            request.setCoalesceAlterTableStatements(true)
+            def function = sqlDef("CREATE OR REPLACE FUNCTION f() RETURNS INT AS \$\$ SELECT 1 \$\$ LANGUAGE sql;", "DROP FUNCTION IF EXISTS f();")
+            def policy = sqlDef("CREATE POLICY p ON sch.posts USING (true);", "DROP POLICY IF EXISTS p ON sch.posts;")
+            [function,
+             sqlDef("ALTER TABLE sch.posts ADD COLUMN tenant VARCHAR(255);", "ALTER TABLE sch.posts DROP COLUMN tenant;", ["check1"]),
+             sqlDef("ALTER TABLE sch.users ADD COLUMN tenant VARCHAR(255);", "ALTER TABLE sch.users DROP COLUMN tenant;", ["check2"]),
+             sqlDef("ALTER TABLE sch.posts ALTER COLUMN tenant SET NOT NULL;", "ALTER TABLE sch.posts ALTER COLUMN tenant DROP NOT NULL;", ["check3"]),
+             sqlDef("ALTER TABLE sch.\"posts\" ENABLE ROW LEVEL SECURITY;", "ALTER TABLE sch.\"posts\" DISABLE ROW LEVEL SECURITY;", ["check4"]),
+             policy,
+             sqlDef("ALTER TABLE \"sch\".\"posts\" ADD CONSTRAINT c1 CHECK (tenant IS NULL OR f() = 1);", "ALTER TABLE \"sch\".\"posts\" DROP CONSTRAINT IF EXISTS c1;", ["check5"]),
+             sqlDef("ALTER TABLE sch.posts ALTER COLUMN tenant SET DEFAULT f();", "ALTER TABLE sch.posts ALTER COLUMN tenant DROP DEFAULT;", ["check6"])
+            ].forEach({ context.addSQLDefinition(it) })
+
+        when:
+            def result = tested.enrich(context, request)
+
+        then:
+            result.is(context)
+            def definitions = result.getSqlDefinitions()
+            definitions.size() == 5
+            definitions[0] == function
+            definitions[1].getCreateScript() == "ALTER TABLE sch.posts ADD COLUMN tenant VARCHAR(255), ALTER COLUMN tenant SET NOT NULL, ENABLE ROW LEVEL SECURITY;"
+            definitions[1].getDropScript() == "ALTER TABLE sch.posts DISABLE ROW LEVEL SECURITY, ALTER COLUMN tenant DROP NOT NULL, DROP COLUMN tenant;"
+            definitions[1].getCheckingStatements() == ["check1", "check3", "check4"]
+            definitions[2].getCreateScript() == "ALTER TABLE sch.users ADD COLUMN tenant VARCHAR(255);"
+            definitions[2].getCheckingStatements() == ["check2"]
+            definitions[3] == policy
+            definitions[4].getCreateScript() == "ALTER TABLE \"sch\".\"posts\" ADD CONSTRAINT c1 CHECK (tenant IS NULL OR f() = 1), ALTER COLUMN tenant SET DEFAULT f();"
+            definitions[4].getDropScript() == "ALTER TABLE \"sch\".\"posts\" ALTER COLUMN tenant DROP DEFAULT, DROP CONSTRAINT IF EXISTS c1;"
+            definitions[4].getCheckingStatements() == ["check5", "check6"]
+    }
+
+    def "should join drop scripts when they can not be merged"()
+    {
+        given:
+            def context = new SharedSchemaContext()
+            def request = new SharedSchemaContextRequest()
+            request.setCoalesceAlterTableStatements(true)
+            context.addSQLDefinition(sqlDef("ALTER TABLE t ADD COLUMN tenant TEXT;", "ALTER TABLE t DROP COLUMN tenant;"))
+            context.addSQLDefinition(sqlDef("ALTER TABLE t ENABLE ROW LEVEL SECURITY;", "SELECT 1;"))
+
+        when:
+            def result = tested.enrich(context, request)
+
+        then:
+            result.getSqlDefinitions().size() == 1
+            result.getSqlDefinitions()[0].getCreateScript() == "ALTER TABLE t ADD COLUMN tenant TEXT, ENABLE ROW LEVEL SECURITY;"
+            result.getSqlDefinitions()[0].getDropScript() == "SELECT 1;\nALTER TABLE t DROP COLUMN tenant;"
+    }
+
+    def "should not merge statement that drops constraint with statement that sets not-null constraint"()
+    {
+        given:
+            def context = new SharedSchemaContext()
+            def request = new SharedSchemaContextRequest()
+            request.setCoalesceAlterTableStatements(true)
+            def setNotNull = sqlDef("ALTER TABLE t ALTER COLUMN tenant SET NOT NULL;", "ALTER TABLE t ALTER COLUMN tenant DROP NOT NULL;")
+            def dropConstraint = sqlDef("ALTER TABLE t DROP CONSTRAINT IF EXISTS tenant_not_null;", "SELECT 1;")
+            def enableRLS = sqlDef("ALTER TABLE t ENABLE ROW LEVEL SECURITY;", "ALTER TABLE t DISABLE ROW LEVEL SECURITY;")
+            [setNotNull, dropConstraint, enableRLS].forEach({ context.addSQLDefinition(it) })
+
+        when:
+            def result = tested.enrich(context, request)
+
+        then:
+            result.getSqlDefinitions().size() == 2
+            result.getSqlDefinitions()[0] == setNotNull
+            result.getSqlDefinitions()[1].getCreateScript() == "ALTER TABLE t DROP CONSTRAINT IF EXISTS tenant_not_null, ENABLE ROW LEVEL SECURITY;"
+    }
+
+    @Unroll
+    def "should set not-null constraint before dropping of validated check constraint (validate separately: #validateSeparately, backfill: #backfill)"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+                    .setGrantee("owner")
+                    .createRLSPolicyForTable("users", [id: "bigint"], "tenant", "users_policy")
+                    .createTenantColumnForTable("users")
+                    .setValidateConstraintsSeparately(validateSeparately)
+                    .setCoalesceAlterTableStatements(true)
+            if (backfill) {
+                builder.createTenantColumnBackfillForTable("users", "SELECT 'xxx'")
+            }
+
+        when:
+            def scripts = builder.build().getSqlDefinitions().collect { it.getCreateScript() }
+
+        then:
+            def setNotNullIndex = scripts.findIndexOf { it.contains("SET NOT NULL") }
+            def dropConstraintIndex = scripts.findIndexOf { it.contains("DROP CONSTRAINT IF EXISTS tenant_not_null") }
+            setNotNullIndex >= 0
+            dropConstraintIndex > setNotNullIndex
+            scripts.findIndexOf { it.contains("VALIDATE CONSTRAINT tenant_not_null") } < setNotNullIndex
+            scripts.findAll { it.contains("SET NOT NULL") && it.contains("DROP CONSTRAINT") }.isEmpty()
+
+        where:
+            validateSeparately  |   backfill
+            true                |   false
+            true                |   true
+            false               |   true
+    }
+
+    @Unroll
+    def "should resolve table key #expectedTableKey and actions #expectedActions for script #script"()
+    {
+        when:
+            def result = tested.parse(script)
+
+        then:
+            result.getTableKey() == expectedTableKey
+            result.getActions() == expectedActions
+
+        where:
+            script                                                          ||  expectedTableKey    |   expectedActions
+            "ALTER TABLE sch.\"posts\" ENABLE ROW LEVEL SECURITY;"          ||  "sch.posts"         |   "ENABLE ROW LEVEL SECURITY"
+            "ALTER TABLE \"Sch\".\"Posts\" FORCE ROW LEVEL SECURITY"        ||  "Sch.Posts"         |   "FORCE ROW LEVEL SECURITY"
+            "alter table Users add constraint c check (a > 0) ;"            ||  "users"             |   "add constraint c check (a > 0)"
+            "ALTER TABLE users ALTER COLUMN tenant SET NOT NULL;"           ||  "users"             |   "ALTER COLUMN tenant SET NOT NULL"
+            "ALTER TABLE users NO FORCE ROW LEVEL SECURITY;"                ||  "users"             |   "NO FORCE ROW LEVEL SECURITY"
+    }
+
+    @Unroll
+    def "should not merge script #script"()
+    {
+        expect:
+            tested.parse(script) == null
+
+        where:
+            script << [
+                    "ALTER TABLE posts ADD CONSTRAINT fk FOREIGN KEY (user_id) REFERENCES users (id);",
+                    "ALTER TABLE posts RENAME TO articles;",
+                    "ALTER TABLE posts ENABLE ROW LEVEL SECURITY; DROP TABLE users;",
+                    "ALTER TABLE IF EXISTS posts ENABLE ROW LEVEL SECURITY;",
+                    "CREATE POLICY p ON posts USING (true);",
+                    null
+            ]
+    }
+
+    private static SQLDefinition sqlDef(String createScript, String dropScript, List<String> checkingStatements = [])
+    {
+        new DefaultSQLDefinition(createScript, dropScript, checkingStatements)
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.GrantSchemaPrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.GrantSequencePrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import com.github.starnowski.posmulten.postgresql.core.rls.BypassRowLevelSecurityProducer
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyProducer
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyProducerParameters
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType.BYPASS_RLS
+import static com.github.starnowski.posmulten.postgresql.core.context.BatchGranteeAccessType.PERMISSIVE_POLICY
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.ALL
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum.PERMISSIVE
+
+class BatchGranteeSQLDefinitionsEnricherTest extends Specification {
+
+    def schemaProducer = Mock(GrantSchemaPrivilegesProducer)
+    def tableProducer = Mock(GrantTablePrivilegesProducer)
+    def sequenceProducer = Mock(GrantSequencePrivilegesProducer)
+    def bypassProducer = Mock(BypassRowLevelSecurityProducer)
+    def policyProducer = Mock(RLSPolicyProducer)
+    def tested = new BatchGranteeSQLDefinitionsEnricher(schemaProducer, tableProducer, sequenceProducer, bypassProducer, policyProducer)
+
+    @Unroll
+    def "should create BYPASSRLS attribute and grants for batch grantee #batchGrantee in schema #schema with table privileges #privileges"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setGrantee("app-user")
+            builder.setBatchGrantee(batchGrantee)
+            builder.setBatchGranteeTablePrivileges(privileges)
+            builder.setBatchGranteeSequences(["users_id_seq"])
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_policy")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def bypassDefinition = Mock(SQLDefinition)
+            def schemaDefinition = Mock(SQLDefinition)
+            def tableDefinition = Mock(SQLDefinition)
+            def sequenceDefinition = Mock(SQLDefinition)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            1 * bypassProducer.produce(batchGrantee) >> bypassDefinition
+            1 * schemaProducer.produce(expectedSchema, batchGrantee, ["USAGE"]) >> schemaDefinition
+            1 * tableProducer.produce(schema, "users", batchGrantee, expectedPrivileges) >> tableDefinition
+            1 * sequenceProducer.produce(expectedSchema, "users_id_seq", batchGrantee) >> sequenceDefinition
+            0 * policyProducer.produce(_)
+            result.getSqlDefinitions() == [bypassDefinition, schemaDefinition, tableDefinition, sequenceDefinition]
+
+        where:
+            schema          |   batchGrantee    |   privileges  ||  expectedSchema  |   expectedPrivileges
+            null            |   "etl"           |   null        ||  "public"        |   ["SELECT", "INSERT", "UPDATE", "DELETE"]
+            "public"        |   "etl"           |   []          ||  "public"        |   ["SELECT", "INSERT", "UPDATE", "DELETE"]
+            "some_schema"   |   "report-user"   |   ["SELECT"]  ||  "some_schema"   |   ["SELECT"]
+    }
+
+    def "should create permissive policy scoped to batch grantee when access type is PERMISSIVE_POLICY"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("app-user")
+            builder.setBatchGrantee("etl")
+            builder.setBatchGranteeAccessType(PERMISSIVE_POLICY)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_policy")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            RLSPolicyProducerParameters capturedParameters = null
+            def policyDefinition = Mock(SQLDefinition)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            0 * bypassProducer.produce(_)
+            1 * schemaProducer.produce("public", "etl", ["USAGE"]) >> Mock(SQLDefinition)
+            1 * tableProducer.produce("public", "users", "etl", ["SELECT", "INSERT", "UPDATE", "DELETE"]) >> Mock(SQLDefinition)
+            1 * policyProducer.produce(_) >> {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    policyDefinition
+            }
+            0 * sequenceProducer.produce(_, _, _)
+            result.getSqlDefinitions().contains(policyDefinition)
+
+        and: "policy should be scoped to batch grantee and allow access to all rows"
+            capturedParameters.getPolicyName() == "users_policy_batch"
+            capturedParameters.getPolicyTable() == "users"
+            capturedParameters.getPolicySchema() == "public"
+            capturedParameters.getGrantee() == "etl"
+            capturedParameters.getPermissionCommandPolicy() == ALL
+            capturedParameters.getPolicyType() == PERMISSIVE
+            capturedParameters.getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory().returnTenantHasAuthoritiesFunctionInvocation(null, ALL, null, null, null) == "true"
+            capturedParameters.getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory().returnTenantHasAuthoritiesFunctionInvocation(null, ALL, null, null, null) == "true"
+    }
+
+    def "should not create any SQL definitions when batch grantee is null"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("app-user")
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_policy")
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * bypassProducer.produce(_)
+            0 * schemaProducer.produce(_, _, _)
+            0 * tableProducer.produce(_, _, _, _)
+            0 * policyProducer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    def "should throw an exception when batch grantee is the same as grantee"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("app-user")
+            builder.setBatchGrantee("app-user")
+
+        when:
+            tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+            ex.message == "The batch grantee app-user cannot be the same as the grantee for which the row level security policies are created"
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.TestApplication
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationExecutor
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationType
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.SQLException
+
+@SpringBootTest(classes = [TestApplication.class])
+class ConstraintValidationSQLDefinitionsEnricherItTest extends Specification {
+
+    private static final String FOREIGN_KEY_CONSTRAINT_NAME = "posts_users_it_not_valid_fk"
+    private static final String NOTES_TABLE = "it_not_valid_notes"
+
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def databaseOperationExecutor = new DatabaseOperationExecutor()
+
+    ISharedSchemaContext sharedSchemaContext
+    boolean created
+
+    def setup() {
+        jdbcTemplate.execute("CREATE TABLE public." + NOTES_TABLE + " (id bigint PRIMARY KEY);")
+        jdbcTemplate.execute("INSERT INTO public.users (id, name, tenant_id) VALUES (5001, 'Acme user', 'acme'), (5002, 'Beta user', 'beta');")
+        jdbcTemplate.execute("INSERT INTO public.posts (id, text, user_id, tenant_id) VALUES (6001, 'Acme post', 5001, 'acme');")
+        sharedSchemaContext = new DefaultSharedSchemaContextBuilder("public")
+                .setGrantee("postgresql-core-user")
+                .setValidateConstraintsSeparately(true)
+                .createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_it_policy")
+                .createRLSPolicyForTable("posts", [id: "bigint"], "tenant_id", "posts_it_policy")
+                .createRLSPolicyForTable(NOTES_TABLE, [id: "bigint"], "tenant_id", "notes_it_policy")
+                .createTenantColumnForTable(NOTES_TABLE)
+                .createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], FOREIGN_KEY_CONSTRAINT_NAME)
+                .build()
+    }
+
+    def "should add constraints as not valid and validate them at the end of the definitions list"() {
+        given:
+            def definitions = sharedSchemaContext.getSqlDefinitions()
+            def notValidDefinitions = definitions.findAll { it instanceof NotValidConstraintSQLDefinition }
+            def lastNotValidDefinitionIndex = definitions.indexOf(notValidDefinitions.last())
+            def validationDefinitions = notValidDefinitions.collectMany { (it as NotValidConstraintSQLDefinition).getValidationSQLDefinitions() }
+
+        expect:
+            notValidDefinitions.every { it.getCreateScript().contains("NOT VALID") }
+            !validationDefinitions.isEmpty()
+            validationDefinitions.every { definitions.indexOf(it) > lastNotValidDefinitionIndex }
+    }
+
+    def "should validate constraints for existing rows and set not-null constraint on tenant column"() {
+        when:
+            databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.CREATE)
+            created = true
+
+        then:
+            isConstraintValidated("posts", FOREIGN_KEY_CONSTRAINT_NAME)
+            isColumnNotNull(NOTES_TABLE, "tenant_id")
+            !isConstraintExists(NOTES_TABLE, "tenant_id_not_null")
+
+        and: "all checking statements pass"
+            databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.VALIDATE)
+    }
+
+    def "should fail during the validation of constraint when existing row violates it"() {
+        given:
+            jdbcTemplate.execute("INSERT INTO public.posts (id, text, user_id, tenant_id) VALUES (6002, 'Post of other tenant user', 5002, 'acme');")
+
+        when:
+            def sqlException = jdbcTemplate.execute({ Connection connection ->
+                connection.setAutoCommit(false)
+                try {
+                    databaseOperationExecutor.execute(connection, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.CREATE)
+                    return null
+                } catch (SQLException ex) {
+                    return ex
+                } finally {
+                    connection.rollback()
+                    connection.setAutoCommit(true)
+                }
+            } as ConnectionCallback<SQLException>)
+
+        then:
+            sqlException != null
+            sqlException.getSQLState() == "23503"
+            !isConstraintExists("posts", FOREIGN_KEY_CONSTRAINT_NAME)
+    }
+
+    def cleanup() {
+        if (created) {
+            databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.DROP)
+        }
+        jdbcTemplate.execute("DELETE FROM public.posts WHERE id IN (6001, 6002);")
+        jdbcTemplate.execute("DELETE FROM public.users WHERE id IN (5001, 5002);")
+        jdbcTemplate.execute("DROP TABLE IF EXISTS public." + NOTES_TABLE + ";")
+    }
+
+    private boolean isConstraintValidated(String table, String constraintName) {
+        jdbcTemplate.queryForObject(String.format("SELECT pc.convalidated FROM pg_constraint pc, pg_class c, pg_catalog.pg_namespace pn WHERE pc.conrelid = c.oid AND c.relnamespace = pn.oid AND pn.nspname = 'public' AND c.relname = '%s' AND pc.conname = '%s';", table, constraintName), Boolean)
+    }
+
+    private boolean isConstraintExists(String table, String constraintName) {
+        jdbcTemplate.queryForObject(String.format("SELECT COUNT(1) FROM pg_constraint pc, pg_class c, pg_catalog.pg_namespace pn WHERE pc.conrelid = c.oid AND c.relnamespace = pn.oid AND pn.nspname = 'public' AND c.relname = '%s' AND pc.conname = '%s';", table, constraintName), Integer) > 0
+    }
+
+    private boolean isColumnNotNull(String table, String column) {
+        jdbcTemplate.queryForObject(String.format("SELECT is_nullable FROM information_schema.columns WHERE table_schema = 'public' AND table_name = '%s' AND column_name = '%s';", table, column), String) == "NO"
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest
+import spock.lang.Specification
+
+class ConstraintValidationSQLDefinitionsEnricherTest extends Specification {
+
+    def tested = new ConstraintValidationSQLDefinitionsEnricher()
+
+    def "should not add any sql definitions when separate validation of constraints is disabled"()
+    {
+        given:
+            def context = new SharedSchemaContext()
+            def validation = Mock(SQLDefinition)
+            def definitions = [Mock(SQLDefinition), new NotValidConstraintSQLDefinition("ALTER TABLE t ADD CONSTRAINT c CHECK (x) NOT VALID;", "ALTER TABLE t DROP CONSTRAINT IF EXISTS c;", [], [validation])]
+            definitions.forEach({ context.addSQLDefinition(it) })
+
+        when:
+            def result = tested.enrich(context, new SharedSchemaContextRequest())
+
+        then:
+            result.is(context)
+            result.getSqlDefinitions() == definitions
+    }
+
+    def "should add validation sql definitions of constraints with NOT VALID option at the end of the list in the same order as constraints"()
+    {
+        given:
+            def context = new SharedSchemaContext()
+            def request = new SharedSchemaContextRequest()
+            request.setValidateConstraintsSeparately(true)
+            def function = Mock(SQLDefinition)
+            def validation1 = Mock(SQLDefinition)
+            def validation2 = Mock(SQLDefinition)
+            def validation3 = Mock(SQLDefinition)
+            def constraint1 = new NotValidConstraintSQLDefinition("ALTER TABLE t ADD CONSTRAINT c1 CHECK (x) NOT VALID;", "ALTER TABLE t DROP CONSTRAINT IF EXISTS c1;", [], [validation1, validation2])
+            def uniqueConstraint = new DefaultSQLDefinition("ALTER TABLE t ADD CONSTRAINT uk UNIQUE (x);", "ALTER TABLE t DROP CONSTRAINT IF EXISTS uk;", [])
+            def constraint2 = new NotValidConstraintSQLDefinition("ALTER TABLE t ADD CONSTRAINT c2 CHECK (y) NOT VALID;", "ALTER TABLE t DROP CONSTRAINT IF EXISTS c2;", [], [validation3])
+            def other = Mock(SQLDefinition)
+            [function, constraint1, uniqueConstraint, constraint2, other].forEach({ context.addSQLDefinition(it) })
+
+        when:
+            def result = tested.enrich(context, request)
+
+        then:
+            result.is(context)
+            result.getSqlDefinitions() == [function, constraint1, uniqueConstraint, constraint2, other, validation1, validation2, validation3]
+    }
+}
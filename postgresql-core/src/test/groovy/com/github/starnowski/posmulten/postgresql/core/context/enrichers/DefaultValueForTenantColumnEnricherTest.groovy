@@ -228,6 +228,35 @@ class DefaultValueForTenantColumnEnricherTest extends Specification {
             "some_schema"   |   "CONST"         |   [new Pair("leads", "tenant_id"), new Pair("users", "t_xxx"), new Pair("comments", "t_xxx"), new Pair("posts", "tenant")]        |   ["leads", "comments"]           |   ["comments", "posts", "users"]      ||  [key("users", "t_xxx", "CONST", "some_schema"), key("posts", "tenant", "CONST", "some_schema")]
     }
 
+    def "should skip tables registered for tenant column backfill because their default value is added before the backfill" ()
+    {
+        given:
+            def builder = (new DefaultSharedSchemaContextBuilder("public"))
+                    .setCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables(true)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", null)
+            builder.createRLSPolicyForTable("leads", [id: "bigint"], "t_xxx", null)
+            builder.createTenantColumnBackfillForTable("users", "SELECT 'xxx'")
+            Set<SetDefaultStatementProducerParametersKey> capturedParameters = new HashSet<>()
+            SetDefaultStatementProducer producer = Mock(SetDefaultStatementProducer)
+            IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            getCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() >> "def_fun()"
+            def context = new SharedSchemaContext()
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+            def tested = new DefaultValueForTenantColumnEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(key(parameters[0]))
+                    Mock(SQLDefinition)
+            }
+            result.getSqlDefinitions().size() == 1
+            capturedParameters == new HashSet([key("leads", "t_xxx", "def_fun()", "public")])
+    }
+
     static SetDefaultStatementProducerParametersKey key(ISetDefaultStatementProducerParameters parameters)
     {
         new SetDefaultStatementProducerParametersKey(parameters.getTable(), parameters.getColumn(), parameters.getDefaultValueDefinition(), parameters.getSchema())
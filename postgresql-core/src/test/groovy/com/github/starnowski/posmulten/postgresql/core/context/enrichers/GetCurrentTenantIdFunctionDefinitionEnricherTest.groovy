@@ -1,6 +1,8 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.GeneratedFunctionType
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionDefinition
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionProducer
@@ -77,4 +79,63 @@ class GetCurrentTenantIdFunctionDefinitionEnricherTest extends Specification {
             "public"        |   "c.tenant_id"           |   "text"                      |   "what_is_tenant_id"
             "some_sche1"    |   "posmulte.prop.tenant"  |   "Some_SQL_TYPE"             |   "get_tenant_id"
     }
+
+    def "should pass function metadata options specified for the function that returns current tenant id"()
+    {
+        given:
+            def options = FunctionMetadataOptions.builder().withLeakproof(true).withCost(2).build()
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.setFunctionMetadataOptions(GeneratedFunctionType.GET_CURRENT_TENANT_ID, options)
+            builder.setFunctionMetadataOptions(GeneratedFunctionType.IS_TENANT_VALID, FunctionMetadataOptions.builder().withCost(10).build())
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = null
+            def mockedSQLDefinition = Mock(GetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(GetCurrentTenantIdFunctionProducer)
+            def tested = new GetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    mockedSQLDefinition
+            }
+            capturedParameters.getFunctionMetadataOptions().is(options)
+    }
+
+    def "should enrich shared schema context with sql definitions for function that returns current tenant id and for function that returns null when tenant is not set"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("some_schema")
+            builder.setGetCurrentTenantIdMissingOkFunctionName("get_tenant_or_null")
+            builder.setCurrentTenantIdPropertyType("UUID")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = []
+            def mockedSQLDefinition = Mock(GetCurrentTenantIdFunctionDefinition)
+            def missingOkSQLDefinition = Mock(GetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(GetCurrentTenantIdFunctionProducer)
+            def tested = new GetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(parameters[0])
+                    [mockedSQLDefinition, missingOkSQLDefinition][capturedParameters.size() - 1]
+            }
+            result.getSqlDefinitions() == [mockedSQLDefinition, missingOkSQLDefinition]
+            result.getIGetCurrentTenantIdFunctionInvocationFactory().is(mockedSQLDefinition)
+
+        and: "passed parameters should match defined values"
+            capturedParameters.collect { it.getFunctionName() } == ["get_current_tenant_id", "get_tenant_or_null"]
+            capturedParameters.collect { it.isMissingOk() } == [false, true]
+            capturedParameters.collect { it.getSchema() } == ["some_schema", "some_schema"]
+            capturedParameters.collect { it.getFunctionReturnType() } == ["UUID", "UUID"]
+    }
 }
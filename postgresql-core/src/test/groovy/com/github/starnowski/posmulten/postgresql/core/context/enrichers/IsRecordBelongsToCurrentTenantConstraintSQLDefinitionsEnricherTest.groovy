@@ -230,6 +230,30 @@ class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricherTest extends
             "comments"  |   null                ||  "Missing object of type IsRecordBelongsToCurrentTenantFunctionInvocationFactory for table comments and schema null"
     }
 
+    @Unroll
+    def "should skip requests for constraints of type #constraintType for schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), "comments_users_fk_con", constraintType)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer = Mock(IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(_)
+            result.getSqlDefinitions().size() == 0
+
+        where:
+            [schema, constraintType] << [[null, "public", "some_schema"], [SameTenantConstraintForForeignKeyType.COMPOSITE_FOREIGN_KEY, SameTenantConstraintForForeignKeyType.STATEMENT_TRIGGER]].combinations()
+    }
+
     TableKey tk(String table, String schema)
     {
         new TableKey(table, schema)
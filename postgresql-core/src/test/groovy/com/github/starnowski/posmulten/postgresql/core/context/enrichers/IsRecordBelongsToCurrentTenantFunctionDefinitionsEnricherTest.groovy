@@ -7,6 +7,7 @@ import com.github.starnowski.posmulten.postgresql.core.context.TableKey
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingFunctionNameDeclarationForTableException
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantFunctionDefinition
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -202,6 +203,37 @@ class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricherTest extends Spec
         new TableKey(table, schema)
     }
 
+    @Unroll
+    def "should pass factory that wraps the current tenant identifier invocation into subquery when such option is enabled for schema #schema"()
+    {
+        given:
+            def builder = prepareBuilder(schema)
+            builder.setWrapCurrentTenantIdentifierInSubquery(true)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def iGetCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            iGetCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() >> "get_ten()"
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(iGetCurrentTenantIdFunctionInvocationFactory)
+            def isRecordBelongsToCurrentTenantFunctionDefinitionProducer = Mock(IsRecordBelongsToCurrentTenantFunctionDefinitionProducer)
+            def tested = new IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher(isRecordBelongsToCurrentTenantFunctionDefinitionProducer)
+            def capturedFactories = []
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(_, _, _, _, _, _) >> { parameters ->
+                capturedFactories.add(parameters[3])
+                Mock(IsRecordBelongsToCurrentTenantFunctionDefinition)
+            }
+            capturedFactories.size() == 2
+            capturedFactories.every { it instanceof SubqueryGetCurrentTenantIdFunctionInvocationFactory }
+            capturedFactories.every { it.returnGetCurrentTenantIdFunctionInvocation() == "(SELECT get_ten())" }
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
     DefaultSharedSchemaContextBuilder prepareBuilder(String schema)
     {
         prepareBuilder(schema, schema)
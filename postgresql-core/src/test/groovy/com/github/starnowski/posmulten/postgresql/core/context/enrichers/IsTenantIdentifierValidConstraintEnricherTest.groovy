@@ -1,5 +1,6 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
@@ -97,6 +98,30 @@ class IsTenantIdentifierValidConstraintEnricherTest extends Specification {
             "some_schema"   |   mapBuilder().put(tp("tenant_identifier_valid", "leads", "some_schema", "t_xxx"), Mock(SQLDefinition)).put(tp("tenant_identifier_valid", "users", "some_schema", "tenant_id"), Mock(SQLDefinition)).build()
     }
 
+    def "should enrich shared schema context with SQL definitions for constraints with NOT VALID option when constraints should be validated separately"()
+    {
+        given:
+            def builder = (new DefaultSharedSchemaContextBuilder("public"))
+                    .createValidTenantValueConstraint(["ADFZ", "DFZCXVZ"], null, null)
+                    .setValidateConstraintsSeparately(true)
+            builder.createRLSPolicyForTable("users", [:], "tenant_id", null)
+            builder.createRLSPolicyForTable("leads", [:], "t_xxx", null)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            context.setIIsTenantValidFunctionInvocationFactory(Mock(IIsTenantValidFunctionInvocationFactory))
+            def mockedSQLDefinition = new NotValidConstraintSQLDefinition("ALTER TABLE t ADD CONSTRAINT c CHECK (x) NOT VALID;", "ALTER TABLE t DROP CONSTRAINT IF EXISTS c;", [], [])
+            def producer = Mock(IsTenantIdentifierValidConstraintProducer)
+            IsTenantIdentifierValidConstraintEnricher tested = new IsTenantIdentifierValidConstraintEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produceNotValid(_) >> mockedSQLDefinition
+            0 * producer.produce(_)
+            result.getSqlDefinitions() == [mockedSQLDefinition, mockedSQLDefinition]
+    }
+
     @Unroll
     def "should enrich shared schema context with SQL definition for the constraint that checks if tenant value is correct with custom constraint name #constraintName for shares schema context builder for schema #schema"()
     {
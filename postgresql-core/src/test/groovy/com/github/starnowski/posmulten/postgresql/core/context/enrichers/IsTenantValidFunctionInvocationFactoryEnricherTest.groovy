@@ -1,13 +1,18 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.ITenantValuesBlacklistTableProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.TenantValuesBlacklistTableProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
-import com.github.starnowski.posmulten.postgresql.core.rls.function.IIsTenantValidBasedOnConstantValuesFunctionProducerParameters
-import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionDefinition
-import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionProducer
+import com.github.starnowski.posmulten.postgresql.core.rls.function.*
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType.CONSTANT_ARRAY
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistType.LOOKUP_TABLE
+
 class IsTenantValidFunctionInvocationFactoryEnricherTest extends Specification {
 
     @Unroll
@@ -91,4 +96,113 @@ class IsTenantValidFunctionInvocationFactoryEnricherTest extends Specification {
             "some_schema"   |   ["BADSF", "DSFZCV"]     |   "tenant_valid"              |   null
             "some_schema"   |   ["10.22", "9990"]       |   "is_t_valid"                |   "ten_const_va"
     }
+
+    @Unroll
+    def "should enrich shared schema context with SQL definition for the function that checks if tenant value is correct based on constant array for schema #schema and black list values (#blacklist)"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createValidTenantValueConstraint(blacklist, "is_t_valid", null, CONSTANT_ARRAY)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            IIsTenantValidBasedOnConstantValuesFunctionProducerParameters capturedParameters = null
+            def mockedSQLDefinition = Mock(IsTenantValidBasedOnConstantValuesFunctionDefinition)
+            def producer = Mock(IsTenantValidBasedOnConstantValuesFunctionProducer)
+            def arrayProducer = Mock(IsTenantValidBasedOnConstantArrayFunctionProducer)
+            def lookupTableFunctionProducer = Mock(IsTenantValidBasedOnLookupTableFunctionProducer)
+            def tableProducer = Mock(TenantValuesBlacklistTableProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            IsTenantValidFunctionInvocationFactoryEnricher tested = new IsTenantValidFunctionInvocationFactoryEnricher(producer, arrayProducer, lookupTableFunctionProducer, tableProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            0 * lookupTableFunctionProducer.produce(_)
+            0 * tableProducer.produce(_)
+            0 * grantProducer.produce(_, _, _, _)
+            1 * arrayProducer.produce(_) >>  {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    mockedSQLDefinition
+            }
+            result.getSqlDefinitions() == [mockedSQLDefinition]
+            result.getIIsTenantValidFunctionInvocationFactory().is(mockedSQLDefinition)
+
+        and: "passed parameters should match values"
+            capturedParameters.getSchema() == schema
+            capturedParameters.getBlacklistTenantIds() == new HashSet<String>(blacklist)
+            capturedParameters.getArgumentType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
+            capturedParameters.getFunctionName() == "is_t_valid"
+
+        where:
+            schema          |   blacklist
+            null            |   ["ADFZ", "DFZCXVZ"]
+            "public"        |   ["10.22", "9990"]
+            "some_schema"   |   ["BADSF", "DSFZCV"]
+    }
+
+    @Unroll
+    def "should enrich shared schema context with SQL definitions for the lookup table #expectedTableName and the function that checks if tenant value is correct for schema #schema, grantee #grantee and black list values (#blacklist)"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setGrantee(grantee)
+            builder.createValidTenantValueConstraint(blacklist, null, null, LOOKUP_TABLE)
+            builder.setTenantValuesBlacklistTableName(tableName)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            ITenantValuesBlacklistTableProducerParameters capturedTableParameters = null
+            IIsTenantValidBasedOnLookupTableFunctionProducerParameters capturedFunctionParameters = null
+            def tableDefinition = Mock(SQLDefinition)
+            def valuesDefinition = Mock(SQLDefinition)
+            def grantDefinition = Mock(SQLDefinition)
+            def functionDefinition = Mock(IsTenantValidBasedOnLookupTableFunctionDefinition)
+            def producer = Mock(IsTenantValidBasedOnConstantValuesFunctionProducer)
+            def arrayProducer = Mock(IsTenantValidBasedOnConstantArrayFunctionProducer)
+            def lookupTableFunctionProducer = Mock(IsTenantValidBasedOnLookupTableFunctionProducer)
+            def tableProducer = Mock(TenantValuesBlacklistTableProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            IsTenantValidFunctionInvocationFactoryEnricher tested = new IsTenantValidFunctionInvocationFactoryEnricher(producer, arrayProducer, lookupTableFunctionProducer, tableProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            0 * arrayProducer.produce(_)
+            1 * tableProducer.produce(_) >> {
+                parameters ->
+                    capturedTableParameters = parameters[0]
+                    [tableDefinition, valuesDefinition]
+            }
+            (grantee == null ? 0 : 1) * grantProducer.produce(schema, expectedTableName, grantee, ["SELECT"]) >> grantDefinition
+            1 * lookupTableFunctionProducer.produce(_) >> {
+                parameters ->
+                    capturedFunctionParameters = parameters[0]
+                    functionDefinition
+            }
+            result.getSqlDefinitions() == (grantee == null ? [tableDefinition, valuesDefinition, functionDefinition] : [tableDefinition, valuesDefinition, grantDefinition, functionDefinition])
+            result.getIIsTenantValidFunctionInvocationFactory().is(functionDefinition)
+
+        and: "passed parameters should match values"
+            capturedTableParameters.getTable() == expectedTableName
+            capturedTableParameters.getSchema() == schema
+            capturedTableParameters.getColumn() == "tenant_id"
+            capturedTableParameters.getColumnType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
+            capturedTableParameters.getValues() == new HashSet<String>(blacklist)
+            capturedFunctionParameters.getFunctionName() == "is_tenant_identifier_valid"
+            capturedFunctionParameters.getSchema() == schema
+            capturedFunctionParameters.getArgumentType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
+            capturedFunctionParameters.getLookupTableName() == expectedTableName
+            capturedFunctionParameters.getLookupTableSchema() == schema
+            capturedFunctionParameters.getLookupTableColumn() == "tenant_id"
+
+        where:
+            schema          |   grantee     |   tableName           |   blacklist               ||  expectedTableName
+            null            |   null        |   null                |   ["ADFZ", "DFZCXVZ"]     ||  "tenant_values_blacklist"
+            "public"        |   "app_user"  |   null                |   ["10.22", "9990"]       ||  "tenant_values_blacklist"
+            "some_schema"   |   "app_user"  |   "invalid_tenants"   |   ["BADSF", "DSFZCV"]     ||  "invalid_tenants"
+    }
 }
@@ -0,0 +1,181 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingConstraintNameDeclarationForTableException
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException
+import com.github.starnowski.posmulten.postgresql.core.rls.ITenantForeignKeyConstraintProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.ITenantUniqueConstraintProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantForeignKeyConstraintProducer
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantUniqueConstraintProducer
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.CHECK_CONSTRAINT_WITH_FUNCTION
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.COMPOSITE_FOREIGN_KEY
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.STATEMENT_TRIGGER
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
+
+class SameTenantForeignKeyConstraintSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should create unique constraint for referenced table and foreign key constraints for all requests of type COMPOSITE_FOREIGN_KEY in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [id: "int", user_id: "bigint"], "tenant_id", "N/A")
+            builder.createRLSPolicyForTable("some_table", [:], "tenant_xxx_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), "comments_users_fk_con", COMPOSITE_FOREIGN_KEY)
+            builder.createSameTenantConstraintForForeignKey("some_table", "users", mapBuilder().put("owner_id", "id").build(), "some_table_users_fk_con", COMPOSITE_FOREIGN_KEY)
+            builder.createSameTenantConstraintForForeignKey("some_table", "comments", mapBuilder().put("comment_id", "id").put("comment_user_id", "user_id").build(), "some_table_comments_fk_con", CHECK_CONSTRAINT_WITH_FUNCTION)
+            builder.setNameForTenantUniqueConstraintForTable("users", "users_tenant_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def tenantUniqueConstraintProducer = Mock(TenantUniqueConstraintProducer)
+            def tenantForeignKeyConstraintProducer = Mock(TenantForeignKeyConstraintProducer)
+            def tested = new SameTenantForeignKeyConstraintSQLDefinitionsEnricher(tenantUniqueConstraintProducer, tenantForeignKeyConstraintProducer)
+            def usersUniqueConstraint = Mock(SQLDefinition)
+            def commentsForeignKeyConstraint = Mock(SQLDefinition)
+            def someTableForeignKeyConstraint = Mock(SQLDefinition)
+            ITenantUniqueConstraintProducerParameters capturedUniqueParameters = null
+            List<ITenantForeignKeyConstraintProducerParameters> capturedForeignKeyParameters = []
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * tenantUniqueConstraintProducer.produce(_) >> { parameters ->
+                capturedUniqueParameters = parameters[0]
+                usersUniqueConstraint
+            }
+            2 * tenantForeignKeyConstraintProducer.produce(_) >> { parameters ->
+                capturedForeignKeyParameters.add(parameters[0])
+                capturedForeignKeyParameters.size() == 1 ? commentsForeignKeyConstraint : someTableForeignKeyConstraint
+            }
+            result.getSqlDefinitions() == [usersUniqueConstraint, commentsForeignKeyConstraint, someTableForeignKeyConstraint]
+
+        and: "unique constraint should be created for the tenant column and primary key columns"
+            capturedUniqueParameters.getConstraintName() == "users_tenant_uk"
+            capturedUniqueParameters.getTableName() == "users"
+            capturedUniqueParameters.getTableSchema() == schema
+            capturedUniqueParameters.getTenantColumnName() == "tenant"
+            capturedUniqueParameters.getColumns() == ["id"]
+
+        and: "foreign key constraints should be created in order of constraint names"
+            capturedForeignKeyParameters.collect { it.getConstraintName() } == ["comments_users_fk_con", "some_table_users_fk_con"]
+            capturedForeignKeyParameters.collect { it.getTableName() } == ["comments", "some_table"]
+            capturedForeignKeyParameters.collect { it.getTableSchema() } == [schema, schema]
+            capturedForeignKeyParameters.collect { it.getTenantColumnName() } == ["tenant_id", "tenant_xxx_id"]
+            capturedForeignKeyParameters.collect { it.getForeignKeyPrimaryKeyColumnsMappings() } == [[user_id: "id"], [owner_id: "id"]]
+            capturedForeignKeyParameters.collect { it.getReferencedTableName() } == ["users", "users"]
+            capturedForeignKeyParameters.collect { it.getReferencedTableSchema() } == [schema, schema]
+            capturedForeignKeyParameters.collect { it.getReferencedTableTenantColumnName() } == ["tenant", "tenant"]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should use default constraint type when type was not specified for request, default type #defaultType, expected definitions #expectedDefinitionsCount"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(null)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), "comments_users_fk_con")
+            builder.setNameForTenantUniqueConstraintForTable("users", "users_tenant_uk")
+            builder.setSameTenantConstraintForForeignKeyType(defaultType)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new SameTenantForeignKeyConstraintSQLDefinitionsEnricher()
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            result.getSqlDefinitions().size() == expectedDefinitionsCount
+
+        where:
+            defaultType                     ||  expectedDefinitionsCount
+            null                            ||  0
+            CHECK_CONSTRAINT_WITH_FUNCTION  ||  0
+            COMPOSITE_FOREIGN_KEY           ||  2
+            STATEMENT_TRIGGER               ||  0
+    }
+
+    @Unroll
+    def "should throw an exception when there is missing name of the unique constraint for table #table and schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable(table, [id: "bigint", uuid: "UUID"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", table, mapBuilder().put("user_id", "id").put("user_uuid", "uuid").build(), "comments_fk_con", COMPOSITE_FOREIGN_KEY)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new SameTenantForeignKeyConstraintSQLDefinitionsEnricher()
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingConstraintNameDeclarationForTableException)
+
+        and: "message should match"
+            ex.message == expectedMessage
+
+        and: "exception object should have correct table key"
+            ex.tableKey == new TableKey(table, schema)
+
+        where:
+            table       |   schema          ||  expectedMessage
+            "users"     |   null            ||  "Missing name of the unique constraint for the tenant column and primary key columns (id, uuid) in table users and schema null"
+            "users"     |   "public"        ||  "Missing name of the unique constraint for the tenant column and primary key columns (id, uuid) in table users and schema public"
+            "groups"    |   "other_schema"  ||  "Missing name of the unique constraint for the tenant column and primary key columns (id, uuid) in table groups and schema other_schema"
+    }
+
+    def "should throw an exception when there is missing the constraint name declaration"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), null, COMPOSITE_FOREIGN_KEY)
+            builder.setNameForTenantUniqueConstraintForTable("users", "users_tenant_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new SameTenantForeignKeyConstraintSQLDefinitionsEnricher()
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingConstraintNameDeclarationForTableException)
+
+        and: "message should match"
+            ex.message == "Missing constraint name that in table comments and schema public checks  if the foreign key columns (user_id) refers to records that belong to the same tenant"
+    }
+
+    def "should throw an exception when there is missing the RLS policy declaration for the referenced table"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), "comments_users_fk", COMPOSITE_FOREIGN_KEY)
+            builder.setNameForTenantUniqueConstraintForTable("users", "users_tenant_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new SameTenantForeignKeyConstraintSQLDefinitionsEnricher()
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableException)
+
+        and: "message should match"
+            ex.message == "Missing RLS policy declaration for table users in schema public"
+
+        and: "exception object should have correct table key"
+            ex.tableKey == new TableKey("users", "public")
+    }
+}
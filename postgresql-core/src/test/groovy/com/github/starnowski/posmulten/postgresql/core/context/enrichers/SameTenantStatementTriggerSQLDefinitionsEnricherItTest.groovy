@@ -0,0 +1,99 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.TestApplication
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationExecutor
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationType
+import org.junit.Assume
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.SQLException
+import java.sql.Statement
+
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.STATEMENT_TRIGGER
+
+@SpringBootTest(classes = [TestApplication.class])
+class SameTenantStatementTriggerSQLDefinitionsEnricherItTest extends Specification {
+
+    private static final String CONSTRAINT_NAME = "posts_users_it_same_tenant"
+
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def databaseOperationExecutor = new DatabaseOperationExecutor()
+
+    ISharedSchemaContext sharedSchemaContext
+
+    def setup() {
+        Assume.assumeTrue("Triggers with transition tables require Postgres 10 or newer", jdbcTemplate.queryForObject("SHOW server_version_num", Integer) >= 100000)
+        sharedSchemaContext = new DefaultSharedSchemaContextBuilder("public")
+                .setGrantee("postgresql-core-user")
+                .createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_it_policy")
+                .createRLSPolicyForTable("posts", [id: "bigint"], "tenant_id", "posts_it_policy")
+                .createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], CONSTRAINT_NAME, STATEMENT_TRIGGER)
+                .build()
+        databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.CREATE)
+        jdbcTemplate.execute("INSERT INTO public.users (id, name, tenant_id) VALUES (3001, 'Acme user', 'acme'), (3002, 'Beta user', 'beta');")
+    }
+
+    @Unroll
+    def "should return error code '#expectedSqlState' when statement '#sqlStatement' is executed for current tenant 'acme'"() {
+        when:
+            def sqlState = executeForTenant("acme", sqlStatement)
+
+        then:
+            sqlState == expectedSqlState
+
+        where:
+            sqlStatement                                                                                                                        ||  expectedSqlState
+            "INSERT INTO public.posts (id, text, user_id, tenant_id) VALUES (4001, 'first', 3001, 'acme'), (4002, 'second', 3001, 'acme')"        ||  null
+            "INSERT INTO public.posts (id, text, user_id, tenant_id) VALUES (4001, 'first', 3001, 'acme'), (4002, 'second', 3002, 'acme')"        ||  "23514"
+            "INSERT INTO public.posts (id, text, user_id, tenant_id) VALUES (4001, 'first', 3002, 'acme')"                                        ||  "23514"
+    }
+
+    def "should reject update that changes reference to row of other tenant"() {
+        given:
+            executeForTenant("acme", "INSERT INTO public.posts (id, text, user_id, tenant_id) VALUES (4001, 'first', 3001, 'acme')")
+
+        when:
+            def sqlState = executeForTenant("acme", "UPDATE public.posts SET user_id = 3002 WHERE id = 4001")
+
+        then:
+            sqlState == "23514"
+            jdbcTemplate.queryForObject("SELECT user_id FROM public.posts WHERE id = 4001", Long) == 3001L
+    }
+
+    def cleanup() {
+        jdbcTemplate.execute("DELETE FROM public.posts WHERE id IN (4001, 4002);")
+        jdbcTemplate.execute("DELETE FROM public.users WHERE id IN (3001, 3002);")
+        if (sharedSchemaContext != null) {
+            databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.DROP)
+        }
+    }
+
+    private String executeForTenant(String tenant, String sqlStatement) {
+        jdbcTemplate.execute({ Connection connection ->
+            Statement statement = connection.createStatement()
+            try {
+                statement.execute(sharedSchemaContext.getISetCurrentTenantIdFunctionInvocationFactory().generateStatementThatSetTenant(tenant))
+                statement.execute(sqlStatement)
+                return null
+            } catch (SQLException ex) {
+                return ex.getSQLState()
+            } finally {
+                statement.execute("RESET ALL")
+                statement.close()
+            }
+        } as ConnectionCallback<String>)
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionDefinitionBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingConstraintNameDeclarationForTableException
+import com.github.starnowski.posmulten.postgresql.core.rls.IStatementTriggerProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.StatementTriggerProducer
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISameTenantStatementTriggerFunctionProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantStatementTriggerFunctionProducer
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyType.*
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
+
+class SameTenantStatementTriggerSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should create trigger function and triggers for all requests of type STATEMENT_TRIGGER in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [id: "int", user_id: "bigint"], "tenant_id", "N/A")
+            builder.createRLSPolicyForTable("some_table", [:], "tenant_xxx_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), "comments_users_fk_con", STATEMENT_TRIGGER)
+            builder.createSameTenantConstraintForForeignKey("some_table", "users", mapBuilder().put("owner_id", "id").build(), "some_table_users_fk_con", COMPOSITE_FOREIGN_KEY)
+            builder.createSameTenantConstraintForForeignKey("some_table", "comments", mapBuilder().put("comment_id", "id").put("comment_user_id", "user_id").build(), "some_table_comments_fk_con", STATEMENT_TRIGGER)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+            def sameTenantStatementTriggerFunctionProducer = Mock(SameTenantStatementTriggerFunctionProducer)
+            def statementTriggerProducer = Mock(StatementTriggerProducer)
+            def tested = new SameTenantStatementTriggerSQLDefinitionsEnricher(sameTenantStatementTriggerFunctionProducer, statementTriggerProducer)
+            def commentsFunction = functionDefinition("comments_function_ref")
+            def someTableFunction = functionDefinition("some_table_function_ref")
+            def triggers = (1..4).collect { Mock(SQLDefinition) }
+            List<ISameTenantStatementTriggerFunctionProducerParameters> capturedFunctionParameters = []
+            List<IStatementTriggerProducerParameters> capturedTriggerParameters = []
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * sameTenantStatementTriggerFunctionProducer.produce(_) >> { parameters ->
+                capturedFunctionParameters.add(parameters[0])
+                capturedFunctionParameters.size() == 1 ? commentsFunction : someTableFunction
+            }
+            4 * statementTriggerProducer.produce(_) >> { parameters ->
+                capturedTriggerParameters.add(parameters[0])
+                triggers[capturedTriggerParameters.size() - 1]
+            }
+            result.getSqlDefinitions() == [commentsFunction, triggers[0], triggers[1], someTableFunction, triggers[2], triggers[3]]
+
+        and: "trigger functions should be created in order of constraint names"
+            capturedFunctionParameters.collect { it.getFunctionName() } == ["comments_users_fk_con", "some_table_comments_fk_con"]
+            capturedFunctionParameters.collect { it.getSchema() } == [schema, schema]
+            capturedFunctionParameters.collect { it.getConstraintName() } == ["comments_users_fk_con", "some_table_comments_fk_con"]
+            capturedFunctionParameters.collect { it.getReferencedTableName() } == ["users", "comments"]
+            capturedFunctionParameters.collect { it.getReferencedTableSchema() } == [schema, schema]
+            capturedFunctionParameters.collect { it.getReferencedTableTenantColumnName() } == ["tenant", "tenant_id"]
+            capturedFunctionParameters.collect { it.getForeignKeyPrimaryKeyColumnsMappings() } == [[user_id: "id"], [comment_id: "id", comment_user_id: "user_id"]]
+            capturedFunctionParameters.collect { it.getIGetCurrentTenantIdFunctionInvocationFactory() } == [getCurrentTenantIdFunctionInvocationFactory, getCurrentTenantIdFunctionInvocationFactory]
+
+        and: "triggers should be created for the main tables"
+            capturedTriggerParameters.collect { it.getTriggerName() } == ["comments_users_fk_con_insert", "comments_users_fk_con_update", "some_table_comments_fk_con_insert", "some_table_comments_fk_con_update"]
+            capturedTriggerParameters.collect { it.getTableName() } == ["comments", "comments", "some_table", "some_table"]
+            capturedTriggerParameters.collect { it.getTableSchema() } == [schema, schema, schema, schema]
+            capturedTriggerParameters.collect { it.getEvent() } == ["INSERT", "UPDATE", "INSERT", "UPDATE"]
+            capturedTriggerParameters.collect { it.getNewTableName() } == ["new_rows", "new_rows", "new_rows", "new_rows"]
+            capturedTriggerParameters.collect { it.getFunctionReference() } == ["comments_function_ref", "comments_function_ref", "some_table_function_ref", "some_table_function_ref"]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should use default constraint type when type was not specified for request, default type #defaultType, expected definitions #expectedDefinitionsCount"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(null)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), "comments_users_fk_con")
+            builder.setSameTenantConstraintForForeignKeyType(defaultType)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(Mock(IGetCurrentTenantIdFunctionInvocationFactory))
+            def tested = new SameTenantStatementTriggerSQLDefinitionsEnricher()
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            result.getSqlDefinitions().size() == expectedDefinitionsCount
+
+        where:
+            defaultType                     ||  expectedDefinitionsCount
+            null                            ||  0
+            CHECK_CONSTRAINT_WITH_FUNCTION  ||  0
+            COMPOSITE_FOREIGN_KEY           ||  0
+            STATEMENT_TRIGGER               ||  3
+    }
+
+    def "should throw an exception when there is missing the constraint name declaration"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), null, STATEMENT_TRIGGER)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(Mock(IGetCurrentTenantIdFunctionInvocationFactory))
+            def tested = new SameTenantStatementTriggerSQLDefinitionsEnricher()
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingConstraintNameDeclarationForTableException)
+
+        and: "message should match"
+            ex.message == "Missing constraint name that in table comments and schema public checks  if the foreign key columns (user_id) refers to records that belong to the same tenant"
+    }
+
+    private static DefaultFunctionDefinition functionDefinition(String functionReference)
+    {
+        new DefaultFunctionDefinition(new FunctionDefinitionBuilder()
+                .withCreateScript("CREATE FUNCTION " + functionReference)
+                .withFunctionReference(functionReference)
+                .withDropScript("DROP FUNCTION " + functionReference)
+                .withCheckingStatements([])
+                .withFunctionArguments([])
+                .build())
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.TestApplication
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationExecutor
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationType
+import org.junit.Assume
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.ResultSet
+import java.sql.Statement
+
+@SpringBootTest(classes = [TestApplication.class])
+class SetCurrentTenantIdFunctionDefinitionEnricherItTest extends Specification {
+
+    private static final String TENANT_REGISTRY_TABLE = "posmulten_it_tenant_registry"
+    private static final String TENANT_SETTINGS_TABLE = "posmulten_it_tenant_settings"
+    private static final List<String> CHECKED_PROPERTIES = ["posmulten.tenant_id", "application_name", "statement_timeout", "work_mem", "lock_timeout", "posmulten.tenant_priority_class"]
+
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def databaseOperationExecutor = new DatabaseOperationExecutor()
+
+    ISharedSchemaContext sharedSchemaContext
+
+    def setup() {
+        Assume.assumeTrue("The tenant registry table requires Postgres 10 or newer", jdbcTemplate.queryForObject("SHOW server_version_num", Integer) >= 100000)
+        sharedSchemaContext = new DefaultSharedSchemaContextBuilder("public")
+                .setGrantee("postgresql-core-user")
+                .setCurrentTenantIdPropertyType("bigint")
+                .setCurrentTenantIdSetterInSqlLanguage(true)
+                .setTenantRegistryTableName(TENANT_REGISTRY_TABLE)
+                .setTenantSettingsTableName(TENANT_SETTINGS_TABLE)
+                .setTenantTagProperty("application_name")
+                .build()
+        databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.CREATE)
+    }
+
+    def "should set surrogate tenant identifier, tenant tag and tenant settings, and reset settings for tenant without settings"() {
+        given:
+            Long acmeId = jdbcTemplate.queryForObject("INSERT INTO \"public\".\"" + TENANT_REGISTRY_TABLE + "\" (external_id) VALUES ('acme') RETURNING id", Long)
+            Long betaId = jdbcTemplate.queryForObject("INSERT INTO \"public\".\"" + TENANT_REGISTRY_TABLE + "\" (external_id) VALUES ('beta') RETURNING id", Long)
+            jdbcTemplate.execute("INSERT INTO \"public\".\"" + TENANT_SETTINGS_TABLE + "\" (tenant_id, statement_timeout, work_mem, lock_timeout, priority_class) VALUES (" + acmeId + ", '5s', '8MB', '1s', 'gold');")
+
+        when:
+            def results = jdbcTemplate.execute({ Connection connection ->
+                Statement statement = connection.createStatement()
+                try {
+                    def defaults = readProperties(statement)
+                    statement.execute(sharedSchemaContext.getISetCurrentTenantIdFunctionInvocationFactory().generateStatementThatSetTenant("acme"))
+                    def acme = readProperties(statement)
+                    statement.execute(sharedSchemaContext.getISetCurrentTenantIdFunctionInvocationFactory().generateStatementThatSetTenant("beta"))
+                    def beta = readProperties(statement)
+                    return [defaults: defaults, acme: acme, beta: beta]
+                } finally {
+                    statement.execute("RESET ALL")
+                    statement.close()
+                }
+            } as ConnectionCallback<Map<String, Map<String, String>>>)
+
+        then:
+            results.acme == ["posmulten.tenant_id": String.valueOf(acmeId), "application_name": "tenant=acme", "statement_timeout": "5s", "work_mem": "8MB", "lock_timeout": "1s", "posmulten.tenant_priority_class": "gold"]
+
+        and: "the settings of the previous tenant should be reset for the tenant without settings"
+            results.beta["posmulten.tenant_id"] == String.valueOf(betaId)
+            results.beta["application_name"] == "tenant=beta"
+            results.beta["statement_timeout"] == results.defaults["statement_timeout"]
+            results.beta["work_mem"] == results.defaults["work_mem"]
+            results.beta["lock_timeout"] == results.defaults["lock_timeout"]
+            (results.beta["posmulten.tenant_priority_class"] ?: "") == ""
+    }
+
+    def cleanup() {
+        if (sharedSchemaContext != null) {
+            databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.DROP)
+        }
+    }
+
+    private static Map<String, String> readProperties(Statement statement) {
+        Map<String, String> result = new LinkedHashMap<>()
+        for (String property : CHECKED_PROPERTIES) {
+            ResultSet rs = statement.executeQuery("SELECT current_setting('" + property + "', true)")
+            rs.next()
+            result.put(property, rs.getString(1))
+            rs.close()
+        }
+        result
+    }
+}
@@ -31,8 +31,11 @@ class SetCurrentTenantIdFunctionDefinitionEnricherTest extends Specification {
             result.getSqlDefinitions().contains(mockedSQLDefinition)
             result.getISetCurrentTenantIdFunctionInvocationFactory().is(mockedSQLDefinition)
             result.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory().is(mockedSQLDefinition)
+            result.getISetLocalCurrentTenantIdFunctionInvocationFactory() == null
+            result.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory() == null
 
         and: "passed parameters should match default values"
+                !capturedParameters.isLocal()
                 capturedParameters.getSchema() == sharedSchemaContextRequest.getDefaultSchema()
                 capturedParameters.getCurrentTenantIdProperty() == sharedSchemaContextRequest.getCurrentTenantIdProperty()
                 capturedParameters.getArgumentType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
@@ -79,4 +82,206 @@ class SetCurrentTenantIdFunctionDefinitionEnricherTest extends Specification {
             "public"        |   "c.tenant_id"           |   "text"                      |   "what_is_tenant_id"
             "some_sche1"    |   "posmulte.prop.tenant"  |   "Some_SQL_TYPE"             |   "get_tenant_id"
     }
+
+    def "should enrich shared schema context with sql definition for function that sets current tenant id only for the current transaction"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.setCurrentTenantIdSetLocally(true)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = null
+            def mockedSQLDefinition = Mock(SetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(SetCurrentTenantIdFunctionProducer)
+            def tested = new SetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    mockedSQLDefinition
+            }
+            result.getSqlDefinitions() == [mockedSQLDefinition]
+            result.getISetCurrentTenantIdFunctionInvocationFactory().is(mockedSQLDefinition)
+            result.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory().is(mockedSQLDefinition)
+            result.getISetLocalCurrentTenantIdFunctionInvocationFactory().is(mockedSQLDefinition)
+            result.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory().is(mockedSQLDefinition)
+            capturedParameters.isLocal()
+            capturedParameters.getFunctionName() == "set_current_tenant_id"
+    }
+
+    @Unroll
+    def "should enrich shared schema context with sql definitions for functions that set current tenant id for session and for the current transaction, local function name: #localFunctionName"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(defaultSchema)
+            builder.setSetLocalCurrentTenantIdFunctionName(localFunctionName)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = []
+            def sessionSQLDefinition = Mock(SetCurrentTenantIdFunctionDefinition)
+            def localSQLDefinition = Mock(SetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(SetCurrentTenantIdFunctionProducer)
+            def tested = new SetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(parameters[0])
+                    [sessionSQLDefinition, localSQLDefinition][capturedParameters.size() - 1]
+            }
+            result.getSqlDefinitions() == [sessionSQLDefinition, localSQLDefinition]
+            result.getISetCurrentTenantIdFunctionInvocationFactory().is(sessionSQLDefinition)
+            result.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory().is(sessionSQLDefinition)
+            result.getISetLocalCurrentTenantIdFunctionInvocationFactory().is(localSQLDefinition)
+            result.getISetLocalCurrentTenantIdFunctionPreparedStatementInvocationFactory().is(localSQLDefinition)
+
+        and: "passed parameters should match defined values"
+            capturedParameters.collect { it.getFunctionName() } == ["set_current_tenant_id", localFunctionName]
+            capturedParameters.collect { it.isLocal() } == [false, true]
+            capturedParameters.collect { it.getSchema() } == [defaultSchema, defaultSchema]
+            capturedParameters.collect { it.getCurrentTenantIdProperty() } == [sharedSchemaContextRequest.getCurrentTenantIdProperty(), sharedSchemaContextRequest.getCurrentTenantIdProperty()]
+
+        where:
+            defaultSchema   |   localFunctionName
+            null            |   "set_local_tenant_id"
+            "public"        |   "set_local_tenant_id"
+            "some_sche1"    |   "set_tenant_for_transaction"
+    }
+
+    def "should pass toggle that creates functions that set current tenant id in SQL language"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setSetLocalCurrentTenantIdFunctionName("set_local_tenant_id")
+            builder.setCurrentTenantIdSetterInSqlLanguage(true)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = []
+            def sqlDefinition = Mock(SetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(SetCurrentTenantIdFunctionProducer)
+            def tested = new SetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(parameters[0])
+                    sqlDefinition
+            }
+            capturedParameters.collect { it.getFunctionName() } == ["set_current_tenant_id", "set_local_tenant_id"]
+            capturedParameters.collect { it.isSqlLanguage() } == [true, true]
+    }
+
+    @Unroll
+    def "should pass tenant registry table #tableName and external identifier type #externalIdentifierType as argument type of functions that set current tenant id for schema #defaultSchema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(defaultSchema)
+            builder.setCurrentTenantIdPropertyType("bigint")
+            builder.setSetLocalCurrentTenantIdFunctionName("set_local_tenant_id")
+            builder.setTenantRegistryTableName(tableName)
+            builder.setTenantRegistryExternalIdentifierType(externalIdentifierType)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = []
+            def sqlDefinition = Mock(SetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(SetCurrentTenantIdFunctionProducer)
+            def tested = new SetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(parameters[0])
+                    sqlDefinition
+            }
+            capturedParameters.collect { it.getArgumentType() } == [externalIdentifierType, externalIdentifierType]
+            capturedParameters.collect { it.getTenantRegistryTable() } == [tableName, tableName]
+            capturedParameters.collect { it.getTenantRegistrySchema() } == [defaultSchema, defaultSchema]
+            capturedParameters.collect { it.getTenantRegistryTenantIdColumn() } == ["id", "id"]
+            capturedParameters.collect { it.getTenantRegistryExternalIdentifierColumn() } == ["external_id", "external_id"]
+
+        where:
+            defaultSchema   |   tableName           |   externalIdentifierType
+            null            |   "tenant_registry"   |   null
+            "public"        |   "tenant_registry"   |   "VARCHAR(255)"
+            "some_schema"   |   "tenants"           |   "UUID"
+    }
+
+    @Unroll
+    def "should pass tenant settings table #tableName and priority class property #priorityClassProperty to functions that set current tenant id for schema #defaultSchema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(defaultSchema)
+            builder.setSetLocalCurrentTenantIdFunctionName("set_local_tenant_id")
+            builder.setTenantSettingsTableName(tableName)
+            if (priorityClassProperty != null) {
+                builder.setTenantPriorityClassProperty(priorityClassProperty)
+            }
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = []
+            def sqlDefinition = Mock(SetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(SetCurrentTenantIdFunctionProducer)
+            def tested = new SetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(parameters[0])
+                    sqlDefinition
+            }
+            capturedParameters.collect { it.getTenantSettingsTable() } == [tableName, tableName]
+            capturedParameters.collect { it.getTenantSettingsSchema() } == [defaultSchema, defaultSchema]
+            capturedParameters.collect { it.getTenantPriorityClassProperty() } == [expectedPriorityClassProperty, expectedPriorityClassProperty]
+
+        where:
+            defaultSchema   |   tableName           |   priorityClassProperty   ||  expectedPriorityClassProperty
+            null            |   "tenant_settings"   |   null                    ||  "posmulten.tenant_priority_class"
+            "public"        |   "tenant_settings"   |   "app.priority"          ||  "app.priority"
+            "some_schema"   |   "tenants_limits"    |   null                    ||  "posmulten.tenant_priority_class"
+    }
+
+    @Unroll
+    def "should pass tenant tag property #tagProperty to functions that set current tenant id"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setSetLocalCurrentTenantIdFunctionName("set_local_tenant_id")
+            builder.setTenantTagProperty(tagProperty)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = []
+            def sqlDefinition = Mock(SetCurrentTenantIdFunctionDefinition)
+            def producer = Mock(SetCurrentTenantIdFunctionProducer)
+            def tested = new SetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(parameters[0])
+                    sqlDefinition
+            }
+            capturedParameters.collect { it.getTenantTagProperty() } == [tagProperty, tagProperty]
+
+        where:
+            tagProperty << [null, "application_name", "app.tenant_tag"]
+    }
 }
@@ -3,6 +3,7 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.context.*
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSGranteeDeclarationException
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyTypeEnum
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -65,6 +66,49 @@ class TableRLSPolicyEnricherTest extends Specification {
             "some_schema"   | "t_column"                |   "admin"
     }
 
+    @Unroll
+    def "should pass policy per command toggle (#policyPerCommand), policy type (#policyType) and skipping of base permissive policy toggle (#skipBasePermissivePolicy) to producer"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("owner")
+            builder.createRLSPolicyForTable("posts", [:], "tenant", "posts_policy")
+            builder.setRLSPolicyPerCommand(policyPerCommand)
+            builder.setRLSPolicyType(policyType)
+            builder.setSkipBasePermissiveRLSPolicy(skipBasePermissivePolicy)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def postsTableSQLDefinition = Mock(SQLDefinition)
+            def tableRLSPolicySQLDefinitionsProducer = Mock(TableRLSPolicySQLDefinitionsProducer)
+            def tenantHasAuthoritiesFunctionInvocationFactory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            def tested = new TableRLSPolicyEnricher(tableRLSPolicySQLDefinitionsProducer)
+            context.setTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory)
+            def expectedParameters = new TableRLSPolicySQLDefinitionsProducerParameters.TableRLSPolicySQLDefinitionsProducerParametersBuilder()
+                    .withDefaultTenantIdColumn("tenant_id")
+                    .withTenantIdColumn("tenant")
+                    .withTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory)
+                    .withGrantee("owner")
+                    .withTableKey(tk("posts", "public"))
+                    .withPolicyName("posts_policy")
+                    .withPolicyPerCommand(policyPerCommand)
+                    .withPolicyType(policyType)
+                    .withSkipBasePermissivePolicy(skipBasePermissivePolicy).build()
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * tableRLSPolicySQLDefinitionsProducer.produce(expectedParameters) >> [postsTableSQLDefinition]
+            result.getSqlDefinitions() == [postsTableSQLDefinition]
+
+        where:
+            policyPerCommand    |   policyType                      |   skipBasePermissivePolicy
+            true                |   null                            |   false
+            false               |   RLSPolicyTypeEnum.RESTRICTIVE   |   false
+            true                |   RLSPolicyTypeEnum.RESTRICTIVE   |   true
+            true                |   RLSPolicyTypeEnum.PERMISSIVE    |   false
+    }
+
     @Unroll
     def "should not create any sql definitions when there is no request for rls policy in #schema"()
     {
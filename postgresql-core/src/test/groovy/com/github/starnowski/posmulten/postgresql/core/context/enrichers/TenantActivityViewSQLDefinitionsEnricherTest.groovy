@@ -0,0 +1,86 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.ITenantActivityViewProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.TenantActivityViewProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantActivityViewSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should enrich shared schema context with SQL definition for tenant activity view #viewName in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setTenantTagProperty("application_name")
+            builder.setTenantActivityViewName(viewName)
+            builder.setGrantee("app-user")
+            def context = new SharedSchemaContext()
+            ITenantActivityViewProducerParameters capturedParameters = null
+            def viewDefinition = Mock(SQLDefinition)
+            def producer = Mock(TenantActivityViewProducer)
+            def tested = new TenantActivityViewSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * producer.produce(_) >> {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    viewDefinition
+            }
+            result.getSqlDefinitions() == [viewDefinition]
+
+        and: "passed parameters should match values"
+            capturedParameters.getView() == viewName
+            capturedParameters.getSchema() == schema
+
+        where:
+            schema          |   viewName
+            null            |   "tenant_activity"
+            "public"        |   "tenant_activity"
+            "monitoring"    |   "sessions"
+    }
+
+    def "should not create any SQL definitions when tenant activity view name is null"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setTenantTagProperty("application_name")
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantActivityViewProducer)
+            def tested = new TenantActivityViewSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * producer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    @Unroll
+    def "should throw an exception when tenant activity view is requested and tenant tag property is #tagProperty"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setTenantTagProperty(tagProperty)
+            builder.setTenantActivityViewName("tenant_activity")
+            def tested = new TenantActivityViewSQLDefinitionsEnricher(Mock(TenantActivityViewProducer))
+
+        when:
+            tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+            ex.message == "The tenant activity view tenant_activity requires the tenant tag to be set in the application_name property"
+
+        where:
+            tagProperty << [null, "app.tenant_tag"]
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.common.NotValidConstraintSQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.TenantColumnBackfillSQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException
+import spock.lang.Specification
+
+class TenantColumnBackfillSQLDefinitionsEnricherTest extends Specification {
+
+    def tested = new TenantColumnBackfillSQLDefinitionsEnricher()
+
+    def "should not add any sql definitions when there are no tables registered for backfill"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "users_policy")
+            builder.createTenantColumnForTable("users")
+            def context = new SharedSchemaContext()
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            result.is(context)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    def "should add column with default value and not valid not-null constraint, set values for existing rows and then validate constraint, the parent table should be processed first"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "users_policy")
+            builder.createRLSPolicyForTable("comments", [id: "bigint"], "tenant_id", "comments_policy")
+            builder.createTenantColumnForTable("users")
+            builder.createTenantColumnForTable("comments")
+            builder.createTenantColumnBackfillForTable("comments", "users", [user_id: "id"])
+            builder.createTenantColumnBackfillForTable("users", "SELECT 'xxx'")
+            def context = new SharedSchemaContext()
+            context.setIGetCurrentTenantIdFunctionInvocationFactory({ "get_current_tenant()" })
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            result.getSqlDefinitions().collect { it.getCreateScript() } == [
+                    "ALTER TABLE public.users ADD COLUMN tenant VARCHAR(255);",
+                    "ALTER TABLE public.users ALTER COLUMN tenant SET DEFAULT get_current_tenant();",
+                    "ALTER TABLE \"public\".\"users\" ADD CONSTRAINT tenant_not_null CHECK (tenant IS NOT NULL) NOT VALID;",
+                    "UPDATE \"public\".\"users\" SET tenant = (SELECT 'xxx') WHERE tenant IS NULL;",
+                    "ALTER TABLE \"public\".\"users\" VALIDATE CONSTRAINT tenant_not_null;",
+                    "ALTER TABLE public.users ALTER COLUMN tenant SET NOT NULL;",
+                    "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS tenant_not_null;",
+                    "ALTER TABLE public.comments ADD COLUMN tenant_id VARCHAR(255);",
+                    "ALTER TABLE public.comments ALTER COLUMN tenant_id SET DEFAULT get_current_tenant();",
+                    "ALTER TABLE \"public\".\"comments\" ADD CONSTRAINT tenant_id_not_null CHECK (tenant_id IS NOT NULL) NOT VALID;",
+                    "UPDATE \"public\".\"comments\" SET tenant_id = (SELECT parent.tenant FROM \"public\".\"users\" parent WHERE parent.id = \"comments\".user_id) WHERE tenant_id IS NULL;",
+                    "ALTER TABLE \"public\".\"comments\" VALIDATE CONSTRAINT tenant_id_not_null;",
+                    "ALTER TABLE public.comments ALTER COLUMN tenant_id SET NOT NULL;",
+                    "ALTER TABLE \"public\".\"comments\" DROP CONSTRAINT IF EXISTS tenant_id_not_null;"
+            ]
+            result.getSqlDefinitions()[3] instanceof TenantColumnBackfillSQLDefinition
+            result.getSqlDefinitions()[10] instanceof TenantColumnBackfillSQLDefinition
+    }
+
+    def "should not add default value for tenant column when it should be skipped for table"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "users_policy")
+            builder.createTenantColumnForTable("users")
+            builder.skipAddingOfTenantColumnDefaultValueForTable("users")
+            builder.createTenantColumnBackfillForTable("users", "SELECT 'xxx'")
+            def context = new SharedSchemaContext()
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            result.getSqlDefinitions().collect { it.getCreateScript() }.findAll { it.contains("SET DEFAULT") }.isEmpty()
+            result.getSqlDefinitions()[1] instanceof NotValidConstraintSQLDefinition
+            result.getSqlDefinitions()[2] instanceof TenantColumnBackfillSQLDefinition
+    }
+
+    def "should not add validation of not-null constraint when constraints should be validated separately and should not add column that should not be created"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "users_policy")
+            builder.createTenantColumnBackfillForTable("users", "SELECT 'xxx'")
+            builder.setValidateConstraintsSeparately(true)
+            def context = new SharedSchemaContext()
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            result.getSqlDefinitions().size() == 2
+            result.getSqlDefinitions()[0] instanceof NotValidConstraintSQLDefinition
+            ((NotValidConstraintSQLDefinition) result.getSqlDefinitions()[0]).getValidationSQLDefinitions().size() == 3
+            result.getSqlDefinitions()[1].getCreateScript() == "UPDATE \"public\".\"users\" SET tenant = (SELECT 'xxx') WHERE tenant IS NULL;"
+    }
+
+    def "should throw exception when table registered for backfill does not have primary key columns"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createRLSPolicyForTable("users", [:], "tenant", "users_policy")
+            builder.createTenantColumnBackfillForTable("users", "SELECT 'xxx'")
+
+        when:
+            tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+            ex.message == "Missing primary key columns for table users in schema public that are required to set the tenant column values in batches"
+    }
+
+    def "should throw exception when table registered for backfill does not have RLS policy"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.createTenantColumnBackfillForTable("users", "SELECT 'xxx'")
+
+        when:
+            tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableException)
+            ex.message == "Missing RLS policy declaration for table users in schema public"
+    }
+}
@@ -5,13 +5,49 @@ import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaConte
 import com.github.starnowski.posmulten.postgresql.core.rls.function.EqualsCurrentTenantIdentifierFunctionDefinition
 import com.github.starnowski.posmulten.postgresql.core.rls.function.EqualsCurrentTenantIdentifierFunctionProducer
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory
 import com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHasAuthoritiesFunctionDefinition
 import com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHasAuthoritiesFunctionProducer
+import com.github.starnowski.posmulten.postgresql.core.rls.InlineTenantHasAuthoritiesExpressionFactory
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forString
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.ALL
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSExpressionTypeEnum.USING
+
 class TenantHasAuthoritiesFunctionDefinitionEnricherTest extends Specification {
 
+    def "should pass current tenant identifier lookup wrapped into subquery to function that checks if passed tenant id is equal to current tenant id when wrapping is enabled"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.setWrapCurrentTenantIdentifierInSubquery(true)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedEqualsCurrentTenantIdentifierFunctionProducerParameters = null
+            def getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            def equalsCurrentTenantIdentifierFunctionProducer = Mock(EqualsCurrentTenantIdentifierFunctionProducer)
+            def tenantHasAuthoritiesFunctionProducer = Mock(TenantHasAuthoritiesFunctionProducer)
+            def tested = new TenantHasAuthoritiesFunctionDefinitionEnricher(equalsCurrentTenantIdentifierFunctionProducer, tenantHasAuthoritiesFunctionProducer)
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+            getCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() >> "get_current_tenant()"
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * equalsCurrentTenantIdentifierFunctionProducer.produce(_) >>  {
+                parameters ->
+                    capturedEqualsCurrentTenantIdentifierFunctionProducerParameters = parameters[0]
+                    Mock(EqualsCurrentTenantIdentifierFunctionDefinition)
+            }
+            1 * tenantHasAuthoritiesFunctionProducer.produce(_) >> Mock(TenantHasAuthoritiesFunctionDefinition)
+            capturedEqualsCurrentTenantIdentifierFunctionProducerParameters.getCurrentTenantIdFunctionInvocationFactory() instanceof SubqueryGetCurrentTenantIdFunctionInvocationFactory
+            capturedEqualsCurrentTenantIdentifierFunctionProducerParameters.getCurrentTenantIdFunctionInvocationFactory().returnGetCurrentTenantIdFunctionInvocation() == "(SELECT get_current_tenant())"
+    }
+
     def "should enrich shared schema context with sql definition for function that passed tenant id is equal to current tenant id based on default values for shares schema context builder"()
     {
         given:
@@ -64,6 +100,48 @@ class TenantHasAuthoritiesFunctionDefinitionEnricherTest extends Specification {
             capturedTenantHasAuthoritiesFunctionProducerParameters.getRLSExpressionArgumentType() == null
             capturedTenantHasAuthoritiesFunctionProducerParameters.getTableArgumentType() == null
             capturedTenantHasAuthoritiesFunctionProducerParameters.getSchemaArgumentType() == null
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getTenantHierarchyClosureTable() == null
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getTenantHierarchyClosureTableSchema() == null
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getIGetCurrentTenantIdFunctionInvocationFactory() == null
+    }
+
+    @Unroll
+    def "should pass the tenant hierarchy closure table #expectedClosureTable and current tenant id function invocation factory when hierarchy table #hierarchyTable is specified for schema #defaultSchema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(defaultSchema)
+            builder.setTenantHierarchyTableName(hierarchyTable)
+            builder.setTenantHierarchyClosureTableName(closureTable)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedTenantHasAuthoritiesFunctionProducerParameters = null
+            def getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            def equalsCurrentTenantIdentifierFunctionProducer = Mock(EqualsCurrentTenantIdentifierFunctionProducer)
+            def tenantHasAuthoritiesFunctionProducer = Mock(TenantHasAuthoritiesFunctionProducer)
+            def tested = new TenantHasAuthoritiesFunctionDefinitionEnricher(equalsCurrentTenantIdentifierFunctionProducer, tenantHasAuthoritiesFunctionProducer)
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * equalsCurrentTenantIdentifierFunctionProducer.produce(_) >> Mock(EqualsCurrentTenantIdentifierFunctionDefinition)
+            1 * tenantHasAuthoritiesFunctionProducer.produce(_) >>  {
+                parameters ->
+                    capturedTenantHasAuthoritiesFunctionProducerParameters = parameters[0]
+                    Mock(TenantHasAuthoritiesFunctionDefinition)
+            }
+
+        and: "passed parameters should contain the closure table"
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getTenantHierarchyClosureTable() == expectedClosureTable
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getTenantHierarchyClosureTableSchema() == defaultSchema
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getIGetCurrentTenantIdFunctionInvocationFactory() == getCurrentTenantIdFunctionInvocationFactory
+
+        where:
+            defaultSchema   |   hierarchyTable      |   closureTable    ||  expectedClosureTable
+            null            |   "tenant_hierarchy"  |   null            ||  "tenant_hierarchy_closure"
+            "public"        |   "tenant_hierarchy"  |   null            ||  "tenant_hierarchy_closure"
+            "some_schema"   |   "orgs"              |   "orgs_paths"    ||  "orgs_paths"
     }
 
     @Unroll
@@ -131,4 +209,37 @@ class TenantHasAuthoritiesFunctionDefinitionEnricherTest extends Specification {
             "some_sche1"    |   "Some_SQL_TYPE"             |   "is_tenant_equal"                           |   null                                ||  "is_tenant_equal"                                   |   "tenant_has_authorities"
     }
 
+
+    @Unroll
+    def "should set the inline expression factory and should not create functions when inline RLS policy expression is enabled, currentTenantIdProperty #currentTenantIdProperty, currentTenantIdPropertyType #currentTenantIdPropertyType"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.setInlineRLSPolicyExpression(true)
+            builder.setCurrentTenantIdProperty(currentTenantIdProperty)
+            builder.setCurrentTenantIdPropertyType(currentTenantIdPropertyType)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def equalsCurrentTenantIdentifierFunctionProducer = Mock(EqualsCurrentTenantIdentifierFunctionProducer)
+            def tenantHasAuthoritiesFunctionProducer = Mock(TenantHasAuthoritiesFunctionProducer)
+            def tested = new TenantHasAuthoritiesFunctionDefinitionEnricher(equalsCurrentTenantIdentifierFunctionProducer, tenantHasAuthoritiesFunctionProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * equalsCurrentTenantIdentifierFunctionProducer.produce(_)
+            0 * tenantHasAuthoritiesFunctionProducer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+            result.getTenantHasAuthoritiesFunctionInvocationFactory() instanceof InlineTenantHasAuthoritiesExpressionFactory
+
+        and: "factory should return expression based on request values"
+            result.getTenantHasAuthoritiesFunctionInvocationFactory().returnTenantHasAuthoritiesFunctionInvocation(forReference("tenant_id"), ALL, USING, forString("users"), forString("public")) == expectedExpression
+
+        where:
+            currentTenantIdProperty     |   currentTenantIdPropertyType ||  expectedExpression
+            "posmulten.tenant_id"       |   "VARCHAR(255)"              ||  "tenant_id = current_setting('posmulten.tenant_id')::VARCHAR(255)"
+            "app.tenant"                |   "UUID"                      ||  "tenant_id = current_setting('app.tenant')::UUID"
+            "c.c_ten"                   |   "bigint"                    ||  "tenant_id = current_setting('c.c_ten')::bigint"
+    }
 }
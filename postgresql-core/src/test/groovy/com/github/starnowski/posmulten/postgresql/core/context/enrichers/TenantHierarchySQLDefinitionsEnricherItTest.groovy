@@ -0,0 +1,119 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.TestApplication
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationExecutor
+import com.github.starnowski.posmulten.postgresql.core.db.DatabaseOperationType
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.SingleConnectionDataSource
+import spock.lang.Specification
+
+import javax.sql.DataSource
+
+@SpringBootTest(classes = [TestApplication.class])
+class TenantHierarchySQLDefinitionsEnricherItTest extends Specification {
+
+    private static final String RLS_POLICY_USER = "postgresql-core-user"
+    private static final String RLS_POLICY_USER_PASSWORD = "user123"
+    private static final String HIERARCHY_TABLE = "posmulten_it_tenant_hierarchy"
+    private static final String CLOSURE_TABLE = HIERARCHY_TABLE + "_closure"
+
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def databaseOperationExecutor = new DatabaseOperationExecutor()
+
+    ISharedSchemaContext sharedSchemaContext
+    SingleConnectionDataSource rlsUserDataSource
+    JdbcTemplate rlsUserJdbcTemplate
+
+    def setup() {
+        sharedSchemaContext = new DefaultSharedSchemaContextBuilder("public")
+                .setGrantee(RLS_POLICY_USER)
+                .setRLSPolicyPerCommand(true)
+                .setTenantHierarchyTableName(HIERARCHY_TABLE)
+                .createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_hierarchy_it_policy")
+                .build()
+        databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.CREATE)
+        jdbcTemplate.execute("GRANT SELECT, UPDATE, DELETE ON public.users TO \"" + RLS_POLICY_USER + "\";")
+        jdbcTemplate.execute("INSERT INTO \"public\".\"" + HIERARCHY_TABLE + "\" (tenant_id, parent_tenant_id) VALUES ('acme', NULL), ('acme-sales', 'acme');")
+        jdbcTemplate.execute("INSERT INTO public.users (id, name, tenant_id) VALUES (2001, 'Parent', 'acme'), (2002, 'Child', 'acme-sales');")
+        String url = jdbcTemplate.execute({ connection -> connection.getMetaData().getURL() } as ConnectionCallback<String>)
+        rlsUserDataSource = new SingleConnectionDataSource(url, RLS_POLICY_USER, RLS_POLICY_USER_PASSWORD, true)
+        rlsUserJdbcTemplate = new JdbcTemplate(rlsUserDataSource)
+    }
+
+    def "should maintain closure table when tenants are added, moved and removed in hierarchy table"() {
+        expect:
+            closureTablePairs() == ["acme:acme:0", "acme:acme-sales:1", "acme-sales:acme-sales:0"] as Set
+
+        when:
+            jdbcTemplate.execute("INSERT INTO \"public\".\"" + HIERARCHY_TABLE + "\" (tenant_id, parent_tenant_id) VALUES ('beta', NULL);")
+            jdbcTemplate.execute("UPDATE \"public\".\"" + HIERARCHY_TABLE + "\" SET parent_tenant_id = 'beta' WHERE tenant_id = 'acme-sales';")
+
+        then:
+            closureTablePairs() == ["acme:acme:0", "acme-sales:acme-sales:0", "beta:acme-sales:1", "beta:beta:0"] as Set
+
+        when:
+            jdbcTemplate.execute("DELETE FROM \"public\".\"" + HIERARCHY_TABLE + "\" WHERE tenant_id = 'acme-sales';")
+
+        then:
+            closureTablePairs() == ["acme:acme:0", "beta:beta:0"] as Set
+    }
+
+    def "parent tenant should read rows of descendant tenant"() {
+        given:
+            setCurrentTenant("acme")
+
+        expect:
+            rlsUserJdbcTemplate.queryForList("SELECT id FROM public.users WHERE id IN (2001, 2002) ORDER BY id", Long) == [2001L, 2002L]
+    }
+
+    def "parent tenant should not update nor delete rows of descendant tenant"() {
+        given:
+            setCurrentTenant("acme")
+
+        when:
+            def updated = rlsUserJdbcTemplate.update("UPDATE public.users SET name = 'Changed' WHERE id = 2002;")
+            def deleted = rlsUserJdbcTemplate.update("DELETE FROM public.users WHERE id = 2002;")
+
+        then:
+            updated == 0
+            deleted == 0
+            jdbcTemplate.queryForObject("SELECT name FROM public.users WHERE id = 2002", String) == "Child"
+
+        and: "parent tenant can still delete its own rows"
+            rlsUserJdbcTemplate.update("DELETE FROM public.users WHERE id = 2001;") == 1
+    }
+
+    def "descendant tenant should not read rows of parent tenant"() {
+        given:
+            setCurrentTenant("acme-sales")
+
+        expect:
+            rlsUserJdbcTemplate.queryForList("SELECT id FROM public.users WHERE id IN (2001, 2002) ORDER BY id", Long) == [2002L]
+    }
+
+    def cleanup() {
+        if (rlsUserDataSource != null) {
+            rlsUserDataSource.destroy()
+        }
+        jdbcTemplate.execute("DELETE FROM public.users WHERE id IN (2001, 2002);")
+        jdbcTemplate.execute("REVOKE SELECT, UPDATE, DELETE ON public.users FROM \"" + RLS_POLICY_USER + "\";")
+        databaseOperationExecutor.execute(dataSource, sharedSchemaContext.getSqlDefinitions(), DatabaseOperationType.DROP)
+    }
+
+    private void setCurrentTenant(String tenant) {
+        rlsUserJdbcTemplate.execute(sharedSchemaContext.getISetCurrentTenantIdFunctionInvocationFactory().generateStatementThatSetTenant(tenant))
+    }
+
+    private Set<String> closureTablePairs() {
+        jdbcTemplate.queryForList("SELECT ancestor_id || ':' || descendant_id || ':' || depth FROM \"public\".\"" + CLOSURE_TABLE + "\"", String) as Set
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.ITenantHierarchyTablesProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.TenantHierarchyTablesProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionDefinitionBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ITenantHierarchyClosureTriggerFunctionProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHierarchyClosureTriggerFunctionProducer
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantHierarchySQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should enrich shared schema context with SQL definitions for tenant hierarchy table #hierarchyTable and closure table #expectedClosureTable in schema #schema with tenant id type #tenantIdType and grantee #grantee"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setCurrentTenantIdPropertyType(tenantIdType)
+            builder.setTenantHierarchyTableName(hierarchyTable)
+            builder.setTenantHierarchyClosureTableName(closureTable)
+            builder.setRLSPolicyPerCommand(true)
+            builder.setGrantee(grantee)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            ITenantHierarchyClosureTriggerFunctionProducerParameters capturedFunctionParameters = null
+            ITenantHierarchyTablesProducerParameters capturedTablesParameters = null
+            def functionDefinition = functionDefinition("closure_function_ref")
+            def hierarchyTableDefinition = Mock(SQLDefinition)
+            def closureTableDefinition = Mock(SQLDefinition)
+            def triggerDefinition = Mock(SQLDefinition)
+            def grantDefinition = Mock(SQLDefinition)
+            def functionProducer = Mock(TenantHierarchyClosureTriggerFunctionProducer)
+            def tablesProducer = Mock(TenantHierarchyTablesProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            def tested = new TenantHierarchySQLDefinitionsEnricher(functionProducer, tablesProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * functionProducer.produce(_) >> {
+                parameters ->
+                    capturedFunctionParameters = parameters[0]
+                    functionDefinition
+            }
+            1 * tablesProducer.produce(_) >> {
+                parameters ->
+                    capturedTablesParameters = parameters[0]
+                    [hierarchyTableDefinition, closureTableDefinition, triggerDefinition]
+            }
+            (grantee == null ? 0 : 1) * grantProducer.produce(schema, expectedClosureTable, grantee, ["SELECT"]) >> grantDefinition
+            result.getSqlDefinitions() == (grantee == null ? [functionDefinition, hierarchyTableDefinition, closureTableDefinition, triggerDefinition] : [functionDefinition, hierarchyTableDefinition, closureTableDefinition, triggerDefinition, grantDefinition])
+
+        and: "passed parameters should match values"
+            capturedFunctionParameters.getFunctionName() == hierarchyTable + "_closure_maintenance"
+            capturedFunctionParameters.getSchema() == schema
+            capturedFunctionParameters.getClosureTable() == expectedClosureTable
+            capturedFunctionParameters.getClosureTableSchema() == schema
+            capturedTablesParameters.getHierarchyTable() == hierarchyTable
+            capturedTablesParameters.getClosureTable() == expectedClosureTable
+            capturedTablesParameters.getSchema() == schema
+            capturedTablesParameters.getTenantIdColumnType() == tenantIdType
+            capturedTablesParameters.getTriggerName() == hierarchyTable + "_closure_trigger"
+            capturedTablesParameters.getTriggerFunctionReference() == "closure_function_ref"
+
+        where:
+            schema          |   hierarchyTable      |   closureTable    |   tenantIdType    |   grantee         ||  expectedClosureTable
+            null            |   "tenant_hierarchy"  |   null            |   "VARCHAR(255)"  |   null            ||  "tenant_hierarchy_closure"
+            "public"        |   "tenant_hierarchy"  |   null            |   "bigint"        |   "app-user"      ||  "tenant_hierarchy_closure"
+            "some_schema"   |   "orgs"              |   "orgs_paths"    |   "UUID"          |   "tenant-user"   ||  "orgs_paths"
+    }
+
+    def "should not create any SQL definitions when tenant hierarchy table name is null"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("app-user")
+            def context = new SharedSchemaContext()
+            def functionProducer = Mock(TenantHierarchyClosureTriggerFunctionProducer)
+            def tablesProducer = Mock(TenantHierarchyTablesProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            def tested = new TenantHierarchySQLDefinitionsEnricher(functionProducer, tablesProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * functionProducer.produce(_)
+            0 * tablesProducer.produce(_)
+            0 * grantProducer.produce(_, _, _, _)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    def "should throw an exception when tenant hierarchy table is used together with the inline RLS policy expression"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("app-user")
+            builder.setTenantHierarchyTableName("tenant_hierarchy")
+            builder.setInlineRLSPolicyExpression(true)
+            def tested = new TenantHierarchySQLDefinitionsEnricher(Mock(TenantHierarchyClosureTriggerFunctionProducer), Mock(TenantHierarchyTablesProducer), Mock(GrantTablePrivilegesProducer))
+
+        when:
+            tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+            ex.message == "The tenant hierarchy table tenant_hierarchy cannot be used together with the inline RLS policy expression"
+    }
+
+    def "should throw an exception when tenant hierarchy table is used without the RLS policies per command"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("app-user")
+            builder.setTenantHierarchyTableName("tenant_hierarchy")
+            def tested = new TenantHierarchySQLDefinitionsEnricher(Mock(TenantHierarchyClosureTriggerFunctionProducer), Mock(TenantHierarchyTablesProducer), Mock(GrantTablePrivilegesProducer))
+
+        when:
+            tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+            ex.message == "The tenant hierarchy table tenant_hierarchy requires the RLS policies per command"
+    }
+
+    private static DefaultFunctionDefinition functionDefinition(String functionReference)
+    {
+        new DefaultFunctionDefinition(new FunctionDefinitionBuilder()
+                .withCreateScript("CREATE FUNCTION " + functionReference)
+                .withFunctionReference(functionReference)
+                .withDropScript("DROP FUNCTION " + functionReference)
+                .withCheckingStatements([])
+                .withFunctionArguments([])
+                .build())
+    }
+}
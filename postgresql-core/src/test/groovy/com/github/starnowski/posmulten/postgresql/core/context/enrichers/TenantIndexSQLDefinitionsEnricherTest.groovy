@@ -0,0 +1,138 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException
+import com.github.starnowski.posmulten.postgresql.core.rls.ITenantIndexProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantIndexProducer
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantIndexSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should create index for all tables with rls policy except skipped tables in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [user_id: "bigint", id: "int"], "tenant_id", "N/A")
+            builder.createRLSPolicyForTable("some_table", [:], "tenant_xxx_id", "N/A")
+            builder.createRLSPolicyForTable("skipped_table", [id: "bigint"], "tenant_id", "N/A")
+            builder.setCreateTenantIndexInAllTables(true)
+            builder.createTenantIndexForTable("users", "users_ten_idx", true)
+            builder.skipCreationOfTenantIndexForTable("skipped_table")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantIndexProducer)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+            def commentsIndex = Mock(SQLDefinition)
+            def someTableIndex = Mock(SQLDefinition)
+            def usersIndex = Mock(SQLDefinition)
+            List<ITenantIndexProducerParameters> capturedParameters = []
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            3 * producer.produce(_) >> { parameters ->
+                capturedParameters.add(parameters[0])
+                [commentsIndex, someTableIndex, usersIndex][capturedParameters.size() - 1]
+            }
+            result.getSqlDefinitions() == [commentsIndex, someTableIndex, usersIndex]
+
+        and: "indexes should be created in order of table names"
+            capturedParameters.collect { it.getIndexName() } == ["comments_tenant_idx", "some_table_tenant_idx", "users_ten_idx"]
+            capturedParameters.collect { it.getTableName() } == ["comments", "some_table", "users"]
+            capturedParameters.collect { it.getTableSchema() } == [schema, schema, schema]
+            capturedParameters.collect { it.getTenantColumnName() } == ["tenant_id", "tenant_xxx_id", "tenant"]
+            capturedParameters.collect { it.getColumns() } == [["id", "user_id"], [], ["id"]]
+            capturedParameters.collect { it.isConcurrently() } == [false, false, true]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should create index only for registered tables when the option for all tables is disabled, default concurrently #defaultConcurrently"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [id: "int"], "tenant_id", "N/A")
+            builder.createTenantIndexForTable("comments", null)
+            builder.setCreateTenantIndexConcurrently(defaultConcurrently)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantIndexProducer)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+            def commentsIndex = Mock(SQLDefinition)
+            ITenantIndexProducerParameters capturedParameters = null
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produce(_) >> { parameters ->
+                capturedParameters = parameters[0]
+                commentsIndex
+            }
+            result.getSqlDefinitions() == [commentsIndex]
+            capturedParameters.getIndexName() == "comments_tenant_idx"
+            capturedParameters.getTableName() == "comments"
+            capturedParameters.getTenantColumnName() == "tenant_id"
+            capturedParameters.getColumns() == ["id"]
+            capturedParameters.isConcurrently() == defaultConcurrently
+
+        where:
+            defaultConcurrently << [true, false]
+    }
+
+    def "should not create any index when the option for all tables is disabled and there are no registered tables"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantIndexProducer)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    @Unroll
+    def "should throw an exception when the index was registered for table #table in schema #schema that does not have rls policy"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createTenantIndexForTable(table, "some_idx")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def tested = new TenantIndexSQLDefinitionsEnricher(Mock(TenantIndexProducer))
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableException)
+
+        and: "exception should have correct message"
+            ex.message == "Missing RLS policy declaration for table " + table + " in schema " + schema
+            ex.getTableKey() == new TableKey(table, schema)
+
+        where:
+            schema          |   table
+            null            |   "comments"
+            "public"        |   "posts"
+            "some_schema"   |   "groups"
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.ITenantPartitionStatementProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.TenantPartitionStatementProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultTenantPartitioningProperties
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.HASH
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantPartitioningStrategy.LIST
+
+class TenantPartitionSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should create hash and list partitions for tables in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("posts", [id: "bigint"], "tenant_id", "N/A")
+            builder.createRLSPolicyForTable("comments", [id: "bigint"], "tenant_id", "N/A")
+            builder.createTenantHashPartitionsForTable("users", 3)
+            builder.createTenantListPartitionsForTable("posts", [posts_small: ["t2", "t3"], posts_big: ["t1"]], true)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantPartitionStatementProducer)
+            def tested = new TenantPartitionSQLDefinitionsEnricher(producer)
+            List<ITenantPartitionStatementProducerParameters> capturedParameters = []
+            List<SQLDefinition> definitions = []
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            6 * producer.produce(_) >> { parameters ->
+                capturedParameters.add(parameters[0])
+                def definition = Mock(SQLDefinition)
+                definitions.add(definition)
+                definition
+            }
+            result.getSqlDefinitions() == definitions
+
+        and: "partitions should be created in order of table and partition names"
+            capturedParameters.collect { it.getTable() } == ["posts", "posts", "posts", "users", "users", "users"]
+            capturedParameters.collect { it.getSchema() } == [schema, schema, schema, schema, schema, schema]
+            capturedParameters.collect { it.getPartitionTable() } == ["posts_big", "posts_small", "posts_default", "users_p0", "users_p1", "users_p2"]
+            capturedParameters.collect { it.getStrategy() } == [LIST, LIST, LIST, HASH, HASH, HASH]
+            capturedParameters.collect { it.getValues() } == [["t1"], ["t2", "t3"], null, null, null, null]
+            capturedParameters.collect { it.isDefaultPartition() } == [false, false, true, false, false, false]
+            capturedParameters.collect { it.getModulus() } == [null, null, null, 3, 3, 3]
+            capturedParameters.collect { it.getRemainder() } == [null, null, null, 0, 1, 2]
+            capturedParameters.collect { it.isAttachExistingTable() } == [false, false, false, false, false, false]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    def "should pass partition name prefix and option to attach existing tables"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createTenantPartitionsForTable("users", DefaultTenantPartitioningProperties.builder()
+                    .withStrategy(HASH)
+                    .withModulus(2)
+                    .withPartitionNamePrefix("usr_part_")
+                    .withAttachExistingTables(true)
+                    .build())
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantPartitionStatementProducer)
+            def tested = new TenantPartitionSQLDefinitionsEnricher(producer)
+            List<ITenantPartitionStatementProducerParameters> capturedParameters = []
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >> { parameters ->
+                capturedParameters.add(parameters[0])
+                Mock(SQLDefinition)
+            }
+            capturedParameters.collect { it.getPartitionTable() } == ["usr_part_p0", "usr_part_p1"]
+            capturedParameters.collect { it.isAttachExistingTable() } == [true, true]
+    }
+
+    def "should not create any partition when there is no partitioning declaration"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantPartitionStatementProducer)
+            def tested = new TenantPartitionSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    @Unroll
+    def "should throw an exception when partitions were declared for table #table in schema #schema that does not have rls policy"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createTenantHashPartitionsForTable(table, 2)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new TenantPartitionSQLDefinitionsEnricher(Mock(TenantPartitionStatementProducer))
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableException)
+
+        and: "exception should have correct message"
+            ex.message == "Missing RLS policy declaration for table " + table + " in schema " + schema
+            ex.getTableKey() == new TableKey(table, schema)
+
+        where:
+            schema          |   table
+            null            |   "comments"
+            "public"        |   "posts"
+            "some_schema"   |   "groups"
+    }
+
+    @Unroll
+    def "should throw an exception when partitioning declaration is invalid, strategy #strategy, modulus #modulus, list partitions #listPartitions, default partition #defaultPartition"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createTenantPartitionsForTable("users", DefaultTenantPartitioningProperties.builder()
+                    .withStrategy(strategy)
+                    .withModulus(modulus)
+                    .withListPartitions(listPartitions)
+                    .withCreateDefaultPartition(defaultPartition)
+                    .build())
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new TenantPartitionSQLDefinitionsEnricher(Mock(TenantPartitionStatementProducer))
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            strategy    |   modulus |   listPartitions  |   defaultPartition    ||  expectedMessage
+            null        |   2       |   null            |   false               ||  "Missing partitioning strategy for table users in schema null"
+            HASH        |   null    |   null            |   false               ||  "The modulus for hash partitioning of table users in schema null has to be greater than zero"
+            HASH        |   0       |   null            |   false               ||  "The modulus for hash partitioning of table users in schema null has to be greater than zero"
+            LIST        |   null    |   null            |   false               ||  "Missing partitions for list partitioning of table users in schema null"
+            LIST        |   null    |   [:]             |   false               ||  "Missing partitions for list partitioning of table users in schema null"
+    }
+}
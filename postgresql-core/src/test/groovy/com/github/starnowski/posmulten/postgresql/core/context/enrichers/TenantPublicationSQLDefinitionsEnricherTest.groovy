@@ -0,0 +1,132 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.ITenantPublicationProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.TenantPublicationProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantPublicationSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should create publications for all tables with rls policy in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("posts", [id: "bigint"], null, "N/A")
+            builder.setDefaultTenantIdColumn("tenant_id")
+            builder.setTenantPublicationReplicaIdentityFull(true)
+            builder.createTenantPublication("pub_t2", ["t2"])
+            builder.createTenantPublication("pub_group", ["t1", "t3"])
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantPublicationProducer)
+            def tested = new TenantPublicationSQLDefinitionsEnricher(producer)
+            def definition1 = Mock(SQLDefinition)
+            def definition2 = Mock(SQLDefinition)
+            def postsReplicaIdentityDefinition = Mock(SQLDefinition)
+            def usersReplicaIdentityDefinition = Mock(SQLDefinition)
+            List<ITenantPublicationProducerParameters> capturedParameters = []
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produceReplicaIdentityFull(new TableKey("posts", schema)) >> postsReplicaIdentityDefinition
+            1 * producer.produceReplicaIdentityFull(new TableKey("users", schema)) >> usersReplicaIdentityDefinition
+            1 * producer.produce({ it.getPublicationName() == "pub_group" }) >> { parameters ->
+                capturedParameters.add(parameters[0])
+                definition1
+            }
+            1 * producer.produce({ it.getPublicationName() == "pub_t2" }) >> { parameters ->
+                capturedParameters.add(parameters[0])
+                definition2
+            }
+            result.getSqlDefinitions() == [postsReplicaIdentityDefinition, usersReplicaIdentityDefinition, definition1, definition2]
+
+        and: "publications should contain all tables in order of table names"
+            capturedParameters.collect { it.getTablesTenantColumns() } == [[(new TableKey("posts", schema)): "tenant_id", (new TableKey("users", schema)): "tenant"], [(new TableKey("posts", schema)): "tenant_id", (new TableKey("users", schema)): "tenant"]]
+            capturedParameters.collect { it.getTenantIdentifiers() } == [["t1", "t3"], ["t2"]]
+
+        and: "subscription statement factories should be registered for publications"
+            result.getPublicationNamesTenantSubscriptionStatementFactoryMap().keySet() == ["pub_group", "pub_t2"] as Set
+            result.getPublicationNamesTenantSubscriptionStatementFactoryMap().get("pub_t2").generateCreateSubscriptionStatement("sub_t2", "host=localhost") == "CREATE SUBSCRIPTION sub_t2 CONNECTION 'host=localhost' PUBLICATION pub_t2;"
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    def "should not change replica identity of published tables by default"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createTenantPublication("pub_t1", ["t1"])
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantPublicationProducer)
+            def tested = new TenantPublicationSQLDefinitionsEnricher(producer)
+            def definition = Mock(SQLDefinition)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produceReplicaIdentityFull(_)
+            1 * producer.produce({ it.getPublicationName() == "pub_t1" }) >> definition
+            result.getSqlDefinitions() == [definition]
+    }
+
+    def "should not create any publication when there is no publication declaration"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantPublicationProducer)
+            def tested = new TenantPublicationSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            0 * producer.produceReplicaIdentityFull(_)
+            result.getSqlDefinitions().isEmpty()
+            result.getPublicationNamesTenantSubscriptionStatementFactoryMap().isEmpty()
+    }
+
+    @Unroll
+    def "should throw an exception when publication declaration is invalid, tenant identifiers #tenantIdentifiers, table with rls policy #createTable"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            if (createTable) {
+                builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            }
+            builder.createTenantPublication("tenant_pub", tenantIdentifiers)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new TenantPublicationSQLDefinitionsEnricher(Mock(TenantPublicationProducer))
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            tenantIdentifiers   |   createTable ||  expectedMessage
+            null                |   true        ||  "Missing tenant identifiers for the publication tenant_pub"
+            []                  |   true        ||  "Missing tenant identifiers for the publication tenant_pub"
+            ["t1"]              |   false       ||  "The publication tenant_pub requires at least one table with the RLS policy declaration"
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.ITenantRegistryTableProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.TenantRegistryTableProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantRegistrySQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should enrich shared schema context with SQL definitions for tenant registry table #tableName in schema #schema with tenant id type #tenantIdType, external identifier type #externalIdentifierType and grantee #grantee"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setCurrentTenantIdPropertyType(tenantIdType)
+            builder.setTenantRegistryTableName(tableName)
+            builder.setTenantRegistryExternalIdentifierType(externalIdentifierType)
+            builder.setGrantee(grantee)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            ITenantRegistryTableProducerParameters capturedParameters = null
+            def tableDefinition = Mock(SQLDefinition)
+            def grantDefinition = Mock(SQLDefinition)
+            def tableProducer = Mock(TenantRegistryTableProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            def tested = new TenantRegistrySQLDefinitionsEnricher(tableProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * tableProducer.produce(_) >> {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    tableDefinition
+            }
+            (grantee == null ? 0 : 1) * grantProducer.produce(schema, tableName, grantee, ["SELECT"]) >> grantDefinition
+            result.getSqlDefinitions() == (grantee == null ? [tableDefinition] : [tableDefinition, grantDefinition])
+
+        and: "passed parameters should match values"
+            capturedParameters.getTable() == tableName
+            capturedParameters.getSchema() == schema
+            capturedParameters.getTenantIdColumn() == "id"
+            capturedParameters.getTenantIdColumnType() == tenantIdType
+            capturedParameters.getExternalIdentifierColumn() == "external_id"
+            capturedParameters.getExternalIdentifierColumnType() == externalIdentifierType
+
+        where:
+            schema          |   tableName           |   tenantIdType    |   externalIdentifierType  |   grantee
+            null            |   "tenant_registry"   |   "bigint"        |   null                    |   null
+            "public"        |   "tenant_registry"   |   "int"           |   "VARCHAR(255)"          |   "app-user"
+            "some_schema"   |   "tenants"           |   "SMALLINT"      |   "UUID"                  |   "tenant-user"
+    }
+
+    def "should not create any SQL definitions when tenant registry table name is null"()
+    {
+        given:
+            def sharedSchemaContextRequest = new DefaultSharedSchemaContextBuilder("public").getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def tableProducer = Mock(TenantRegistryTableProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            def tested = new TenantRegistrySQLDefinitionsEnricher(tableProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * tableProducer.produce(_)
+            0 * grantProducer.produce(_, _, _, _)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    @Unroll
+    def "should throw an exception when tenant id type is not an integer type: #tenantIdType"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setCurrentTenantIdPropertyType(tenantIdType)
+            builder.setTenantRegistryTableName("tenant_registry")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tableProducer = Mock(TenantRegistryTableProducer)
+            def tested = new TenantRegistrySQLDefinitionsEnricher(tableProducer, Mock(GrantTablePrivilegesProducer))
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+            ex.message == "The tenant registry table tenant_registry requires the integer type of the tenant identifier, current type is " + tenantIdType
+            0 * tableProducer.produce(_)
+
+        where:
+            tenantIdType << [null, "text", "VARCHAR(255)", "UUID"]
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.ITenantSettingsTableProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.TenantSettingsTableProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantSettingsSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should enrich shared schema context with SQL definitions for tenant settings table #tableName in schema #schema with tenant id type #tenantIdType and grantee #grantee"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setCurrentTenantIdPropertyType(tenantIdType)
+            builder.setTenantSettingsTableName(tableName)
+            builder.setGrantee(grantee)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            ITenantSettingsTableProducerParameters capturedParameters = null
+            def tableDefinition = Mock(SQLDefinition)
+            def grantDefinition = Mock(SQLDefinition)
+            def tableProducer = Mock(TenantSettingsTableProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            def tested = new TenantSettingsSQLDefinitionsEnricher(tableProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * tableProducer.produce(_) >> {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    tableDefinition
+            }
+            (grantee == null ? 0 : 1) * grantProducer.produce(schema, tableName, grantee, ["SELECT"]) >> grantDefinition
+            result.getSqlDefinitions() == (grantee == null ? [tableDefinition] : [tableDefinition, grantDefinition])
+
+        and: "passed parameters should match values"
+            capturedParameters.getTable() == tableName
+            capturedParameters.getSchema() == schema
+            capturedParameters.getTenantIdColumnType() == tenantIdType
+
+        where:
+            schema          |   tableName           |   tenantIdType    |   grantee
+            null            |   "tenant_settings"   |   "VARCHAR(255)"  |   null
+            "public"        |   "tenant_settings"   |   "bigint"        |   "app-user"
+            "some_schema"   |   "tenants_limits"    |   "UUID"          |   "tenant-user"
+    }
+
+    def "should not create any SQL definitions when tenant settings table name is null"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder("public")
+            builder.setGrantee("app-user")
+            def context = new SharedSchemaContext()
+            def tableProducer = Mock(TenantSettingsTableProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            def tested = new TenantSettingsSQLDefinitionsEnricher(tableProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * tableProducer.produce(_)
+            0 * grantProducer.produce(_, _, _, _)
+            result.getSqlDefinitions().isEmpty()
+    }
+}
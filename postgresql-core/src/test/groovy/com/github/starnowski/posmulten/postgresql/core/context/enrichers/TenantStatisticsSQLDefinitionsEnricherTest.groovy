@@ -0,0 +1,211 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.InvalidSharedSchemaContextRequestException
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException
+import com.github.starnowski.posmulten.postgresql.core.rls.ITenantStatisticsProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantStatisticsProducer
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantStatisticsKind.*
+
+class TenantStatisticsSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should create statistics for all tables with rls policy except skipped tables and tables without columns in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [id: "int"], "tenant_id", "N/A")
+            builder.createRLSPolicyForTable("some_table", [:], "tenant_xxx_id", "N/A")
+            builder.createRLSPolicyForTable("skipped_table", [id: "bigint"], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", [user_id: "id"], "N/A")
+            builder.setCreateTenantStatisticsInAllTables(true)
+            builder.createTenantStatisticsForTable("users", "users_stats", ["status", "tenant", "id"])
+            builder.skipCreationOfTenantStatisticsForTable("skipped_table")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantStatisticsProducer)
+            def tested = new TenantStatisticsSQLDefinitionsEnricher(producer)
+            def commentsStatistics = Mock(SQLDefinition)
+            def usersStatistics = Mock(SQLDefinition)
+            List<ITenantStatisticsProducerParameters> capturedParameters = []
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >> { parameters ->
+                capturedParameters.add(parameters[0])
+                [commentsStatistics, usersStatistics][capturedParameters.size() - 1]
+            }
+            result.getSqlDefinitions() == [commentsStatistics, usersStatistics]
+
+        and: "statistics should be created in order of table names"
+            capturedParameters.collect { it.getStatisticsName() } == ["comments_tenant_stats", "users_stats"]
+            capturedParameters.collect { it.getTableName() } == ["comments", "users"]
+            capturedParameters.collect { it.getTableSchema() } == [schema, schema]
+            capturedParameters.collect { it.getTenantColumnName() } == ["tenant_id", "tenant"]
+            capturedParameters.collect { it.getColumns() } == [["user_id"], ["status", "id"]]
+            capturedParameters.collect { it.getKinds() } == [[NDISTINCT, DEPENDENCIES, MCV], [NDISTINCT, DEPENDENCIES, MCV]]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should create statistics only for registered tables when the option for all tables is disabled, kinds #kinds"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [id: "int"], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", [user_id: "id"], "N/A")
+            builder.createTenantStatisticsForTable("comments", null, null)
+            builder.setTenantStatisticsKinds(kinds)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantStatisticsProducer)
+            def tested = new TenantStatisticsSQLDefinitionsEnricher(producer)
+            def commentsStatistics = Mock(SQLDefinition)
+            ITenantStatisticsProducerParameters capturedParameters = null
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produce(_) >> { parameters ->
+                capturedParameters = parameters[0]
+                commentsStatistics
+            }
+            result.getSqlDefinitions() == [commentsStatistics]
+            capturedParameters.getStatisticsName() == "comments_tenant_stats"
+            capturedParameters.getTableName() == "comments"
+            capturedParameters.getTenantColumnName() == "tenant_id"
+            capturedParameters.getColumns() == ["user_id"]
+            capturedParameters.getKinds() == expectedKinds
+
+        where:
+            kinds                   ||  expectedKinds
+            null                    ||  [NDISTINCT, DEPENDENCIES, MCV]
+            []                      ||  [NDISTINCT, DEPENDENCIES, MCV]
+            [MCV, NDISTINCT]        ||  [NDISTINCT, MCV]
+            [DEPENDENCIES]          ||  [DEPENDENCIES]
+    }
+
+    def "should put declared columns before foreign key columns and skip foreign key columns that exceed the maximum number of columns allowed by Postgres"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [id: "int"], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", [user_id: "id"], "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", [author_id: "id"], "N/A")
+            builder.createTenantStatisticsForTable("comments", null, ["c1", "c2", "c3", "c4", "c5", "c6"])
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantStatisticsProducer)
+            def tested = new TenantStatisticsSQLDefinitionsEnricher(producer)
+            ITenantStatisticsProducerParameters capturedParameters = null
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produce(_) >> { parameters ->
+                capturedParameters = parameters[0]
+                Mock(SQLDefinition)
+            }
+            capturedParameters.getColumns() == ["c1", "c2", "c3", "c4", "c5", "c6", "author_id"]
+    }
+
+    def "should throw an exception when the declared columns exceed the maximum number of columns allowed by Postgres"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createTenantStatisticsForTable("users", null, ["tenant", "c1", "c2", "c3", "c4", "c5", "c6", "c7", "c8"])
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantStatisticsProducer)
+            def tested = new TenantStatisticsSQLDefinitionsEnricher(producer)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            def ex = thrown(InvalidSharedSchemaContextRequestException)
+            ex.message == "The statistics for table users in schema null can have at most 7 columns besides the tenant column"
+    }
+
+    def "should not create statistics for table without declared columns and foreign key columns"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.setCreateTenantStatisticsInAllTables(true)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantStatisticsProducer)
+            def tested = new TenantStatisticsSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    def "should not create any statistics when the option for all tables is disabled and there are no registered tables"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def producer = Mock(TenantStatisticsProducer)
+            def tested = new TenantStatisticsSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * producer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    @Unroll
+    def "should throw an exception when the statistics were registered for table #table in schema #schema that does not have rls policy"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createTenantStatisticsForTable(table, "some_stats", ["id"])
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def tested = new TenantStatisticsSQLDefinitionsEnricher(Mock(TenantStatisticsProducer))
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableException)
+
+        and: "exception should have correct message"
+            ex.message == "Missing RLS policy declaration for table " + table + " in schema " + schema
+            ex.getTableKey() == new TableKey(table, schema)
+
+        where:
+            schema          |   table
+            null            |   "comments"
+            "public"        |   "posts"
+            "some_schema"   |   "groups"
+    }
+}
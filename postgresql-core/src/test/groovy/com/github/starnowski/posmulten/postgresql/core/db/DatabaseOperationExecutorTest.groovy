@@ -1,10 +1,16 @@
 package com.github.starnowski.posmulten.postgresql.core.db
 
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.db.operations.BatchCreateOperationsProcessor
+import com.github.starnowski.posmulten.postgresql.core.db.operations.BatchDropOperationsProcessor
+import com.github.starnowski.posmulten.postgresql.core.db.operations.BulkValidateOperationsProcessor
 import com.github.starnowski.posmulten.postgresql.core.db.operations.CreateOperationsProcessor
 import com.github.starnowski.posmulten.postgresql.core.db.operations.DatabaseOperationsLoggerProcessor
 import com.github.starnowski.posmulten.postgresql.core.db.operations.DropOperationsProcessor
 import com.github.starnowski.posmulten.postgresql.core.db.operations.IDatabaseOperationsProcessor
+import com.github.starnowski.posmulten.postgresql.core.db.operations.OnlineCreateOperationsProcessor
+import com.github.starnowski.posmulten.postgresql.core.db.operations.ParallelCreateOperationsProcessor
+import com.github.starnowski.posmulten.postgresql.core.db.operations.ParallelDropOperationsProcessor
 import com.github.starnowski.posmulten.postgresql.core.db.operations.ValidateOperationsProcessor
 import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.ValidationDatabaseOperationsException
 import spock.lang.Specification
@@ -249,7 +255,7 @@ class DatabaseOperationExecutorTest extends Specification {
             def results = tested.getOperationsProcessorMap()
 
         then:
-            results.values().stream().map({it -> it.getClass()}).collect(Collectors.toSet()) == new HashSet([CreateOperationsProcessor, DropOperationsProcessor, ValidateOperationsProcessor, DatabaseOperationsLoggerProcessor])
+            results.values().stream().map({it -> it.getClass()}).collect(Collectors.toSet()) == new HashSet([CreateOperationsProcessor, DropOperationsProcessor, ValidateOperationsProcessor, DatabaseOperationsLoggerProcessor, BatchCreateOperationsProcessor, BatchDropOperationsProcessor, BulkValidateOperationsProcessor, ParallelCreateOperationsProcessor, ParallelDropOperationsProcessor, OnlineCreateOperationsProcessor])
     }
 
     @Unroll
@@ -0,0 +1,58 @@
+package com.github.starnowski.posmulten.postgresql.core.db
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+
+class TenantTagStatementCommentDecoratorTest extends Specification {
+
+    def tested = new TenantTagStatementCommentDecorator()
+
+    @Unroll
+    def "should add comment with tenant tag for tenant '#tenant' to statement '#statement'"()
+    {
+        expect:
+            tested.decorate(statement, tenant) == expectedStatement
+
+        where:
+            statement                               |   tenant                  ||  expectedStatement
+            "SELECT 1"                              |   "xds"                   ||  "/* tenant=xds */ SELECT 1"
+            "SELECT * FROM users WHERE id = ?"      |   "tenant-1.eu:db@x_y"    ||  "/* tenant=tenant-1.eu:db@x_y */ SELECT * FROM users WHERE id = ?"
+            "SELECT 1"                              |   "a*/ DROP TABLE x; /*"  ||  "/* tenant=a___DROP_TABLE_x____ */ SELECT 1"
+            "SELECT 1"                              |   "ząb 'x'"               ||  "/* tenant=z_b__x_ */ SELECT 1"
+    }
+
+    def "should create prepared statement for statement with tenant tag comment"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+
+        when:
+            def result = tested.prepareStatement(connection, "SELECT 1", "xds")
+
+        then:
+            1 * connection.prepareStatement("/* tenant=xds */ SELECT 1") >> preparedStatement
+            result == preparedStatement
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when statement is '#statement' and tenant is '#tenant'"()
+    {
+        when:
+            tested.decorate(statement, tenant)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            statement   |   tenant  ||  expectedMessage
+            null        |   "xds"   ||  "Statement cannot be null"
+            "SELECT 1"  |   null    ||  "Tenant identifier cannot be null"
+    }
+}
@@ -0,0 +1,283 @@
+package com.github.starnowski.posmulten.postgresql.core.db.operations
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.BatchOperationsException
+import org.mockito.Mockito
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.sql.DataSource
+import java.sql.BatchUpdateException
+import java.sql.Connection
+import java.sql.SQLException
+import java.sql.Savepoint
+import java.sql.Statement
+
+class BatchCreateOperationsProcessorTest extends Specification {
+
+    @Unroll
+    def "should run creation scripts in single batch and single transaction"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor()
+            def dataSource = Mock(DataSource)
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            dataSource.getConnection() >> connection
+
+        when:
+            tested.run(dataSource, definitions)
+
+        then:
+            1 * connection.getAutoCommit() >> true
+            1 * connection.setAutoCommit(false)
+            1 * connection.createStatement() >> statement
+
+        then:
+            definitions.forEach({it ->
+                1 * statement.addBatch(it.getCreateScript())
+            })
+
+        then:
+            1 * statement.executeBatch() >> new int[0]
+
+        then:
+            1 * connection.commit()
+            1 * statement.close()
+
+        then:
+            1 * connection.setAutoCommit(true)
+            1 * connection.close()
+            0 * connection.rollback()
+            0 * statement.execute(_)
+
+        where:
+            definitions << [[sqlDef("cre1"), sqlDef("cre2")], [sqlDef("creX"), sqlDef("creY"), sqlDef("creZ")]]
+    }
+
+    @Unroll
+    def "should execute batch #expectedNumberOfBatches times for chunk size #chunkSize"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor(BatchOperationsOptions.builder().withChunkSize(chunkSize).build())
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            expectedNumberOfBatches * statement.executeBatch() >> new int[0]
+            1 * connection.commit()
+            0 * connection.setSavepoint()
+
+        where:
+            definitions                                                     |   chunkSize   ||  expectedNumberOfBatches
+            [sqlDef("cre1"), sqlDef("cre2")]                                |   0           ||  1
+            [sqlDef("cre1"), sqlDef("cre2")]                                |   1           ||  2
+            [sqlDef("cre1"), sqlDef("cre2"), sqlDef("cre3")]                |   2           ||  2
+            [sqlDef("cre1"), sqlDef("cre2"), sqlDef("cre3"), sqlDef("c4")]  |   2           ||  2
+            [sqlDef("cre1"), sqlDef("cre2"), sqlDef("cre3"), sqlDef("c4")]  |   5           ||  1
+    }
+
+    @Unroll
+    def "should rollback transaction and report failed definition at position #expectedIndex when batch update counts are #updateCounts"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def definitions = [sqlDef("cre1"), sqlDef("cre2"), sqlDef("cre3")]
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+            statement.executeBatch() >> { throw new BatchUpdateException(updateCounts as int[], new SQLException()) }
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            def ex = thrown(BatchOperationsException)
+            ex.getFailedDefinitionIndex() == expectedIndex
+            ex.getFailedDefinition() == definitions.get(expectedIndex)
+            ex.getFailedScript() == definitions.get(expectedIndex).getCreateScript()
+            ex.getNumberOfAppliedDefinitions() == 0
+            1 * connection.rollback()
+            0 * connection.commit()
+            1 * statement.close()
+            1 * connection.setAutoCommit(true)
+
+        where:
+            updateCounts                                                    ||  expectedIndex
+            []                                                              ||  0
+            [0]                                                             ||  1
+            [0, Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED]         ||  1
+            [0, 0, Statement.EXECUTE_FAILED]                                ||  2
+    }
+
+    def "should rollback to savepoint and commit previous chunks when chunk failed"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor(BatchOperationsOptions.builder().withChunkSize(2).withSavepointPerChunk(true).build())
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def firstSavepoint = Mock(Savepoint)
+            def secondSavepoint = Mock(Savepoint)
+            def definitions = [sqlDef("cre1"), sqlDef("cre2"), sqlDef("cre3"), sqlDef("cre4")]
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+            connection.setSavepoint() >>> [firstSavepoint, secondSavepoint]
+            statement.executeBatch() >> new int[0] >> { throw new BatchUpdateException([0] as int[], new SQLException()) }
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            def ex = thrown(BatchOperationsException)
+            ex.getFailedDefinitionIndex() == 3
+            ex.getFailedScript() == "cre4"
+            ex.getNumberOfAppliedDefinitions() == 2
+            1 * connection.releaseSavepoint(firstSavepoint)
+            1 * connection.rollback(secondSavepoint)
+            1 * connection.commit()
+            0 * connection.rollback()
+    }
+
+    def "should not commit nor rollback transaction when connection is not in auto-commit mode"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            connection.getAutoCommit() >> false
+            connection.createStatement() >> statement
+            statement.executeBatch() >> { throw new BatchUpdateException(new int[0], new SQLException()) }
+
+        when:
+            tested.run(connection, [sqlDef("cre1")])
+
+        then:
+            thrown(BatchOperationsException)
+            0 * connection.setAutoCommit(_)
+            0 * connection.commit()
+            0 * connection.rollback()
+            1 * statement.close()
+    }
+
+    def "should commit previous scripts and execute script that can not be executed inside transaction block in auto-commit mode"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def definitions = [sqlDef("cre1"), sqlDef("CREATE INDEX CONCURRENTLY idx ON users (tenant_id);"), sqlDef("cre3")]
+            connection.createStatement() >> statement
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            1 * connection.getAutoCommit() >> true
+            1 * connection.setAutoCommit(false)
+
+        then:
+            1 * statement.addBatch("cre1")
+            1 * statement.executeBatch() >> new int[0]
+
+        then:
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(true)
+
+        then:
+            1 * statement.execute("CREATE INDEX CONCURRENTLY idx ON users (tenant_id);")
+
+        then:
+            1 * connection.setAutoCommit(false)
+
+        then:
+            1 * statement.addBatch("cre3")
+            1 * statement.executeBatch() >> new int[0]
+
+        then:
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(true)
+            0 * connection.rollback()
+    }
+
+    def "should report committed scripts when script that can not be executed inside transaction block failed"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def definitions = [sqlDef("cre1"), sqlDef("cre2"), sqlDef("create unique index concurrently idx ON users (tenant_id);"), sqlDef("cre4")]
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+            statement.executeBatch() >> new int[0]
+            statement.execute("create unique index concurrently idx ON users (tenant_id);") >> { throw new SQLException() }
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            def ex = thrown(BatchOperationsException)
+            ex.getFailedDefinitionIndex() == 2
+            ex.getFailedDefinition() == definitions.get(2)
+            ex.getNumberOfAppliedDefinitions() == 2
+            1 * connection.commit()
+            0 * connection.rollback()
+            0 * statement.addBatch("cre4")
+    }
+
+    def "should throw exception when script can not be executed inside transaction block and connection is not in auto-commit mode"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            connection.getAutoCommit() >> false
+            connection.createStatement() >> statement
+
+        when:
+            tested.run(connection, [sqlDef("cre1"), sqlDef("CREATE INDEX CONCURRENTLY idx ON users (tenant_id);")])
+
+        then:
+            def ex = thrown(SQLException)
+            ex.message == "Script \"CREATE INDEX CONCURRENTLY idx ON users (tenant_id);\" for sql definition at position 1 can not be executed inside a transaction block, the connection has to be in the auto-commit mode"
+            0 * statement.addBatch(_)
+            0 * statement.executeBatch()
+            0 * connection.commit()
+    }
+
+    @Unroll
+    def "should return #expected when checking if script '#script' has to be executed outside transaction block"(){
+        given:
+            def tested = new BatchCreateOperationsProcessor()
+
+        expect:
+            tested.isExecutedOutsideTransaction(script) == expected
+
+        where:
+            script                                                          ||  expected
+            "CREATE INDEX CONCURRENTLY idx ON users (tenant_id);"           ||  true
+            "  create unique index concurrently idx ON users (tenant_id);"  ||  true
+            "DROP INDEX CONCURRENTLY IF EXISTS idx;"                        ||  true
+            "REINDEX INDEX CONCURRENTLY idx;"                               ||  true
+            "CREATE INDEX idx ON users (tenant_id);"                        ||  false
+            "DROP INDEX IF EXISTS idx;"                                     ||  false
+            "ALTER TABLE users ADD COLUMN concurrently text;"               ||  false
+            null                                                            ||  false
+    }
+
+    def "should throw exception when options are null"(){
+        when:
+            new BatchCreateOperationsProcessor(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Options cannot be null"
+    }
+
+    private static SQLDefinition sqlDef(String createScript){
+        SQLDefinition definition = Mockito.mock(SQLDefinition)
+        Mockito.when(definition.getCreateScript()).thenReturn(createScript)
+        definition
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.starnowski.posmulten.postgresql.core.db.operations
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.BatchOperationsException
+import org.mockito.Mockito
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.BatchUpdateException
+import java.sql.Connection
+import java.sql.SQLException
+import java.sql.Statement
+
+class BatchDropOperationsProcessorTest extends Specification {
+
+    @Unroll
+    def "should run drop scripts in reverse order in single batch"(){
+        given:
+            def tested = new BatchDropOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            1 * statement.addBatch(expectedScripts[0])
+
+        then:
+            1 * statement.addBatch(expectedScripts[1])
+
+        then:
+            1 * statement.executeBatch() >> new int[0]
+
+        then:
+            1 * connection.commit()
+
+        where:
+            definitions                             ||  expectedScripts
+            [sqlDef("drop1"), sqlDef("drop2")]      ||  ["drop2", "drop1"]
+            [sqlDef("dropX"), sqlDef("dropY")]      ||  ["dropY", "dropX"]
+    }
+
+    def "should report failed definition in order of execution"(){
+        given:
+            def tested = new BatchDropOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def definitions = [sqlDef("drop1"), sqlDef("drop2"), sqlDef("drop3")]
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+            statement.executeBatch() >> { throw new BatchUpdateException([0] as int[], new SQLException()) }
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            def ex = thrown(BatchOperationsException)
+            ex.getFailedDefinitionIndex() == 1
+            ex.getFailedDefinition() == definitions.get(1)
+            ex.getFailedScript() == "drop2"
+            1 * connection.rollback()
+    }
+
+    def "should execute drop index script that can not be executed inside transaction block outside the batch"(){
+        given:
+            def tested = new BatchDropOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def definitions = [sqlDef("drop1"), sqlDef("DROP INDEX CONCURRENTLY IF EXISTS idx;"), sqlDef("drop3")]
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            1 * statement.addBatch("drop3")
+            1 * statement.executeBatch() >> new int[0]
+
+        then:
+            1 * connection.commit()
+
+        then:
+            1 * statement.execute("DROP INDEX CONCURRENTLY IF EXISTS idx;")
+
+        then:
+            1 * statement.addBatch("drop1")
+            1 * statement.executeBatch() >> new int[0]
+
+        then:
+            1 * connection.commit()
+            0 * connection.rollback()
+    }
+
+    private static SQLDefinition sqlDef(String dropScript){
+        SQLDefinition definition = Mockito.mock(SQLDefinition)
+        Mockito.when(definition.getDropScript()).thenReturn(dropScript)
+        definition
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.starnowski.posmulten.postgresql.core.db.operations
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.ValidationDatabaseOperationsException
+import com.github.starnowski.posmulten.postgresql.core.db.operations.util.SQLUtil
+import org.mockito.Mockito
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.SQLException
+import java.sql.Savepoint
+
+class BulkValidateOperationsProcessorTest extends Specification {
+
+    def "should have default chunk size"(){
+        given:
+            def tested = new BulkValidateOperationsProcessor()
+
+        expect:
+            tested.getChunkSize() == BulkValidateOperationsProcessor.DEFAULT_CHUNK_SIZE
+            tested.getSqlUtil().getClass() == SQLUtil
+    }
+
+    @Unroll
+    def "should throw an exception when chunk size is #chunkSize"(){
+        when:
+            new BulkValidateOperationsProcessor(chunkSize)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Chunk size must be greater than zero"
+
+        where:
+            chunkSize << [0, -1, -50]
+    }
+
+    @Unroll
+    def "should prepare combined query #expectedQuery for statements #statements"(){
+        given:
+            def tested = new BulkValidateOperationsProcessor()
+
+        expect:
+            tested.prepareCombinedQuery(statements) == expectedQuery
+
+        where:
+            statements                                      ||  expectedQuery
+            ["SELECT 1", "SELECT COUNT(1) FROM t;"]         ||  "SELECT (SELECT 1), (SELECT COUNT(1) FROM t)"
+            ["SELECT COUNT(1)\nFROM x ; ", "SELECT 2;;"]    ||  "SELECT (SELECT COUNT(1)\nFROM x), (SELECT 2)"
+    }
+
+    @Unroll
+    def "should execute distinct checking statements in combined queries for chunk size #chunkSize and return failed checks #expectedInvalidChecks"(){
+        given:
+            def sqlUtil = Mock(SQLUtil)
+            def tested = new BulkValidateOperationsProcessor(sqlUtil, chunkSize)
+            def connection = Mock(Connection)
+            connection.getAutoCommit() >> true
+            def definitions = [sqlDef("cre1", ["check1", "check2"]), sqlDef("cre2", ["check3", "check1"]), sqlDef("cre3", ["check4"])]
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            combinedQueries.eachWithIndex({ query, index ->
+                1 * sqlUtil.returnLongResultsForQuery(connection, query, queryResults[index].size()) >> (queryResults[index] as long[])
+            })
+            singleQueries.entrySet().forEach({ it ->
+                1 * sqlUtil.returnLongResultForQuery(connection, it.getKey()) >> it.getValue()
+            })
+            def ex = thrown(ValidationDatabaseOperationsException)
+            ex.failedChecks == expectedInvalidChecks
+
+        where:
+            chunkSize   |   combinedQueries                                                     |   queryResults            |   singleQueries   ||  expectedInvalidChecks
+            500         |   ["SELECT (check1), (check2), (check3), (check4)"]                   |   [[0, 1, 1, 1]]          |   [:]             ||  ["cre1": new HashSet<>(["check1"]), "cre2": new HashSet<>(["check1"])]
+            2           |   ["SELECT (check1), (check2)", "SELECT (check3), (check4)"]          |   [[1, 1], [1, -1]]       |   [:]             ||  ["cre3": new HashSet<>(["check4"])]
+            3           |   ["SELECT (check1), (check2), (check3)"]                             |   [[1, 0, 0]]             |   [check4: 1]     ||  ["cre1": new HashSet<>(["check2"]), "cre2": new HashSet<>(["check3"])]
+    }
+
+    def "should not throw an exception when all checks passed"(){
+        given:
+            def sqlUtil = Mock(SQLUtil)
+            def tested = new BulkValidateOperationsProcessor(sqlUtil, 10)
+            def connection = Mock(Connection)
+            connection.getAutoCommit() >> true
+            sqlUtil.returnLongResultsForQuery(connection, "SELECT (check1), (check2)", 2) >> ([1, 3] as long[])
+
+        when:
+            tested.run(connection, [sqlDef("cre1", ["check1"]), sqlDef("cre2", ["check2"])])
+
+        then:
+            noExceptionThrown()
+    }
+
+    def "should release savepoint when combined query passed"(){
+        given:
+            def sqlUtil = Mock(SQLUtil)
+            def tested = new BulkValidateOperationsProcessor(sqlUtil, 10)
+            def connection = Mock(Connection)
+            def savepoint = Mock(Savepoint)
+            connection.getAutoCommit() >> false
+
+        when:
+            tested.run(connection, [sqlDef("cre1", ["check1"]), sqlDef("cre2", ["check2"])])
+
+        then:
+            1 * connection.setSavepoint() >> savepoint
+            1 * sqlUtil.returnLongResultsForQuery(connection, "SELECT (check1), (check2)", 2) >> ([1, 1] as long[])
+            1 * connection.releaseSavepoint(savepoint)
+            0 * connection.rollback(_)
+            0 * sqlUtil.returnLongResultForQuery(_, _)
+            noExceptionThrown()
+    }
+
+    def "should execute checking statements one by one when combined query failed"(){
+        given:
+            def sqlUtil = Mock(SQLUtil)
+            def tested = new BulkValidateOperationsProcessor(sqlUtil, 10)
+            def connection = Mock(Connection)
+            def savepoint = Mock(Savepoint)
+            connection.getAutoCommit() >> false
+
+        when:
+            tested.run(connection, [sqlDef("cre1", ["check1"]), sqlDef("cre2", ["check2"])])
+
+        then:
+            1 * connection.setSavepoint() >> savepoint
+            1 * sqlUtil.returnLongResultsForQuery(connection, "SELECT (check1), (check2)", 2) >> { throw new SQLException() }
+            1 * connection.rollback(savepoint)
+            1 * connection.releaseSavepoint(savepoint)
+            1 * sqlUtil.returnLongResultForQuery(connection, "check1") >> 1
+            1 * sqlUtil.returnLongResultForQuery(connection, "check2") >> 0
+            def ex = thrown(ValidationDatabaseOperationsException)
+            ex.failedChecks == ["cre2": new HashSet<>(["check2"])]
+    }
+
+    private static SQLDefinition sqlDef(String createScript, List<String> checkingStatements){
+        SQLDefinition definition = Mockito.mock(SQLDefinition)
+        Mockito.when(definition.getCreateScript()).thenReturn(createScript)
+        Mockito.when(definition.getCheckingStatements()).thenReturn(checkingStatements)
+        definition
+    }
+}
@@ -102,6 +102,23 @@ class CreateOperationsProcessorTest extends Specification {
             [sqlDef("creX"), sqlDef("creY"), sqlDef("creZ")]    |   ["creZ"]
     }
 
+    def "should close statement after executing creation scripts"(){
+        given:
+            def tested = new CreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def definitions = [sqlDef("cre1"), sqlDef("cre2")]
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("cre1")
+            1 * statement.execute("cre2")
+            1 * statement.close()
+    }
+
     private static SQLDefinition sqlDef(String createScript){
         SQLDefinition definition = Mockito.mock(SQLDefinition)
         Mockito.when(definition.getCreateScript()).thenReturn(createScript)
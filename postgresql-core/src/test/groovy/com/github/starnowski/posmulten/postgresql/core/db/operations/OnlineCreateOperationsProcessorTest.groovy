@@ -0,0 +1,194 @@
+package com.github.starnowski.posmulten.postgresql.core.db.operations
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.common.TenantColumnBackfillSQLDefinition
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.SQLException
+import java.sql.Statement
+
+class OnlineCreateOperationsProcessorTest extends Specification {
+
+    def "should execute creation scripts separately and set tenant column values in batches with checkpoints"()
+    {
+        given:
+            def checkpointStore = Mock(ITenantColumnBackfillCheckpointStore)
+            def tested = new OnlineCreateOperationsProcessor(OnlineOperationsOptions.builder().withBackfillBatchSize(2).withCheckpointStore(checkpointStore).build())
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def firstBoundStatement = Mock(PreparedStatement)
+            def nextBoundStatement = Mock(PreparedStatement)
+            def firstUpdateStatement = Mock(PreparedStatement)
+            def lastUpdateStatement = Mock(PreparedStatement)
+            def firstBoundResultSet = Mock(ResultSet)
+            def nextBoundResultSet = Mock(ResultSet)
+            def column = sqlDef("ALTER TABLE public.users ADD COLUMN tenant VARCHAR(255);")
+            def backfill = backfillDef()
+            connection.getAutoCommit() >> false
+            connection.createStatement() >> statement
+            firstBoundStatement.executeQuery() >> firstBoundResultSet
+            firstBoundResultSet.next() >> true
+            firstBoundResultSet.getString(1) >> "12"
+            nextBoundStatement.executeQuery() >> nextBoundResultSet
+            nextBoundResultSet.next() >> false
+            firstUpdateStatement.executeUpdate() >> 2
+            lastUpdateStatement.executeUpdate() >> 1
+
+        when:
+            tested.run(connection, [column, backfill])
+
+        then:
+            1 * connection.setAutoCommit(true)
+            1 * statement.execute(column.getCreateScript())
+            1 * checkpointStore.loadLastKey(connection, "public.users.tenant") >> null
+
+        then:
+            1 * connection.prepareStatement("SELECT CAST(id AS text) FROM \"public\".\"users\" ORDER BY id LIMIT 1 OFFSET 1") >> firstBoundStatement
+            1 * connection.setAutoCommit(false)
+            1 * connection.prepareStatement("UPDATE \"public\".\"users\" SET tenant = (SELECT 'xxx') WHERE tenant IS NULL AND (id) <= (CAST(? AS bigint))") >> firstUpdateStatement
+            1 * firstUpdateStatement.setString(1, "12")
+            1 * checkpointStore.saveLastKey(connection, "public.users.tenant", ["12"], 2)
+            1 * connection.commit()
+            1 * connection.setAutoCommit(true)
+
+        then:
+            1 * connection.prepareStatement("SELECT CAST(id AS text) FROM \"public\".\"users\" WHERE (id) > (CAST(? AS bigint)) ORDER BY id LIMIT 1 OFFSET 1") >> nextBoundStatement
+            1 * nextBoundStatement.setString(1, "12")
+            1 * connection.setAutoCommit(false)
+            1 * connection.prepareStatement("UPDATE \"public\".\"users\" SET tenant = (SELECT 'xxx') WHERE tenant IS NULL AND (id) > (CAST(? AS bigint))") >> lastUpdateStatement
+            1 * lastUpdateStatement.setString(1, "12")
+            0 * checkpointStore.saveLastKey(_, _, _, _)
+            1 * checkpointStore.clearLastKey(connection, "public.users.tenant")
+            1 * connection.commit()
+            1 * connection.setAutoCommit(true)
+
+        then: "previous auto-commit mode should be restored"
+            1 * connection.setAutoCommit(false)
+            0 * connection.rollback()
+    }
+
+    def "should resume backfill from the last key returned by checkpoint store"()
+    {
+        given:
+            def checkpointStore = Mock(ITenantColumnBackfillCheckpointStore)
+            def tested = new OnlineCreateOperationsProcessor(OnlineOperationsOptions.builder().withBackfillBatchSize(100).withCheckpointStore(checkpointStore).build())
+            def connection = Mock(Connection)
+            def boundStatement = Mock(PreparedStatement)
+            def updateStatement = Mock(PreparedStatement)
+            def boundResultSet = Mock(ResultSet)
+            connection.getAutoCommit() >> true
+            checkpointStore.loadLastKey(connection, "public.users.tenant") >> ["1500"]
+            boundStatement.executeQuery() >> boundResultSet
+            boundResultSet.next() >> false
+
+        when:
+            tested.run(connection, [backfillDef()])
+
+        then:
+            1 * connection.prepareStatement("SELECT CAST(id AS text) FROM \"public\".\"users\" WHERE (id) > (CAST(? AS bigint)) ORDER BY id LIMIT 1 OFFSET 99") >> boundStatement
+            1 * boundStatement.setString(1, "1500")
+            1 * connection.prepareStatement("UPDATE \"public\".\"users\" SET tenant = (SELECT 'xxx') WHERE tenant IS NULL AND (id) > (CAST(? AS bigint))") >> updateStatement
+            1 * updateStatement.setString(1, "1500")
+            1 * updateStatement.executeUpdate() >> 7
+            1 * checkpointStore.clearLastKey(connection, "public.users.tenant")
+            1 * connection.commit()
+    }
+
+    def "should rollback batch and rethrow exception when update fails"()
+    {
+        given:
+            def tested = new OnlineCreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def boundStatement = Mock(PreparedStatement)
+            def updateStatement = Mock(PreparedStatement)
+            def boundResultSet = Mock(ResultSet)
+            def exception = new SQLException("lock timeout")
+            connection.getAutoCommit() >> true
+            connection.prepareStatement({ it.startsWith("SELECT") }) >> boundStatement
+            connection.prepareStatement({ it.startsWith("UPDATE") }) >> updateStatement
+            boundStatement.executeQuery() >> boundResultSet
+            boundResultSet.next() >> false
+            updateStatement.executeUpdate() >> { throw exception }
+
+        when:
+            tested.run(connection, [backfillDef()])
+
+        then:
+            def ex = thrown(SQLException)
+            ex.is(exception)
+            1 * connection.rollback()
+            0 * connection.commit()
+    }
+
+    def "should set lock timeout and restore previous value at the end"()
+    {
+        given:
+            def tested = new OnlineCreateOperationsProcessor(OnlineOperationsOptions.builder().withLockTimeoutMillis(3000).build())
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def showResultSet = Mock(ResultSet)
+            def restoreStatement = Mock(PreparedStatement)
+            connection.getAutoCommit() >> true
+            connection.createStatement() >> statement
+            showResultSet.getString(1) >> "10s"
+
+        when:
+            tested.run(connection, [sqlDef("ALTER TABLE public.users ADD COLUMN tenant VARCHAR(255);")])
+
+        then:
+            1 * statement.executeQuery("SHOW lock_timeout") >> showResultSet
+            1 * statement.execute("SET lock_timeout = 3000")
+
+        then:
+            1 * statement.execute("ALTER TABLE public.users ADD COLUMN tenant VARCHAR(255);")
+
+        then:
+            1 * connection.prepareStatement("SELECT set_config('lock_timeout', ?, false)") >> restoreStatement
+            1 * restoreStatement.setString(1, "10s")
+            1 * restoreStatement.execute()
+    }
+
+    @Unroll
+    def "should throw exception when options has incorrect values, batch size #batchSize, pause #pause, lock timeout #lockTimeout"()
+    {
+        when:
+            OnlineOperationsOptions.builder().withBackfillBatchSize(batchSize).withPauseBetweenBatchesMillis(pause).withLockTimeoutMillis(lockTimeout).build()
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == expectedMessage
+
+        where:
+            batchSize   |   pause   |   lockTimeout ||  expectedMessage
+            0           |   0       |   0           ||  "Backfill batch size must be greater than zero"
+            -1          |   0       |   0           ||  "Backfill batch size must be greater than zero"
+            10          |   -1      |   0           ||  "Pause between batches cannot be negative"
+            10          |   0       |   -5          ||  "Lock timeout cannot be negative"
+    }
+
+    def "should throw exception when options object is null"()
+    {
+        when:
+            new OnlineCreateOperationsProcessor(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Options cannot be null"
+    }
+
+    private static TenantColumnBackfillSQLDefinition backfillDef()
+    {
+        new TenantColumnBackfillSQLDefinition("UPDATE \"public\".\"users\" SET tenant = (SELECT 'xxx') WHERE tenant IS NULL;", "SELECT 1;", [], "public", "users", "tenant", [id: "bigint"], "SELECT 'xxx'")
+    }
+
+    private SQLDefinition sqlDef(String creationScript)
+    {
+        def mock = Mock(SQLDefinition)
+        mock.getCreateScript() >> creationScript
+        mock
+    }
+}
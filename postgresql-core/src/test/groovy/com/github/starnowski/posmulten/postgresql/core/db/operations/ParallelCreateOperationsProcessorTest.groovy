@@ -0,0 +1,150 @@
+package com.github.starnowski.posmulten.postgresql.core.db.operations
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.db.operations.exceptions.ParallelOperationsException
+import org.mockito.Mockito
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.SQLException
+import java.sql.Statement
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ParallelCreateOperationsProcessorTest extends Specification {
+
+    @Unroll
+    def "should execute creation scripts after scripts they depend on for parallelism #parallelism"(){
+        given:
+            def tested = new ParallelCreateOperationsProcessor(ParallelOperationsOptions.builder().withParallelism(parallelism).build())
+            def executedScripts = new CopyOnWriteArrayList<String>()
+            def statement = Stub(Statement)
+            statement.execute(_) >> { String script -> Thread.sleep(new Random().nextInt(10)); executedScripts.add(script); true }
+            def connection = Stub(Connection)
+            connection.createStatement() >> statement
+            def dataSource = Stub(DataSource)
+            dataSource.getConnection() >> connection
+            def definitions = [sqlDef("CREATE FUNCTION f1() RETURNS INT AS 'SELECT 1' LANGUAGE sql;"),
+                               sqlDef("ALTER TABLE users ENABLE ROW LEVEL SECURITY;"),
+                               sqlDef("ALTER TABLE posts ENABLE ROW LEVEL SECURITY;"),
+                               sqlDef("CREATE POLICY p1 ON users USING (f1() = 1);"),
+                               sqlDef("CREATE POLICY p2 ON posts USING (f1() = 1);"),
+                               sqlDef("ALTER TABLE posts ADD CONSTRAINT fk FOREIGN KEY (user_id) REFERENCES users (id);")]
+
+        when:
+            tested.run(dataSource, definitions)
+
+        then:
+            executedScripts.size() == definitions.size()
+            executedScripts.get(0) == definitions.get(0).getCreateScript()
+            executedScripts.indexOf(definitions.get(1).getCreateScript()) < executedScripts.indexOf(definitions.get(3).getCreateScript())
+            executedScripts.indexOf(definitions.get(2).getCreateScript()) < executedScripts.indexOf(definitions.get(4).getCreateScript())
+            executedScripts.indexOf(definitions.get(3).getCreateScript()) < executedScripts.indexOf(definitions.get(5).getCreateScript())
+            executedScripts.indexOf(definitions.get(4).getCreateScript()) < executedScripts.indexOf(definitions.get(5).getCreateScript())
+
+        where:
+            parallelism << [1, 2, 4]
+    }
+
+    def "should close all connections and statements"(){
+        given:
+            def tested = new ParallelCreateOperationsProcessor(ParallelOperationsOptions.builder().withParallelism(1).build())
+            def dataSource = Mock(DataSource)
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            connection.createStatement() >> statement
+
+        when:
+            tested.run(dataSource, [sqlDef("ALTER TABLE users ENABLE ROW LEVEL SECURITY;"), sqlDef("ALTER TABLE posts ENABLE ROW LEVEL SECURITY;")])
+
+        then:
+            1 * dataSource.getConnection() >> connection
+            2 * statement.close()
+            1 * connection.close()
+    }
+
+    def "should report first failed definition in execution order and not execute scripts that depend on it"(){
+        given:
+            def tested = new ParallelCreateOperationsProcessor(ParallelOperationsOptions.builder().withParallelism(2).build())
+            def executedScripts = new CopyOnWriteArrayList<String>()
+            def statement = Stub(Statement)
+            statement.execute(_) >> { String script ->
+                if (script.contains("fail")) {
+                    throw new SQLException("failed " + script)
+                }
+                executedScripts.add(script)
+                true
+            }
+            def connection = Stub(Connection)
+            connection.createStatement() >> statement
+            def dataSource = Stub(DataSource)
+            dataSource.getConnection() >> connection
+            def definitions = [sqlDef("ALTER TABLE users ENABLE ROW LEVEL SECURITY;"),
+                               sqlDef("ALTER TABLE posts ADD CONSTRAINT fail1 CHECK (true);"),
+                               sqlDef("ALTER TABLE comments ADD CONSTRAINT fail2 CHECK (true);"),
+                               sqlDef("CREATE POLICY p2 ON posts USING (true);")]
+
+        when:
+            tested.run(dataSource, definitions)
+
+        then:
+            def ex = thrown(ParallelOperationsException)
+            ex.getFailedDefinitionIndex() == 1
+            ex.getFailedDefinition() == definitions.get(1)
+            ex.getFailedScript() == definitions.get(1).getCreateScript()
+            !executedScripts.contains(definitions.get(3).getCreateScript())
+    }
+
+    def "should report failed definition when script execution failed with runtime exception"(){
+        given:
+            def tested = new ParallelCreateOperationsProcessor(ParallelOperationsOptions.builder().withParallelism(1).build())
+            def runtimeException = new IllegalStateException("no connection")
+            def dataSource = Stub(DataSource)
+            dataSource.getConnection() >> { throw runtimeException }
+            def definitions = [sqlDef("ALTER TABLE users ENABLE ROW LEVEL SECURITY;")]
+
+        when:
+            tested.run(dataSource, definitions)
+
+        then:
+            def ex = thrown(ParallelOperationsException)
+            ex.getFailedDefinitionIndex() == 0
+            ex.getFailedDefinition() == definitions.get(0)
+            ex.getCause() instanceof SQLException
+            ex.getCause().getCause() == runtimeException
+    }
+
+    def "should execute scripts sequentially for connection"(){
+        given:
+            def tested = new ParallelCreateOperationsProcessor()
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            connection.createStatement() >> statement
+            def definitions = [sqlDef("cre1"), sqlDef("cre2")]
+
+        when:
+            tested.run(connection, definitions)
+
+        then:
+            1 * statement.execute("cre1")
+
+        then:
+            1 * statement.execute("cre2")
+    }
+
+    def "should throw exception when options are null"(){
+        when:
+            new ParallelCreateOperationsProcessor(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Options cannot be null"
+    }
+
+    private static SQLDefinition sqlDef(String createScript){
+        SQLDefinition definition = Mockito.mock(SQLDefinition)
+        Mockito.when(definition.getCreateScript()).thenReturn(createScript)
+        definition
+    }
+}
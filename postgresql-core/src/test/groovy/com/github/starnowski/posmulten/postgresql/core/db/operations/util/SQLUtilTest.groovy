@@ -32,4 +32,43 @@ class SQLUtilTest extends Specification {
             "SELECT 32"     ||  137
             "SELECT *"      ||  -1
     }
+
+    def "should close result set and prepared statement"(){
+        given:
+            def rs = Mock(ResultSet)
+            def ps = Mock(PreparedStatement)
+            def con = Mock(Connection)
+            con.prepareStatement("SELECT 1") >> ps
+            ps.executeQuery() >> rs
+            def tested = new SQLUtil()
+
+        when:
+            tested.returnLongResultForQuery(con, "SELECT 1")
+
+        then:
+            1 * rs.close()
+            1 * ps.close()
+    }
+
+    def "should return results for all columns returned by prepared statement"(){
+        given:
+            def rs = Mock(ResultSet)
+            def ps = Mock(PreparedStatement)
+            def con = Mock(Connection)
+            con.prepareStatement("SELECT (q1), (q2), (q3)") >> ps
+            ps.executeQuery() >> rs
+            def tested = new SQLUtil()
+
+        when:
+            def result = tested.returnLongResultsForQuery(con, "SELECT (q1), (q2), (q3)", 3)
+
+        then:
+            result == [7, 0, -1] as long[]
+            1 * rs.next()
+            1 * rs.getLong(1) >> 7
+            1 * rs.getLong(2) >> 0
+            1 * rs.getLong(3) >> -1
+            1 * rs.close()
+            1 * ps.close()
+    }
 }
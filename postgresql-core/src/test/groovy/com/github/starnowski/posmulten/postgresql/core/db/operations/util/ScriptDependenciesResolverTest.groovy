@@ -0,0 +1,61 @@
+package com.github.starnowski.posmulten.postgresql.core.db.operations.util
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ScriptDependenciesResolverTest extends Specification {
+
+    @Unroll
+    def "should resolve tables #expectedTables for script #script"(){
+        given:
+            def tested = new ScriptDependenciesResolver()
+
+        expect:
+            tested.resolveTables(script) == new HashSet<>(expectedTables)
+
+        where:
+            script                                                                                                  ||  expectedTables
+            "ALTER TABLE sch.\"users\" ENABLE ROW LEVEL SECURITY;"                                                  ||  ["users"]
+            "ALTER TABLE \"sch\".\"Posts\" ADD CONSTRAINT fk CHECK (user_id IS NULL);"                              ||  ["posts"]
+            "CREATE POLICY posts_policy ON sch.posts FOR ALL TO \"app_user\" USING (tenant = 'x');"                 ||  ["posts"]
+            "ALTER TABLE posts ADD CONSTRAINT fk FOREIGN KEY (user_id, tenant) REFERENCES users (id, tenant);"     ||  ["posts", "users"]
+            "CREATE INDEX IF NOT EXISTS idx ON ONLY public.comments (tenant, id);"                                 ||  ["comments"]
+            "CREATE TABLE public.posts_p0 PARTITION OF public.posts FOR VALUES WITH (MODULUS 2, REMAINDER 0);"     ||  ["posts_p0", "posts"]
+            "CREATE STATISTICS s (mcv) ON tenant, status FROM public.posts;"                                       ||  ["tenant", "posts"]
+            "CREATE OR REPLACE FUNCTION sch.fun() RETURNS BOOLEAN AS \$\$ SELECT EXISTS (SELECT 1 FROM sch.users) \$\$ LANGUAGE sql;"  ||  []
+            "DROP FUNCTION IF EXISTS sch.fun(bigint);"                                                              ||  []
+            "DO \$\$ BEGIN PERFORM 1 FROM users; END \$\$;"                                                         ||  []
+            "GRANT SELECT ON ALL TABLES IN SCHEMA public TO app_user;"                                              ||  []
+            "SELECT 1;"                                                                                             ||  []
+    }
+
+    @Unroll
+    def "should resolve dependencies #expectedDependencies for scripts #scripts"(){
+        given:
+            def tested = new ScriptDependenciesResolver()
+
+        when:
+            def results = tested.resolve(scripts)
+
+        then:
+            results == expectedDependencies.collect({ new TreeSet<Integer>(it) })
+
+        where:
+            scripts << [
+                    ["CREATE FUNCTION f1() RETURNS INT AS 'SELECT 1' LANGUAGE sql;",
+                     "ALTER TABLE users ENABLE ROW LEVEL SECURITY;",
+                     "ALTER TABLE posts ENABLE ROW LEVEL SECURITY;",
+                     "CREATE POLICY p1 ON users USING (f1() = 1);",
+                     "CREATE POLICY p2 ON posts USING (f1() = 1);"],
+                    ["ALTER TABLE users ENABLE ROW LEVEL SECURITY;",
+                     "ALTER TABLE posts ENABLE ROW LEVEL SECURITY;",
+                     "CREATE FUNCTION f1() RETURNS INT AS 'SELECT 1' LANGUAGE sql;",
+                     "ALTER TABLE posts ADD CONSTRAINT fk FOREIGN KEY (user_id) REFERENCES users (id);",
+                     "ALTER TABLE comments ENABLE ROW LEVEL SECURITY;"]
+            ]
+            expectedDependencies << [
+                    [[], [0], [0], [0, 1], [0, 2]],
+                    [[], [], [0, 1], [2], [2]]
+            ]
+    }
+}
@@ -57,6 +57,36 @@ abstract class AbstractConstraintProducerTest<X extends IConstraintProducerParam
             "notifications" |   "other_schema"  |    "fk_constraint"        ||  checkingStatement("other_schema", "notifications", "fk_constraint")
     }
 
+    @Unroll
+    def "should return definition of constraint with NOT VALID option and its validation for table #table and schema #schema with constraint name #constraintName"()
+    {
+        given:
+            def parameters = returnCorrectParametersMockObject()
+
+        when:
+            def definition = returnTestedObject().produceNotValid(parameters)
+
+        then:
+            _ * parameters.getConstraintName() >> constraintName
+            _ * parameters.getTableName() >> table
+            _ * parameters.getTableSchema() >> schema
+            definition.getCreateScript() ==~ expectedCreateStatementPattern
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements().contains(checkingStatement(schema, table, constraintName))
+
+        and: "definition should contain the statement that validates constraint"
+            definition.getValidationSQLDefinitions().size() == 1
+            definition.getValidationSQLDefinitions().get(0).getCreateScript() == expectedValidateStatement
+            definition.getValidationSQLDefinitions().get(0).getDropScript() == expectedDropStatement
+            definition.getValidationSQLDefinitions().get(0).getCheckingStatements() == [validatedConstraintCheckingStatement(schema, table, constraintName)]
+
+        where:
+            table           |   schema          |   constraintName          ||  expectedDropStatement                                                                       |   expectedCreateStatementPattern                                                          |   expectedValidateStatement
+            "users"         |   "public"        |    "const_1"              ||  "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS const_1;"                       |   /ALTER TABLE "public"\."users" ADD CONSTRAINT const_1 CHECK .* NOT VALID;/                |   "ALTER TABLE \"public\".\"users\" VALIDATE CONSTRAINT const_1;"
+            "users"         |   null            |    "constraint_222"       ||  "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS constraint_222;"                           |   /ALTER TABLE "users" ADD CONSTRAINT constraint_222 CHECK .* NOT VALID;/                  |   "ALTER TABLE \"users\" VALIDATE CONSTRAINT constraint_222;"
+            "notifications" |   "other_schema"  |    "fk_constraint"        ||  "ALTER TABLE \"other_schema\".\"notifications\" DROP CONSTRAINT IF EXISTS fk_constraint;"   |   /ALTER TABLE "other_schema"\."notifications" ADD CONSTRAINT fk_constraint CHECK .* NOT VALID;/   |   "ALTER TABLE \"other_schema\".\"notifications\" VALIDATE CONSTRAINT fk_constraint;"
+    }
+
     def "should throw an exception of type 'IllegalArgumentException' when the parameters object is null" () {
         when:
             returnTestedObject().produce(null)
@@ -166,4 +196,14 @@ abstract class AbstractConstraintProducerTest<X extends IConstraintProducerParam
                 "\t\tWHERE table_schema = '%s' AND table_name = '%s' AND constraint_name = '%s';"
         String.format(template, schema == null ? "public" : schema, table, constraintName)
     }
+
+    private static String validatedConstraintCheckingStatement(String schema, String table, String constraintName)
+    {
+        def template = "SELECT COUNT(1)\n" +
+                "\t\tFROM pg_constraint con\n" +
+                "\t\tJOIN pg_class rel ON rel.oid = con.conrelid\n" +
+                "\t\tJOIN pg_namespace nsp ON nsp.oid = rel.relnamespace\n" +
+                "\t\tWHERE nsp.nspname = '%s' AND rel.relname = '%s' AND con.conname = '%s' AND con.convalidated = true;"
+        String.format(template, schema == null ? "public" : schema, table, constraintName)
+    }
 }
@@ -0,0 +1,45 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class BypassRowLevelSecurityProducerTest extends Specification {
+
+    def tested = new BypassRowLevelSecurityProducer()
+
+    @Unroll
+    def "should return statements that set BYPASSRLS attribute for role (#role)"()
+    {
+        when:
+            def definition = tested.produce(role)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [expectedCheckingStatement]
+
+        where:
+            role            ||  expectedStatement                       |   expectedDropStatement                       |   expectedCheckingStatement
+            "etl"           ||  "ALTER ROLE \"etl\" BYPASSRLS;"         |   "ALTER ROLE \"etl\" NOBYPASSRLS;"           |   "SELECT COUNT(1) FROM pg_catalog.pg_roles WHERE rolname = 'etl' AND rolbypassrls = 't';"
+            "report-user"   ||  "ALTER ROLE \"report-user\" BYPASSRLS;" |   "ALTER ROLE \"report-user\" NOBYPASSRLS;"   |   "SELECT COUNT(1) FROM pg_catalog.pg_roles WHERE rolname = 'report-user' AND rolbypassrls = 't';"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when role is '#role'"()
+    {
+        when:
+            tested.produce(role)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            role    ||  expectedMessage
+            null    ||  "Role cannot be null"
+            ""      ||  "Role cannot be blank"
+            "   "   ||  "Role cannot be blank"
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forString
+
+class InlineTenantHasAuthoritiesExpressionFactoryTest extends Specification {
+
+    @Unroll
+    def "should return expression '#expectedExpression' for tenant column #tenantColumn, property #property and type #type, permission #permission and expression type #expressionType"()
+    {
+        given:
+            def tested = new InlineTenantHasAuthoritiesExpressionFactory(property, type)
+
+        when:
+            def result = tested.returnTenantHasAuthoritiesFunctionInvocation(forReference(tenantColumn), permission, expressionType, forString("users"), forString("public"))
+
+        then:
+            result == expectedExpression
+
+        where:
+            tenantColumn    |   property                |   type            |   permission                              |   expressionType                      ||  expectedExpression
+            "tenant_id"     |   "posmulten.tenant_id"   |   "VARCHAR(255)"  |   PermissionCommandPolicyEnum.ALL         |   RLSExpressionTypeEnum.USING         ||  "tenant_id = current_setting('posmulten.tenant_id')::VARCHAR(255)"
+            "tenant_id"     |   "posmulten.tenant_id"   |   "VARCHAR(255)"  |   PermissionCommandPolicyEnum.ALL         |   RLSExpressionTypeEnum.WITH_CHECK    ||  "tenant_id = current_setting('posmulten.tenant_id')::VARCHAR(255)"
+            "tenant"        |   "app.tenant"            |   "UUID"          |   PermissionCommandPolicyEnum.SELECT      |   RLSExpressionTypeEnum.USING         ||  "tenant = current_setting('app.tenant')::UUID"
+            "t_id"          |   "c.c_ten"               |   "bigint"        |   PermissionCommandPolicyEnum.INSERT      |   RLSExpressionTypeEnum.WITH_CHECK    ||  "t_id = current_setting('c.c_ten')::bigint"
+    }
+
+    @Unroll
+    def "should return expression '#expectedExpression' with the current tenant identifier wrapped into subquery for tenant column #tenantColumn, property #property and type #type"()
+    {
+        given:
+            def tested = new InlineTenantHasAuthoritiesExpressionFactory(property, type, true)
+
+        when:
+            def result = tested.returnTenantHasAuthoritiesFunctionInvocation(forReference(tenantColumn), PermissionCommandPolicyEnum.ALL, RLSExpressionTypeEnum.USING, forString("users"), forString("public"))
+
+        then:
+            result == expectedExpression
+
+        where:
+            tenantColumn    |   property                |   type            ||  expectedExpression
+            "tenant_id"     |   "posmulten.tenant_id"   |   "VARCHAR(255)"  ||  "tenant_id = (SELECT current_setting('posmulten.tenant_id')::VARCHAR(255))"
+            "tenant"        |   "app.tenant"            |   "UUID"          ||  "tenant = (SELECT current_setting('app.tenant')::UUID)"
+            "t_id"          |   "c.c_ten"               |   "bigint"        ||  "t_id = (SELECT current_setting('c.c_ten')::bigint)"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when property is '#property' and type is '#type'"()
+    {
+        when:
+            new InlineTenantHasAuthoritiesExpressionFactory(property, type)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            property                |   type            ||  expectedMessage
+            null                    |   "UUID"          ||  "Tenant id property name cannot be null"
+            ""                      |   "UUID"          ||  "Tenant id property name cannot be blank"
+            "   "                   |   "UUID"          ||  "Tenant id property name cannot be blank"
+            "posmulten.tenant_id"   |   null            ||  "Tenant id property type cannot be null"
+            "posmulten.tenant_id"   |   " "             ||  "Tenant id property type cannot be blank"
+    }
+}
@@ -143,6 +143,54 @@ class RLSPolicyProducerTest extends Specification {
             "tenantHasAuthoritiesFunctionInvocationFactory1"    |   "tenantHasAuthoritiesFunctionInvocationFactory1"    ||  "CREATE POLICY users_policy ON public.users\nFOR ALL\nTO \"postgresql-core-user\"\nUSING (tenant_has_authorities_function(tenant_id, 'ALL', 'USING', 'users', 'public'))\nWITH CHECK (tenant_has_authorities_function(tenant_id, 'ALL', 'WITH_CHECK', 'users', 'public'));"
     }
 
+    @Unroll
+    def "for policy type #policyType and permission command #permissionCommand should create statement : #expectedStatement" ()
+    {
+        expect:
+            tested.produce(builder().withPolicyName("users_policy")
+                    .withPolicySchema("public")
+                    .withPolicyTable("users")
+                    .withGrantee("postgresql-core-user")
+                    .withPermissionCommandPolicy(permissionCommand)
+                    .withPolicyType(policyType)
+                    .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory2)
+                    .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory2)
+                    .build()).getCreateScript() == expectedStatement
+
+        where:
+            policyType                      |   permissionCommand   ||  expectedStatement
+            RLSPolicyTypeEnum.RESTRICTIVE   |   ALL                 ||  "CREATE POLICY users_policy ON public.users\nAS RESTRICTIVE\nFOR ALL\nTO \"postgresql-core-user\"\nUSING (is_tenant_starts_with_abcd(tenant_id))\nWITH CHECK (is_tenant_starts_with_abcd(tenant_id));"
+            RLSPolicyTypeEnum.RESTRICTIVE   |   SELECT              ||  "CREATE POLICY users_policy ON public.users\nAS RESTRICTIVE\nFOR SELECT\nTO \"postgresql-core-user\"\nUSING (is_tenant_starts_with_abcd(tenant_id));"
+            RLSPolicyTypeEnum.RESTRICTIVE   |   INSERT              ||  "CREATE POLICY users_policy ON public.users\nAS RESTRICTIVE\nFOR INSERT\nTO \"postgresql-core-user\"\nWITH CHECK (is_tenant_starts_with_abcd(tenant_id));"
+            RLSPolicyTypeEnum.PERMISSIVE    |   UPDATE              ||  "CREATE POLICY users_policy ON public.users\nAS PERMISSIVE\nFOR UPDATE\nTO \"postgresql-core-user\"\nUSING (is_tenant_starts_with_abcd(tenant_id))\nWITH CHECK (is_tenant_starts_with_abcd(tenant_id));"
+            RLSPolicyTypeEnum.PERMISSIVE    |   DELETE              ||  "CREATE POLICY users_policy ON public.users\nAS PERMISSIVE\nFOR DELETE\nTO \"postgresql-core-user\"\nUSING (is_tenant_starts_with_abcd(tenant_id));"
+    }
+
+    @Unroll
+    def "for policy type #policyType should add checking statement that checks if policy is permissive (#expectedPermissive)" ()
+    {
+        when:
+            def definition = tested.produce(builder().withPolicyName("users_policy")
+                    .withPolicySchema(schema)
+                    .withPolicyTable("users")
+                    .withGrantee("postgresql-core-user")
+                    .withPermissionCommandPolicy(SELECT)
+                    .withPolicyType(policyType)
+                    .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory1)
+                    .build())
+
+        then:
+            definition.getCheckingStatements().size() == 4
+            definition.getCheckingStatements().containsAll([prepareStatementThatChecksIfPolicyExists("users_policy", "users", schema), prepareStatementThatChecksIfPolicyWithSpecifiedCmdExists("users_policy", "users", schema, SELECT), prepareStatementThatChecksIfPolicyForGranteeExists("users_policy", "users", schema, "postgresql-core-user")])
+            definition.getCheckingStatements().contains(format("SELECT COUNT(1) FROM pg_catalog.pg_policy pg, pg_class pc, pg_catalog.pg_namespace pn WHERE pg.polrelid = pc.oid AND pc.relnamespace = pn.oid AND pg.polname = 'users_policy' AND pc.relname = 'users' AND pn.nspname = '%1\$s' AND pg.polpermissive = %2\$s;", schema == null ? "public" : schema, expectedPermissive))
+
+        where:
+            schema                  |   policyType                      ||  expectedPermissive
+            null                    |   RLSPolicyTypeEnum.RESTRICTIVE   ||  false
+            "non_public_schema"     |   RLSPolicyTypeEnum.RESTRICTIVE   ||  false
+            "public"                |   RLSPolicyTypeEnum.PERMISSIVE    ||  true
+    }
+
     @Unroll
     def "for policy name '#policyName' for schema '#schema' and table #table should create correct drop script : #expectedStatement" ()
     {
@@ -0,0 +1,108 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class StatementTriggerProducerTest extends Specification {
+
+    def tested = new StatementTriggerProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates '#triggerName' trigger for table (#table) and schema (#schema) fired after #event"()
+    {
+        given:
+            def parameters = DefaultStatementTriggerProducerParameters.builder()
+                    .withTriggerName(triggerName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withEvent(event)
+                    .withNewTableName(newTable)
+                    .withFunctionReference(functionReference)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [checkingStatement(schema == null ? "public" : schema, table, triggerName)]
+
+        where:
+            triggerName         |   schema      | table         |   event       |   newTable    |   functionReference       ||	expectedStatement                                                                                                                                       |   expectedDropStatement
+            "posts_fk_insert"   |   null        | "posts"       |   "INSERT"    |   "new_rows"  |   "posts_fk"              ||  "CREATE TRIGGER posts_fk_insert AFTER INSERT ON \"posts\" REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE PROCEDURE posts_fk();"               |   "DROP TRIGGER IF EXISTS posts_fk_insert ON \"posts\";"
+            "posts_fk_update"   |   "public"    | "posts"       |   "UPDATE"    |   "new_rows"  |   "public.posts_fk"       ||  "CREATE TRIGGER posts_fk_update AFTER UPDATE ON \"public\".\"posts\" REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE PROCEDURE public.posts_fk();"  |   "DROP TRIGGER IF EXISTS posts_fk_update ON \"public\".\"posts\";"
+            "comments_trg"      |   "secondary" | "comments"    |   "INSERT"    |   null        |   "secondary.check_rows"  ||  "CREATE TRIGGER comments_trg AFTER INSERT ON \"secondary\".\"comments\" FOR EACH STATEMENT EXECUTE PROCEDURE secondary.check_rows();"                          |   "DROP TRIGGER IF EXISTS comments_trg ON \"secondary\".\"comments\";"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the trigger name is '#triggerName', table is '#table' and schema is '#schema'" () {
+        given:
+            def parameters = correctParametersBuilder().withTriggerName(triggerName).withTableName(table).withTableSchema(schema).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            triggerName         |   table       |   schema  ||  expectedMessage
+            null                |   "posts"     |   null    ||  "Trigger name cannot be null"
+            "  "                |   "posts"     |   null    ||  "Trigger name cannot be empty"
+            "posts_fk_insert"   |   null        |   null    ||  "Table name cannot be null"
+            "posts_fk_insert"   |   ""          |   null    ||  "Table name cannot be empty"
+            "posts_fk_insert"   |   "posts"     |   "  "    ||  "Table schema cannot be empty"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the event is '#event', new table is '#newTable' and function reference is '#functionReference'" () {
+        given:
+            def parameters = correctParametersBuilder().withEvent(event).withNewTableName(newTable).withFunctionReference(functionReference).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            event       |   newTable    |   functionReference   ||  expectedMessage
+            null        |   "new_rows"  |   "posts_fk"          ||  "Event cannot be null"
+            " "         |   "new_rows"  |   "posts_fk"          ||  "Event cannot be empty"
+            "INSERT"    |   ""          |   "posts_fk"          ||  "New table name cannot be empty"
+            "INSERT"    |   "new_rows"  |   null                ||  "Function reference cannot be null"
+            "INSERT"    |   "new_rows"  |   "  "                ||  "Function reference cannot be empty"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the parameters object is null" () {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+            ex.message == "The parameters object cannot be null"
+    }
+
+    private static DefaultStatementTriggerProducerParameters.DefaultStatementTriggerProducerParametersBuilder correctParametersBuilder()
+    {
+        DefaultStatementTriggerProducerParameters.builder()
+                .withTriggerName("posts_fk_insert")
+                .withTableName("posts")
+                .withTableSchema("public")
+                .withEvent("INSERT")
+                .withNewTableName("new_rows")
+                .withFunctionReference("public.posts_fk")
+    }
+
+    private static String checkingStatement(String schema, String table, String triggerName)
+    {
+        "SELECT COUNT(1) FROM pg_trigger pt, pg_class pc, pg_catalog.pg_namespace pg WHERE pt.tgrelid = pc.oid AND pt.tgname = '${triggerName}' AND pc.relname = '${table}' AND pc.relnamespace = pg.oid AND pg.nspname = '${schema}';"
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantColumnNotNullConstraintProducerTest extends Specification {
+
+    def tested = new TenantColumnNotNullConstraintProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that adds '#constraintName' check constraint to table (#table) and schema (#schema) for tenant column #tenantColumn"()
+    {
+        given:
+            def parameters = DefaultTenantColumnNotNullConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withTenantColumnName(tenantColumn)
+                    .build()
+
+        when:
+            def definition = tested.produceNotValid(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getValidationSQLDefinitions().collect { it.getCreateScript() } == [expectedValidateStatement]
+
+        where:
+            constraintName      |   schema      | table         |   tenantColumn    ||	expectedStatement                                                                                           |   expectedDropStatement                                                           |   expectedValidateStatement
+            "tenant_not_null"   |   null        | "users"       |   "tenant"        ||  "ALTER TABLE \"users\" ADD CONSTRAINT tenant_not_null CHECK (tenant IS NOT NULL) NOT VALID;"                |   "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS tenant_not_null;"              |   "ALTER TABLE \"users\" VALIDATE CONSTRAINT tenant_not_null;"
+            "ten_id_not_null"   |   "secondary" | "comments"    |   "ten_id"        ||  "ALTER TABLE \"secondary\".\"comments\" ADD CONSTRAINT ten_id_not_null CHECK (ten_id IS NOT NULL) NOT VALID;"   |   "ALTER TABLE \"secondary\".\"comments\" DROP CONSTRAINT IF EXISTS ten_id_not_null;"    |   "ALTER TABLE \"secondary\".\"comments\" VALIDATE CONSTRAINT ten_id_not_null;"
+    }
+
+    @Unroll
+    def "should return statement (#expectedStatement) that drops '#constraintName' check constraint from table (#table) and schema (#schema) after not-null constraint was set"()
+    {
+        given:
+            def parameters = DefaultTenantColumnNotNullConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withTenantColumnName("tenant")
+                    .build()
+
+        when:
+            def definition = tested.produceRedundantConstraintDrop(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getCheckingStatements() == [expectedCheckingStatement]
+
+        where:
+            constraintName      |   schema      | table         ||	expectedStatement                                                                   |   expectedCheckingStatement
+            "tenant_not_null"   |   null        | "users"       ||  "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS tenant_not_null;"                   |   "SELECT COUNT(1) WHERE NOT EXISTS (SELECT 1\n\t\tFROM information_schema.table_constraints\n\t\tWHERE table_schema = 'public' AND table_name = 'users' AND constraint_name = 'tenant_not_null');"
+            "ten_id_not_null"   |   "secondary" | "comments"    ||  "ALTER TABLE \"secondary\".\"comments\" DROP CONSTRAINT IF EXISTS ten_id_not_null;"   |   "SELECT COUNT(1) WHERE NOT EXISTS (SELECT 1\n\t\tFROM information_schema.table_constraints\n\t\tWHERE table_schema = 'secondary' AND table_name = 'comments' AND constraint_name = 'ten_id_not_null');"
+    }
+
+    def "should return checking statements that pass also when the constraint was dropped but the tenant column is not nullable"()
+    {
+        given:
+            def parameters = DefaultTenantColumnNotNullConstraintProducerParameters.builder()
+                    .withConstraintName("tenant_not_null")
+                    .withTableName("users")
+                    .withTenantColumnName("tenant")
+                    .build()
+
+        when:
+            def definition = tested.produceNotValid(parameters)
+
+        then:
+            definition.getCheckingStatements() == ["SELECT (SELECT COUNT(1)\n\t\tFROM information_schema.table_constraints\n\t\tWHERE table_schema = 'public' AND table_name = 'users' AND constraint_name = 'tenant_not_null') + (SELECT COUNT(1) FROM information_schema.columns WHERE table_schema = 'public' AND table_name = 'users' AND column_name = 'tenant' AND is_nullable = 'NO');"]
+            definition.getValidationSQLDefinitions()[0].getCheckingStatements() == ["SELECT (SELECT COUNT(1)\n\t\tFROM pg_constraint con\n\t\tJOIN pg_class rel ON rel.oid = con.conrelid\n\t\tJOIN pg_namespace nsp ON nsp.oid = rel.relnamespace\n\t\tWHERE nsp.nspname = 'public' AND rel.relname = 'users' AND con.conname = 'tenant_not_null' AND con.convalidated = true) + (SELECT COUNT(1) FROM information_schema.columns WHERE table_schema = 'public' AND table_name = 'users' AND column_name = 'tenant' AND is_nullable = 'NO');"]
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the tenant column is '#tenantColumn'" () {
+        given:
+            def parameters = DefaultTenantColumnNotNullConstraintProducerParameters.builder()
+                    .withConstraintName("tenant_not_null")
+                    .withTableName("users")
+                    .withTableSchema("public")
+                    .withTenantColumnName(tenantColumn)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            tenantColumn    ||  expectedMessage
+            null            ||  "Tenant column cannot be null"
+            ""              ||  "Tenant column cannot be empty"
+            "  "            ||  "Tenant column cannot be empty"
+    }
+}
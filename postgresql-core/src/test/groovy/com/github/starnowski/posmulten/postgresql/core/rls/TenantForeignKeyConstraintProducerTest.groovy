@@ -0,0 +1,76 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
+
+class TenantForeignKeyConstraintProducerTest extends Specification {
+
+    def tested = new TenantForeignKeyConstraintProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that adds '#constraintName' foreign key constraint to table (#table) and schema (#schema) that references table #referencedTable"()
+    {
+        given:
+            def parameters = DefaultTenantForeignKeyConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withTenantColumnName(tenantColumn)
+                    .withForeignKeyPrimaryKeyColumnsMappings(mappings)
+                    .withReferencedTableName(referencedTable)
+                    .withReferencedTableSchema(schema)
+                    .withReferencedTableTenantColumnName(referencedTenantColumn)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+
+        where:
+            constraintName  |   schema      | table         |   tenantColumn    |   mappings                                                                        |   referencedTable |   referencedTenantColumn  ||	expectedStatement   |   expectedDropStatement
+            "posts_users_fk"|   null        | "posts"       |   "tenant_id"     |   mapBuilder().put("user_id", "id").build()                                       |   "users"         |   "tenant_id"             ||  "ALTER TABLE \"posts\" ADD CONSTRAINT posts_users_fk FOREIGN KEY (tenant_id, user_id) REFERENCES \"users\" (tenant_id, id);"   |   "ALTER TABLE \"posts\" DROP CONSTRAINT IF EXISTS posts_users_fk;"
+            "posts_users_fk"|   "public"    | "posts"       |   "tenant"        |   mapBuilder().put("user_id", "id").build()                                       |   "users"         |   "tenant_xxx"            ||  "ALTER TABLE \"public\".\"posts\" ADD CONSTRAINT posts_users_fk FOREIGN KEY (tenant, user_id) REFERENCES \"public\".\"users\" (tenant_xxx, id);"   |   "ALTER TABLE \"public\".\"posts\" DROP CONSTRAINT IF EXISTS posts_users_fk;"
+            "comments_fk"   |   "secondary" | "comments"    |   "tenant_id"     |   mapBuilder().put("parent_user_id", "user_id").put("parent_id", "id").build()    |   "comments"      |   "tenant_id"             ||  "ALTER TABLE \"secondary\".\"comments\" ADD CONSTRAINT comments_fk FOREIGN KEY (tenant_id, parent_id, parent_user_id) REFERENCES \"secondary\".\"comments\" (tenant_id, id, user_id);"   |   "ALTER TABLE \"secondary\".\"comments\" DROP CONSTRAINT IF EXISTS comments_fk;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the property #property has value '#value'" () {
+        given:
+            def builder = DefaultTenantForeignKeyConstraintProducerParameters.builder()
+                    .withConstraintName("const_1")
+                    .withTableName("posts")
+                    .withTableSchema("public")
+                    .withTenantColumnName("tenant")
+                    .withForeignKeyPrimaryKeyColumnsMappings([user_id: "id"])
+                    .withReferencedTableName("users")
+                    .withReferencedTableSchema("public")
+                    .withReferencedTableTenantColumnName("tenant")
+            builder."with${property}"(value)
+
+        when:
+            tested.produce(builder.build())
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            property                                |   value   ||  expectedMessage
+            "TenantColumnName"                      |   null    ||  "Tenant column cannot be null"
+            "TenantColumnName"                      |   " "     ||  "Tenant column cannot be empty"
+            "ForeignKeyPrimaryKeyColumnsMappings"   |   null    ||  "Foreign key columns mappings cannot be null"
+            "ForeignKeyPrimaryKeyColumnsMappings"   |   [:]     ||  "Foreign key columns mappings cannot be empty"
+            "ReferencedTableName"                   |   null    ||  "Referenced table name cannot be null"
+            "ReferencedTableName"                   |   ""      ||  "Referenced table name cannot be empty"
+            "ReferencedTableSchema"                 |   " "     ||  "Referenced table schema cannot be empty"
+            "ReferencedTableTenantColumnName"       |   null    ||  "Referenced table tenant column cannot be null"
+            "ReferencedTableTenantColumnName"       |   "  "    ||  "Referenced table tenant column cannot be empty"
+    }
+}
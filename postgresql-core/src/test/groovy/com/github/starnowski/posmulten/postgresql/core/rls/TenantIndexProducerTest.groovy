@@ -0,0 +1,130 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantIndexProducerTest extends Specification {
+
+    def tested = new TenantIndexProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates '#indexName' index for table (#table) and schema (#schema) for tenant column #tenantColumn and columns #columns, concurrently #concurrently"()
+    {
+        given:
+            def parameters = DefaultTenantIndexProducerParameters.builder()
+                    .withIndexName(indexName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withTenantColumnName(tenantColumn)
+                    .withColumns(columns)
+                    .withConcurrently(concurrently)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [checkingStatement(schema == null ? "public" : schema, table, indexName)]
+
+        where:
+            indexName           |   schema      | table         |   tenantColumn    |   columns             |   concurrently    ||	expectedStatement                                                                                   |   expectedDropStatement
+            "users_tenant_idx"  |   null        | "users"       |   "tenant_id"     |   ["id"]              |   false           ||  "CREATE INDEX IF NOT EXISTS users_tenant_idx ON \"users\" (tenant_id, id);"                         |   "DROP INDEX IF EXISTS users_tenant_idx;"
+            "users_tenant_idx"  |   "public"    | "users"       |   "tenant"        |   ["id"]              |   false           ||  "CREATE INDEX IF NOT EXISTS users_tenant_idx ON \"public\".\"users\" (tenant, id);"                 |   "DROP INDEX IF EXISTS \"public\".users_tenant_idx;"
+            "comments_ten_idx"  |   "secondary" | "comments"    |   "tenant_id"     |   ["id", "user_id"]   |   true            ||  "CREATE INDEX CONCURRENTLY IF NOT EXISTS comments_ten_idx ON \"secondary\".\"comments\" (tenant_id, id, user_id);"  |   "DROP INDEX CONCURRENTLY IF EXISTS \"secondary\".comments_ten_idx;"
+            "groups_idx"        |   null        | "groups"      |   "tenant_id"     |   []                  |   true            ||  "CREATE INDEX CONCURRENTLY IF NOT EXISTS groups_idx ON \"groups\" (tenant_id);"                     |   "DROP INDEX CONCURRENTLY IF EXISTS groups_idx;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the index name is '#indexName'" () {
+        given:
+            def parameters = correctParametersBuilder().withIndexName(indexName).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            indexName   ||  expectedMessage
+            null        ||  "Index name cannot be null"
+            ""          ||  "Index name cannot be empty"
+            "  "        ||  "Index name cannot be empty"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the table is '#table' and schema is '#schema'" () {
+        given:
+            def parameters = correctParametersBuilder().withTableName(table).withTableSchema(schema).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   schema  ||  expectedMessage
+            null        |   null    ||  "Table name cannot be null"
+            ""          |   null    ||  "Table name cannot be empty"
+            "  "        |   null    ||  "Table name cannot be empty"
+            "users"     |   ""      ||  "Table schema cannot be empty"
+            "users"     |   "  "    ||  "Table schema cannot be empty"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the tenant column is '#tenantColumn' or the columns list is #columns" () {
+        given:
+            def parameters = correctParametersBuilder().withTenantColumnName(tenantColumn).withColumns(columns).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            tenantColumn    |   columns ||  expectedMessage
+            null            |   ["id"]  ||  "Tenant column cannot be null"
+            ""              |   ["id"]  ||  "Tenant column cannot be empty"
+            "  "            |   ["id"]  ||  "Tenant column cannot be empty"
+            "tenant"        |   null    ||  "Columns list cannot be null"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the parameters object is null" () {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    private static DefaultTenantIndexProducerParameters.DefaultTenantIndexProducerParametersBuilder correctParametersBuilder()
+    {
+        DefaultTenantIndexProducerParameters.builder()
+                .withIndexName("idx_1")
+                .withTableName("users")
+                .withTableSchema("public")
+                .withTenantColumnName("tenant")
+                .withColumns(["id"])
+    }
+
+    private static String checkingStatement(String schema, String table, String indexName)
+    {
+        "SELECT COUNT(1) FROM pg_index pi, pg_class pic, pg_class ptc, pg_catalog.pg_namespace pg WHERE pi.indexrelid = pic.oid AND pi.indrelid = ptc.oid AND pic.relname = '" + indexName + "' AND ptc.relname = '" + table + "' AND ptc.relnamespace = pg.oid AND pg.nspname = '" + schema + "' AND pi.indisvalid = 't';"
+    }
+}
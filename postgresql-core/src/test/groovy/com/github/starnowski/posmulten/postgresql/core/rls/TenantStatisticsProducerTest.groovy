@@ -0,0 +1,135 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantStatisticsKind.*
+
+class TenantStatisticsProducerTest extends Specification {
+
+    def tested = new TenantStatisticsProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that creates '#statisticsName' statistics for table (#table) and schema (#schema) for tenant column #tenantColumn, columns #columns and kinds #kinds"()
+    {
+        given:
+            def parameters = DefaultTenantStatisticsProducerParameters.builder()
+                    .withStatisticsName(statisticsName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withTenantColumnName(tenantColumn)
+                    .withColumns(columns)
+                    .withKinds(kinds)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [checkingStatement(schema == null ? "public" : schema, table, statisticsName)]
+
+        where:
+            statisticsName          |   schema      | table         |   tenantColumn    |   columns             |   kinds                           ||	expectedStatement                                                                                                       |   expectedDropStatement
+            "users_tenant_stats"    |   null        | "users"       |   "tenant_id"     |   ["id"]              |   [NDISTINCT, DEPENDENCIES, MCV]  ||  "CREATE STATISTICS IF NOT EXISTS users_tenant_stats (ndistinct, dependencies, mcv) ON tenant_id, id FROM \"users\";"   |   "DROP STATISTICS IF EXISTS users_tenant_stats;"
+            "users_tenant_stats"    |   "public"    | "users"       |   "tenant"        |   ["id"]              |   [MCV]                           ||  "CREATE STATISTICS IF NOT EXISTS \"public\".users_tenant_stats (mcv) ON tenant, id FROM \"public\".\"users\";"       |   "DROP STATISTICS IF EXISTS \"public\".users_tenant_stats;"
+            "comments_stats"        |   "secondary" | "comments"    |   "tenant_id"     |   ["id", "user_id"]   |   [NDISTINCT, DEPENDENCIES]       ||  "CREATE STATISTICS IF NOT EXISTS \"secondary\".comments_stats (ndistinct, dependencies) ON tenant_id, id, user_id FROM \"secondary\".\"comments\";"  |   "DROP STATISTICS IF EXISTS \"secondary\".comments_stats;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the statistics name is '#statisticsName'" () {
+        given:
+            def parameters = correctParametersBuilder().withStatisticsName(statisticsName).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            statisticsName  ||  expectedMessage
+            null            ||  "Statistics name cannot be null"
+            ""              ||  "Statistics name cannot be empty"
+            "  "            ||  "Statistics name cannot be empty"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the table is '#table' and schema is '#schema'" () {
+        given:
+            def parameters = correctParametersBuilder().withTableName(table).withTableSchema(schema).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   schema  ||  expectedMessage
+            null        |   null    ||  "Table name cannot be null"
+            ""          |   null    ||  "Table name cannot be empty"
+            "  "        |   null    ||  "Table name cannot be empty"
+            "users"     |   ""      ||  "Table schema cannot be empty"
+            "users"     |   "  "    ||  "Table schema cannot be empty"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the tenant column is '#tenantColumn', the columns list is #columns and the kinds list is #kinds" () {
+        given:
+            def parameters = correctParametersBuilder().withTenantColumnName(tenantColumn).withColumns(columns).withKinds(kinds).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            tenantColumn    |   columns |   kinds   ||  expectedMessage
+            null            |   ["id"]  |   [MCV]   ||  "Tenant column cannot be null"
+            ""              |   ["id"]  |   [MCV]   ||  "Tenant column cannot be empty"
+            "  "            |   ["id"]  |   [MCV]   ||  "Tenant column cannot be empty"
+            "tenant"        |   null    |   [MCV]   ||  "Columns list cannot be null"
+            "tenant"        |   []      |   [MCV]   ||  "Columns list cannot be empty"
+            "tenant"        |   ["id"]  |   null    ||  "Statistics kinds list cannot be null"
+            "tenant"        |   ["id"]  |   []      ||  "Statistics kinds list cannot be empty"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the parameters object is null" () {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    private static DefaultTenantStatisticsProducerParameters.DefaultTenantStatisticsProducerParametersBuilder correctParametersBuilder()
+    {
+        DefaultTenantStatisticsProducerParameters.builder()
+                .withStatisticsName("stats_1")
+                .withTableName("users")
+                .withTableSchema("public")
+                .withTenantColumnName("tenant")
+                .withColumns(["id"])
+                .withKinds([NDISTINCT, DEPENDENCIES, MCV])
+    }
+
+    private static String checkingStatement(String schema, String table, String statisticsName)
+    {
+        "SELECT COUNT(1) FROM pg_statistic_ext pse, pg_class pc, pg_catalog.pg_namespace pg WHERE pse.stxrelid = pc.oid AND pse.stxname = '" + statisticsName + "' AND pc.relname = '" + table + "' AND pse.stxnamespace = pg.oid AND pg.nspname = '" + schema + "';"
+    }
+}
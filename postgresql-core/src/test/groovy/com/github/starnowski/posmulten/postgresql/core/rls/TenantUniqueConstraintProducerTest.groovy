@@ -0,0 +1,108 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantUniqueConstraintProducerTest extends Specification {
+
+    def tested = new TenantUniqueConstraintProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that adds '#constraintName' unique constraint to table (#table) and schema (#schema) for tenant column #tenantColumn and columns #columns"()
+    {
+        given:
+            def parameters = DefaultTenantUniqueConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withTenantColumnName(tenantColumn)
+                    .withColumns(columns)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+            definition.getCheckingStatements() == [checkingStatement(schema == null ? "public" : schema, table, constraintName)]
+
+        where:
+            constraintName      |   schema      | table         |   tenantColumn    |   columns                 ||	expectedStatement                                                                                   |   expectedDropStatement
+            "users_tenant_uk"   |   null        | "users"       |   "tenant_id"     |   ["id"]                  ||  "ALTER TABLE \"users\" ADD CONSTRAINT users_tenant_uk UNIQUE (tenant_id, id);"                      |   "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS users_tenant_uk;"
+            "users_tenant_uk"   |   "public"    | "users"       |   "tenant"        |   ["id"]                  ||  "ALTER TABLE \"public\".\"users\" ADD CONSTRAINT users_tenant_uk UNIQUE (tenant, id);"              |   "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS users_tenant_uk;"
+            "comments_ten_uk"   |   "secondary" | "comments"    |   "tenant_id"     |   ["id", "user_id"]       ||  "ALTER TABLE \"secondary\".\"comments\" ADD CONSTRAINT comments_ten_uk UNIQUE (tenant_id, id, user_id);"    |   "ALTER TABLE \"secondary\".\"comments\" DROP CONSTRAINT IF EXISTS comments_ten_uk;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the tenant column is '#tenantColumn'" () {
+        given:
+            def parameters = correctParametersBuilder().withTenantColumnName(tenantColumn).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            tenantColumn    ||  expectedMessage
+            null            ||  "Tenant column cannot be null"
+            ""              ||  "Tenant column cannot be empty"
+            "  "            ||  "Tenant column cannot be empty"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the columns list is #columns" () {
+        given:
+            def parameters = correctParametersBuilder().withColumns(columns).build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            columns ||  expectedMessage
+            null    ||  "Columns list cannot be null"
+            []      ||  "Columns list cannot be empty"
+    }
+
+    def "should throw an exception of type 'UnsupportedOperationException' when the constraint is requested with NOT VALID option" () {
+        given:
+            def parameters = correctParametersBuilder().build()
+
+        when:
+            tested.produceNotValid(parameters)
+
+        then:
+            def ex = thrown(UnsupportedOperationException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The constraint type does not support the NOT VALID option"
+    }
+
+    private static DefaultTenantUniqueConstraintProducerParameters.DefaultTenantUniqueConstraintProducerParametersBuilder correctParametersBuilder()
+    {
+        DefaultTenantUniqueConstraintProducerParameters.builder()
+                .withConstraintName("const_1")
+                .withTableName("users")
+                .withTableSchema("public")
+                .withTenantColumnName("tenant")
+                .withColumns(["id"])
+    }
+
+    private static String checkingStatement(String schema, String table, String constraintName)
+    {
+        "SELECT COUNT(1)\n" +
+                "\t\tFROM information_schema.table_constraints\n" +
+                "\t\tWHERE table_schema = '" + schema + "' AND table_name = '" + table + "' AND constraint_name = '" + constraintName + "';"
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import com.github.starnowski.posmulten.postgresql.core.TestApplication
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.isFunctionExists
+import static org.junit.Assert.assertEquals
+
+@SpringBootTest(classes = [TestApplication.class])
+class EqualsCurrentTenantIdentifierFunctionProducerSubqueryItTest extends Specification {
+
+    private static String VALID_CURRENT_TENANT_ID_PROPERTY_NAME = "c.c_ten"
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def tested = new EqualsCurrentTenantIdentifierFunctionProducer()
+    def getCurrentTenantIdFunctionProducer = new GetCurrentTenantIdFunctionProducer()
+
+    GetCurrentTenantIdFunctionDefinition getCurrentTenantIdFunctionDefinition
+    EqualsCurrentTenantIdentifierFunctionDefinition functionDefinition
+
+    @Unroll
+    def "should evaluate current tenant identifier as InitPlan (#expectedInitPlan) in query plan when lookup is wrapped into subquery (#wrapInSubquery)" () {
+        given:
+            assertEquals(false, isFunctionExists(jdbcTemplate, "is_current_tenant", "public"))
+            getCurrentTenantIdFunctionDefinition = getCurrentTenantIdFunctionProducer.produce(new GetCurrentTenantIdFunctionProducerParameters("get_current_tenant", VALID_CURRENT_TENANT_ID_PROPERTY_NAME, "public", null))
+            jdbcTemplate.execute(getCurrentTenantIdFunctionDefinition.getCreateScript())
+            IGetCurrentTenantIdFunctionInvocationFactory factory = wrapInSubquery ? new SubqueryGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionDefinition) : getCurrentTenantIdFunctionDefinition
+            functionDefinition = tested.produce(new EqualsCurrentTenantIdentifierFunctionProducerParameters("is_current_tenant", "public", null, factory))
+            jdbcTemplate.execute(functionDefinition.getCreateScript())
+
+        when:
+            def plan = jdbcTemplate.queryForList("EXPLAIN SELECT * FROM public.users WHERE public.is_current_tenant(tenant_id)", String).join("\n")
+
+        then:
+            plan.contains("InitPlan") == expectedInitPlan
+
+        where:
+            wrapInSubquery  ||  expectedInitPlan
+            true            ||  true
+            false           ||  false
+    }
+
+    def cleanup() {
+        jdbcTemplate.execute(functionDefinition.getDropScript())
+        jdbcTemplate.execute(getCurrentTenantIdFunctionDefinition.getDropScript())
+    }
+}
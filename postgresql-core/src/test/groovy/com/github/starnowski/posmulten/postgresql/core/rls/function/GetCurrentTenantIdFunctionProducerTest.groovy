@@ -1,6 +1,8 @@
 package com.github.starnowski.posmulten.postgresql.core.rls.function
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.FunctionMetadataOptions
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.SecurityEnum
 import spock.lang.Unroll
 
 class GetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest {
@@ -25,6 +27,23 @@ class GetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest
             null                    |   "cur_tenant_val"            |   "con.tenant_id"                 |   "VARCHAR(128)"      ||  "CREATE OR REPLACE FUNCTION cur_tenant_val() RETURNS VARCHAR(128) AS \$\$\nSELECT current_setting('con.tenant_id')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
             "public"                |   "give_me_tenant"            |   "pos.tenant"                    |   "VARCHAR(32)"       ||  "CREATE OR REPLACE FUNCTION public.give_me_tenant() RETURNS VARCHAR(32) AS \$\$\nSELECT current_setting('pos.tenant')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
             "non_public_schema"     |   "return_current_tenant"     |   "t.id"                          |   "text"              ||  "CREATE OR REPLACE FUNCTION non_public_schema.return_current_tenant() RETURNS text AS \$\$\nSELECT current_setting('t.id')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            null                    |   "get_current_tenant"        |   "c.c_ten"                       |   "character varying(64)" ||  "CREATE OR REPLACE FUNCTION get_current_tenant() RETURNS character varying(64) AS \$\$\nSELECT current_setting('c.c_ten')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            null                    |   "get_current_tenant"        |   "c.c_ten"                       |   "UUID"              ||  "CREATE OR REPLACE FUNCTION get_current_tenant() RETURNS UUID AS \$\$\nSELECT current_setting('c.c_ten')::UUID\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "public"                |   "get_current_tenant"        |   "c.c_ten"                       |   "bigint"            ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS bigint AS \$\$\nSELECT current_setting('c.c_ten')::bigint\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "non_public_schema"     |   "give_me_tenant"            |   "pos.tenant"                    |   "INTEGER"           ||  "CREATE OR REPLACE FUNCTION non_public_schema.give_me_tenant() RETURNS INTEGER AS \$\$\nSELECT current_setting('pos.tenant')::INTEGER\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+    }
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' which returns null when property '#testCurrentTenantIdProperty' is not set, for return type '#testReturnType'" () {
+        expect:
+            tested.produce(new GetCurrentTenantIdFunctionProducerParameters(testFunctionName, testCurrentTenantIdProperty, testSchema, testReturnType, null, true)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema              |   testFunctionName                |   testCurrentTenantIdProperty     |   testReturnType      || expectedStatement
+            null                    |   "get_current_tenant_or_null"    |   "c.c_ten"                       |   null                ||  "CREATE OR REPLACE FUNCTION get_current_tenant_or_null() RETURNS VARCHAR(255) AS \$\$\nSELECT NULLIF(current_setting('c.c_ten', true), '')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "public"                |   "get_current_tenant_or_null"    |   "c.c_ten"                       |   "text"              ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant_or_null() RETURNS text AS \$\$\nSELECT NULLIF(current_setting('c.c_ten', true), '')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "non_public_schema"     |   "tenant_or_null"                |   "pos.tenant"                    |   "UUID"              ||  "CREATE OR REPLACE FUNCTION non_public_schema.tenant_or_null() RETURNS UUID AS \$\$\nSELECT NULLIF(current_setting('pos.tenant', true), '')::UUID\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "public"                |   "tenant_or_null"                |   "t.id"                          |   "bigint"            ||  "CREATE OR REPLACE FUNCTION public.tenant_or_null() RETURNS bigint AS \$\$\nSELECT NULLIF(current_setting('t.id', true), '')::bigint\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
     }
 
     @Unroll
@@ -139,4 +158,22 @@ class GetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest
     protected returnCorrectParametersSpyObject() {
         Spy(GetCurrentTenantIdFunctionProducerParameters, constructorArgs: ["get_current_tenant_id", "conf.tenant_id", "public", "text"])
     }
+
+    def "should generate statement with metadata specified by function metadata options and statements that check the leakproof attribute and cost"()
+    {
+        given:
+            def options = FunctionMetadataOptions.builder().withLeakproof(true).withCost(3).withSecurity(SecurityEnum.INVOKER)
+                    .withConfigurationParameter("search_path", "pg_catalog").build()
+
+        when:
+            def result = tested.produce(new GetCurrentTenantIdFunctionProducerParameters("get_current_tenant", "c.c_ten", "public", null, options))
+
+        then:
+            result.getCreateScript() == "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS VARCHAR(255) AS \$\$\nSELECT current_setting('c.c_ten')\n\$\$ LANGUAGE sql\nSTABLE\nLEAKPROOF\nSECURITY INVOKER\nPARALLEL SAFE\nCOST 3\nSET search_path = 'pg_catalog';"
+            result.getCheckingStatements() == [
+                    "SELECT COUNT(1) FROM pg_proc pg, pg_catalog.pg_namespace pgn WHERE pg.proname = 'get_current_tenant' AND pgn.nspname = 'public' AND pg.pronamespace =  pgn.oid;",
+                    "SELECT COUNT(1) FROM pg_proc pg, pg_catalog.pg_namespace pgn WHERE pg.proname = 'get_current_tenant' AND pgn.nspname = 'public' AND pg.pronamespace =  pgn.oid AND pg.proleakproof = true;",
+                    "SELECT COUNT(1) FROM pg_proc pg, pg_catalog.pg_namespace pgn WHERE pg.proname = 'get_current_tenant' AND pgn.nspname = 'public' AND pg.pronamespace =  pgn.oid AND pg.procost = 3;"
+            ]
+    }
 }
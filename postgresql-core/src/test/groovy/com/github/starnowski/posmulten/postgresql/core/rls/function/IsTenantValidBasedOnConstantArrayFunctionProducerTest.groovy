@@ -0,0 +1,67 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forString
+
+class IsTenantValidBasedOnConstantArrayFunctionProducerTest extends AbstractFunctionFactoryTest {
+
+    def tested = new IsTenantValidBasedOnConstantArrayFunctionProducer()
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' with argument type '#argumentType' (null means 'text') which invalid tenant values'#invalidTenantValues'" () {
+        expect:
+            tested.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, testSchema, new HashSet<String>(invalidTenantValues), argumentType)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema              |   testFunctionName            |   invalidTenantValues             |   argumentType        ||  expectedStatement
+            null                    |   "is_tenant_valid"           |   ["XX-dadf-dsa"]                 |   null                ||  "CREATE OR REPLACE FUNCTION is_tenant_valid(text) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"XX-dadf-dsa\"}' AS text[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+            "public"                |   "is_tenant_valid"           |   ["XX-dadf-dsa"]                 |   null                ||  "CREATE OR REPLACE FUNCTION public.is_tenant_valid(text) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"XX-dadf-dsa\"}' AS text[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+            null                    |   "is_valid_ten"              |   ["adfzxcvz", "3325"]            |   null                ||  "CREATE OR REPLACE FUNCTION is_valid_ten(text) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"3325\",\"adfzxcvz\"}' AS text[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+            "public"                |   "valid_tenant"              |   ["dgfsg", "433"]                |   "VARCHAR(32)"       ||  "CREATE OR REPLACE FUNCTION public.valid_tenant(VARCHAR(32)) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"433\",\"dgfsg\"}' AS VARCHAR(32)[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+            "schema2"               |   "tenant_is_correct"         |   ["66", "12", "0"]               |   "INTEGER"           ||  "CREATE OR REPLACE FUNCTION schema2.tenant_is_correct(INTEGER) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"0\",\"12\",\"66\"}' AS INTEGER[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+            "public"                |   "valid_tenant"              |   ["a'b", "c\"d", "e\\f"]         |   null                ||  "CREATE OR REPLACE FUNCTION public.valid_tenant(text) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"a''b\",\"c\\\"d\",\"e\\\\f\"}' AS text[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+    }
+
+    @Unroll
+    def "should generate sql function with name '#testFunctionName' for schema '#testSchema' that returns correct function invocation #expectedInvocation for argument #argument" () {
+        expect:
+            tested.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, testSchema, new HashSet<String>(Arrays.asList("N/A")), null)).returnIsTenantValidFunctionInvocation(argument) == expectedInvocation
+
+        where:
+            testSchema              |   testFunctionName            |   argument                    ||  expectedInvocation
+            null                    |   "is_tenant_valid"           |   forString("sfdadf")         ||  "is_tenant_valid('sfdadf')"
+            "public"                |   "tenant_valid"              |   forString("XXDFASD")        ||  "public.tenant_valid('XXDFASD')"
+            "non_public_schema"     |   "tenant_is_correct"         |   forReference("id")          ||  "non_public_schema.tenant_is_correct(id)"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the list of invalid values is empty" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getBlacklistTenantIds() >> []
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The list of invalid value cannot be empty"
+    }
+
+    @Override
+    protected returnTestedObject() {
+        new IsTenantValidBasedOnConstantArrayFunctionProducer()
+    }
+
+    @Override
+    protected returnCorrectParametersSpyObject() {
+        Spy(IsTenantValidBasedOnConstantValuesFunctionProducerParameters, constructorArgs: ["is_tenant_valid",
+                                                                                "public",
+                                                                                new HashSet<>(Arrays.asList("bad_tenant", "tenant_1")),
+                                                                                "VARCHAR(255)"])
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forString
+
+class IsTenantValidBasedOnLookupTableFunctionProducerTest extends AbstractFunctionFactoryTest {
+
+    def tested = new IsTenantValidBasedOnLookupTableFunctionProducer()
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' with argument type '#argumentType' (null means 'text') that checks lookup table #lookupTable in schema #lookupTableSchema" () {
+        given:
+            def parameters = IsTenantValidBasedOnLookupTableFunctionProducerParameters.builder()
+                    .withFunctionName(testFunctionName)
+                    .withSchema(testSchema)
+                    .withArgumentType(argumentType)
+                    .withLookupTableName(lookupTable)
+                    .withLookupTableSchema(lookupTableSchema)
+                    .withLookupTableColumn(lookupTableColumn)
+                    .build()
+
+        expect:
+            tested.produce(parameters).getCreateScript() == expectedStatement
+
+        where:
+            testSchema      |   testFunctionName    |   argumentType    |   lookupTable         |   lookupTableSchema   |   lookupTableColumn   ||  expectedStatement
+            null            |   "is_tenant_valid"   |   null            |   "blacklist"         |   null                |   "tenant_id"         ||  "CREATE OR REPLACE FUNCTION is_tenant_valid(text) RETURNS BOOLEAN AS \$\$\nSELECT NOT EXISTS (SELECT 1 FROM \"blacklist\" blt WHERE blt.tenant_id = \$1)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "public"        |   "is_tenant_valid"   |   "VARCHAR(32)"   |   "blacklist"         |   "public"            |   "tenant_id"         ||  "CREATE OR REPLACE FUNCTION public.is_tenant_valid(VARCHAR(32)) RETURNS BOOLEAN AS \$\$\nSELECT NOT EXISTS (SELECT 1 FROM \"public\".\"blacklist\" blt WHERE blt.tenant_id = \$1)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "schema2"       |   "tenant_is_correct" |   "UUID"          |   "invalid_tenants"   |   "schema2"           |   "tid"               ||  "CREATE OR REPLACE FUNCTION schema2.tenant_is_correct(UUID) RETURNS BOOLEAN AS \$\$\nSELECT NOT EXISTS (SELECT 1 FROM \"schema2\".\"invalid_tenants\" blt WHERE blt.tid = \$1)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+    }
+
+    @Unroll
+    def "should generate sql function with name '#testFunctionName' for schema '#testSchema' that returns correct function invocation #expectedInvocation for argument #argument" () {
+        given:
+            def parameters = IsTenantValidBasedOnLookupTableFunctionProducerParameters.builder()
+                    .withFunctionName(testFunctionName)
+                    .withSchema(testSchema)
+                    .withLookupTableName("blacklist")
+                    .withLookupTableColumn("tenant_id")
+                    .build()
+
+        expect:
+            tested.produce(parameters).returnIsTenantValidFunctionInvocation(argument) == expectedInvocation
+
+        where:
+            testSchema              |   testFunctionName            |   argument                    ||  expectedInvocation
+            null                    |   "is_tenant_valid"           |   forString("sfdadf")         ||  "is_tenant_valid('sfdadf')"
+            "public"                |   "tenant_valid"              |   forString("XXDFASD")        ||  "public.tenant_valid('XXDFASD')"
+            "non_public_schema"     |   "tenant_is_correct"         |   forReference("id")          ||  "non_public_schema.tenant_is_correct(id)"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the argument type is '#argumentType', lookup table is '#lookupTable', lookup table schema is '#lookupTableSchema' and lookup table column is '#lookupTableColumn'" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getArgumentType() >> argumentType
+            parameters.getLookupTableName() >> lookupTable
+            parameters.getLookupTableSchema() >> lookupTableSchema
+            parameters.getLookupTableColumn() >> lookupTableColumn
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            argumentType    |   lookupTable     |   lookupTableSchema   |   lookupTableColumn   ||  expectedMessage
+            " "             |   "blacklist"     |   null                |   "tenant_id"         ||  "The argument type cannot be empty"
+            null            |   null            |   null                |   "tenant_id"         ||  "The lookup table name cannot be null"
+            null            |   "  "            |   null                |   "tenant_id"         ||  "The lookup table name cannot be empty"
+            null            |   "blacklist"     |   ""                  |   "tenant_id"         ||  "The lookup table schema cannot be empty"
+            null            |   "blacklist"     |   null                |   null                ||  "The lookup table column cannot be null"
+            null            |   "blacklist"     |   null                |   " "                 ||  "The lookup table column cannot be empty"
+    }
+
+    @Override
+    protected returnTestedObject() {
+        new IsTenantValidBasedOnLookupTableFunctionProducer()
+    }
+
+    @Override
+    protected returnCorrectParametersSpyObject() {
+        Spy(IsTenantValidBasedOnLookupTableFunctionProducerParameters, constructorArgs: ["is_tenant_valid",
+                                                                                "public",
+                                                                                "VARCHAR(255)",
+                                                                                "tenant_values_blacklist",
+                                                                                "public",
+                                                                                "tenant_id"])
+    }
+}
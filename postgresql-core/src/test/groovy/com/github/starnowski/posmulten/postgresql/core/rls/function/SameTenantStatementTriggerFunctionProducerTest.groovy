@@ -0,0 +1,99 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
+
+class SameTenantStatementTriggerFunctionProducerTest extends AbstractFunctionFactoryTest {
+
+    def tested = new SameTenantStatementTriggerFunctionProducer()
+
+    @Unroll
+    def "should generate statement that creates trigger function '#testFunctionName' for schema '#testSchema' that checks rows that refer to table #referencedTable in schema #referencedSchema" () {
+        given:
+            def getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            getCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() >> currentTenantIdInvocation
+            def parameters = SameTenantStatementTriggerFunctionProducerParameters.builder()
+                    .withFunctionName(testFunctionName)
+                    .withSchema(testSchema)
+                    .withConstraintName(testFunctionName)
+                    .withReferencedTableName(referencedTable)
+                    .withReferencedTableSchema(referencedSchema)
+                    .withReferencedTableTenantColumnName(referencedTenantColumn)
+                    .withForeignKeyPrimaryKeyColumnsMappings(mappings)
+                    .withIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+                    .build()
+
+        expect:
+            tested.produce(parameters).getCreateScript() == expectedStatement
+
+        where:
+            testSchema  |   testFunctionName    |   referencedTable |   referencedSchema    |   referencedTenantColumn  |   mappings                                                        |   currentTenantIdInvocation       ||  expectedStatement
+            null        |   "posts_users_fk"    |   "users"         |   null                |   "tenant_id"             |   [user_id: "id"]                                                 |   "get_current_tenant_id()"       ||  "CREATE OR REPLACE FUNCTION posts_users_fk() RETURNS trigger AS \$\$\nBEGIN\nIF EXISTS (SELECT 1 FROM new_rows nr WHERE nr.user_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM \"users\" rt WHERE rt.id = nr.user_id AND rt.tenant_id = get_current_tenant_id())) THEN\nRAISE EXCEPTION 'new row for relation \"%\" violates constraint \"posts_users_fk\"', TG_TABLE_NAME USING ERRCODE = 'check_violation', CONSTRAINT = 'posts_users_fk';\nEND IF;\nRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"    |   "posts_users_fk"    |   "users"         |   "public"            |   "tenant"                |   [user_id: "id"]                                                 |   "public.get_current_tenant_id()"||  "CREATE OR REPLACE FUNCTION public.posts_users_fk() RETURNS trigger AS \$\$\nBEGIN\nIF EXISTS (SELECT 1 FROM new_rows nr WHERE nr.user_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM \"public\".\"users\" rt WHERE rt.id = nr.user_id AND rt.tenant = public.get_current_tenant_id())) THEN\nRAISE EXCEPTION 'new row for relation \"%\" violates constraint \"posts_users_fk\"', TG_TABLE_NAME USING ERRCODE = 'check_violation', CONSTRAINT = 'posts_users_fk';\nEND IF;\nRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "sch"       |   "comments_fk"       |   "posts"         |   "sch"               |   "tid"                   |   mapBuilder().put("post_user_id", "user_id").put("post_id", "id").build()   |   "sch.cur_tenant()"  ||  "CREATE OR REPLACE FUNCTION sch.comments_fk() RETURNS trigger AS \$\$\nBEGIN\nIF EXISTS (SELECT 1 FROM new_rows nr WHERE nr.post_id IS NOT NULL AND nr.post_user_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM \"sch\".\"posts\" rt WHERE rt.id = nr.post_id AND rt.user_id = nr.post_user_id AND rt.tid = sch.cur_tenant())) THEN\nRAISE EXCEPTION 'new row for relation \"%\" violates constraint \"comments_fk\"', TG_TABLE_NAME USING ERRCODE = 'check_violation', CONSTRAINT = 'comments_fk';\nEND IF;\nRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the constraint name is '#constraintName', referenced table is '#referencedTable', referenced table schema is '#referencedSchema', referenced tenant column is '#referencedTenantColumn' and mappings are #mappings" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getConstraintName() >> constraintName
+            parameters.getReferencedTableName() >> referencedTable
+            parameters.getReferencedTableSchema() >> referencedSchema
+            parameters.getReferencedTableTenantColumnName() >> referencedTenantColumn
+            parameters.getForeignKeyPrimaryKeyColumnsMappings() >> mappings
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            constraintName  |   referencedTable |   referencedSchema    |   referencedTenantColumn  |   mappings            ||  expectedMessage
+            null            |   "users"         |   null                |   "tenant_id"             |   [user_id: "id"]     ||  "Constraint name cannot be null"
+            " "             |   "users"         |   null                |   "tenant_id"             |   [user_id: "id"]     ||  "Constraint name cannot be blank"
+            "fk"            |   null            |   null                |   "tenant_id"             |   [user_id: "id"]     ||  "Referenced table name cannot be null"
+            "fk"            |   "  "            |   null                |   "tenant_id"             |   [user_id: "id"]     ||  "Referenced table name cannot be blank"
+            "fk"            |   "users"         |   ""                  |   "tenant_id"             |   [user_id: "id"]     ||  "Referenced table schema cannot be blank"
+            "fk"            |   "users"         |   null                |   null                    |   [user_id: "id"]     ||  "Referenced table tenant column cannot be null"
+            "fk"            |   "users"         |   null                |   " "                     |   [user_id: "id"]     ||  "Referenced table tenant column cannot be blank"
+            "fk"            |   "users"         |   null                |   "tenant_id"             |   null                ||  "Foreign key columns mappings cannot be null"
+            "fk"            |   "users"         |   null                |   "tenant_id"             |   [:]                 ||  "Foreign key columns mappings cannot be empty"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the GetCurrentTenantId function invocation factory is null" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getIGetCurrentTenantIdFunctionInvocationFactory() >> null
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+            ex.message == "The GetCurrentTenantId function invocation factory cannot be null"
+    }
+
+    @Override
+    protected returnTestedObject() {
+        new SameTenantStatementTriggerFunctionProducer()
+    }
+
+    @Override
+    protected returnCorrectParametersSpyObject() {
+        Spy(SameTenantStatementTriggerFunctionProducerParameters, constructorArgs: ["posts_users_fk",
+                                                                                "public",
+                                                                                "posts_users_fk",
+                                                                                "users",
+                                                                                "public",
+                                                                                "tenant_id",
+                                                                                [user_id: "id"],
+                                                                                Mock(IGetCurrentTenantIdFunctionInvocationFactory)])
+    }
+}
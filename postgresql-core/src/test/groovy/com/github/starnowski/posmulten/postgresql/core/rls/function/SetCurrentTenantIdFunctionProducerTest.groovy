@@ -27,6 +27,109 @@ class SetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest
             "non_public_schema"     |   "this_is_tenant"            |   "t.id"                                  |   "text"              ||  "CREATE OR REPLACE FUNCTION non_public_schema.this_is_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('t.id', \$1, false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
     }
 
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' which sets value for property '#testCurrentTenantIdProperty' only for the current transaction" () {
+        given:
+            def definition = tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, testCurrentTenantIdProperty, testSchema, null, true))
+
+        expect:
+            definition.getCreateScript() == expectedStatement
+            definition.isLocal()
+
+        where:
+            testSchema              |   testFunctionName            |   testCurrentTenantIdProperty             || expectedStatement
+            null                    |   "set_local_tenant"          |   VALID_CURRENT_TENANT_ID_PROPERTY_NAME   ||  "CREATE OR REPLACE FUNCTION set_local_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', \$1, true);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"                |   "set_local_tenant"          |   VALID_CURRENT_TENANT_ID_PROPERTY_NAME   ||  "CREATE OR REPLACE FUNCTION public.set_local_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', \$1, true);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "non_public_schema"     |   "this_is_tenant"            |   "t.id"                                  ||  "CREATE OR REPLACE FUNCTION non_public_schema.this_is_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('t.id', \$1, true);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' in SQL language for schema '#testSchema' with argument type '#testArgumentType' and local flag #local" () {
+        expect:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, VALID_CURRENT_TENANT_ID_PROPERTY_NAME, testSchema, testArgumentType, local, true)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema              |   testFunctionName            |   testArgumentType    |   local   || expectedStatement
+            null                    |   "set_current_tenant"        |   null                |   false   ||  "CREATE OR REPLACE FUNCTION set_current_tenant(text) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', \$1, false)\n\$\$ LANGUAGE sql\nVOLATILE;"
+            "public"                |   "set_current_tenant"        |   "text"              |   false   ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(text) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', \$1::text, false)\n\$\$ LANGUAGE sql\nVOLATILE;"
+            "non_public_schema"     |   "set_local_tenant"          |   "UUID"              |   true    ||  "CREATE OR REPLACE FUNCTION non_public_schema.set_local_tenant(UUID) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', \$1::text, true)\n\$\$ LANGUAGE sql\nVOLATILE;"
+            "public"                |   "set_local_tenant"          |   "bigint"            |   true    ||  "CREATE OR REPLACE FUNCTION public.set_local_tenant(bigint) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', \$1::text, true)\n\$\$ LANGUAGE sql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' which resolves tenant identifier from registry table '#registryTable' in schema '#registrySchema', SQL language #sqlLanguage" () {
+        expect:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, VALID_CURRENT_TENANT_ID_PROPERTY_NAME, testSchema, testArgumentType, false, sqlLanguage, registryTable, registrySchema, "id", "external_id")).getCreateScript() == expectedStatement
+
+        where:
+            testSchema      |   testFunctionName        |   testArgumentType    |   sqlLanguage |   registryTable       |   registrySchema  || expectedStatement
+            null            |   "set_current_tenant"    |   null                |   false       |   "tenant_registry"   |   null            ||  "CREATE OR REPLACE FUNCTION set_current_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', (SELECT tr.id::text FROM \"tenant_registry\" tr WHERE tr.external_id = \$1), false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"        |   "set_current_tenant"    |   "VARCHAR(255)"      |   false       |   "tenant_registry"   |   "public"        ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(VARCHAR(255)) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', (SELECT tr.id::text FROM \"public\".\"tenant_registry\" tr WHERE tr.external_id = \$1), false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "some_schema"   |   "set_tenant"            |   "UUID"              |   true        |   "tenants"           |   "some_schema"   ||  "CREATE OR REPLACE FUNCTION some_schema.set_tenant(UUID) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', (SELECT tr.id::text FROM \"some_schema\".\"tenants\" tr WHERE tr.external_id = \$1), false)\n\$\$ LANGUAGE sql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' which applies settings from tenant settings table '#settingsTable' in schema '#settingsSchema', SQL language #sqlLanguage, local flag #local and registry table '#registryTable'" () {
+        expect:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, VALID_CURRENT_TENANT_ID_PROPERTY_NAME, testSchema, testArgumentType, local, sqlLanguage, registryTable, registryTable == null ? null : testSchema, registryTable == null ? null : "id", registryTable == null ? null : "external_id", settingsTable, settingsSchema, priorityClassProperty)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema      |   testFunctionName        |   testArgumentType    |   local   |   sqlLanguage |   registryTable   |   settingsTable       |   settingsSchema  |   priorityClassProperty               || expectedStatement
+            null            |   "set_current_tenant"    |   null                |   false   |   false       |   null            |   "tenant_settings"   |   null            |   "c.priority"                        ||  "CREATE OR REPLACE FUNCTION set_current_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', \$1, false);\nPERFORM set_config('statement_timeout', ts.statement_timeout, false), set_config('work_mem', ts.work_mem, false), set_config('lock_timeout', ts.lock_timeout, false), set_config('c.priority', ts.priority_class, false) FROM (SELECT 1) d LEFT JOIN \"tenant_settings\" ts ON ts.tenant_id = \$1;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"        |   "set_current_tenant"    |   "VARCHAR(255)"      |   true    |   true        |   null            |   "tenant_settings"   |   "public"        |   "posmulten.tenant_priority_class"   ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(VARCHAR(255)) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', \$1::text, true), set_config('statement_timeout', ts.statement_timeout, true), set_config('work_mem', ts.work_mem, true), set_config('lock_timeout', ts.lock_timeout, true), set_config('posmulten.tenant_priority_class', ts.priority_class, true) FROM (SELECT 1) d LEFT JOIN \"public\".\"tenant_settings\" ts ON ts.tenant_id = \$1\n\$\$ LANGUAGE sql\nVOLATILE;"
+            "some_schema"   |   "set_tenant"            |   "UUID"              |   false   |   false       |   "tenants"       |   "tenants_settings"  |   "some_schema"   |   "app.priority"                      ||  "CREATE OR REPLACE FUNCTION some_schema.set_tenant(UUID) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', (SELECT tr.id::text FROM \"some_schema\".\"tenants\" tr WHERE tr.external_id = \$1), false);\nPERFORM set_config('statement_timeout', ts.statement_timeout, false), set_config('work_mem', ts.work_mem, false), set_config('lock_timeout', ts.lock_timeout, false), set_config('app.priority', ts.priority_class, false) FROM (SELECT 1) d LEFT JOIN \"some_schema\".\"tenants_settings\" ts ON ts.tenant_id = (SELECT tr.id FROM \"some_schema\".\"tenants\" tr WHERE tr.external_id = \$1);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' when tenant settings table is '#settingsTable', its schema is '#settingsSchema' and priority class property is '#priorityClassProperty'"()
+    {
+        when:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters("set_current_tenant", VALID_CURRENT_TENANT_ID_PROPERTY_NAME, "public", "VARCHAR(32)", false, false, null, null, null, null, settingsTable, settingsSchema, priorityClassProperty))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            settingsTable       |   settingsSchema  |   priorityClassProperty   ||  expectedMessage
+            ""                  |   null            |   "c.priority"            ||  "Tenant settings table name cannot be blank"
+            "  "                |   "public"        |   "c.priority"            ||  "Tenant settings table name cannot be blank"
+            "tenant_settings"   |   " "             |   "c.priority"            ||  "Tenant settings schema name cannot be blank"
+            "tenant_settings"   |   "public"        |   null                    ||  "Tenant priority class property name cannot be blank"
+            "tenant_settings"   |   "public"        |   "   "                   ||  "Tenant priority class property name cannot be blank"
+    }
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' which sets tenant tag in property '#tagProperty', SQL language #sqlLanguage, registry table '#registryTable' and settings table '#settingsTable'" () {
+        expect:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, VALID_CURRENT_TENANT_ID_PROPERTY_NAME, testSchema, testArgumentType, false, sqlLanguage, registryTable, registryTable == null ? null : testSchema, registryTable == null ? null : "id", registryTable == null ? null : "external_id", settingsTable, settingsTable == null ? null : testSchema, "c.priority", tagProperty)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema      |   testFunctionName        |   testArgumentType    |   sqlLanguage |   registryTable   |   settingsTable       |   tagProperty         || expectedStatement
+            null            |   "set_current_tenant"    |   null                |   false       |   null            |   null                |   "application_name"  ||  "CREATE OR REPLACE FUNCTION set_current_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', \$1, false);\nPERFORM set_config('application_name', 'tenant=' || \$1, false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"        |   "set_current_tenant"    |   "VARCHAR(255)"      |   true        |   null            |   null                |   "app.tenant_tag"    ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(VARCHAR(255)) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', \$1::text, false), set_config('app.tenant_tag', 'tenant=' || \$1, false)\n\$\$ LANGUAGE sql\nVOLATILE;"
+            "public"        |   "set_current_tenant"    |   "VARCHAR(255)"      |   true        |   null            |   "tenant_settings"   |   "application_name"  ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(VARCHAR(255)) RETURNS VOID AS \$\$\nSELECT set_config('c.c_ten', \$1::text, false), set_config('application_name', 'tenant=' || \$1, false), set_config('statement_timeout', ts.statement_timeout, false), set_config('work_mem', ts.work_mem, false), set_config('lock_timeout', ts.lock_timeout, false), set_config('c.priority', ts.priority_class, false) FROM (SELECT 1) d LEFT JOIN \"public\".\"tenant_settings\" ts ON ts.tenant_id = \$1\n\$\$ LANGUAGE sql\nVOLATILE;"
+            "some_schema"   |   "set_tenant"            |   "UUID"              |   false       |   "tenants"       |   null                |   "application_name"  ||  "CREATE OR REPLACE FUNCTION some_schema.set_tenant(UUID) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', (SELECT tr.id::text FROM \"some_schema\".\"tenants\" tr WHERE tr.external_id = \$1), false);\nPERFORM set_config('application_name', 'tenant=' || \$1, false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' when tenant tag property is blank ('#tagProperty')"()
+    {
+        when:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters("set_current_tenant", VALID_CURRENT_TENANT_ID_PROPERTY_NAME, "public", "VARCHAR(32)", false, false, null, null, null, null, null, null, null, tagProperty))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Tenant tag property name cannot be blank"
+
+        where:
+            tagProperty << ["", " ", "   "]
+    }
+
     @Unroll
     def "should generate statement that invokes function '#testFunctionName' and set current tenant value ('#currentTenantValue') for schema '#testSchema' " () {
         expect:
@@ -0,0 +1,36 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SubqueryGetCurrentTenantIdFunctionInvocationFactoryTest extends Specification {
+
+    @Unroll
+    def "should wrap invocation '#invocation' into subquery '#expectedInvocation'"()
+    {
+        given:
+            IGetCurrentTenantIdFunctionInvocationFactory factory = { invocation }
+            def tested = new SubqueryGetCurrentTenantIdFunctionInvocationFactory(factory)
+
+        expect:
+            tested.returnGetCurrentTenantIdFunctionInvocation() == expectedInvocation
+
+        where:
+            invocation                              ||  expectedInvocation
+            "get_current_tenant_id()"               ||  "(SELECT get_current_tenant_id())"
+            "public.get_current_tenant_id()"        ||  "(SELECT public.get_current_tenant_id())"
+            "some_schema.cur_tenant()"              ||  "(SELECT some_schema.cur_tenant())"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the factory is null"()
+    {
+        when:
+            new SubqueryGetCurrentTenantIdFunctionInvocationFactory(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+
+        and: "exception should have correct message"
+            ex.message == "The GetCurrentTenantId function invocation factory cannot be null"
+    }
+}
@@ -237,6 +237,54 @@ class TenantHasAuthoritiesFunctionProducerTest extends AbstractFunctionFactoryTe
             schemaArgumentType    << ["", " ", "       "]
     }
 
+    @Unroll
+    def "should generate statement that creates function which allows to read rows of descendant tenants stored in closure table #closureTable in schema #closureTableSchema" () {
+        given:
+            def getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            getCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() >> currentTenantIdInvocation
+            def parameters = builder().withFunctionName("tenant_has_authorities").withSchema("public")
+                    .withEqualsCurrentTenantIdentifierFunctionInvocationFactory(secondEqualsCurrentTenantIdentifierFunctionInvocationFactory)
+                    .withTenantIdArgumentType("VARCHAR(255)")
+                    .withPermissionCommandPolicyArgumentType("text")
+                    .withRlsExpressionArgumentType("text")
+                    .withTableArgumentType("text")
+                    .withSchemaArgumentType("text")
+                    .withTenantHierarchyClosureTable(closureTable)
+                    .withTenantHierarchyClosureTableSchema(closureTableSchema)
+                    .withIGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+                    .build()
+
+        expect:
+            tested.produce(parameters).getCreateScript() == expectedStatement
+
+        where:
+            closureTable                |   closureTableSchema  |   currentTenantIdInvocation           ||  expectedStatement
+            "tenant_hierarchy_closure"  |   null                |   "get_current_tenant_id()"           ||  "CREATE OR REPLACE FUNCTION public.tenant_has_authorities(VARCHAR(255), text, text, text, text) RETURNS BOOLEAN AS \$\$\nSELECT matches_current_tenant(\$1) OR (\$3 = 'USING' AND \$2 = 'SELECT' AND EXISTS (SELECT 1 FROM \"tenant_hierarchy_closure\" tc WHERE tc.ancestor_id = get_current_tenant_id() AND tc.descendant_id = \$1))\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "tenant_hierarchy_closure"  |   "public"            |   "public.get_current_tenant_id()"    ||  "CREATE OR REPLACE FUNCTION public.tenant_has_authorities(VARCHAR(255), text, text, text, text) RETURNS BOOLEAN AS \$\$\nSELECT matches_current_tenant(\$1) OR (\$3 = 'USING' AND \$2 = 'SELECT' AND EXISTS (SELECT 1 FROM \"public\".\"tenant_hierarchy_closure\" tc WHERE tc.ancestor_id = public.get_current_tenant_id() AND tc.descendant_id = \$1))\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "orgs_paths"                |   "other"             |   "other.cur_tenant()"                ||  "CREATE OR REPLACE FUNCTION public.tenant_has_authorities(VARCHAR(255), text, text, text, text) RETURNS BOOLEAN AS \$\$\nSELECT matches_current_tenant(\$1) OR (\$3 = 'USING' AND \$2 = 'SELECT' AND EXISTS (SELECT 1 FROM \"other\".\"orgs_paths\" tc WHERE tc.ancestor_id = other.cur_tenant() AND tc.descendant_id = \$1))\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when the tenant hierarchy closure table is specified but the GetCurrentTenantId function invocation factory is null" () {
+        given:
+            def parameters = builder().withFunctionName("tenant_has_authorities").withSchema(null)
+                    .withEqualsCurrentTenantIdentifierFunctionInvocationFactory(firstEqualsCurrentTenantIdentifierFunctionInvocationFactory)
+                    .withTenantIdArgumentType("VARCHAR(312)")
+                    .withPermissionCommandPolicyArgumentType("text")
+                    .withRlsExpressionArgumentType("VARCHAR(73)")
+                    .withTableArgumentType("text")
+                    .withSchemaArgumentType("VARCHAR(117)")
+                    .withTenantHierarchyClosureTable("tenant_hierarchy_closure")
+                    .build()
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Parameter of type IGetCurrentTenantIdFunctionInvocationFactory cannot be null when the tenant hierarchy closure table is specified"
+    }
+
     private TenantHasAuthoritiesFunctionProducerParameters.TenantHasAuthoritiesFunctionProducerParametersBuilder builder()
     {
         new TenantHasAuthoritiesFunctionProducerParameters.TenantHasAuthoritiesFunctionProducerParametersBuilder()
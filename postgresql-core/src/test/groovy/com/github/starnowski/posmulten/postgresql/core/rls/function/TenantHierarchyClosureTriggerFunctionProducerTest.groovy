@@ -0,0 +1,65 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import spock.lang.Unroll
+
+class TenantHierarchyClosureTriggerFunctionProducerTest extends AbstractFunctionFactoryTest {
+
+    def tested = new TenantHierarchyClosureTriggerFunctionProducer()
+
+    @Unroll
+    def "should generate statement that creates trigger function '#testFunctionName' for schema '#testSchema' that maintains closure table #closureTable in schema #closureTableSchema" () {
+        given:
+            def parameters = TenantHierarchyClosureTriggerFunctionProducerParameters.builder()
+                    .withFunctionName(testFunctionName)
+                    .withSchema(testSchema)
+                    .withClosureTable(closureTable)
+                    .withClosureTableSchema(closureTableSchema)
+                    .build()
+
+        expect:
+            tested.produce(parameters).getCreateScript() == expectedStatement
+
+        where:
+            testSchema  |   testFunctionName                        |   closureTable                |   closureTableSchema  ||  expectedStatement
+            null        |   "tenant_hierarchy_closure_maintenance"  |   "tenant_hierarchy_closure"  |   null                ||  "CREATE OR REPLACE FUNCTION tenant_hierarchy_closure_maintenance() RETURNS trigger AS \$\$\nBEGIN\nIF TG_OP = 'INSERT' THEN\nINSERT INTO \"tenant_hierarchy_closure\" (ancestor_id, descendant_id, depth) SELECT NEW.tenant_id, NEW.tenant_id, 0 UNION ALL SELECT c.ancestor_id, NEW.tenant_id, c.depth + 1 FROM \"tenant_hierarchy_closure\" c WHERE c.descendant_id = NEW.parent_tenant_id;\nELSIF TG_OP = 'UPDATE' THEN\nIF NEW.tenant_id IS DISTINCT FROM OLD.tenant_id THEN\nRAISE EXCEPTION 'tenant identifier in relation \"%\" cannot be changed', TG_TABLE_NAME;\nEND IF;\nIF NEW.parent_tenant_id IS DISTINCT FROM OLD.parent_tenant_id THEN\nIF NEW.parent_tenant_id IN (SELECT s.descendant_id FROM \"tenant_hierarchy_closure\" s WHERE s.ancestor_id = NEW.tenant_id) THEN\nRAISE EXCEPTION 'tenant % cannot be moved under its own descendant %', NEW.tenant_id, NEW.parent_tenant_id;\nEND IF;\nDELETE FROM \"tenant_hierarchy_closure\" c WHERE c.descendant_id IN (SELECT s.descendant_id FROM \"tenant_hierarchy_closure\" s WHERE s.ancestor_id = NEW.tenant_id) AND c.ancestor_id NOT IN (SELECT s.descendant_id FROM \"tenant_hierarchy_closure\" s WHERE s.ancestor_id = NEW.tenant_id);\nINSERT INTO \"tenant_hierarchy_closure\" (ancestor_id, descendant_id, depth) SELECT p.ancestor_id, s.descendant_id, p.depth + s.depth + 1 FROM \"tenant_hierarchy_closure\" p CROSS JOIN \"tenant_hierarchy_closure\" s WHERE p.descendant_id = NEW.parent_tenant_id AND s.ancestor_id = NEW.tenant_id;\nEND IF;\nELSIF TG_OP = 'DELETE' THEN\nDELETE FROM \"tenant_hierarchy_closure\" c WHERE c.descendant_id = OLD.tenant_id;\nEND IF;\nRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"    |   "tenant_hierarchy_closure_maintenance"  |   "tenant_hierarchy_closure"  |   "public"            ||  "CREATE OR REPLACE FUNCTION public.tenant_hierarchy_closure_maintenance() RETURNS trigger AS \$\$\nBEGIN\nIF TG_OP = 'INSERT' THEN\nINSERT INTO \"public\".\"tenant_hierarchy_closure\" (ancestor_id, descendant_id, depth) SELECT NEW.tenant_id, NEW.tenant_id, 0 UNION ALL SELECT c.ancestor_id, NEW.tenant_id, c.depth + 1 FROM \"public\".\"tenant_hierarchy_closure\" c WHERE c.descendant_id = NEW.parent_tenant_id;\nELSIF TG_OP = 'UPDATE' THEN\nIF NEW.tenant_id IS DISTINCT FROM OLD.tenant_id THEN\nRAISE EXCEPTION 'tenant identifier in relation \"%\" cannot be changed', TG_TABLE_NAME;\nEND IF;\nIF NEW.parent_tenant_id IS DISTINCT FROM OLD.parent_tenant_id THEN\nIF NEW.parent_tenant_id IN (SELECT s.descendant_id FROM \"public\".\"tenant_hierarchy_closure\" s WHERE s.ancestor_id = NEW.tenant_id) THEN\nRAISE EXCEPTION 'tenant % cannot be moved under its own descendant %', NEW.tenant_id, NEW.parent_tenant_id;\nEND IF;\nDELETE FROM \"public\".\"tenant_hierarchy_closure\" c WHERE c.descendant_id IN (SELECT s.descendant_id FROM \"public\".\"tenant_hierarchy_closure\" s WHERE s.ancestor_id = NEW.tenant_id) AND c.ancestor_id NOT IN (SELECT s.descendant_id FROM \"public\".\"tenant_hierarchy_closure\" s WHERE s.ancestor_id = NEW.tenant_id);\nINSERT INTO \"public\".\"tenant_hierarchy_closure\" (ancestor_id, descendant_id, depth) SELECT p.ancestor_id, s.descendant_id, p.depth + s.depth + 1 FROM \"public\".\"tenant_hierarchy_closure\" p CROSS JOIN \"public\".\"tenant_hierarchy_closure\" s WHERE p.descendant_id = NEW.parent_tenant_id AND s.ancestor_id = NEW.tenant_id;\nEND IF;\nELSIF TG_OP = 'DELETE' THEN\nDELETE FROM \"public\".\"tenant_hierarchy_closure\" c WHERE c.descendant_id = OLD.tenant_id;\nEND IF;\nRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the closure table is '#closureTable' and closure table schema is '#closureTableSchema'" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getClosureTable() >> closureTable
+            parameters.getClosureTableSchema() >> closureTableSchema
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            closureTable    |   closureTableSchema  ||  expectedMessage
+            null            |   null                ||  "Closure table name cannot be null"
+            " "             |   null                ||  "Closure table name cannot be blank"
+            "closure"       |   ""                  ||  "Closure table schema cannot be blank"
+            "closure"       |   "   "               ||  "Closure table schema cannot be blank"
+    }
+
+    @Override
+    protected returnTestedObject() {
+        tested
+    }
+
+    @Override
+    protected returnCorrectParametersSpyObject() {
+        Spy(TenantHierarchyClosureTriggerFunctionProducerParameters, constructorArgs: ["tenant_hierarchy_closure_maintenance",
+                                                                                       "public",
+                                                                                       "tenant_hierarchy_closure",
+                                                                                       "public"])
+    }
+}
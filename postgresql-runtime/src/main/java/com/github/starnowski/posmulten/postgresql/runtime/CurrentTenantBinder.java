@@ -0,0 +1,219 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.runtime;
+
+import org.postgresql.PGStatement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sets the current tenant for the physical connections.
+ * For each physical connection there is created a single prepared statement that invokes the function which sets the current tenant,
+ * so the Postgres JDBC driver can execute it as the server-side prepared statement.
+ * The tenant set for the physical connection is remembered, and the function is not invoked when the connection already has the same tenant.
+ * The tenant is remembered only when the connection is in the auto-commit mode. For the connection with the auto-commit mode disabled,
+ * the function is invoked for each binding. Because the value set in a transaction is discarded when the transaction is rolled back,
+ * the binder rolls back the open transaction of such connection before invoking the function and commits the transaction after it.
+ * That is why the binding should not be done in the middle of the transaction, the uncommitted changes are discarded.
+ * The tenant is cleared by passing the null value to the function, which resets the current tenant and all other properties set by the function.
+ * <p>
+ * The remembered tenant is valid only when the current tenant of the connection is not changed in other way than by this object.
+ *
+ * @since 0.8
+ */
+public class CurrentTenantBinder {
+
+    private final String setCurrentTenantStatement;
+    private final IPooledConnectionUnwrapper pooledConnectionUnwrapper;
+    private final Map<Connection, PhysicalConnectionBinding> bindings = new IdentityHashMap<>();
+
+    /**
+     * @param setCurrentTenantStatement prepared statement that invokes the function which sets the current tenant,
+     *                                  see {@link com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory#returnPreparedStatementThatSetCurrentTenant()}
+     * @param pooledConnectionUnwrapper object that returns the physical connection for the pooled connection
+     */
+    public CurrentTenantBinder(String setCurrentTenantStatement, IPooledConnectionUnwrapper pooledConnectionUnwrapper) {
+        if (setCurrentTenantStatement == null) {
+            throw new IllegalArgumentException("Statement that sets the current tenant cannot be null");
+        }
+        if (setCurrentTenantStatement.trim().isEmpty()) {
+            throw new IllegalArgumentException("Statement that sets the current tenant cannot be blank");
+        }
+        if (pooledConnectionUnwrapper == null) {
+            throw new IllegalArgumentException("Pooled connection unwrapper cannot be null");
+        }
+        this.setCurrentTenantStatement = setCurrentTenantStatement;
+        this.pooledConnectionUnwrapper = pooledConnectionUnwrapper;
+    }
+
+    /**
+     * Sets the current tenant for the physical connection of the passed pooled connection,
+     * unless the physical connection already has the same tenant.
+     *
+     * When the connection is not in the auto-commit mode, its open transaction is rolled back before setting the tenant
+     * and the transaction in which the tenant was set is committed.
+     *
+     * @param pooledConnection connection obtained from the connection pool
+     * @param tenantIdentifier tenant identifier, null value clears the current tenant
+     * @throws SQLException when the function that sets the current tenant fails
+     */
+    public void bind(Connection pooledConnection, String tenantIdentifier) throws SQLException {
+        boolean autoCommit = pooledConnection.getAutoCommit();
+        PhysicalConnectionBinding binding = resolveBinding(pooledConnectionUnwrapper.unwrap(pooledConnection));
+        if (autoCommit && binding.known && Objects.equals(binding.tenantIdentifier, tenantIdentifier)) {
+            return;
+        }
+        binding.known = false;
+        if (!autoCommit) {
+            pooledConnection.rollback();
+        }
+        if (tenantIdentifier == null) {
+            binding.statement.setNull(1, Types.OTHER);
+        } else {
+            binding.statement.setString(1, tenantIdentifier);
+        }
+        try (ResultSet ignored = binding.statement.executeQuery()) {
+            binding.tenantIdentifier = tenantIdentifier;
+        }
+        if (!autoCommit) {
+            pooledConnection.commit();
+        }
+        binding.known = autoCommit;
+    }
+
+    /**
+     * Clears the current tenant for the physical connection of the passed pooled connection,
+     * unless it is known that the physical connection does not have any tenant.
+     *
+     * @param pooledConnection connection obtained from the connection pool
+     * @throws SQLException when the function that sets the current tenant fails
+     */
+    public void clear(Connection pooledConnection) throws SQLException {
+        bind(pooledConnection, null);
+    }
+
+    /**
+     * Forgets the tenant remembered for the physical connection of the passed pooled connection,
+     * so the next binding invokes the function that sets the current tenant.
+     *
+     * @param pooledConnection connection obtained from the connection pool
+     * @throws SQLException when the physical connection cannot be resolved
+     */
+    public void forget(Connection pooledConnection) throws SQLException {
+        Connection physicalConnection = pooledConnectionUnwrapper.unwrap(pooledConnection);
+        synchronized (bindings) {
+            PhysicalConnectionBinding binding = bindings.get(physicalConnection);
+            if (binding != null) {
+                binding.known = false;
+            }
+        }
+    }
+
+    /**
+     * Closes the physical connection of the passed pooled connection and removes the prepared statement cached for it.
+     * The method should be invoked when the current tenant could not be set or cleared, so the connection pool does not reuse the physical connection
+     * with an unknown tenant. The connection pool has to validate the connection before reusing it.
+     *
+     * @param pooledConnection connection obtained from the connection pool
+     * @throws SQLException when the physical connection cannot be resolved or closed
+     */
+    public void evict(Connection pooledConnection) throws SQLException {
+        Connection physicalConnection = pooledConnectionUnwrapper.unwrap(pooledConnection);
+        synchronized (bindings) {
+            bindings.remove(physicalConnection);
+        }
+        physicalConnection.close();
+    }
+
+    /**
+     * @return number of physical connections for which the prepared statement is cached
+     */
+    int getCachedConnectionsCount() {
+        synchronized (bindings) {
+            return bindings.size();
+        }
+    }
+
+    private PhysicalConnectionBinding resolveBinding(Connection physicalConnection) throws SQLException {
+        synchronized (bindings) {
+            PhysicalConnectionBinding binding = bindings.get(physicalConnection);
+            if (binding != null && !binding.statement.isClosed()) {
+                return binding;
+            }
+            removeBindingsOfClosedConnections();
+            binding = new PhysicalConnectionBinding(prepareStatement(physicalConnection));
+            bindings.put(physicalConnection, binding);
+            return binding;
+        }
+    }
+
+    private PreparedStatement prepareStatement(Connection physicalConnection) throws SQLException {
+        PreparedStatement statement = physicalConnection.prepareStatement(setCurrentTenantStatement);
+        if (statement.isWrapperFor(PGStatement.class)) {
+            PGStatement pgStatement = statement.unwrap(PGStatement.class);
+            // The threshold equal to zero means that the server-side prepared statements are disabled, for example for the PgBouncer in the transaction mode
+            if (pgStatement.getPrepareThreshold() > 1) {
+                pgStatement.setPrepareThreshold(1);
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * The connections closed by the connection pool are removed when a new connection is added, so the cache does not keep them.
+     */
+    private void removeBindingsOfClosedConnections() {
+        Iterator<Connection> iterator = bindings.keySet().iterator();
+        while (iterator.hasNext()) {
+            Connection connection = iterator.next();
+            boolean closed;
+            try {
+                closed = connection.isClosed();
+            } catch (SQLException e) {
+                closed = true;
+            }
+            if (closed) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class PhysicalConnectionBinding {
+        private final PreparedStatement statement;
+        private String tenantIdentifier;
+        private boolean known;
+
+        PhysicalConnectionBinding(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.runtime;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Default implementation of the {@link IPooledConnectionUnwrapper} that uses the {@link Connection#unwrap(Class)} method.
+ * The HikariCP connection proxy returns the physical connection for this method.
+ * If the connection is not a wrapper of another connection, the passed connection is returned.
+ *
+ * @since 0.8
+ */
+public class DefaultPooledConnectionUnwrapper implements IPooledConnectionUnwrapper {
+
+    @Override
+    public Connection unwrap(Connection pooledConnection) throws SQLException {
+        return pooledConnection.isWrapperFor(Connection.class) ? pooledConnection.unwrap(Connection.class) : pooledConnection;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.runtime;
+
+/**
+ * Provider of the identifier of the tenant for which the connection is obtained from the {@link TenantAwareDataSource}.
+ * The implementation usually returns the tenant identifier stored for the current request, for example in the thread local variable.
+ *
+ * @since 0.8
+ */
+public interface ICurrentTenantIdentifierProvider {
+
+    /**
+     * @return identifier of the current tenant, null if there is no current tenant and the tenant should not be set for the connection
+     */
+    String getCurrentTenantIdentifier();
+}
@@ -0,0 +1,47 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.runtime;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Service provider interface that allows to use the {@link TenantAwareDataSource} with any connection pool.
+ * The implementation returns the physical connection for the connection obtained from the pool.
+ * The physical connection is the key under which the prepared statement that sets the current tenant and the tenant already set for the connection are cached,
+ * so the returned object has to be the same for each checkout of the same physical connection.
+ * For example, for the Apache Commons DBCP the implementation could return the result of the "DelegatingConnection#getInnermostDelegate()" method.
+ *
+ * @see DefaultPooledConnectionUnwrapper
+ * @since 0.8
+ */
+public interface IPooledConnectionUnwrapper {
+
+    /**
+     * @param pooledConnection connection obtained from the connection pool
+     * @return physical connection
+     * @throws SQLException when the physical connection cannot be resolved
+     */
+    Connection unwrap(Connection pooledConnection) throws SQLException;
+}
@@ -0,0 +1,96 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.runtime;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+
+/**
+ * Handler of the connection returned by the {@link TenantAwareDataSource}.
+ * All methods are delegated to the pooled connection, except the {@link Connection#close()} method that clears the current tenant
+ * (if it is required) before returning the connection to the pool.
+ * When the current tenant cannot be cleared, the physical connection is closed ({@link CurrentTenantBinder#evict(Connection)}),
+ * so the connection pool does not reuse the connection with the tenant of the previous user.
+ *
+ * @since 0.8
+ */
+class TenantAwareConnectionInvocationHandler implements InvocationHandler {
+
+    private final Connection pooledConnection;
+    private final CurrentTenantBinder currentTenantBinder;
+    private final boolean clearTenantOnClose;
+    private boolean closed;
+
+    TenantAwareConnectionInvocationHandler(Connection pooledConnection, CurrentTenantBinder currentTenantBinder, boolean clearTenantOnClose) {
+        this.pooledConnection = pooledConnection;
+        this.currentTenantBinder = currentTenantBinder;
+        this.clearTenantOnClose = clearTenantOnClose;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                close();
+                return null;
+            case "isClosed":
+                return closed || pooledConnection.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "TenantAwareConnection(" + pooledConnection + ")";
+            default:
+                try {
+                    return method.invoke(pooledConnection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+
+    private void close() throws Throwable {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (clearTenantOnClose && !pooledConnection.isClosed()) {
+                currentTenantBinder.clear(pooledConnection);
+            }
+        } catch (Throwable e) {
+            try {
+                currentTenantBinder.evict(pooledConnection);
+            } catch (Throwable evictException) {
+                e.addSuppressed(evictException);
+            }
+            throw e;
+        } finally {
+            pooledConnection.close();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ *     Posmulten library is an open-source project for the generation
+ *     of SQL DDL statements that make it easy for implementation of
+ *     Shared Schema Multi-tenancy strategy via the Row Security
+ *     Policies in the Postgres database.
+ *
+ *     Copyright (C) 2020  Szymon Tarnowski
+ *
+ *     This library is free software; you can redistribute it and/or
+ *     modify it under the terms of the GNU Lesser General Public
+ *     License as published by the Free Software Foundation; either
+ *     version 2.1 of the License, or (at your option) any later version.
+ *
+ *     This library is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *     Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public
+ *     License along with this library; if not, write to the Free Software
+ *     Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ *     USA
+ */
+package com.github.starnowski.posmulten.postgresql.runtime;
+
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SetCurrentTenantIdFunctionDefinition;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * Wrapper of the data source (usually the connection pool) that sets the current tenant for each obtained connection.
+ * The tenant is resolved by the {@link ICurrentTenantIdentifierProvider} and set by the function that sets the current tenant identifier
+ * ({@link ISharedSchemaContext#getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory()}).
+ * The prepared statement that invokes the function is cached for each physical connection and the function is not invoked when the connection
+ * already has the same tenant (see {@link CurrentTenantBinder}).
+ * By default, the current tenant is cleared when the connection is closed (returned to the pool).
+ * When all connections of the pool are obtained via this data source, clearing of the tenant can be disabled
+ * ({@link TenantAwareDataSourceBuilder#withClearTenantOnClose(boolean)}), then the connection obtained again for the same tenant
+ * does not execute any statement to set the tenant.
+ * The function that sets the current tenant has to set the value for the session (not only for the current transaction).
+ *
+ * @since 0.8
+ */
+public class TenantAwareDataSource implements DataSource {
+
+    private final DataSource dataSource;
+    private final ICurrentTenantIdentifierProvider currentTenantIdentifierProvider;
+    private final CurrentTenantBinder currentTenantBinder;
+    private final boolean clearTenantOnClose;
+
+    public TenantAwareDataSource(DataSource dataSource, ICurrentTenantIdentifierProvider currentTenantIdentifierProvider, CurrentTenantBinder currentTenantBinder, boolean clearTenantOnClose) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        if (currentTenantIdentifierProvider == null) {
+            throw new IllegalArgumentException("Current tenant identifier provider cannot be null");
+        }
+        if (currentTenantBinder == null) {
+            throw new IllegalArgumentException("Current tenant binder cannot be null");
+        }
+        this.dataSource = dataSource;
+        this.currentTenantIdentifierProvider = currentTenantIdentifierProvider;
+        this.currentTenantBinder = currentTenantBinder;
+        this.clearTenantOnClose = clearTenantOnClose;
+    }
+
+    public static TenantAwareDataSourceBuilder builder() {
+        return new TenantAwareDataSourceBuilder();
+    }
+
+    /**
+     * Returns the connection for the tenant resolved by the {@link ICurrentTenantIdentifierProvider}.
+     *
+     * @return connection with the current tenant set
+     * @throws SQLException when the connection cannot be obtained or the current tenant cannot be set
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return prepareConnection(dataSource.getConnection(), currentTenantIdentifierProvider.getCurrentTenantIdentifier());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return prepareConnection(dataSource.getConnection(username, password), currentTenantIdentifierProvider.getCurrentTenantIdentifier());
+    }
+
+    /**
+     * Returns the connection for the passed tenant.
+     *
+     * @param tenantIdentifier tenant identifier, null if the connection should not have any tenant
+     * @return connection with the current tenant set
+     * @throws SQLException when the connection cannot be obtained or the current tenant cannot be set
+     */
+    public Connection getConnectionForTenant(String tenantIdentifier) throws SQLException {
+        return prepareConnection(dataSource.getConnection(), tenantIdentifier);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    private Connection prepareConnection(Connection pooledConnection, String tenantIdentifier) throws SQLException {
+        try {
+            currentTenantBinder.bind(pooledConnection, tenantIdentifier);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                currentTenantBinder.evict(pooledConnection);
+            } catch (SQLException | RuntimeException evictException) {
+                e.addSuppressed(evictException);
+            }
+            try {
+                pooledConnection.close();
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(TenantAwareDataSource.class.getClassLoader(), new Class[]{Connection.class}, new TenantAwareConnectionInvocationHandler(pooledConnection, currentTenantBinder, clearTenantOnClose));
+    }
+
+    public static class TenantAwareDataSourceBuilder {
+        private DataSource dataSource;
+        private ISharedSchemaContext sharedSchemaContext;
+        private ICurrentTenantIdentifierProvider currentTenantIdentifierProvider;
+        private IPooledConnectionUnwrapper pooledConnectionUnwrapper = new DefaultPooledConnectionUnwrapper();
+        private boolean clearTenantOnClose = true;
+
+        public TenantAwareDataSourceBuilder withDataSource(DataSource dataSource) {
+            this.dataSource = dataSource;
+            return this;
+        }
+
+        public TenantAwareDataSourceBuilder withSharedSchemaContext(ISharedSchemaContext sharedSchemaContext) {
+            this.sharedSchemaContext = sharedSchemaContext;
+            return this;
+        }
+
+        public TenantAwareDataSourceBuilder withCurrentTenantIdentifierProvider(ICurrentTenantIdentifierProvider currentTenantIdentifierProvider) {
+            this.currentTenantIdentifierProvider = currentTenantIdentifierProvider;
+            return this;
+        }
+
+        /**
+         * @param pooledConnectionUnwrapper object that returns the physical connection for the pooled connection, by default the {@link DefaultPooledConnectionUnwrapper}
+         * @return builder object for which method was invoked
+         */
+        public TenantAwareDataSourceBuilder withPooledConnectionUnwrapper(IPooledConnectionUnwrapper pooledConnectionUnwrapper) {
+            this.pooledConnectionUnwrapper = pooledConnectionUnwrapper;
+            return this;
+        }
+
+        /**
+         * @param clearTenantOnClose the toggle, based on which the current tenant is cleared when the connection is closed (true) or not (false), by default true
+         * @return builder object for which method was invoked
+         */
+        public TenantAwareDataSourceBuilder withClearTenantOnClose(boolean clearTenantOnClose) {
+            this.clearTenantOnClose = clearTenantOnClose;
+            return this;
+        }
+
+        public TenantAwareDataSource build() {
+            if (sharedSchemaContext == null) {
+                throw new IllegalArgumentException("Shared schema context cannot be null");
+            }
+            if (sharedSchemaContext.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory() == null) {
+                throw new IllegalArgumentException("Shared schema context does not have the function that sets the current tenant");
+            }
+            ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory factory = sharedSchemaContext.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory();
+            if (factory instanceof SetCurrentTenantIdFunctionDefinition && ((SetCurrentTenantIdFunctionDefinition) factory).isLocal()) {
+                throw new IllegalArgumentException("The function that sets the current tenant has to set the value for the session, not only for the current transaction");
+            }
+            String statement = factory.returnPreparedStatementThatSetCurrentTenant();
+            return new TenantAwareDataSource(dataSource, currentTenantIdentifierProvider, new CurrentTenantBinder(statement, pooledConnectionUnwrapper), clearTenantOnClose);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.github.starnowski.posmulten.postgresql.runtime
+
+import org.postgresql.PGStatement
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.SQLException
+import java.sql.Types
+
+class CurrentTenantBinderTest extends Specification {
+
+    static final String STATEMENT = "SELECT set_current_tenant_id(?);"
+
+    def "should prepare statement once for physical connection and invoke function only when tenant changes"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            def resultSet = Mock(ResultSet)
+            connection.getAutoCommit() >> true
+            statement.executeQuery() >> resultSet
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+
+        when:
+            tested.bind(connection, "t1")
+            tested.bind(connection, "t1")
+            tested.bind(connection, "t2")
+            tested.bind(connection, "t2")
+
+        then:
+            1 * connection.prepareStatement(STATEMENT) >> statement
+            1 * statement.setString(1, "t1")
+            1 * statement.setString(1, "t2")
+            2 * resultSet.close()
+            tested.getCachedConnectionsCount() == 1
+    }
+
+    def "should invoke function for each binding when connection is not in auto-commit mode"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            connection.getAutoCommit() >> false
+            connection.prepareStatement(STATEMENT) >> statement
+            statement.executeQuery() >> Mock(ResultSet)
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+
+        when:
+            tested.bind(connection, "t1")
+            tested.bind(connection, "t1")
+
+        then:
+            2 * statement.setString(1, "t1")
+    }
+
+    def "should roll back open transaction before clearing tenant and commit transaction after it when connection is not in auto-commit mode"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            connection.getAutoCommit() >> false
+            connection.prepareStatement(STATEMENT) >> statement
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+
+        when:
+            tested.clear(connection)
+
+        then:
+            1 * connection.rollback()
+
+        then:
+            1 * statement.setNull(1, Types.OTHER)
+            1 * statement.executeQuery() >> Mock(ResultSet)
+
+        then:
+            1 * connection.commit()
+    }
+
+    def "should not roll back nor commit transaction when connection is in auto-commit mode"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            connection.getAutoCommit() >> true
+            connection.prepareStatement(STATEMENT) >> statement
+            statement.executeQuery() >> Mock(ResultSet)
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+
+        when:
+            tested.bind(connection, "t1")
+
+        then:
+            0 * connection.rollback()
+            0 * connection.commit()
+    }
+
+    def "should close physical connection and remove cached statement when connection is evicted"()
+    {
+        given:
+            def pooledConnection = Mock(Connection)
+            def physicalConnection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            pooledConnection.getAutoCommit() >> true
+            physicalConnection.prepareStatement(STATEMENT) >> statement
+            statement.executeQuery() >> Mock(ResultSet)
+            def tested = new CurrentTenantBinder(STATEMENT, { physicalConnection } as IPooledConnectionUnwrapper)
+            tested.bind(pooledConnection, "t1")
+
+        when:
+            tested.evict(pooledConnection)
+
+        then:
+            1 * physicalConnection.close()
+            tested.getCachedConnectionsCount() == 0
+    }
+
+    def "should clear tenant by passing null value and skip clearing when it is known that connection does not have any tenant"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            connection.getAutoCommit() >> true
+            connection.prepareStatement(STATEMENT) >> statement
+            statement.executeQuery() >> Mock(ResultSet)
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+            tested.bind(connection, "t1")
+
+        when:
+            tested.clear(connection)
+            tested.clear(connection)
+
+        then:
+            1 * statement.setNull(1, Types.OTHER)
+    }
+
+    def "should invoke function again after tenant was forgotten"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            connection.getAutoCommit() >> true
+            connection.prepareStatement(STATEMENT) >> statement
+            statement.executeQuery() >> Mock(ResultSet)
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+            tested.bind(connection, "t1")
+
+        when:
+            tested.forget(connection)
+            tested.bind(connection, "t1")
+
+        then:
+            1 * statement.setString(1, "t1")
+    }
+
+    def "should invoke function again when previous invocation failed"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            connection.getAutoCommit() >> true
+            connection.prepareStatement(STATEMENT) >> statement
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+            def exception = new SQLException("invalid tenant")
+
+        when:
+            tested.bind(connection, "t1")
+
+        then:
+            1 * statement.executeQuery() >> { throw exception }
+            def ex = thrown(SQLException)
+            ex.is(exception)
+
+        when:
+            tested.bind(connection, "t1")
+
+        then:
+            1 * statement.setString(1, "t1")
+            1 * statement.executeQuery() >> Mock(ResultSet)
+    }
+
+    def "should cache statement for physical connection resolved by unwrapper and remove closed connections when new connection is added"()
+    {
+        given:
+            def pooledConnection1 = Mock(Connection)
+            def pooledConnection2 = Mock(Connection)
+            def physicalConnection1 = Mock(Connection)
+            def physicalConnection2 = Mock(Connection)
+            def unwrapper = Mock(IPooledConnectionUnwrapper)
+            unwrapper.unwrap(pooledConnection1) >> physicalConnection1
+            unwrapper.unwrap(pooledConnection2) >> physicalConnection2
+            def statement1 = Mock(PreparedStatement)
+            def statement2 = Mock(PreparedStatement)
+            statement1.executeQuery() >> Mock(ResultSet)
+            statement2.executeQuery() >> Mock(ResultSet)
+            pooledConnection1.getAutoCommit() >> true
+            pooledConnection2.getAutoCommit() >> true
+            def tested = new CurrentTenantBinder(STATEMENT, unwrapper)
+
+        when:
+            tested.bind(pooledConnection1, "t1")
+
+        then:
+            1 * physicalConnection1.prepareStatement(STATEMENT) >> statement1
+            0 * pooledConnection1.prepareStatement(_)
+            tested.getCachedConnectionsCount() == 1
+
+        when:
+            tested.bind(pooledConnection2, "t1")
+
+        then:
+            1 * physicalConnection1.isClosed() >> true
+            1 * physicalConnection2.prepareStatement(STATEMENT) >> statement2
+            tested.getCachedConnectionsCount() == 1
+    }
+
+    def "should prepare new statement when cached statement is closed"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement1 = Mock(PreparedStatement)
+            def statement2 = Mock(PreparedStatement)
+            connection.getAutoCommit() >> true
+            statement1.executeQuery() >> Mock(ResultSet)
+            statement2.executeQuery() >> Mock(ResultSet)
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+
+        when:
+            tested.bind(connection, "t1")
+            tested.bind(connection, "t1")
+
+        then:
+            2 * connection.prepareStatement(STATEMENT) >>> [statement1, statement2]
+            1 * statement1.isClosed() >> true
+            1 * statement2.setString(1, "t1")
+    }
+
+    @Unroll
+    def "should set prepare threshold #expectedThreshold for Postgres statement with threshold #threshold"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            def pgStatement = Mock(PGStatement)
+            connection.getAutoCommit() >> true
+            connection.prepareStatement(STATEMENT) >> statement
+            statement.executeQuery() >> Mock(ResultSet)
+            statement.isWrapperFor(PGStatement) >> true
+            statement.unwrap(PGStatement) >> pgStatement
+            pgStatement.getPrepareThreshold() >> threshold
+            def tested = new CurrentTenantBinder(STATEMENT, { it } as IPooledConnectionUnwrapper)
+
+        when:
+            tested.bind(connection, "t1")
+
+        then:
+            (expectedThreshold == threshold ? 0 : 1) * pgStatement.setPrepareThreshold(expectedThreshold)
+
+        where:
+            threshold   ||  expectedThreshold
+            5           ||  1
+            1           ||  1
+            0           ||  0
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when statement is '#statement'"()
+    {
+        when:
+            new CurrentTenantBinder(statement, unwrapper)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            statement   |   unwrapper                               ||  expectedMessage
+            null        |   new DefaultPooledConnectionUnwrapper()  ||  "Statement that sets the current tenant cannot be null"
+            "  "        |   new DefaultPooledConnectionUnwrapper()  ||  "Statement that sets the current tenant cannot be blank"
+            STATEMENT   |   null                                    ||  "Pooled connection unwrapper cannot be null"
+    }
+}
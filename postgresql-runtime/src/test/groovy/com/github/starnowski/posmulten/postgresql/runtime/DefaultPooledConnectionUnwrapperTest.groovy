@@ -0,0 +1,39 @@
+package com.github.starnowski.posmulten.postgresql.runtime
+
+import spock.lang.Specification
+
+import java.sql.Connection
+
+class DefaultPooledConnectionUnwrapperTest extends Specification {
+
+    def tested = new DefaultPooledConnectionUnwrapper()
+
+    def "should return physical connection when pooled connection is wrapper for connection"()
+    {
+        given:
+            def pooledConnection = Mock(Connection)
+            def physicalConnection = Mock(Connection)
+
+        when:
+            def result = tested.unwrap(pooledConnection)
+
+        then:
+            1 * pooledConnection.isWrapperFor(Connection) >> true
+            1 * pooledConnection.unwrap(Connection) >> physicalConnection
+            result.is(physicalConnection)
+    }
+
+    def "should return passed connection when it is not wrapper for connection"()
+    {
+        given:
+            def pooledConnection = Mock(Connection)
+
+        when:
+            def result = tested.unwrap(pooledConnection)
+
+        then:
+            1 * pooledConnection.isWrapperFor(Connection) >> false
+            0 * pooledConnection.unwrap(_)
+            result.is(pooledConnection)
+    }
+}
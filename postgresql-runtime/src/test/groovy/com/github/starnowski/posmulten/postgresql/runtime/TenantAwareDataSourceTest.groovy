@@ -0,0 +1,211 @@
+package com.github.starnowski.posmulten.postgresql.runtime
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.SQLException
+
+class TenantAwareDataSourceTest extends Specification {
+
+    static final String STATEMENT = "SELECT set_current_tenant_id(?);"
+
+    def "should bind tenant returned by provider for obtained connection and clear it when connection is closed"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def pooledConnection = Mock(Connection)
+            def binder = Mock(CurrentTenantBinder, constructorArgs: [STATEMENT, new DefaultPooledConnectionUnwrapper()])
+            def tested = new TenantAwareDataSource(dataSource, { "t1" } as ICurrentTenantIdentifierProvider, binder, true)
+
+        when:
+            def connection = tested.getConnection()
+
+        then:
+            1 * dataSource.getConnection() >> pooledConnection
+            1 * binder.bind(pooledConnection, "t1")
+
+        when:
+            connection.close()
+
+        then:
+            1 * pooledConnection.isClosed() >> false
+            1 * binder.clear(pooledConnection)
+
+        then:
+            1 * pooledConnection.close()
+
+        when:
+            connection.close()
+
+        then:
+            0 * binder.clear(_)
+            0 * pooledConnection.close()
+            connection.isClosed()
+    }
+
+    def "should not clear tenant when connection is closed and clearing is disabled"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def pooledConnection = Mock(Connection)
+            dataSource.getConnection() >> pooledConnection
+            def binder = Mock(CurrentTenantBinder, constructorArgs: [STATEMENT, new DefaultPooledConnectionUnwrapper()])
+            def tested = new TenantAwareDataSource(dataSource, { "t1" } as ICurrentTenantIdentifierProvider, binder, false)
+            def connection = tested.getConnection()
+
+        when:
+            connection.close()
+
+        then:
+            0 * binder.clear(_)
+            1 * pooledConnection.close()
+    }
+
+    def "should bind passed tenant for connection obtained for specific tenant"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def pooledConnection = Mock(Connection)
+            def binder = Mock(CurrentTenantBinder, constructorArgs: [STATEMENT, new DefaultPooledConnectionUnwrapper()])
+            def provider = Mock(ICurrentTenantIdentifierProvider)
+            def tested = new TenantAwareDataSource(dataSource, provider, binder, true)
+
+        when:
+            tested.getConnectionForTenant("t2")
+
+        then:
+            1 * dataSource.getConnection() >> pooledConnection
+            1 * binder.bind(pooledConnection, "t2")
+            0 * provider.getCurrentTenantIdentifier()
+    }
+
+    def "should delegate other methods of connection to pooled connection"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def pooledConnection = Mock(Connection)
+            dataSource.getConnection() >> pooledConnection
+            def tested = new TenantAwareDataSource(dataSource, { "t1" } as ICurrentTenantIdentifierProvider, Mock(CurrentTenantBinder, constructorArgs: [STATEMENT, new DefaultPooledConnectionUnwrapper()]), true)
+            def connection = tested.getConnection()
+
+        when:
+            connection.setAutoCommit(false)
+            connection.commit()
+
+        then:
+            1 * pooledConnection.setAutoCommit(false)
+            1 * pooledConnection.commit()
+    }
+
+    def "should evict physical connection and close pooled connection when binding fails"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def pooledConnection = Mock(Connection)
+            dataSource.getConnection() >> pooledConnection
+            def binder = Mock(CurrentTenantBinder, constructorArgs: [STATEMENT, new DefaultPooledConnectionUnwrapper()])
+            def exception = new SQLException("invalid tenant")
+            def tested = new TenantAwareDataSource(dataSource, { "t1" } as ICurrentTenantIdentifierProvider, binder, true)
+
+        when:
+            tested.getConnection()
+
+        then:
+            1 * binder.bind(pooledConnection, "t1") >> { throw exception }
+            1 * binder.evict(pooledConnection)
+            1 * pooledConnection.close()
+            def ex = thrown(SQLException)
+            ex.is(exception)
+    }
+
+    def "should evict physical connection and close pooled connection when clearing fails"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def pooledConnection = Mock(Connection)
+            dataSource.getConnection() >> pooledConnection
+            def binder = Mock(CurrentTenantBinder, constructorArgs: [STATEMENT, new DefaultPooledConnectionUnwrapper()])
+            def exception = new SQLException("connection broken")
+            def tested = new TenantAwareDataSource(dataSource, { "t1" } as ICurrentTenantIdentifierProvider, binder, true)
+            def connection = tested.getConnection()
+
+        when:
+            connection.close()
+
+        then:
+            1 * binder.clear(pooledConnection) >> { throw exception }
+            1 * binder.evict(pooledConnection)
+            1 * pooledConnection.close()
+            def ex = thrown(SQLException)
+            ex.is(exception)
+    }
+
+    def "should create data source with statement returned by shared schema context"()
+    {
+        given:
+            def context = new DefaultSharedSchemaContextBuilder("public").setGrantee("app-user").build()
+
+        when:
+            def result = TenantAwareDataSource.builder()
+                    .withDataSource(Mock(DataSource))
+                    .withSharedSchemaContext(context)
+                    .withCurrentTenantIdentifierProvider({ "t1" } as ICurrentTenantIdentifierProvider)
+                    .build()
+
+        then:
+            result != null
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when data source is #dataSourceType, shared schema context is #contextType and provider is #providerType"()
+    {
+        given:
+            def dataSource = dataSourceType == null ? null : Mock(DataSource)
+            def provider = providerType == null ? null : Mock(ICurrentTenantIdentifierProvider)
+            def context = prepareContext(contextType)
+
+        when:
+            TenantAwareDataSource.builder()
+                    .withDataSource(dataSource)
+                    .withSharedSchemaContext(context)
+                    .withCurrentTenantIdentifierProvider(provider)
+                    .build()
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            dataSourceType  |   contextType         |   providerType    ||  expectedMessage
+            "mock"          |   null                |   "mock"          ||  "Shared schema context cannot be null"
+            "mock"          |   "without function"  |   "mock"          ||  "Shared schema context does not have the function that sets the current tenant"
+            "mock"          |   "local function"    |   "mock"          ||  "The function that sets the current tenant has to set the value for the session, not only for the current transaction"
+            null            |   "with function"     |   "mock"          ||  "Data source cannot be null"
+            "mock"          |   "with function"     |   null            ||  "Current tenant identifier provider cannot be null"
+    }
+
+    private ISharedSchemaContext prepareContext(String contextType)
+    {
+        switch (contextType) {
+            case "without function":
+                return Mock(ISharedSchemaContext)
+            case "local function":
+                return new DefaultSharedSchemaContextBuilder("public").setGrantee("app-user").setCurrentTenantIdSetLocally(true).build()
+            case "with function":
+                def context = Mock(ISharedSchemaContext)
+                def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+                factory.returnPreparedStatementThatSetCurrentTenant() >> STATEMENT
+                context.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory() >> factory
+                return context
+            default:
+                return null
+        }
+    }
+}